@@ -0,0 +1,315 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.concurrent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A thread-safe bounded cache whose entries expire after a time to live.
+ * </p>
+ *
+ * <p>
+ * Expired entries are removed lazily when they are accessed. When the cache is full, the eldest entries are evicted in insertion order in order to make room for new entries, this is done in
+ * amortized constant time. Since concurrent puts are not synchronized, the size of the cache might transiently exceed its maximum size.
+ * </p>
+ *
+ * <p>
+ * Expiration times are measured using {@link System#nanoTime()}.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+	/**
+	 * The cache entries.
+	 */
+	private final Map<K, Entry<K, V>> entries;
+
+	/**
+	 * The entries in insertion order which might include entries that were replaced or removed.
+	 */
+	private final ConcurrentLinkedQueue<Entry<K, V>> insertionOrder;
+
+	/**
+	 * The number of entries in the insertion order queue.
+	 */
+	private final AtomicInteger insertionOrderSize;
+
+	/**
+	 * The maximum number of entries.
+	 */
+	private final int maxSize;
+
+	/**
+	 * The default time to live of an entry in nanoseconds.
+	 */
+	private final long timeToLive;
+
+	/**
+	 * <p>
+	 * Creates an expiring cache.
+	 * </p>
+	 *
+	 * <p>
+	 * A cache with a maximum size lower or equal to 0 or with a null, zero or negative time to live never caches anything.
+	 * </p>
+	 *
+	 * @param maxSize    the maximum number of entries
+	 * @param timeToLive the default time to live of an entry
+	 */
+	public ExpiringCache(int maxSize, Duration timeToLive) {
+		this.entries = new ConcurrentHashMap<>();
+		this.insertionOrder = new ConcurrentLinkedQueue<>();
+		this.insertionOrderSize = new AtomicInteger();
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive != null && !timeToLive.isNegative() ? timeToLive.toNanos() : 0L;
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum number of entries.
+	 * </p>
+	 *
+	 * @return the maximum size of the cache
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * <p>
+	 * Returns the default time to live of an entry.
+	 * </p>
+	 *
+	 * @return the default time to live
+	 */
+	public Duration getTimeToLive() {
+		return Duration.ofNanos(this.timeToLive);
+	}
+
+	/**
+	 * <p>
+	 * Returns the value cached for the specified key.
+	 * </p>
+	 *
+	 * @param key a key
+	 *
+	 * @return the cached value or null if there is no entry for that key or if it has expired
+	 */
+	public V get(K key) {
+		Entry<K, V> entry = this.entries.get(key);
+		if(entry == null) {
+			return null;
+		}
+		if(entry.isExpired(System.nanoTime())) {
+			this.entries.remove(key, entry);
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified value using the default time to live.
+	 * </p>
+	 *
+	 * @param key   a key
+	 * @param value a value
+	 *
+	 * @return true if the value was cached, false if the cache is disabled
+	 */
+	public boolean put(K key, V value) {
+		return this.put(key, value, this.timeToLive);
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified value using the specified time to live.
+	 * </p>
+	 *
+	 * <p>
+	 * The entry for the key is removed if the specified time to live is null, zero or negative.
+	 * </p>
+	 *
+	 * @param key        a key
+	 * @param value      a value
+	 * @param timeToLive the time to live of the entry
+	 *
+	 * @return true if the value was cached, false if the cache is disabled or if the time to live is null, zero or negative
+	 */
+	public boolean put(K key, V value, Duration timeToLive) {
+		return this.put(key, value, timeToLive != null && !timeToLive.isNegative() ? timeToLive.toNanos() : 0L);
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified value.
+	 * </p>
+	 *
+	 * <p>
+	 * The eldest entries are evicted when the cache is full.
+	 * </p>
+	 *
+	 * @param key        a key
+	 * @param value      a value
+	 * @param timeToLive the time to live of the entry in nanoseconds
+	 *
+	 * @return true if the value was cached, false otherwise
+	 */
+	private boolean put(K key, V value, long timeToLive) {
+		Objects.requireNonNull(value);
+		if(timeToLive <= 0 || this.maxSize <= 0) {
+			this.entries.remove(key);
+			return false;
+		}
+		Entry<K, V> entry = new Entry<>(key, value, System.nanoTime() + timeToLive);
+		this.entries.put(key, entry);
+		this.insertionOrder.offer(entry);
+		this.insertionOrderSize.incrementAndGet();
+		this.evict();
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Evicts the eldest entries while the cache is full.
+	 * </p>
+	 *
+	 * <p>
+	 * Replaced or removed entries are also dropped from the insertion order queue which is kept under twice the maximum size. Since a queue that large contains at least as many stale entries as live
+	 * entries, live entries that are polled while the cache is not full are requeued without affecting the amortized cost of a put.
+	 * </p>
+	 */
+	private void evict() {
+		while(this.entries.size() > this.maxSize || this.insertionOrderSize.get() > 2L * this.maxSize) {
+			Entry<K, V> eldest = this.insertionOrder.poll();
+			if(eldest == null) {
+				return;
+			}
+			this.insertionOrderSize.decrementAndGet();
+			if(this.entries.get(eldest.key) == eldest) {
+				if(this.entries.size() > this.maxSize) {
+					this.entries.remove(eldest.key, eldest);
+				}
+				else {
+					this.insertionOrder.offer(eldest);
+					this.insertionOrderSize.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Removes the entry for the specified key.
+	 * </p>
+	 *
+	 * @param key a key
+	 */
+	public void remove(K key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * <p>
+	 * Removes all entries.
+	 * </p>
+	 */
+	public void clear() {
+		this.entries.clear();
+		this.insertionOrder.clear();
+		this.insertionOrderSize.set(0);
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of entries including entries that have expired but haven't been evicted yet.
+	 * </p>
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * <p>
+	 * A cache entry.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	private static class Entry<K, V> {
+
+		/**
+		 * The key.
+		 */
+		private final K key;
+
+		/**
+		 * The cached value.
+		 */
+		private final V value;
+
+		/**
+		 * The time in nanoseconds after which the entry is expired.
+		 */
+		private final long expiresAt;
+
+		/**
+		 * <p>
+		 * Creates a cache entry.
+		 * </p>
+		 *
+		 * @param key       the key
+		 * @param value     the cached value
+		 * @param expiresAt the expiration time in nanoseconds
+		 */
+		public Entry(K key, V value, long expiresAt) {
+			this.key = key;
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the entry has expired.
+		 * </p>
+		 *
+		 * @param now the current time in nanoseconds
+		 *
+		 * @return true if the entry has expired, false otherwise
+		 */
+		public boolean isExpired(long now) {
+			return this.expiresAt - now <= 0;
+		}
+	}
+}
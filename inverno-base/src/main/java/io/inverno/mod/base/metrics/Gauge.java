@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.metrics;
+
+/**
+ * <p>
+ * A value that can go up and down such as a number of active connections or a queue depth.
+ * </p>
+ *
+ * <p>
+ * Implementations must not allocate when recording values and must be safe to use from multiple threads. Increments and decrements must be cumulative so that multiple components can share the
+ * same gauge.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see Metrics
+ */
+public interface Gauge {
+
+	/**
+	 * <p>
+	 * Increments the gauge by one.
+	 * </p>
+	 */
+	default void increment() {
+		this.add(1);
+	}
+
+	/**
+	 * <p>
+	 * Decrements the gauge by one.
+	 * </p>
+	 */
+	default void decrement() {
+		this.add(-1);
+	}
+
+	/**
+	 * <p>
+	 * Adds the specified amount to the gauge.
+	 * </p>
+	 *
+	 * @param amount a positive or negative amount
+	 */
+	void add(long amount);
+
+	/**
+	 * <p>
+	 * Sets the value of the gauge.
+	 * </p>
+	 *
+	 * @param value the value
+	 */
+	void set(long value);
+}
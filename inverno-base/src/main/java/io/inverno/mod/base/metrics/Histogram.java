@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.metrics;
+
+/**
+ * <p>
+ * Records the distribution of values such as durations or sizes.
+ * </p>
+ *
+ * <p>
+ * Implementations must not allocate when recording values and must be safe to use from multiple threads. Durations are recorded in nanoseconds.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see Metrics
+ */
+public interface Histogram {
+
+	/**
+	 * <p>
+	 * Records a value.
+	 * </p>
+	 *
+	 * @param value the value to record
+	 */
+	void record(long value);
+}
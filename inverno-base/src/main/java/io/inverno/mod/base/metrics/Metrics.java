@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.metrics;
+
+/**
+ * <p>
+ * A metrics service provider used by modules to expose runtime metrics.
+ * </p>
+ *
+ * <p>
+ * Meters are created once, typically when a component is created, and then updated on hot paths: implementations are expected to return the same meter for the same name and tags and recording
+ * a value must not allocate. Tags are specified as a sequence of key/value pairs (e.g. {@code "protocol", "h2"}).
+ * </p>
+ *
+ * <p>
+ * A {@link #noop() no-op} implementation is used by default, an implementation based on a metrics library such as Micrometer or exporting metrics in the Prometheus text format can be provided to
+ * modules exposing a {@code metrics} socket.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public interface Metrics {
+
+	/**
+	 * <p>
+	 * Returns a no-op metrics implementation.
+	 * </p>
+	 *
+	 * @return a metrics implementation ignoring all recorded values
+	 */
+	static Metrics noop() {
+		return NoopMetrics.INSTANCE;
+	}
+
+	/**
+	 * <p>
+	 * Returns a counter.
+	 * </p>
+	 *
+	 * @param name the counter name
+	 * @param tags the counter tags as key/value pairs
+	 *
+	 * @return a counter
+	 *
+	 * @throws IllegalArgumentException if tags are not specified as key/value pairs
+	 */
+	Counter counter(String name, String... tags) throws IllegalArgumentException;
+
+	/**
+	 * <p>
+	 * Returns a gauge.
+	 * </p>
+	 *
+	 * @param name the gauge name
+	 * @param tags the gauge tags as key/value pairs
+	 *
+	 * @return a gauge
+	 *
+	 * @throws IllegalArgumentException if tags are not specified as key/value pairs
+	 */
+	Gauge gauge(String name, String... tags) throws IllegalArgumentException;
+
+	/**
+	 * <p>
+	 * Returns a histogram.
+	 * </p>
+	 *
+	 * @param name the histogram name
+	 * @param tags the histogram tags as key/value pairs
+	 *
+	 * @return a histogram
+	 *
+	 * @throws IllegalArgumentException if tags are not specified as key/value pairs
+	 */
+	Histogram histogram(String name, String... tags) throws IllegalArgumentException;
+}
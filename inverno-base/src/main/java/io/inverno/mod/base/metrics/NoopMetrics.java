@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.metrics;
+
+/**
+ * <p>
+ * A {@link Metrics} implementation which ignores all recorded values.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+final class NoopMetrics implements Metrics, Counter, Gauge, Histogram {
+
+	/**
+	 * The no-op metrics singleton.
+	 */
+	static final NoopMetrics INSTANCE = new NoopMetrics();
+
+	private NoopMetrics() {}
+
+	@Override
+	public Counter counter(String name, String... tags) {
+		return this;
+	}
+
+	@Override
+	public Gauge gauge(String name, String... tags) {
+		return this;
+	}
+
+	@Override
+	public Histogram histogram(String name, String... tags) {
+		return this;
+	}
+
+	@Override
+	public void increment() {
+
+	}
+
+	@Override
+	public void increment(long amount) {
+
+	}
+
+	@Override
+	public void decrement() {
+
+	}
+
+	@Override
+	public void add(long amount) {
+
+	}
+
+	@Override
+	public void set(long value) {
+
+	}
+
+	@Override
+	public void record(long value) {
+
+	}
+}
@@ -1027,7 +1027,7 @@ class GenericURIBuilder implements URIBuilder {
 			groupNames.addAll(segment.getPatternGroupNames());
 		}
 		
-		return new GenericURIPattern(rawValue, pathPatternBuilder.toString(), groupNames, this.segments);
+		return new GenericURIPattern(rawValue, pathPatternBuilder.toString(), groupNames, this.segments, matchTrailingSlash);
 	}
 	
 	@Override
@@ -41,6 +41,7 @@ class GenericURIPattern implements URIPattern {
 	private final String regex;
 	private final List<String> groupNames;
 	private final List<SegmentComponent> pathSegments;
+	private final boolean matchTrailingSlash;
 	
 	private Pattern pattern;
 	
@@ -70,15 +71,58 @@ class GenericURIPattern implements URIPattern {
 	 * The resulting instance supports path inclusion check using specified path segments.
 	 * </p>
 	 * 
-	 * @param rawValue   a raw value
-	 * @param regex      a regular expression
-	 * @param groupNames a list of group names
+	 * @param rawValue     a raw value
+	 * @param regex        a regular expression
+	 * @param groupNames   a list of group names
+	 * @param pathSegments a list of path segments
 	 */
 	public GenericURIPattern(String rawValue, String regex, List<String> groupNames, List<SegmentComponent> pathSegments) {
+		this(rawValue, regex, groupNames, pathSegments, false);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a generic URI pattern with the specified raw value, regular expression and list of group names.
+	 * </p>
+	 * 
+	 * <p>
+	 * The resulting instance supports path inclusion check using specified path segments.
+	 * </p>
+	 * 
+	 * @param rawValue           a raw value
+	 * @param regex              a regular expression
+	 * @param groupNames         a list of group names
+	 * @param pathSegments       a list of path segments
+	 * @param matchTrailingSlash true if the pattern matches paths with or without a trailing slash, false otherwise
+	 */
+	public GenericURIPattern(String rawValue, String regex, List<String> groupNames, List<SegmentComponent> pathSegments, boolean matchTrailingSlash) {
 		this.rawValue = rawValue;
 		this.regex = regex;
 		this.groupNames = groupNames != null ? Collections.unmodifiableList(groupNames) : List.of();
 		this.pathSegments = pathSegments;
+		this.matchTrailingSlash = matchTrailingSlash;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the path segments the pattern was created from.
+	 * </p>
+	 * 
+	 * @return a list of path segments or null if the pattern was not created from path segments
+	 */
+	List<SegmentComponent> getPathSegments() {
+		return this.pathSegments;
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the pattern matches paths with or without a trailing slash.
+	 * </p>
+	 * 
+	 * @return true if a trailing slash is optional, false otherwise
+	 */
+	boolean isMatchTrailingSlash() {
+		return this.matchTrailingSlash;
 	}
 	
 	@Override
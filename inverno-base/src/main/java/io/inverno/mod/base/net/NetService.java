@@ -23,6 +23,8 @@ import java.net.SocketAddress;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.socket.DatagramChannel;
 import java.util.List;
 import java.util.stream.Collectors;
 import reactor.core.publisher.Mono;
@@ -82,6 +84,21 @@ public interface NetService {
 	 * @return a transport type
 	 */
 	TransportType getTransportType();
+
+	/**
+	 * <p>
+	 * Returns a factory creating datagram channels for the transport type.
+	 * </p>
+	 *
+	 * <p>
+	 * Datagram channels created by the factory must be registered on an event loop provided by the reactor (e.g. when building a DNS resolver).
+	 * </p>
+	 *
+	 * @return a datagram channel factory
+	 *
+	 * @since 1.14
+	 */
+	ChannelFactory<? extends DatagramChannel> getDatagramChannelFactory();
 	
 	/**
 	 * <p>
@@ -0,0 +1,726 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.net;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * A segment trie matching absolute paths against a set of {@link URIPattern path patterns} and resolving the best matching pattern.
+ * </p>
+ *
+ * <p>
+ * Path patterns created with {@link URIBuilder#buildPathPattern()} from an absolute path whose segments are either static or made of a single named parameter (e.g. {@code /book/{id}} or
+ * {@code /book/{id:[0-9]+}}) are compiled into trie nodes: static segments are resolved with a hash lookup, wildcard parameters match any segment and regular expressions are only evaluated on
+ * segments defined with a custom pattern. Path parameters are extracted in one pass without creating any {@link URIMatcher}.
+ * </p>
+ *
+ * <p>
+ * Other patterns (e.g. {@code /static/**}, {@code /book/{id}.html} or a pattern with a custom parameter which may match a {@code /}) can't be represented in the trie, they are matched using their
+ * regular expression.
+ * </p>
+ *
+ * <p>
+ * The best match is determined as defined by {@link URIMatcher}: the most specific path wins from left to right, a static segment being more specific than a
+ * parameterized segment. Two patterns matching a path with the same specificity are considered equivalent.
+ * </p>
+ *
+ * <p>
+ * A trie is not thread-safe when it is modified, it is meant to be built once and then safely published to the threads matching paths.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see URIPattern
+ * @see URIMatcher
+ *
+ * @param <T> the type of value associated to patterns
+ */
+public class PathPatternTrie<T> {
+
+	private static final byte RANK_PARAMETERIZED = 0;
+	private static final byte RANK_STATIC = 1;
+
+	private final Node<T> root;
+	private final List<Entry<T>> fallbackEntries;
+
+	private int maxDepth;
+	private int size;
+
+	/**
+	 * <p>
+	 * Creates an empty path pattern trie.
+	 * </p>
+	 */
+	public PathPatternTrie() {
+		this.root = new Node<>(null);
+		this.fallbackEntries = new ArrayList<>();
+	}
+
+	/**
+	 * <p>
+	 * Adds a path pattern to the trie.
+	 * </p>
+	 *
+	 * <p>
+	 * When the trie already contains a pattern matching the exact same paths with the same specificity, the pattern is ignored.
+	 * </p>
+	 *
+	 * @param pattern a path pattern
+	 * @param value   the value to associate to the pattern
+	 */
+	public void put(URIPattern pattern, T value) {
+		this.size++;
+		if(pattern instanceof GenericURIPattern && this.putInTrie((GenericURIPattern)pattern, value)) {
+			return;
+		}
+		this.fallbackEntries.add(new Entry<>(pattern, value));
+	}
+
+	/**
+	 * <p>
+	 * Tries to compile a path pattern into trie nodes.
+	 * </p>
+	 *
+	 * @param pattern a path pattern
+	 * @param value   the value to associate to the pattern
+	 *
+	 * @return true if the pattern was compiled in the trie, false if it must be matched using its regular expression
+	 */
+	private boolean putInTrie(GenericURIPattern pattern, T value) {
+		List<SegmentComponent> segments = pattern.getPathSegments();
+		if(segments == null || segments.isEmpty() || !segments.getFirst().getRawValue().isEmpty()) {
+			return false;
+		}
+		boolean root = segments.size() == 1;
+		if(root) {
+			// the root path is represented by a single empty segment: /
+			segments = List.of(segments.getFirst(), segments.getFirst());
+		}
+
+		// Validate first
+		List<String> parameterNames = new ArrayList<>();
+		for(int i=1;i<segments.size();i++) {
+			SegmentComponent segment = segments.get(i);
+			if(segment.getParameters().isEmpty()) {
+				if(segment.getRawValue().isEmpty() && i < segments.size() - 1) {
+					return false;
+				}
+			}
+			else if(segment.getParameters().size() == 1) {
+				URIParameter parameter = segment.getParameters().getFirst();
+				if(parameter.getName() == null || parameter.getOffset() > 0 || parameter.getLength() != segment.getRawValue().length()) {
+					return false;
+				}
+				if(parameter.isCustom()) {
+					if(!isSegmentPattern(parameter.getValue())) {
+						return false;
+					}
+				}
+				else if(!parameter.isWildcard()) {
+					return false;
+				}
+				if(parameterNames.contains(parameter.getName())) {
+					// let the regular expression report the duplicate group
+					return false;
+				}
+				parameterNames.add(parameter.getName());
+			}
+			else {
+				return false;
+			}
+		}
+
+		Node<T> node = this.root;
+		int[] parameterDepths = new int[parameterNames.size()];
+		int parameterIndex = 0;
+		for(int i=1;i<segments.size();i++) {
+			SegmentComponent segment = segments.get(i);
+			if(segment.getParameters().isEmpty()) {
+				node = node.getOrAddStaticChild(segment.getRawValue());
+			}
+			else {
+				URIParameter parameter = segment.getParameters().getFirst();
+				parameterDepths[parameterIndex] = i - 1;
+				parameterIndex++;
+				node = parameter.isCustom() ? node.getOrAddCustomChild(parameter.getValue()) : node.getOrAddParameterChild();
+			}
+		}
+		this.maxDepth = Math.max(this.maxDepth, segments.size() - 1);
+
+		Terminal<T> terminal = new Terminal<>(pattern, value, parameterNames.toArray(String[]::new), parameterDepths, segments.getLast().getRawValue().isEmpty());
+		if(!root && pattern.isMatchTrailingSlash()) {
+			if(node.trailingSlashTerminal == null) {
+				node.trailingSlashTerminal = terminal;
+			}
+		}
+		if(node.terminal == null) {
+			node.terminal = terminal;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified regular expression can only match characters within a path segment.
+	 * </p>
+	 *
+	 * <p>
+	 * This is a conservative check which rejects any expression that may match a {@code /} or that defines capturing groups, which would otherwise change the groups considered when comparing
+	 * matchers.
+	 * </p>
+	 *
+	 * @param regex a regular expression
+	 *
+	 * @return true if the expression can be evaluated on a single segment, false otherwise
+	 */
+	private static boolean isSegmentPattern(String regex) {
+		boolean inClass = false;
+		boolean negatedClass = false;
+		boolean negatedClassExcludesSlash = false;
+		for(int i=0;i<regex.length();i++) {
+			char c = regex.charAt(i);
+			switch(c) {
+				case '\\': {
+					if(i + 1 >= regex.length()) {
+						return false;
+					}
+					char escaped = regex.charAt(++i);
+					if(Character.isLetterOrDigit(escaped)) {
+						// \d and \w are the only character classes that can't match a /
+						if(escaped != 'd' && escaped != 'w') {
+							return false;
+						}
+					}
+					else if(escaped == '/') {
+						if(!inClass || !negatedClass) {
+							return false;
+						}
+						negatedClassExcludesSlash = true;
+					}
+					break;
+				}
+				case '[': {
+					if(inClass) {
+						// nested classes, intersections...
+						return false;
+					}
+					inClass = true;
+					negatedClass = i + 1 < regex.length() && regex.charAt(i + 1) == '^';
+					negatedClassExcludesSlash = false;
+					if(negatedClass) {
+						i++;
+					}
+					break;
+				}
+				case ']': {
+					if(inClass) {
+						if(negatedClass && !negatedClassExcludesSlash) {
+							return false;
+						}
+						inClass = false;
+					}
+					break;
+				}
+				case '/': {
+					if(!inClass || !negatedClass) {
+						return false;
+					}
+					negatedClassExcludesSlash = true;
+					break;
+				}
+				case '-': {
+					if(inClass && !negatedClass && i > 0 && i + 1 < regex.length() && regex.charAt(i + 1) != ']') {
+						// a range
+						char low = regex.charAt(i - 1);
+						char high = regex.charAt(i + 1);
+						if(low <= '/' && high >= '/') {
+							return false;
+						}
+					}
+					break;
+				}
+				case '.': {
+					if(!inClass) {
+						return false;
+					}
+					break;
+				}
+				case '(': {
+					if(!inClass && !regex.startsWith("(?:", i)) {
+						return false;
+					}
+					break;
+				}
+				default:
+					break;
+			}
+		}
+		return !inClass;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of patterns in the trie.
+	 * </p>
+	 *
+	 * @return the number of patterns
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the trie is empty.
+	 * </p>
+	 *
+	 * @return true if the trie doesn't contain any pattern, false otherwise
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * <p>
+	 * Returns the best matching pattern for the specified path.
+	 * </p>
+	 *
+	 * @param path an absolute normalized path
+	 *
+	 * @return a match or null if no pattern matches the path
+	 */
+	public Match<T> match(String path) {
+		if(path == null || this.size == 0) {
+			return null;
+		}
+
+		Match<T> trieMatch = null;
+		if(!path.isEmpty() && path.charAt(0) == '/' && this.root.hasChildren()) {
+			MatchState<T> state = new MatchState<>(path, this.maxDepth + 1);
+			this.match(this.root, 1, 0, state);
+			if(state.best != null) {
+				trieMatch = new Match<>(state.best.pattern, state.best.value, state.best.extractParameters(path, state.bestStarts, state.bestEnds));
+			}
+		}
+
+		if(this.fallbackEntries.isEmpty()) {
+			return trieMatch;
+		}
+
+		URIMatcher bestMatcher = null;
+		Entry<T> bestEntry = null;
+		for(Entry<T> entry : this.fallbackEntries) {
+			URIMatcher matcher = entry.pattern.matcher(path);
+			if(matcher.matches() && (bestMatcher == null || matcher.compareTo(bestMatcher) > 0)) {
+				bestMatcher = matcher;
+				bestEntry = entry;
+			}
+		}
+
+		if(bestEntry == null) {
+			return trieMatch;
+		}
+		else if(trieMatch != null) {
+			URIMatcher trieMatcher = trieMatch.pattern.matcher(path);
+			if(!trieMatcher.matches() || bestMatcher.compareTo(trieMatcher) <= 0) {
+				return trieMatch;
+			}
+		}
+		return new Match<>(bestEntry.pattern, bestEntry.value, bestMatcher.getParameters());
+	}
+
+	/**
+	 * <p>
+	 * Matches the path segment starting at the specified index against the children of the specified node.
+	 * </p>
+	 *
+	 * @param node  the current node
+	 * @param start the index of the segment in the path, {@code path.length() + 1} when all segments have been consumed
+	 * @param depth the index of the segment
+	 * @param state the match state
+	 */
+	private void match(Node<T> node, int start, int depth, MatchState<T> state) {
+		String path = state.path;
+		int length = path.length();
+
+		if(start > length) {
+			state.offer(node.terminal, depth);
+			return;
+		}
+		if(start == length) {
+			// a trailing slash remains
+			state.offer(node.trailingSlashTerminal, depth);
+		}
+
+		int bestComparison = state.compareToBest(depth);
+		if(bestComparison < 0) {
+			// current branch can't do better than the current best
+			return;
+		}
+
+		int end = path.indexOf('/', start);
+		if(end < 0) {
+			end = length;
+		}
+
+		Node<T> staticChild = node.getStaticChild(path, start, end);
+		if(staticChild != null) {
+			state.push(depth, RANK_STATIC, start, end);
+			this.match(staticChild, end + 1, depth + 1, state);
+		}
+
+		if(state.compareToBest(depth) == 0 && state.isBestStatic(depth)) {
+			// the best match is already static at this depth
+			return;
+		}
+
+		if(node.customChildren != null) {
+			for(Node<T> customChild : node.customChildren) {
+				if(customChild.segmentPattern.matcher(path).region(start, end).matches()) {
+					state.push(depth, RANK_PARAMETERIZED, start, end);
+					this.match(customChild, end + 1, depth + 1, state);
+				}
+			}
+		}
+
+		if(node.parameterChild != null) {
+			state.push(depth, RANK_PARAMETERIZED, start, end);
+			this.match(node.parameterChild, end + 1, depth + 1, state);
+		}
+	}
+
+	/**
+	 * <p>
+	 * The result of a path match.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <T> the type of value associated to patterns
+	 */
+	public static class Match<T> {
+
+		private final URIPattern pattern;
+		private final T value;
+		private final Map<String, String> parameters;
+
+		/**
+		 * <p>
+		 * Creates a match.
+		 * </p>
+		 *
+		 * @param pattern    the matching pattern
+		 * @param value      the value associated to the pattern
+		 * @param parameters the extracted parameters
+		 */
+		private Match(URIPattern pattern, T value, Map<String, String> parameters) {
+			this.pattern = pattern;
+			this.value = value;
+			this.parameters = parameters;
+		}
+
+		/**
+		 * <p>
+		 * Returns the matching pattern.
+		 * </p>
+		 *
+		 * @return a path pattern
+		 */
+		public URIPattern getPattern() {
+			return this.pattern;
+		}
+
+		/**
+		 * <p>
+		 * Returns the value associated to the matching pattern.
+		 * </p>
+		 *
+		 * @return a value
+		 */
+		public T getValue() {
+			return this.value;
+		}
+
+		/**
+		 * <p>
+		 * Returns the parameters extracted from the path.
+		 * </p>
+		 *
+		 * @return a map of parameters
+		 */
+		public Map<String, String> getParameters() {
+			return this.parameters;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A pattern entry matched using its regular expression.
+	 * </p>
+	 *
+	 * @param <T> the type of value associated to patterns
+	 */
+	private static class Entry<T> {
+
+		final URIPattern pattern;
+		final T value;
+
+		Entry(URIPattern pattern, T value) {
+			this.pattern = pattern;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A pattern entry terminating a path in the trie.
+	 * </p>
+	 *
+	 * @param <T> the type of value associated to patterns
+	 */
+	private static class Terminal<T> extends Entry<T> {
+
+		final String[] parameterNames;
+		final int[] parameterDepths;
+		final boolean endsWithEmptySegment;
+
+		Terminal(URIPattern pattern, T value, String[] parameterNames, int[] parameterDepths, boolean endsWithEmptySegment) {
+			super(pattern, value);
+			this.parameterNames = parameterNames;
+			this.parameterDepths = parameterDepths;
+			this.endsWithEmptySegment = endsWithEmptySegment;
+		}
+
+		Map<String, String> extractParameters(String path, int[] starts, int[] ends) {
+			if(this.parameterNames.length == 0) {
+				return Map.of();
+			}
+			Map<String, String> parameters = new LinkedHashMap<>();
+			for(int i=0;i<this.parameterNames.length;i++) {
+				int depth = this.parameterDepths[i];
+				parameters.put(this.parameterNames[i], path.substring(starts[depth], ends[depth]));
+			}
+			return parameters;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A trie node.
+	 * </p>
+	 *
+	 * <p>
+	 * Static children are stored in an open addressing hash table which is looked up with a region of the path in order to avoid creating substrings.
+	 * </p>
+	 *
+	 * @param <T> the type of value associated to patterns
+	 */
+	private static class Node<T> {
+
+		final Pattern segmentPattern;
+
+		String[] staticKeys;
+		Node<T>[] staticChildren;
+		int staticCount;
+
+		List<Node<T>> customChildren;
+		Node<T> parameterChild;
+
+		Terminal<T> terminal;
+		Terminal<T> trailingSlashTerminal;
+
+		Node(Pattern segmentPattern) {
+			this.segmentPattern = segmentPattern;
+		}
+
+		boolean hasChildren() {
+			return this.staticCount > 0 || this.customChildren != null || this.parameterChild != null;
+		}
+
+		Node<T> getStaticChild(String path, int start, int end) {
+			if(this.staticCount == 0) {
+				return null;
+			}
+			int length = end - start;
+			int hash = 0;
+			for(int i=start;i<end;i++) {
+				hash = 31 * hash + path.charAt(i);
+			}
+			int mask = this.staticKeys.length - 1;
+			for(int index = spread(hash) & mask;;index = (index + 1) & mask) {
+				String key = this.staticKeys[index];
+				if(key == null) {
+					return null;
+				}
+				if(key.length() == length && key.hashCode() == hash && path.regionMatches(start, key, 0, length)) {
+					return this.staticChildren[index];
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		Node<T> getOrAddStaticChild(String segment) {
+			if(this.staticKeys == null) {
+				this.staticKeys = new String[4];
+				this.staticChildren = new Node[4];
+			}
+			else {
+				Node<T> child = this.getStaticChild(segment, 0, segment.length());
+				if(child != null) {
+					return child;
+				}
+				if((this.staticCount + 1) * 2 > this.staticKeys.length) {
+					String[] keys = this.staticKeys;
+					Node<T>[] children = this.staticChildren;
+					this.staticKeys = new String[keys.length * 2];
+					this.staticChildren = new Node[keys.length * 2];
+					for(int i=0;i<keys.length;i++) {
+						if(keys[i] != null) {
+							this.insertStaticChild(keys[i], children[i]);
+						}
+					}
+				}
+			}
+			Node<T> child = new Node<>(null);
+			this.insertStaticChild(segment, child);
+			this.staticCount++;
+			return child;
+		}
+
+		private void insertStaticChild(String segment, Node<T> child) {
+			int mask = this.staticKeys.length - 1;
+			int index = spread(segment.hashCode()) & mask;
+			while(this.staticKeys[index] != null) {
+				index = (index + 1) & mask;
+			}
+			this.staticKeys[index] = segment;
+			this.staticChildren[index] = child;
+		}
+
+		Node<T> getOrAddCustomChild(String regex) {
+			if(this.customChildren == null) {
+				this.customChildren = new ArrayList<>();
+			}
+			for(Node<T> child : this.customChildren) {
+				if(child.segmentPattern.pattern().equals(regex)) {
+					return child;
+				}
+			}
+			Node<T> child = new Node<>(Pattern.compile(regex));
+			this.customChildren.add(child);
+			return child;
+		}
+
+		Node<T> getOrAddParameterChild() {
+			if(this.parameterChild == null) {
+				this.parameterChild = new Node<>(null);
+			}
+			return this.parameterChild;
+		}
+
+		private static int spread(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Holds the state of a match: the ranks and the bounds of the segments matched along the current branch and along the best matching branch.
+	 * </p>
+	 *
+	 * <p>
+	 * Ranks are compared from left to right, which is equivalent to comparing the groups of two {@link GenericURIMatcher} since each segment in the trie corresponds to exactly one group except a
+	 * trailing empty segment which corresponds to none.
+	 * </p>
+	 *
+	 * @param <T> the type of value associated to patterns
+	 */
+	private static class MatchState<T> {
+
+		final String path;
+
+		final byte[] ranks;
+		final int[] starts;
+		final int[] ends;
+
+		Terminal<T> best;
+		byte[] bestRanks;
+		int[] bestStarts;
+		int[] bestEnds;
+		int bestGroupCount;
+
+		MatchState(String path, int maxDepth) {
+			this.path = path;
+			this.ranks = new byte[maxDepth];
+			this.starts = new int[maxDepth];
+			this.ends = new int[maxDepth];
+		}
+
+		void push(int depth, byte rank, int start, int end) {
+			this.ranks[depth] = rank;
+			this.starts[depth] = start;
+			this.ends[depth] = end;
+		}
+
+		void offer(Terminal<T> terminal, int depth) {
+			if(terminal == null) {
+				return;
+			}
+			int groupCount = terminal.endsWithEmptySegment ? depth - 1 : depth;
+			if(this.best != null) {
+				int comparison = this.compare(groupCount);
+				if(comparison < 0 || (comparison == 0 && groupCount <= this.bestGroupCount)) {
+					return;
+				}
+			}
+			else {
+				this.bestRanks = new byte[this.ranks.length];
+				this.bestStarts = new int[this.ranks.length];
+				this.bestEnds = new int[this.ranks.length];
+			}
+			this.best = terminal;
+			this.bestGroupCount = groupCount;
+			System.arraycopy(this.ranks, 0, this.bestRanks, 0, depth);
+			System.arraycopy(this.starts, 0, this.bestStarts, 0, depth);
+			System.arraycopy(this.ends, 0, this.bestEnds, 0, depth);
+		}
+
+		int compare(int depth) {
+			int length = Math.min(depth, this.bestGroupCount);
+			for(int i=0;i<length;i++) {
+				if(this.ranks[i] != this.bestRanks[i]) {
+					return this.ranks[i] > this.bestRanks[i] ? 1 : -1;
+				}
+			}
+			return 0;
+		}
+
+		int compareToBest(int depth) {
+			return this.best != null ? this.compare(depth) : 1;
+		}
+
+		boolean isBestStatic(int depth) {
+			return this.best != null && depth < this.bestGroupCount && this.bestRanks[depth] == RANK_STATIC;
+		}
+	}
+}
@@ -36,6 +36,7 @@ module io.inverno.mod.base {
 	exports io.inverno.mod.base;
 	exports io.inverno.mod.base.concurrent;
 	exports io.inverno.mod.base.converter;
+	exports io.inverno.mod.base.metrics;
 	exports io.inverno.mod.base.net;
 	exports io.inverno.mod.base.reflect;
 	exports io.inverno.mod.base.resource;
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.concurrent;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class ExpiringCacheTest {
+
+	@Test
+	public void testGetPut() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertTrue(cache.put("a", "1"));
+		Assertions.assertEquals("1", cache.get("a"));
+		Assertions.assertTrue(cache.put("a", "2"));
+		Assertions.assertEquals("2", cache.get("a"));
+		Assertions.assertEquals(1, cache.size());
+
+		cache.remove("a");
+		Assertions.assertNull(cache.get("a"));
+
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.clear();
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testExpiration() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		Assertions.assertTrue(cache.put("a", "1", Duration.ofNanos(1)));
+		awaitNanos(1000);
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertEquals(0, cache.size());
+
+		// A null, zero or negative time to live removes the entry
+		cache.put("a", "1");
+		Assertions.assertFalse(cache.put("a", "2", Duration.ZERO));
+		Assertions.assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void testMaxSize() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofMinutes(1));
+
+		Assertions.assertTrue(cache.put("a", "1"));
+		Assertions.assertTrue(cache.put("b", "2"));
+
+		// The eldest entry is evicted when the cache is full
+		Assertions.assertTrue(cache.put("c", "3"));
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertEquals("2", cache.get("b"));
+		Assertions.assertEquals("3", cache.get("c"));
+
+		// Replacing an entry makes it the most recent one
+		Assertions.assertTrue(cache.put("b", "4"));
+		Assertions.assertTrue(cache.put("d", "5"));
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertNull(cache.get("c"));
+		Assertions.assertEquals("4", cache.get("b"));
+		Assertions.assertEquals("5", cache.get("d"));
+
+		// Removed entries do not count
+		cache.remove("b");
+		Assertions.assertTrue(cache.put("e", "6"));
+		Assertions.assertEquals("5", cache.get("d"));
+		Assertions.assertEquals("6", cache.get("e"));
+	}
+
+	@Test
+	public void testMaxSizeWithManyReplacements() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		for(int i=0;i<10000;i++) {
+			Assertions.assertTrue(cache.put("k" + (i % 20), Integer.toString(i)));
+			Assertions.assertTrue(cache.size() <= 10);
+		}
+		for(int i=10;i<20;i++) {
+			Assertions.assertEquals(Integer.toString(9980 + i), cache.get("k" + i));
+		}
+	}
+
+	@Test
+	public void testDisabled() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(0, Duration.ofMinutes(1));
+		Assertions.assertFalse(cache.put("a", "1"));
+		Assertions.assertNull(cache.get("a"));
+
+		cache = new ExpiringCache<>(10, null);
+		Assertions.assertFalse(cache.put("a", "1"));
+		Assertions.assertNull(cache.get("a"));
+	}
+
+	private static void awaitNanos(long nanos) {
+		long start = System.nanoTime();
+		while(System.nanoTime() - start < nanos) {
+			Thread.onSpinWait();
+		}
+	}
+}
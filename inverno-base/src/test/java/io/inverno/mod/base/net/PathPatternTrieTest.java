@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.base.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class PathPatternTrieTest {
+
+	private static URIPattern pathPattern(String path) {
+		return pathPattern(path, false);
+	}
+
+	private static URIPattern pathPattern(String path, boolean matchTrailingSlash) {
+		return URIs.uri(path, URIs.RequestTargetForm.PATH, false, URIs.Option.NORMALIZED, URIs.Option.PARAMETERIZED, URIs.Option.PATH_PATTERN).buildPathPattern(matchTrailingSlash);
+	}
+
+	@Test
+	public void testMatch() {
+		PathPatternTrie<String> trie = new PathPatternTrie<>();
+		trie.put(pathPattern("/book/{id}"), "book");
+		trie.put(pathPattern("/book/{id}/page/{page:[0-9]+}"), "page");
+		trie.put(pathPattern("/book/{id}/cover"), "cover");
+		trie.put(pathPattern("/{category}/{id}/cover"), "categoryCover");
+
+		PathPatternTrie.Match<String> match = trie.match("/book/123");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("book", match.getValue());
+		Assertions.assertEquals(Map.of("id", "123"), match.getParameters());
+
+		match = trie.match("/book/123/page/45");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("page", match.getValue());
+		Assertions.assertEquals(Map.of("id", "123", "page", "45"), match.getParameters());
+
+		Assertions.assertNull(trie.match("/book/123/page/abc"));
+		Assertions.assertNull(trie.match("/book/123/"));
+		Assertions.assertNull(trie.match("/book"));
+		Assertions.assertNull(trie.match("book/123"));
+		Assertions.assertNull(trie.match(null));
+
+		match = trie.match("/book/123/cover");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("cover", match.getValue());
+		Assertions.assertEquals(Map.of("id", "123"), match.getParameters());
+
+		match = trie.match("/music/123/cover");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("categoryCover", match.getValue());
+		Assertions.assertEquals(Map.of("category", "music", "id", "123"), match.getParameters());
+	}
+
+	@Test
+	public void testMatchRoot() {
+		PathPatternTrie<String> trie = new PathPatternTrie<>();
+		trie.put(pathPattern("/"), "root");
+
+		Assertions.assertEquals("root", trie.match("/").getValue());
+		Assertions.assertNull(trie.match("//"));
+		Assertions.assertNull(trie.match("/123"));
+
+		// an empty parameter is more specific
+		trie.put(pathPattern("/{id}"), "id");
+		Assertions.assertEquals("id", trie.match("/").getValue());
+		Assertions.assertEquals("id", trie.match("/123").getValue());
+	}
+
+	@Test
+	public void testMatchTrailingSlash() {
+		PathPatternTrie<String> trie = new PathPatternTrie<>();
+		trie.put(pathPattern("/book/{id}", true), "book");
+
+		PathPatternTrie.Match<String> match = trie.match("/book/123/");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("book", match.getValue());
+		Assertions.assertEquals(Map.of("id", "123"), match.getParameters());
+
+		Assertions.assertEquals("book", trie.match("/book/123").getValue());
+
+		// an empty parameter is more specific
+		trie.put(pathPattern("/book/{id}/{format}"), "format");
+		match = trie.match("/book/123/");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("format", match.getValue());
+		Assertions.assertEquals(Map.of("id", "123", "format", ""), match.getParameters());
+	}
+
+	@Test
+	public void testMatchBestMatch() {
+		PathPatternTrie<String> trie = new PathPatternTrie<>();
+		trie.put(pathPattern("/{a}/b/{c}"), "ab");
+		trie.put(pathPattern("/a/{b}/{c}"), "a");
+		trie.put(pathPattern("/{a}/{b}/c"), "c");
+
+		// the most specific path wins from left to right
+		Assertions.assertEquals("a", trie.match("/a/b/c").getValue());
+		Assertions.assertEquals("ab", trie.match("/x/b/c").getValue());
+		Assertions.assertEquals("c", trie.match("/x/y/c").getValue());
+
+		// a static segment wins over a custom pattern
+		trie.put(pathPattern("/a/{b:[a-z]+}/c"), "custom");
+		trie.put(pathPattern("/a/b/{c:[0-9]+}"), "static");
+		Assertions.assertEquals("static", trie.match("/a/b/1").getValue());
+		Assertions.assertEquals("custom", trie.match("/a/x/c").getValue());
+		Assertions.assertEquals("a", trie.match("/a/1/c").getValue());
+	}
+
+	@Test
+	public void testMatchFallback() {
+		PathPatternTrie<String> trie = new PathPatternTrie<>();
+		trie.put(pathPattern("/static/**"), "static");
+		trie.put(pathPattern("/page/{name}.html"), "html");
+		trie.put(pathPattern("/page/{path:.*}/index"), "index");
+		trie.put(pathPattern("/page/{name}"), "name");
+
+		Assertions.assertEquals("static", trie.match("/static/a/b/c").getValue());
+		Assertions.assertEquals("html", trie.match("/page/a.html").getValue());
+		Assertions.assertEquals("name", trie.match("/page/a").getValue());
+
+		PathPatternTrie.Match<String> match = trie.match("/page/a/b/index");
+		Assertions.assertNotNull(match);
+		Assertions.assertEquals("index", match.getValue());
+		Assertions.assertEquals(Map.of("path", "a/b"), match.getParameters());
+	}
+
+	@Test
+	public void testMatchAgainstRegex() {
+		List<URIPattern> patterns = new ArrayList<>();
+		for(int i=0;i<20;i++) {
+			patterns.add(pathPattern("/api/resource" + i + "/{id}"));
+			patterns.add(pathPattern("/api/resource" + i + "/{id}/items/{item:[0-9]+}", true));
+			patterns.add(pathPattern("/api/{resource}/" + i + "/{id}"));
+			patterns.add(pathPattern("/api/resource" + i + "/{id}.json"));
+		}
+
+		PathPatternTrie<URIPattern> trie = new PathPatternTrie<>();
+		patterns.forEach(pattern -> trie.put(pattern, pattern));
+		Assertions.assertEquals(patterns.size(), trie.size());
+
+		List<String> paths = List.of("/api/resource7/abc", "/api/resource7/abc.json", "/api/resource7/abc/items/12/", "/api/resource7/abc/items/x", "/api/resource7/7/abc", "/api/x/7/abc", "/api/x/y/z");
+		for(String path : paths) {
+			URIMatcher bestMatcher = null;
+			for(URIPattern pattern : patterns) {
+				URIMatcher matcher = pattern.matcher(path);
+				if(matcher.matches() && (bestMatcher == null || matcher.compareTo(bestMatcher) > 0)) {
+					bestMatcher = matcher;
+				}
+			}
+
+			PathPatternTrie.Match<URIPattern> match = trie.match(path);
+			if(bestMatcher == null) {
+				Assertions.assertNull(match, path);
+			}
+			else {
+				Assertions.assertNotNull(match, path);
+				URIMatcher matcher = match.getPattern().matcher(path);
+				Assertions.assertTrue(matcher.matches());
+				Assertions.assertEquals(0, matcher.compareTo(bestMatcher), path);
+				Assertions.assertEquals(bestMatcher.getParameters(), match.getParameters(), path);
+			}
+		}
+	}
+}
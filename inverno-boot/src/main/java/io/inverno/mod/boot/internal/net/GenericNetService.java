@@ -31,6 +31,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
@@ -50,6 +51,7 @@ import io.netty.channel.kqueue.KQueueSocketChannel;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.incubator.channel.uring.IOUringChannelOption;
@@ -94,6 +96,7 @@ public class GenericNetService implements @Provide NetService {
 	private final Reactor reactor;
 	
 	private final TransportType transportType;
+	private final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
 	
 	private final ByteBufAllocator pooledAllocator;
 	private final ByteBufAllocator unpooledAllocator;
@@ -114,6 +117,15 @@ public class GenericNetService implements @Provide NetService {
 		this.configuration = configuration;
 		this.reactor = reactor;
 		this.transportType = transportType;
+		switch(this.transportType) {
+			case KQUEUE: this.datagramChannelFactory = KQueueDatagramChannel::new;
+				break;
+			case EPOLL: this.datagramChannelFactory = EpollDatagramChannel::new;
+				break;
+			case IO_URING: this.datagramChannelFactory = IOUringDatagramChannel::new;
+				break;
+			default: this.datagramChannelFactory = NioDatagramChannel::new;
+		}
 
 		this.addressResolverGroup = this.createAddressResolver(configuration.address_resolver());
 				
@@ -154,24 +166,21 @@ public class GenericNetService implements @Provide NetService {
 				builder.searchDomains(addressResolverConfiguration.search_domains());
 			}
 
+			builder.datagramChannelFactory(this.datagramChannelFactory);
 			switch(this.transportType) {
 				case KQUEUE: {
-					builder.datagramChannelFactory(KQueueDatagramChannel::new);
 					builder.socketChannelFactory(KQueueSocketChannel::new);
 					break;
 				}
 				case EPOLL: {
-					builder.datagramChannelFactory(EpollDatagramChannel::new);
 					builder.socketChannelFactory(EpollSocketChannel::new);
 					break;
 				}
 				case IO_URING: {
-					builder.datagramChannelFactory(IOUringDatagramChannel::new);
 					builder.socketChannelFactory(IOUringSocketChannel::new);
 					break;
 				}
 				default: {
-					builder.datagramChannelFactory(NioDatagramChannel::new);
 					builder.socketChannelFactory(NioSocketChannel::new);
 				}
 			}
@@ -197,6 +206,11 @@ public class GenericNetService implements @Provide NetService {
 		return this.transportType;
 	}
 
+	@Override
+	public ChannelFactory<? extends DatagramChannel> getDatagramChannelFactory() {
+		return this.datagramChannelFactory;
+	}
+
 	@Override
 	public Bootstrap createClient(SocketAddress socketAddress) {
 		return this.createClient(socketAddress, this.configuration.net_client(), this.reactor.getCoreIoEventLoopGroupSize());
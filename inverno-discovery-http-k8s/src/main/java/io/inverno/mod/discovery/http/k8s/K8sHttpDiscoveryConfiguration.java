@@ -16,6 +16,7 @@
 package io.inverno.mod.discovery.http.k8s;
 
 import io.inverno.mod.configuration.Configuration;
+import java.net.URI;
 
 /**
  * <p>
@@ -30,7 +31,7 @@ public interface K8sHttpDiscoveryConfiguration {
 
 	/**
 	 * <p>
-	 * Indicates whether HTTPS should be preferred when both HTTP and HTTPS ports are defined in environment variables.
+	 * Indicates whether HTTPS should be preferred when both HTTP and HTTPS ports are defined in environment variables or in endpoint slices.
 	 * </p>
 	 *
 	 * @return true to prefer HTTPS, false to prefer HTTP
@@ -38,4 +39,109 @@ public interface K8sHttpDiscoveryConfiguration {
 	default boolean prefer_https() {
 		return true;
 	}
+
+	/**
+	 * <p>
+	 * The Kubernetes API server URI.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code https://kubernetes.default.svc}.
+	 * </p>
+	 *
+	 * @return the API server URI
+	 */
+	default URI api_server() {
+		return URI.create("https://kubernetes.default.svc");
+	}
+
+	/**
+	 * <p>
+	 * The location of the service account token used to authenticate to the Kubernetes API server.
+	 * </p>
+	 *
+	 * <p>
+	 * The token is read before each request to the API server in order to support token rotation, no {@code Authorization} header is sent when the token does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code file:/var/run/secrets/kubernetes.io/serviceaccount/token}.
+	 * </p>
+	 *
+	 * @return the service account token URI
+	 */
+	default URI api_token() {
+		return URI.create("file:/var/run/secrets/kubernetes.io/serviceaccount/token");
+	}
+
+	/**
+	 * <p>
+	 * The location of the PEM encoded certificate authority used to trust the Kubernetes API server certificate.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code file:/var/run/secrets/kubernetes.io/serviceaccount/ca.crt}.
+	 * </p>
+	 *
+	 * @return the certificate authority URI
+	 */
+	default URI api_ca_certificate() {
+		return URI.create("file:/var/run/secrets/kubernetes.io/serviceaccount/ca.crt");
+	}
+
+	/**
+	 * <p>
+	 * The namespace in which services are resolved when not specified in the service URI.
+	 * </p>
+	 *
+	 * <p>
+	 * When not specified, the namespace is read from {@code /var/run/secrets/kubernetes.io/serviceaccount/namespace} and defaults to {@code default}.
+	 * </p>
+	 *
+	 * @return the default namespace
+	 */
+	String namespace();
+
+	/**
+	 * <p>
+	 * The zone where the application is running.
+	 * </p>
+	 *
+	 * <p>
+	 * When specified, endpoints hinted for or located in that zone are preferred over other endpoints.
+	 * </p>
+	 *
+	 * @return the local zone
+	 */
+	String zone();
+
+	/**
+	 * <p>
+	 * The endpoint slices watch timeout in seconds after which the watch is reopened.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 300}.
+	 * </p>
+	 *
+	 * @return the watch timeout
+	 */
+	default long watch_timeout() {
+		return 300L;
+	}
+
+	/**
+	 * <p>
+	 * The initial delay in milliseconds before reopening a failed endpoint slices watch.
+	 * </p>
+	 *
+	 * <p>
+	 * The delay is doubled after each consecutive failure up to 30 seconds, defaults to {@code 1000}.
+	 * </p>
+	 *
+	 * @return the watch retry delay
+	 */
+	default long watch_retry_delay() {
+		return 1000L;
+	}
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfiguration;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.header.Headers;
+import io.inverno.mod.http.client.Endpoint;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import io.inverno.mod.http.client.Response;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.net.ssl.TrustManagerFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * A {@link K8sEndpointSliceClient} implementation invoking the Kubernetes API server using the HTTP client.
+ * </p>
+ *
+ * <p>
+ * Requests are authenticated using the service account token which is read before each request in order to support token rotation. Endpoint slices are watched using a streaming watch request,
+ * watch events being sent by the API server as newline delimited JSON objects.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class HttpK8sEndpointSliceClient implements K8sEndpointSliceClient {
+
+	private static final String ENDPOINT_SLICES_PATH = "/apis/discovery.k8s.io/v1/namespaces/%s/endpointslices?labelSelector=%s";
+
+	private static final String SERVICE_NAME_LABEL = "kubernetes.io/service-name=";
+
+	private final K8sHttpDiscoveryConfiguration configuration;
+	private final ObjectMapper mapper;
+	private final Endpoint<ExchangeContext> endpoint;
+
+	/**
+	 * <p>
+	 * Creates an HTTP Kubernetes endpoint slice client.
+	 * </p>
+	 *
+	 * @param configuration the Kubernetes HTTP discovery module configuration
+	 * @param httpClient    the HTTP client
+	 */
+	public HttpK8sEndpointSliceClient(K8sHttpDiscoveryConfiguration configuration, HttpClient httpClient) {
+		this.configuration = configuration;
+		this.mapper = new ObjectMapper();
+
+		URI apiServer = configuration.api_server();
+		boolean tls = "https".equalsIgnoreCase(apiServer.getScheme());
+		int port = apiServer.getPort() != -1 ? apiServer.getPort() : (tls ? 443 : 80);
+		TrustManagerFactory trustManagerFactory = tls ? this.createTrustManagerFactory() : null;
+
+		this.endpoint = httpClient.<ExchangeContext>endpoint(apiServer.getHost(), port)
+			.configuration(HttpClientConfigurationLoader.load(clientConfiguration -> {
+				clientConfiguration.tls_enabled(tls);
+				// a watch response can be idle until the watch times out on the API server
+				clientConfiguration.request_timeout((configuration.watch_timeout() + 30) * 1000);
+				if(trustManagerFactory != null) {
+					clientConfiguration.tls_trust_manager_factory(trustManagerFactory);
+				}
+			}))
+			.build();
+	}
+
+	/**
+	 * <p>
+	 * Creates the trust manager factory used to trust the API server certificate from the configured certificate authority.
+	 * </p>
+	 *
+	 * @return a trust manager factory or null if no certificate authority was found
+	 */
+	private TrustManagerFactory createTrustManagerFactory() {
+		URI caCertificate = this.configuration.api_ca_certificate();
+		if(caCertificate == null || !Files.exists(Path.of(caCertificate))) {
+			return null;
+		}
+		try(InputStream caCertificateStream = Files.newInputStream(Path.of(caCertificate))) {
+			KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+			trustStore.load(null, null);
+			int index = 0;
+			for(Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(caCertificateStream)) {
+				trustStore.setCertificateEntry("ca-" + index++, certificate);
+			}
+			TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trustManagerFactory.init(trustStore);
+			return trustManagerFactory;
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("Failed to load Kubernetes API certificate authority", e);
+		}
+		catch(GeneralSecurityException e) {
+			throw new IllegalStateException("Failed to load Kubernetes API certificate authority", e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Reads the service account token.
+	 * </p>
+	 *
+	 * @return an optional returning the token or an empty optional if no token was found
+	 */
+	private Optional<String> readToken() {
+		URI token = this.configuration.api_token();
+		if(token == null || !Files.exists(Path.of(token))) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Files.readString(Path.of(token)).trim());
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("Failed to read Kubernetes service account token", e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Sends a GET request to the API server.
+	 * </p>
+	 *
+	 * @param path the request target
+	 *
+	 * @return a mono emitting the response
+	 */
+	private Mono<Response> get(String path) {
+		return this.endpoint.exchange(Method.GET, path)
+			.<Response>flatMap(exchange -> {
+				exchange.request().headers(headers -> {
+					headers.add(Headers.NAME_ACCEPT, "application/json");
+					this.readToken().ifPresent(token -> headers.add(Headers.NAME_AUTHORIZATION, "Bearer " + token));
+				});
+				return exchange.response();
+			})
+			.<Response>flatMap(response -> {
+				if(response.headers().getStatusCode() != 200) {
+					return Flux.from(response.body().raw().stream())
+						.doOnNext(ByteBuf::release)
+						.then(Mono.<Response>error(() -> new IllegalStateException("Kubernetes API request " + path + " failed with status " + response.headers().getStatusCode())));
+				}
+				return Mono.just(response);
+			});
+	}
+
+	/**
+	 * <p>
+	 * Returns the endpoint slices request target for the specified service.
+	 * </p>
+	 *
+	 * @param namespace   the namespace of the service
+	 * @param serviceName the name of the service
+	 *
+	 * @return a request target
+	 */
+	private static String endpointSlicesPath(String namespace, String serviceName) {
+		return String.format(ENDPOINT_SLICES_PATH, URLEncoder.encode(namespace, StandardCharsets.UTF_8), URLEncoder.encode(SERVICE_NAME_LABEL + serviceName, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public Mono<EndpointSliceList> list(String namespace, String serviceName) {
+		return this.get(endpointSlicesPath(namespace, serviceName))
+			.flatMap(response -> Flux.from(response.body().raw().stream())
+				.reduceWith(Unpooled::buffer, (acc, chunk) -> {
+					try {
+						return acc.writeBytes(chunk);
+					}
+					finally {
+						chunk.release();
+					}
+				})
+			)
+			.map(body -> {
+				try {
+					JsonNode listNode = this.mapper.readTree(body.toString(StandardCharsets.UTF_8));
+					List<K8sEndpointSlice> items = new ArrayList<>();
+					for(JsonNode itemNode : listNode.path("items")) {
+						items.add(K8sEndpointSlice.from(itemNode));
+					}
+					return new EndpointSliceList(listNode.path("metadata").path("resourceVersion").textValue(), items);
+				}
+				catch(JsonProcessingException e) {
+					throw new IllegalStateException("Invalid endpoint slice list", e);
+				}
+				finally {
+					body.release();
+				}
+			});
+	}
+
+	@Override
+	public Flux<WatchEvent> watch(String namespace, String serviceName, String resourceVersion) {
+		StringBuilder path = new StringBuilder(endpointSlicesPath(namespace, serviceName))
+			.append("&watch=true&allowWatchBookmarks=true&timeoutSeconds=").append(this.configuration.watch_timeout());
+		if(resourceVersion != null) {
+			path.append("&resourceVersion=").append(URLEncoder.encode(resourceVersion, StandardCharsets.UTF_8));
+		}
+		return this.get(path.toString())
+			.flatMapMany(response -> lines(response.body().raw().stream()))
+			.map(line -> {
+				try {
+					JsonNode eventNode = this.mapper.readTree(line);
+					WatchEvent.Type type = WatchEvent.Type.valueOf(eventNode.path("type").asText());
+					JsonNode objectNode = eventNode.path("object");
+					if(type == WatchEvent.Type.ERROR) {
+						return new WatchEvent(type, null, objectNode.path("code").asInt(), objectNode.path("message").asText());
+					}
+					return new WatchEvent(type, K8sEndpointSlice.from(objectNode));
+				}
+				catch(JsonProcessingException | IllegalArgumentException e) {
+					throw new IllegalStateException("Invalid endpoint slice watch event", e);
+				}
+			});
+	}
+
+	/**
+	 * <p>
+	 * Splits a stream of bytes into lines.
+	 * </p>
+	 *
+	 * @param data a stream of bytes
+	 *
+	 * @return a stream of non-blank lines
+	 */
+	private static Flux<String> lines(Publisher<ByteBuf> data) {
+		return Flux.defer(() -> {
+			ByteBuf buffer = Unpooled.buffer();
+			return Flux.from(data)
+				.concatMapIterable(chunk -> {
+					try {
+						buffer.writeBytes(chunk);
+					}
+					finally {
+						chunk.release();
+					}
+					List<String> lines = new ArrayList<>();
+					int index;
+					while( (index = buffer.indexOf(buffer.readerIndex(), buffer.writerIndex(), (byte)'\n')) >= 0) {
+						String line = buffer.readCharSequence(index - buffer.readerIndex(), StandardCharsets.UTF_8).toString();
+						buffer.skipBytes(1);
+						if(!line.isBlank()) {
+							lines.add(line);
+						}
+					}
+					buffer.discardReadBytes();
+					return lines;
+				})
+				.doFinally(ign -> buffer.release());
+		});
+	}
+
+	@Override
+	public Mono<Void> shutdown() {
+		return this.endpoint.shutdown();
+	}
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * A Kubernetes endpoint slice.
+ * </p>
+ *
+ * <p>
+ * This only retains the information required to resolve service instances: ready endpoints addresses, zones and zone hints as well as ports.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class K8sEndpointSlice {
+
+	private final String name;
+	private final String resourceVersion;
+	private final List<Endpoint> endpoints;
+	private final List<Port> ports;
+
+	/**
+	 * <p>
+	 * Creates a Kubernetes endpoint slice.
+	 * </p>
+	 *
+	 * @param name            the name of the endpoint slice
+	 * @param resourceVersion the resource version
+	 * @param endpoints       the endpoints
+	 * @param ports           the ports
+	 */
+	public K8sEndpointSlice(String name, String resourceVersion, List<Endpoint> endpoints, List<Port> ports) {
+		this.name = name;
+		this.resourceVersion = resourceVersion;
+		this.endpoints = endpoints != null ? endpoints : List.of();
+		this.ports = ports != null ? ports : List.of();
+	}
+
+	/**
+	 * <p>
+	 * Creates a Kubernetes endpoint slice from its JSON representation.
+	 * </p>
+	 *
+	 * @param node a JSON node
+	 *
+	 * @return an endpoint slice
+	 */
+	public static K8sEndpointSlice from(JsonNode node) {
+		JsonNode metadata = node.path("metadata");
+
+		List<Endpoint> endpoints = new ArrayList<>();
+		for(JsonNode endpointNode : node.path("endpoints")) {
+			List<String> addresses = new ArrayList<>();
+			for(JsonNode addressNode : endpointNode.path("addresses")) {
+				addresses.add(addressNode.asText());
+			}
+			// A null ready condition must be interpreted as ready
+			boolean ready = endpointNode.path("conditions").path("ready").asBoolean(true);
+			String zone = endpointNode.path("zone").textValue();
+			Set<String> hintedZones = new HashSet<>();
+			for(JsonNode zoneNode : endpointNode.path("hints").path("forZones")) {
+				hintedZones.add(zoneNode.path("name").asText());
+			}
+			endpoints.add(new Endpoint(addresses, ready, zone, hintedZones));
+		}
+
+		List<Port> ports = new ArrayList<>();
+		for(JsonNode portNode : node.path("ports")) {
+			ports.add(new Port(portNode.path("name").textValue(), portNode.path("port").asInt(), portNode.path("appProtocol").textValue()));
+		}
+
+		return new K8sEndpointSlice(metadata.path("name").textValue(), metadata.path("resourceVersion").textValue(), endpoints, ports);
+	}
+
+	/**
+	 * <p>
+	 * Returns the name of the endpoint slice.
+	 * </p>
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>
+	 * Returns the resource version of the endpoint slice.
+	 * </p>
+	 *
+	 * @return the resource version
+	 */
+	public String getResourceVersion() {
+		return this.resourceVersion;
+	}
+
+	/**
+	 * <p>
+	 * Returns the endpoints.
+	 * </p>
+	 *
+	 * @return a list of endpoints
+	 */
+	public List<Endpoint> getEndpoints() {
+		return this.endpoints;
+	}
+
+	/**
+	 * <p>
+	 * Returns the ports.
+	 * </p>
+	 *
+	 * @return a list of ports
+	 */
+	public List<Port> getPorts() {
+		return this.ports;
+	}
+
+	/**
+	 * <p>
+	 * An endpoint slice endpoint.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Endpoint {
+
+		private final List<String> addresses;
+		private final boolean ready;
+		private final String zone;
+		private final Set<String> hintedZones;
+
+		/**
+		 * <p>
+		 * Creates an endpoint.
+		 * </p>
+		 *
+		 * @param addresses   the endpoint addresses
+		 * @param ready       true if the endpoint is ready, false otherwise
+		 * @param zone        the zone where the endpoint is located
+		 * @param hintedZones the zones the endpoint should serve
+		 */
+		public Endpoint(List<String> addresses, boolean ready, String zone, Set<String> hintedZones) {
+			this.addresses = addresses != null ? addresses : List.of();
+			this.ready = ready;
+			this.zone = zone;
+			this.hintedZones = hintedZones != null ? hintedZones : Set.of();
+		}
+
+		/**
+		 * <p>
+		 * Returns the endpoint addresses.
+		 * </p>
+		 *
+		 * @return a list of addresses
+		 */
+		public List<String> getAddresses() {
+			return this.addresses;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the endpoint is ready.
+		 * </p>
+		 *
+		 * @return true if the endpoint is ready, false otherwise
+		 */
+		public boolean isReady() {
+			return this.ready;
+		}
+
+		/**
+		 * <p>
+		 * Returns the zone where the endpoint is located.
+		 * </p>
+		 *
+		 * @return the zone or null
+		 */
+		public String getZone() {
+			return this.zone;
+		}
+
+		/**
+		 * <p>
+		 * Returns the zones the endpoint should serve as hinted by the topology aware routing.
+		 * </p>
+		 *
+		 * @return a set of zones
+		 */
+		public Set<String> getHintedZones() {
+			return this.hintedZones;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the endpoint should serve the specified zone.
+		 * </p>
+		 *
+		 * <p>
+		 * Zone hints take precedence over the endpoint zone when present.
+		 * </p>
+		 *
+		 * @param zone a zone
+		 *
+		 * @return true if the endpoint should serve the zone, false otherwise
+		 */
+		public boolean isInZone(String zone) {
+			return !this.hintedZones.isEmpty() ? this.hintedZones.contains(zone) : zone.equals(this.zone);
+		}
+	}
+
+	/**
+	 * <p>
+	 * An endpoint slice port.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Port {
+
+		private final String name;
+		private final int port;
+		private final String appProtocol;
+
+		/**
+		 * <p>
+		 * Creates a port.
+		 * </p>
+		 *
+		 * @param name        the name of the port
+		 * @param port        the port number
+		 * @param appProtocol the application protocol
+		 */
+		public Port(String name, int port, String appProtocol) {
+			this.name = name;
+			this.port = port;
+			this.appProtocol = appProtocol;
+		}
+
+		/**
+		 * <p>
+		 * Returns the name of the port.
+		 * </p>
+		 *
+		 * @return the name or null
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * <p>
+		 * Returns the port number.
+		 * </p>
+		 *
+		 * @return the port number
+		 */
+		public int getPort() {
+			return this.port;
+		}
+
+		/**
+		 * <p>
+		 * Returns the application protocol.
+		 * </p>
+		 *
+		 * @return the application protocol or null
+		 */
+		public String getAppProtocol() {
+			return this.appProtocol;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the port serves the specified scheme ({@code http} or {@code https}) based on its application protocol or its name.
+		 * </p>
+		 *
+		 * @param scheme a scheme
+		 *
+		 * @return true if the port serves the scheme, false otherwise
+		 */
+		public boolean isScheme(String scheme) {
+			return this.appProtocol != null ? scheme.equalsIgnoreCase(this.appProtocol) : scheme.equalsIgnoreCase(this.name);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * A client to list and watch the endpoint slices of a Kubernetes service.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public interface K8sEndpointSliceClient {
+
+	/**
+	 * <p>
+	 * Lists the endpoint slices of a service.
+	 * </p>
+	 *
+	 * @param namespace   the namespace of the service
+	 * @param serviceName the name of the service
+	 *
+	 * @return a mono emitting the endpoint slices of the service
+	 */
+	Mono<EndpointSliceList> list(String namespace, String serviceName);
+
+	/**
+	 * <p>
+	 * Watches the endpoint slices of a service starting from the specified resource version.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned publisher completes when the watch times out on the API server.
+	 * </p>
+	 *
+	 * @param namespace       the namespace of the service
+	 * @param serviceName     the name of the service
+	 * @param resourceVersion the resource version from which changes should be watched
+	 *
+	 * @return a publisher of watch events
+	 */
+	Flux<WatchEvent> watch(String namespace, String serviceName, String resourceVersion);
+
+	/**
+	 * <p>
+	 * Shutdowns the client.
+	 * </p>
+	 *
+	 * @return a mono which completes once the client is shutdown
+	 */
+	Mono<Void> shutdown();
+
+	/**
+	 * <p>
+	 * A list of endpoint slices.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	class EndpointSliceList {
+
+		private final String resourceVersion;
+		private final List<K8sEndpointSlice> items;
+
+		/**
+		 * <p>
+		 * Creates an endpoint slice list.
+		 * </p>
+		 *
+		 * @param resourceVersion the resource version of the list
+		 * @param items           the endpoint slices
+		 */
+		public EndpointSliceList(String resourceVersion, List<K8sEndpointSlice> items) {
+			this.resourceVersion = resourceVersion;
+			this.items = items;
+		}
+
+		/**
+		 * <p>
+		 * Returns the resource version of the list from which changes can be watched.
+		 * </p>
+		 *
+		 * @return the resource version
+		 */
+		public String getResourceVersion() {
+			return this.resourceVersion;
+		}
+
+		/**
+		 * <p>
+		 * Returns the endpoint slices.
+		 * </p>
+		 *
+		 * @return a list of endpoint slices
+		 */
+		public List<K8sEndpointSlice> getItems() {
+			return this.items;
+		}
+	}
+
+	/**
+	 * <p>
+	 * An endpoint slice watch event.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	class WatchEvent {
+
+		/**
+		 * <p>
+		 * Watch event types.
+		 * </p>
+		 */
+		public enum Type {
+			/**
+			 * An endpoint slice was added.
+			 */
+			ADDED,
+			/**
+			 * An endpoint slice was modified.
+			 */
+			MODIFIED,
+			/**
+			 * An endpoint slice was deleted.
+			 */
+			DELETED,
+			/**
+			 * The resource version was updated.
+			 */
+			BOOKMARK,
+			/**
+			 * An error was reported by the API server.
+			 */
+			ERROR
+		}
+
+		private final Type type;
+		private final K8sEndpointSlice endpointSlice;
+		private final int errorCode;
+		private final String errorMessage;
+
+		/**
+		 * <p>
+		 * Creates a watch event.
+		 * </p>
+		 *
+		 * @param type          the event type
+		 * @param endpointSlice the endpoint slice
+		 */
+		public WatchEvent(Type type, K8sEndpointSlice endpointSlice) {
+			this(type, endpointSlice, 0, null);
+		}
+
+		/**
+		 * <p>
+		 * Creates a watch event.
+		 * </p>
+		 *
+		 * @param type          the event type
+		 * @param endpointSlice the endpoint slice
+		 * @param errorCode     the error code
+		 * @param errorMessage  the error message
+		 */
+		public WatchEvent(Type type, K8sEndpointSlice endpointSlice, int errorCode, String errorMessage) {
+			this.type = type;
+			this.endpointSlice = endpointSlice;
+			this.errorCode = errorCode;
+			this.errorMessage = errorMessage;
+		}
+
+		/**
+		 * <p>
+		 * Returns the event type.
+		 * </p>
+		 *
+		 * @return the event type
+		 */
+		public Type getType() {
+			return this.type;
+		}
+
+		/**
+		 * <p>
+		 * Returns the endpoint slice.
+		 * </p>
+		 *
+		 * <p>
+		 * Only the resource version is provided on a {@link Type#BOOKMARK} event, this returns null on an {@link Type#ERROR} event.
+		 * </p>
+		 *
+		 * @return the endpoint slice or null
+		 */
+		public K8sEndpointSlice getEndpointSlice() {
+			return this.endpointSlice;
+		}
+
+		/**
+		 * <p>
+		 * Returns the error code of an {@link Type#ERROR} event.
+		 * </p>
+		 *
+		 * @return the error code
+		 */
+		public int getErrorCode() {
+			return this.errorCode;
+		}
+
+		/**
+		 * <p>
+		 * Returns the error message of an {@link Type#ERROR} event.
+		 * </p>
+		 *
+		 * @return the error message
+		 */
+		public String getErrorMessage() {
+			return this.errorMessage;
+		}
+	}
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import io.inverno.mod.discovery.AbstractService;
+import io.inverno.mod.discovery.Locality;
+import io.inverno.mod.discovery.Service;
+import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfiguration;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * <p>
+ * Kubernetes endpoint slice HTTP service.
+ * </p>
+ *
+ * <p>
+ * This service resolves one instance per ready endpoint address of the endpoint slices of a Kubernetes service. Endpoint slices are initially listed and then watched, watch events being applied
+ * to the in-memory endpoint slices before refreshing the service. Since instances are identified by address and traffic policy, a refresh only creates instances for new endpoints and gracefully
+ * shutdowns instances of removed endpoints, existing instances and their connection pools are left untouched.
+ * </p>
+ *
+ * <p>
+ * The watch is reopened when it times out on the API server, or after a delay when it fails in which case the endpoint slices are listed again before reopening the watch. The watch is stopped
+ * when the service is shutdown or when no instance could be resolved on refresh (i.e. the service is gone).
+ * </p>
+ *
+ * <p>
+ * When a zone is configured, endpoints hinted for or located in that zone are preferred, the service falls back to all ready endpoints when no endpoint matches the zone. All ready endpoints are
+ * resolved when locality-aware routing is enabled in the traffic policy, service instances then expose the zone of their endpoint so traffic can spill over to other zones.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class K8sEndpointSliceService extends AbstractService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> {
+
+	private static final Logger LOGGER = LogManager.getLogger(K8sEndpointSliceService.class);
+
+	private static final Duration MAX_WATCH_RETRY_DELAY = Duration.ofSeconds(30);
+
+	private final K8sHttpDiscoveryConfiguration configuration;
+	private final HttpClient httpClient;
+	private final K8sEndpointSliceClient endpointSliceClient;
+	private final String namespace;
+	private final String serviceName;
+	private final Consumer<ServiceID> changeListener;
+
+	private volatile Map<String, K8sEndpointSlice> endpointSlices;
+	private volatile String resourceVersion;
+
+	private Disposable watchDisposable;
+	private boolean shutdown;
+
+	/**
+	 * <p>
+	 * Creates a Kubernetes endpoint slice HTTP service.
+	 * </p>
+	 *
+	 * @param serviceId           the service ID
+	 * @param configuration       the Kubernetes HTTP discovery module configuration
+	 * @param httpClient          the HTTP client
+	 * @param endpointSliceClient the endpoint slice client
+	 * @param namespace           the namespace of the Kubernetes service
+	 * @param serviceName         the name of the Kubernetes service
+	 * @param changeListener      a listener notified with the service ID after the service was refreshed on change or null
+	 */
+	public K8sEndpointSliceService(ServiceID serviceId, K8sHttpDiscoveryConfiguration configuration, HttpClient httpClient, K8sEndpointSliceClient endpointSliceClient, String namespace, String serviceName, Consumer<ServiceID> changeListener) {
+		super(serviceId);
+		this.configuration = configuration;
+		this.httpClient = httpClient;
+		this.endpointSliceClient = endpointSliceClient;
+		this.namespace = namespace;
+		this.serviceName = serviceName;
+		this.changeListener = changeListener;
+		this.endpointSlices = Map.of();
+	}
+
+	@Override
+	public Mono<? extends Service<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy>> refresh(HttpTrafficPolicy trafficPolicy) {
+		return super.refresh(trafficPolicy)
+			.doOnSuccess(service -> {
+				if(service != null) {
+					this.startWatch();
+				}
+				else {
+					this.stopWatch();
+				}
+			});
+	}
+
+	@Override
+	protected Mono<Map<Integer, Supplier<HttpServiceInstance>>> resolveInstances(HttpTrafficPolicy trafficPolicy) {
+		// Endpoint slices are only listed when they are not already watched
+		return Mono.defer(() -> this.resourceVersion == null ? this.list() : Mono.<Void>empty())
+			.then(Mono.fromSupplier(() -> this.createInstances(trafficPolicy)));
+	}
+
+	/**
+	 * <p>
+	 * Lists the endpoint slices of the service and replaces the in-memory endpoint slices.
+	 * </p>
+	 *
+	 * @return a mono which completes once endpoint slices have been listed
+	 */
+	private Mono<Void> list() {
+		return this.endpointSliceClient.list(this.namespace, this.serviceName)
+			.doOnNext(endpointSliceList -> {
+				Map<String, K8sEndpointSlice> newEndpointSlices = new HashMap<>();
+				for(K8sEndpointSlice endpointSlice : endpointSliceList.getItems()) {
+					newEndpointSlices.put(endpointSlice.getName(), endpointSlice);
+				}
+				this.endpointSlices = newEndpointSlices;
+				this.resourceVersion = endpointSliceList.getResourceVersion();
+			})
+			.then();
+	}
+
+	/**
+	 * <p>
+	 * Creates the service instance factories from the in-memory endpoint slices.
+	 * </p>
+	 *
+	 * @param trafficPolicy the traffic policy
+	 *
+	 * @return a map of service instance factories or null if there are no ready endpoints
+	 */
+	private Map<Integer, Supplier<HttpServiceInstance>> createInstances(HttpTrafficPolicy trafficPolicy) {
+		String zone = this.configuration.zone();
+
+		Map<Integer, Supplier<HttpServiceInstance>> instances = new HashMap<>();
+		Map<Integer, Supplier<HttpServiceInstance>> zoneInstances = new HashMap<>();
+		for(K8sEndpointSlice endpointSlice : this.endpointSlices.values()) {
+			K8sEndpointSlice.Port port = this.selectPort(endpointSlice.getPorts());
+			if(port == null) {
+				continue;
+			}
+			HttpClientConfiguration clientConfiguration = this.createClientConfiguration(port, trafficPolicy);
+			for(K8sEndpointSlice.Endpoint endpoint : endpointSlice.getEndpoints()) {
+				if(!endpoint.isReady()) {
+					continue;
+				}
+				boolean inZone = zone != null && endpoint.isInZone(zone);
+				Locality locality = Locality.of(null, endpoint.getZone());
+				for(String address : endpoint.getAddresses()) {
+					InetSocketAddress resolvedAddress = new InetSocketAddress(address, port.getPort());
+					Integer key = Objects.hash(resolvedAddress, trafficPolicy);
+					Supplier<HttpServiceInstance> instanceFactory = () -> new K8sHttpServiceInstance(this.httpClient.endpoint(resolvedAddress)
+						.configuration(clientConfiguration)
+						.netConfiguration(trafficPolicy.getNetConfiguration())
+						.build(),
+						locality
+					);
+					instances.put(key, instanceFactory);
+					if(inZone) {
+						zoneInstances.put(key, instanceFactory);
+					}
+				}
+			}
+		}
+
+		// locality-aware routing needs all instances to be able to spill over traffic to other zones
+		if(!zoneInstances.isEmpty() && trafficPolicy.getLocalityAwareRouting() == null) {
+			return zoneInstances;
+		}
+		return !instances.isEmpty() ? instances : null;
+	}
+
+	/**
+	 * <p>
+	 * Selects the HTTP or HTTPS port of an endpoint slice.
+	 * </p>
+	 *
+	 * <p>
+	 * Ports are identified by their application protocol or name, HTTPS being preferred over HTTP when configured. When neither an HTTP nor an HTTPS port is defined, a single port is assumed to
+	 * serve the service.
+	 * </p>
+	 *
+	 * @param ports the endpoint slice ports
+	 *
+	 * @return a port or null
+	 */
+	private K8sEndpointSlice.Port selectPort(List<K8sEndpointSlice.Port> ports) {
+		K8sEndpointSlice.Port httpPort = null;
+		K8sEndpointSlice.Port httpsPort = null;
+		for(K8sEndpointSlice.Port port : ports) {
+			if(httpsPort == null && port.isScheme("https")) {
+				httpsPort = port;
+			}
+			else if(httpPort == null && port.isScheme("http")) {
+				httpPort = port;
+			}
+		}
+
+		if(httpPort == null && httpsPort == null) {
+			return ports.size() == 1 ? ports.get(0) : null;
+		}
+		if(this.configuration.prefer_https()) {
+			return httpsPort != null ? httpsPort : httpPort;
+		}
+		else {
+			return httpPort != null ? httpPort : httpsPort;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates the HTTP client configuration to use to connect to the specified port.
+	 * </p>
+	 *
+	 * <p>
+	 * TLS is enabled for HTTPS ports and disabled for HTTP ports, the traffic policy configuration is used as is otherwise.
+	 * </p>
+	 *
+	 * @param port          the selected port
+	 * @param trafficPolicy the traffic policy
+	 *
+	 * @return an HTTP client configuration
+	 */
+	private HttpClientConfiguration createClientConfiguration(K8sEndpointSlice.Port port, HttpTrafficPolicy trafficPolicy) {
+		if(port.isScheme("https")) {
+			return trafficPolicy.getConfiguration() != null && trafficPolicy.getConfiguration().tls_enabled() ? trafficPolicy.getConfiguration() : HttpClientConfigurationLoader.load(trafficPolicy.getConfiguration(), configuration -> configuration.tls_enabled(true));
+		}
+		else if(port.isScheme("http")) {
+			return trafficPolicy.getConfiguration() != null && !trafficPolicy.getConfiguration().tls_enabled() ? trafficPolicy.getConfiguration() : HttpClientConfigurationLoader.load(trafficPolicy.getConfiguration(), configuration -> configuration.tls_enabled(false));
+		}
+		return trafficPolicy.getConfiguration();
+	}
+
+	/**
+	 * <p>
+	 * Starts watching the endpoint slices of the service if not already started.
+	 * </p>
+	 */
+	private synchronized void startWatch() {
+		if(this.watchDisposable != null || this.shutdown) {
+			return;
+		}
+		this.watchDisposable = Flux.defer(() -> (this.resourceVersion == null ? this.list().then(this.update()) : Mono.<Void>empty())
+				.thenMany(Flux.defer(() -> this.endpointSliceClient.watch(this.namespace, this.serviceName, this.resourceVersion)))
+				// events are propagated so that the retry backoff is reset once the watch is back
+				.concatMap(event -> this.onWatchEvent(event).thenReturn(event))
+			)
+			// the watch completes when it times out on the API server
+			.repeatWhen(completed -> completed.delayElements(Duration.ofMillis(this.configuration.watch_retry_delay())))
+			.doOnError(e -> this.resourceVersion = null)
+			.retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(this.configuration.watch_retry_delay()))
+				.maxBackoff(MAX_WATCH_RETRY_DELAY)
+				.transientErrors(true)
+				.doBeforeRetry(signal -> LOGGER.warn("Endpoint slices watch failed for service {}, retrying", this.serviceId, signal.failure()))
+			)
+			.subscribe(
+				ign -> {},
+				e -> LOGGER.error("Endpoint slices watch failed for service {}", this.serviceId, e)
+			);
+	}
+
+	/**
+	 * <p>
+	 * Stops watching the endpoint slices of the service.
+	 * </p>
+	 *
+	 * <p>
+	 * In-memory endpoint slices are considered outdated and listed again on next refresh.
+	 * </p>
+	 */
+	private synchronized void stopWatch() {
+		if(this.watchDisposable != null) {
+			this.watchDisposable.dispose();
+			this.watchDisposable = null;
+		}
+		this.resourceVersion = null;
+	}
+
+	/**
+	 * <p>
+	 * Applies a watch event to the in-memory endpoint slices.
+	 * </p>
+	 *
+	 * @param event a watch event
+	 *
+	 * @return a mono which completes once the event has been applied and the service refreshed when needed
+	 */
+	private Mono<Void> onWatchEvent(K8sEndpointSliceClient.WatchEvent event) {
+		K8sEndpointSlice endpointSlice = event.getEndpointSlice();
+		Map<String, K8sEndpointSlice> newEndpointSlices;
+		switch(event.getType()) {
+			case ADDED:
+			case MODIFIED:
+				newEndpointSlices = new HashMap<>(this.endpointSlices);
+				newEndpointSlices.put(endpointSlice.getName(), endpointSlice);
+				this.endpointSlices = newEndpointSlices;
+				this.resourceVersion = endpointSlice.getResourceVersion();
+				return this.update();
+			case DELETED:
+				newEndpointSlices = new HashMap<>(this.endpointSlices);
+				newEndpointSlices.remove(endpointSlice.getName());
+				this.endpointSlices = newEndpointSlices;
+				this.resourceVersion = endpointSlice.getResourceVersion();
+				return this.update();
+			case BOOKMARK:
+				this.resourceVersion = endpointSlice.getResourceVersion();
+				return Mono.empty();
+			case ERROR:
+				// 410 Gone is reported when the resource version is too old, the watch is reopened after listing endpoint slices again
+				return Mono.error(() -> new IllegalStateException("Endpoint slices watch error (" + event.getErrorCode() + "): " + event.getErrorMessage()));
+			default:
+				return Mono.empty();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Refreshes the service from the in-memory endpoint slices using the current traffic policy and notifies the change listener.
+	 * </p>
+	 *
+	 * @return a mono which completes once the service is refreshed
+	 */
+	private Mono<Void> update() {
+		return super.refresh(this.getTrafficPolicy())
+			.doOnSuccess(service -> {
+				// the listener must be notified before the watch is stopped when the service is gone
+				if(this.changeListener != null) {
+					this.changeListener.accept(this.serviceId);
+				}
+				if(service == null) {
+					this.stopWatch();
+				}
+			})
+			.then();
+	}
+
+	@Override
+	public Mono<Void> shutdown() {
+		return Mono.fromRunnable(this::stop).then(super.shutdown());
+	}
+
+	@Override
+	public Mono<Void> shutdownGracefully() {
+		return Mono.fromRunnable(this::stop).then(super.shutdownGracefully());
+	}
+
+	/**
+	 * <p>
+	 * Stops watching the endpoint slices and prevents the watch from being restarted.
+	 * </p>
+	 */
+	private synchronized void stop() {
+		this.shutdown = true;
+		this.stopWatch();
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.Provide;
+import io.inverno.mod.discovery.AbstractDiscoveryService;
+import io.inverno.mod.discovery.Service;
+import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.WatchableDiscoveryService;
+import io.inverno.mod.discovery.http.HttpDiscoveryService;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfiguration;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * Kubernetes HTTP discovery service.
+ * </p>
+ *
+ * <p>
+ * This implementation resolves Kubernetes HTTP services by watching their endpoint slices using the Kubernetes API, a Kubernetes HTTP service URI being of the form
+ * {@code k8s://<service_name>[.<namespace>]}. Unlike the {@link K8sEnvHttpDiscoveryService} which resolves the cluster IP of a service, this resolves one instance per ready pod which allows
+ * client-side load balancing.
+ * </p>
+ *
+ * <p>
+ * The service account running the application must be granted {@code list} and {@code watch} permissions on {@code endpointslices} in the {@code discovery.k8s.io} API group.
+ * </p>
+ *
+ * <p>
+ * Resolved services are refreshed on endpoint slice changes, the discovery service is watchable and notifies the ID of a service after it was refreshed.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@Bean
+public class K8sHttpDiscoveryService extends AbstractDiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> implements @Provide HttpDiscoveryService, WatchableDiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> {
+
+	private static final Path NAMESPACE_PATH = Path.of("/var/run/secrets/kubernetes.io/serviceaccount/namespace");
+
+	private static final String DEFAULT_NAMESPACE = "default";
+
+	private final K8sHttpDiscoveryConfiguration configuration;
+	private final HttpClient httpClient;
+	private final Sinks.Many<ServiceID> changesSink;
+
+	private String defaultNamespace;
+	private K8sEndpointSliceClient endpointSliceClient;
+
+	/**
+	 * <p>
+	 * Creates a Kubernetes HTTP discovery service.
+	 * </p>
+	 *
+	 * @param configuration the Kubernetes HTTP discovery module configuration
+	 * @param httpClient    the HTTP client
+	 */
+	public K8sHttpDiscoveryService(K8sHttpDiscoveryConfiguration configuration, HttpClient httpClient) {
+		super(Set.of("k8s"));
+		this.configuration = configuration;
+		this.httpClient = httpClient;
+		this.changesSink = Sinks.many().multicast().directBestEffort();
+	}
+
+	/**
+	 * <p>
+	 * Shutdowns the endpoint slice client.
+	 * </p>
+	 */
+	@Destroy
+	public synchronized void destroy() {
+		if(this.endpointSliceClient != null) {
+			this.endpointSliceClient.shutdown().block();
+			this.endpointSliceClient = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the endpoint slice client, creating it on first use.
+	 * </p>
+	 *
+	 * @return the endpoint slice client
+	 */
+	private synchronized K8sEndpointSliceClient getEndpointSliceClient() {
+		if(this.endpointSliceClient == null) {
+			this.endpointSliceClient = new HttpK8sEndpointSliceClient(this.configuration, this.httpClient);
+		}
+		return this.endpointSliceClient;
+	}
+
+	/**
+	 * <p>
+	 * Returns the namespace in which services are resolved when not specified in the service URI.
+	 * </p>
+	 *
+	 * @return the default namespace
+	 */
+	private synchronized String getDefaultNamespace() {
+		if(this.defaultNamespace == null) {
+			if(StringUtils.isNotBlank(this.configuration.namespace())) {
+				this.defaultNamespace = this.configuration.namespace();
+			}
+			else if(Files.exists(NAMESPACE_PATH)) {
+				try {
+					this.defaultNamespace = Files.readString(NAMESPACE_PATH).trim();
+				}
+				catch(IOException e) {
+					throw new UncheckedIOException("Failed to read service account namespace", e);
+				}
+			}
+			else {
+				this.defaultNamespace = DEFAULT_NAMESPACE;
+			}
+		}
+		return this.defaultNamespace;
+	}
+
+	@Override
+	protected Mono<? extends Service<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy>> doResolve(ServiceID serviceId, HttpTrafficPolicy trafficPolicy) {
+		return Mono.defer(() -> {
+			String authority = serviceId.getURI().getAuthority();
+			int namespaceIndex = authority.indexOf('.');
+			String serviceName = namespaceIndex > 0 ? authority.substring(0, namespaceIndex) : authority;
+			String namespace = namespaceIndex > 0 ? authority.substring(namespaceIndex + 1) : this.getDefaultNamespace();
+
+			K8sEndpointSliceService k8sService = new K8sEndpointSliceService(serviceId, this.configuration, this.httpClient, this.getEndpointSliceClient(), namespace, serviceName, this::onServiceChange);
+			return k8sService.refresh(trafficPolicy);
+		});
+	}
+
+	/**
+	 * <p>
+	 * Notifies watchers that a service has changed.
+	 * </p>
+	 *
+	 * @param serviceId the ID of the service that has changed
+	 */
+	private synchronized void onServiceChange(ServiceID serviceId) {
+		this.changesSink.tryEmitNext(serviceId);
+	}
+
+	@Override
+	public Flux<ServiceID> watch() {
+		return this.changesSink.asFlux();
+	}
+}
@@ -15,11 +15,13 @@
  */
 package io.inverno.mod.discovery.http.k8s.internal;
 
+import io.inverno.mod.discovery.Locality;
 import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.client.Endpoint;
 import io.inverno.mod.http.client.Exchange;
 import io.inverno.mod.http.client.UnboundExchange;
+import java.net.SocketAddress;
 import reactor.core.publisher.Mono;
 
 /**
@@ -33,6 +35,7 @@ import reactor.core.publisher.Mono;
 public class K8sHttpServiceInstance implements HttpServiceInstance {
 
 	private final Endpoint<?> endpoint;
+	private final Locality locality;
 
 	/**
 	 * <p>
@@ -42,7 +45,22 @@ public class K8sHttpServiceInstance implements HttpServiceInstance {
 	 * @param endpoint an HTTP client endpoint
 	 */
 	public K8sHttpServiceInstance(Endpoint<?> endpoint) {
+		this(endpoint, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a Kubernetes HTTP service instance.
+	 * </p>
+	 *
+	 * @param endpoint an HTTP client endpoint
+	 * @param locality the locality of the endpoint or null
+	 *
+	 * @since 1.14
+	 */
+	public K8sHttpServiceInstance(Endpoint<?> endpoint, Locality locality) {
 		this.endpoint = endpoint;
+		this.locality = locality;
 	}
 
 	@Override
@@ -66,6 +84,16 @@ public class K8sHttpServiceInstance implements HttpServiceInstance {
 		return this.endpoint.getLoadFactor();
 	}
 
+	@Override
+	public SocketAddress getRemoteAddress() {
+		return this.endpoint.getRemoteAddress();
+	}
+
+	@Override
+	public Locality getLocality() {
+		return this.locality;
+	}
+
 	@Override
 	public Mono<Void> shutdown() {
 		return this.endpoint.shutdown();
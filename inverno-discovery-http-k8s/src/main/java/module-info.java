@@ -39,6 +39,8 @@
  * <dd>the HTTP discovery meta module configuration</dd>
  * <dt><b>k8sEnvHttpDiscoveryService</b></dt>
  * <dd>the Kubernetes environment HTTP discovery service</dd>
+ * <dt><b>k8sHttpDiscoveryService</b></dt>
+ * <dd>the Kubernetes endpoint slices HTTP discovery service</dd>
  * </dl>
  *
  * <p>
@@ -66,6 +68,11 @@
  * }
  * }</pre>
  *
+ * <p>
+ * The Kubernetes endpoint slices HTTP discovery service resolves one instance per ready pod by watching service endpoint slices using the Kubernetes API, a Kubernetes HTTP service URI being of
+ * the form {@code k8s://<service_name>[.<namespace>]}.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.12
  */
@@ -80,7 +87,9 @@ module io.inverno.mod.discovery.http.k8s {
 	requires transitive io.inverno.mod.discovery.http;
 	requires transitive io.inverno.mod.http.client;
 
+	requires com.fasterxml.jackson.databind;
 	requires org.apache.commons.lang3;
+	requires org.apache.logging.log4j;
 	requires org.reactivestreams;
 	requires reactor.core;
 
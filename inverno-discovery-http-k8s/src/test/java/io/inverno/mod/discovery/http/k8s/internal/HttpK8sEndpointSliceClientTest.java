@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import io.inverno.mod.boot.Boot;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfigurationLoader;
+import io.inverno.mod.http.client.Client;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class HttpK8sEndpointSliceClientTest {
+
+	private static final String ENDPOINT_SLICE_A = "{\"metadata\":{\"name\":\"service-a\",\"resourceVersion\":\"101\"},\"endpoints\":[{\"addresses\":[\"10.0.0.1\"],\"conditions\":{\"ready\":true},\"zone\":\"zone-1\"}],\"ports\":[{\"name\":\"http\",\"port\":8080}]}";
+
+	private static final String ENDPOINT_SLICE_B = "{\"metadata\":{\"name\":\"service-b\",\"resourceVersion\":\"102\"},\"endpoints\":[{\"addresses\":[\"10.0.0.2\",\"10.0.0.3\"],\"conditions\":{\"ready\":false}}],\"ports\":[{\"name\":\"http\",\"port\":8080}]}";
+
+	private static Boot bootModule;
+
+	private static Client httpClientModule;
+
+	private ApiServer apiServer;
+
+	private HttpK8sEndpointSliceClient client;
+
+	@BeforeAll
+	public static void initModules() {
+		bootModule = new Boot.Builder().build();
+		bootModule.start();
+
+		httpClientModule = new Client.Builder(bootModule.netService(), bootModule.reactor(), bootModule.resourceService()).build();
+		httpClientModule.start();
+	}
+
+	@AfterAll
+	public static void destroyModules() {
+		if(httpClientModule != null) {
+			httpClientModule.stop();
+		}
+		if(bootModule != null) {
+			bootModule.stop();
+		}
+	}
+
+	@BeforeEach
+	public void init() throws IOException {
+		this.apiServer = new ApiServer();
+		this.client = new HttpK8sEndpointSliceClient(
+			K8sHttpDiscoveryConfigurationLoader.load(conf -> conf
+				.api_server(URI.create("http://127.0.0.1:" + this.apiServer.getPort()))
+				.watch_timeout(30)
+			),
+			httpClientModule.httpClient()
+		);
+	}
+
+	@AfterEach
+	public void destroy() throws IOException {
+		this.client.shutdown().block();
+		this.apiServer.close();
+	}
+
+	@Test
+	public void test_list() {
+		this.apiServer.setHandler((target, out) -> {
+			byte[] body = ("{\"kind\":\"EndpointSliceList\",\"metadata\":{\"resourceVersion\":\"100\"},\"items\":[" + ENDPOINT_SLICE_A + "," + ENDPOINT_SLICE_B + "]}").getBytes(StandardCharsets.UTF_8);
+			out.write(("HTTP/1.1 200 OK\r\ncontent-type: application/json\r\ncontent-length: " + body.length + "\r\nconnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(body);
+			out.flush();
+		});
+
+		K8sEndpointSliceClient.EndpointSliceList list = this.client.list("default", "service").block(Duration.ofSeconds(10));
+
+		Assertions.assertNotNull(list);
+		Assertions.assertEquals("100", list.getResourceVersion());
+		Assertions.assertEquals(List.of("service-a", "service-b"), list.getItems().stream().map(K8sEndpointSlice::getName).collect(Collectors.toList()));
+		Assertions.assertEquals(List.of("10.0.0.1"), list.getItems().get(0).getEndpoints().get(0).getAddresses());
+		Assertions.assertEquals(List.of("10.0.0.2", "10.0.0.3"), list.getItems().get(1).getEndpoints().get(0).getAddresses());
+
+		Assertions.assertEquals(List.of("/apis/discovery.k8s.io/v1/namespaces/default/endpointslices?labelSelector=kubernetes.io%2Fservice-name%3Dservice"), this.apiServer.getRequestTargets());
+	}
+
+	@Test
+	public void test_watch() {
+		String events =
+			"{\"type\":\"ADDED\",\"object\":" + ENDPOINT_SLICE_A + "}\n" +
+			"{\"type\":\"MODIFIED\",\"object\":" + ENDPOINT_SLICE_B + "}\n" +
+			"\n" +
+			"{\"type\":\"BOOKMARK\",\"object\":{\"metadata\":{\"resourceVersion\":\"103\"}}}\n" +
+			"{\"type\":\"DELETED\",\"object\":" + ENDPOINT_SLICE_A + "}\n" +
+			"{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"code\":410,\"reason\":\"Expired\",\"message\":\"too old resource version: 100 (103) – réessayer\"}}\n";
+		this.apiServer.setHandler((target, out) -> {
+			out.write("HTTP/1.1 200 OK\r\ncontent-type: application/json\r\ntransfer-encoding: chunked\r\nconnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			// lines and multi-byte characters are split across chunks
+			byte[] data = events.getBytes(StandardCharsets.UTF_8);
+			for(int offset = 0;offset < data.length;offset += 37) {
+				byte[] chunk = Arrays.copyOfRange(data, offset, Math.min(offset + 37, data.length));
+				out.write((Integer.toHexString(chunk.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+				out.write(chunk);
+				out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+				out.flush();
+				Thread.sleep(5);
+			}
+			out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+		});
+
+		List<K8sEndpointSliceClient.WatchEvent> watchEvents = this.client.watch("default", "service", "100").collectList().block(Duration.ofSeconds(10));
+
+		Assertions.assertNotNull(watchEvents);
+		Assertions.assertEquals(
+			List.of(
+				K8sEndpointSliceClient.WatchEvent.Type.ADDED,
+				K8sEndpointSliceClient.WatchEvent.Type.MODIFIED,
+				K8sEndpointSliceClient.WatchEvent.Type.BOOKMARK,
+				K8sEndpointSliceClient.WatchEvent.Type.DELETED,
+				K8sEndpointSliceClient.WatchEvent.Type.ERROR
+			),
+			watchEvents.stream().map(K8sEndpointSliceClient.WatchEvent::getType).collect(Collectors.toList())
+		);
+		Assertions.assertEquals("service-a", watchEvents.get(0).getEndpointSlice().getName());
+		Assertions.assertEquals("101", watchEvents.get(0).getEndpointSlice().getResourceVersion());
+		Assertions.assertEquals(List.of("10.0.0.2", "10.0.0.3"), watchEvents.get(1).getEndpointSlice().getEndpoints().get(0).getAddresses());
+		Assertions.assertEquals("103", watchEvents.get(2).getEndpointSlice().getResourceVersion());
+		Assertions.assertEquals("service-a", watchEvents.get(3).getEndpointSlice().getName());
+
+		// the API server requests a resync when the resource version is too old
+		Assertions.assertNull(watchEvents.get(4).getEndpointSlice());
+		Assertions.assertEquals(410, watchEvents.get(4).getErrorCode());
+		Assertions.assertEquals("too old resource version: 100 (103) – réessayer", watchEvents.get(4).getErrorMessage());
+
+		Assertions.assertEquals(
+			List.of("/apis/discovery.k8s.io/v1/namespaces/default/endpointslices?labelSelector=kubernetes.io%2Fservice-name%3Dservice&watch=true&allowWatchBookmarks=true&timeoutSeconds=30&resourceVersion=100"),
+			this.apiServer.getRequestTargets()
+		);
+	}
+
+	@Test
+	public void test_server_error() {
+		this.apiServer.setHandler((target, out) -> {
+			byte[] body = "{\"kind\":\"Status\",\"code\":500,\"message\":\"internal error\"}".getBytes(StandardCharsets.UTF_8);
+			out.write(("HTTP/1.1 500 Internal Server Error\r\ncontent-type: application/json\r\ncontent-length: " + body.length + "\r\nconnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(body);
+			out.flush();
+		});
+
+		IllegalStateException listError = Assertions.assertThrows(IllegalStateException.class, () -> this.client.list("default", "service").block(Duration.ofSeconds(10)));
+		Assertions.assertTrue(listError.getMessage().endsWith("failed with status 500"));
+
+		IllegalStateException watchError = Assertions.assertThrows(IllegalStateException.class, () -> this.client.watch("default", "service", null).blockLast(Duration.ofSeconds(10)));
+		Assertions.assertTrue(watchError.getMessage().endsWith("failed with status 500"));
+
+		Assertions.assertEquals(2, this.apiServer.getRequestTargets().size());
+		Assertions.assertFalse(this.apiServer.getRequestTargets().get(1).contains("resourceVersion="));
+	}
+
+	/**
+	 * <p>
+	 * A request handler writing a raw HTTP/1.1 response.
+	 * </p>
+	 */
+	@FunctionalInterface
+	private interface Handler {
+
+		void handle(String target, OutputStream out) throws IOException, InterruptedException;
+	}
+
+	/**
+	 * <p>
+	 * A minimal API server writing raw HTTP/1.1 responses in order to control how response bodies are chunked.
+	 * </p>
+	 */
+	private static class ApiServer implements AutoCloseable {
+
+		private final ServerSocket serverSocket;
+		private final Thread acceptor;
+		private final List<String> requestTargets;
+
+		private volatile Handler handler;
+
+		public ApiServer() throws IOException {
+			this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			this.requestTargets = new CopyOnWriteArrayList<>();
+			this.acceptor = new Thread(this::accept, "k8s-api-server");
+			this.acceptor.setDaemon(true);
+			this.acceptor.start();
+		}
+
+		public int getPort() {
+			return this.serverSocket.getLocalPort();
+		}
+
+		public void setHandler(Handler handler) {
+			this.handler = handler;
+		}
+
+		public List<String> getRequestTargets() {
+			return this.requestTargets;
+		}
+
+		private void accept() {
+			while(!this.serverSocket.isClosed()) {
+				try(Socket socket = this.serverSocket.accept()) {
+					BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+					String requestLine = reader.readLine();
+					if(requestLine == null) {
+						continue;
+					}
+					String line;
+					while((line = reader.readLine()) != null && !line.isEmpty()) {
+						// skip request headers
+					}
+					String target = requestLine.split(" ")[1];
+					this.requestTargets.add(target);
+					this.handler.handle(target, socket.getOutputStream());
+				}
+				catch(SocketException e) {
+					// server socket closed
+				}
+				catch(IOException | InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+		}
+	}
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.k8s.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfiguration;
+import io.inverno.mod.discovery.http.k8s.K8sHttpDiscoveryConfigurationLoader;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.client.Endpoint;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.InterceptedExchange;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class K8sEndpointSliceServiceTest {
+
+	private static final K8sEndpointSlice.Port HTTP_PORT = new K8sEndpointSlice.Port("http", 8080, null);
+	private static final K8sEndpointSlice.Port HTTPS_PORT = new K8sEndpointSlice.Port("https", 8443, "https");
+
+	@Test
+	public void test_parse() throws Exception {
+		String json = "{\"metadata\":{\"name\":\"test-abcde\",\"resourceVersion\":\"42\"},\"addressType\":\"IPv4\","
+			+ "\"endpoints\":["
+			+ "{\"addresses\":[\"10.0.0.1\"],\"conditions\":{\"ready\":true},\"zone\":\"a\"},"
+			+ "{\"addresses\":[\"10.0.0.2\"],\"conditions\":{\"ready\":false},\"zone\":\"b\",\"hints\":{\"forZones\":[{\"name\":\"a\"}]}},"
+			+ "{\"addresses\":[\"10.0.0.3\"],\"conditions\":{}}"
+			+ "],"
+			+ "\"ports\":[{\"name\":\"web\",\"port\":8080,\"protocol\":\"TCP\",\"appProtocol\":\"http\"}]}";
+
+		K8sEndpointSlice endpointSlice = K8sEndpointSlice.from(new ObjectMapper().readTree(json));
+
+		Assertions.assertEquals("test-abcde", endpointSlice.getName());
+		Assertions.assertEquals("42", endpointSlice.getResourceVersion());
+		Assertions.assertEquals(3, endpointSlice.getEndpoints().size());
+
+		Assertions.assertEquals(List.of("10.0.0.1"), endpointSlice.getEndpoints().get(0).getAddresses());
+		Assertions.assertTrue(endpointSlice.getEndpoints().get(0).isReady());
+		Assertions.assertTrue(endpointSlice.getEndpoints().get(0).isInZone("a"));
+
+		Assertions.assertFalse(endpointSlice.getEndpoints().get(1).isReady());
+		Assertions.assertTrue(endpointSlice.getEndpoints().get(1).isInZone("a"));
+		Assertions.assertFalse(endpointSlice.getEndpoints().get(1).isInZone("b"));
+
+		// no ready condition means ready
+		Assertions.assertTrue(endpointSlice.getEndpoints().get(2).isReady());
+		Assertions.assertFalse(endpointSlice.getEndpoints().get(2).isInZone("a"));
+
+		Assertions.assertEquals(1, endpointSlice.getPorts().size());
+		Assertions.assertTrue(endpointSlice.getPorts().get(0).isScheme("http"));
+		Assertions.assertEquals(8080, endpointSlice.getPorts().get(0).getPort());
+	}
+
+	@Test
+	public void test_incremental_update() {
+		Map<InetSocketAddress, Endpoint<ExchangeContext>> endpoints = new ConcurrentHashMap<>();
+		HttpClient httpClient = this.mockHttpClient(endpoints);
+		FakeEndpointSliceClient endpointSliceClient = new FakeEndpointSliceClient();
+		endpointSliceClient.items = List.of(
+			slice("test-1", "1", List.of(HTTP_PORT), endpoint("10.0.0.1", true, null), endpoint("10.0.0.2", true, null), endpoint("10.0.0.3", false, null))
+		);
+
+		K8sEndpointSliceService service = new K8sEndpointSliceService(ServiceID.of("k8s://test"), K8sHttpDiscoveryConfigurationLoader.load(conf -> {}), httpClient, endpointSliceClient, "default", "test", null);
+		Assertions.assertNotNull(service.refresh(HttpTrafficPolicy.builder().build()).block());
+
+		Assertions.assertEquals(Set.of("10.0.0.1:8080", "10.0.0.2:8080"), addresses(service.getInstances()));
+		Assertions.assertEquals(1, endpointSliceClient.lists.get());
+		Assertions.assertEquals("1", endpointSliceClient.watchResourceVersion);
+
+		Endpoint<ExchangeContext> endpoint2 = endpoints.get(new InetSocketAddress("10.0.0.2", 8080));
+
+		endpointSliceClient.emit(new K8sEndpointSliceClient.WatchEvent(K8sEndpointSliceClient.WatchEvent.Type.MODIFIED,
+			slice("test-1", "2", List.of(HTTP_PORT), endpoint("10.0.0.2", true, null), endpoint("10.0.0.4", true, null))
+		));
+		Assertions.assertEquals(Set.of("10.0.0.2:8080", "10.0.0.4:8080"), addresses(service.getInstances()));
+		// existing instance must be kept
+		Assertions.assertSame(endpoint2, endpoints.get(new InetSocketAddress("10.0.0.2", 8080)));
+		Mockito.verify(httpClient, Mockito.times(1)).endpoint(new InetSocketAddress("10.0.0.2", 8080));
+		Mockito.verify(endpoint2, Mockito.never()).shutdownGracefully();
+		// removed instance must be shutdown
+		Mockito.verify(endpoints.get(new InetSocketAddress("10.0.0.1", 8080))).shutdownGracefully();
+
+		endpointSliceClient.emit(new K8sEndpointSliceClient.WatchEvent(K8sEndpointSliceClient.WatchEvent.Type.ADDED,
+			slice("test-2", "3", List.of(HTTP_PORT), endpoint("10.0.0.5", true, null))
+		));
+		Assertions.assertEquals(Set.of("10.0.0.2:8080", "10.0.0.4:8080", "10.0.0.5:8080"), addresses(service.getInstances()));
+
+		endpointSliceClient.emit(new K8sEndpointSliceClient.WatchEvent(K8sEndpointSliceClient.WatchEvent.Type.DELETED,
+			slice("test-1", "4", List.of(HTTP_PORT))
+		));
+		Assertions.assertEquals(Set.of("10.0.0.5:8080"), addresses(service.getInstances()));
+
+		Assertions.assertEquals(1, endpointSliceClient.lists.get());
+
+		service.shutdown().block();
+		Assertions.assertTrue(endpointSliceClient.watchCancelled);
+	}
+
+	@Test
+	public void test_prefer_https() {
+		Map<InetSocketAddress, Endpoint<ExchangeContext>> endpoints = new ConcurrentHashMap<>();
+		HttpClient httpClient = this.mockHttpClient(endpoints);
+		FakeEndpointSliceClient endpointSliceClient = new FakeEndpointSliceClient();
+		endpointSliceClient.items = List.of(
+			slice("test-1", "1", List.of(HTTP_PORT, HTTPS_PORT), endpoint("10.0.0.1", true, null))
+		);
+
+		K8sEndpointSliceService service = new K8sEndpointSliceService(ServiceID.of("k8s://test"), K8sHttpDiscoveryConfigurationLoader.load(conf -> conf.prefer_https(true)), httpClient, endpointSliceClient, "default", "test", null);
+		service.refresh(HttpTrafficPolicy.builder().build()).block();
+		Assertions.assertEquals(Set.of("10.0.0.1:8443"), addresses(service.getInstances()));
+		service.shutdown().block();
+
+		service = new K8sEndpointSliceService(ServiceID.of("k8s://test"), K8sHttpDiscoveryConfigurationLoader.load(conf -> conf.prefer_https(false)), httpClient, endpointSliceClient, "default", "test", null);
+		service.refresh(HttpTrafficPolicy.builder().build()).block();
+		Assertions.assertEquals(Set.of("10.0.0.1:8080"), addresses(service.getInstances()));
+		service.shutdown().block();
+	}
+
+	@Test
+	public void test_zone_preference() {
+		Map<InetSocketAddress, Endpoint<ExchangeContext>> endpoints = new ConcurrentHashMap<>();
+		HttpClient httpClient = this.mockHttpClient(endpoints);
+		FakeEndpointSliceClient endpointSliceClient = new FakeEndpointSliceClient();
+		endpointSliceClient.items = List.of(
+			slice("test-1", "1", List.of(HTTP_PORT),
+				endpoint("10.0.0.1", true, "a"),
+				endpoint("10.0.0.2", true, "b"),
+				new K8sEndpointSlice.Endpoint(List.of("10.0.0.3"), true, "b", Set.of("a"))
+			)
+		);
+
+		K8sEndpointSliceService service = new K8sEndpointSliceService(ServiceID.of("k8s://test"), K8sHttpDiscoveryConfigurationLoader.load(conf -> conf.zone("a")), httpClient, endpointSliceClient, "default", "test", null);
+		service.refresh(HttpTrafficPolicy.builder().build()).block();
+		Assertions.assertEquals(Set.of("10.0.0.1:8080", "10.0.0.3:8080"), addresses(service.getInstances()));
+
+		// fallback to other zones when no endpoint is available in the local zone
+		endpointSliceClient.emit(new K8sEndpointSliceClient.WatchEvent(K8sEndpointSliceClient.WatchEvent.Type.MODIFIED,
+			slice("test-1", "2", List.of(HTTP_PORT), endpoint("10.0.0.1", false, "a"), endpoint("10.0.0.2", true, "b"))
+		));
+		Assertions.assertEquals(Set.of("10.0.0.2:8080"), addresses(service.getInstances()));
+
+		service.shutdown().block();
+	}
+
+	@Test
+	public void test_relist_on_watch_error() {
+		Map<InetSocketAddress, Endpoint<ExchangeContext>> endpoints = new ConcurrentHashMap<>();
+		HttpClient httpClient = this.mockHttpClient(endpoints);
+		FakeEndpointSliceClient endpointSliceClient = new FakeEndpointSliceClient();
+		endpointSliceClient.items = List.of(
+			slice("test-1", "1", List.of(HTTP_PORT), endpoint("10.0.0.1", true, null))
+		);
+
+		K8sEndpointSliceService service = new K8sEndpointSliceService(ServiceID.of("k8s://test"), K8sHttpDiscoveryConfigurationLoader.load(conf -> conf.watch_retry_delay(10)), httpClient, endpointSliceClient, "default", "test", null);
+		service.refresh(HttpTrafficPolicy.builder().build()).block();
+		Assertions.assertEquals(Set.of("10.0.0.1:8080"), addresses(service.getInstances()));
+
+		endpointSliceClient.items = List.of(
+			slice("test-1", "5", List.of(HTTP_PORT), endpoint("10.0.0.2", true, null))
+		);
+		endpointSliceClient.emit(new K8sEndpointSliceClient.WatchEvent(K8sEndpointSliceClient.WatchEvent.Type.ERROR, null, 410, "too old resource version"));
+
+		Awaitility.await().atMost(Duration.ofMillis(2000)).until(() -> endpointSliceClient.watches.get() >= 2);
+		Assertions.assertEquals(2, endpointSliceClient.lists.get());
+		Assertions.assertEquals("5", endpointSliceClient.watchResourceVersion);
+		Assertions.assertEquals(Set.of("10.0.0.2:8080"), addresses(service.getInstances()));
+
+		service.shutdown().block();
+	}
+
+	private static Set<String> addresses(List<HttpServiceInstance> instances) {
+		return instances.stream()
+			.map(instance -> (InetSocketAddress)instance.getRemoteAddress())
+			.map(address -> address.getHostString() + ":" + address.getPort())
+			.collect(Collectors.toSet());
+	}
+
+	private static K8sEndpointSlice slice(String name, String resourceVersion, List<K8sEndpointSlice.Port> ports, K8sEndpointSlice.Endpoint... endpoints) {
+		return new K8sEndpointSlice(name, resourceVersion, List.of(endpoints), ports);
+	}
+
+	private static K8sEndpointSlice.Endpoint endpoint(String address, boolean ready, String zone) {
+		return new K8sEndpointSlice.Endpoint(List.of(address), ready, zone, Set.of());
+	}
+
+	@SuppressWarnings("unchecked")
+	private HttpClient mockHttpClient(Map<InetSocketAddress, Endpoint<ExchangeContext>> endpoints) {
+		HttpClient httpClient = Mockito.mock(HttpClient.class);
+		Mockito.when(httpClient.endpoint(Mockito.any(InetSocketAddress.class))).thenAnswer(invocation -> {
+			InetSocketAddress address = invocation.getArgument(0);
+
+			Endpoint<ExchangeContext> endpoint = Mockito.mock(Endpoint.class);
+			Mockito.when(endpoint.getRemoteAddress()).thenReturn(address);
+			Mockito.when(endpoint.shutdown()).thenReturn(Mono.empty());
+			Mockito.when(endpoint.shutdownGracefully()).thenReturn(Mono.empty());
+			endpoints.put(address, endpoint);
+
+			HttpClient.EndpointBuilder<ExchangeContext, Exchange<ExchangeContext>, InterceptedExchange<ExchangeContext>> endpointBuilder = Mockito.mock(HttpClient.EndpointBuilder.class);
+			Mockito.when(endpointBuilder.configuration(Mockito.any())).thenReturn(endpointBuilder);
+			Mockito.when(endpointBuilder.netConfiguration(Mockito.any())).thenReturn(endpointBuilder);
+			Mockito.when(endpointBuilder.build()).thenReturn(endpoint);
+			return endpointBuilder;
+		});
+		return httpClient;
+	}
+
+	private static class FakeEndpointSliceClient implements K8sEndpointSliceClient {
+
+		private final AtomicInteger lists = new AtomicInteger();
+		private final AtomicInteger watches = new AtomicInteger();
+
+		private volatile List<K8sEndpointSlice> items;
+		private volatile Sinks.Many<WatchEvent> watchSink;
+		private volatile String watchResourceVersion;
+		private volatile boolean watchCancelled;
+
+		@Override
+		public Mono<EndpointSliceList> list(String namespace, String serviceName) {
+			return Mono.fromSupplier(() -> {
+				this.lists.incrementAndGet();
+				return new EndpointSliceList(this.items.stream().map(K8sEndpointSlice::getResourceVersion).max(String::compareTo).orElse("0"), this.items);
+			});
+		}
+
+		@Override
+		public Flux<WatchEvent> watch(String namespace, String serviceName, String resourceVersion) {
+			return Flux.defer(() -> {
+				this.watches.incrementAndGet();
+				this.watchResourceVersion = resourceVersion;
+				this.watchSink = Sinks.many().unicast().onBackpressureBuffer();
+				return this.watchSink.asFlux().doOnCancel(() -> this.watchCancelled = true);
+			});
+		}
+
+		public void emit(WatchEvent event) {
+			this.watchSink.tryEmitNext(event);
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return Mono.empty();
+		}
+	}
+}
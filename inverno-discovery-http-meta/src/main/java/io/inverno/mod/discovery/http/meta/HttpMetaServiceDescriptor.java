@@ -22,10 +22,16 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.inverno.mod.base.Settable;
+import io.inverno.mod.discovery.Locality;
 import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.http.CircuitBreaker;
+import io.inverno.mod.discovery.http.ConsistentHashTrafficLoadBalancer;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.LeastRequestTrafficLoadBalancer;
+import io.inverno.mod.discovery.http.LocalityAwareRouting;
 import io.inverno.mod.discovery.http.MinLoadFactorTrafficLoadBalancer;
+import io.inverno.mod.discovery.http.OutlierDetection;
+import io.inverno.mod.discovery.http.PeakEwmaTrafficLoadBalancer;
 import io.inverno.mod.http.base.HttpVersion;
 import io.inverno.mod.http.base.Method;
 import io.inverno.mod.http.client.HttpClientConfigurationLoader;
@@ -1771,15 +1777,20 @@ public class HttpMetaServiceDescriptor {
 	 */
 	@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "strategy", visible = true)
 	@JsonSubTypes({
-//		@JsonSubTypes.Type(value = ConsistentHashLoadBalancerDescriptor.class, name = "CONSISTENT_HASH"),
 		@JsonSubTypes.Type(value = LoadBalancerDescriptor.class, names = { "RANDOM", "ROUND_ROBIN" }),
 		@JsonSubTypes.Type(value = LeastRequestLoadBalancerDescriptor.class, names = { "LEAST_REQUEST" }),
-		@JsonSubTypes.Type(value = MinLoadFactorLoadBalancerDescriptor.class, names = { "MIN_LOAD_FACTOR" })
+		@JsonSubTypes.Type(value = MinLoadFactorLoadBalancerDescriptor.class, names = { "MIN_LOAD_FACTOR" }),
+		@JsonSubTypes.Type(value = ConsistentHashLoadBalancerDescriptor.class, names = { "CONSISTENT_HASH" }),
+		@JsonSubTypes.Type(value = PeakEwmaLoadBalancerDescriptor.class, names = { "PEAK_EWMA" })
 	})
 	public static class LoadBalancerDescriptor {
 
 		private final HttpTrafficPolicy.LoadBalancingStrategy strategy;
 
+		private OutlierDetectionDescriptor outlierDetection;
+		private CircuitBreakerDescriptor circuitBreaker;
+		private LocalityAwareRoutingDescriptor localityAwareRouting;
+
 		/**
 		 * <p>
 		 * Creates HTTP traffic load balancer descriptor.
@@ -1804,444 +1815,1788 @@ public class HttpMetaServiceDescriptor {
 			return strategy;
 		}
 
+		/**
+		 * <p>
+		 * Returns the outlier detection descriptor.
+		 * </p>
+		 *
+		 * @return the outlier detection descriptor or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("outlierDetection")
+		public OutlierDetectionDescriptor getOutlierDetection() {
+			return outlierDetection;
+		}
+
+		/**
+		 * <p>
+		 * Sets the outlier detection descriptor.
+		 * </p>
+		 *
+		 * @param outlierDetection the outlier detection descriptor
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("outlierDetection")
+		public void setOutlierDetection(OutlierDetectionDescriptor outlierDetection) {
+			this.outlierDetection = outlierDetection;
+		}
+
+		/**
+		 * <p>
+		 * Returns the circuit breaker descriptor.
+		 * </p>
+		 *
+		 * @return the circuit breaker descriptor or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("circuitBreaker")
+		public CircuitBreakerDescriptor getCircuitBreaker() {
+			return circuitBreaker;
+		}
+
+		/**
+		 * <p>
+		 * Sets the circuit breaker descriptor.
+		 * </p>
+		 *
+		 * @param circuitBreaker the circuit breaker descriptor
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("circuitBreaker")
+		public void setCircuitBreaker(CircuitBreakerDescriptor circuitBreaker) {
+			this.circuitBreaker = circuitBreaker;
+		}
+
+		/**
+		 * <p>
+		 * Returns the locality-aware routing descriptor.
+		 * </p>
+		 *
+		 * @return the locality-aware routing descriptor or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("localityAwareRouting")
+		public LocalityAwareRoutingDescriptor getLocalityAwareRouting() {
+			return localityAwareRouting;
+		}
+
+		/**
+		 * <p>
+		 * Sets the locality-aware routing descriptor.
+		 * </p>
+		 *
+		 * @param localityAwareRouting the locality-aware routing descriptor
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("localityAwareRouting")
+		public void setLocalityAwareRouting(LocalityAwareRoutingDescriptor localityAwareRouting) {
+			this.localityAwareRouting = localityAwareRouting;
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
 			LoadBalancerDescriptor that = (LoadBalancerDescriptor) o;
-			return strategy == that.strategy;
+			return strategy == that.strategy && Objects.equals(outlierDetection, that.outlierDetection) && Objects.equals(circuitBreaker, that.circuitBreaker) && Objects.equals(localityAwareRouting, that.localityAwareRouting);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hashCode(strategy);
+			return Objects.hash(strategy, outlierDetection, circuitBreaker, localityAwareRouting);
 		}
 	}
 
 	/**
 	 * <p>
-	 * Describes least request traffic load balancer.
+	 * Describes outlier detection settings.
 	 * </p>
 	 *
 	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
-	 * @since 1.12
+	 * @since 1.14
+	 *
+	 * @see OutlierDetection
 	 */
-	public static class LeastRequestLoadBalancerDescriptor extends LoadBalancerDescriptor {
+	public static class OutlierDetectionDescriptor {
 
-		private int choiceCount = LeastRequestTrafficLoadBalancer.DEFAULT_CHOICE_COUNT;
-		private int bias = LeastRequestTrafficLoadBalancer.DEFAULT_BIAS;
+		private int consecutive5xx = OutlierDetection.DEFAULT_CONSECUTIVE_5XX;
+		private int consecutiveConnectErrors = OutlierDetection.DEFAULT_CONSECUTIVE_CONNECT_ERRORS;
+		private long interval = OutlierDetection.DEFAULT_INTERVAL;
+		private long baseEjectionTime = OutlierDetection.DEFAULT_BASE_EJECTION_TIME;
+		private long maxEjectionTime = OutlierDetection.DEFAULT_MAX_EJECTION_TIME;
+		private int maxEjectionPercent = OutlierDetection.DEFAULT_MAX_EJECTION_PERCENT;
+		private int successRateMinimumHosts = OutlierDetection.DEFAULT_SUCCESS_RATE_MINIMUM_HOSTS;
+		private int successRateRequestVolume = OutlierDetection.DEFAULT_SUCCESS_RATE_REQUEST_VOLUME;
+		private double successRateStdevFactor = OutlierDetection.DEFAULT_SUCCESS_RATE_STDEV_FACTOR;
 
 		/**
 		 * <p>
-		 * Creates a least request load balancer descriptor.
+		 * Returns the number of consecutive server errors after which an instance is ejected.
 		 * </p>
+		 *
+		 * @return the number of consecutive server errors
 		 */
-		public LeastRequestLoadBalancerDescriptor() {
-			super(HttpTrafficPolicy.LoadBalancingStrategy.LEAST_REQUEST);
+		@JsonProperty("consecutive5xx")
+		public int getConsecutive5xx() {
+			return consecutive5xx;
 		}
 
 		/**
 		 * <p>
-		 * Returns the choice count.
+		 * Sets the number of consecutive server errors after which an instance is ejected.
 		 * </p>
 		 *
-		 * @return the choice count
+		 * @param consecutive5xx the number of consecutive server errors
 		 */
-		@JsonProperty("choiceCount")
-		public int getChoiceCount() {
-			return choiceCount;
+		@JsonProperty("consecutive5xx")
+		public void setConsecutive5xx(int consecutive5xx) {
+			this.consecutive5xx = consecutive5xx;
 		}
 
 		/**
 		 * <p>
-		 * Sets the choice count.
+		 * Returns the number of consecutive connect errors after which an instance is ejected.
 		 * </p>
 		 *
-		 * @param choiceCount the choice count
+		 * @return the number of consecutive connect errors
 		 */
-		@JsonProperty("choiceCount")
-		public void setChoiceCount(int choiceCount) {
-			this.choiceCount = choiceCount;
+		@JsonProperty("consecutiveConnectErrors")
+		public int getConsecutiveConnectErrors() {
+			return consecutiveConnectErrors;
 		}
 
 		/**
 		 * <p>
-		 * Returns the active requests bias.
+		 * Sets the number of consecutive connect errors after which an instance is ejected.
 		 * </p>
 		 *
-		 * @return the active requests bias
+		 * @param consecutiveConnectErrors the number of consecutive connect errors
 		 */
-		@JsonProperty("bias")
-		public int getBias() {
-			return bias;
+		@JsonProperty("consecutiveConnectErrors")
+		public void setConsecutiveConnectErrors(int consecutiveConnectErrors) {
+			this.consecutiveConnectErrors = consecutiveConnectErrors;
 		}
 
 		/**
 		 * <p>
-		 * Sets the active requests bias.
+		 * Returns the success rate analysis interval.
 		 * </p>
 		 *
-		 * @param bias the active requests bias
+		 * @return the interval in milliseconds
 		 */
-		@JsonProperty("bias")
-		public void setBias(int bias) {
-			this.bias = bias;
+		@JsonProperty("interval")
+		public long getInterval() {
+			return interval;
+		}
+
+		/**
+		 * <p>
+		 * Sets the success rate analysis interval.
+		 * </p>
+		 *
+		 * @param interval the interval in milliseconds
+		 */
+		@JsonProperty("interval")
+		public void setInterval(long interval) {
+			this.interval = interval;
+		}
+
+		/**
+		 * <p>
+		 * Returns the base ejection time.
+		 * </p>
+		 *
+		 * @return the base ejection time in milliseconds
+		 */
+		@JsonProperty("baseEjectionTime")
+		public long getBaseEjectionTime() {
+			return baseEjectionTime;
+		}
+
+		/**
+		 * <p>
+		 * Sets the base ejection time.
+		 * </p>
+		 *
+		 * @param baseEjectionTime the base ejection time in milliseconds
+		 */
+		@JsonProperty("baseEjectionTime")
+		public void setBaseEjectionTime(long baseEjectionTime) {
+			this.baseEjectionTime = baseEjectionTime;
+		}
+
+		/**
+		 * <p>
+		 * Returns the maximum ejection time.
+		 * </p>
+		 *
+		 * @return the maximum ejection time in milliseconds
+		 */
+		@JsonProperty("maxEjectionTime")
+		public long getMaxEjectionTime() {
+			return maxEjectionTime;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum ejection time.
+		 * </p>
+		 *
+		 * @param maxEjectionTime the maximum ejection time in milliseconds
+		 */
+		@JsonProperty("maxEjectionTime")
+		public void setMaxEjectionTime(long maxEjectionTime) {
+			this.maxEjectionTime = maxEjectionTime;
+		}
+
+		/**
+		 * <p>
+		 * Returns the maximum percentage of instances that can be ejected.
+		 * </p>
+		 *
+		 * @return the maximum ejection percentage
+		 */
+		@JsonProperty("maxEjectionPercent")
+		public int getMaxEjectionPercent() {
+			return maxEjectionPercent;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum percentage of instances that can be ejected.
+		 * </p>
+		 *
+		 * @param maxEjectionPercent the maximum ejection percentage
+		 */
+		@JsonProperty("maxEjectionPercent")
+		public void setMaxEjectionPercent(int maxEjectionPercent) {
+			this.maxEjectionPercent = maxEjectionPercent;
+		}
+
+		/**
+		 * <p>
+		 * Returns the minimum number of instances to perform success rate analysis.
+		 * </p>
+		 *
+		 * @return the minimum number of instances
+		 */
+		@JsonProperty("successRateMinimumHosts")
+		public int getSuccessRateMinimumHosts() {
+			return successRateMinimumHosts;
+		}
+
+		/**
+		 * <p>
+		 * Sets the minimum number of instances to perform success rate analysis.
+		 * </p>
+		 *
+		 * @param successRateMinimumHosts the minimum number of instances
+		 */
+		@JsonProperty("successRateMinimumHosts")
+		public void setSuccessRateMinimumHosts(int successRateMinimumHosts) {
+			this.successRateMinimumHosts = successRateMinimumHosts;
+		}
+
+		/**
+		 * <p>
+		 * Returns the minimum number of requests to include an instance in success rate analysis.
+		 * </p>
+		 *
+		 * @return the minimum number of requests
+		 */
+		@JsonProperty("successRateRequestVolume")
+		public int getSuccessRateRequestVolume() {
+			return successRateRequestVolume;
+		}
+
+		/**
+		 * <p>
+		 * Sets the minimum number of requests to include an instance in success rate analysis.
+		 * </p>
+		 *
+		 * @param successRateRequestVolume the minimum number of requests
+		 */
+		@JsonProperty("successRateRequestVolume")
+		public void setSuccessRateRequestVolume(int successRateRequestVolume) {
+			this.successRateRequestVolume = successRateRequestVolume;
+		}
+
+		/**
+		 * <p>
+		 * Returns the standard deviation factor used to determine success rate outliers.
+		 * </p>
+		 *
+		 * @return the standard deviation factor
+		 */
+		@JsonProperty("successRateStdevFactor")
+		public double getSuccessRateStdevFactor() {
+			return successRateStdevFactor;
+		}
+
+		/**
+		 * <p>
+		 * Sets the standard deviation factor used to determine success rate outliers.
+		 * </p>
+		 *
+		 * @param successRateStdevFactor the standard deviation factor
+		 */
+		@JsonProperty("successRateStdevFactor")
+		public void setSuccessRateStdevFactor(double successRateStdevFactor) {
+			this.successRateStdevFactor = successRateStdevFactor;
+		}
+
+		/**
+		 * <p>
+		 * Returns the outlier detection settings.
+		 * </p>
+		 *
+		 * @return outlier detection settings
+		 *
+		 * @throws IllegalArgumentException if settings are invalid
+		 */
+		public OutlierDetection toOutlierDetection() throws IllegalArgumentException {
+			return OutlierDetection.builder()
+				.consecutive5xx(this.consecutive5xx)
+				.consecutiveConnectErrors(this.consecutiveConnectErrors)
+				.interval(this.interval)
+				.baseEjectionTime(this.baseEjectionTime)
+				.maxEjectionTime(this.maxEjectionTime)
+				.maxEjectionPercent(this.maxEjectionPercent)
+				.successRateMinimumHosts(this.successRateMinimumHosts)
+				.successRateRequestVolume(this.successRateRequestVolume)
+				.successRateStdevFactor(this.successRateStdevFactor)
+				.build();
 		}
 
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
-			if (!super.equals(o)) return false;
-			LeastRequestLoadBalancerDescriptor that = (LeastRequestLoadBalancerDescriptor) o;
-			return choiceCount == that.choiceCount && bias == that.bias;
+			OutlierDetectionDescriptor that = (OutlierDetectionDescriptor) o;
+			return consecutive5xx == that.consecutive5xx && consecutiveConnectErrors == that.consecutiveConnectErrors && interval == that.interval && baseEjectionTime == that.baseEjectionTime && maxEjectionTime == that.maxEjectionTime && maxEjectionPercent == that.maxEjectionPercent && successRateMinimumHosts == that.successRateMinimumHosts && successRateRequestVolume == that.successRateRequestVolume && Double.compare(successRateStdevFactor, that.successRateStdevFactor) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(consecutive5xx, consecutiveConnectErrors, interval, baseEjectionTime, maxEjectionTime, maxEjectionPercent, successRateMinimumHosts, successRateRequestVolume, successRateStdevFactor);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes circuit breaker settings.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @see CircuitBreaker
+	 */
+	public static class CircuitBreakerDescriptor {
+
+		private int maxPendingRequests = CircuitBreaker.DEFAULT_MAX_PENDING_REQUESTS;
+		private int maxRequests = CircuitBreaker.DEFAULT_MAX_REQUESTS;
+
+		/**
+		 * <p>
+		 * Returns the maximum number of requests waiting for a response per instance.
+		 * </p>
+		 *
+		 * @return the maximum number of pending requests
+		 */
+		@JsonProperty("maxPendingRequests")
+		public int getMaxPendingRequests() {
+			return maxPendingRequests;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum number of requests waiting for a response per instance.
+		 * </p>
+		 *
+		 * @param maxPendingRequests the maximum number of pending requests
+		 */
+		@JsonProperty("maxPendingRequests")
+		public void setMaxPendingRequests(int maxPendingRequests) {
+			this.maxPendingRequests = maxPendingRequests;
+		}
+
+		/**
+		 * <p>
+		 * Returns the maximum number of active requests per instance.
+		 * </p>
+		 *
+		 * @return the maximum number of active requests
+		 */
+		@JsonProperty("maxRequests")
+		public int getMaxRequests() {
+			return maxRequests;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum number of active requests per instance.
+		 * </p>
+		 *
+		 * @param maxRequests the maximum number of active requests
+		 */
+		@JsonProperty("maxRequests")
+		public void setMaxRequests(int maxRequests) {
+			this.maxRequests = maxRequests;
+		}
+
+		/**
+		 * <p>
+		 * Returns the circuit breaker settings.
+		 * </p>
+		 *
+		 * @return circuit breaker settings
+		 *
+		 * @throws IllegalArgumentException if settings are invalid
+		 */
+		public CircuitBreaker toCircuitBreaker() throws IllegalArgumentException {
+			return new CircuitBreaker(this.maxPendingRequests, this.maxRequests);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			CircuitBreakerDescriptor that = (CircuitBreakerDescriptor) o;
+			return maxPendingRequests == that.maxPendingRequests && maxRequests == that.maxRequests;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(maxPendingRequests, maxRequests);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes locality-aware routing settings.
+	 * </p>
+	 *
+	 * <p>
+	 * The region and the zone define the locality of the client, at least one of them must be specified.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @see LocalityAwareRouting
+	 */
+	public static class LocalityAwareRoutingDescriptor {
+
+		private String region;
+		private String zone;
+		private float loadThreshold = LocalityAwareRouting.DEFAULT_LOAD_THRESHOLD;
+		private float overprovisioningFactor = LocalityAwareRouting.DEFAULT_OVERPROVISIONING_FACTOR;
+
+		/**
+		 * <p>
+		 * Returns the region of the client.
+		 * </p>
+		 *
+		 * @return the region
+		 */
+		@JsonProperty("region")
+		public String getRegion() {
+			return region;
+		}
+
+		/**
+		 * <p>
+		 * Sets the region of the client.
+		 * </p>
+		 *
+		 * @param region the region
+		 */
+		@JsonProperty("region")
+		public void setRegion(String region) {
+			this.region = region;
+		}
+
+		/**
+		 * <p>
+		 * Returns the zone of the client.
+		 * </p>
+		 *
+		 * @return the zone
+		 */
+		@JsonProperty("zone")
+		public String getZone() {
+			return zone;
+		}
+
+		/**
+		 * <p>
+		 * Sets the zone of the client.
+		 * </p>
+		 *
+		 * @param zone the zone
+		 */
+		@JsonProperty("zone")
+		public void setZone(String zone) {
+			this.zone = zone;
+		}
+
+		/**
+		 * <p>
+		 * Returns the average load factor above which traffic spills over to the next locality.
+		 * </p>
+		 *
+		 * @return the load threshold
+		 */
+		@JsonProperty("loadThreshold")
+		public float getLoadThreshold() {
+			return loadThreshold;
+		}
+
+		/**
+		 * <p>
+		 * Sets the average load factor above which traffic spills over to the next locality.
+		 * </p>
+		 *
+		 * @param loadThreshold the load threshold
+		 */
+		@JsonProperty("loadThreshold")
+		public void setLoadThreshold(float loadThreshold) {
+			this.loadThreshold = loadThreshold;
+		}
+
+		/**
+		 * <p>
+		 * Returns the overprovisioning factor applied to the ratio of healthy instances in a locality.
+		 * </p>
+		 *
+		 * @return the overprovisioning factor
+		 */
+		@JsonProperty("overprovisioningFactor")
+		public float getOverprovisioningFactor() {
+			return overprovisioningFactor;
+		}
+
+		/**
+		 * <p>
+		 * Sets the overprovisioning factor applied to the ratio of healthy instances in a locality.
+		 * </p>
+		 *
+		 * @param overprovisioningFactor the overprovisioning factor
+		 */
+		@JsonProperty("overprovisioningFactor")
+		public void setOverprovisioningFactor(float overprovisioningFactor) {
+			this.overprovisioningFactor = overprovisioningFactor;
+		}
+
+		/**
+		 * <p>
+		 * Returns the locality-aware routing settings.
+		 * </p>
+		 *
+		 * @return locality-aware routing settings
+		 *
+		 * @throws IllegalArgumentException if settings are invalid
+		 */
+		public LocalityAwareRouting toLocalityAwareRouting() throws IllegalArgumentException {
+			return LocalityAwareRouting.builder(Locality.of(this.region, this.zone))
+				.loadThreshold(this.loadThreshold)
+				.overprovisioningFactor(this.overprovisioningFactor)
+				.build();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			LocalityAwareRoutingDescriptor that = (LocalityAwareRoutingDescriptor) o;
+			return Float.compare(loadThreshold, that.loadThreshold) == 0 && Float.compare(overprovisioningFactor, that.overprovisioningFactor) == 0 && Objects.equals(region, that.region) && Objects.equals(zone, that.zone);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(region, zone, loadThreshold, overprovisioningFactor);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes least request traffic load balancer.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.12
+	 */
+	public static class LeastRequestLoadBalancerDescriptor extends LoadBalancerDescriptor {
+
+		private int choiceCount = LeastRequestTrafficLoadBalancer.DEFAULT_CHOICE_COUNT;
+		private int bias = LeastRequestTrafficLoadBalancer.DEFAULT_BIAS;
+
+		/**
+		 * <p>
+		 * Creates a least request load balancer descriptor.
+		 * </p>
+		 */
+		public LeastRequestLoadBalancerDescriptor() {
+			super(HttpTrafficPolicy.LoadBalancingStrategy.LEAST_REQUEST);
+		}
+
+		/**
+		 * <p>
+		 * Returns the choice count.
+		 * </p>
+		 *
+		 * @return the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public int getChoiceCount() {
+			return choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Sets the choice count.
+		 * </p>
+		 *
+		 * @param choiceCount the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public void setChoiceCount(int choiceCount) {
+			this.choiceCount = choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Returns the active requests bias.
+		 * </p>
+		 *
+		 * @return the active requests bias
+		 */
+		@JsonProperty("bias")
+		public int getBias() {
+			return bias;
+		}
+
+		/**
+		 * <p>
+		 * Sets the active requests bias.
+		 * </p>
+		 *
+		 * @param bias the active requests bias
+		 */
+		@JsonProperty("bias")
+		public void setBias(int bias) {
+			this.bias = bias;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			if (!super.equals(o)) return false;
+			LeastRequestLoadBalancerDescriptor that = (LeastRequestLoadBalancerDescriptor) o;
+			return choiceCount == that.choiceCount && bias == that.bias;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), choiceCount, bias);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes min load factor traffic load balancer.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.12
+	 */
+	public static class MinLoadFactorLoadBalancerDescriptor extends LoadBalancerDescriptor {
+
+		private int choiceCount = MinLoadFactorTrafficLoadBalancer.DEFAULT_CHOICE_COUNT;
+		private int bias = LeastRequestTrafficLoadBalancer.DEFAULT_BIAS;
+
+		/**
+		 * <p>
+		 * Creates min load factory load balancer descriptor.
+		 * </p>
+		 */
+		public MinLoadFactorLoadBalancerDescriptor() {
+			super(HttpTrafficPolicy.LoadBalancingStrategy.MIN_LOAD_FACTOR);
+		}
+
+		/**
+		 * <p>
+		 * Returns the choice count.
+		 * </p>
+		 *
+		 * @return the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public int getChoiceCount() {
+			return choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Sets the choice count.
+		 * </p>
+		 *
+		 * @param choiceCount the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public void setChoiceCount(int choiceCount) {
+			this.choiceCount = choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Returns the load factor bias.
+		 * </p>
+		 *
+		 * @return the load factor bias
+		 */
+		@JsonProperty("bias")
+		public int getBias() {
+			return bias;
+		}
+
+		/**
+		 * <p>
+		 * Sets the load factor bias.
+		 * </p>
+		 *
+		 * @param bias the load factor bias
+		 */
+		@JsonProperty("bias")
+		public void setBias(int bias) {
+			this.bias = bias;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			if (!super.equals(o)) return false;
+			MinLoadFactorLoadBalancerDescriptor that = (MinLoadFactorLoadBalancerDescriptor) o;
+			return choiceCount == that.choiceCount && bias == that.bias;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), choiceCount, bias);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes peak EWMA traffic load balancer.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class PeakEwmaLoadBalancerDescriptor extends LoadBalancerDescriptor {
+
+		private int choiceCount = PeakEwmaTrafficLoadBalancer.DEFAULT_CHOICE_COUNT;
+		private long decayTime = PeakEwmaTrafficLoadBalancer.DEFAULT_DECAY_TIME;
+
+		/**
+		 * <p>
+		 * Creates a peak EWMA load balancer descriptor.
+		 * </p>
+		 */
+		public PeakEwmaLoadBalancerDescriptor() {
+			super(HttpTrafficPolicy.LoadBalancingStrategy.PEAK_EWMA);
+		}
+
+		/**
+		 * <p>
+		 * Returns the choice count.
+		 * </p>
+		 *
+		 * @return the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public int getChoiceCount() {
+			return choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Sets the choice count.
+		 * </p>
+		 *
+		 * @param choiceCount the choice count
+		 */
+		@JsonProperty("choiceCount")
+		public void setChoiceCount(int choiceCount) {
+			this.choiceCount = choiceCount;
+		}
+
+		/**
+		 * <p>
+		 * Returns the latency decay time.
+		 * </p>
+		 *
+		 * @return the decay time in milliseconds
+		 */
+		@JsonProperty("decayTime")
+		public long getDecayTime() {
+			return decayTime;
+		}
+
+		/**
+		 * <p>
+		 * Sets the latency decay time.
+		 * </p>
+		 *
+		 * @param decayTime the decay time in milliseconds
+		 */
+		@JsonProperty("decayTime")
+		public void setDecayTime(long decayTime) {
+			this.decayTime = decayTime;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			if (!super.equals(o)) return false;
+			PeakEwmaLoadBalancerDescriptor that = (PeakEwmaLoadBalancerDescriptor) o;
+			return choiceCount == that.choiceCount && decayTime == that.decayTime;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), choiceCount, decayTime);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes consistent hash traffic load balancer.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class ConsistentHashLoadBalancerDescriptor extends LoadBalancerDescriptor {
+
+		private ConsistentHashTrafficLoadBalancer.Algorithm algorithm = ConsistentHashTrafficLoadBalancer.DEFAULT_ALGORITHM;
+		private ConsistentHashTrafficLoadBalancer.KeySource keySource = ConsistentHashTrafficLoadBalancer.DEFAULT_KEY_SOURCE;
+		private String keyName = ConsistentHashTrafficLoadBalancer.DEFAULT_KEY_NAME;
+		private String path;
+
+		/**
+		 * <p>
+		 * Creates a consistent hash load balancer descriptor.
+		 * </p>
+		 */
+		public ConsistentHashLoadBalancerDescriptor() {
+			super(HttpTrafficPolicy.LoadBalancingStrategy.CONSISTENT_HASH);
+		}
+
+		/**
+		 * <p>
+		 * Returns the consistent hashing algorithm.
+		 * </p>
+		 *
+		 * @return the algorithm
+		 */
+		@JsonProperty("algorithm")
+		public ConsistentHashTrafficLoadBalancer.Algorithm getAlgorithm() {
+			return algorithm;
+		}
+
+		/**
+		 * <p>
+		 * Sets the consistent hashing algorithm.
+		 * </p>
+		 *
+		 * @param algorithm the algorithm
+		 */
+		@JsonProperty("algorithm")
+		public void setAlgorithm(ConsistentHashTrafficLoadBalancer.Algorithm algorithm) {
+			this.algorithm = algorithm;
+		}
+
+		/**
+		 * <p>
+		 * Returns the source of the hash key in a request.
+		 * </p>
+		 *
+		 * @return the hash key source
+		 */
+		@JsonProperty("keySource")
+		public ConsistentHashTrafficLoadBalancer.KeySource getKeySource() {
+			return keySource;
+		}
+
+		/**
+		 * <p>
+		 * Sets the source of the hash key in a request.
+		 * </p>
+		 *
+		 * @param keySource the hash key source
+		 */
+		@JsonProperty("keySource")
+		public void setKeySource(ConsistentHashTrafficLoadBalancer.KeySource keySource) {
+			this.keySource = keySource;
+		}
+
+		/**
+		 * <p>
+		 * Returns the name of the hash key in a request.
+		 * </p>
+		 *
+		 * @return the hash key name
+		 */
+		@JsonProperty("keyName")
+		public String getKeyName() {
+			return keyName;
+		}
+
+		/**
+		 * <p>
+		 * Sets the name of the hash key in a request.
+		 * </p>
+		 *
+		 * @param keyName the hash key name
+		 */
+		@JsonProperty("keyName")
+		public void setKeyName(String keyName) {
+			this.keyName = keyName;
+		}
+
+		/**
+		 * <p>
+		 * Returns the parameterized path used to extract the hash key when the key source is a path parameter.
+		 * </p>
+		 *
+		 * @return the parameterized path or null
+		 */
+		@JsonProperty("path")
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * <p>
+		 * Sets the parameterized path used to extract the hash key when the key source is a path parameter.
+		 * </p>
+		 *
+		 * @param path the parameterized path
+		 */
+		@JsonProperty("path")
+		public void setPath(String path) {
+			this.path = path;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			if (!super.equals(o)) return false;
+			ConsistentHashLoadBalancerDescriptor that = (ConsistentHashLoadBalancerDescriptor) o;
+			return algorithm == that.algorithm && keySource == that.keySource && Objects.equals(keyName, that.keyName) && Objects.equals(path, that.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), algorithm, keySource, keyName, path);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes an HTTP route.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.12
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class RouteDescriptor {
+
+		private final HttpClientConfiguration configuration;
+
+		private final LoadBalancerDescriptor loadBalancer;
+
+		private final Set<? extends ValueMatcher> authorityMatchers;
+		private final Set<PathMatcher> pathMatchers;
+		private final Set<Method> methodMatchers;
+		private final Set<String> contentTypeMatchers;
+		private final Set<String> acceptMatchers;
+		private final Set<String> languageMatchers;
+		private final Map<String, Set<? extends ValueMatcher>> headersMatchers;
+		private final Map<String, Set<? extends ValueMatcher>> queryParameterMatchers;
+
+		private final RequestTransformer transformRequest;
+		private final ResponseTransformer transformResponse;
+		private final List<DestinationDescriptor> destinations;
+
+		private RetryPolicyDescriptor retry;
+		private HedgingPolicyDescriptor hedging;
+
+		/**
+		 * <p>
+		 * Creates an HTTP route descriptor.
+		 * </p>
+		 *
+		 * @param configuration          the HTTP client configuration
+		 * @param loadBalancer           the load balancer descriptor
+		 * @param authorityMatchers      the authority matchers
+		 * @param pathMatchers           the path matchers
+		 * @param methodMatchers         the method matchers
+		 * @param contentTypeMatchers    the content type matchers
+		 * @param acceptMatchers         the accept matchers
+		 * @param languageMatchers       the language matchers
+		 * @param headersMatchers        the headers matchers
+		 * @param queryParameterMatchers the query parameters matchers
+		 * @param transformRequest       the request transformer
+		 * @param transformResponse      the response transformer
+		 * @param destinations           the route destinations
+		 */
+		@JsonCreator
+		public RouteDescriptor(
+				@JsonProperty("configuration") HttpClientConfiguration configuration,
+				@JsonProperty("loadBalancer") LoadBalancerDescriptor loadBalancer,
+				@JsonProperty("authority") Set<? extends ValueMatcher> authorityMatchers,
+				@JsonProperty("path") Set<PathMatcher> pathMatchers,
+				@JsonProperty("method") Set<Method> methodMatchers,
+				@JsonProperty("contentType") Set<String> contentTypeMatchers,
+				@JsonProperty("accept") Set<String> acceptMatchers,
+				@JsonProperty("language") Set<String> languageMatchers,
+				@JsonProperty("headers") Map<String, Set<? extends ValueMatcher>> headersMatchers,
+				@JsonProperty("queryParameters") Map<String, Set<? extends ValueMatcher>> queryParameterMatchers,
+				@JsonProperty("transformRequest") RequestTransformer transformRequest,
+				@JsonProperty("transformResponse") ResponseTransformer transformResponse,
+				@JsonProperty("destinations") List<DestinationDescriptor> destinations
+			) {
+			this.configuration = configuration;
+			this.loadBalancer = loadBalancer;
+
+			this.authorityMatchers = authorityMatchers;
+			this.pathMatchers = pathMatchers;
+			this.methodMatchers = methodMatchers;
+			this.contentTypeMatchers = contentTypeMatchers;
+			this.acceptMatchers = acceptMatchers;
+			this.languageMatchers = languageMatchers;
+			this.headersMatchers = headersMatchers;
+			this.queryParameterMatchers = queryParameterMatchers;
+
+			this.transformRequest = transformRequest;
+			this.transformResponse = transformResponse;
+			this.destinations = destinations;
+		}
+
+		/**
+		 * <p>
+		 * Returns the HTTP client configuration.
+		 * </p>
+		 *
+		 * @return the HTTP client configuration
+		 */
+		@JsonProperty("configuration")
+		public HttpClientConfiguration getConfiguration() {
+			return configuration;
+		}
+
+		/**
+		 * <p>
+		 * Returns the load balancer descriptor.
+		 * </p>
+		 *
+		 * @return the load balancer descriptor
+		 */
+		@JsonProperty("loadBalancer")
+		public LoadBalancerDescriptor getLoadBalancer() {
+			return loadBalancer;
+		}
+
+		/**
+		 * <p>
+		 * Returns the authority matchers.
+		 * </p>
+		 *
+		 * @return the authority matchers
+		 */
+		@JsonProperty("authority")
+		public Set<? extends ValueMatcher> getAuthorityMatchers() {
+			return authorityMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the path matchers.
+		 * </p>
+		 *
+		 * @return the path matchers
+		 */
+		@JsonProperty("path")
+		public Set<PathMatcher> getPathMatchers() {
+			return pathMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the method matchers.
+		 * </p>
+		 *
+		 * @return the method matchers
+		 */
+		@JsonProperty("method")
+		public Set<Method> getMethodMatchers() {
+			return methodMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the content type matchers.
+		 * </p>
+		 *
+		 * @return the content type matchers
+		 */
+		@JsonProperty("contentType")
+		public Set<String> getContentTypeMatchers() {
+			return contentTypeMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the accept matchers.
+		 * </p>
+		 *
+		 * @return the accept matchers
+		 */
+		@JsonProperty("accept")
+		public Set<String> getAcceptMatchers() {
+			return acceptMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the language matchers.
+		 * </p>
+		 *
+		 * @return the language matchers
+		 */
+		@JsonProperty("language")
+		public Set<String> getLanguageMatchers() {
+			return languageMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the headers matchers.
+		 * </p>
+		 *
+		 * @return the headers matchers
+		 */
+		@JsonProperty("headers")
+		public Map<String, Set<? extends ValueMatcher>> getHeadersMatchers() {
+			return headersMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the query parameter matchers.
+		 * </p>
+		 *
+		 * @return the query parameter matchers
+		 */
+		@JsonProperty("queryParameters")
+		public Map<String, Set<? extends ValueMatcher>> getQueryParameterMatchers() {
+			return queryParameterMatchers;
+		}
+
+		/**
+		 * <p>
+		 * Returns the request transformer.
+		 * </p>
+		 *
+		 * @return the request transformer
+		 */
+		@JsonProperty("transformRequest")
+		public RequestTransformer getTransformRequest() {
+			return transformRequest;
+		}
+
+		/**
+		 * <p>
+		 * Returns the response transformer.
+		 * </p>
+		 *
+		 * @return the response transformer
+		 */
+		@JsonProperty("transformResponse")
+		public ResponseTransformer getTransformResponse() {
+			return transformResponse;
+		}
+
+		/**
+		 * <p>
+		 * Returns the route destinations.
+		 * </p>
+		 *
+		 * @return the route destinations
+		 */
+		@JsonProperty("destinations")
+		public List<DestinationDescriptor> getDestinations() {
+			return destinations;
+		}
+
+		/**
+		 * <p>
+		 * Returns the retry policy descriptor.
+		 * </p>
+		 *
+		 * @return the retry policy descriptor or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("retry")
+		public RetryPolicyDescriptor getRetry() {
+			return retry;
+		}
+
+		/**
+		 * <p>
+		 * Sets the retry policy descriptor.
+		 * </p>
+		 *
+		 * @param retry the retry policy descriptor
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("retry")
+		public void setRetry(RetryPolicyDescriptor retry) {
+			this.retry = retry;
+		}
+
+		/**
+		 * <p>
+		 * Returns the hedging policy descriptor.
+		 * </p>
+		 *
+		 * @return the hedging policy descriptor or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("hedging")
+		public HedgingPolicyDescriptor getHedging() {
+			return hedging;
+		}
+
+		/**
+		 * <p>
+		 * Sets the hedging policy descriptor.
+		 * </p>
+		 *
+		 * @param hedging the hedging policy descriptor
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("hedging")
+		public void setHedging(HedgingPolicyDescriptor hedging) {
+			this.hedging = hedging;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			RouteDescriptor that = (RouteDescriptor) o;
+			return Objects.equals(configuration, that.configuration) && Objects.equals(loadBalancer, that.loadBalancer) && Objects.equals(authorityMatchers, that.authorityMatchers) && Objects.equals(pathMatchers, that.pathMatchers) && Objects.equals(methodMatchers, that.methodMatchers) && Objects.equals(contentTypeMatchers, that.contentTypeMatchers) && Objects.equals(acceptMatchers, that.acceptMatchers) && Objects.equals(languageMatchers, that.languageMatchers) && Objects.equals(headersMatchers, that.headersMatchers) && Objects.equals(queryParameterMatchers, that.queryParameterMatchers) && Objects.equals(transformRequest, that.transformRequest) && Objects.equals(transformResponse, that.transformResponse) && Objects.equals(destinations, that.destinations) && Objects.equals(retry, that.retry) && Objects.equals(hedging, that.hedging);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(configuration, loadBalancer, authorityMatchers, pathMatchers, methodMatchers, contentTypeMatchers, acceptMatchers, languageMatchers, headersMatchers, queryParameterMatchers, transformRequest, transformResponse, destinations, retry, hedging);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes a route retry policy.
+	 * </p>
+	 *
+	 * <p>
+	 * A request is retried on a new exchange when the response status is one of {@link #getStatuses()} or when it failed to connect to the selected service instance. Back-off delays are randomly
+	 * chosen between zero and an exponential ceiling bounded by {@link #getMaxBackoff()} (full jitter). Retries are limited by a budget which caps them to a ratio of the route traffic in order to prevent
+	 * retry storms from amplifying an outage.
+	 * </p>
+	 *
+	 * <p>
+	 * Requests can only be replayed when they are idempotent and have no payload, as a result only {@code GET}, {@code HEAD}, {@code OPTIONS} and {@code TRACE} methods can be retried.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class RetryPolicyDescriptor {
+
+		/**
+		 * The default maximum number of retries.
+		 */
+		public static final int DEFAULT_MAX_RETRIES = 2;
+		/**
+		 * The default response statuses triggering a retry.
+		 */
+		public static final Set<Integer> DEFAULT_STATUSES = Set.of(502, 503, 504);
+		/**
+		 * The default methods that can be retried.
+		 */
+		public static final Set<Method> DEFAULT_METHODS = Set.of(Method.GET, Method.HEAD, Method.OPTIONS);
+		/**
+		 * The default base back-off delay in milliseconds.
+		 */
+		public static final long DEFAULT_BASE_BACKOFF = 25;
+		/**
+		 * The default maximum back-off delay in milliseconds.
+		 */
+		public static final long DEFAULT_MAX_BACKOFF = 250;
+		/**
+		 * The default ratio of retries to requests.
+		 */
+		public static final double DEFAULT_BUDGET_RATIO = 0.2;
+		/**
+		 * The default minimum number of retries per second allowed regardless of the budget ratio.
+		 */
+		public static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+
+		private int maxRetries = DEFAULT_MAX_RETRIES;
+		private Set<Integer> statuses = DEFAULT_STATUSES;
+		private boolean connectFailure = true;
+		private Set<Method> methods = DEFAULT_METHODS;
+		private long baseBackoff = DEFAULT_BASE_BACKOFF;
+		private long maxBackoff = DEFAULT_MAX_BACKOFF;
+		private double budgetRatio = DEFAULT_BUDGET_RATIO;
+		private int minRetriesPerSecond = DEFAULT_MIN_RETRIES_PER_SECOND;
+
+		/**
+		 * <p>
+		 * Returns the maximum number of retries.
+		 * </p>
+		 *
+		 * @return the maximum number of retries
+		 */
+		@JsonProperty("maxRetries")
+		public int getMaxRetries() {
+			return maxRetries;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum number of retries.
+		 * </p>
+		 *
+		 * @param maxRetries the maximum number of retries
+		 */
+		@JsonProperty("maxRetries")
+		public void setMaxRetries(int maxRetries) {
+			this.maxRetries = maxRetries;
+		}
+
+		/**
+		 * <p>
+		 * Returns the response statuses triggering a retry.
+		 * </p>
+		 *
+		 * @return a set of statuses
+		 */
+		@JsonProperty("statuses")
+		public Set<Integer> getStatuses() {
+			return statuses;
+		}
+
+		/**
+		 * <p>
+		 * Sets the response statuses triggering a retry.
+		 * </p>
+		 *
+		 * @param statuses a set of statuses
+		 */
+		@JsonProperty("statuses")
+		public void setStatuses(Set<Integer> statuses) {
+			this.statuses = statuses;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether requests should be retried when failing to connect to the service instance.
+		 * </p>
+		 *
+		 * @return true to retry on connect failure, false otherwise
+		 */
+		@JsonProperty("connectFailure")
+		public boolean isConnectFailure() {
+			return connectFailure;
+		}
+
+		/**
+		 * <p>
+		 * Specifies whether requests should be retried when failing to connect to the service instance.
+		 * </p>
+		 *
+		 * @param connectFailure true to retry on connect failure, false otherwise
+		 */
+		@JsonProperty("connectFailure")
+		public void setConnectFailure(boolean connectFailure) {
+			this.connectFailure = connectFailure;
+		}
+
+		/**
+		 * <p>
+		 * Returns the methods of the requests that can be retried.
+		 * </p>
+		 *
+		 * @return a set of methods
+		 */
+		@JsonProperty("methods")
+		public Set<Method> getMethods() {
+			return methods;
+		}
+
+		/**
+		 * <p>
+		 * Sets the methods of the requests that can be retried.
+		 * </p>
+		 *
+		 * @param methods a set of idempotent methods without payload
+		 */
+		@JsonProperty("methods")
+		public void setMethods(Set<Method> methods) {
+			this.methods = methods;
+		}
+
+		/**
+		 * <p>
+		 * Returns the base back-off delay.
+		 * </p>
+		 *
+		 * @return the base back-off delay in milliseconds
+		 */
+		@JsonProperty("baseBackoff")
+		public long getBaseBackoff() {
+			return baseBackoff;
 		}
 
-		@Override
-		public int hashCode() {
-			return Objects.hash(super.hashCode(), choiceCount, bias);
+		/**
+		 * <p>
+		 * Sets the base back-off delay.
+		 * </p>
+		 *
+		 * @param baseBackoff the base back-off delay in milliseconds
+		 */
+		@JsonProperty("baseBackoff")
+		public void setBaseBackoff(long baseBackoff) {
+			this.baseBackoff = baseBackoff;
 		}
-	}
-
-	/**
-	 * <p>
-	 * Describes min load factor traffic load balancer.
-	 * </p>
-	 *
-	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
-	 * @since 1.12
-	 */
-	public static class MinLoadFactorLoadBalancerDescriptor extends LoadBalancerDescriptor {
 
-		private int choiceCount = MinLoadFactorTrafficLoadBalancer.DEFAULT_CHOICE_COUNT;
-		private int bias = LeastRequestTrafficLoadBalancer.DEFAULT_BIAS;
+		/**
+		 * <p>
+		 * Returns the maximum back-off delay.
+		 * </p>
+		 *
+		 * @return the maximum back-off delay in milliseconds
+		 */
+		@JsonProperty("maxBackoff")
+		public long getMaxBackoff() {
+			return maxBackoff;
+		}
 
 		/**
 		 * <p>
-		 * Creates min load factory load balancer descriptor.
+		 * Sets the maximum back-off delay.
 		 * </p>
+		 *
+		 * @param maxBackoff the maximum back-off delay in milliseconds
 		 */
-		public MinLoadFactorLoadBalancerDescriptor() {
-			super(HttpTrafficPolicy.LoadBalancingStrategy.MIN_LOAD_FACTOR);
+		@JsonProperty("maxBackoff")
+		public void setMaxBackoff(long maxBackoff) {
+			this.maxBackoff = maxBackoff;
 		}
 
 		/**
 		 * <p>
-		 * Returns the choice count.
+		 * Returns the maximum ratio of retries to requests.
 		 * </p>
 		 *
-		 * @return the choice count
+		 * @return the budget ratio
 		 */
-		@JsonProperty("choiceCount")
-		public int getChoiceCount() {
-			return choiceCount;
+		@JsonProperty("budgetRatio")
+		public double getBudgetRatio() {
+			return budgetRatio;
 		}
 
 		/**
 		 * <p>
-		 * Sets the choice count.
+		 * Sets the maximum ratio of retries to requests.
 		 * </p>
 		 *
-		 * @param choiceCount the choice count
+		 * @param budgetRatio the budget ratio
 		 */
-		@JsonProperty("choiceCount")
-		public void setChoiceCount(int choiceCount) {
-			this.choiceCount = choiceCount;
+		@JsonProperty("budgetRatio")
+		public void setBudgetRatio(double budgetRatio) {
+			this.budgetRatio = budgetRatio;
 		}
 
 		/**
 		 * <p>
-		 * Returns the load factor bias.
+		 * Returns the minimum number of retries per second allowed regardless of the budget ratio.
 		 * </p>
 		 *
-		 * @return the load factor bias
+		 * @return the minimum number of retries per second
 		 */
-		@JsonProperty("bias")
-		public int getBias() {
-			return bias;
+		@JsonProperty("minRetriesPerSecond")
+		public int getMinRetriesPerSecond() {
+			return minRetriesPerSecond;
 		}
 
 		/**
 		 * <p>
-		 * Sets the load factor bias.
+		 * Sets the minimum number of retries per second allowed regardless of the budget ratio.
 		 * </p>
 		 *
-		 * @param bias the load factor bias
+		 * @param minRetriesPerSecond the minimum number of retries per second
 		 */
-		@JsonProperty("bias")
-		public void setBias(int bias) {
-			this.bias = bias;
+		@JsonProperty("minRetriesPerSecond")
+		public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+			this.minRetriesPerSecond = minRetriesPerSecond;
 		}
 
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
-			if (!super.equals(o)) return false;
-			MinLoadFactorLoadBalancerDescriptor that = (MinLoadFactorLoadBalancerDescriptor) o;
-			return choiceCount == that.choiceCount && bias == that.bias;
+			RetryPolicyDescriptor that = (RetryPolicyDescriptor) o;
+			return maxRetries == that.maxRetries && connectFailure == that.connectFailure && baseBackoff == that.baseBackoff && maxBackoff == that.maxBackoff && Double.compare(budgetRatio, that.budgetRatio) == 0 && minRetriesPerSecond == that.minRetriesPerSecond && Objects.equals(statuses, that.statuses) && Objects.equals(methods, that.methods);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(super.hashCode(), choiceCount, bias);
+			return Objects.hash(maxRetries, statuses, connectFailure, methods, baseBackoff, maxBackoff, budgetRatio, minRetriesPerSecond);
 		}
 	}
 
-	/*public static class ConsistentHashLoadBalancerDescriptor extends LoadBalancerDescriptor {
-
-		public ConsistentHashLoadBalancerDescriptor() {
-			super(HttpTrafficPolicy.LoadBalancingStrategy.CONSISTENT_HASH);
-		}
-	}*/
-
 	/**
 	 * <p>
-	 * Describes an HTTP route.
+	 * Describes a route hedging policy.
+	 * </p>
+	 *
+	 * <p>
+	 * When the response to a request is not received after a delay corresponding to the {@link #getPercentile() percentile} of the route latency distribution, a speculative copy of the request is sent
+	 * to the service instance selected next by the load balancer. The first response received wins and the other exchange is reset. The hedging delay is bounded by {@link #getMinDelay()} and
+	 * {@link #getMaxDelay()}, the latter being used until enough latency samples have been recorded. Hedged requests are limited by a budget which caps them to a ratio of the route traffic.
+	 * </p>
+	 *
+	 * <p>
+	 * Requests can only be replayed when they are idempotent and have no payload, as a result only {@code GET}, {@code HEAD}, {@code OPTIONS} and {@code TRACE} methods can be hedged.
 	 * </p>
 	 *
 	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
-	 * @since 1.12
+	 * @since 1.14
 	 */
 	@JsonInclude(JsonInclude.Include.NON_NULL)
-	public static class RouteDescriptor {
-
-		private final HttpClientConfiguration configuration;
-
-		private final LoadBalancerDescriptor loadBalancer;
-
-		private final Set<? extends ValueMatcher> authorityMatchers;
-		private final Set<PathMatcher> pathMatchers;
-		private final Set<Method> methodMatchers;
-		private final Set<String> contentTypeMatchers;
-		private final Set<String> acceptMatchers;
-		private final Set<String> languageMatchers;
-		private final Map<String, Set<? extends ValueMatcher>> headersMatchers;
-		private final Map<String, Set<? extends ValueMatcher>> queryParameterMatchers;
-
-		private final RequestTransformer transformRequest;
-		private final ResponseTransformer transformResponse;
-		private final List<DestinationDescriptor> destinations;
+	public static class HedgingPolicyDescriptor {
 
 		/**
-		 * <p>
-		 * Creates an HTTP route descriptor.
-		 * </p>
-		 *
-		 * @param configuration          the HTTP client configuration
-		 * @param loadBalancer           the load balancer descriptor
-		 * @param authorityMatchers      the authority matchers
-		 * @param pathMatchers           the path matchers
-		 * @param methodMatchers         the method matchers
-		 * @param contentTypeMatchers    the content type matchers
-		 * @param acceptMatchers         the accept matchers
-		 * @param languageMatchers       the language matchers
-		 * @param headersMatchers        the headers matchers
-		 * @param queryParameterMatchers the query parameters matchers
-		 * @param transformRequest       the request transformer
-		 * @param transformResponse      the response transformer
-		 * @param destinations           the route destinations
+		 * The default latency percentile used to determine the hedging delay.
 		 */
-		@JsonCreator
-		public RouteDescriptor(
-				@JsonProperty("configuration") HttpClientConfiguration configuration,
-				@JsonProperty("loadBalancer") LoadBalancerDescriptor loadBalancer,
-				@JsonProperty("authority") Set<? extends ValueMatcher> authorityMatchers,
-				@JsonProperty("path") Set<PathMatcher> pathMatchers,
-				@JsonProperty("method") Set<Method> methodMatchers,
-				@JsonProperty("contentType") Set<String> contentTypeMatchers,
-				@JsonProperty("accept") Set<String> acceptMatchers,
-				@JsonProperty("language") Set<String> languageMatchers,
-				@JsonProperty("headers") Map<String, Set<? extends ValueMatcher>> headersMatchers,
-				@JsonProperty("queryParameters") Map<String, Set<? extends ValueMatcher>> queryParameterMatchers,
-				@JsonProperty("transformRequest") RequestTransformer transformRequest,
-				@JsonProperty("transformResponse") ResponseTransformer transformResponse,
-				@JsonProperty("destinations") List<DestinationDescriptor> destinations
-			) {
-			this.configuration = configuration;
-			this.loadBalancer = loadBalancer;
-
-			this.authorityMatchers = authorityMatchers;
-			this.pathMatchers = pathMatchers;
-			this.methodMatchers = methodMatchers;
-			this.contentTypeMatchers = contentTypeMatchers;
-			this.acceptMatchers = acceptMatchers;
-			this.languageMatchers = languageMatchers;
-			this.headersMatchers = headersMatchers;
-			this.queryParameterMatchers = queryParameterMatchers;
-
-			this.transformRequest = transformRequest;
-			this.transformResponse = transformResponse;
-			this.destinations = destinations;
-		}
-
+		public static final double DEFAULT_PERCENTILE = 95;
 		/**
-		 * <p>
-		 * Returns the HTTP client configuration.
-		 * </p>
-		 *
-		 * @return the HTTP client configuration
+		 * The default minimum hedging delay in milliseconds.
 		 */
-		@JsonProperty("configuration")
-		public HttpClientConfiguration getConfiguration() {
-			return configuration;
-		}
+		public static final long DEFAULT_MIN_DELAY = 5;
+		/**
+		 * The default maximum hedging delay in milliseconds.
+		 */
+		public static final long DEFAULT_MAX_DELAY = 1000;
+		/**
+		 * The default methods that can be hedged.
+		 */
+		public static final Set<Method> DEFAULT_METHODS = Set.of(Method.GET, Method.HEAD, Method.OPTIONS);
+		/**
+		 * The default ratio of hedged requests to requests.
+		 */
+		public static final double DEFAULT_BUDGET_RATIO = 0.1;
+		/**
+		 * The default minimum number of hedged requests per second allowed regardless of the budget ratio.
+		 */
+		public static final int DEFAULT_MIN_HEDGES_PER_SECOND = 1;
+
+		private double percentile = DEFAULT_PERCENTILE;
+		private long minDelay = DEFAULT_MIN_DELAY;
+		private long maxDelay = DEFAULT_MAX_DELAY;
+		private Set<Method> methods = DEFAULT_METHODS;
+		private double budgetRatio = DEFAULT_BUDGET_RATIO;
+		private int minHedgesPerSecond = DEFAULT_MIN_HEDGES_PER_SECOND;
 
 		/**
 		 * <p>
-		 * Returns the load balancer descriptor.
+		 * Returns the latency percentile used to determine the hedging delay.
 		 * </p>
 		 *
-		 * @return the load balancer descriptor
+		 * @return a percentile between 0 and 100
 		 */
-		@JsonProperty("loadBalancer")
-		public LoadBalancerDescriptor getLoadBalancer() {
-			return loadBalancer;
+		@JsonProperty("percentile")
+		public double getPercentile() {
+			return percentile;
 		}
 
 		/**
 		 * <p>
-		 * Returns the authority matchers.
+		 * Sets the latency percentile used to determine the hedging delay.
 		 * </p>
 		 *
-		 * @return the authority matchers
+		 * @param percentile a percentile between 0 and 100
 		 */
-		@JsonProperty("authority")
-		public Set<? extends ValueMatcher> getAuthorityMatchers() {
-			return authorityMatchers;
+		@JsonProperty("percentile")
+		public void setPercentile(double percentile) {
+			this.percentile = percentile;
 		}
 
 		/**
 		 * <p>
-		 * Returns the path matchers.
+		 * Returns the minimum hedging delay.
 		 * </p>
 		 *
-		 * @return the path matchers
+		 * @return the minimum delay in milliseconds
 		 */
-		@JsonProperty("path")
-		public Set<PathMatcher> getPathMatchers() {
-			return pathMatchers;
+		@JsonProperty("minDelay")
+		public long getMinDelay() {
+			return minDelay;
 		}
 
 		/**
 		 * <p>
-		 * Returns the method matchers.
+		 * Sets the minimum hedging delay.
 		 * </p>
 		 *
-		 * @return the method matchers
+		 * @param minDelay the minimum delay in milliseconds
 		 */
-		@JsonProperty("method")
-		public Set<Method> getMethodMatchers() {
-			return methodMatchers;
+		@JsonProperty("minDelay")
+		public void setMinDelay(long minDelay) {
+			this.minDelay = minDelay;
 		}
 
 		/**
 		 * <p>
-		 * Returns the content type matchers.
+		 * Returns the maximum hedging delay.
 		 * </p>
 		 *
-		 * @return the content type matchers
+		 * @return the maximum delay in milliseconds
 		 */
-		@JsonProperty("contentType")
-		public Set<String> getContentTypeMatchers() {
-			return contentTypeMatchers;
+		@JsonProperty("maxDelay")
+		public long getMaxDelay() {
+			return maxDelay;
 		}
 
 		/**
 		 * <p>
-		 * Returns the accept matchers.
+		 * Sets the maximum hedging delay.
 		 * </p>
 		 *
-		 * @return the accept matchers
+		 * @param maxDelay the maximum delay in milliseconds
 		 */
-		@JsonProperty("accept")
-		public Set<String> getAcceptMatchers() {
-			return acceptMatchers;
+		@JsonProperty("maxDelay")
+		public void setMaxDelay(long maxDelay) {
+			this.maxDelay = maxDelay;
 		}
 
 		/**
 		 * <p>
-		 * Returns the language matchers.
+		 * Returns the methods of the requests that can be hedged.
 		 * </p>
 		 *
-		 * @return the language matchers
+		 * @return a set of methods
 		 */
-		@JsonProperty("language")
-		public Set<String> getLanguageMatchers() {
-			return languageMatchers;
+		@JsonProperty("methods")
+		public Set<Method> getMethods() {
+			return methods;
 		}
 
 		/**
 		 * <p>
-		 * Returns the headers matchers.
+		 * Sets the methods of the requests that can be hedged.
 		 * </p>
 		 *
-		 * @return the headers matchers
+		 * @param methods a set of idempotent methods without payload
 		 */
-		@JsonProperty("headers")
-		public Map<String, Set<? extends ValueMatcher>> getHeadersMatchers() {
-			return headersMatchers;
+		@JsonProperty("methods")
+		public void setMethods(Set<Method> methods) {
+			this.methods = methods;
 		}
 
 		/**
 		 * <p>
-		 * Returns the query parameter matchers.
+		 * Returns the maximum ratio of hedged requests to requests.
 		 * </p>
 		 *
-		 * @return the query parameter matchers
+		 * @return the budget ratio
 		 */
-		@JsonProperty("queryParameters")
-		public Map<String, Set<? extends ValueMatcher>> getQueryParameterMatchers() {
-			return queryParameterMatchers;
+		@JsonProperty("budgetRatio")
+		public double getBudgetRatio() {
+			return budgetRatio;
 		}
 
 		/**
 		 * <p>
-		 * Returns the request transformer.
+		 * Sets the maximum ratio of hedged requests to requests.
 		 * </p>
 		 *
-		 * @return the request transformer
+		 * @param budgetRatio the budget ratio
 		 */
-		@JsonProperty("transformRequest")
-		public RequestTransformer getTransformRequest() {
-			return transformRequest;
+		@JsonProperty("budgetRatio")
+		public void setBudgetRatio(double budgetRatio) {
+			this.budgetRatio = budgetRatio;
 		}
 
 		/**
 		 * <p>
-		 * Returns the response transformer.
+		 * Returns the minimum number of hedged requests per second allowed regardless of the budget ratio.
 		 * </p>
 		 *
-		 * @return the response transformer
+		 * @return the minimum number of hedged requests per second
 		 */
-		@JsonProperty("transformResponse")
-		public ResponseTransformer getTransformResponse() {
-			return transformResponse;
+		@JsonProperty("minHedgesPerSecond")
+		public int getMinHedgesPerSecond() {
+			return minHedgesPerSecond;
 		}
 
 		/**
 		 * <p>
-		 * Returns the route destinations.
+		 * Sets the minimum number of hedged requests per second allowed regardless of the budget ratio.
 		 * </p>
 		 *
-		 * @return the route destinations
+		 * @param minHedgesPerSecond the minimum number of hedged requests per second
 		 */
-		@JsonProperty("destinations")
-		public List<DestinationDescriptor> getDestinations() {
-			return destinations;
+		@JsonProperty("minHedgesPerSecond")
+		public void setMinHedgesPerSecond(int minHedgesPerSecond) {
+			this.minHedgesPerSecond = minHedgesPerSecond;
 		}
 
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
-			RouteDescriptor that = (RouteDescriptor) o;
-			return Objects.equals(configuration, that.configuration) && Objects.equals(loadBalancer, that.loadBalancer) && Objects.equals(authorityMatchers, that.authorityMatchers) && Objects.equals(pathMatchers, that.pathMatchers) && Objects.equals(methodMatchers, that.methodMatchers) && Objects.equals(contentTypeMatchers, that.contentTypeMatchers) && Objects.equals(acceptMatchers, that.acceptMatchers) && Objects.equals(languageMatchers, that.languageMatchers) && Objects.equals(headersMatchers, that.headersMatchers) && Objects.equals(queryParameterMatchers, that.queryParameterMatchers) && Objects.equals(transformRequest, that.transformRequest) && Objects.equals(transformResponse, that.transformResponse) && Objects.equals(destinations, that.destinations);
+			HedgingPolicyDescriptor that = (HedgingPolicyDescriptor) o;
+			return Double.compare(percentile, that.percentile) == 0 && minDelay == that.minDelay && maxDelay == that.maxDelay && Double.compare(budgetRatio, that.budgetRatio) == 0 && minHedgesPerSecond == that.minHedgesPerSecond && Objects.equals(methods, that.methods);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(configuration, loadBalancer, authorityMatchers, pathMatchers, methodMatchers, contentTypeMatchers, acceptMatchers, languageMatchers, headersMatchers, queryParameterMatchers, transformRequest, transformResponse, destinations);
+			return Objects.hash(percentile, minDelay, maxDelay, methods, budgetRatio, minHedgesPerSecond);
 		}
 	}
 
@@ -2498,6 +3853,9 @@ public class HttpMetaServiceDescriptor {
 		private final RequestTransformer transformRequest;
 		private final ResponseTransformer transformResponse;
 
+		private String region;
+		private String zone;
+
 		/**
 		 * <p>
 		 * Creates a route destination.
@@ -2608,17 +3966,81 @@ public class HttpMetaServiceDescriptor {
 			return transformResponse;
 		}
 
+		/**
+		 * <p>
+		 * Returns the region where the destination service instances are located.
+		 * </p>
+		 *
+		 * @return the region or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("region")
+		public String getRegion() {
+			return region;
+		}
+
+		/**
+		 * <p>
+		 * Sets the region where the destination service instances are located.
+		 * </p>
+		 *
+		 * <p>
+		 * When specified with or without a zone, it overrides the locality reported by the destination service instances.
+		 * </p>
+		 *
+		 * @param region the region
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("region")
+		public void setRegion(String region) {
+			this.region = region;
+		}
+
+		/**
+		 * <p>
+		 * Returns the zone where the destination service instances are located.
+		 * </p>
+		 *
+		 * @return the zone or null
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("zone")
+		public String getZone() {
+			return zone;
+		}
+
+		/**
+		 * <p>
+		 * Sets the zone where the destination service instances are located.
+		 * </p>
+		 *
+		 * <p>
+		 * When specified with or without a region, it overrides the locality reported by the destination service instances.
+		 * </p>
+		 *
+		 * @param zone the zone
+		 *
+		 * @since 1.14
+		 */
+		@JsonProperty("zone")
+		public void setZone(String zone) {
+			this.zone = zone;
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
 			DestinationDescriptor that = (DestinationDescriptor) o;
-			return Objects.equals(configuration, that.configuration) && Objects.equals(loadBalancer, that.loadBalancer) && Objects.equals(uri, that.uri) && Objects.equals(weight, that.weight) && Objects.equals(transformRequest, that.transformRequest) && Objects.equals(transformResponse, that.transformResponse);
+			return Objects.equals(configuration, that.configuration) && Objects.equals(loadBalancer, that.loadBalancer) && Objects.equals(uri, that.uri) && Objects.equals(weight, that.weight) && Objects.equals(transformRequest, that.transformRequest) && Objects.equals(transformResponse, that.transformResponse) && Objects.equals(region, that.region) && Objects.equals(zone, that.zone);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(configuration, loadBalancer, uri, weight, transformRequest, transformResponse);
+			return Objects.hash(configuration, loadBalancer, uri, weight, transformRequest, transformResponse, region, zone);
 		}
 	}
 
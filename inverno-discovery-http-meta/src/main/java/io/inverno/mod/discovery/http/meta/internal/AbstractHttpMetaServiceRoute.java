@@ -18,6 +18,7 @@ package io.inverno.mod.discovery.http.meta.internal;
 import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
+import io.inverno.mod.http.client.HttpClient;
 import io.inverno.mod.http.client.UnboundExchange;
 import java.util.List;
 import reactor.core.publisher.Flux;
@@ -37,6 +38,7 @@ public abstract class AbstractHttpMetaServiceRoute<A extends HttpMetaServiceRout
 	private final HttpMetaServiceDescriptor.RouteDescriptor descriptor;
 	protected final List<A> destinations;
 	private final HttpMetaServiceExchangeTransformer exchangeTransformer;
+	private final HttpMetaServiceResiliencePolicy resiliencePolicy;
 
 	/**
 	 * <p>
@@ -47,9 +49,28 @@ public abstract class AbstractHttpMetaServiceRoute<A extends HttpMetaServiceRout
 	 * @param destinations the HTTP meta service route destinations
 	 */
 	public AbstractHttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, List<A> destinations) {
+		this(descriptor, destinations, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates an HTTP meta service route.
+	 * </p>
+	 *
+	 * @param descriptor   the HTTP meta service route descriptor
+	 * @param destinations the HTTP meta service route destinations
+	 * @param httpClient   the HTTP client used to replay requests when retry or hedging policies are defined
+	 *
+	 * @throws IllegalArgumentException if the retry or hedging policy is invalid
+	 * @throws IllegalStateException    if a retry or hedging policy is defined and no HTTP client was provided
+	 *
+	 * @since 1.14
+	 */
+	public AbstractHttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, List<A> destinations, HttpClient httpClient) throws IllegalArgumentException, IllegalStateException {
 		this.descriptor = descriptor;
 		this.destinations = destinations;
 		this.exchangeTransformer = HttpMetaServiceExchangeTransformer.from(descriptor);
+		this.resiliencePolicy = HttpMetaServiceResiliencePolicy.from(descriptor, httpClient);
 	}
 
 	/**
@@ -95,11 +116,31 @@ public abstract class AbstractHttpMetaServiceRoute<A extends HttpMetaServiceRout
 	 * instance.
 	 * </p>
 	 *
+	 * <p>
+	 * When retry or hedging policies are defined in the route descriptor, the returned instance binds exchanges that can be replayed on new exchanges resolved in the same way.
+	 * </p>
+	 *
 	 * @param serviceRequest the exchange to process
 	 *
 	 * @return a {@code Mono} emitting an HTTP service instance matching the exchange or an empty {@code Mono} if no instance was found
 	 */
 	public final Mono<? extends HttpServiceInstance> getInstance(UnboundExchange<?> serviceRequest) {
+		if(this.resiliencePolicy != null) {
+			return this.resiliencePolicy.getInstance(serviceRequest, this::transformAndResolveInstance);
+		}
+		return this.transformAndResolveInstance(serviceRequest);
+	}
+
+	/**
+	 * <p>
+	 * Transforms the specified exchange and resolves the matching HTTP service instance.
+	 * </p>
+	 *
+	 * @param serviceRequest the exchange to process
+	 *
+	 * @return a {@code Mono} emitting an HTTP service instance matching the exchange or an empty {@code Mono} if no instance was found
+	 */
+	private Mono<? extends HttpServiceInstance> transformAndResolveInstance(UnboundExchange<?> serviceRequest) {
 		if(this.exchangeTransformer != null) {
 			this.exchangeTransformer.transform(serviceRequest);
 		}
@@ -33,6 +33,7 @@ import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.meta.HttpMetaDiscoveryConfiguration;
 import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
+import io.inverno.mod.http.client.HttpClient;
 import io.inverno.mod.http.client.UnboundExchange;
 import java.net.URI;
 import java.util.ArrayList;
@@ -57,6 +58,8 @@ public class ConfigurationHttpMetaDiscoveryService extends AbstractConfiguration
 	private final ObjectMapper objectMapper;
 	private final DiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> destinationDiscoveryService;
 
+	private HttpClient httpClient;
+
 	/**
 	 * <p>
 	 * Creates an HTTP meta service discovery service.
@@ -83,6 +86,19 @@ public class ConfigurationHttpMetaDiscoveryService extends AbstractConfiguration
 		this.destinationDiscoveryService = new CompositeDiscoveryService<>(discoveryServicesAndSelf);
 	}
 
+	/**
+	 * <p>
+	 * Sets the HTTP client used to replay requests on routes defining retry or hedging policies.
+	 * </p>
+	 *
+	 * @param httpClient an HTTP client
+	 *
+	 * @since 1.14
+	 */
+	public void setHttpClient(HttpClient httpClient) {
+		this.httpClient = httpClient;
+	}
+
 	@Override
 	protected HttpMetaServiceDescriptor readServiceDescriptor(String content) throws Exception {
 		JsonNode json = null;
@@ -132,7 +148,7 @@ public class ConfigurationHttpMetaDiscoveryService extends AbstractConfiguration
 
 	@Override
 	protected Service<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> createService(ServiceID serviceId, Mono<HttpMetaServiceDescriptor> serviceDescriptor) {
-		return new HttpMetaService(serviceId, serviceDescriptor, this.destinationDiscoveryService);
+		return new HttpMetaService(serviceId, serviceDescriptor, this.destinationDiscoveryService, this.httpClient);
 	}
 
 	/**
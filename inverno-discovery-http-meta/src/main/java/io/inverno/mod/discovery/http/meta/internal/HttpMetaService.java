@@ -24,6 +24,7 @@ import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
 import io.inverno.mod.http.base.router.HeadersRoute;
 import io.inverno.mod.http.base.router.QueryParametersRoute;
+import io.inverno.mod.http.client.HttpClient;
 import io.inverno.mod.http.client.HttpClientConfiguration;
 import io.inverno.mod.http.client.HttpClientConfigurationLoader;
 import io.inverno.mod.http.client.UnboundExchange;
@@ -67,6 +68,7 @@ import reactor.util.concurrent.Queues;
 public class HttpMetaService extends AbstractConfigurationService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy, HttpMetaServiceDescriptor> {
 
 	private final DiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> destinationDiscoveryService;
+	private final HttpClient httpClient;
 
 	private volatile HttpMetaServiceDescriptor descriptor;
 	private volatile HttpMetaServiceRouter router;
@@ -85,9 +87,35 @@ public class HttpMetaService extends AbstractConfigurationService<HttpServiceIns
 		ServiceID serviceId,
 		Mono<HttpMetaServiceDescriptor> descriptor,
 		DiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> destinationDiscoveryService
+	) {
+		this(serviceId, descriptor, destinationDiscoveryService, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates an HTTP meta service.
+	 * </p>
+	 *
+	 * <p>
+	 * The HTTP client is used to replay requests on routes defining retry or hedging policies.
+	 * </p>
+	 *
+	 * @param serviceId                   the service ID
+	 * @param descriptor                  the HTTP meta service descriptor
+	 * @param destinationDiscoveryService the discovery service used to resolve services in destinations
+	 * @param httpClient                  the HTTP client or null
+	 *
+	 * @since 1.14
+	 */
+	public HttpMetaService(
+		ServiceID serviceId,
+		Mono<HttpMetaServiceDescriptor> descriptor,
+		DiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> destinationDiscoveryService,
+		HttpClient httpClient
 	) {
 		super(serviceId, descriptor);
 		this.destinationDiscoveryService = destinationDiscoveryService;
+		this.httpClient = httpClient;
 	}
 
 	@Override
@@ -151,8 +179,21 @@ public class HttpMetaService extends AbstractConfigurationService<HttpServiceIns
 												break;
 											case MIN_LOAD_FACTOR: trafficPolicyBuilder.minLoadFactorLoadBalancer(((HttpMetaServiceDescriptor.MinLoadFactorLoadBalancerDescriptor)destinationLoadBalancer).getChoiceCount(), ((HttpMetaServiceDescriptor.MinLoadFactorLoadBalancerDescriptor)destinationLoadBalancer).getBias());
 												break;
+											case CONSISTENT_HASH: trafficPolicyBuilder.consistentHashLoadBalancer(((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)destinationLoadBalancer).getAlgorithm(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)destinationLoadBalancer).getKeySource(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)destinationLoadBalancer).getKeyName(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)destinationLoadBalancer).getPath());
+												break;
+											case PEAK_EWMA: trafficPolicyBuilder.peakEwmaLoadBalancer(((HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor)destinationLoadBalancer).getChoiceCount(), ((HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor)destinationLoadBalancer).getDecayTime());
+												break;
 											default: throw new IllegalStateException("Unsupported load balancing strategy: " + destinationLoadBalancer.getStrategy());
 										}
+										if(destinationLoadBalancer.getOutlierDetection() != null) {
+											trafficPolicyBuilder.outlierDetection(destinationLoadBalancer.getOutlierDetection().toOutlierDetection());
+										}
+										if(destinationLoadBalancer.getCircuitBreaker() != null) {
+											trafficPolicyBuilder.circuitBreaker(destinationLoadBalancer.getCircuitBreaker().toCircuitBreaker());
+										}
+										if(destinationLoadBalancer.getLocalityAwareRouting() != null) {
+											trafficPolicyBuilder.localityAwareRouting(destinationLoadBalancer.getLocalityAwareRouting().toLocalityAwareRouting());
+										}
 									}
 
 									if(destinationConfigurer != null) {
@@ -194,8 +235,21 @@ public class HttpMetaService extends AbstractConfigurationService<HttpServiceIns
 												break;
 											case MIN_LOAD_FACTOR: trafficPolicyBuilder.minLoadFactorLoadBalancer(((HttpMetaServiceDescriptor.MinLoadFactorLoadBalancerDescriptor)routeLoadBalancer).getChoiceCount(), ((HttpMetaServiceDescriptor.MinLoadFactorLoadBalancerDescriptor)routeLoadBalancer).getBias());
 												break;
+											case CONSISTENT_HASH: trafficPolicyBuilder.consistentHashLoadBalancer(((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)routeLoadBalancer).getAlgorithm(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)routeLoadBalancer).getKeySource(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)routeLoadBalancer).getKeyName(), ((HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor)routeLoadBalancer).getPath());
+												break;
+											case PEAK_EWMA: trafficPolicyBuilder.peakEwmaLoadBalancer(((HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor)routeLoadBalancer).getChoiceCount(), ((HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor)routeLoadBalancer).getDecayTime());
+												break;
 											default: throw new IllegalStateException("Unsupported load balancing strategy: " + routeLoadBalancer.getStrategy());
 										}
+										if(routeLoadBalancer.getOutlierDetection() != null) {
+											trafficPolicyBuilder.outlierDetection(routeLoadBalancer.getOutlierDetection().toOutlierDetection());
+										}
+										if(routeLoadBalancer.getCircuitBreaker() != null) {
+											trafficPolicyBuilder.circuitBreaker(routeLoadBalancer.getCircuitBreaker().toCircuitBreaker());
+										}
+										if(routeLoadBalancer.getLocalityAwareRouting() != null) {
+											trafficPolicyBuilder.localityAwareRouting(routeLoadBalancer.getLocalityAwareRouting().toLocalityAwareRouting());
+										}
 									}
 
 									if(routeConfigurer != null) {
@@ -207,11 +261,11 @@ public class HttpMetaService extends AbstractConfigurationService<HttpServiceIns
 								List<ManageableHttpMetaServiceRouteDestination> manageableDestinations = new ArrayList<>();
 								for(HttpMetaServiceRouteDestination destination : destinations) {
 									if(!(destination instanceof ManageableHttpMetaServiceRouteDestination)) {
-										return new HttpMetaServiceRoute(routeDescriptor, trafficPolicy, routeTrafficPolicyOverride, destinations);
+										return new HttpMetaServiceRoute(routeDescriptor, trafficPolicy, routeTrafficPolicyOverride, destinations, this.httpClient);
 									}
 									manageableDestinations.add((ManageableHttpMetaServiceRouteDestination)destination);
 								}
-								return new ManagedHttpMetaServiceRoute(routeDescriptor, trafficPolicy, routeTrafficPolicyOverride, manageableDestinations);
+								return new ManagedHttpMetaServiceRoute(routeDescriptor, trafficPolicy, routeTrafficPolicyOverride, manageableDestinations, this.httpClient);
 							});
 					})
 					.collectList()
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * A latency histogram used to estimate latency percentiles over a sliding window.
+ * </p>
+ *
+ * <p>
+ * Latencies are recorded in exponential buckets growing by 25%, starting at one microsecond, which bounds the relative error of a percentile estimate to 25% while keeping recording lock free. Samples
+ * are recorded in the current half window, percentiles being estimated over the current and the previous half windows.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class HttpMetaServiceLatencyHistogram {
+
+	/**
+	 * The default histogram window in milliseconds.
+	 */
+	public static final long DEFAULT_WINDOW = 60000;
+
+	/**
+	 * The default minimum number of samples required to estimate a percentile.
+	 */
+	public static final int DEFAULT_MIN_SAMPLES = 100;
+
+	private static final int BUCKET_COUNT = 96;
+	private static final double BUCKET_GROWTH = 1.25;
+	private static final double LOG_BUCKET_GROWTH = Math.log(BUCKET_GROWTH);
+
+	private final int minSamples;
+	private final long halfWindow;
+	private final LongSupplier clock;
+
+	private volatile AtomicLongArray previousBuckets;
+	private volatile AtomicLongArray currentBuckets;
+	private volatile long halfWindowStart;
+
+	/**
+	 * <p>
+	 * Creates a latency histogram.
+	 * </p>
+	 */
+	public HttpMetaServiceLatencyHistogram() {
+		this(DEFAULT_MIN_SAMPLES, DEFAULT_WINDOW, System::nanoTime);
+	}
+
+	/**
+	 * <p>
+	 * Creates a latency histogram.
+	 * </p>
+	 *
+	 * @param minSamples the minimum number of samples required to estimate a percentile
+	 * @param window     the histogram window in milliseconds
+	 * @param clock      a clock returning nanoseconds
+	 */
+	HttpMetaServiceLatencyHistogram(int minSamples, long window, LongSupplier clock) {
+		this.minSamples = minSamples;
+		this.halfWindow = TimeUnit.MILLISECONDS.toNanos(window) / 2;
+		this.clock = clock;
+		this.previousBuckets = new AtomicLongArray(BUCKET_COUNT);
+		this.currentBuckets = new AtomicLongArray(BUCKET_COUNT);
+		this.halfWindowStart = clock.getAsLong();
+	}
+
+	/**
+	 * <p>
+	 * Records a latency.
+	 * </p>
+	 *
+	 * @param latency a latency in nanoseconds
+	 */
+	public void record(long latency) {
+		this.rotate();
+		long latencyMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latency));
+		this.currentBuckets.incrementAndGet(Math.min(BUCKET_COUNT - 1, (int)(Math.log(latencyMicros) / LOG_BUCKET_GROWTH)));
+	}
+
+	/**
+	 * <p>
+	 * Returns the specified latency percentile.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned value is the upper bound of the bucket containing the percentile.
+	 * </p>
+	 *
+	 * @param percentile a percentile between 0 and 100
+	 *
+	 * @return the latency percentile in milliseconds or -1 if not enough samples were recorded
+	 */
+	public long getPercentile(double percentile) {
+		this.rotate();
+		AtomicLongArray previous = this.previousBuckets;
+		AtomicLongArray current = this.currentBuckets;
+
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for(int i=0;i<BUCKET_COUNT;i++) {
+			counts[i] = previous.get(i) + current.get(i);
+			total += counts[i];
+		}
+		if(total == 0 || total < this.minSamples) {
+			return -1;
+		}
+
+		long rank = (long)Math.ceil(percentile / 100 * total);
+		long cumulative = 0;
+		int index = BUCKET_COUNT - 1;
+		for(int i=0;i<BUCKET_COUNT;i++) {
+			cumulative += counts[i];
+			if(cumulative >= rank) {
+				index = i;
+				break;
+			}
+		}
+		return (long)Math.ceil(Math.pow(BUCKET_GROWTH, index + 1) / 1000);
+	}
+
+	/**
+	 * <p>
+	 * Rotates half windows when the current one has expired.
+	 * </p>
+	 */
+	private void rotate() {
+		if(this.clock.getAsLong() - this.halfWindowStart >= this.halfWindow) {
+			synchronized(this) {
+				long now = this.clock.getAsLong();
+				long elapsed = now - this.halfWindowStart;
+				if(elapsed >= this.halfWindow) {
+					this.previousBuckets = elapsed >= 2 * this.halfWindow ? new AtomicLongArray(BUCKET_COUNT) : this.currentBuckets;
+					this.currentBuckets = new AtomicLongArray(BUCKET_COUNT);
+					this.halfWindowStart = now;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * A request budget limiting additional requests (retries, hedged requests...) to a ratio of the traffic.
+ * </p>
+ *
+ * <p>
+ * Requests are {@link #deposit() deposited} and additional requests {@link #tryWithdraw() withdrawn} in a sliding window made of two consecutive half windows. A withdrawal is granted as long as the
+ * number of withdrawals in the window remains lower than the number of deposits multiplied by the budget ratio plus a minimum number of withdrawals per second which allows low traffic to be retried.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class HttpMetaServiceRequestBudget {
+
+	/**
+	 * The default budget window in milliseconds.
+	 */
+	public static final long DEFAULT_WINDOW = 10000;
+
+	private final double ratio;
+	private final long minWithdrawals;
+	private final long halfWindow;
+	private final LongSupplier clock;
+
+	private long halfWindowStart;
+	private long previousDeposits;
+	private long currentDeposits;
+	private long previousWithdrawals;
+	private long currentWithdrawals;
+
+	/**
+	 * <p>
+	 * Creates a request budget.
+	 * </p>
+	 *
+	 * @param ratio        the maximum ratio of withdrawals to deposits
+	 * @param minPerSecond the minimum number of withdrawals per second allowed regardless of the ratio
+	 */
+	public HttpMetaServiceRequestBudget(double ratio, int minPerSecond) {
+		this(ratio, minPerSecond, DEFAULT_WINDOW, System::nanoTime);
+	}
+
+	/**
+	 * <p>
+	 * Creates a request budget.
+	 * </p>
+	 *
+	 * @param ratio        the maximum ratio of withdrawals to deposits
+	 * @param minPerSecond the minimum number of withdrawals per second allowed regardless of the ratio
+	 * @param window       the budget window in milliseconds
+	 * @param clock        a clock returning nanoseconds
+	 */
+	HttpMetaServiceRequestBudget(double ratio, int minPerSecond, long window, LongSupplier clock) {
+		this.ratio = ratio;
+		this.minWithdrawals = (minPerSecond * window) / 1000;
+		this.halfWindow = TimeUnit.MILLISECONDS.toNanos(window) / 2;
+		this.clock = clock;
+		this.halfWindowStart = clock.getAsLong();
+	}
+
+	/**
+	 * <p>
+	 * Deposits a request.
+	 * </p>
+	 */
+	public synchronized void deposit() {
+		this.rotate();
+		this.currentDeposits++;
+	}
+
+	/**
+	 * <p>
+	 * Tries to withdraw an additional request from the budget.
+	 * </p>
+	 *
+	 * @return true if the additional request is allowed, false otherwise
+	 */
+	public synchronized boolean tryWithdraw() {
+		this.rotate();
+		if(this.previousWithdrawals + this.currentWithdrawals < this.minWithdrawals + this.ratio * (this.previousDeposits + this.currentDeposits)) {
+			this.currentWithdrawals++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Rotates half windows when the current one has expired.
+	 * </p>
+	 */
+	private void rotate() {
+		long now = this.clock.getAsLong();
+		long elapsed = now - this.halfWindowStart;
+		if(elapsed >= this.halfWindow) {
+			if(elapsed >= 2 * this.halfWindow) {
+				this.previousDeposits = 0;
+				this.previousWithdrawals = 0;
+			}
+			else {
+				this.previousDeposits = this.currentDeposits;
+				this.previousWithdrawals = this.currentWithdrawals;
+			}
+			this.currentDeposits = 0;
+			this.currentWithdrawals = 0;
+			this.halfWindowStart = now;
+		}
+	}
+}
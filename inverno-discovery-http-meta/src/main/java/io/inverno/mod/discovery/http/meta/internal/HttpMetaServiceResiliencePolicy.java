@@ -0,0 +1,660 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import io.inverno.mod.discovery.Locality;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.ServiceUnavailableException;
+import io.inverno.mod.http.client.ConnectionResetException;
+import io.inverno.mod.http.client.ConnectionTimeoutException;
+import io.inverno.mod.http.client.EndpointConnectException;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.Request;
+import io.inverno.mod.http.client.Response;
+import io.inverno.mod.http.client.UnboundExchange;
+import io.inverno.mod.http.client.ws.WebSocketExchange;
+import io.netty.buffer.ByteBuf;
+import java.net.ConnectException;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * An HTTP meta service route resilience policy implementing retries and request hedging.
+ * </p>
+ *
+ * <p>
+ * Since an exchange can't be sent twice, retried and hedged requests are sent in new exchanges created using the HTTP client. They are created from a snapshot of the original request taken before
+ * the route transformations and resolved again through the route which applies request/response transformations and selects a service instance using the route load balancer. As a result, only
+ * idempotent requests without payload can be replayed and interceptors specified on the original exchange are not applied to replayed requests.
+ * </p>
+ *
+ * <p>
+ * A replayed request should not be sent to an instance that was already tried: the route is resolved up to three times until an instance that has not processed the request is selected, the last
+ * resolved instance is used otherwise (e.g. when the route only has one instance).
+ * </p>
+ *
+ * <p>
+ * Retries and hedged requests are limited by budgets capping them to a ratio of the route traffic so that they can't amplify an outage.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see HttpMetaServiceDescriptor.RetryPolicyDescriptor
+ * @see HttpMetaServiceDescriptor.HedgingPolicyDescriptor
+ */
+public class HttpMetaServiceResiliencePolicy {
+
+	/**
+	 * The methods of the requests that can be replayed: idempotent methods without payload.
+	 */
+	private static final Set<Method> REPLAYABLE_METHODS = EnumSet.of(Method.GET, Method.HEAD, Method.OPTIONS, Method.TRACE);
+
+	/**
+	 * The maximum number of times the route is resolved in order to select an instance that was not tried yet when replaying a request.
+	 */
+	private static final int MAX_REPLAY_RESOLUTIONS = 3;
+
+	private final HttpClient httpClient;
+	private final HttpMetaServiceDescriptor.RetryPolicyDescriptor retry;
+	private final HttpMetaServiceDescriptor.HedgingPolicyDescriptor hedging;
+
+	private final HttpMetaServiceRequestBudget retryBudget;
+	private final HttpMetaServiceRequestBudget hedgingBudget;
+	private final HttpMetaServiceLatencyHistogram latencyHistogram;
+
+	/**
+	 * <p>
+	 * Creates an HTTP meta service route resilience policy.
+	 * </p>
+	 *
+	 * @param httpClient the HTTP client used to create replayed exchanges
+	 * @param retry      the retry policy descriptor or null
+	 * @param hedging    the hedging policy descriptor or null
+	 */
+	private HttpMetaServiceResiliencePolicy(HttpClient httpClient, HttpMetaServiceDescriptor.RetryPolicyDescriptor retry, HttpMetaServiceDescriptor.HedgingPolicyDescriptor hedging) {
+		this.httpClient = httpClient;
+		this.retry = retry;
+		this.hedging = hedging;
+
+		this.retryBudget = retry != null ? new HttpMetaServiceRequestBudget(retry.getBudgetRatio(), retry.getMinRetriesPerSecond()) : null;
+		this.hedgingBudget = hedging != null ? new HttpMetaServiceRequestBudget(hedging.getBudgetRatio(), hedging.getMinHedgesPerSecond()) : null;
+		this.latencyHistogram = hedging != null ? new HttpMetaServiceLatencyHistogram() : null;
+	}
+
+	/**
+	 * <p>
+	 * Creates an HTTP meta service route resilience policy from a route descriptor.
+	 * </p>
+	 *
+	 * @param routeDescriptor a route descriptor
+	 * @param httpClient      the HTTP client used to create replayed exchanges
+	 *
+	 * @return a resilience policy or null if the route doesn't define retry or hedging policies
+	 *
+	 * @throws IllegalArgumentException if a policy is invalid
+	 * @throws IllegalStateException    if a policy is defined but no HTTP client was provided
+	 */
+	public static HttpMetaServiceResiliencePolicy from(HttpMetaServiceDescriptor.RouteDescriptor routeDescriptor, HttpClient httpClient) throws IllegalArgumentException, IllegalStateException {
+		HttpMetaServiceDescriptor.RetryPolicyDescriptor retry = routeDescriptor.getRetry();
+		HttpMetaServiceDescriptor.HedgingPolicyDescriptor hedging = routeDescriptor.getHedging();
+		if(retry == null && hedging == null) {
+			return null;
+		}
+
+		if(retry != null) {
+			if(retry.getMaxRetries() < 0) {
+				throw new IllegalArgumentException("Max retries must be positive");
+			}
+			if(retry.getBaseBackoff() < 0 || retry.getMaxBackoff() < retry.getBaseBackoff()) {
+				throw new IllegalArgumentException("Back-off delays must be positive and max back-off must be greater than base back-off");
+			}
+			if(retry.getBudgetRatio() < 0 || retry.getMinRetriesPerSecond() < 0) {
+				throw new IllegalArgumentException("Retry budget must be positive");
+			}
+			checkReplayable(retry.getMethods());
+		}
+		if(hedging != null) {
+			if(hedging.getPercentile() <= 0 || hedging.getPercentile() > 100) {
+				throw new IllegalArgumentException("Percentile must be in ]0,100]");
+			}
+			if(hedging.getMinDelay() < 0 || hedging.getMaxDelay() < hedging.getMinDelay()) {
+				throw new IllegalArgumentException("Hedging delays must be positive and max delay must be greater than min delay");
+			}
+			if(hedging.getBudgetRatio() < 0 || hedging.getMinHedgesPerSecond() < 0) {
+				throw new IllegalArgumentException("Hedging budget must be positive");
+			}
+			checkReplayable(hedging.getMethods());
+		}
+		if(httpClient == null) {
+			throw new IllegalStateException("An HTTP client is required to retry or hedge requests");
+		}
+		return new HttpMetaServiceResiliencePolicy(httpClient, retry, hedging);
+	}
+
+	/**
+	 * <p>
+	 * Checks that requests with the specified methods can be replayed.
+	 * </p>
+	 *
+	 * @param methods a set of methods
+	 *
+	 * @throws IllegalArgumentException if a method is not idempotent or allows a payload
+	 */
+	private static void checkReplayable(Set<Method> methods) throws IllegalArgumentException {
+		if(methods != null && !REPLAYABLE_METHODS.containsAll(methods)) {
+			throw new IllegalArgumentException("Only idempotent methods without payload can be replayed: " + methods.stream().filter(method -> !REPLAYABLE_METHODS.contains(method)).map(Method::name).collect(Collectors.joining(", ")));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Resolves the HTTP service instance matching the specified exchange and applies the policy.
+	 * </p>
+	 *
+	 * <p>
+	 * The instance resolver is invoked to resolve the instance processing the original exchange and the instances processing replayed exchanges.
+	 * </p>
+	 *
+	 * @param serviceRequest   the exchange to process
+	 * @param instanceResolver the route instance resolver
+	 *
+	 * @return a {@code Mono} emitting an HTTP service instance matching the exchange or an empty {@code Mono} if no instance was found
+	 */
+	public Mono<? extends HttpServiceInstance> getInstance(UnboundExchange<?> serviceRequest, Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver) {
+		Method method = serviceRequest.request().getMethod();
+		boolean retryEnabled = this.retry != null && this.retry.getMaxRetries() > 0 && this.retry.getMethods() != null && this.retry.getMethods().contains(method);
+		boolean hedgingEnabled = this.hedging != null && this.hedging.getMethods() != null && this.hedging.getMethods().contains(method);
+		if(!retryEnabled && !hedgingEnabled) {
+			return instanceResolver.apply(serviceRequest);
+		}
+		RequestSnapshot requestSnapshot = new RequestSnapshot(serviceRequest.request());
+		return instanceResolver.apply(serviceRequest).map(serviceInstance -> new ResilientHttpServiceInstance(serviceInstance, requestSnapshot, instanceResolver, retryEnabled, hedgingEnabled));
+	}
+
+	/**
+	 * <p>
+	 * Returns the hedging delay.
+	 * </p>
+	 *
+	 * @return the hedging delay in milliseconds
+	 */
+	private long getHedgingDelay() {
+		long percentile = this.latencyHistogram.getPercentile(this.hedging.getPercentile());
+		if(percentile < 0) {
+			return this.hedging.getMaxDelay();
+		}
+		return Math.min(this.hedging.getMaxDelay(), Math.max(this.hedging.getMinDelay(), percentile));
+	}
+
+	/**
+	 * <p>
+	 * Returns a random back-off delay using full jitter.
+	 * </p>
+	 *
+	 * @param retryCount the number of retries already performed
+	 *
+	 * @return the back-off delay in milliseconds
+	 */
+	private long getBackoff(int retryCount) {
+		long ceiling = Math.min(this.retry.getMaxBackoff(), this.retry.getBaseBackoff() << Math.min(retryCount, 30));
+		return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified response should be retried.
+	 * </p>
+	 *
+	 * @param response a response
+	 *
+	 * @return true to retry the request, false otherwise
+	 */
+	private boolean isRetryable(Response response) {
+		return this.retry.getStatuses() != null && this.retry.getStatuses().contains(response.headers().getStatusCode());
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified error should be retried.
+	 * </p>
+	 *
+	 * @param error an error
+	 *
+	 * @return true to retry the request, false otherwise
+	 */
+	private boolean isRetryable(Throwable error) {
+		return this.retry.isConnectFailure() && (
+			error instanceof EndpointConnectException ||
+			error instanceof ConnectionTimeoutException ||
+			error instanceof ConnectionResetException ||
+			error instanceof ConnectException ||
+			error instanceof ServiceUnavailableException
+		);
+	}
+
+	/**
+	 * <p>
+	 * A snapshot of a request used to create replayed exchanges.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class RequestSnapshot {
+
+		private final Method method;
+		private final String authority;
+		private final String path;
+		private final List<Map.Entry<String, String>> headers;
+
+		/**
+		 * <p>
+		 * Creates a request snapshot.
+		 * </p>
+		 *
+		 * @param request the request
+		 */
+		public RequestSnapshot(Request request) {
+			this.method = request.getMethod();
+			this.authority = request.getAuthority();
+			this.path = request.getPath();
+			this.headers = request.headers().getAll().stream()
+				.filter(header -> !header.getKey().startsWith(":"))
+				.map(header -> Map.entry(header.getKey(), header.getValue()))
+				.collect(Collectors.toList());
+		}
+
+		/**
+		 * <p>
+		 * Applies the snapshot to the specified request.
+		 * </p>
+		 *
+		 * @param request the request
+		 */
+		public void apply(Request request) {
+			if(this.authority != null) {
+				request.authority(this.authority);
+			}
+			request.headers(headers -> this.headers.forEach(header -> headers.add(header.getKey(), header.getValue())));
+		}
+	}
+
+	/**
+	 * <p>
+	 * An HTTP service instance applying the resilience policy to the exchanges it binds.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class ResilientHttpServiceInstance implements HttpServiceInstance {
+
+		private final HttpServiceInstance serviceInstance;
+		private final RequestSnapshot requestSnapshot;
+		private final Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver;
+		private final boolean retryEnabled;
+		private final boolean hedgingEnabled;
+
+		/**
+		 * <p>
+		 * Creates a resilient HTTP service instance.
+		 * </p>
+		 *
+		 * @param serviceInstance  the HTTP service instance resolved for the original exchange
+		 * @param requestSnapshot  the original request snapshot
+		 * @param instanceResolver the route instance resolver
+		 * @param retryEnabled     true to retry requests, false otherwise
+		 * @param hedgingEnabled   true to hedge requests, false otherwise
+		 */
+		public ResilientHttpServiceInstance(HttpServiceInstance serviceInstance, RequestSnapshot requestSnapshot, Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver, boolean retryEnabled, boolean hedgingEnabled) {
+			this.serviceInstance = serviceInstance;
+			this.requestSnapshot = requestSnapshot;
+			this.instanceResolver = instanceResolver;
+			this.retryEnabled = retryEnabled;
+			this.hedgingEnabled = hedgingEnabled;
+		}
+
+		@Override
+		public <T extends ExchangeContext> Exchange<T> bind(UnboundExchange<T> exchange) throws IllegalStateException {
+			return new ResilientExchange<>(this.serviceInstance.bind(exchange), this.serviceInstance, this.requestSnapshot, this.instanceResolver, this.retryEnabled, this.hedgingEnabled);
+		}
+
+		@Override
+		public int getWeight() {
+			return this.serviceInstance.getWeight();
+		}
+
+		@Override
+		public long getActiveRequests() {
+			return this.serviceInstance.getActiveRequests();
+		}
+
+		@Override
+		public float getLoadFactor() {
+			return this.serviceInstance.getLoadFactor();
+		}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return this.serviceInstance.getRemoteAddress();
+		}
+
+		@Override
+		public Locality getLocality() {
+			return this.serviceInstance.getLocality();
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return this.serviceInstance.shutdown();
+		}
+
+		@Override
+		public Mono<Void> shutdownGracefully() {
+			return this.serviceInstance.shutdownGracefully();
+		}
+	}
+
+	/**
+	 * <p>
+	 * An exchange retrying and/or hedging the original exchange.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <A> the exchange context type
+	 */
+	private class ResilientExchange<A extends ExchangeContext> implements Exchange<A> {
+
+		private final Exchange<A> exchange;
+		private final RequestSnapshot requestSnapshot;
+		private final Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver;
+		private final boolean retryEnabled;
+		private final boolean hedgingEnabled;
+
+		private final List<HttpServiceInstance> triedInstances;
+		private final Mono<Response> response;
+
+		/**
+		 * <p>
+		 * Creates a resilient exchange.
+		 * </p>
+		 *
+		 * @param exchange         the original exchange
+		 * @param serviceInstance  the HTTP service instance processing the original exchange
+		 * @param requestSnapshot  the original request snapshot
+		 * @param instanceResolver the route instance resolver
+		 * @param retryEnabled     true to retry requests, false otherwise
+		 * @param hedgingEnabled   true to hedge requests, false otherwise
+		 */
+		public ResilientExchange(Exchange<A> exchange, HttpServiceInstance serviceInstance, RequestSnapshot requestSnapshot, Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver, boolean retryEnabled, boolean hedgingEnabled) {
+			this.exchange = exchange;
+			this.requestSnapshot = requestSnapshot;
+			this.instanceResolver = instanceResolver;
+			this.retryEnabled = retryEnabled;
+			this.hedgingEnabled = hedgingEnabled;
+
+			this.triedInstances = new CopyOnWriteArrayList<>();
+			this.triedInstances.add(serviceInstance);
+
+			this.response = Mono.defer(() -> {
+				if(this.retryEnabled) {
+					HttpMetaServiceResiliencePolicy.this.retryBudget.deposit();
+				}
+				if(this.hedgingEnabled) {
+					HttpMetaServiceResiliencePolicy.this.hedgingBudget.deposit();
+				}
+				return this.attempt(this.exchange, 0);
+			});
+		}
+
+		/**
+		 * <p>
+		 * Sends the specified exchange and retries it when the response or the error is retryable and the retry budget allows it.
+		 * </p>
+		 *
+		 * @param attemptExchange the exchange to send
+		 * @param retryCount      the number of retries already performed
+		 *
+		 * @return a {@code Mono} emitting the response
+		 */
+		private Mono<Response> attempt(Exchange<A> attemptExchange, int retryCount) {
+			return this.send(attemptExchange)
+				.materialize()
+				.<Response>flatMap(signal -> {
+					boolean canRetry = this.retryEnabled && retryCount < HttpMetaServiceResiliencePolicy.this.retry.getMaxRetries();
+					if(signal.isOnNext()) {
+						Response attemptResponse = signal.get();
+						if(canRetry && HttpMetaServiceResiliencePolicy.this.isRetryable(attemptResponse) && HttpMetaServiceResiliencePolicy.this.retryBudget.tryWithdraw()) {
+							return discard(attemptResponse)
+								.then(Mono.delay(Duration.ofMillis(HttpMetaServiceResiliencePolicy.this.getBackoff(retryCount))))
+								.then(Mono.defer(this::replay))
+								.flatMap(nextExchange -> this.attempt(nextExchange, retryCount + 1));
+						}
+						return Mono.just(attemptResponse);
+					}
+					else if(signal.isOnError()) {
+						Throwable error = signal.getThrowable();
+						if(canRetry && HttpMetaServiceResiliencePolicy.this.isRetryable(error) && HttpMetaServiceResiliencePolicy.this.retryBudget.tryWithdraw()) {
+							return Mono.delay(Duration.ofMillis(HttpMetaServiceResiliencePolicy.this.getBackoff(retryCount)))
+								.then(Mono.defer(this::replay))
+								.flatMap(nextExchange -> this.attempt(nextExchange, retryCount + 1));
+						}
+						return Mono.error(error);
+					}
+					return Mono.empty();
+				});
+		}
+
+		/**
+		 * <p>
+		 * Sends the specified exchange and hedges it when the response is not received after the hedging delay and the hedging budget allows it.
+		 * </p>
+		 *
+		 * <p>
+		 * The first response received wins, the other exchange is reset.
+		 * </p>
+		 *
+		 * @param attemptExchange the exchange to send
+		 *
+		 * @return a {@code Mono} emitting the response
+		 */
+		private Mono<Response> send(Exchange<A> attemptExchange) {
+			if(!this.hedgingEnabled) {
+				return this.timedResponse(attemptExchange);
+			}
+			return Mono.defer(() -> {
+				long delay = HttpMetaServiceResiliencePolicy.this.getHedgingDelay();
+
+				// the hedged request must not be sent when the primary exchange has already failed, retry is then in charge
+				Sinks.One<Boolean> primaryFailed = Sinks.one();
+				Mono<Response> primary = this.timedResponse(attemptExchange)
+					.doOnError(ign -> primaryFailed.tryEmitValue(true))
+					.doOnCancel(attemptExchange::reset);
+
+				Mono<Response> hedged = Mono.delay(Duration.ofMillis(delay))
+					.takeUntilOther(primaryFailed.asMono())
+					.filter(ign -> HttpMetaServiceResiliencePolicy.this.hedgingBudget.tryWithdraw())
+					.flatMap(ign -> this.replay())
+					.flatMap(hedgedExchange -> this.timedResponse(hedgedExchange).doOnCancel(hedgedExchange::reset));
+
+				return Mono.firstWithValue(primary, hedged)
+					.onErrorMap(NoSuchElementException.class, e -> {
+						// both exchanges failed or the hedged request was not sent: report the primary exchange error
+						List<Throwable> errors = e.getCause() != null ? Exceptions.unwrapMultiple(e.getCause()) : List.of(e.getSuppressed());
+						return errors.isEmpty() ? e : errors.getFirst();
+					});
+			});
+		}
+
+		/**
+		 * <p>
+		 * Returns the response of the specified exchange recording its latency when hedging is enabled.
+		 * </p>
+		 *
+		 * @param attemptExchange the exchange to send
+		 *
+		 * @return a {@code Mono} emitting the response
+		 */
+		private Mono<Response> timedResponse(Exchange<A> attemptExchange) {
+			if(!this.hedgingEnabled) {
+				return attemptExchange.response().cast(Response.class);
+			}
+			return Mono.defer(() -> {
+				long startTime = System.nanoTime();
+				return attemptExchange.response().cast(Response.class)
+					.doOnNext(ign -> HttpMetaServiceResiliencePolicy.this.latencyHistogram.record(System.nanoTime() - startTime));
+			});
+		}
+
+		/**
+		 * <p>
+		 * Creates a new exchange replaying the original request and binds it to the service instance resolved by the route.
+		 * </p>
+		 *
+		 * @return a {@code Mono} emitting the bound exchange
+		 */
+		private Mono<Exchange<A>> replay() {
+			return this.replay(1);
+		}
+
+		/**
+		 * <p>
+		 * Creates a new exchange replaying the original request and binds it to the service instance resolved by the route.
+		 * </p>
+		 *
+		 * <p>
+		 * When the resolved instance was already tried and the maximum number of resolutions is not reached, the route is resolved again with a new exchange since the route transforms the exchanges
+		 * it resolves.
+		 * </p>
+		 *
+		 * @param resolution the current resolution
+		 *
+		 * @return a {@code Mono} emitting the bound exchange
+		 */
+		private Mono<Exchange<A>> replay(int resolution) {
+			return HttpMetaServiceResiliencePolicy.this.httpClient.exchange(this.requestSnapshot.method, this.requestSnapshot.path, this.exchange.context())
+				.flatMap(replayExchange -> {
+					this.requestSnapshot.apply(replayExchange.request());
+					return this.instanceResolver.apply(replayExchange)
+						.switchIfEmpty(Mono.error(() -> new ServiceUnavailableException("No instance available to replay the request")))
+						.<Exchange<A>>flatMap(serviceInstance -> {
+							if(resolution < MAX_REPLAY_RESOLUTIONS && this.isTried(serviceInstance)) {
+								return this.replay(resolution + 1);
+							}
+							this.triedInstances.add(serviceInstance);
+							return Mono.just(serviceInstance.bind(replayExchange));
+						});
+				});
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the specified instance already processed the request.
+		 * </p>
+		 *
+		 * <p>
+		 * Instances are compared by identity or by remote address since the route might return distinct instances targeting the same endpoint.
+		 * </p>
+		 *
+		 * @param serviceInstance an HTTP service instance
+		 *
+		 * @return true if the instance was already tried, false otherwise
+		 */
+		private boolean isTried(HttpServiceInstance serviceInstance) {
+			SocketAddress remoteAddress = serviceInstance.getRemoteAddress();
+			for(HttpServiceInstance triedInstance : this.triedInstances) {
+				if(triedInstance == serviceInstance || (remoteAddress != null && remoteAddress.equals(triedInstance.getRemoteAddress()))) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public HttpVersion getProtocol() {
+			return this.exchange.getProtocol();
+		}
+
+		@Override
+		public A context() {
+			return this.exchange.context();
+		}
+
+		@Override
+		public Request request() {
+			return this.exchange.request();
+		}
+
+		@Override
+		public Mono<? extends Response> response() {
+			return this.response;
+		}
+
+		@Override
+		public Mono<? extends WebSocketExchange<A>> webSocket(String subProtocol) {
+			return this.exchange.webSocket(subProtocol);
+		}
+
+		@Override
+		public void reset(long code) {
+			this.exchange.reset(code);
+		}
+
+		@Override
+		public Optional<Throwable> getCancelCause() {
+			return this.exchange.getCancelCause();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Consumes and releases the body of a discarded response.
+	 * </p>
+	 *
+	 * @param response the discarded response
+	 *
+	 * @return a {@code Mono} which completes once the response body has been consumed
+	 */
+	private static Mono<Void> discard(Response response) {
+		return Flux.from(response.body().raw().stream())
+			.doOnNext(ByteBuf::release)
+			.onErrorResume(ign -> Mono.empty())
+			.then();
+	}
+}
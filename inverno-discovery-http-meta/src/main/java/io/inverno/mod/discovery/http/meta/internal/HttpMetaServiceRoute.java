@@ -20,6 +20,7 @@ import io.inverno.mod.discovery.Weighted;
 import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
+import io.inverno.mod.http.client.HttpClient;
 import io.inverno.mod.http.client.UnboundExchange;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
@@ -57,7 +58,24 @@ public class HttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<HttpMetaS
 	 * @param destinations          the HTTP meta service route destinations
 	 */
 	public HttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, HttpTrafficPolicy trafficPolicy, UnaryOperator<HttpTrafficPolicy> trafficPolicyOverride, List<HttpMetaServiceRouteDestination> destinations) {
-		super(descriptor, destinations);
+		this(descriptor, trafficPolicy, trafficPolicyOverride, destinations, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates an HTTP meta service route.
+	 * </p>
+	 *
+	 * @param descriptor            the HTTP meta service route descriptor
+	 * @param trafficPolicy         the original traffic policy
+	 * @param trafficPolicyOverride the traffic policy override
+	 * @param destinations          the HTTP meta service route destinations
+	 * @param httpClient            the HTTP client used to replay requests when retry or hedging policies are defined
+	 *
+	 * @since 1.14
+	 */
+	public HttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, HttpTrafficPolicy trafficPolicy, UnaryOperator<HttpTrafficPolicy> trafficPolicyOverride, List<HttpMetaServiceRouteDestination> destinations, HttpClient httpClient) {
+		super(descriptor, destinations, httpClient);
 		this.trafficPolicyOverride = trafficPolicyOverride;
 		this.refreshLoadBalancer(trafficPolicyOverride.apply(trafficPolicy), destinations);
 	}
@@ -110,7 +128,7 @@ public class HttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<HttpMetaS
 		//   - it can be all destination or some specific destinations
 		//   - evicting faulty instances should be the responsibility of the wrapped service
 		//   - this might require some configuration to be provided in the traffic policy
-		//   - let's do nothing for now this is related to circuit breaking which requires more thinking
+		//   - faulty instances are ejected by the destination services when outlier detection is configured in the traffic policy (see OutlierDetectionTrafficLoadBalancer)
 
 		HttpTrafficPolicy overriddenTrafficPolicy = this.trafficPolicyOverride.apply(trafficPolicy);
 		return Flux.fromIterable(this.destinations)
@@ -15,13 +15,16 @@
  */
 package io.inverno.mod.discovery.http.meta.internal;
 
+import io.inverno.mod.discovery.Locality;
 import io.inverno.mod.discovery.TrafficLoadBalancer;
 import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
 import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
 import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.HttpClient;
 import io.inverno.mod.http.client.UnboundExchange;
+import java.net.SocketAddress;
 import java.util.List;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -59,7 +62,24 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 	 * @param destinations          the HTTP meta service route destinations
 	 */
 	public ManagedHttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, HttpTrafficPolicy trafficPolicy, UnaryOperator<HttpTrafficPolicy> trafficPolicyOverride, List<ManageableHttpMetaServiceRouteDestination> destinations) {
-		super(descriptor, destinations);
+		this(descriptor, trafficPolicy, trafficPolicyOverride, destinations, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a managed HTTP meta service route.
+	 * </p>
+	 *
+	 * @param descriptor            the HTTP meta service route descriptor
+	 * @param trafficPolicy         the original traffic policy
+	 * @param trafficPolicyOverride the traffic policy override
+	 * @param destinations          the HTTP meta service route destinations
+	 * @param httpClient            the HTTP client used to replay requests when retry or hedging policies are defined
+	 *
+	 * @since 1.14
+	 */
+	public ManagedHttpMetaServiceRoute(HttpMetaServiceDescriptor.RouteDescriptor descriptor, HttpTrafficPolicy trafficPolicy, UnaryOperator<HttpTrafficPolicy> trafficPolicyOverride, List<ManageableHttpMetaServiceRouteDestination> destinations, HttpClient httpClient) {
+		super(descriptor, destinations, httpClient);
 		this.trafficPolicyOverride = trafficPolicyOverride;
 		this.refreshLoadBalancer(trafficPolicyOverride.apply(trafficPolicy), destinations);
 	}
@@ -88,18 +108,15 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 					instanceWeightDebug *= other.getService().getInstances().size();
 				}
 			}
-			return destination.getService().getInstances().stream().map(serviceInstance -> new ManagedHttpServiceInstance(destination.getExchangeTransformer(), serviceInstance, instanceWeight));
+			final Locality destinationLocality = Locality.of(destination.getDescriptor().getRegion(), destination.getDescriptor().getZone());
+			return destination.getService().getInstances().stream().map(serviceInstance -> new ManagedHttpServiceInstance(destination.getExchangeTransformer(), serviceInstance, instanceWeight, destinationLocality));
 		}).collect(Collectors.toList()));
 	}
 
 	@Override
 	protected Mono<? extends HttpServiceInstance> resolveInstance(UnboundExchange<?> serviceRequest) {
-		return this.routeLoadBalancer.next(serviceRequest)
-			.doOnNext(serviceInstance -> {
-				if(((ManagedHttpServiceInstance)serviceInstance).getExchangeTransformer() != null) {
-					((ManagedHttpServiceInstance)serviceInstance).getExchangeTransformer().transform(serviceRequest);
-				}
-			});
+		// the exchange is transformed when it is bound to the managed instance since the route load balancer might wrap instances (e.g. outlier detection)
+		return this.routeLoadBalancer.next(serviceRequest);
 	}
 
 	@Override
@@ -134,6 +151,7 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 		private final HttpMetaServiceExchangeTransformer exchangeTransformer;
 		private final HttpServiceInstance serviceInstance;
 		private final int weight;
+		private final Locality locality;
 
 		/**
 		 * <p>
@@ -143,11 +161,13 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 		 * @param exchangeTransformer the exchange transformer
 		 * @param serviceInstance     the original HTTP service instance
 		 * @param weight              the weight
+		 * @param locality            the destination locality overriding the original instance locality or null
 		 */
-		public ManagedHttpServiceInstance(HttpMetaServiceExchangeTransformer exchangeTransformer, HttpServiceInstance serviceInstance, int weight) {
+		public ManagedHttpServiceInstance(HttpMetaServiceExchangeTransformer exchangeTransformer, HttpServiceInstance serviceInstance, int weight, Locality locality) {
 			this.exchangeTransformer = exchangeTransformer;
 			this.serviceInstance = serviceInstance;
 			this.weight = weight;
+			this.locality = locality;
 			if(weight <= 0) {
 				throw new IllegalArgumentException("weight must be a positive integer");
 			}
@@ -171,6 +191,9 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 
 		@Override
 		public <T extends ExchangeContext> Exchange<T> bind(UnboundExchange<T> exchange) throws IllegalStateException {
+			if(this.exchangeTransformer != null) {
+				this.exchangeTransformer.transform(exchange);
+			}
 			return this.serviceInstance.bind(exchange);
 		}
 
@@ -184,6 +207,16 @@ public class ManagedHttpMetaServiceRoute extends AbstractHttpMetaServiceRoute<Ma
 			return this.serviceInstance.getLoadFactor();
 		}
 
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return this.serviceInstance.getRemoteAddress();
+		}
+
+		@Override
+		public Locality getLocality() {
+			return this.locality != null ? this.locality : this.serviceInstance.getLocality();
+		}
+
 		@Override
 		public Mono<Void> shutdown() {
 			return this.serviceInstance.shutdown();
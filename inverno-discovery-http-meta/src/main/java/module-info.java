@@ -35,6 +35,8 @@
  * <dd>the HTTP discovery meta module configuration</dd>
  * <dt><b>discoveryServices</b></dt>
  * <dd>the external discovery services used to resolve HTTP meta service destinations</dd>
+ * <dt><b>httpClient</b></dt>
+ * <dd>the HTTP client used to replay requests on routes defining retry or hedging policies</dd>
  * <dt><b>objectMapper</b></dt>
  * <dd>an object mapper to read JSON HTTP meta service descriptors</dd>
  * </dl>
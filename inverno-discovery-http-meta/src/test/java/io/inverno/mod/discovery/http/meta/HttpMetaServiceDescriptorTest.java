@@ -22,8 +22,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.inverno.mod.boot.json.InvernoBaseModule;
+import io.inverno.mod.discovery.http.CircuitBreaker;
+import io.inverno.mod.discovery.http.ConsistentHashTrafficLoadBalancer;
 import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.discovery.http.OutlierDetection;
+import io.inverno.mod.http.base.Method;
 import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -84,6 +89,59 @@ public class HttpMetaServiceDescriptorTest {
 		minLoadFactorLB.setChoiceCount(5);
 		minLoadFactorLB.setBias(6);
 		Assertions.assertEquals(minLoadFactorLB, MAPPER.readValue(minLoadFactorLBJson, HttpMetaServiceDescriptor.LoadBalancerDescriptor.class));
+
+		String consistentHashLBJson = "{\"strategy\":\"CONSISTENT_HASH\",\"algorithm\":\"RING\",\"keySource\":\"PATH_PARAMETER\",\"keyName\":\"userId\",\"path\":\"/users/{userId}/**\"}";
+		HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor consistentHashLB = new HttpMetaServiceDescriptor.ConsistentHashLoadBalancerDescriptor();
+		consistentHashLB.setAlgorithm(ConsistentHashTrafficLoadBalancer.Algorithm.RING);
+		consistentHashLB.setKeySource(ConsistentHashTrafficLoadBalancer.KeySource.PATH_PARAMETER);
+		consistentHashLB.setKeyName("userId");
+		consistentHashLB.setPath("/users/{userId}/**");
+		Assertions.assertEquals(consistentHashLB, MAPPER.readValue(consistentHashLBJson, HttpMetaServiceDescriptor.LoadBalancerDescriptor.class));
+
+		String peakEwmaLBJson = "{\"strategy\":\"PEAK_EWMA\",\"choiceCount\":3,\"decayTime\":5000}";
+		HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor peakEwmaLB = new HttpMetaServiceDescriptor.PeakEwmaLoadBalancerDescriptor();
+		peakEwmaLB.setChoiceCount(3);
+		peakEwmaLB.setDecayTime(5000);
+		Assertions.assertEquals(peakEwmaLB, MAPPER.readValue(peakEwmaLBJson, HttpMetaServiceDescriptor.LoadBalancerDescriptor.class));
+
+		String outlierDetectionLBJson = "{\"strategy\":\"ROUND_ROBIN\",\"outlierDetection\":{\"consecutive5xx\":3,\"baseEjectionTime\":1000,\"successRateStdevFactor\":2.5},\"circuitBreaker\":{\"maxPendingRequests\":10}}";
+		HttpMetaServiceDescriptor.LoadBalancerDescriptor outlierDetectionLB = new HttpMetaServiceDescriptor.LoadBalancerDescriptor(HttpTrafficPolicy.LoadBalancingStrategy.ROUND_ROBIN);
+		HttpMetaServiceDescriptor.OutlierDetectionDescriptor outlierDetection = new HttpMetaServiceDescriptor.OutlierDetectionDescriptor();
+		outlierDetection.setConsecutive5xx(3);
+		outlierDetection.setBaseEjectionTime(1000);
+		outlierDetection.setSuccessRateStdevFactor(2.5);
+		outlierDetectionLB.setOutlierDetection(outlierDetection);
+		HttpMetaServiceDescriptor.CircuitBreakerDescriptor circuitBreaker = new HttpMetaServiceDescriptor.CircuitBreakerDescriptor();
+		circuitBreaker.setMaxPendingRequests(10);
+		outlierDetectionLB.setCircuitBreaker(circuitBreaker);
+		HttpMetaServiceDescriptor.LoadBalancerDescriptor readOutlierDetectionLB = MAPPER.readValue(outlierDetectionLBJson, HttpMetaServiceDescriptor.LoadBalancerDescriptor.class);
+		Assertions.assertEquals(outlierDetectionLB, readOutlierDetectionLB);
+		Assertions.assertEquals(OutlierDetection.builder().consecutive5xx(3).baseEjectionTime(1000).successRateStdevFactor(2.5).build(), readOutlierDetectionLB.getOutlierDetection().toOutlierDetection());
+		Assertions.assertEquals(new CircuitBreaker(10, CircuitBreaker.DEFAULT_MAX_REQUESTS), readOutlierDetectionLB.getCircuitBreaker().toCircuitBreaker());
+	}
+
+	@Test
+	public void testRetryAndHedgingPolicyDescriptor() throws JsonProcessingException {
+		String routeJson = "{\"retry\":{\"maxRetries\":3,\"statuses\":[503],\"connectFailure\":false,\"maxBackoff\":500},\"hedging\":{\"percentile\":99,\"methods\":[\"GET\"],\"budgetRatio\":0.05},\"destinations\":[{\"uri\":\"http://service\"}]}";
+		HttpMetaServiceDescriptor.RouteDescriptor route = MAPPER.readValue(routeJson, HttpMetaServiceDescriptor.RouteDescriptor.class);
+
+		HttpMetaServiceDescriptor.RetryPolicyDescriptor retry = new HttpMetaServiceDescriptor.RetryPolicyDescriptor();
+		retry.setMaxRetries(3);
+		retry.setStatuses(Set.of(503));
+		retry.setConnectFailure(false);
+		retry.setMaxBackoff(500);
+		Assertions.assertEquals(retry, route.getRetry());
+		Assertions.assertEquals(HttpMetaServiceDescriptor.RetryPolicyDescriptor.DEFAULT_METHODS, route.getRetry().getMethods());
+		Assertions.assertEquals(HttpMetaServiceDescriptor.RetryPolicyDescriptor.DEFAULT_BUDGET_RATIO, route.getRetry().getBudgetRatio());
+
+		HttpMetaServiceDescriptor.HedgingPolicyDescriptor hedging = new HttpMetaServiceDescriptor.HedgingPolicyDescriptor();
+		hedging.setPercentile(99);
+		hedging.setMethods(Set.of(Method.GET));
+		hedging.setBudgetRatio(0.05);
+		Assertions.assertEquals(hedging, route.getHedging());
+		Assertions.assertEquals(HttpMetaServiceDescriptor.HedgingPolicyDescriptor.DEFAULT_MAX_DELAY, route.getHedging().getMaxDelay());
+
+		Assertions.assertEquals(route, MAPPER.readValue(MAPPER.writeValueAsString(route), HttpMetaServiceDescriptor.RouteDescriptor.class));
 	}
 
 	@Test
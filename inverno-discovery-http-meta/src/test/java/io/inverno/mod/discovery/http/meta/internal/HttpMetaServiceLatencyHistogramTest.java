@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class HttpMetaServiceLatencyHistogramTest {
+
+	@Test
+	public void test_percentile() {
+		AtomicLong clock = new AtomicLong();
+		HttpMetaServiceLatencyHistogram histogram = new HttpMetaServiceLatencyHistogram(100, 60000, clock::get);
+
+		for(int i=0;i<99;i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		// not enough samples
+		Assertions.assertEquals(-1, histogram.getPercentile(95));
+
+		for(int i=0;i<9;i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(200));
+		}
+
+		long p50 = histogram.getPercentile(50);
+		Assertions.assertTrue(p50 >= 10 && p50 <= 13, "p50: " + p50);
+
+		long p95 = histogram.getPercentile(95);
+		Assertions.assertTrue(p95 >= 200 && p95 <= 250, "p95: " + p95);
+	}
+
+	@Test
+	public void test_window() {
+		AtomicLong clock = new AtomicLong();
+		HttpMetaServiceLatencyHistogram histogram = new HttpMetaServiceLatencyHistogram(1, 60000, clock::get);
+
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+		Assertions.assertTrue(histogram.getPercentile(50) >= 100);
+
+		// samples move to the previous half window
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		Assertions.assertTrue(histogram.getPercentile(50) >= 100);
+
+		// samples expire
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		Assertions.assertEquals(-1, histogram.getPercentile(50));
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class HttpMetaServiceRequestBudgetTest {
+
+	@Test
+	public void test_ratio() {
+		AtomicLong clock = new AtomicLong();
+		HttpMetaServiceRequestBudget budget = new HttpMetaServiceRequestBudget(0.2, 0, 10000, clock::get);
+
+		Assertions.assertFalse(budget.tryWithdraw());
+		for(int i=0;i<10;i++) {
+			budget.deposit();
+		}
+		Assertions.assertTrue(budget.tryWithdraw());
+		Assertions.assertTrue(budget.tryWithdraw());
+		Assertions.assertFalse(budget.tryWithdraw());
+	}
+
+	@Test
+	public void test_min_per_second() {
+		AtomicLong clock = new AtomicLong();
+		HttpMetaServiceRequestBudget budget = new HttpMetaServiceRequestBudget(0, 1, 2000, clock::get);
+
+		Assertions.assertTrue(budget.tryWithdraw());
+		Assertions.assertTrue(budget.tryWithdraw());
+		Assertions.assertFalse(budget.tryWithdraw());
+	}
+
+	@Test
+	public void test_window() {
+		AtomicLong clock = new AtomicLong();
+		HttpMetaServiceRequestBudget budget = new HttpMetaServiceRequestBudget(0.5, 0, 10000, clock::get);
+
+		budget.deposit();
+		budget.deposit();
+		Assertions.assertTrue(budget.tryWithdraw());
+		Assertions.assertFalse(budget.tryWithdraw());
+
+		// deposits and withdrawals move to the previous half window
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		Assertions.assertFalse(budget.tryWithdraw());
+		budget.deposit();
+		budget.deposit();
+		Assertions.assertTrue(budget.tryWithdraw());
+
+		// the previous half window expires
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		Assertions.assertFalse(budget.tryWithdraw());
+
+		// everything expires
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		budget.deposit();
+		budget.deposit();
+		Assertions.assertTrue(budget.tryWithdraw());
+	}
+}
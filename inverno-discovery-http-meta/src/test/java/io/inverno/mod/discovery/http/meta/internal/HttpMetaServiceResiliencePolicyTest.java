@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.meta.internal;
+
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.meta.HttpMetaServiceDescriptor;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.InboundRequestHeaders;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.Request;
+import io.inverno.mod.http.client.Response;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class HttpMetaServiceResiliencePolicyTest {
+
+	private HttpClient httpClient;
+	private List<UnboundExchange<ExchangeContext>> resolvedExchanges;
+
+	@BeforeEach
+	public void init() {
+		this.httpClient = Mockito.mock(HttpClient.class);
+		Mockito.doAnswer(invocation -> Mono.just(mockUnboundExchange())).when(this.httpClient).exchange(Mockito.any(Method.class), Mockito.anyString(), Mockito.any());
+		this.resolvedExchanges = new ArrayList<>();
+	}
+
+	@Test
+	public void test_hedge_excludes_primary_instance() {
+		HttpServiceInstance primaryInstance = mockInstance("10.0.0.1");
+		HttpServiceInstance otherInstance = mockInstance("10.0.0.2");
+
+		// the slow primary instance is selected again on the first replay resolution
+		Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver = this.instanceResolver(primaryInstance, primaryInstance, otherInstance);
+
+		UnboundExchange<ExchangeContext> exchange = mockUnboundExchange();
+		Exchange<ExchangeContext> primaryExchange = mockExchange(Mono.never());
+		Mockito.doReturn(primaryExchange).when(primaryInstance).bind(exchange);
+
+		Response hedgedResponse = Mockito.mock(Response.class);
+		Mockito.doAnswer(invocation -> mockExchange(Mono.just(hedgedResponse))).when(otherInstance).bind(Mockito.any());
+
+		HttpServiceInstance resilientInstance = this.createHedgingPolicy().getInstance(exchange, instanceResolver).block();
+		Assertions.assertNotNull(resilientInstance);
+		Assertions.assertSame(hedgedResponse, resilientInstance.bind(exchange).response().block(Duration.ofSeconds(5)));
+
+		Assertions.assertEquals(3, this.resolvedExchanges.size());
+		// the primary instance only processed the original exchange
+		Mockito.verify(primaryInstance).bind(exchange);
+		Mockito.verify(primaryInstance, Mockito.times(1)).bind(Mockito.any());
+		Mockito.verify(otherInstance).bind(this.resolvedExchanges.get(2));
+		Mockito.verify(primaryExchange).reset();
+	}
+
+	@Test
+	public void test_hedge_single_instance() {
+		HttpServiceInstance instance = mockInstance("10.0.0.1");
+
+		Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver = this.instanceResolver(instance, instance, instance, instance);
+
+		UnboundExchange<ExchangeContext> exchange = mockUnboundExchange();
+		Mockito.doReturn(mockExchange(Mono.never())).when(instance).bind(exchange);
+
+		Response hedgedResponse = Mockito.mock(Response.class);
+		Mockito.doAnswer(invocation -> mockExchange(Mono.just(hedgedResponse))).when(instance).bind(Mockito.argThat(argument -> argument != exchange));
+
+		HttpServiceInstance resilientInstance = this.createHedgingPolicy().getInstance(exchange, instanceResolver).block();
+		Assertions.assertNotNull(resilientInstance);
+		Assertions.assertSame(hedgedResponse, resilientInstance.bind(exchange).response().block(Duration.ofSeconds(5)));
+
+		// the route is resolved a bounded number of times before falling back to the already tried instance
+		Assertions.assertEquals(4, this.resolvedExchanges.size());
+		Mockito.verify(instance).bind(this.resolvedExchanges.get(3));
+		Mockito.verify(instance, Mockito.times(2)).bind(Mockito.any());
+	}
+
+	private HttpMetaServiceResiliencePolicy createHedgingPolicy() {
+		HttpMetaServiceDescriptor.HedgingPolicyDescriptor hedging = new HttpMetaServiceDescriptor.HedgingPolicyDescriptor();
+		hedging.setMinDelay(10);
+		hedging.setMaxDelay(10);
+		hedging.setMethods(Set.of(Method.GET));
+
+		HttpMetaServiceDescriptor.RouteDescriptor route = new HttpMetaServiceDescriptor.RouteDescriptor(null, null, null, null, null, null, null, null, null, null, null, null, List.of());
+		route.setHedging(hedging);
+
+		return HttpMetaServiceResiliencePolicy.from(route, this.httpClient);
+	}
+
+	private Function<UnboundExchange<?>, Mono<? extends HttpServiceInstance>> instanceResolver(HttpServiceInstance... instances) {
+		Iterator<HttpServiceInstance> instancesIterator = List.of(instances).iterator();
+		return exchange -> {
+			@SuppressWarnings("unchecked")
+			UnboundExchange<ExchangeContext> resolvedExchange = (UnboundExchange<ExchangeContext>)exchange;
+			this.resolvedExchanges.add(resolvedExchange);
+			return Mono.just(instancesIterator.next());
+		};
+	}
+
+	private static HttpServiceInstance mockInstance(String host) {
+		HttpServiceInstance instance = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance.getRemoteAddress()).thenReturn(new InetSocketAddress(host, 8080));
+		return instance;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static UnboundExchange<ExchangeContext> mockUnboundExchange() {
+		InboundRequestHeaders headers = Mockito.mock(InboundRequestHeaders.class);
+		Mockito.when(headers.getAll()).thenReturn(List.of());
+
+		Request request = Mockito.mock(Request.class);
+		Mockito.when(request.getMethod()).thenReturn(Method.GET);
+		Mockito.when(request.getPath()).thenReturn("/path");
+		Mockito.when(request.headers()).thenReturn(headers);
+
+		UnboundExchange<ExchangeContext> exchange = Mockito.mock(UnboundExchange.class);
+		Mockito.when(exchange.request()).thenReturn(request);
+		return exchange;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Exchange<ExchangeContext> mockExchange(Mono<Response> response) {
+		Exchange<ExchangeContext> exchange = Mockito.mock(Exchange.class);
+		Mockito.doReturn(response).when(exchange).response();
+		return exchange;
+	}
+}
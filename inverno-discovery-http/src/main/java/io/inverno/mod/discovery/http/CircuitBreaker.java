@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Per service instance circuit breaker settings.
+ * </p>
+ *
+ * <p>
+ * A request is rejected with a {@link io.inverno.mod.http.base.ServiceUnavailableException ServiceUnavailableException} when the selected service instance has reached
+ * {@link #getMaxPendingRequests()} requests waiting for a response or {@link #getMaxRequests()} active requests, as reported by {@link HttpServiceInstance#getActiveRequests()}, in order to
+ * prevent an overloaded instance from accumulating more requests.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see OutlierDetectionTrafficLoadBalancer
+ */
+public final class CircuitBreaker {
+
+	/**
+	 * The default maximum number of requests waiting for a response.
+	 */
+	public static final int DEFAULT_MAX_PENDING_REQUESTS = 1024;
+
+	/**
+	 * The default maximum number of active requests.
+	 */
+	public static final int DEFAULT_MAX_REQUESTS = 1024;
+
+	private final int maxPendingRequests;
+	private final int maxRequests;
+
+	/**
+	 * <p>
+	 * Creates circuit breaker settings.
+	 * </p>
+	 *
+	 * @param maxPendingRequests the maximum number of requests waiting for a response
+	 * @param maxRequests        the maximum number of active requests
+	 *
+	 * @throws IllegalArgumentException if limits are not strictly positive
+	 */
+	public CircuitBreaker(int maxPendingRequests, int maxRequests) throws IllegalArgumentException {
+		if(maxPendingRequests <= 0 || maxRequests <= 0) {
+			throw new IllegalArgumentException("Limits must be strictly positive");
+		}
+		this.maxPendingRequests = maxPendingRequests;
+		this.maxRequests = maxRequests;
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum number of requests sent to an instance and waiting for a response.
+	 * </p>
+	 *
+	 * @return the maximum number of pending requests
+	 */
+	public int getMaxPendingRequests() {
+		return maxPendingRequests;
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum number of active requests on an instance, including requests waiting for a connection.
+	 * </p>
+	 *
+	 * @return the maximum number of active requests
+	 */
+	public int getMaxRequests() {
+		return maxRequests;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		CircuitBreaker that = (CircuitBreaker) o;
+		return maxPendingRequests == that.maxPendingRequests && maxRequests == that.maxRequests;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(maxPendingRequests, maxRequests);
+	}
+}
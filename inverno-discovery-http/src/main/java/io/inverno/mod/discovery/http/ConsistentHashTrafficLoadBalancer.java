@@ -0,0 +1,630 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.base.net.URIMatcher;
+import io.inverno.mod.base.net.URIPattern;
+import io.inverno.mod.base.net.URIs;
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.base.Parameter;
+import io.inverno.mod.http.client.Request;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An HTTP traffic load balancer that consistently selects the same service instance for requests sharing the same hash key.
+ * </p>
+ *
+ * <p>
+ * The hash key is extracted from a request header, a cookie, a path parameter or a query parameter as defined by {@link #getKeySource()} and {@link #getKeyName()}. When no key can be extracted from
+ * a request, a service instance is randomly selected.
+ * </p>
+ *
+ * <p>
+ * Two algorithms are supported:
+ * </p>
+ *
+ * <ul>
+ * <li>{@link Algorithm#RING}: service instances are placed at multiple points (virtual nodes) on a hash ring proportionally to their weight, the selected instance is the one placed at the first point
+ * following the key hash on the ring. Lookups are done in {@code O(log n)} where {@code n} is the size of the ring.</li>
+ * <li>{@link Algorithm#MAGLEV}: a lookup table of {@link #MAGLEV_TABLE_SIZE} entries is populated with service instances proportionally to their weight, the selected instance is the one at the index
+ * corresponding to the key hash. Lookups are done in {@code O(1)}.</li>
+ * </ul>
+ *
+ * <p>
+ * Service instances are identified by their remote address (see {@link HttpServiceInstance#getRemoteAddress()}) so that the ring or the lookup table built when a service is refreshed only remaps
+ * the keys of the instances that were actually added or removed. Lookups do not allocate any object.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class ConsistentHashTrafficLoadBalancer implements TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> {
+
+	/**
+	 * <p>
+	 * Consistent hashing algorithms.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public enum Algorithm {
+		/**
+		 * <p>
+		 * Ring hash algorithm.
+		 * </p>
+		 */
+		RING,
+		/**
+		 * <p>
+		 * Maglev lookup table algorithm.
+		 * </p>
+		 */
+		MAGLEV
+	}
+
+	/**
+	 * <p>
+	 * Sources of hash key in a request.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public enum KeySource {
+		/**
+		 * <p>
+		 * The hash key is the value of a request header.
+		 * </p>
+		 */
+		HEADER,
+		/**
+		 * <p>
+		 * The hash key is the value of a request cookie.
+		 * </p>
+		 */
+		COOKIE,
+		/**
+		 * <p>
+		 * The hash key is the value of a parameter in the request path as defined by a path pattern.
+		 * </p>
+		 */
+		PATH_PARAMETER,
+		/**
+		 * <p>
+		 * The hash key is the value of a query parameter.
+		 * </p>
+		 */
+		QUERY_PARAMETER
+	}
+
+	/**
+	 * The default consistent hashing algorithm.
+	 */
+	public static final Algorithm DEFAULT_ALGORITHM = Algorithm.MAGLEV;
+
+	/**
+	 * The default hash key source.
+	 */
+	public static final KeySource DEFAULT_KEY_SOURCE = KeySource.HEADER;
+
+	/**
+	 * The default hash key name.
+	 */
+	public static final String DEFAULT_KEY_NAME = "x-hash-key";
+
+	/**
+	 * The number of points on the hash ring of an instance with the maximum weight.
+	 */
+	public static final int RING_INSTANCE_POINTS = 256;
+
+	/**
+	 * The size of the Maglev lookup table, this must be a prime number.
+	 */
+	public static final int MAGLEV_TABLE_SIZE = 65537;
+
+	private static final long SEED_RING = 0x9e3779b97f4a7c15L;
+	private static final long SEED_MAGLEV_OFFSET = 0xc2b2ae3d27d4eb4fL;
+	private static final long SEED_MAGLEV_SKIP = 0x165667b19e3779f9L;
+
+	private final Algorithm algorithm;
+	private final KeySource keySource;
+	private final String keyName;
+	private final URIPattern pathPattern;
+
+	private final Mono<HttpServiceInstance>[] instances;
+	private final long[] ringHashes;
+	private final int[] table;
+
+	/**
+	 * <p>
+	 * Creates a consistent hash traffic load balancer using the default algorithm and hash key.
+	 * </p>
+	 *
+	 * @param instances a collection of HTTP service instances
+	 */
+	public ConsistentHashTrafficLoadBalancer(Collection<HttpServiceInstance> instances) {
+		this(instances, DEFAULT_ALGORITHM, DEFAULT_KEY_SOURCE, DEFAULT_KEY_NAME, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a consistent hash traffic load balancer.
+	 * </p>
+	 *
+	 * <p>
+	 * A path pattern is required when the key source is {@link KeySource#PATH_PARAMETER}, the key name is then the name of the parameter in the path pattern.
+	 * </p>
+	 *
+	 * @param instances   a collection of HTTP service instances
+	 * @param algorithm   the consistent hashing algorithm
+	 * @param keySource   the hash key source
+	 * @param keyName     the hash key name
+	 * @param pathPattern the path pattern or null
+	 *
+	 * @throws IllegalArgumentException if the path pattern is missing when the key source is {@link KeySource#PATH_PARAMETER}
+	 */
+	@SuppressWarnings("unchecked")
+	public ConsistentHashTrafficLoadBalancer(Collection<HttpServiceInstance> instances, Algorithm algorithm, KeySource keySource, String keyName, URIPattern pathPattern) throws IllegalArgumentException {
+		this.algorithm = Objects.requireNonNull(algorithm);
+		this.keySource = Objects.requireNonNull(keySource);
+		this.keyName = Objects.requireNonNull(keyName);
+		if(keySource == KeySource.PATH_PARAMETER && pathPattern == null) {
+			throw new IllegalArgumentException("Missing path pattern");
+		}
+		this.pathPattern = pathPattern;
+
+		List<InstanceEntry> entries = createEntries(instances);
+		this.instances = new Mono[entries.size()];
+		for(int i=0;i<entries.size();i++) {
+			this.instances[i] = Mono.just(entries.get(i).instance);
+		}
+
+		switch(algorithm) {
+			case RING: {
+				RingPoint[] ring = createRing(entries);
+				this.ringHashes = new long[ring.length];
+				this.table = new int[ring.length];
+				for(int i=0;i<ring.length;i++) {
+					this.ringHashes[i] = ring[i].hash;
+					this.table[i] = ring[i].index;
+				}
+				break;
+			}
+			case MAGLEV: {
+				this.ringHashes = null;
+				this.table = createMaglevTable(entries);
+				break;
+			}
+			default: throw new IllegalStateException("Unsupported algorithm: " + algorithm);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates the list of instance entries sorted by instance key.
+	 * </p>
+	 *
+	 * <p>
+	 * Instances sharing the same remote address are disambiguated by their order of appearance in the specified collection.
+	 * </p>
+	 *
+	 * @param instances a collection of HTTP service instances
+	 *
+	 * @return a sorted list of instance entries
+	 */
+	private static List<InstanceEntry> createEntries(Collection<HttpServiceInstance> instances) {
+		List<InstanceEntry> entries = new ArrayList<>(instances.size());
+		Map<String, Integer> keyCounts = new HashMap<>();
+		for(HttpServiceInstance instance : instances) {
+			String instanceKey = getInstanceKey(instance);
+			int count = keyCounts.merge(instanceKey, 1, Integer::sum);
+			if(count > 1) {
+				instanceKey = instanceKey + "#" + count;
+			}
+			entries.add(new InstanceEntry(instanceKey, instance));
+		}
+		entries.sort(Comparator.comparing(entry -> entry.key));
+		for(int i=0;i<entries.size();i++) {
+			entries.get(i).index = i;
+		}
+		return entries;
+	}
+
+	/**
+	 * <p>
+	 * Returns the key identifying the specified instance on the ring or in the lookup table.
+	 * </p>
+	 *
+	 * @param instance an HTTP service instance
+	 *
+	 * @return an instance key
+	 */
+	private static String getInstanceKey(HttpServiceInstance instance) {
+		SocketAddress remoteAddress = instance.getRemoteAddress();
+		if(remoteAddress instanceof InetSocketAddress) {
+			InetSocketAddress inetRemoteAddress = (InetSocketAddress)remoteAddress;
+			return inetRemoteAddress.getHostString() + ":" + inetRemoteAddress.getPort();
+		}
+		else if(remoteAddress != null) {
+			return remoteAddress.toString();
+		}
+		return Integer.toHexString(System.identityHashCode(instance));
+	}
+
+	/**
+	 * <p>
+	 * Creates the hash ring.
+	 * </p>
+	 *
+	 * <p>
+	 * Each instance is placed on the ring at a number of points proportional to its weight, an instance with the maximum weight being placed at {@link #RING_INSTANCE_POINTS} points. The number of
+	 * points of an instance does not depend on the number of instances so that adding or removing an instance does not move the points of the other instances.
+	 * </p>
+	 *
+	 * @param entries the instance entries
+	 *
+	 * @return the points of the ring sorted by hash
+	 */
+	private static RingPoint[] createRing(List<InstanceEntry> entries) {
+		long maxWeight = 0;
+		for(InstanceEntry entry : entries) {
+			maxWeight = Math.max(maxWeight, entry.instance.getWeight());
+		}
+		double scale = (double)RING_INSTANCE_POINTS / maxWeight;
+
+		List<RingPoint> ring = new ArrayList<>();
+		for(InstanceEntry entry : entries) {
+			long pointCount = Math.max(1, Math.round(entry.instance.getWeight() * scale));
+			for(long i=0;i<pointCount;i++) {
+				ring.add(new RingPoint(hash(entry.key, SEED_RING * (i + 1)), entry.index));
+			}
+		}
+		// Ties are broken using the instance index which is stable since entries are sorted by key
+		ring.sort(Comparator.<RingPoint>comparingLong(point -> point.hash).thenComparingInt(point -> point.index));
+		return ring.toArray(RingPoint[]::new);
+	}
+
+	/**
+	 * <p>
+	 * Creates the Maglev lookup table.
+	 * </p>
+	 *
+	 * <p>
+	 * Each instance defines a permutation of the table indexes from its key, instances then take turns to fill the next free index in their permutation. An instance with a weight lower than the
+	 * maximum weight skips turns in order to fill a number of entries proportional to its weight.
+	 * </p>
+	 *
+	 * @param entries the instance entries
+	 *
+	 * @return the lookup table
+	 */
+	private static int[] createMaglevTable(List<InstanceEntry> entries) {
+		int[] table = new int[MAGLEV_TABLE_SIZE];
+		Arrays.fill(table, -1);
+
+		int entryCount = entries.size();
+		long[] offsets = new long[entryCount];
+		long[] skips = new long[entryCount];
+		long[] nexts = new long[entryCount];
+		double[] weights = new double[entryCount];
+		double[] targetWeights = new double[entryCount];
+
+		double maxWeight = 0;
+		for(InstanceEntry entry : entries) {
+			maxWeight = Math.max(maxWeight, entry.instance.getWeight());
+		}
+		for(InstanceEntry entry : entries) {
+			offsets[entry.index] = Long.remainderUnsigned(hash(entry.key, SEED_MAGLEV_OFFSET), MAGLEV_TABLE_SIZE);
+			skips[entry.index] = Long.remainderUnsigned(hash(entry.key, SEED_MAGLEV_SKIP), MAGLEV_TABLE_SIZE - 1) + 1;
+			weights[entry.index] = entry.instance.getWeight() / maxWeight;
+		}
+
+		int filled = 0;
+		for(long iteration=1;filled < MAGLEV_TABLE_SIZE;iteration++) {
+			for(int i=0;i<entryCount && filled < MAGLEV_TABLE_SIZE;i++) {
+				if(iteration * weights[i] < targetWeights[i]) {
+					continue;
+				}
+				targetWeights[i] += 1;
+				int index = (int)((offsets[i] + skips[i] * nexts[i]) % MAGLEV_TABLE_SIZE);
+				while(table[index] >= 0) {
+					nexts[i]++;
+					index = (int)((offsets[i] + skips[i] * nexts[i]) % MAGLEV_TABLE_SIZE);
+				}
+				table[index] = i;
+				nexts[i]++;
+				filled++;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * <p>
+	 * Computes the 64-bit hash of the specified value.
+	 * </p>
+	 *
+	 * <p>
+	 * This is a FNV-1a hash over the characters of the value followed by a MurmurHash3 finalization step, it does not allocate any object.
+	 * </p>
+	 *
+	 * @param value a value
+	 * @param seed  a seed
+	 *
+	 * @return a 64-bit hash
+	 */
+	private static long hash(CharSequence value, long seed) {
+		long h = 0xcbf29ce484222325L ^ seed;
+		for(int i=0;i<value.length();i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * <p>
+	 * Returns the consistent hashing algorithm.
+	 * </p>
+	 *
+	 * @return the algorithm
+	 */
+	public Algorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * <p>
+	 * Returns the source of the hash key in a request.
+	 * </p>
+	 *
+	 * @return the hash key source
+	 */
+	public KeySource getKeySource() {
+		return keySource;
+	}
+
+	/**
+	 * <p>
+	 * Returns the name of the hash key in a request.
+	 * </p>
+	 *
+	 * @return the hash key name
+	 */
+	public String getKeyName() {
+		return keyName;
+	}
+
+	/**
+	 * <p>
+	 * Returns the path pattern used to extract the hash key from the request path.
+	 * </p>
+	 *
+	 * @return the path pattern or null
+	 */
+	public URIPattern getPathPattern() {
+		return pathPattern;
+	}
+
+	/**
+	 * <p>
+	 * Extracts the hash key from the specified request.
+	 * </p>
+	 *
+	 * @param serviceRequest a service request
+	 *
+	 * @return a hash key or null
+	 */
+	private String extractKey(UnboundExchange<?> serviceRequest) {
+		if(serviceRequest == null) {
+			return null;
+		}
+		Request request = serviceRequest.request();
+		switch(this.keySource) {
+			case HEADER: return request.headers().get(this.keyName).orElse(null);
+			case COOKIE: return request.headers().cookies().get(this.keyName).map(Parameter::getValue).orElse(null);
+			case PATH_PARAMETER: {
+				URIMatcher matcher = this.pathPattern.matcher(request.getPathAbsolute());
+				return matcher.matches() ? matcher.getParameterValue(this.keyName).orElse(null) : null;
+			}
+			case QUERY_PARAMETER: return request.queryParameters().get(this.keyName).map(Parameter::getValue).orElse(null);
+			default: throw new IllegalStateException("Unsupported key source: " + this.keySource);
+		}
+	}
+
+	@Override
+	public Mono<HttpServiceInstance> next(UnboundExchange<?> serviceRequest) {
+		String key = this.extractKey(serviceRequest);
+		if(key == null) {
+			// Instances are represented proportionally to their weight in both ring and lookup table
+			return this.instances[this.table[ThreadLocalRandom.current().nextInt(this.table.length)]];
+		}
+		long keyHash = hash(key, 0);
+		if(this.algorithm == Algorithm.MAGLEV) {
+			return this.instances[this.table[(int)Long.remainderUnsigned(keyHash, this.table.length)]];
+		}
+		int index = Arrays.binarySearch(this.ringHashes, keyHash);
+		if(index < 0) {
+			index = -index - 1;
+			if(index == this.ringHashes.length) {
+				index = 0;
+			}
+		}
+		return this.instances[this.table[index]];
+	}
+
+	/**
+	 * <p>
+	 * An instance entry used to build the ring or the lookup table.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class InstanceEntry {
+
+		private final String key;
+		private final HttpServiceInstance instance;
+		private int index;
+
+		/**
+		 * <p>
+		 * Creates an instance entry.
+		 * </p>
+		 *
+		 * @param key      the instance key
+		 * @param instance the HTTP service instance
+		 */
+		public InstanceEntry(String key, HttpServiceInstance instance) {
+			this.key = key;
+			this.instance = instance;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A point on the hash ring.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class RingPoint {
+
+		private final long hash;
+		private final int index;
+
+		/**
+		 * <p>
+		 * Creates a ring point.
+		 * </p>
+		 *
+		 * @param hash  the point hash
+		 * @param index the index of the instance
+		 */
+		public RingPoint(long hash, int index) {
+			this.hash = hash;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A consistent hash traffic load balancer factory.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Factory implements TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> {
+
+		private final Algorithm algorithm;
+		private final KeySource keySource;
+		private final String keyName;
+		private final String path;
+
+		private final URIPattern pathPattern;
+
+		/**
+		 * <p>
+		 * Creates a consistent hash traffic load balancer factory.
+		 * </p>
+		 *
+		 * @param algorithm the consistent hashing algorithm
+		 * @param keySource the hash key source
+		 * @param keyName   the hash key name
+		 *
+		 * @throws IllegalArgumentException if the key source is {@link KeySource#PATH_PARAMETER}
+		 */
+		public Factory(Algorithm algorithm, KeySource keySource, String keyName) throws IllegalArgumentException {
+			this(algorithm, keySource, keyName, null);
+		}
+
+		/**
+		 * <p>
+		 * Creates a consistent hash traffic load balancer factory.
+		 * </p>
+		 *
+		 * <p>
+		 * The path is only considered when the key source is {@link KeySource#PATH_PARAMETER}, it must be a parameterized absolute path (eg. {@code /users/{userId}/**}) and the key name must
+		 * correspond to a path parameter.
+		 * </p>
+		 *
+		 * @param algorithm the consistent hashing algorithm
+		 * @param keySource the hash key source
+		 * @param keyName   the hash key name
+		 * @param path      a parameterized path or null
+		 *
+		 * @throws IllegalArgumentException if the path is missing or invalid when the key source is {@link KeySource#PATH_PARAMETER}
+		 */
+		public Factory(Algorithm algorithm, KeySource keySource, String keyName, String path) throws IllegalArgumentException {
+			this.algorithm = Objects.requireNonNull(algorithm);
+			this.keySource = Objects.requireNonNull(keySource);
+			this.keyName = Objects.requireNonNull(keyName);
+			if(keySource == KeySource.PATH_PARAMETER) {
+				if(path == null) {
+					throw new IllegalArgumentException("Missing path");
+				}
+				if(!path.startsWith("/")) {
+					throw new IllegalArgumentException("Path must be absolute");
+				}
+				this.path = path;
+				this.pathPattern = URIs.uri(path, URIs.RequestTargetForm.PATH, false, URIs.Option.NORMALIZED, URIs.Option.PARAMETERIZED, URIs.Option.PATH_PATTERN).buildPathPattern(false);
+			}
+			else {
+				this.path = null;
+				this.pathPattern = null;
+			}
+		}
+
+		@Override
+		public TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> create(Collection<HttpServiceInstance> instances) {
+			return new ConsistentHashTrafficLoadBalancer(instances, this.algorithm, this.keySource, this.keyName, this.pathPattern);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Factory factory = (Factory) o;
+			return algorithm == factory.algorithm && keySource == factory.keySource && Objects.equals(keyName, factory.keyName) && Objects.equals(path, factory.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(algorithm, keySource, keyName, path);
+		}
+	}
+}
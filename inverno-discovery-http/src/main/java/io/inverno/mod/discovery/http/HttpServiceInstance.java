@@ -20,6 +20,7 @@ import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.client.Endpoint;
 import io.inverno.mod.http.client.Exchange;
 import io.inverno.mod.http.client.UnboundExchange;
+import java.net.SocketAddress;
 
 /**
  * <p>
@@ -78,4 +79,23 @@ public interface HttpServiceInstance extends WeightedServiceInstance {
 	 * @see Endpoint#getLoadFactor()
 	 */
 	float getLoadFactor();
+
+	/**
+	 * <p>
+	 * Returns the address of the remote server exposing the service.
+	 * </p>
+	 *
+	 * <p>
+	 * The remote address is used to identify a service instance among instances resolved when a service is refreshed (see {@link ConsistentHashTrafficLoadBalancer}).
+	 * </p>
+	 *
+	 * @return the remote address or null if unknown
+	 *
+	 * @see Endpoint#getRemoteAddress()
+	 *
+	 * @since 1.14
+	 */
+	default SocketAddress getRemoteAddress() {
+		return null;
+	}
 }
@@ -48,7 +48,6 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 	 * @since 1.12
 	 */
 	public enum LoadBalancingStrategy {
-		//CONSISTENT_HASH,
 		/**
 		 * <p>
 		 * Random load balancing strategy where service instances are randomly selected.
@@ -80,7 +79,23 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 		 *
 		 * @see MinLoadFactorTrafficLoadBalancer
 		 */
-		MIN_LOAD_FACTOR(MinLoadFactorTrafficLoadBalancer::new, false);
+		MIN_LOAD_FACTOR(MinLoadFactorTrafficLoadBalancer::new, false),
+		/**
+		 * <p>
+		 * Consistent hash load balancing strategy where service instances are selected based on a hash key extracted from the request.
+		 * </p>
+		 *
+		 * @see ConsistentHashTrafficLoadBalancer
+		 */
+		CONSISTENT_HASH(ConsistentHashTrafficLoadBalancer::new, false),
+		/**
+		 * <p>
+		 * Peak EWMA load balancing strategy where service instances are selected based on their latency and active requests count.
+		 * </p>
+		 *
+		 * @see PeakEwmaTrafficLoadBalancer
+		 */
+		PEAK_EWMA(new PeakEwmaTrafficLoadBalancer.Factory(), false);
 
 		private final TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> defaultLoadBalancerFactory;
 		private final boolean supportUnmanageable;
@@ -136,6 +151,9 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 	private final NetClientConfiguration netConfiguration;
 	private final HttpTrafficPolicy.LoadBalancingStrategy loadBalancingStrategy;
 	private final TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory;
+	private final OutlierDetection outlierDetection;
+	private final CircuitBreaker circuitBreaker;
+	private final LocalityAwareRouting localityAwareRouting;
 
 	/**
 	 * <p>
@@ -146,12 +164,18 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 	 * @param netConfiguration      the Net client configuration
 	 * @param loadBalancingStrategy the load balancing strategy
 	 * @param loadBalancerFactory   the load balancer factory
+	 * @param outlierDetection      the outlier detection settings
+	 * @param circuitBreaker        the circuit breaker settings
+	 * @param localityAwareRouting  the locality-aware routing settings
 	 */
-	private HttpTrafficPolicy(HttpClientConfiguration configuration, NetClientConfiguration netConfiguration, HttpTrafficPolicy.LoadBalancingStrategy loadBalancingStrategy, TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory) {
+	private HttpTrafficPolicy(HttpClientConfiguration configuration, NetClientConfiguration netConfiguration, HttpTrafficPolicy.LoadBalancingStrategy loadBalancingStrategy, TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory, OutlierDetection outlierDetection, CircuitBreaker circuitBreaker, LocalityAwareRouting localityAwareRouting) {
 		this.configuration = configuration;
 		this.netConfiguration = netConfiguration;
 		this.loadBalancingStrategy = loadBalancingStrategy;
 		this.loadBalancerFactory = loadBalancerFactory;
+		this.outlierDetection = outlierDetection;
+		this.circuitBreaker = circuitBreaker;
+		this.localityAwareRouting = localityAwareRouting;
 	}
 
 	/**
@@ -198,6 +222,45 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 		return loadBalancingStrategy;
 	}
 
+	/**
+	 * <p>
+	 * Returns the outlier detection settings.
+	 * </p>
+	 *
+	 * @return the outlier detection settings or null if outlier detection is disabled
+	 *
+	 * @since 1.14
+	 */
+	public OutlierDetection getOutlierDetection() {
+		return outlierDetection;
+	}
+
+	/**
+	 * <p>
+	 * Returns the circuit breaker settings.
+	 * </p>
+	 *
+	 * @return the circuit breaker settings or null if circuit breaking is disabled
+	 *
+	 * @since 1.14
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * <p>
+	 * Returns the locality-aware routing settings.
+	 * </p>
+	 *
+	 * @return the locality-aware routing settings or null if locality-aware routing is disabled
+	 *
+	 * @since 1.14
+	 */
+	public LocalityAwareRouting getLocalityAwareRouting() {
+		return localityAwareRouting;
+	}
+
 	/**
 	 * <p>
 	 * Returns an HTTP traffic policy builder.
@@ -224,6 +287,29 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 
 	@Override
 	public TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> getLoadBalancer(Collection<HttpServiceInstance> instances) throws IllegalArgumentException {
+		TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> factory = this::createLoadBalancer;
+		if(this.localityAwareRouting != null) {
+			// healthy instances provided by outlier detection are compared to all instances to determine the health of each locality
+			factory = healthyInstances -> new LocalityAwareTrafficLoadBalancer(healthyInstances, instances, this::createLoadBalancer, this.localityAwareRouting);
+		}
+		if(this.outlierDetection != null || this.circuitBreaker != null) {
+			return new OutlierDetectionTrafficLoadBalancer(instances, factory, this.outlierDetection, this.circuitBreaker);
+		}
+		return factory.create(instances);
+	}
+
+	/**
+	 * <p>
+	 * Creates the load balancer for the specified instances.
+	 * </p>
+	 *
+	 * @param instances a collection of HTTP service instances
+	 *
+	 * @return a traffic load balancer
+	 *
+	 * @throws IllegalArgumentException if instances is empty
+	 */
+	private TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> createLoadBalancer(Collection<HttpServiceInstance> instances) throws IllegalArgumentException {
 		if(instances.isEmpty()) {
 			throw new IllegalArgumentException("Empty instances");
 		}
@@ -240,12 +326,12 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		HttpTrafficPolicy that = (HttpTrafficPolicy) o;
-		return Objects.equals(configuration, that.configuration) && Objects.equals(netConfiguration, that.netConfiguration) && Objects.equals(loadBalancerFactory, that.loadBalancerFactory);
+		return Objects.equals(configuration, that.configuration) && Objects.equals(netConfiguration, that.netConfiguration) && Objects.equals(loadBalancerFactory, that.loadBalancerFactory) && Objects.equals(outlierDetection, that.outlierDetection) && Objects.equals(circuitBreaker, that.circuitBreaker) && Objects.equals(localityAwareRouting, that.localityAwareRouting);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(configuration, netConfiguration, loadBalancerFactory);
+		return Objects.hash(configuration, netConfiguration, loadBalancerFactory, outlierDetection, circuitBreaker, localityAwareRouting);
 	}
 
 	/**
@@ -262,6 +348,9 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 		private NetClientConfiguration netConfiguration;
 		private LoadBalancingStrategy loadBalancingStrategy;
 		private TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory;
+		private OutlierDetection outlierDetection;
+		private CircuitBreaker circuitBreaker;
+		private LocalityAwareRouting localityAwareRouting;
 
 		/**
 		 * <p>
@@ -285,6 +374,9 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 			this.netConfiguration = originalTrafficPolicy.netConfiguration;
 			this.loadBalancingStrategy = originalTrafficPolicy.loadBalancingStrategy;
 			this.loadBalancerFactory = originalTrafficPolicy.loadBalancerFactory;
+			this.outlierDetection = originalTrafficPolicy.outlierDetection;
+			this.circuitBreaker = originalTrafficPolicy.circuitBreaker;
+			this.localityAwareRouting = originalTrafficPolicy.localityAwareRouting;
 		}
 
 		/**
@@ -414,6 +506,155 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 			return this;
 		}
 
+		/**
+		 * <p>
+		 * Sets the {@link ConsistentHashTrafficLoadBalancer} factory.
+		 * </p>
+		 *
+		 * @return the builder
+		 *
+		 * @since 1.14
+		 */
+		public Builder consistentHashLoadBalancer() {
+			this.loadBalancingStrategy = LoadBalancingStrategy.CONSISTENT_HASH;
+			this.loadBalancerFactory = LoadBalancingStrategy.CONSISTENT_HASH.getDefaultLoadBalancerFactory();
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the {@link ConsistentHashTrafficLoadBalancer} factory.
+		 * </p>
+		 *
+		 * @param algorithm the consistent hashing algorithm
+		 * @param keySource the hash key source
+		 * @param keyName   the hash key name
+		 *
+		 * @return the builder
+		 *
+		 * @throws IllegalArgumentException if the key source is {@link ConsistentHashTrafficLoadBalancer.KeySource#PATH_PARAMETER}
+		 *
+		 * @since 1.14
+		 */
+		public Builder consistentHashLoadBalancer(ConsistentHashTrafficLoadBalancer.Algorithm algorithm, ConsistentHashTrafficLoadBalancer.KeySource keySource, String keyName) throws IllegalArgumentException {
+			this.loadBalancingStrategy = LoadBalancingStrategy.CONSISTENT_HASH;
+			this.loadBalancerFactory = new ConsistentHashTrafficLoadBalancer.Factory(algorithm, keySource, keyName);
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the {@link ConsistentHashTrafficLoadBalancer} factory.
+		 * </p>
+		 *
+		 * @param algorithm the consistent hashing algorithm
+		 * @param keySource the hash key source
+		 * @param keyName   the hash key name
+		 * @param path      the parameterized path used to extract a path parameter or null
+		 *
+		 * @return the builder
+		 *
+		 * @throws IllegalArgumentException if the path is missing or invalid when the key source is {@link ConsistentHashTrafficLoadBalancer.KeySource#PATH_PARAMETER}
+		 *
+		 * @since 1.14
+		 */
+		public Builder consistentHashLoadBalancer(ConsistentHashTrafficLoadBalancer.Algorithm algorithm, ConsistentHashTrafficLoadBalancer.KeySource keySource, String keyName, String path) throws IllegalArgumentException {
+			this.loadBalancingStrategy = LoadBalancingStrategy.CONSISTENT_HASH;
+			this.loadBalancerFactory = new ConsistentHashTrafficLoadBalancer.Factory(algorithm, keySource, keyName, path);
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the {@link PeakEwmaTrafficLoadBalancer} factory.
+		 * </p>
+		 *
+		 * @return the builder
+		 *
+		 * @since 1.14
+		 */
+		public Builder peakEwmaLoadBalancer() {
+			this.loadBalancingStrategy = LoadBalancingStrategy.PEAK_EWMA;
+			this.loadBalancerFactory = LoadBalancingStrategy.PEAK_EWMA.getDefaultLoadBalancerFactory();
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the {@link PeakEwmaTrafficLoadBalancer} factory.
+		 * </p>
+		 *
+		 * @param choiceCount the choice count
+		 * @param decayTime   the latency decay time in milliseconds
+		 *
+		 * @return the builder
+		 *
+		 * @since 1.14
+		 */
+		public Builder peakEwmaLoadBalancer(int choiceCount, long decayTime) {
+			this.loadBalancingStrategy = LoadBalancingStrategy.PEAK_EWMA;
+			this.loadBalancerFactory = new PeakEwmaTrafficLoadBalancer.Factory(choiceCount, decayTime);
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the outlier detection settings used to eject failing service instances from load balancing.
+		 * </p>
+		 *
+		 * @param outlierDetection the outlier detection settings or null to disable outlier detection
+		 *
+		 * @return the builder
+		 *
+		 * @see OutlierDetectionTrafficLoadBalancer
+		 *
+		 * @since 1.14
+		 */
+		public Builder outlierDetection(OutlierDetection outlierDetection) {
+			this.outlierDetection = outlierDetection;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the circuit breaker settings used to limit the number of pending and active requests per service instance.
+		 * </p>
+		 *
+		 * @param circuitBreaker the circuit breaker settings or null to disable circuit breaking
+		 *
+		 * @return the builder
+		 *
+		 * @see OutlierDetectionTrafficLoadBalancer
+		 *
+		 * @since 1.14
+		 */
+		public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+			this.circuitBreaker = circuitBreaker;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the locality-aware routing settings used to keep traffic within the locality of the client.
+		 * </p>
+		 *
+		 * <p>
+		 * The load balancer corresponding to the load balancing strategy is then used to load balance service instances within each locality.
+		 * </p>
+		 *
+		 * @param localityAwareRouting the locality-aware routing settings or null to disable locality-aware routing
+		 *
+		 * @return the builder
+		 *
+		 * @see LocalityAwareTrafficLoadBalancer
+		 *
+		 * @since 1.14
+		 */
+		public Builder localityAwareRouting(LocalityAwareRouting localityAwareRouting) {
+			this.localityAwareRouting = localityAwareRouting;
+			return this;
+		}
+
 		/**
 		 * <p>
 		 * Builds and returns the HTTP traffic policy.
@@ -422,7 +663,7 @@ public class HttpTrafficPolicy implements TrafficPolicy<HttpServiceInstance, Unb
 		 * @return an HTTP traffic policy
 		 */
 		public HttpTrafficPolicy build() {
-			return new HttpTrafficPolicy(this.configuration, this.netConfiguration, this.loadBalancingStrategy, this.loadBalancerFactory);
+			return new HttpTrafficPolicy(this.configuration, this.netConfiguration, this.loadBalancingStrategy, this.loadBalancerFactory, this.outlierDetection, this.circuitBreaker, this.localityAwareRouting);
 		}
 	}
 
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.Locality;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Locality-aware routing settings used to keep traffic within the locality of the client.
+ * </p>
+ *
+ * <p>
+ * Requests are routed to service instances located in the same zone as the client, then to instances located in the same region and finally to any other instance. A locality receives all the
+ * traffic as long as enough of its instances are healthy and their average load factor is below {@link #getLoadThreshold()}, otherwise traffic spills over proportionally to the next locality.
+ * </p>
+ *
+ * <p>
+ * The fraction of traffic kept in a locality is equal to the ratio of healthy instances multiplied by {@link #getOverprovisioningFactor()}, capped to 1, reduced proportionally as the average load
+ * factor of its instances grows from {@link #getLoadThreshold()} to 1.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see LocalityAwareTrafficLoadBalancer
+ */
+public final class LocalityAwareRouting {
+
+	/**
+	 * The default load factor above which traffic spills over to the next locality.
+	 */
+	public static final float DEFAULT_LOAD_THRESHOLD = 0.8f;
+
+	/**
+	 * The default overprovisioning factor applied to the ratio of healthy instances.
+	 */
+	public static final float DEFAULT_OVERPROVISIONING_FACTOR = 1.4f;
+
+	private final Locality locality;
+	private final float loadThreshold;
+	private final float overprovisioningFactor;
+
+	/**
+	 * <p>
+	 * Creates locality-aware routing settings.
+	 * </p>
+	 *
+	 * @param locality               the local locality
+	 * @param loadThreshold          the load factor above which traffic spills over
+	 * @param overprovisioningFactor the overprovisioning factor
+	 */
+	private LocalityAwareRouting(Locality locality, float loadThreshold, float overprovisioningFactor) {
+		this.locality = locality;
+		this.loadThreshold = loadThreshold;
+		this.overprovisioningFactor = overprovisioningFactor;
+	}
+
+	/**
+	 * <p>
+	 * Returns a locality-aware routing settings builder.
+	 * </p>
+	 *
+	 * @param locality the locality of the client
+	 *
+	 * @return a locality-aware routing settings builder
+	 */
+	public static LocalityAwareRouting.Builder builder(Locality locality) {
+		return new LocalityAwareRouting.Builder(locality);
+	}
+
+	/**
+	 * <p>
+	 * Returns the locality of the client.
+	 * </p>
+	 *
+	 * @return the local locality
+	 */
+	public Locality getLocality() {
+		return locality;
+	}
+
+	/**
+	 * <p>
+	 * Returns the average load factor of the instances in a locality above which traffic spills over to the next locality.
+	 * </p>
+	 *
+	 * @return the load threshold between 0 and 1
+	 */
+	public float getLoadThreshold() {
+		return loadThreshold;
+	}
+
+	/**
+	 * <p>
+	 * Returns the overprovisioning factor applied to the ratio of healthy instances in a locality.
+	 * </p>
+	 *
+	 * <p>
+	 * With the default factor of {@code 1.4}, a locality keeps all the traffic as long as more than about 72% of its instances are healthy.
+	 * </p>
+	 *
+	 * @return the overprovisioning factor
+	 */
+	public float getOverprovisioningFactor() {
+		return overprovisioningFactor;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		LocalityAwareRouting that = (LocalityAwareRouting) o;
+		return Float.compare(loadThreshold, that.loadThreshold) == 0 && Float.compare(overprovisioningFactor, that.overprovisioningFactor) == 0 && Objects.equals(locality, that.locality);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(locality, loadThreshold, overprovisioningFactor);
+	}
+
+	/**
+	 * <p>
+	 * A locality-aware routing settings builder.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Builder {
+
+		private final Locality locality;
+
+		private float loadThreshold = DEFAULT_LOAD_THRESHOLD;
+		private float overprovisioningFactor = DEFAULT_OVERPROVISIONING_FACTOR;
+
+		/**
+		 * <p>
+		 * Creates a locality-aware routing settings builder.
+		 * </p>
+		 *
+		 * @param locality the locality of the client
+		 */
+		private Builder(Locality locality) {
+			this.locality = locality;
+		}
+
+		/**
+		 * <p>
+		 * Sets the average load factor of the instances in a locality above which traffic spills over to the next locality.
+		 * </p>
+		 *
+		 * @param loadThreshold a load threshold greater than 0 and lower or equal to 1
+		 *
+		 * @return the builder
+		 */
+		public Builder loadThreshold(float loadThreshold) {
+			this.loadThreshold = loadThreshold;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the overprovisioning factor applied to the ratio of healthy instances in a locality.
+		 * </p>
+		 *
+		 * @param overprovisioningFactor an overprovisioning factor greater or equal to 1
+		 *
+		 * @return the builder
+		 */
+		public Builder overprovisioningFactor(float overprovisioningFactor) {
+			this.overprovisioningFactor = overprovisioningFactor;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Builds and returns locality-aware routing settings.
+		 * </p>
+		 *
+		 * @return locality-aware routing settings
+		 *
+		 * @throws IllegalArgumentException if settings are invalid
+		 */
+		public LocalityAwareRouting build() throws IllegalArgumentException {
+			if(this.locality == null) {
+				throw new IllegalArgumentException("Locality must not be null");
+			}
+			if(this.loadThreshold <= 0 || this.loadThreshold > 1) {
+				throw new IllegalArgumentException("Load threshold must be greater than 0 and lower or equal to 1");
+			}
+			if(this.overprovisioningFactor < 1) {
+				throw new IllegalArgumentException("Overprovisioning factor must be greater or equal to 1");
+			}
+			return new LocalityAwareRouting(this.locality, this.loadThreshold, this.overprovisioningFactor);
+		}
+	}
+}
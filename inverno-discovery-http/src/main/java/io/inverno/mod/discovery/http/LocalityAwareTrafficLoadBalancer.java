@@ -0,0 +1,262 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.Locality;
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An HTTP traffic load balancer that keeps traffic within the locality of the client.
+ * </p>
+ *
+ * <p>
+ * Service instances are grouped by {@link io.inverno.mod.discovery.Locality Locality} in three tiers: the instances located in the same zone as the client, the instances located in the same
+ * region and all other instances including those whose locality is unknown. Each tier is load balanced by an underlying load balancer created using the provided factory.
+ * </p>
+ *
+ * <p>
+ * A request is routed to the first tier unless it is spilled over to the next tier. The probability for a tier to keep a request depends on the ratio of healthy instances in the tier and on the
+ * average load factor of its instances as defined in {@link LocalityAwareRouting}. The last tier always accepts spilled requests.
+ * </p>
+ *
+ * <p>
+ * Instances health is determined by comparing the instances being load balanced with all instances of the service: this load balancer is typically created by an
+ * {@link OutlierDetectionTrafficLoadBalancer} which only provides healthy instances.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see LocalityAwareRouting
+ */
+public class LocalityAwareTrafficLoadBalancer implements TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> {
+
+	private static final int TIER_COUNT = 3;
+
+	private final LocalityAwareRouting localityAwareRouting;
+	private final Tier[] tiers;
+
+	/**
+	 * <p>
+	 * Creates a locality-aware traffic load balancer.
+	 * </p>
+	 *
+	 * @param instances            a collection of HTTP service instances
+	 * @param loadBalancerFactory  the factory used to create the load balancer of each tier
+	 * @param localityAwareRouting the locality-aware routing settings
+	 *
+	 * @throws IllegalArgumentException if instances is empty
+	 */
+	public LocalityAwareTrafficLoadBalancer(Collection<HttpServiceInstance> instances, TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory, LocalityAwareRouting localityAwareRouting) throws IllegalArgumentException {
+		this(instances, instances, loadBalancerFactory, localityAwareRouting);
+	}
+
+	/**
+	 * <p>
+	 * Creates a locality-aware traffic load balancer.
+	 * </p>
+	 *
+	 * @param healthyInstances     a collection of healthy HTTP service instances to load balance
+	 * @param allInstances         all the HTTP service instances of the service used to determine the ratio of healthy instances in each tier
+	 * @param loadBalancerFactory  the factory used to create the load balancer of each tier
+	 * @param localityAwareRouting the locality-aware routing settings
+	 *
+	 * @throws IllegalArgumentException if instances is empty
+	 */
+	public LocalityAwareTrafficLoadBalancer(Collection<HttpServiceInstance> healthyInstances, Collection<HttpServiceInstance> allInstances, TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory, LocalityAwareRouting localityAwareRouting) throws IllegalArgumentException {
+		if(healthyInstances.isEmpty()) {
+			throw new IllegalArgumentException("Empty instances");
+		}
+		this.localityAwareRouting = localityAwareRouting;
+
+		int[] totalCounts = new int[TIER_COUNT];
+		for(HttpServiceInstance instance : allInstances) {
+			totalCounts[this.getTier(instance.getLocality())]++;
+		}
+		List<List<HttpServiceInstance>> tierInstances = new ArrayList<>(TIER_COUNT);
+		for(int i=0;i<TIER_COUNT;i++) {
+			tierInstances.add(new ArrayList<>());
+		}
+		for(HttpServiceInstance instance : healthyInstances) {
+			tierInstances.get(this.getTier(instance.getLocality())).add(instance);
+		}
+
+		List<Tier> tiers = new ArrayList<>(TIER_COUNT);
+		for(int i=0;i<TIER_COUNT;i++) {
+			List<HttpServiceInstance> instances = tierInstances.get(i);
+			if(!instances.isEmpty()) {
+				float healthyRatio = (float)instances.size() / Math.max(totalCounts[i], instances.size());
+				tiers.add(new Tier(instances, loadBalancerFactory.create(instances), Math.min(1f, healthyRatio * localityAwareRouting.getOverprovisioningFactor())));
+			}
+		}
+		this.tiers = tiers.toArray(Tier[]::new);
+	}
+
+	/**
+	 * <p>
+	 * Returns the locality-aware routing settings.
+	 * </p>
+	 *
+	 * @return the locality-aware routing settings
+	 */
+	public LocalityAwareRouting getLocalityAwareRouting() {
+		return localityAwareRouting;
+	}
+
+	/**
+	 * <p>
+	 * Returns the tier of an instance located in the specified locality.
+	 * </p>
+	 *
+	 * @param locality the locality of an instance
+	 *
+	 * @return 0 for the local zone, 1 for the local region, 2 otherwise
+	 */
+	private int getTier(Locality locality) {
+		Locality localLocality = this.localityAwareRouting.getLocality();
+		if(localLocality.isSameZone(locality)) {
+			return 0;
+		}
+		else if(localLocality.isSameRegion(locality)) {
+			return 1;
+		}
+		return 2;
+	}
+
+	@Override
+	public Mono<HttpServiceInstance> next(UnboundExchange<?> serviceRequest) {
+		return Mono.defer(() -> {
+			int last = this.tiers.length - 1;
+			for(int i=0;i<last;i++) {
+				Tier tier = this.tiers[i];
+				float keepRatio = tier.getKeepRatio(this.localityAwareRouting.getLoadThreshold());
+				if(keepRatio >= 1f || ThreadLocalRandom.current().nextFloat() < keepRatio) {
+					return tier.loadBalancer.next(serviceRequest);
+				}
+			}
+			return this.tiers[last].loadBalancer.next(serviceRequest);
+		});
+	}
+
+	/**
+	 * <p>
+	 * A tier of service instances sharing the same proximity to the client.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class Tier {
+
+		private final HttpServiceInstance[] instances;
+		private final TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer;
+		private final float healthRatio;
+
+		/**
+		 * <p>
+		 * Creates a tier.
+		 * </p>
+		 *
+		 * @param instances    the healthy instances in the tier
+		 * @param loadBalancer the tier load balancer
+		 * @param healthRatio  the overprovisioned ratio of healthy instances in the tier
+		 */
+		public Tier(List<HttpServiceInstance> instances, TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer, float healthRatio) {
+			this.instances = instances.toArray(HttpServiceInstance[]::new);
+			this.loadBalancer = loadBalancer;
+			this.healthRatio = healthRatio;
+		}
+
+		/**
+		 * <p>
+		 * Returns the fraction of traffic the tier should keep.
+		 * </p>
+		 *
+		 * <p>
+		 * The health ratio is reduced proportionally as the average load factor of the instances in the tier grows above the load threshold.
+		 * </p>
+		 *
+		 * @param loadThreshold the load threshold
+		 *
+		 * @return a ratio between 0 and 1
+		 */
+		private float getKeepRatio(float loadThreshold) {
+			float load = 0;
+			for(HttpServiceInstance instance : this.instances) {
+				load += instance.getLoadFactor();
+			}
+			load /= this.instances.length;
+			if(load <= loadThreshold) {
+				return this.healthRatio;
+			}
+			float spill = loadThreshold < 1f ? Math.min(1f, (load - loadThreshold) / (1f - loadThreshold)) : 1f;
+			return this.healthRatio * (1f - spill);
+		}
+	}
+
+	/**
+	 * <p>
+	 * A locality-aware traffic load balancer factory wrapping a load balancer factory used to create the load balancer of each tier.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Factory implements TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> {
+
+		private final TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory;
+		private final LocalityAwareRouting localityAwareRouting;
+
+		/**
+		 * <p>
+		 * Creates a locality-aware traffic load balancer factory.
+		 * </p>
+		 *
+		 * @param loadBalancerFactory  the factory used to create the load balancer of each tier
+		 * @param localityAwareRouting the locality-aware routing settings
+		 */
+		public Factory(TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory, LocalityAwareRouting localityAwareRouting) {
+			this.loadBalancerFactory = loadBalancerFactory;
+			this.localityAwareRouting = localityAwareRouting;
+		}
+
+		@Override
+		public TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> create(Collection<HttpServiceInstance> instances) {
+			return new LocalityAwareTrafficLoadBalancer(instances, this.loadBalancerFactory, this.localityAwareRouting);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Factory factory = (Factory) o;
+			return Objects.equals(loadBalancerFactory, factory.loadBalancerFactory) && Objects.equals(localityAwareRouting, factory.localityAwareRouting);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(loadBalancerFactory, localityAwareRouting);
+		}
+	}
+}
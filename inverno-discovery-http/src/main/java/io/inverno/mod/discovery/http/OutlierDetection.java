@@ -0,0 +1,432 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Outlier detection settings used to passively detect and eject failing service instances.
+ * </p>
+ *
+ * <p>
+ * A service instance is ejected from load balancing when it returns {@link #getConsecutive5xx()} consecutive server errors (i.e. {@code 5xx}), when {@link #getConsecutiveConnectErrors()}
+ * consecutive requests fail before a response could be received (e.g. connection refused, connection reset...) or when its success rate over the last {@link #getInterval()} deviates from the
+ * mean success rate of all instances by more than {@link #getSuccessRateStdevFactor()} standard deviations.
+ * </p>
+ *
+ * <p>
+ * An ejected instance is restored after an ejection time which is equal to {@link #getBaseEjectionTime()} multiplied by 2 to the power of the number of times the instance was ejected in a row and
+ * capped to {@link #getMaxEjectionTime()}.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see OutlierDetectionTrafficLoadBalancer
+ */
+public final class OutlierDetection {
+
+	/**
+	 * The default number of consecutive server errors after which an instance is ejected.
+	 */
+	public static final int DEFAULT_CONSECUTIVE_5XX = 5;
+
+	/**
+	 * The default number of consecutive connect errors after which an instance is ejected.
+	 */
+	public static final int DEFAULT_CONSECUTIVE_CONNECT_ERRORS = 5;
+
+	/**
+	 * The default success rate analysis interval in milliseconds.
+	 */
+	public static final long DEFAULT_INTERVAL = 10000;
+
+	/**
+	 * The default base ejection time in milliseconds.
+	 */
+	public static final long DEFAULT_BASE_EJECTION_TIME = 30000;
+
+	/**
+	 * The default maximum ejection time in milliseconds.
+	 */
+	public static final long DEFAULT_MAX_EJECTION_TIME = 300000;
+
+	/**
+	 * The default maximum percentage of instances that can be ejected.
+	 */
+	public static final int DEFAULT_MAX_EJECTION_PERCENT = 10;
+
+	/**
+	 * The default minimum number of instances with enough requests to perform success rate analysis.
+	 */
+	public static final int DEFAULT_SUCCESS_RATE_MINIMUM_HOSTS = 5;
+
+	/**
+	 * The default minimum number of requests over an interval to include an instance in success rate analysis.
+	 */
+	public static final int DEFAULT_SUCCESS_RATE_REQUEST_VOLUME = 100;
+
+	/**
+	 * The default standard deviation factor used to determine success rate outliers.
+	 */
+	public static final double DEFAULT_SUCCESS_RATE_STDEV_FACTOR = 1.9;
+
+	private final int consecutive5xx;
+	private final int consecutiveConnectErrors;
+	private final long interval;
+	private final long baseEjectionTime;
+	private final long maxEjectionTime;
+	private final int maxEjectionPercent;
+	private final int successRateMinimumHosts;
+	private final int successRateRequestVolume;
+	private final double successRateStdevFactor;
+
+	/**
+	 * <p>
+	 * Creates outlier detection settings.
+	 * </p>
+	 *
+	 * @param consecutive5xx           the number of consecutive server errors after which an instance is ejected
+	 * @param consecutiveConnectErrors the number of consecutive connect errors after which an instance is ejected
+	 * @param interval                 the success rate analysis interval in milliseconds
+	 * @param baseEjectionTime         the base ejection time in milliseconds
+	 * @param maxEjectionTime          the maximum ejection time in milliseconds
+	 * @param maxEjectionPercent       the maximum percentage of instances that can be ejected
+	 * @param successRateMinimumHosts  the minimum number of instances to perform success rate analysis
+	 * @param successRateRequestVolume the minimum number of requests to include an instance in success rate analysis
+	 * @param successRateStdevFactor   the standard deviation factor
+	 */
+	private OutlierDetection(int consecutive5xx, int consecutiveConnectErrors, long interval, long baseEjectionTime, long maxEjectionTime, int maxEjectionPercent, int successRateMinimumHosts, int successRateRequestVolume, double successRateStdevFactor) {
+		this.consecutive5xx = consecutive5xx;
+		this.consecutiveConnectErrors = consecutiveConnectErrors;
+		this.interval = interval;
+		this.baseEjectionTime = baseEjectionTime;
+		this.maxEjectionTime = maxEjectionTime;
+		this.maxEjectionPercent = maxEjectionPercent;
+		this.successRateMinimumHosts = successRateMinimumHosts;
+		this.successRateRequestVolume = successRateRequestVolume;
+		this.successRateStdevFactor = successRateStdevFactor;
+	}
+
+	/**
+	 * <p>
+	 * Returns an outlier detection settings builder.
+	 * </p>
+	 *
+	 * @return an outlier detection settings builder
+	 */
+	public static OutlierDetection.Builder builder() {
+		return new OutlierDetection.Builder();
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of consecutive server errors after which an instance is ejected.
+	 * </p>
+	 *
+	 * @return the number of consecutive server errors or 0 to disable consecutive server errors detection
+	 */
+	public int getConsecutive5xx() {
+		return consecutive5xx;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of consecutive connect errors after which an instance is ejected.
+	 * </p>
+	 *
+	 * @return the number of consecutive connect errors or 0 to disable consecutive connect errors detection
+	 */
+	public int getConsecutiveConnectErrors() {
+		return consecutiveConnectErrors;
+	}
+
+	/**
+	 * <p>
+	 * Returns the success rate analysis interval.
+	 * </p>
+	 *
+	 * @return the interval in milliseconds
+	 */
+	public long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * <p>
+	 * Returns the base ejection time.
+	 * </p>
+	 *
+	 * @return the base ejection time in milliseconds
+	 */
+	public long getBaseEjectionTime() {
+		return baseEjectionTime;
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum ejection time.
+	 * </p>
+	 *
+	 * @return the maximum ejection time in milliseconds
+	 */
+	public long getMaxEjectionTime() {
+		return maxEjectionTime;
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum percentage of instances that can be ejected.
+	 * </p>
+	 *
+	 * <p>
+	 * At least one instance can always be ejected.
+	 * </p>
+	 *
+	 * @return the maximum ejection percentage
+	 */
+	public int getMaxEjectionPercent() {
+		return maxEjectionPercent;
+	}
+
+	/**
+	 * <p>
+	 * Returns the minimum number of instances with enough requests over an interval to perform success rate analysis.
+	 * </p>
+	 *
+	 * @return the minimum number of instances
+	 */
+	public int getSuccessRateMinimumHosts() {
+		return successRateMinimumHosts;
+	}
+
+	/**
+	 * <p>
+	 * Returns the minimum number of requests over an interval to include an instance in success rate analysis.
+	 * </p>
+	 *
+	 * @return the minimum number of requests or 0 to disable success rate analysis
+	 */
+	public int getSuccessRateRequestVolume() {
+		return successRateRequestVolume;
+	}
+
+	/**
+	 * <p>
+	 * Returns the standard deviation factor used to determine success rate outliers.
+	 * </p>
+	 *
+	 * <p>
+	 * An instance whose success rate is lower than {@code mean - (stdev * successRateStdevFactor)} is ejected.
+	 * </p>
+	 *
+	 * @return the standard deviation factor
+	 */
+	public double getSuccessRateStdevFactor() {
+		return successRateStdevFactor;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		OutlierDetection that = (OutlierDetection) o;
+		return consecutive5xx == that.consecutive5xx && consecutiveConnectErrors == that.consecutiveConnectErrors && interval == that.interval && baseEjectionTime == that.baseEjectionTime && maxEjectionTime == that.maxEjectionTime && maxEjectionPercent == that.maxEjectionPercent && successRateMinimumHosts == that.successRateMinimumHosts && successRateRequestVolume == that.successRateRequestVolume && Double.compare(successRateStdevFactor, that.successRateStdevFactor) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(consecutive5xx, consecutiveConnectErrors, interval, baseEjectionTime, maxEjectionTime, maxEjectionPercent, successRateMinimumHosts, successRateRequestVolume, successRateStdevFactor);
+	}
+
+	/**
+	 * <p>
+	 * An outlier detection settings builder.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Builder {
+
+		private int consecutive5xx = DEFAULT_CONSECUTIVE_5XX;
+		private int consecutiveConnectErrors = DEFAULT_CONSECUTIVE_CONNECT_ERRORS;
+		private long interval = DEFAULT_INTERVAL;
+		private long baseEjectionTime = DEFAULT_BASE_EJECTION_TIME;
+		private long maxEjectionTime = DEFAULT_MAX_EJECTION_TIME;
+		private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+		private int successRateMinimumHosts = DEFAULT_SUCCESS_RATE_MINIMUM_HOSTS;
+		private int successRateRequestVolume = DEFAULT_SUCCESS_RATE_REQUEST_VOLUME;
+		private double successRateStdevFactor = DEFAULT_SUCCESS_RATE_STDEV_FACTOR;
+
+		/**
+		 * <p>
+		 * Creates an outlier detection settings builder.
+		 * </p>
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * <p>
+		 * Sets the number of consecutive server errors after which an instance is ejected.
+		 * </p>
+		 *
+		 * @param consecutive5xx the number of consecutive server errors or 0 to disable
+		 *
+		 * @return the builder
+		 */
+		public Builder consecutive5xx(int consecutive5xx) {
+			this.consecutive5xx = consecutive5xx;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the number of consecutive connect errors after which an instance is ejected.
+		 * </p>
+		 *
+		 * @param consecutiveConnectErrors the number of consecutive connect errors or 0 to disable
+		 *
+		 * @return the builder
+		 */
+		public Builder consecutiveConnectErrors(int consecutiveConnectErrors) {
+			this.consecutiveConnectErrors = consecutiveConnectErrors;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the success rate analysis interval.
+		 * </p>
+		 *
+		 * @param interval the interval in milliseconds
+		 *
+		 * @return the builder
+		 */
+		public Builder interval(long interval) {
+			this.interval = interval;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the base ejection time.
+		 * </p>
+		 *
+		 * @param baseEjectionTime the base ejection time in milliseconds
+		 *
+		 * @return the builder
+		 */
+		public Builder baseEjectionTime(long baseEjectionTime) {
+			this.baseEjectionTime = baseEjectionTime;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum ejection time.
+		 * </p>
+		 *
+		 * @param maxEjectionTime the maximum ejection time in milliseconds
+		 *
+		 * @return the builder
+		 */
+		public Builder maxEjectionTime(long maxEjectionTime) {
+			this.maxEjectionTime = maxEjectionTime;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the maximum percentage of instances that can be ejected.
+		 * </p>
+		 *
+		 * @param maxEjectionPercent the maximum ejection percentage
+		 *
+		 * @return the builder
+		 */
+		public Builder maxEjectionPercent(int maxEjectionPercent) {
+			this.maxEjectionPercent = maxEjectionPercent;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the minimum number of instances with enough requests over an interval to perform success rate analysis.
+		 * </p>
+		 *
+		 * @param successRateMinimumHosts the minimum number of instances
+		 *
+		 * @return the builder
+		 */
+		public Builder successRateMinimumHosts(int successRateMinimumHosts) {
+			this.successRateMinimumHosts = successRateMinimumHosts;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the minimum number of requests over an interval to include an instance in success rate analysis.
+		 * </p>
+		 *
+		 * @param successRateRequestVolume the minimum number of requests or 0 to disable success rate analysis
+		 *
+		 * @return the builder
+		 */
+		public Builder successRateRequestVolume(int successRateRequestVolume) {
+			this.successRateRequestVolume = successRateRequestVolume;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Sets the standard deviation factor used to determine success rate outliers.
+		 * </p>
+		 *
+		 * @param successRateStdevFactor the standard deviation factor
+		 *
+		 * @return the builder
+		 */
+		public Builder successRateStdevFactor(double successRateStdevFactor) {
+			this.successRateStdevFactor = successRateStdevFactor;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Builds and returns outlier detection settings.
+		 * </p>
+		 *
+		 * @return outlier detection settings
+		 *
+		 * @throws IllegalArgumentException if settings are invalid
+		 */
+		public OutlierDetection build() throws IllegalArgumentException {
+			if(this.interval <= 0) {
+				throw new IllegalArgumentException("Interval must be strictly positive");
+			}
+			if(this.baseEjectionTime <= 0 || this.maxEjectionTime < this.baseEjectionTime) {
+				throw new IllegalArgumentException("Ejection time must be strictly positive and lower than max ejection time");
+			}
+			if(this.maxEjectionPercent < 0 || this.maxEjectionPercent > 100) {
+				throw new IllegalArgumentException("Max ejection percent must be between 0 and 100");
+			}
+			return new OutlierDetection(this.consecutive5xx, this.consecutiveConnectErrors, this.interval, this.baseEjectionTime, this.maxEjectionTime, this.maxEjectionPercent, this.successRateMinimumHosts, this.successRateRequestVolume, this.successRateStdevFactor);
+		}
+	}
+}
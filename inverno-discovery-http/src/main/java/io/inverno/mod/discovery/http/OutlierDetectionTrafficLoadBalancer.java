@@ -0,0 +1,502 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.Locality;
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.base.ServiceUnavailableException;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.Request;
+import io.inverno.mod.http.client.Response;
+import io.inverno.mod.http.client.UnboundExchange;
+import io.inverno.mod.http.client.ws.WebSocketExchange;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An HTTP traffic load balancer that passively detects failing service instances and excludes them from the service instances load balanced by an underlying load balancer.
+ * </p>
+ *
+ * <p>
+ * Service instances are wrapped in order to observe the outcome of the requests they process: the response status when a response is received or the error when the exchange fails before that
+ * (e.g. connection refused, connection reset...). Based on these observations and the {@link OutlierDetection} settings, instances are ejected and the underlying load balancer, which is
+ * created using the provided factory, is recreated with the remaining healthy instances. Ejected instances are restored after an ejection time which increases exponentially each time an instance is
+ * ejected again. If all instances are ejected, the load balancer falls back to load balancing among all instances.
+ * </p>
+ *
+ * <p>
+ * When {@link CircuitBreaker} settings are specified, the load balancer fails with a {@link ServiceUnavailableException} when the selected instance has reached the maximum number of pending or
+ * active requests.
+ * </p>
+ *
+ * <p>
+ * Since the underlying load balancer is recreated when the set of ejected instances changes, any state it maintains (e.g. round-robin position, latency measurements...) is reset at that time.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see OutlierDetection
+ * @see CircuitBreaker
+ */
+public class OutlierDetectionTrafficLoadBalancer implements TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> {
+
+	private final TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory;
+	private final OutlierDetection outlierDetection;
+	private final CircuitBreaker circuitBreaker;
+	private final TrackedInstance[] instances;
+	private final long intervalNanos;
+
+	private volatile TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer;
+	private volatile long nextAnalysisTime;
+	private volatile long nextUnejectionTime;
+	private volatile boolean hasEjected;
+	private int ejectedCount;
+
+	/**
+	 * <p>
+	 * Creates an outlier detection traffic load balancer.
+	 * </p>
+	 *
+	 * @param instances           a collection of HTTP service instances
+	 * @param loadBalancerFactory the factory used to create the underlying load balancer from healthy instances
+	 * @param outlierDetection    the outlier detection settings or null to disable outlier detection
+	 * @param circuitBreaker      the circuit breaker settings or null to disable circuit breaking
+	 *
+	 * @throws IllegalArgumentException if instances is empty
+	 */
+	public OutlierDetectionTrafficLoadBalancer(Collection<HttpServiceInstance> instances, TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> loadBalancerFactory, OutlierDetection outlierDetection, CircuitBreaker circuitBreaker) throws IllegalArgumentException {
+		if(instances.isEmpty()) {
+			throw new IllegalArgumentException("Empty instances");
+		}
+		this.loadBalancerFactory = loadBalancerFactory;
+		this.outlierDetection = outlierDetection;
+		this.circuitBreaker = circuitBreaker;
+		this.instances = instances.stream().map(TrackedInstance::new).toArray(TrackedInstance[]::new);
+		this.intervalNanos = outlierDetection != null ? TimeUnit.MILLISECONDS.toNanos(outlierDetection.getInterval()) : 0;
+		this.nextAnalysisTime = System.nanoTime() + this.intervalNanos;
+		this.loadBalancer = this.loadBalancerFactory.create(Arrays.<HttpServiceInstance>asList(this.instances));
+	}
+
+	/**
+	 * <p>
+	 * Returns the outlier detection settings.
+	 * </p>
+	 *
+	 * @return the outlier detection settings or null
+	 */
+	public OutlierDetection getOutlierDetection() {
+		return outlierDetection;
+	}
+
+	/**
+	 * <p>
+	 * Returns the circuit breaker settings.
+	 * </p>
+	 *
+	 * @return the circuit breaker settings or null
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	@Override
+	public Mono<HttpServiceInstance> next(UnboundExchange<?> serviceRequest) {
+		return Mono.defer(() -> {
+			if(this.outlierDetection != null) {
+				long now = System.nanoTime();
+				if(this.hasEjected && now - this.nextUnejectionTime >= 0) {
+					this.unejectExpired(now);
+				}
+				if(now - this.nextAnalysisTime >= 0) {
+					this.analyzeSuccessRate(now);
+				}
+			}
+			Mono<HttpServiceInstance> instance = this.loadBalancer.next(serviceRequest);
+			if(this.circuitBreaker != null) {
+				return instance.flatMap(selected -> {
+					if(((TrackedInstance)selected).isOverloaded()) {
+						return Mono.error(new ServiceUnavailableException("Circuit breaker open: service instance has too many pending or active requests"));
+					}
+					return Mono.just(selected);
+				});
+			}
+			return instance;
+		});
+	}
+
+	/**
+	 * <p>
+	 * Ejects the specified instance.
+	 * </p>
+	 *
+	 * <p>
+	 * An instance is not ejected when the percentage of ejected instances has already reached the {@link OutlierDetection#getMaxEjectionPercent()}.
+	 * </p>
+	 *
+	 * @param instance the instance to eject
+	 * @param now      the current time in nanoseconds
+	 */
+	private synchronized void eject(TrackedInstance instance, long now) {
+		if(instance.ejected || this.ejectedCount * 100 >= this.instances.length * this.outlierDetection.getMaxEjectionPercent() && this.ejectedCount > 0) {
+			return;
+		}
+		instance.ejectionCount++;
+		long ejectionTime = Math.min(this.outlierDetection.getBaseEjectionTime() << Math.min(instance.ejectionCount - 1, 30), this.outlierDetection.getMaxEjectionTime());
+		instance.ejected = true;
+		instance.unejectionTime = now + TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+		if(this.ejectedCount == 0 || instance.unejectionTime - this.nextUnejectionTime < 0) {
+			this.nextUnejectionTime = instance.unejectionTime;
+		}
+		this.ejectedCount++;
+		this.hasEjected = true;
+		this.refreshLoadBalancer();
+	}
+
+	/**
+	 * <p>
+	 * Restores ejected instances whose ejection time has expired.
+	 * </p>
+	 *
+	 * @param now the current time in nanoseconds
+	 */
+	private synchronized void unejectExpired(long now) {
+		if(!this.hasEjected || now - this.nextUnejectionTime < 0) {
+			return;
+		}
+		Long nextTime = null;
+		for(TrackedInstance instance : this.instances) {
+			if(instance.ejected) {
+				if(now - instance.unejectionTime >= 0) {
+					instance.ejected = false;
+					instance.reset();
+					this.ejectedCount--;
+				}
+				else if(nextTime == null || instance.unejectionTime - nextTime < 0) {
+					nextTime = instance.unejectionTime;
+				}
+			}
+		}
+		this.hasEjected = this.ejectedCount > 0;
+		if(nextTime != null) {
+			this.nextUnejectionTime = nextTime;
+		}
+		this.refreshLoadBalancer();
+	}
+
+	/**
+	 * <p>
+	 * Analyzes the success rate of instances over the last interval and ejects outliers.
+	 * </p>
+	 *
+	 * <p>
+	 * This also decrements the ejection count of healthy instances so that an instance that has been healthy for long enough is eventually ejected for the base ejection time again.
+	 * </p>
+	 *
+	 * @param now the current time in nanoseconds
+	 */
+	private synchronized void analyzeSuccessRate(long now) {
+		if(now - this.nextAnalysisTime < 0) {
+			return;
+		}
+		this.nextAnalysisTime = now + this.intervalNanos;
+
+		int requestVolume = this.outlierDetection.getSuccessRateRequestVolume();
+		List<TrackedInstance> analyzed = new ArrayList<>(this.instances.length);
+		double[] successRates = new double[this.instances.length];
+		double successRateSum = 0;
+		for(TrackedInstance instance : this.instances) {
+			long successes = instance.intervalSuccesses.sumThenReset();
+			long failures = instance.intervalFailures.sumThenReset();
+			if(!instance.ejected) {
+				if(instance.ejectionCount > 0) {
+					instance.ejectionCount--;
+				}
+				long volume = successes + failures;
+				if(requestVolume > 0 && volume >= requestVolume) {
+					double successRate = (double)successes / volume;
+					successRates[analyzed.size()] = successRate;
+					successRateSum += successRate;
+					analyzed.add(instance);
+				}
+			}
+		}
+
+		if(analyzed.isEmpty() || analyzed.size() < this.outlierDetection.getSuccessRateMinimumHosts()) {
+			return;
+		}
+		double mean = successRateSum / analyzed.size();
+		double variance = 0;
+		for(int i=0;i<analyzed.size();i++) {
+			variance += (successRates[i] - mean) * (successRates[i] - mean);
+		}
+		double threshold = mean - this.outlierDetection.getSuccessRateStdevFactor() * Math.sqrt(variance / analyzed.size());
+		for(int i=0;i<analyzed.size();i++) {
+			if(successRates[i] < threshold) {
+				this.eject(analyzed.get(i), now);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Recreates the underlying load balancer from healthy instances.
+	 * </p>
+	 *
+	 * <p>
+	 * All instances are load balanced when no healthy instance remains.
+	 * </p>
+	 */
+	private void refreshLoadBalancer() {
+		List<HttpServiceInstance> healthyInstances = new ArrayList<>(this.instances.length);
+		for(TrackedInstance instance : this.instances) {
+			if(!instance.ejected) {
+				healthyInstances.add(instance);
+			}
+		}
+		this.loadBalancer = this.loadBalancerFactory.create(healthyInstances.isEmpty() ? Arrays.<HttpServiceInstance>asList(this.instances) : healthyInstances);
+	}
+
+	/**
+	 * <p>
+	 * A service instance wrapper that tracks the outcome of the exchanges it processes.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class TrackedInstance implements HttpServiceInstance {
+
+		private final HttpServiceInstance instance;
+
+		private final AtomicInteger pendingRequests;
+		private final AtomicInteger consecutive5xx;
+		private final AtomicInteger consecutiveConnectErrors;
+		private final LongAdder intervalSuccesses;
+		private final LongAdder intervalFailures;
+
+		/* guarded by the load balancer */
+		private boolean ejected;
+		private int ejectionCount;
+		private long unejectionTime;
+
+		/**
+		 * <p>
+		 * Creates a tracked instance.
+		 * </p>
+		 *
+		 * @param instance the HTTP service instance
+		 */
+		public TrackedInstance(HttpServiceInstance instance) {
+			this.instance = instance;
+			this.pendingRequests = new AtomicInteger();
+			this.consecutive5xx = new AtomicInteger();
+			this.consecutiveConnectErrors = new AtomicInteger();
+			this.intervalSuccesses = new LongAdder();
+			this.intervalFailures = new LongAdder();
+		}
+
+		/**
+		 * <p>
+		 * Resets consecutive error counters.
+		 * </p>
+		 */
+		private void reset() {
+			this.consecutive5xx.set(0);
+			this.consecutiveConnectErrors.set(0);
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the instance has reached the circuit breaker limits.
+		 * </p>
+		 *
+		 * @return true if the instance is overloaded, false otherwise
+		 */
+		private boolean isOverloaded() {
+			return this.pendingRequests.get() >= OutlierDetectionTrafficLoadBalancer.this.circuitBreaker.getMaxPendingRequests() ||
+				this.instance.getActiveRequests() >= OutlierDetectionTrafficLoadBalancer.this.circuitBreaker.getMaxRequests();
+		}
+
+		/**
+		 * <p>
+		 * Records a response received from the instance.
+		 * </p>
+		 *
+		 * @param status the response status code
+		 */
+		private void onResponse(int status) {
+			OutlierDetection outlierDetection = OutlierDetectionTrafficLoadBalancer.this.outlierDetection;
+			if(outlierDetection == null) {
+				return;
+			}
+			this.consecutiveConnectErrors.set(0);
+			if(status >= 500) {
+				this.intervalFailures.increment();
+				if(outlierDetection.getConsecutive5xx() > 0 && this.consecutive5xx.incrementAndGet() >= outlierDetection.getConsecutive5xx()) {
+					OutlierDetectionTrafficLoadBalancer.this.eject(this, System.nanoTime());
+				}
+			}
+			else {
+				this.intervalSuccesses.increment();
+				this.consecutive5xx.set(0);
+			}
+		}
+
+		/**
+		 * <p>
+		 * Records an exchange that failed before a response could be received from the instance.
+		 * </p>
+		 *
+		 * @param error the error
+		 */
+		private void onError(Throwable error) {
+			OutlierDetection outlierDetection = OutlierDetectionTrafficLoadBalancer.this.outlierDetection;
+			if(outlierDetection == null) {
+				return;
+			}
+			this.intervalFailures.increment();
+			if(outlierDetection.getConsecutiveConnectErrors() > 0 && this.consecutiveConnectErrors.incrementAndGet() >= outlierDetection.getConsecutiveConnectErrors()) {
+				OutlierDetectionTrafficLoadBalancer.this.eject(this, System.nanoTime());
+			}
+		}
+
+		@Override
+		public <T extends ExchangeContext> Exchange<T> bind(UnboundExchange<T> exchange) throws IllegalStateException {
+			return new TrackedExchange<>(this, this.instance.bind(exchange));
+		}
+
+		@Override
+		public long getActiveRequests() {
+			return this.instance.getActiveRequests();
+		}
+
+		@Override
+		public float getLoadFactor() {
+			return this.instance.getLoadFactor();
+		}
+
+		@Override
+		public int getWeight() {
+			return this.instance.getWeight();
+		}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return this.instance.getRemoteAddress();
+		}
+
+		@Override
+		public Locality getLocality() {
+			return this.instance.getLocality();
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return this.instance.shutdown();
+		}
+
+		@Override
+		public Mono<Void> shutdownGracefully() {
+			return this.instance.shutdownGracefully();
+		}
+	}
+
+	/**
+	 * <p>
+	 * An exchange wrapper that reports the outcome of the exchange to the tracked instance.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <A> the exchange context type
+	 */
+	private static class TrackedExchange<A extends ExchangeContext> implements Exchange<A> {
+
+		private final TrackedInstance instance;
+		private final Exchange<A> exchange;
+
+		/**
+		 * <p>
+		 * Creates a tracked exchange.
+		 * </p>
+		 *
+		 * @param instance the tracked instance
+		 * @param exchange the bound exchange
+		 */
+		public TrackedExchange(TrackedInstance instance, Exchange<A> exchange) {
+			this.instance = instance;
+			this.exchange = exchange;
+		}
+
+		@Override
+		public HttpVersion getProtocol() {
+			return this.exchange.getProtocol();
+		}
+
+		@Override
+		public A context() {
+			return this.exchange.context();
+		}
+
+		@Override
+		public Request request() {
+			return this.exchange.request();
+		}
+
+		@Override
+		public Mono<? extends Response> response() {
+			return Mono.defer(() -> {
+				this.instance.pendingRequests.incrementAndGet();
+				return this.exchange.response()
+					.doOnSuccess(response -> {
+						if(response != null) {
+							this.instance.onResponse(response.headers().getStatusCode());
+						}
+					})
+					.doOnError(this.instance::onError)
+					.doFinally(ign -> this.instance.pendingRequests.decrementAndGet());
+			});
+		}
+
+		@Override
+		public Mono<? extends WebSocketExchange<A>> webSocket(String subProtocol) throws IllegalStateException {
+			return this.exchange.webSocket(subProtocol);
+		}
+
+		@Override
+		public void reset(long code) {
+			this.exchange.reset(code);
+		}
+
+		@Override
+		public Optional<Throwable> getCancelCause() {
+			return this.exchange.getCancelCause();
+		}
+	}
+}
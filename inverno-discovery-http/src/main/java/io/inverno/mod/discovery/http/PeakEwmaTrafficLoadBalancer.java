@@ -0,0 +1,375 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An HTTP traffic load balancer that selects the service instance with the lowest peak exponentially weighted moving average (EWMA) of latency from a random subset of instances.
+ * </p>
+ *
+ * <p>
+ * The load balancer measures the round-trip time of each request, from the time the request is sent to the time the response is received, and maintains for each instance a moving average
+ * which is decayed over {@link #getDecayTime()}. The average is peak-sensitive: a latency above the current average immediately replaces it, whereas a lower latency only reduces it progressively.
+ * This allows to quickly react to a slow instance.
+ * </p>
+ *
+ * <p>
+ * In order to select a service instance, the load balancer first selects {@link #getChoiceCount()} instances and calculates a cost for each of them based on the following formula:
+ * </p>
+ *
+ * <pre>{@code
+ * cost = instance_latency_ewma * (instance_active_requests + 1) / instance_weight
+ * }</pre>
+ *
+ * <p>
+ * The instance with the lowest cost is eventually selected. An instance for which no latency has been measured yet is considered to have no cost unless it has active requests in which case it is
+ * heavily penalized in order to avoid sending a burst of requests to a new instance.
+ * </p>
+ *
+ * <p>
+ * Load balancers created by a {@link Factory} share the latency statistics of the service instances with the factory so that they are preserved when the load balancer is recreated, for instance
+ * when the service is refreshed or when outlier instances are ejected. Active requests are obtained from the service instances and are therefore preserved as well.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public class PeakEwmaTrafficLoadBalancer implements TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> {
+
+	/**
+	 * The default choice count.
+	 */
+	public static final int DEFAULT_CHOICE_COUNT = 2;
+
+	/**
+	 * The default decay time in milliseconds.
+	 */
+	public static final long DEFAULT_DECAY_TIME = 10000;
+
+	/**
+	 * The cost of an instance with active requests and no latency measurement.
+	 */
+	private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+	private final HttpServiceInstance[] instances;
+	private final InstanceStats[] stats;
+	private final int choiceCount;
+	private final long decayTime;
+
+	/**
+	 * <p>
+	 * Creates a peak EWMA traffic load balancer.
+	 * </p>
+	 *
+	 * @param instances a collection of HTTP service instances
+	 */
+	public PeakEwmaTrafficLoadBalancer(Collection<HttpServiceInstance> instances) {
+		this(instances, DEFAULT_CHOICE_COUNT, DEFAULT_DECAY_TIME);
+	}
+
+	/**
+	 * <p>
+	 * Creates a peak EWMA traffic load balancer with the specified choice count and decay time.
+	 * </p>
+	 *
+	 * @param instances   a collection of HTTP service instances
+	 * @param choiceCount the choice count
+	 * @param decayTime   the decay time in milliseconds
+	 *
+	 * @throws IllegalArgumentException if choice count or decay time are not strictly positive
+	 */
+	public PeakEwmaTrafficLoadBalancer(Collection<HttpServiceInstance> instances, int choiceCount, long decayTime) throws IllegalArgumentException {
+		this(instances, choiceCount, decayTime, new HashMap<>());
+	}
+
+	/**
+	 * <p>
+	 * Creates a peak EWMA traffic load balancer with the specified choice count, decay time and instance statistics.
+	 * </p>
+	 *
+	 * <p>
+	 * The statistics of an instance are taken from the specified map when present, otherwise they are created and added to the map.
+	 * </p>
+	 *
+	 * @param instances     a collection of HTTP service instances
+	 * @param choiceCount   the choice count
+	 * @param decayTime     the decay time in milliseconds
+	 * @param instanceStats the instance statistics map
+	 *
+	 * @throws IllegalArgumentException if choice count or decay time are not strictly positive
+	 */
+	private PeakEwmaTrafficLoadBalancer(Collection<HttpServiceInstance> instances, int choiceCount, long decayTime, Map<HttpServiceInstance, InstanceStats> instanceStats) throws IllegalArgumentException {
+		if(choiceCount <= 0) {
+			throw new IllegalArgumentException("Choice count must be strictly positive");
+		}
+		if(decayTime <= 0) {
+			throw new IllegalArgumentException("Decay time must be strictly positive");
+		}
+		this.choiceCount = choiceCount;
+		this.decayTime = decayTime;
+		double decayTimeNanos = TimeUnit.MILLISECONDS.toNanos(decayTime);
+		this.instances = instances.toArray(HttpServiceInstance[]::new);
+		this.stats = new InstanceStats[this.instances.length];
+		for(int i=0;i<this.instances.length;i++) {
+			this.stats[i] = instanceStats.computeIfAbsent(this.instances[i], ign -> new InstanceStats(decayTimeNanos));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of service instances to consider when selecting an instance.
+	 * </p>
+	 *
+	 * @return the choice count
+	 */
+	public int getChoiceCount() {
+		return choiceCount;
+	}
+
+	/**
+	 * <p>
+	 * Returns the time in milliseconds over which latency measurements are decayed.
+	 * </p>
+	 *
+	 * @return the decay time in milliseconds
+	 */
+	public long getDecayTime() {
+		return decayTime;
+	}
+
+	@Override
+	public Mono<HttpServiceInstance> next(UnboundExchange<?> serviceRequest) {
+		return Mono.fromSupplier(() -> {
+			int selected = this.select();
+			if(serviceRequest != null) {
+				this.track(serviceRequest, this.stats[selected]);
+			}
+			return this.instances[selected];
+		});
+	}
+
+	/**
+	 * <p>
+	 * Selects the instance with the lowest cost among {@link #getChoiceCount()} randomly selected instances.
+	 * </p>
+	 *
+	 * @return the index of the selected instance
+	 */
+	private int select() {
+		if(this.instances.length <= this.choiceCount) {
+			int selected = 0;
+			double selectedCost = this.stats[0].getCost(this.instances[0]);
+			for(int i=1;i<this.instances.length;i++) {
+				double cost = this.stats[i].getCost(this.instances[i]);
+				if(cost < selectedCost) {
+					selected = i;
+					selectedCost = cost;
+				}
+			}
+			return selected;
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int index = random.nextInt(this.instances.length);
+		int selected = index;
+		double selectedCost = this.stats[index].getCost(this.instances[index]);
+		for(int i=1;i<this.choiceCount;i++) {
+			// this makes sure the second choice is always different from the first one which is what we want in the common power of two choices case
+			index = (index + 1 + random.nextInt(this.instances.length - 1)) % this.instances.length;
+			double cost = this.stats[index].getCost(this.instances[index]);
+			if(cost < selectedCost) {
+				selected = index;
+				selectedCost = cost;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * <p>
+	 * Intercepts the specified exchange in order to measure the latency of the selected instance.
+	 * </p>
+	 *
+	 * <p>
+	 * The latency is recorded when the response is received from the endpoint, exchanges failing before that are not measured.
+	 * </p>
+	 *
+	 * @param <T>      the exchange context type
+	 * @param exchange the exchange to track
+	 * @param stats    the selected instance statistics
+	 */
+	private <T extends ExchangeContext> void track(UnboundExchange<T> exchange, InstanceStats stats) {
+		exchange.intercept(interceptedExchange -> {
+			long startTime = System.nanoTime();
+			interceptedExchange.response().body().transform(data -> {
+				stats.observe(System.nanoTime() - startTime);
+				return data;
+			});
+			return Mono.just(interceptedExchange);
+		});
+	}
+
+	/**
+	 * <p>
+	 * Holds the latency statistics of a service instance.
+	 * </p>
+	 *
+	 * <p>
+	 * Statistics must not reference the service instance since they are weakly keyed by instance in the factory.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class InstanceStats {
+
+		private final double decayTimeNanos;
+
+		private long timestamp;
+		private double latency;
+
+		/**
+		 * <p>
+		 * Creates instance statistics.
+		 * </p>
+		 *
+		 * @param decayTimeNanos the decay time in nanoseconds
+		 */
+		public InstanceStats(double decayTimeNanos) {
+			this.decayTimeNanos = decayTimeNanos;
+			this.timestamp = System.nanoTime();
+		}
+
+		/**
+		 * <p>
+		 * Records a latency measurement.
+		 * </p>
+		 *
+		 * @param rtt a round-trip time in nanoseconds
+		 */
+		public synchronized void observe(double rtt) {
+			long now = System.nanoTime();
+			if(rtt > this.latency) {
+				this.latency = rtt;
+			}
+			else {
+				double weight = Math.exp(-Math.max(now - this.timestamp, 0) / this.decayTimeNanos);
+				this.latency = this.latency * weight + rtt * (1 - weight);
+			}
+			this.timestamp = now;
+		}
+
+		/**
+		 * <p>
+		 * Returns the cost of the instance.
+		 * </p>
+		 *
+		 * <p>
+		 * The latency average is decayed towards zero before calculating the cost so that an instance that hasn't been selected for some time, possibly because it was slow, eventually gets
+		 * selected again.
+		 * </p>
+		 *
+		 * @param instance the HTTP service instance
+		 *
+		 * @return the instance cost
+		 */
+		public double getCost(HttpServiceInstance instance) {
+			double currentLatency;
+			synchronized(this) {
+				this.observe(0);
+				currentLatency = this.latency;
+			}
+			long activeRequests = instance.getActiveRequests();
+			if(currentLatency == 0 && activeRequests > 0) {
+				return PENALTY + activeRequests;
+			}
+			return currentLatency * (activeRequests + 1) / instance.getWeight();
+		}
+	}
+
+	/**
+	 * <p>
+	 * A peak EWMA traffic load balancer factory.
+	 * </p>
+	 *
+	 * <p>
+	 * The factory holds the latency statistics of the service instances, weakly referenced by instance, which are shared by the load balancers it creates.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static class Factory implements TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> {
+
+		private final int choiceCount;
+		private final long decayTime;
+		private final Map<HttpServiceInstance, InstanceStats> instanceStats;
+
+		/**
+		 * <p>
+		 * Creates a peak EWMA traffic load balancer factory with default choice count and decay time.
+		 * </p>
+		 */
+		public Factory() {
+			this(DEFAULT_CHOICE_COUNT, DEFAULT_DECAY_TIME);
+		}
+
+		/**
+		 * <p>
+		 * Creates a peak EWMA traffic load balancer factory.
+		 * </p>
+		 *
+		 * @param choiceCount the choice count
+		 * @param decayTime   the decay time in milliseconds
+		 */
+		public Factory(int choiceCount, long decayTime) {
+			this.choiceCount = choiceCount;
+			this.decayTime = decayTime;
+			this.instanceStats = Collections.synchronizedMap(new WeakHashMap<>());
+		}
+
+		@Override
+		public TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> create(Collection<HttpServiceInstance> instances) {
+			return new PeakEwmaTrafficLoadBalancer(instances, this.choiceCount, this.decayTime, this.instanceStats);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Factory factory = (Factory) o;
+			return choiceCount == factory.choiceCount && decayTime == factory.decayTime;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(choiceCount, decayTime);
+		}
+	}
+}
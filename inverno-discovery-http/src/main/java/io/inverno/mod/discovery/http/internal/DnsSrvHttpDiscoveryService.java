@@ -0,0 +1,321 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.internal;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.Destroy;
+import io.inverno.core.annotation.Provide;
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.base.net.NetService;
+import io.inverno.mod.discovery.AbstractDnsSrvDiscoveryService;
+import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.http.HttpDiscoveryService;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import io.inverno.mod.http.client.UnboundExchange;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.dns.DefaultDnsQuestion;
+import io.netty.handler.codec.dns.DefaultDnsRecordDecoder;
+import io.netty.handler.codec.dns.DnsRawRecord;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.handler.codec.dns.DnsRecordType;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsNameResolverException;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.resolver.dns.NoopDnsCache;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An HTTP discovery service bean resolving services through DNS SRV lookup.
+ * </p>
+ *
+ * <p>
+ * It resolves {@code http+srv://}, {@code https+srv://}, {@code ws+srv://} or {@code wss+srv://} service URIs whose authority is either the full SRV record name (e.g.
+ * {@code https+srv://_api._tcp.example.org}) or a domain name in which case the {@code _http._tcp.} or {@code _https._tcp.} prefix is added (e.g. {@code https+srv://example.org} is resolved by
+ * looking up {@code _https._tcp.example.org}).
+ * </p>
+ *
+ * <p>
+ * Unlike the {@link DnsHttpDiscoveryService}, SRV records and target addresses are looked up directly on the platform's name servers in order to get records time to live which are honored by
+ * resolved services. Like the rest of the client stack, DNS queries are sent over a datagram channel of the {@link NetService} transport type registered on an event loop of the {@link Reactor}.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@Bean
+public class DnsSrvHttpDiscoveryService extends AbstractDnsSrvDiscoveryService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> implements @Provide HttpDiscoveryService {
+
+	private final HttpClient httpClient;
+	private final NetService netService;
+	private final Reactor reactor;
+	private final DnsServerAddressStreamProvider nameServerProvider;
+
+	private DnsNameResolver resolver;
+
+	/**
+	 * <p>
+	 * Creates a DNS SRV HTTP discovery service.
+	 * </p>
+	 *
+	 * @param httpClient the HTTP client
+	 * @param netService the Net service
+	 * @param reactor    the reactor
+	 */
+	public DnsSrvHttpDiscoveryService(HttpClient httpClient, NetService netService, Reactor reactor) {
+		this(httpClient, netService, reactor, DnsServerAddressStreamProviders.platformDefault());
+	}
+
+	/**
+	 * <p>
+	 * Creates a DNS SRV HTTP discovery service using the specified name servers.
+	 * </p>
+	 *
+	 * @param httpClient         the HTTP client
+	 * @param netService         the Net service
+	 * @param reactor            the reactor
+	 * @param nameServerProvider the name server provider
+	 */
+	DnsSrvHttpDiscoveryService(HttpClient httpClient, NetService netService, Reactor reactor, DnsServerAddressStreamProvider nameServerProvider) {
+		super(Set.of("http+srv", "https+srv", "ws+srv", "wss+srv"));
+		this.httpClient = httpClient;
+		this.netService = netService;
+		this.reactor = reactor;
+		this.nameServerProvider = nameServerProvider;
+	}
+
+	/**
+	 * <p>
+	 * Closes the DNS resolver.
+	 * </p>
+	 */
+	@Destroy
+	public synchronized void destroy() {
+		if(this.resolver != null) {
+			this.resolver.close();
+			this.resolver = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the DNS resolver, creating it on first use.
+	 * </p>
+	 *
+	 * @return the DNS resolver
+	 */
+	private synchronized DnsNameResolver getResolver() {
+		if(this.resolver == null) {
+			this.resolver = new DnsNameResolverBuilder(this.reactor.getEventLoop())
+				.datagramChannelFactory(this.netService.getDatagramChannelFactory())
+				.nameServerProvider(this.nameServerProvider)
+				// records time to live is handled by resolved services
+				.resolveCache(NoopDnsCache.INSTANCE)
+				.build();
+		}
+		return this.resolver;
+	}
+
+	/**
+	 * <p>
+	 * Returns the base scheme (i.e. {@code http}, {@code https}, {@code ws} or {@code wss}) of the specified service.
+	 * </p>
+	 *
+	 * @param serviceId a service ID
+	 *
+	 * @return the base scheme
+	 */
+	private static String getBaseScheme(ServiceID serviceId) {
+		String scheme = serviceId.getScheme();
+		return scheme.substring(0, scheme.indexOf('+'));
+	}
+
+	@Override
+	protected Mono<List<SrvRecord>> resolveSrv(ServiceID serviceId) {
+		String name = serviceId.getURI().getAuthority();
+		if(!name.startsWith("_")) {
+			switch(getBaseScheme(serviceId)) {
+				case "ws":
+				case "http": name = "_http._tcp." + name;
+					break;
+				case "wss":
+				case "https": name = "_https._tcp." + name;
+					break;
+				default: throw new IllegalStateException();
+			}
+		}
+		return this.query(name, DnsRecordType.SRV, (dnsRecord, content) -> {
+			int index = content.readerIndex();
+			String target = DefaultDnsRecordDecoder.decodeName(content.duplicate().readerIndex(index + 6));
+			if(target.equals(".")) {
+				// service is decidedly not available at this domain
+				return null;
+			}
+			return new SrvRecord(content.getUnsignedShort(index), content.getUnsignedShort(index + 2), content.getUnsignedShort(index + 4), target, dnsRecord.timeToLive());
+		});
+	}
+
+	@Override
+	protected Mono<List<AddressRecord>> resolveAddresses(String target) {
+		return Mono.defer(() -> {
+			AtomicReference<Throwable> error = new AtomicReference<>();
+			return Flux.merge(
+					this.query(target, DnsRecordType.A, (dnsRecord, content) -> new AddressRecord(InetAddress.getByAddress(ByteBufUtil.getBytes(content)), dnsRecord.timeToLive()))
+						.onErrorResume(e -> {
+							error.set(e);
+							return Mono.just(List.of());
+						}),
+					this.query(target, DnsRecordType.AAAA, (dnsRecord, content) -> new AddressRecord(InetAddress.getByAddress(ByteBufUtil.getBytes(content)), dnsRecord.timeToLive()))
+						.onErrorResume(e -> {
+							error.set(e);
+							return Mono.just(List.of());
+						})
+				)
+				.flatMapIterable(Function.identity())
+				.collectList()
+				.flatMap(addressRecords -> {
+					// fail only if no address could be resolved because of an error
+					if(addressRecords.isEmpty() && error.get() != null) {
+						return Mono.error(error.get());
+					}
+					return Mono.just(addressRecords);
+				});
+		});
+	}
+
+	/**
+	 * <p>
+	 * Queries the records of the specified type for the specified name.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned mono emits an empty list when no record was found and fails when the name servers could not be queried.
+	 * </p>
+	 *
+	 * @param <T>     the type of record
+	 * @param name    the name to query
+	 * @param type    the type of records
+	 * @param decoder the record decoder
+	 *
+	 * @return a mono emitting the list of decoded records
+	 */
+	private <T> Mono<List<T>> query(String name, DnsRecordType type, RecordDecoder<T> decoder) {
+		return Mono.create(sink -> {
+			Future<List<DnsRecord>> future = this.getResolver().resolveAll(new DefaultDnsQuestion(name, type));
+			future.addListener(ign -> {
+				if(future.isSuccess()) {
+					List<DnsRecord> records = future.getNow();
+					try {
+						List<T> result = new ArrayList<>();
+						for(DnsRecord dnsRecord : records) {
+							if(dnsRecord.type().equals(type) && dnsRecord instanceof DnsRawRecord) {
+								T decodedRecord = decoder.decode(dnsRecord, ((DnsRawRecord)dnsRecord).content());
+								if(decodedRecord != null) {
+									result.add(decodedRecord);
+								}
+							}
+						}
+						sink.success(result);
+					}
+					catch(Exception e) {
+						sink.error(e);
+					}
+					finally {
+						records.forEach(ReferenceCountUtil::release);
+					}
+				}
+				else if(future.cause() instanceof UnknownHostException && !(future.cause().getCause() instanceof DnsNameResolverException)) {
+					// the name does not exist or has no record of the requested type
+					sink.success(List.of());
+				}
+				else {
+					sink.error(future.cause());
+				}
+			});
+		});
+	}
+
+	@Override
+	protected HttpServiceInstance createServiceInstance(ServiceID serviceId, HttpTrafficPolicy trafficPolicy, InetSocketAddress resolvedAddress, int weight) {
+		HttpClientConfiguration clientConfiguration = trafficPolicy.getConfiguration();
+		switch(getBaseScheme(serviceId)) {
+			case "ws":
+			case "http": {
+				if(clientConfiguration == null || clientConfiguration.tls_enabled()) {
+					clientConfiguration = HttpClientConfigurationLoader.load(clientConfiguration, configuration -> configuration.tls_enabled(false));
+				}
+				break;
+			}
+			case "wss":
+			case "https": {
+				if(clientConfiguration == null || !clientConfiguration.tls_enabled()) {
+					clientConfiguration = HttpClientConfigurationLoader.load(clientConfiguration, configuration -> configuration.tls_enabled(true));
+				}
+				break;
+			}
+			default: throw new IllegalStateException();
+		}
+		return new GenericHttpServiceInstance(this.httpClient.endpoint(resolvedAddress)
+			.configuration(clientConfiguration)
+			.netConfiguration(trafficPolicy.getNetConfiguration())
+			.build(),
+			weight
+		);
+	}
+
+	/**
+	 * <p>
+	 * Decodes a raw DNS record.
+	 * </p>
+	 *
+	 * @param <T> the type of decoded record
+	 */
+	@FunctionalInterface
+	private interface RecordDecoder<T> {
+
+		/**
+		 * <p>
+		 * Decodes the specified record.
+		 * </p>
+		 *
+		 * @param dnsRecord the record
+		 * @param content   the record data
+		 *
+		 * @return a decoded record or null to ignore the record
+		 *
+		 * @throws Exception if the record could not be decoded
+		 */
+		T decode(DnsRecord dnsRecord, ByteBuf content) throws Exception;
+	}
+}
@@ -15,11 +15,13 @@
  */
 package io.inverno.mod.discovery.http.internal;
 
+import io.inverno.mod.discovery.Locality;
 import io.inverno.mod.discovery.http.HttpServiceInstance;
 import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.client.Endpoint;
 import io.inverno.mod.http.client.Exchange;
 import io.inverno.mod.http.client.UnboundExchange;
+import java.net.SocketAddress;
 import reactor.core.publisher.Mono;
 
 /**
@@ -35,6 +37,7 @@ public class GenericHttpServiceInstance implements HttpServiceInstance {
 	private final Endpoint<?> endpoint;
 
 	private final int weight;
+	private final Locality locality;
 
 	/**
 	 * <p>
@@ -56,8 +59,24 @@ public class GenericHttpServiceInstance implements HttpServiceInstance {
 	 * @param weight   the service instance weight
 	 */
 	public GenericHttpServiceInstance(Endpoint<?> endpoint, int weight) {
+		this(endpoint, weight, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates an HTTP service instance with the specified weight and locality.
+	 * </p>
+	 *
+	 * @param endpoint the HTTP client endpoint
+	 * @param weight   the service instance weight
+	 * @param locality the service instance locality or null
+	 *
+	 * @since 1.14
+	 */
+	public GenericHttpServiceInstance(Endpoint<?> endpoint, int weight, Locality locality) {
 		this.endpoint = endpoint;
 		this.weight = weight;
+		this.locality = locality;
 		if(weight <= 0) {
 			throw new IllegalArgumentException("weight must be a positive integer");
 		}
@@ -84,6 +103,16 @@ public class GenericHttpServiceInstance implements HttpServiceInstance {
 		return this.endpoint.getLoadFactor();
 	}
 
+	@Override
+	public SocketAddress getRemoteAddress() {
+		return this.endpoint.getRemoteAddress();
+	}
+
+	@Override
+	public Locality getLocality() {
+		return this.locality;
+	}
+
 	@Override
 	public Mono<Void> shutdown() {
 		return this.endpoint.shutdown();
@@ -16,6 +16,7 @@
 package io.inverno.mod.discovery.http.internal;
 
 import io.inverno.core.annotation.Bean;
+import io.inverno.mod.base.concurrent.Reactor;
 import io.inverno.mod.base.net.NetService;
 import io.inverno.mod.http.client.HttpClient;
 import java.util.function.Supplier;
@@ -53,4 +54,19 @@ public final class ModuleSockets {
 	 */
 	@Bean(name = "httpClient")
 	public interface HttpClientSocket extends Supplier<HttpClient> {}
+
+	/**
+	 * <p>
+	 * The reactor socket bean.
+	 * </p>
+	 *
+	 * <p>
+	 * The reactor provides the event loop used for DNS SRV lookups.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	@Bean(name = "reactor")
+	public interface ReactorSocket extends Supplier<Reactor> {}
 }
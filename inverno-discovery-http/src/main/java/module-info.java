@@ -28,6 +28,8 @@
  * <dd>the HTTP client used to create endpoints</dd>
  * <dt><b>netService (required)</b></dt>
  * <dd>the Net service used for DNS lookups</dd>
+ * <dt><b>reactor (required)</b></dt>
+ * <dd>the reactor providing the event loop used for DNS SRV lookups</dd>
  * </dl>
  *
  * <p>
@@ -37,17 +39,24 @@
  * <dl>
  * <dt><b>dnsHttpDiscoveryService</b></dt>
  * <dd>the DNS based HTTP discovery service</dd>
+ * <dt><b>dnsSrvHttpDiscoveryService</b></dt>
+ * <dd>the DNS SRV based HTTP discovery service</dd>
  * </dl>
  *
  * <p>
  * The DNS based HTTP discovery service is typically used to resolve standard {@code http://}, {@code https://}, {@code ws://} or {@code wss://} service URIs.
  * </p>
+ * <p>
+ * The DNS SRV based HTTP discovery service resolves {@code http+srv://}, {@code https+srv://}, {@code ws+srv://} or {@code wss+srv://} service URIs by looking up SRV records, resolved services
+ * honor records priority, weight and time to live.
+ * </p>
  *
  * <pre>{@code
  * HttpClient httpClient = ...
  * NetService netService = ...
+ * Reactor reactor = ...
  *
- * Http discoveryHttpModule = new Http.Builder(httpClient, netService).build();
+ * Http discoveryHttpModule = new Http.Builder(httpClient, netService, reactor).build();
  * try {
  *     discoveryHttpModule.start();
  *
@@ -76,6 +85,10 @@ module io.inverno.mod.discovery.http {
 	requires transitive io.inverno.mod.discovery;
 	requires transitive io.inverno.mod.http.client;
 
+	requires io.netty.codec.dns;
+	requires io.netty.common;
+	requires io.netty.resolver.dns;
+	requires io.netty.transport;
 	requires org.reactivestreams;
 	requires reactor.core;
 
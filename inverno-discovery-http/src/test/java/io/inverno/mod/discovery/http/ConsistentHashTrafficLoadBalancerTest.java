@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.base.InboundRequestHeaders;
+import io.inverno.mod.http.client.Request;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class ConsistentHashTrafficLoadBalancerTest {
+
+	private static final int KEY_COUNT = 1000;
+
+	@Test
+	public void test_ring_same_key() {
+		this.test_same_key(ConsistentHashTrafficLoadBalancer.Algorithm.RING);
+	}
+
+	@Test
+	public void test_maglev_same_key() {
+		this.test_same_key(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV);
+	}
+
+	@Test
+	public void test_ring_minimal_remapping() {
+		// Only keys mapped to the removed instance must be remapped
+		Assertions.assertEquals(0, this.test_minimal_remapping(ConsistentHashTrafficLoadBalancer.Algorithm.RING));
+	}
+
+	@Test
+	public void test_maglev_minimal_remapping() {
+		// Maglev trades a small remapping for a balanced lookup table
+		Assertions.assertTrue(this.test_minimal_remapping(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV) < KEY_COUNT / 20);
+	}
+
+	@Test
+	public void test_maglev_weights() {
+		HttpServiceInstance instance1 = mockInstance("10.0.0.1", 1);
+		HttpServiceInstance instance2 = mockInstance("10.0.0.2", 3);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new ConsistentHashTrafficLoadBalancer.Factory(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV, ConsistentHashTrafficLoadBalancer.KeySource.HEADER, "x-key").create(List.of(instance1, instance2));
+
+		int instance1Count = 0;
+		for(int i=0;i<KEY_COUNT;i++) {
+			if(loadBalancer.next(mockExchange("x-key", "key-" + i)).block() == instance1) {
+				instance1Count++;
+			}
+		}
+		Assertions.assertTrue(instance1Count > KEY_COUNT * 0.2 && instance1Count < KEY_COUNT * 0.3);
+	}
+
+	@Test
+	public void test_missing_key() {
+		HttpServiceInstance instance1 = mockInstance("10.0.0.1", 1);
+		HttpServiceInstance instance2 = mockInstance("10.0.0.2", 1);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new ConsistentHashTrafficLoadBalancer(List.of(instance1, instance2));
+
+		Assertions.assertNotNull(loadBalancer.next(null).block());
+		Assertions.assertNotNull(loadBalancer.next(mockExchange("x-other", "key")).block());
+	}
+
+	@Test
+	public void test_path_parameter() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new ConsistentHashTrafficLoadBalancer.Factory(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV, ConsistentHashTrafficLoadBalancer.KeySource.PATH_PARAMETER, "userId"));
+		Assertions.assertEquals(
+			new ConsistentHashTrafficLoadBalancer.Factory(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV, ConsistentHashTrafficLoadBalancer.KeySource.PATH_PARAMETER, "userId", "/users/{userId}/**"),
+			new ConsistentHashTrafficLoadBalancer.Factory(ConsistentHashTrafficLoadBalancer.Algorithm.MAGLEV, ConsistentHashTrafficLoadBalancer.KeySource.PATH_PARAMETER, "userId", "/users/{userId}/**")
+		);
+	}
+
+	private void test_same_key(ConsistentHashTrafficLoadBalancer.Algorithm algorithm) {
+		List<HttpServiceInstance> instances = new ArrayList<>();
+		for(int i=0;i<5;i++) {
+			instances.add(mockInstance("10.0.0." + i, 1));
+		}
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new ConsistentHashTrafficLoadBalancer.Factory(algorithm, ConsistentHashTrafficLoadBalancer.KeySource.HEADER, "x-key").create(instances);
+
+		for(int i=0;i<KEY_COUNT;i++) {
+			HttpServiceInstance instance = loadBalancer.next(mockExchange("x-key", "key-" + i)).block();
+			Assertions.assertNotNull(instance);
+			Assertions.assertSame(instance, loadBalancer.next(mockExchange("x-key", "key-" + i)).block());
+		}
+	}
+
+	private int test_minimal_remapping(ConsistentHashTrafficLoadBalancer.Algorithm algorithm) {
+		TrafficLoadBalancer.Factory<HttpServiceInstance, UnboundExchange<?>> factory = new ConsistentHashTrafficLoadBalancer.Factory(algorithm, ConsistentHashTrafficLoadBalancer.KeySource.HEADER, "x-key");
+
+		List<HttpServiceInstance> instances = new ArrayList<>();
+		for(int i=0;i<5;i++) {
+			instances.add(mockInstance("10.0.0." + i, 1));
+		}
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = factory.create(instances);
+		Map<String, InetSocketAddress> mapping = new HashMap<>();
+		for(int i=0;i<KEY_COUNT;i++) {
+			mapping.put("key-" + i, (InetSocketAddress)loadBalancer.next(mockExchange("x-key", "key-" + i)).block().getRemoteAddress());
+		}
+
+		// Refreshed instances are new objects in a different order
+		List<HttpServiceInstance> refreshedInstances = new ArrayList<>();
+		for(int i=4;i>=0;i--) {
+			if(i != 2) {
+				refreshedInstances.add(mockInstance("10.0.0." + i, 1));
+			}
+		}
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> refreshedLoadBalancer = factory.create(refreshedInstances);
+
+		int remapped = 0;
+		for(Map.Entry<String, InetSocketAddress> e : mapping.entrySet()) {
+			InetSocketAddress address = (InetSocketAddress)refreshedLoadBalancer.next(mockExchange("x-key", e.getKey())).block().getRemoteAddress();
+			if(!e.getValue().getHostString().equals("10.0.0.2") && !e.getValue().equals(address)) {
+				remapped++;
+			}
+		}
+		return remapped;
+	}
+
+	private static HttpServiceInstance mockInstance(String host, int weight) {
+		HttpServiceInstance instance = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance.getWeight()).thenReturn(weight);
+		Mockito.when(instance.getRemoteAddress()).thenReturn(InetSocketAddress.createUnresolved(host, 8080));
+		return instance;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static UnboundExchange<?> mockExchange(String headerName, String headerValue) {
+		InboundRequestHeaders headers = Mockito.mock(InboundRequestHeaders.class);
+		Mockito.when(headers.get(Mockito.any(CharSequence.class))).thenReturn(Optional.empty());
+		Mockito.when(headers.get(headerName)).thenReturn(Optional.of(headerValue));
+
+		Request request = Mockito.mock(Request.class);
+		Mockito.when(request.headers()).thenReturn(headers);
+
+		UnboundExchange<?> exchange = Mockito.mock(UnboundExchange.class);
+		Mockito.when(exchange.request()).thenReturn(request);
+		return exchange;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.Locality;
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.discovery.WeightedRoundRobinTrafficLoadBalancer;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class LocalityAwareTrafficLoadBalancerTest {
+
+	private static final LocalityAwareRouting LOCALITY_AWARE_ROUTING = LocalityAwareRouting.builder(Locality.of("eu-west-1", "eu-west-1a")).build();
+
+	@Test
+	public void test_local_zone() {
+		HttpServiceInstance instance1 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0.1f);
+		HttpServiceInstance instance2 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0.5f);
+		HttpServiceInstance instance3 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1b"), 0f);
+		HttpServiceInstance instance4 = this.mockInstance(null, 0f);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new LocalityAwareTrafficLoadBalancer(List.of(instance1, instance2, instance3, instance4), WeightedRoundRobinTrafficLoadBalancer::new, LOCALITY_AWARE_ROUTING);
+
+		Map<HttpServiceInstance, Integer> counts = this.next(loadBalancer, 1000);
+		Assertions.assertEquals(Set.of(instance1, instance2), counts.keySet());
+	}
+
+	@Test
+	public void test_local_region() {
+		HttpServiceInstance instance1 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1b"), 0f);
+		HttpServiceInstance instance2 = this.mockInstance(Locality.of("eu-west-3", "eu-west-3a"), 0f);
+		HttpServiceInstance instance3 = this.mockInstance(Locality.of("eu-west-3", "eu-west-1a"), 0f);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new LocalityAwareTrafficLoadBalancer(List.of(instance1, instance2, instance3), WeightedRoundRobinTrafficLoadBalancer::new, LOCALITY_AWARE_ROUTING);
+
+		// same zone name in another region is not local
+		Map<HttpServiceInstance, Integer> counts = this.next(loadBalancer, 1000);
+		Assertions.assertEquals(Set.of(instance1), counts.keySet());
+	}
+
+	@Test
+	public void test_load_spill_over() {
+		HttpServiceInstance instance1 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0.9f);
+		HttpServiceInstance instance2 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1b"), 0f);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new LocalityAwareTrafficLoadBalancer(List.of(instance1, instance2), WeightedRoundRobinTrafficLoadBalancer::new, LOCALITY_AWARE_ROUTING);
+
+		// load factor is halfway between the threshold and 1: half of the traffic spills over
+		Map<HttpServiceInstance, Integer> counts = this.next(loadBalancer, 10000);
+		Assertions.assertTrue(counts.get(instance1) > 4000 && counts.get(instance1) < 6000);
+		Assertions.assertEquals(10000, counts.get(instance1) + counts.get(instance2));
+
+		// fully loaded: all traffic spills over
+		Mockito.when(instance1.getLoadFactor()).thenReturn(1f);
+		counts = this.next(loadBalancer, 1000);
+		Assertions.assertEquals(Set.of(instance2), counts.keySet());
+
+		// back to normal
+		Mockito.when(instance1.getLoadFactor()).thenReturn(0.5f);
+		counts = this.next(loadBalancer, 1000);
+		Assertions.assertEquals(Set.of(instance1), counts.keySet());
+	}
+
+	@Test
+	public void test_health_spill_over() {
+		HttpServiceInstance instance1 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0f);
+		HttpServiceInstance instance2 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0f);
+		HttpServiceInstance instance3 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0f);
+		HttpServiceInstance instance4 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0f);
+		HttpServiceInstance instance5 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1b"), 0f);
+		List<HttpServiceInstance> allInstances = List.of(instance1, instance2, instance3, instance4, instance5);
+
+		// 3 out of 4 local instances are healthy: 3/4 * 1.4 > 1 all traffic is kept local
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new LocalityAwareTrafficLoadBalancer(List.of(instance1, instance2, instance3, instance5), allInstances, WeightedRoundRobinTrafficLoadBalancer::new, LOCALITY_AWARE_ROUTING);
+		Map<HttpServiceInstance, Integer> counts = this.next(loadBalancer, 1000);
+		Assertions.assertEquals(Set.of(instance1, instance2, instance3), counts.keySet());
+
+		// 1 out of 4 local instances is healthy: 1/4 * 1.4 = 35% of the traffic is kept local
+		loadBalancer = new LocalityAwareTrafficLoadBalancer(List.of(instance1, instance5), allInstances, WeightedRoundRobinTrafficLoadBalancer::new, LOCALITY_AWARE_ROUTING);
+		counts = this.next(loadBalancer, 10000);
+		Assertions.assertTrue(counts.get(instance1) > 2500 && counts.get(instance1) < 4500);
+		Assertions.assertEquals(10000, counts.get(instance1) + counts.get(instance5));
+	}
+
+	@Test
+	public void test_traffic_policy() {
+		HttpServiceInstance instance1 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1a"), 0f);
+		HttpServiceInstance instance2 = this.mockInstance(Locality.of("eu-west-1", "eu-west-1b"), 0f);
+
+		HttpTrafficPolicy trafficPolicy = HttpTrafficPolicy.builder()
+			.roundRobinLoadBalancer()
+			.localityAwareRouting(LOCALITY_AWARE_ROUTING)
+			.outlierDetection(OutlierDetection.builder().build())
+			.build();
+
+		Assertions.assertEquals(trafficPolicy, HttpTrafficPolicy.builder(trafficPolicy).build());
+		Assertions.assertNotEquals(trafficPolicy, HttpTrafficPolicy.builder(trafficPolicy).localityAwareRouting(null).build());
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = trafficPolicy.getLoadBalancer(List.of(instance1, instance2));
+		Map<Locality, Integer> counts = new HashMap<>();
+		for(int i=0;i<100;i++) {
+			counts.merge(loadBalancer.next(null).block().getLocality(), 1, Integer::sum);
+		}
+		Assertions.assertEquals(Map.of(Locality.of("eu-west-1", "eu-west-1a"), 100), counts);
+	}
+
+	@Test
+	public void test_invalid_settings() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LocalityAwareRouting.builder(null).build());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LocalityAwareRouting.builder(Locality.of(null, "a")).loadThreshold(0f).build());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LocalityAwareRouting.builder(Locality.of(null, "a")).loadThreshold(1.5f).build());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LocalityAwareRouting.builder(Locality.of(null, "a")).overprovisioningFactor(0.5f).build());
+	}
+
+	private Map<HttpServiceInstance, Integer> next(TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer, int count) {
+		Map<HttpServiceInstance, Integer> counts = new HashMap<>();
+		for(int i=0;i<count;i++) {
+			counts.merge(loadBalancer.next(null).block(), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	private HttpServiceInstance mockInstance(Locality locality, float loadFactor) {
+		HttpServiceInstance instance = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance.getLocality()).thenReturn(locality);
+		Mockito.when(instance.getLoadFactor()).thenReturn(loadFactor);
+		Mockito.when(instance.getWeight()).thenReturn(1);
+		return instance;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.discovery.WeightedRoundRobinTrafficLoadBalancer;
+import io.inverno.mod.http.base.InboundResponseHeaders;
+import io.inverno.mod.http.base.ServiceUnavailableException;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.Response;
+import io.inverno.mod.http.client.UnboundExchange;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class OutlierDetectionTrafficLoadBalancerTest {
+
+	@Test
+	public void test_consecutive_5xx() {
+		HttpServiceInstance instance1 = this.mockInstance("host1", Mono.just(this.mockResponse(503)));
+		HttpServiceInstance instance2 = this.mockInstance("host2", Mono.just(this.mockResponse(200)));
+
+		OutlierDetection outlierDetection = OutlierDetection.builder()
+			.consecutive5xx(2)
+			.build();
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(List.of(instance1, instance2), WeightedRoundRobinTrafficLoadBalancer::new, outlierDetection, null);
+
+		Assertions.assertEquals(Set.of("host1", "host2"), this.exchange(loadBalancer, 4));
+		Assertions.assertEquals(Set.of("host2"), this.exchange(loadBalancer, 10));
+	}
+
+	@Test
+	public void test_consecutive_connect_errors() {
+		HttpServiceInstance instance1 = this.mockInstance("host1", Mono.error(new ConnectException("Connection refused")));
+		HttpServiceInstance instance2 = this.mockInstance("host2", Mono.just(this.mockResponse(200)));
+
+		OutlierDetection outlierDetection = OutlierDetection.builder()
+			.consecutiveConnectErrors(3)
+			.build();
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(List.of(instance1, instance2), WeightedRoundRobinTrafficLoadBalancer::new, outlierDetection, null);
+
+		Assertions.assertEquals(Set.of("host1", "host2"), this.exchange(loadBalancer, 6));
+		Assertions.assertEquals(Set.of("host2"), this.exchange(loadBalancer, 10));
+	}
+
+	@Test
+	public void test_ejection_expiry() {
+		HttpServiceInstance instance1 = this.mockInstance("host1", Mono.just(this.mockResponse(500)));
+		HttpServiceInstance instance2 = this.mockInstance("host2", Mono.just(this.mockResponse(200)));
+
+		OutlierDetection outlierDetection = OutlierDetection.builder()
+			.consecutive5xx(1)
+			.baseEjectionTime(50)
+			.maxEjectionTime(50)
+			.build();
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(List.of(instance1, instance2), WeightedRoundRobinTrafficLoadBalancer::new, outlierDetection, null);
+
+		Assertions.assertEquals(Set.of("host1", "host2"), this.exchange(loadBalancer, 2));
+		Assertions.assertEquals(Set.of("host2"), this.exchange(loadBalancer, 10));
+
+		Awaitility.await().atMost(Duration.ofMillis(1000)).untilAsserted(() -> Assertions.assertEquals(Set.of("host1", "host2"), this.select(loadBalancer, 2)));
+	}
+
+	@Test
+	public void test_max_ejection_percent() {
+		HttpServiceInstance instance1 = this.mockInstance("host1", Mono.just(this.mockResponse(500)));
+		HttpServiceInstance instance2 = this.mockInstance("host2", Mono.just(this.mockResponse(500)));
+
+		OutlierDetection outlierDetection = OutlierDetection.builder()
+			.consecutive5xx(1)
+			.maxEjectionPercent(10)
+			.build();
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(List.of(instance1, instance2), WeightedRoundRobinTrafficLoadBalancer::new, outlierDetection, null);
+
+		// Only one instance can be ejected
+		Assertions.assertEquals(Set.of("host1", "host2"), this.exchange(loadBalancer, 2));
+		Assertions.assertEquals(1, this.exchange(loadBalancer, 10).size());
+	}
+
+	@Test
+	public void test_success_rate() {
+		List<HttpServiceInstance> instances = new ArrayList<>();
+		instances.add(this.mockInstance("host0", Mono.just(this.mockResponse(500))));
+		for(int i=1;i<5;i++) {
+			instances.add(this.mockInstance("host" + i, Mono.just(this.mockResponse(200))));
+		}
+
+		OutlierDetection outlierDetection = OutlierDetection.builder()
+			.consecutive5xx(0)
+			.interval(200)
+			.successRateRequestVolume(10)
+			.successRateMinimumHosts(5)
+			.successRateStdevFactor(1)
+			.maxEjectionPercent(50)
+			.build();
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(instances, WeightedRoundRobinTrafficLoadBalancer::new, outlierDetection, null);
+
+		Assertions.assertEquals(Set.of("host0", "host1", "host2", "host3", "host4"), this.exchange(loadBalancer, 100));
+
+		Awaitility.await().atMost(Duration.ofMillis(2000)).untilAsserted(() -> Assertions.assertEquals(Set.of("host1", "host2", "host3", "host4"), this.select(loadBalancer, 20)));
+	}
+
+	@Test
+	public void test_circuit_breaker() {
+		HttpServiceInstance instance = this.mockInstance("host1", Mono.just(this.mockResponse(200)));
+		Mockito.when(instance.getActiveRequests()).thenReturn(5L);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer = new OutlierDetectionTrafficLoadBalancer(List.of(instance), WeightedRoundRobinTrafficLoadBalancer::new, null, new CircuitBreaker(10, 5));
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> loadBalancer.next(null).block());
+
+		Mockito.when(instance.getActiveRequests()).thenReturn(4L);
+		Assertions.assertEquals(Set.of("host1"), this.exchange(loadBalancer, 1));
+	}
+
+	private Set<String> select(TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer, int count) {
+		Set<String> hosts = new HashSet<>();
+		for(int i=0;i<count;i++) {
+			hosts.add(((InetSocketAddress)loadBalancer.next(null).block().getRemoteAddress()).getHostString());
+		}
+		return hosts;
+	}
+
+	private Set<String> exchange(TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer, int count) {
+		Set<String> hosts = new HashSet<>();
+		for(int i=0;i<count;i++) {
+			HttpServiceInstance instance = loadBalancer.next(null).block();
+			hosts.add(((InetSocketAddress)instance.getRemoteAddress()).getHostString());
+			instance.bind(Mockito.mock(UnboundExchange.class)).response().onErrorResume(e -> Mono.empty()).block();
+		}
+		return hosts;
+	}
+
+	private HttpServiceInstance mockInstance(String host, Mono<Response> response) {
+		Exchange<?> exchange = Mockito.mock(Exchange.class);
+		Mockito.doReturn(response).when(exchange).response();
+
+		HttpServiceInstance instance = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance.getWeight()).thenReturn(1);
+		Mockito.when(instance.getRemoteAddress()).thenReturn(InetSocketAddress.createUnresolved(host, 8080));
+		Mockito.doReturn(exchange).when(instance).bind(Mockito.any());
+		return instance;
+	}
+
+	private Response mockResponse(int status) {
+		InboundResponseHeaders headers = Mockito.mock(InboundResponseHeaders.class);
+		Mockito.when(headers.getStatusCode()).thenReturn(status);
+		Response response = Mockito.mock(Response.class);
+		Mockito.when(response.headers()).thenReturn(headers);
+		return response;
+	}
+}
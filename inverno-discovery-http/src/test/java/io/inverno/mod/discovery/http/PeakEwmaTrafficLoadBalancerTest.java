@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http;
+
+import io.inverno.mod.discovery.TrafficLoadBalancer;
+import io.inverno.mod.http.client.ExchangeInterceptor;
+import io.inverno.mod.http.client.InterceptedExchange;
+import io.inverno.mod.http.client.InterceptedResponse;
+import io.inverno.mod.http.client.InterceptedResponseBody;
+import io.inverno.mod.http.client.UnboundExchange;
+import io.netty.buffer.ByteBuf;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class PeakEwmaTrafficLoadBalancerTest {
+
+	@Test
+	public void test_active_requests() {
+		HttpServiceInstance instance1 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance1.getWeight()).thenReturn(1);
+		Mockito.when(instance1.getActiveRequests()).thenReturn(0L);
+
+		HttpServiceInstance instance2 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance2.getWeight()).thenReturn(1);
+		Mockito.when(instance2.getActiveRequests()).thenReturn(1L);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> peakEwmaLoadBalancer = new PeakEwmaTrafficLoadBalancer(List.of(instance1, instance2));
+
+		// No latency measured: instance with active requests is penalized
+		Assertions.assertEquals(instance1, peakEwmaLoadBalancer.next(null).block());
+
+		Mockito.when(instance1.getActiveRequests()).thenReturn(2L);
+		Mockito.when(instance2.getActiveRequests()).thenReturn(0L);
+		Assertions.assertEquals(instance2, peakEwmaLoadBalancer.next(null).block());
+	}
+
+	@Test
+	public void test_latency() throws InterruptedException {
+		HttpServiceInstance instance1 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance1.getWeight()).thenReturn(1);
+		Mockito.when(instance1.getActiveRequests()).thenReturn(0L);
+
+		HttpServiceInstance instance2 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance2.getWeight()).thenReturn(1);
+		Mockito.when(instance2.getActiveRequests()).thenReturn(0L);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> peakEwmaLoadBalancer = new PeakEwmaTrafficLoadBalancer(List.of(instance1, instance2), 2, 60000);
+
+		// Both instances have no cost, the first one is selected, make it slow
+		HttpServiceInstance slowInstance = this.exchange(peakEwmaLoadBalancer, 50);
+		HttpServiceInstance fastInstance = slowInstance == instance1 ? instance2 : instance1;
+
+		// The fast instance has no latency measured yet
+		Assertions.assertEquals(fastInstance, this.exchange(peakEwmaLoadBalancer, 1));
+		Assertions.assertEquals(fastInstance, this.exchange(peakEwmaLoadBalancer, 1));
+
+		// Active requests increase the cost of the fast instance but its latency is still lower
+		Mockito.when(fastInstance.getActiveRequests()).thenReturn(3L);
+		Assertions.assertEquals(fastInstance, peakEwmaLoadBalancer.next(null).block());
+	}
+
+	@Test
+	public void test_factory_preserves_latency() throws InterruptedException {
+		HttpServiceInstance instance1 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance1.getWeight()).thenReturn(1);
+		Mockito.when(instance1.getActiveRequests()).thenReturn(0L);
+
+		HttpServiceInstance instance2 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance2.getWeight()).thenReturn(1);
+		Mockito.when(instance2.getActiveRequests()).thenReturn(0L);
+
+		HttpServiceInstance instance3 = Mockito.mock(HttpServiceInstance.class);
+		Mockito.when(instance3.getWeight()).thenReturn(1);
+		Mockito.when(instance3.getActiveRequests()).thenReturn(0L);
+
+		PeakEwmaTrafficLoadBalancer.Factory factory = new PeakEwmaTrafficLoadBalancer.Factory(3, 60000);
+
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> peakEwmaLoadBalancer = factory.create(List.of(instance1, instance2));
+		HttpServiceInstance slowInstance = this.exchange(peakEwmaLoadBalancer, 50);
+		HttpServiceInstance fastInstance = slowInstance == instance1 ? instance2 : instance1;
+		Assertions.assertEquals(fastInstance, this.exchange(peakEwmaLoadBalancer, 1));
+
+		// The load balancer is recreated when instances are refreshed: latencies measured so far must be preserved
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> refreshedLoadBalancer = factory.create(List.of(slowInstance, fastInstance));
+		Assertions.assertEquals(fastInstance, refreshedLoadBalancer.next(null).block());
+		Assertions.assertEquals(fastInstance, refreshedLoadBalancer.next(null).block());
+
+		// A new instance has no latency measured yet
+		refreshedLoadBalancer = factory.create(List.of(slowInstance, fastInstance, instance3));
+		Assertions.assertEquals(instance3, refreshedLoadBalancer.next(null).block());
+
+		// Load balancers created by another factory do not share latencies: both instances have no cost, the first one is selected
+		TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> otherLoadBalancer = new PeakEwmaTrafficLoadBalancer.Factory(3, 60000).create(List.of(slowInstance, fastInstance));
+		Assertions.assertEquals(slowInstance, otherLoadBalancer.next(null).block());
+	}
+
+	@SuppressWarnings("unchecked")
+	private HttpServiceInstance exchange(TrafficLoadBalancer<HttpServiceInstance, UnboundExchange<?>> loadBalancer, long latency) throws InterruptedException {
+		UnboundExchange<?> exchange = Mockito.mock(UnboundExchange.class);
+		HttpServiceInstance instance = loadBalancer.next(exchange).block();
+
+		ArgumentCaptor<ExchangeInterceptor<?, ?>> interceptorCaptor = ArgumentCaptor.forClass(ExchangeInterceptor.class);
+		Mockito.verify(exchange).intercept((ExchangeInterceptor)interceptorCaptor.capture());
+
+		InterceptedResponseBody responseBody = Mockito.mock(InterceptedResponseBody.class);
+		InterceptedResponse response = Mockito.mock(InterceptedResponse.class);
+		Mockito.when(response.body()).thenReturn(responseBody);
+		InterceptedExchange<?> interceptedExchange = Mockito.mock(InterceptedExchange.class);
+		Mockito.when(interceptedExchange.response()).thenReturn(response);
+
+		((ExchangeInterceptor)interceptorCaptor.getValue()).intercept(interceptedExchange).block();
+
+		ArgumentCaptor<Function<Publisher<ByteBuf>, Publisher<ByteBuf>>> transformerCaptor = ArgumentCaptor.forClass(Function.class);
+		Mockito.verify(responseBody).transform(transformerCaptor.capture());
+
+		Thread.sleep(latency);
+		transformerCaptor.getValue().apply(Mono.empty());
+
+		return instance;
+	}
+}
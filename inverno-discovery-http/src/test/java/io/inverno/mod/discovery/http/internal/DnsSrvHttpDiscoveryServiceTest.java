@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.internal;
+
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.base.net.NetService;
+import io.inverno.mod.discovery.ManageableService;
+import io.inverno.mod.discovery.ServiceID;
+import io.inverno.mod.discovery.http.HttpServiceInstance;
+import io.inverno.mod.discovery.http.HttpTrafficPolicy;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.client.Endpoint;
+import io.inverno.mod.http.client.Exchange;
+import io.inverno.mod.http.client.HttpClient;
+import io.inverno.mod.http.client.InterceptedExchange;
+import io.inverno.mod.http.client.UnboundExchange;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.resolver.dns.SingletonDnsServerAddressStreamProvider;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class DnsSrvHttpDiscoveryServiceTest {
+
+	private EventLoopGroup eventLoopGroup;
+	private NetService netService;
+	private Reactor reactor;
+
+	@BeforeEach
+	public void init() {
+		this.eventLoopGroup = new NioEventLoopGroup(1);
+		this.netService = Mockito.mock(NetService.class);
+		Mockito.when(this.netService.getDatagramChannelFactory()).thenAnswer(invocation -> (ChannelFactory<NioDatagramChannel>)NioDatagramChannel::new);
+		this.reactor = Mockito.mock(Reactor.class);
+		Mockito.when(this.reactor.getEventLoop()).thenAnswer(invocation -> this.eventLoopGroup.next());
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.eventLoopGroup.shutdownGracefully();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static HttpClient mockHttpClient() {
+		HttpClient httpClient = Mockito.mock(HttpClient.class);
+		Mockito.when(httpClient.endpoint(Mockito.any(InetSocketAddress.class))).thenAnswer(invocation -> {
+			InetSocketAddress address = invocation.getArgument(0);
+			Endpoint<ExchangeContext> endpoint = Mockito.mock(Endpoint.class);
+			Mockito.when(endpoint.getRemoteAddress()).thenReturn(address);
+			Mockito.when(endpoint.shutdown()).thenReturn(Mono.empty());
+			Mockito.when(endpoint.shutdownGracefully()).thenReturn(Mono.empty());
+
+			HttpClient.EndpointBuilder<ExchangeContext, Exchange<ExchangeContext>, InterceptedExchange<ExchangeContext>> endpointBuilder = Mockito.mock(HttpClient.EndpointBuilder.class);
+			Mockito.when(endpointBuilder.configuration(Mockito.any())).thenReturn(endpointBuilder);
+			Mockito.when(endpointBuilder.netConfiguration(Mockito.any())).thenReturn(endpointBuilder);
+			Mockito.when(endpointBuilder.build()).thenReturn(endpoint);
+			return endpointBuilder;
+		});
+		return httpClient;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_resolve() throws UnknownHostException {
+		try(NettyDnsServer dnsServer = new NettyDnsServer(60)) {
+			dnsServer.setSrvEntry("_https._tcp.example.org.", List.of(
+				new NettyDnsServer.SrvEntry(10, 60, 8443, "a.example.org"),
+				new NettyDnsServer.SrvEntry(10, 20, 9443, "b.example.org"),
+				new NettyDnsServer.SrvEntry(20, 1, 10443, "c.example.org")
+			));
+			dnsServer.setIpv4Entry("a.example.org.", List.of((Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,4})));
+			dnsServer.setIpv4Entry("b.example.org.", List.of((Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,5})));
+			dnsServer.setIpv4Entry("c.example.org.", List.of((Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,6})));
+
+			HttpClient httpClient = mockHttpClient();
+			DnsSrvHttpDiscoveryService discoveryService = new DnsSrvHttpDiscoveryService(httpClient, this.netService, this.reactor, new SingletonDnsServerAddressStreamProvider(new InetSocketAddress("127.0.0.1", dnsServer.getPort())));
+			try {
+				ManageableService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> service = (ManageableService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy>)discoveryService.resolve(ServiceID.of("https+srv://example.org")).block();
+				Assertions.assertNotNull(service);
+
+				Assertions.assertEquals(
+					Map.of(
+						new InetSocketAddress(InetAddress.getByAddress(new byte[] {1,2,3,4}), 8443), 100,
+						new InetSocketAddress(InetAddress.getByAddress(new byte[] {1,2,3,5}), 9443), 33
+					),
+					service.getInstances().stream().collect(Collectors.toMap(HttpServiceInstance::getRemoteAddress, HttpServiceInstance::getWeight))
+				);
+
+				service.shutdown().block();
+
+				Assertions.assertNull(discoveryService.resolve(ServiceID.of("https+srv://unknown.org")).block());
+			}
+			finally {
+				discoveryService.destroy();
+			}
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_ttl() throws UnknownHostException {
+		try(NettyDnsServer dnsServer = new NettyDnsServer(1)) {
+			dnsServer.setSrvEntry("_api._tcp.example.org.", List.of(new NettyDnsServer.SrvEntry(10, 1, 8080, "a.example.org")));
+			dnsServer.setIpv4Entry("a.example.org.", List.of((Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,4})));
+
+			HttpClient httpClient = mockHttpClient();
+			DnsSrvHttpDiscoveryService discoveryService = new DnsSrvHttpDiscoveryService(httpClient, this.netService, this.reactor, new SingletonDnsServerAddressStreamProvider(new InetSocketAddress("127.0.0.1", dnsServer.getPort())));
+			try {
+				ManageableService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy> service = (ManageableService<HttpServiceInstance, UnboundExchange<?>, HttpTrafficPolicy>)discoveryService.resolve(ServiceID.of("http+srv://_api._tcp.example.org")).block();
+				Assertions.assertNotNull(service);
+				Assertions.assertEquals(List.of(new InetSocketAddress(InetAddress.getByAddress(new byte[] {1,2,3,4}), 8080)), service.getInstances().stream().map(HttpServiceInstance::getRemoteAddress).collect(Collectors.toList()));
+
+				Mono<ServiceID> change = discoveryService.watch().next().cache();
+				change.subscribe();
+
+				dnsServer.setIpv4Entry("a.example.org.", List.of((Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,4}), (Inet4Address)InetAddress.getByAddress(new byte[] {1,2,3,5})));
+
+				// records are prefetched before they expire
+				Assertions.assertEquals(ServiceID.of("http+srv://_api._tcp.example.org"), change.block(Duration.ofSeconds(3)));
+				Assertions.assertEquals(2, service.getInstances().size());
+
+				service.shutdown().block();
+			}
+			finally {
+				discoveryService.destroy();
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery.http.internal;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.codec.dns.DatagramDnsQuery;
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder;
+import io.netty.handler.codec.dns.DatagramDnsResponse;
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder;
+import io.netty.handler.codec.dns.DefaultDnsRawRecord;
+import io.netty.handler.codec.dns.DnsQuestion;
+import io.netty.handler.codec.dns.DnsRecordType;
+import io.netty.handler.codec.dns.DnsSection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Inet4Address;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An in-process DNS server answering A and SRV queries.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class NettyDnsServer implements AutoCloseable {
+
+	private final int port;
+	private final Map<String, List<Inet4Address>> ipv4Entries;
+	private final Map<String, List<SrvEntry>> srvEntries;
+
+	private volatile long recordTtl;
+
+	private final EventLoopGroup eventLoopGroup;
+	private final Channel channel;
+
+	public NettyDnsServer(long recordTtl) {
+		try (ServerSocket serverSocket = new ServerSocket(0)) {
+			this.port = serverSocket.getLocalPort();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.recordTtl = recordTtl;
+		this.ipv4Entries = new ConcurrentHashMap<>();
+		this.srvEntries = new ConcurrentHashMap<>();
+
+		this.eventLoopGroup = new NioEventLoopGroup(1);
+		Bootstrap bootstrap = new Bootstrap()
+			.group(this.eventLoopGroup)
+			.channel(NioDatagramChannel.class)
+			.handler(new ChannelInitializer<Channel>() {
+
+				@Override
+				protected void initChannel(Channel channel) throws Exception {
+					channel.pipeline().addLast(
+						new DatagramDnsQueryDecoder(),
+						new DatagramDnsResponseEncoder(),
+						new SimpleChannelInboundHandler<DatagramDnsQuery>() {
+
+							@Override
+							protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query) throws Exception {
+								DnsQuestion question = query.recordAt(DnsSection.QUESTION);
+
+								DatagramDnsResponse response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id());
+								response.addRecord(DnsSection.QUESTION, question);
+
+								if(question.type().equals(DnsRecordType.A)) {
+									for(Inet4Address address : ipv4Entries.getOrDefault(question.name(), List.of())) {
+										response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.A, recordTtl, Unpooled.wrappedBuffer(address.getAddress())));
+									}
+								}
+								else if(question.type().equals(DnsRecordType.SRV)) {
+									for(SrvEntry srvEntry : srvEntries.getOrDefault(question.name(), List.of())) {
+										ByteBuf content = Unpooled.buffer();
+										content.writeShort(srvEntry.priority);
+										content.writeShort(srvEntry.weight);
+										content.writeShort(srvEntry.port);
+										for(String label : srvEntry.target.split("\\.")) {
+											byte[] labelBytes = label.getBytes(StandardCharsets.US_ASCII);
+											content.writeByte(labelBytes.length);
+											content.writeBytes(labelBytes);
+										}
+										content.writeByte(0);
+										response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.SRV, recordTtl, content));
+									}
+								}
+
+								ctx.writeAndFlush(response);
+							}
+						}
+					);
+				}
+			});
+
+		this.channel = bootstrap.bind(this.port).syncUninterruptibly().channel();
+	}
+
+	public int getPort() {
+		return this.port;
+	}
+
+	public void setRecordTtl(long recordTtl) {
+		this.recordTtl = recordTtl;
+	}
+
+	public void setIpv4Entry(String hostName, List<Inet4Address> addresses) {
+		this.ipv4Entries.put(hostName, addresses);
+	}
+
+	public void setSrvEntry(String name, List<SrvEntry> entries) {
+		this.srvEntries.put(name, entries);
+	}
+
+	@Override
+	public void close() {
+		this.channel.close().syncUninterruptibly();
+		this.eventLoopGroup.shutdownGracefully();
+	}
+
+	public static class SrvEntry {
+
+		private final int priority;
+		private final int weight;
+		private final int port;
+		private final String target;
+
+		public SrvEntry(int priority, int weight, int port, String target) {
+			this.priority = priority;
+			this.weight = weight;
+			this.port = port;
+			this.target = target;
+		}
+	}
+}
@@ -0,0 +1,545 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * Base DNS SRV based discovery service.
+ * </p>
+ *
+ * <p>
+ * Services are resolved by looking up the SRV records obtained with {@link #resolveSrv(ServiceID)}, the target of each SRV record is then resolved into one or more addresses with
+ * {@link #resolveAddresses(String)}. As specified by <a href="https://datatracker.ietf.org/doc/html/rfc2782">RFC 2782</a>, only the records with the lowest priority resolving to at least one address
+ * are considered, other records being used as fallback. The weight of a record is normalized and passed to {@link #createServiceInstance(ServiceID, TrafficPolicy, InetSocketAddress, int)} in order
+ * to create weighted service instances.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link AbstractDnsDiscoveryService}, a resolved service honors the time to live of the DNS records it was resolved from: records are prefetched in the background before they expire and the
+ * service is refreshed accordingly. Refreshing a service before its records have expired does not result in a DNS lookup. When a DNS lookup fails, the service keeps the last known instances and
+ * retries after {@link #FAILURE_RETRY_DELAY}. A service is gone when no record is found.
+ * </p>
+ *
+ * <p>
+ * The discovery service is watchable and notifies the ID of a service whose instances have changed after a prefetch.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <A> the type of service instance
+ * @param <B> the type of service request
+ * @param <C> the type of traffic policy
+ */
+public abstract class AbstractDnsSrvDiscoveryService<A extends ServiceInstance, B, C extends TrafficPolicy<A, B>> extends AbstractDiscoveryService<A, B, C> implements WatchableDiscoveryService<A, B, C> {
+
+	private static final Logger LOGGER = LogManager.getLogger(AbstractDnsSrvDiscoveryService.class);
+
+	/**
+	 * The minimum time to live in milliseconds applied to resolved records.
+	 */
+	public static final long MIN_TIME_TO_LIVE = 1000;
+
+	/**
+	 * The delay in milliseconds before retrying a failed DNS lookup.
+	 */
+	public static final long FAILURE_RETRY_DELAY = 5000;
+
+	/**
+	 * The fraction of the time to live after which records are prefetched.
+	 */
+	public static final float PREFETCH_RATIO = 0.8f;
+
+	/**
+	 * The maximum weight of a service instance, SRV record weights are normalized between 1 and this value.
+	 */
+	public static final int MAX_WEIGHT = 100;
+
+	private final Sinks.Many<ServiceID> changesSink;
+
+	/**
+	 * <p>
+	 * Creates a DNS SRV discovery service.
+	 * </p>
+	 *
+	 * @param supportedSchemes the set of supported schemes
+	 */
+	public AbstractDnsSrvDiscoveryService(Set<String> supportedSchemes) {
+		super(supportedSchemes);
+		this.changesSink = Sinks.many().multicast().directBestEffort();
+	}
+
+	/**
+	 * <p>
+	 * Resolves the SRV records of the specified service.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned mono shall emit an empty list when no record exists for the service and fail when the lookup failed.
+	 * </p>
+	 *
+	 * @param serviceId a service ID
+	 *
+	 * @return a mono emitting the list of SRV records
+	 */
+	protected abstract Mono<List<SrvRecord>> resolveSrv(ServiceID serviceId);
+
+	/**
+	 * <p>
+	 * Resolves the addresses of the specified SRV record target.
+	 * </p>
+	 *
+	 * @param target an SRV record target
+	 *
+	 * @return a mono emitting the list of address records
+	 */
+	protected abstract Mono<List<AddressRecord>> resolveAddresses(String target);
+
+	/**
+	 * <p>
+	 * Creates a weighted service instance from the specified resolved Inet Socket Address.
+	 * </p>
+	 *
+	 * @param serviceId       the service ID
+	 * @param trafficPolicy   the traffic policy
+	 * @param resolvedAddress the resolved address
+	 * @param weight          the normalized weight of the SRV record
+	 *
+	 * @return a new service instance
+	 */
+	protected abstract A createServiceInstance(ServiceID serviceId, C trafficPolicy, InetSocketAddress resolvedAddress, int weight);
+
+	@Override
+	protected final Mono<? extends Service<A, B, C>> doResolve(ServiceID serviceId, C trafficPolicy) {
+		DnsSrvService dnsSrvService = new DnsSrvService(serviceId);
+		return dnsSrvService.refresh(trafficPolicy);
+	}
+
+	@Override
+	public Flux<ServiceID> watch() {
+		return this.changesSink.asFlux();
+	}
+
+	/**
+	 * <p>
+	 * Notifies watchers that a service has changed.
+	 * </p>
+	 *
+	 * @param serviceId the ID of the service that has changed
+	 */
+	private synchronized void onServiceChange(ServiceID serviceId) {
+		this.changesSink.tryEmitNext(serviceId);
+	}
+
+	/**
+	 * <p>
+	 * Looks up the SRV records of a service and resolves their targets.
+	 * </p>
+	 *
+	 * @param serviceId the service ID
+	 *
+	 * @return a mono emitting the resolution or an empty mono if the service does not exist
+	 */
+	private Mono<Resolution> lookup(ServiceID serviceId) {
+		return this.resolveSrv(serviceId)
+			.flatMap(srvRecords -> {
+				if(srvRecords.isEmpty()) {
+					return Mono.empty();
+				}
+				long srvTimeToLive = srvRecords.stream().mapToLong(SrvRecord::getTimeToLive).min().getAsLong();
+
+				TreeMap<Integer, List<SrvRecord>> recordsByPriority = new TreeMap<>();
+				for(SrvRecord srvRecord : srvRecords) {
+					recordsByPriority.computeIfAbsent(srvRecord.getPriority(), ign -> new ArrayList<>()).add(srvRecord);
+				}
+
+				// Use the first priority group that resolves to at least one address, the lookup fails if no target could be resolved due to errors
+				AtomicReference<Throwable> targetError = new AtomicReference<>();
+				return Flux.fromIterable(recordsByPriority.values())
+					.concatMap(priorityRecords -> this.resolvePriorityGroup(serviceId, priorityRecords, srvTimeToLive, targetError))
+					.next()
+					.switchIfEmpty(Mono.defer(() -> targetError.get() != null ? Mono.<Resolution>error(targetError.get()) : Mono.<Resolution>empty()));
+			});
+	}
+
+	/**
+	 * <p>
+	 * Resolves the targets of a group of SRV records with the same priority.
+	 * </p>
+	 *
+	 * @param serviceId       the service ID
+	 * @param priorityRecords the SRV records
+	 * @param srvTimeToLive   the time to live of the SRV records in seconds
+	 * @param targetError     a reference to the last target resolution error
+	 *
+	 * @return a mono emitting the resolution or an empty mono if no target could be resolved
+	 */
+	private Mono<Resolution> resolvePriorityGroup(ServiceID serviceId, List<SrvRecord> priorityRecords, long srvTimeToLive, AtomicReference<Throwable> targetError) {
+		int maxWeight = priorityRecords.stream().mapToInt(SrvRecord::getWeight).max().orElse(0);
+		return Flux.fromIterable(priorityRecords)
+			.concatMap(srvRecord -> this.resolveAddresses(srvRecord.getTarget())
+				.onErrorResume(e -> {
+					LOGGER.warn("Failed to resolve target {} of service {}", srvRecord.getTarget(), serviceId, e);
+					targetError.set(e);
+					return Mono.just(List.of());
+				})
+				.map(addressRecords -> Map.entry(srvRecord, addressRecords))
+			)
+			.collectList()
+			.mapNotNull(resolvedRecords -> {
+				Map<InetSocketAddress, Integer> addresses = new LinkedHashMap<>();
+				long timeToLive = srvTimeToLive;
+				for(Map.Entry<SrvRecord, List<AddressRecord>> resolvedRecord : resolvedRecords) {
+					SrvRecord srvRecord = resolvedRecord.getKey();
+					// SRV weights range from 0 to 65535, they are normalized to keep load balancers reasonably sized
+					int weight = maxWeight > 0 ? Math.max(1, Math.round((float)srvRecord.getWeight() * MAX_WEIGHT / maxWeight)) : 1;
+					for(AddressRecord addressRecord : resolvedRecord.getValue()) {
+						addresses.merge(new InetSocketAddress(addressRecord.getAddress(), srvRecord.getPort()), weight, Integer::sum);
+						timeToLive = Math.min(timeToLive, addressRecord.getTimeToLive());
+					}
+				}
+				return addresses.isEmpty() ? null : new Resolution(addresses, Math.max(timeToLive * 1000, MIN_TIME_TO_LIVE));
+			});
+	}
+
+	/**
+	 * <p>
+	 * A DNS SRV record.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static final class SrvRecord {
+
+		private final int priority;
+		private final int weight;
+		private final int port;
+		private final String target;
+		private final long timeToLive;
+
+		/**
+		 * <p>
+		 * Creates an SRV record.
+		 * </p>
+		 *
+		 * @param priority   the priority of the target
+		 * @param weight     the relative weight of the target among targets with the same priority
+		 * @param port       the port of the service on the target
+		 * @param target     the target host name
+		 * @param timeToLive the time to live of the record in seconds
+		 */
+		public SrvRecord(int priority, int weight, int port, String target, long timeToLive) {
+			this.priority = priority;
+			this.weight = weight;
+			this.port = port;
+			this.target = Objects.requireNonNull(target);
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * <p>
+		 * Returns the priority of the target, lower values are preferred.
+		 * </p>
+		 *
+		 * @return the priority
+		 */
+		public int getPriority() {
+			return this.priority;
+		}
+
+		/**
+		 * <p>
+		 * Returns the relative weight of the target among targets with the same priority.
+		 * </p>
+		 *
+		 * @return the weight
+		 */
+		public int getWeight() {
+			return this.weight;
+		}
+
+		/**
+		 * <p>
+		 * Returns the port of the service on the target.
+		 * </p>
+		 *
+		 * @return the port
+		 */
+		public int getPort() {
+			return this.port;
+		}
+
+		/**
+		 * <p>
+		 * Returns the target host name.
+		 * </p>
+		 *
+		 * @return the target
+		 */
+		public String getTarget() {
+			return this.target;
+		}
+
+		/**
+		 * <p>
+		 * Returns the time to live of the record.
+		 * </p>
+		 *
+		 * @return the time to live in seconds
+		 */
+		public long getTimeToLive() {
+			return this.timeToLive;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A DNS address record (A or AAAA).
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static final class AddressRecord {
+
+		private final InetAddress address;
+		private final long timeToLive;
+
+		/**
+		 * <p>
+		 * Creates an address record.
+		 * </p>
+		 *
+		 * @param address    the address
+		 * @param timeToLive the time to live of the record in seconds
+		 */
+		public AddressRecord(InetAddress address, long timeToLive) {
+			this.address = Objects.requireNonNull(address);
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * <p>
+		 * Returns the address.
+		 * </p>
+		 *
+		 * @return the address
+		 */
+		public InetAddress getAddress() {
+			return this.address;
+		}
+
+		/**
+		 * <p>
+		 * Returns the time to live of the record.
+		 * </p>
+		 *
+		 * @return the time to live in seconds
+		 */
+		public long getTimeToLive() {
+			return this.timeToLive;
+		}
+	}
+
+	/**
+	 * <p>
+	 * The result of a DNS lookup.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static final class Resolution {
+
+		private final Map<InetSocketAddress, Integer> addresses;
+		private final long timeToLive;
+
+		/**
+		 * <p>
+		 * Creates a resolution.
+		 * </p>
+		 *
+		 * @param addresses  the resolved addresses with their weights
+		 * @param timeToLive the time to live of the resolution in milliseconds
+		 */
+		public Resolution(Map<InetSocketAddress, Integer> addresses, long timeToLive) {
+			this.addresses = addresses;
+			this.timeToLive = timeToLive;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A service resolved by DNS SRV lookup.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class DnsSrvService extends AbstractService<A, B, C> {
+
+		private volatile Resolution resolution;
+		private volatile long expiresAt;
+		private volatile long prefetchAt;
+
+		private Disposable prefetchDisposable;
+
+		/**
+		 * <p>
+		 * Creates a DNS SRV service.
+		 * </p>
+		 *
+		 * @param serviceId the service ID
+		 */
+		public DnsSrvService(ServiceID serviceId) {
+			super(serviceId);
+		}
+
+		@Override
+		public Mono<? extends Service<A, B, C>> refresh(C trafficPolicy) {
+			return super.refresh(trafficPolicy)
+				.doOnSuccess(service -> {
+					if(service != null) {
+						this.schedulePrefetch();
+					}
+					else {
+						this.cancelPrefetch();
+					}
+				});
+		}
+
+		@Override
+		protected Mono<Map<Integer, Supplier<A>>> resolveInstances(C trafficPolicy) {
+			return Mono.defer(() -> {
+					Resolution currentResolution = this.resolution;
+					if(currentResolution != null && System.currentTimeMillis() < this.expiresAt) {
+						return Mono.just(currentResolution);
+					}
+					return this.lookup();
+				})
+				.map(resolution -> {
+					Map<Integer, Supplier<A>> resolvedInstances = new HashMap<>();
+					resolution.addresses.forEach((address, weight) -> resolvedInstances.put(Objects.hash(address, weight, trafficPolicy), () -> AbstractDnsSrvDiscoveryService.this.createServiceInstance(this.serviceId, trafficPolicy, address, weight)));
+					return resolvedInstances;
+				});
+		}
+
+		/**
+		 * <p>
+		 * Looks up the service records, falling back to the last known resolution on failure.
+		 * </p>
+		 *
+		 * @return a mono emitting the resolution or an empty mono if the service is gone
+		 */
+		private Mono<Resolution> lookup() {
+			return AbstractDnsSrvDiscoveryService.this.lookup(this.serviceId)
+				.doOnSuccess(resolution -> {
+					long now = System.currentTimeMillis();
+					this.resolution = resolution;
+					if(resolution != null) {
+						this.expiresAt = now + resolution.timeToLive;
+						this.prefetchAt = now + (long)(resolution.timeToLive * PREFETCH_RATIO);
+					}
+				})
+				.onErrorResume(e -> {
+					Resolution lastResolution = this.resolution;
+					if(lastResolution == null) {
+						return Mono.error(e);
+					}
+					LOGGER.warn("Failed to resolve service {}, using last known instances", this.serviceId, e);
+					this.expiresAt = this.prefetchAt = System.currentTimeMillis() + FAILURE_RETRY_DELAY;
+					return Mono.just(lastResolution);
+				});
+		}
+
+		/**
+		 * <p>
+		 * Schedules the next prefetch of the service records.
+		 * </p>
+		 */
+		private synchronized void schedulePrefetch() {
+			if(this.prefetchDisposable != null) {
+				this.prefetchDisposable.dispose();
+			}
+			this.prefetchDisposable = Mono.delay(Duration.ofMillis(Math.max(this.prefetchAt - System.currentTimeMillis(), 0)))
+				.subscribe(ign -> this.prefetch());
+		}
+
+		/**
+		 * <p>
+		 * Cancels the next prefetch of the service records.
+		 * </p>
+		 */
+		private synchronized void cancelPrefetch() {
+			if(this.prefetchDisposable != null) {
+				this.prefetchDisposable.dispose();
+				this.prefetchDisposable = null;
+			}
+		}
+
+		/**
+		 * <p>
+		 * Prefetches the service records and refreshes the service, watchers are notified when the service has changed.
+		 * </p>
+		 */
+		private void prefetch() {
+			Resolution previousResolution = this.resolution;
+			this.expiresAt = 0;
+			this.refresh(this.getTrafficPolicy())
+				.subscribe(
+					service -> {},
+					e -> LOGGER.error("Failed to prefetch service {}", this.serviceId, e),
+					() -> {
+						Resolution currentResolution = this.resolution;
+						if(currentResolution == null || previousResolution == null || !currentResolution.addresses.equals(previousResolution.addresses)) {
+							AbstractDnsSrvDiscoveryService.this.onServiceChange(this.serviceId);
+						}
+					}
+				);
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return Mono.fromRunnable(this::cancelPrefetch).then(super.shutdown());
+		}
+
+		@Override
+		public Mono<Void> shutdownGracefully() {
+			return Mono.fromRunnable(this::cancelPrefetch).then(super.shutdownGracefully());
+		}
+	}
+}
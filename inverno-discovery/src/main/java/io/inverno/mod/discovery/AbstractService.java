@@ -96,7 +96,7 @@ public abstract class AbstractService<A extends ServiceInstance, B, C extends Tr
 	 * </p>
 	 * 
 	 * <p>
-	 * The load balancer is eventually recreated with the refreshed list of instances.
+	 * The load balancer is eventually recreated with the refreshed list of instances, it is kept as is when instances and traffic policy did not change in order to preserve its state.
 	 * </p>
 	 * 
 	 * @see #resolveInstances(TrafficPolicy)
@@ -109,9 +109,11 @@ public abstract class AbstractService<A extends ServiceInstance, B, C extends Tr
 				Map<Integer, A> newInstances = new HashMap<>(this.instances);
 
 				// keep same instances, shutdown removed ones, add new ones
+				boolean changed = false;
 				for(Iterator<Map.Entry<Integer,A>> instanceIterator = newInstances.entrySet().iterator(); instanceIterator.hasNext();) {
 					Map.Entry<Integer,A> instance = instanceIterator.next();
 					if(resolvedInstances.remove(instance.getKey()) == null) {
+						changed = true;
 						instanceIterator.remove();
 						instance.getValue().shutdownGracefully()
 							.doOnError(e -> LOGGER.error("Graceful shutdown error", e))
@@ -119,6 +121,11 @@ public abstract class AbstractService<A extends ServiceInstance, B, C extends Tr
 					}
 				}
 
+				if(!changed && resolvedInstances.isEmpty() && this.loadBalancer != null && trafficPolicy.equals(this.trafficPolicy)) {
+					// nothing changed
+					return this;
+				}
+
 				resolvedInstances.forEach((key, instanceFactory) -> newInstances.put(key, instanceFactory.get()));
 
 				// We have to synchronize to prevent race conditions, this is not ideal but invoking refresh concurrently would be an issue anyway: don't invoke refresh concurrently
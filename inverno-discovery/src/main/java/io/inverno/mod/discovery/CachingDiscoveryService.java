@@ -18,9 +18,12 @@ package io.inverno.mod.discovery;
 import io.inverno.mod.base.concurrent.CommandExecutor;
 import io.inverno.mod.base.concurrent.Reactor;
 import io.netty.channel.EventLoop;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -30,8 +33,10 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 /**
  * <p>
@@ -43,6 +48,12 @@ import reactor.core.publisher.Mono;
  * resolved service instances by {@code (serviceId, trafficPolicy)} hash and periodically refreshes those instances to keep them up to date.
  * </p>
  *
+ * <p>
+ * When the wrapped discovery service is a {@link WatchableDiscoveryService}, services it {@link WatchableDiscoveryService#isWatched(ServiceID) watches} are not periodically refreshed but refreshed
+ * as soon as a change is notified. Since a service refresh only creates instances that were added and shutdowns instances that were removed, instances that did not change and their connections
+ * are preserved.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.12
  *
@@ -61,6 +72,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 
 	private final EventLoop eventLoop;
 	private final DiscoveryService<A, B, C> discoveryService;
+	private final WatchableDiscoveryService<A, B, C> watchableDiscoveryService;
 	private final long timeToLive;
 
 	private final Map<Integer, Mono<? extends Service<A, B, C>>> serviceResolvers;
@@ -69,6 +81,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 	private final Mono<Long> refresher;
 
 	private ScheduledFuture<?> refreshFuture;
+	private Disposable watchDisposable;
 	private Mono<Void> shutdown;
 	private Mono<Void> shutdownGracefully;
 
@@ -89,6 +102,10 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 	 * Creates a caching discovery service wrapping the specified discovery service refreshing services after the specified time to live.
 	 * </p>
 	 *
+	 * <p>
+	 * The time to live does not apply to services watched by a {@link WatchableDiscoveryService}, it is however used as the delay before resubscribing to changes when watching fails.
+	 * </p>
+	 *
 	 * @param reactor          the reactor
 	 * @param discoveryService the discovery service resolving services
 	 * @param timeToLive       the service time to live in milliseconds
@@ -96,6 +113,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 	public CachingDiscoveryService(Reactor reactor, DiscoveryService<A, B, C> discoveryService, long timeToLive) {
 		this.eventLoop = reactor.getEventLoop();
 		this.discoveryService = discoveryService;
+		this.watchableDiscoveryService = discoveryService instanceof WatchableDiscoveryService ? (WatchableDiscoveryService<A, B, C>)discoveryService : null;
 		this.timeToLive = timeToLive;
 
 		this.serviceResolvers = new HashMap<>();
@@ -103,6 +121,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 		this.commandExecutor = new CommandExecutor<>(null);
 
 		this.refresher = Flux.fromIterable(this.services)
+			.filter(service -> !service.isWatched())
 			.flatMap(service -> {
 				if(System.currentTimeMillis() - service.getLastRefreshed() > this.timeToLive) {
 					// We reuse the latest traffic policy, it is changed on the resolved service that is intercepted in the cached discovery service
@@ -134,7 +153,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 	 * @param delay the delay in milliseconds
 	 */
 	private void scheduleRefresh(long delay) {
-		if(this.refreshFuture == null && !this.services.isEmpty()) {
+		if(this.refreshFuture == null && this.services.stream().anyMatch(service -> !service.isWatched())) {
 			this.refreshFuture = this.eventLoop.schedule(
 				() -> {
 					this.refreshFuture = null;
@@ -153,6 +172,46 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 		}
 	}
 
+	/**
+	 * <p>
+	 * Starts watching changes of the services resolved by the watchable discovery service if not already started.
+	 * </p>
+	 */
+	private void startWatch() {
+		if(this.watchDisposable == null) {
+			this.watchDisposable = this.watchableDiscoveryService.watch()
+				.retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(this.timeToLive))
+					.doBeforeRetry(signal -> LOGGER.error("Failed to watch services", signal.failure()))
+				)
+				.subscribe(this::onServiceChange);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Refreshes the cached services with the specified service ID after a change was notified.
+	 * </p>
+	 *
+	 * @param serviceId the ID of the service that has changed
+	 */
+	private void onServiceChange(ServiceID serviceId) {
+		this.commandExecutor.execute(ign -> {
+			List<CachedService> changedServices = new ArrayList<>();
+			for(CachedService service : this.services) {
+				if(service.isWatched() && service.getID().equals(serviceId)) {
+					changedServices.add(service);
+				}
+			}
+			for(CachedService service : changedServices) {
+				service.refresh(service.getOriginalTrafficPolicy())
+					.subscribe(
+						refreshedService -> {},
+						ex -> LOGGER.error("Failed to refresh service {}", service.getID(), ex)
+					);
+			}
+		});
+	}
+
 	@Override
 	public boolean supports(String scheme) {
 		return this.discoveryService.supports(scheme);
@@ -176,7 +235,12 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 						}
 						else {
 							this.services.add(cachedService);
-							this.scheduleRefresh(this.timeToLive);
+							if(cachedService.isWatched()) {
+								this.startWatch();
+							}
+							else {
+								this.scheduleRefresh(this.timeToLive);
+							}
 						}
 					})
 					.share()
@@ -204,6 +268,10 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 						this.refreshFuture.cancel(false);
 						this.refreshFuture = null;
 					}
+					if(this.watchDisposable != null) {
+						this.watchDisposable.dispose();
+						this.watchDisposable = null;
+					}
 				})
 				.then(Flux.fromIterable(this.services).flatMap(cachedService -> cachedService.unwrap().shutdown()).then())
 				.doFinally(ign -> {
@@ -234,6 +302,10 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 						this.refreshFuture.cancel(false);
 						this.refreshFuture = null;
 					}
+					if(this.watchDisposable != null) {
+						this.watchDisposable.dispose();
+						this.watchDisposable = null;
+					}
 				})
 				.then(Flux.fromIterable(this.services).flatMap(cachedService -> cachedService.unwrap().shutdownGracefully()).then())
 				.doFinally(ign -> {
@@ -256,6 +328,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 	private class CachedService implements Service<A, B, C> {
 
 		private final C originalTrafficPolicy;
+		private final boolean watched;
 
 		private Service<A, B, C> service;
 
@@ -269,6 +342,18 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 		public CachedService(C originalTrafficPolicy, Service<A, B, C> originalService) {
 			this.originalTrafficPolicy = originalTrafficPolicy;
 			this.service = originalService;
+			this.watched = CachingDiscoveryService.this.watchableDiscoveryService != null && CachingDiscoveryService.this.watchableDiscoveryService.isWatched(originalService.getID());
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the service is watched by the watchable discovery service.
+		 * </p>
+		 *
+		 * @return true if the service is refreshed on change, false if it is periodically refreshed
+		 */
+		public boolean isWatched() {
+			return this.watched;
 		}
 
 		public C getOriginalTrafficPolicy() {
@@ -324,7 +409,7 @@ public class CachingDiscoveryService<A extends ServiceInstance, B, C extends Tra
 					.switchIfEmpty(Mono.create(sink -> CachingDiscoveryService.this.commandExecutor.execute(ign -> {
 						CachingDiscoveryService.this.serviceResolvers.remove(this.hashCode());
 						CachingDiscoveryService.this.services.remove(this);
-						this.shutdownGracefully().subscribe();
+						this.service.shutdownGracefully().subscribe();
 						sink.success();
 					})))
 					.flatMap(service -> Mono.create(sink -> CachingDiscoveryService.this.commandExecutor.execute(ign -> {
@@ -15,11 +15,13 @@
  */
 package io.inverno.mod.discovery;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -27,6 +29,11 @@ import reactor.core.publisher.Mono;
  * A composite discovery service composing multiple discovery services.
  * </p>
  *
+ * <p>
+ * The composite discovery service is watchable: a service is watched when it is watched by the composed {@link WatchableDiscoveryService} supporting its scheme, and changes emitted by all composed
+ * watchable discovery services are merged.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.12
  *
@@ -34,9 +41,10 @@ import reactor.core.publisher.Mono;
  * @param <B> the type of service request
  * @param <C> the type of traffic policy
  */
-public class CompositeDiscoveryService<A extends ServiceInstance, B, C extends TrafficPolicy<A, B>> implements DiscoveryService<A, B, C> {
+public class CompositeDiscoveryService<A extends ServiceInstance, B, C extends TrafficPolicy<A, B>> implements WatchableDiscoveryService<A, B, C> {
 
 	private final Map<String, DiscoveryService<A, B, C>> discoveryServicesMap;
+	private final Flux<ServiceID> watch;
 
 	/**
 	 * <p>
@@ -59,6 +67,14 @@ public class CompositeDiscoveryService<A extends ServiceInstance, B, C extends T
 			}
 		}
 		this.discoveryServicesMap = Collections.unmodifiableMap(tmpDiscoveryServicesMap);
+
+		List<Flux<ServiceID>> watches = new ArrayList<>();
+		for(DiscoveryService<? extends A, ? super B, ? super C> discoveryService : discoveryServices) {
+			if(discoveryService instanceof WatchableDiscoveryService) {
+				watches.add(Flux.defer(((WatchableDiscoveryService<?, ?, ?>)discoveryService)::watch));
+			}
+		}
+		this.watch = Flux.merge(watches);
 	}
 
 	@Override
@@ -79,4 +95,15 @@ public class CompositeDiscoveryService<A extends ServiceInstance, B, C extends T
 		}
 		return discoveryService.resolve(serviceId, trafficPolicy);
 	}
+
+	@Override
+	public boolean isWatched(ServiceID serviceId) {
+		DiscoveryService<A, B, C> discoveryService = this.discoveryServicesMap.get(serviceId.getScheme());
+		return discoveryService instanceof WatchableDiscoveryService && ((WatchableDiscoveryService<A, B, C>)discoveryService).isWatched(serviceId);
+	}
+
+	@Override
+	public Flux<ServiceID> watch() {
+		return this.watch;
+	}
 }
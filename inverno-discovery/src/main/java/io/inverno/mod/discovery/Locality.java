@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * The locality of a service instance defined by a region and a zone (e.g. {@code eu-west-1} and {@code eu-west-1a}).
+ * </p>
+ *
+ * <p>
+ * Localities are typically obtained from discovery metadata and used by load balancers to favor service instances located close to the client.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see ServiceInstance#getLocality()
+ */
+public final class Locality {
+
+	private final String region;
+	private final String zone;
+
+	/**
+	 * <p>
+	 * Creates a locality.
+	 * </p>
+	 *
+	 * @param region the region or null
+	 * @param zone   the zone or null
+	 */
+	private Locality(String region, String zone) {
+		this.region = region;
+		this.zone = zone;
+	}
+
+	/**
+	 * <p>
+	 * Returns the locality corresponding to the specified region and zone.
+	 * </p>
+	 *
+	 * @param region the region or null if unknown
+	 * @param zone   the zone or null if unknown
+	 *
+	 * @return a locality or null if both region and zone are null or blank
+	 */
+	public static Locality of(String region, String zone) {
+		region = region != null && !region.isBlank() ? region : null;
+		zone = zone != null && !zone.isBlank() ? zone : null;
+		if(region == null && zone == null) {
+			return null;
+		}
+		return new Locality(region, zone);
+	}
+
+	/**
+	 * <p>
+	 * Returns the region.
+	 * </p>
+	 *
+	 * @return the region or null if unknown
+	 */
+	public String getRegion() {
+		return this.region;
+	}
+
+	/**
+	 * <p>
+	 * Returns the zone.
+	 * </p>
+	 *
+	 * @return the zone or null if unknown
+	 */
+	public String getZone() {
+		return this.zone;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified locality is in the same zone as this locality.
+	 * </p>
+	 *
+	 * <p>
+	 * Zones are compared within a region: two localities specifying different regions are never in the same zone.
+	 * </p>
+	 *
+	 * @param other a locality
+	 *
+	 * @return true if both localities are in the same zone, false otherwise
+	 */
+	public boolean isSameZone(Locality other) {
+		return other != null && this.zone != null && this.zone.equals(other.zone) && (this.region == null || other.region == null || this.region.equals(other.region));
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified locality is in the same region as this locality.
+	 * </p>
+	 *
+	 * @param other a locality
+	 *
+	 * @return true if both localities are in the same region, false otherwise
+	 */
+	public boolean isSameRegion(Locality other) {
+		return other != null && this.region != null && this.region.equals(other.region);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		Locality locality = (Locality) o;
+		return Objects.equals(region, locality.region) && Objects.equals(zone, locality.zone);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(region, zone);
+	}
+
+	@Override
+	public String toString() {
+		return "Locality{" +
+			"region='" + region + '\'' +
+			", zone='" + zone + '\'' +
+			'}';
+	}
+}
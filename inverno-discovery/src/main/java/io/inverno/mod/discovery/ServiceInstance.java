@@ -56,4 +56,21 @@ public interface ServiceInstance {
 	 * @return a {@code Mono} which completes once the service instance is shutdown
 	 */
 	Mono<Void> shutdownGracefully();
+
+	/**
+	 * <p>
+	 * Returns the locality of the service instance.
+	 * </p>
+	 *
+	 * <p>
+	 * The locality is typically obtained from discovery metadata, it is used by locality-aware load balancers to keep traffic close to the client.
+	 * </p>
+	 *
+	 * @return the locality or null if unknown
+	 *
+	 * @since 1.14
+	 */
+	default Locality getLocality() {
+		return null;
+	}
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * <p>
+ * A discovery service that can notify changes of the services it resolved.
+ * </p>
+ *
+ * <p>
+ * A watchable discovery service pushes the ID of a service whenever the instances of that service might have changed (e.g. a DNS record expired, a Kubernetes endpoint slice was modified...). This
+ * allows a {@link CachingDiscoveryService} to refresh a service as soon as it changes instead of periodically polling the discovery service.
+ * </p>
+ *
+ * <p>
+ * Change events are only expected for services that are {@link #isWatched(ServiceID) watched}, other services resolved by the discovery service are periodically refreshed.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <A> the type of service instance
+ * @param <B> the type of service request
+ * @param <C> the type of traffic policy
+ */
+public interface WatchableDiscoveryService<A extends ServiceInstance, B, C extends TrafficPolicy<A, B>> extends DiscoveryService<A, B, C> {
+
+	/**
+	 * <p>
+	 * Determines whether changes of the specified service are notified by the discovery service.
+	 * </p>
+	 *
+	 * <p>
+	 * This returns true for all supported services by default.
+	 * </p>
+	 *
+	 * @param serviceId a service ID
+	 *
+	 * @return true if changes of the service are emitted by {@link #watch()}, false otherwise
+	 */
+	default boolean isWatched(ServiceID serviceId) {
+		return this.supports(serviceId);
+	}
+
+	/**
+	 * <p>
+	 * Returns a publisher emitting the ID of services whose instances might have changed.
+	 * </p>
+	 *
+	 * <p>
+	 * Subscribers are only notified of changes that occurred after subscription, a service ID received from this publisher indicates that services previously resolved for that service ID should
+	 * be refreshed.
+	 * </p>
+	 *
+	 * @return a publisher of service IDs
+	 */
+	Flux<ServiceID> watch();
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.discovery;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class AbstractDnsSrvDiscoveryServiceTest {
+
+	private static final TrafficPolicy<TestServiceInstance, Object> TRAFFIC_POLICY = RoundRobinTrafficLoadBalancer::new;
+
+	@Test
+	public void test_priority_and_weight() throws UnknownHostException {
+		TestDnsSrvDiscoveryService discoveryService = new TestDnsSrvDiscoveryService();
+		discoveryService.srvRecords.put("test", List.of(
+			new AbstractDnsSrvDiscoveryService.SrvRecord(10, 60, 8080, "a.test", 60),
+			new AbstractDnsSrvDiscoveryService.SrvRecord(10, 20, 8081, "b.test", 60),
+			new AbstractDnsSrvDiscoveryService.SrvRecord(20, 0, 8082, "c.test", 60)
+		));
+		discoveryService.addressRecords.put("a.test", List.of(new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.1"), 60)));
+		discoveryService.addressRecords.put("b.test", List.of(new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.2"), 60)));
+		discoveryService.addressRecords.put("c.test", List.of(new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.3"), 60)));
+
+		ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>> service = (ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>>)discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block();
+		Assertions.assertNotNull(service);
+		try {
+			Assertions.assertEquals(
+				Map.of(new InetSocketAddress("10.0.0.1", 8080), 100, new InetSocketAddress("10.0.0.2", 8081), 33),
+				service.getInstances().stream().collect(Collectors.toMap(TestServiceInstance::getAddress, TestServiceInstance::getWeight))
+			);
+		}
+		finally {
+			service.shutdown().block();
+		}
+
+		// Targets with the lowest priority can't be resolved: fallback to next priority
+		discoveryService.addressRecords.put("a.test", List.of());
+		discoveryService.addressRecords.remove("b.test");
+
+		service = (ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>>)discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block();
+		Assertions.assertNotNull(service);
+		try {
+			Assertions.assertEquals(
+				Map.of(new InetSocketAddress("10.0.0.3", 8082), 1),
+				service.getInstances().stream().collect(Collectors.toMap(TestServiceInstance::getAddress, TestServiceInstance::getWeight))
+			);
+		}
+		finally {
+			service.shutdown().block();
+		}
+	}
+
+	@Test
+	public void test_not_found() {
+		TestDnsSrvDiscoveryService discoveryService = new TestDnsSrvDiscoveryService();
+
+		Assertions.assertNull(discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block());
+	}
+
+	@Test
+	public void test_prefetch() throws UnknownHostException {
+		TestDnsSrvDiscoveryService discoveryService = new TestDnsSrvDiscoveryService();
+		discoveryService.srvRecords.put("test", List.of(new AbstractDnsSrvDiscoveryService.SrvRecord(10, 1, 8080, "a.test", 60)));
+		// the lowest TTL wins
+		discoveryService.addressRecords.put("a.test", List.of(new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.1"), 1)));
+
+		List<ServiceID> changes = new CopyOnWriteArrayList<>();
+		Disposable watch = discoveryService.watch().subscribe(changes::add);
+
+		ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>> service = (ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>>)discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block();
+		Assertions.assertNotNull(service);
+		try {
+			Assertions.assertEquals(1, discoveryService.srvLookups.get());
+			TestServiceInstance instance1 = service.getInstances().getFirst();
+
+			// records did not expire: no lookup
+			Assertions.assertSame(service, service.refresh(TRAFFIC_POLICY).block());
+			Assertions.assertEquals(1, discoveryService.srvLookups.get());
+
+			// records are prefetched before they expire, unchanged records are not notified
+			Awaitility.await().atMost(Duration.ofMillis(1500)).until(() -> discoveryService.srvLookups.get() >= 2);
+			Assertions.assertTrue(changes.isEmpty());
+			Assertions.assertEquals(List.of(instance1), service.getInstances());
+
+			discoveryService.addressRecords.put("a.test", List.of(
+				new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.1"), 1),
+				new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.2"), 1)
+			));
+
+			Awaitility.await().atMost(Duration.ofMillis(2000)).until(() -> !changes.isEmpty());
+			Assertions.assertEquals(ServiceID.of("test://test"), changes.getFirst());
+			Assertions.assertEquals(
+				Set.of(new InetSocketAddress("10.0.0.1", 8080), new InetSocketAddress("10.0.0.2", 8080)),
+				service.getInstances().stream().map(TestServiceInstance::getAddress).collect(Collectors.toSet())
+			);
+			Assertions.assertTrue(service.getInstances().contains(instance1));
+		}
+		finally {
+			watch.dispose();
+			service.shutdown().block();
+		}
+	}
+
+	@Test
+	public void test_last_known_good() throws UnknownHostException {
+		TestDnsSrvDiscoveryService discoveryService = new TestDnsSrvDiscoveryService();
+		discoveryService.srvRecords.put("test", List.of(new AbstractDnsSrvDiscoveryService.SrvRecord(10, 1, 8080, "a.test", 1)));
+		discoveryService.addressRecords.put("a.test", List.of(new AbstractDnsSrvDiscoveryService.AddressRecord(InetAddress.getByName("10.0.0.1"), 60)));
+
+		List<ServiceID> changes = new CopyOnWriteArrayList<>();
+		Disposable watch = discoveryService.watch().subscribe(changes::add);
+
+		ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>> service = (ManageableService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>>)discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block();
+		Assertions.assertNotNull(service);
+		try {
+			List<TestServiceInstance> instances = service.getInstances();
+
+			discoveryService.failing = true;
+			Awaitility.await().atMost(Duration.ofMillis(1500)).until(() -> discoveryService.srvLookups.get() >= 2);
+
+			// the service keeps the last known instances
+			Assertions.assertSame(service, service.refresh(TRAFFIC_POLICY).block());
+			Assertions.assertEquals(instances, service.getInstances());
+			Assertions.assertFalse(instances.getFirst().shutdown);
+			Assertions.assertTrue(changes.isEmpty());
+		}
+		finally {
+			watch.dispose();
+			service.shutdown().block();
+		}
+	}
+
+	@Test
+	public void test_initial_failure() {
+		TestDnsSrvDiscoveryService discoveryService = new TestDnsSrvDiscoveryService();
+		discoveryService.failing = true;
+
+		Assertions.assertThrows(IllegalStateException.class, () -> discoveryService.resolve(ServiceID.of("test://test"), TRAFFIC_POLICY).block());
+	}
+
+	private static class TestDnsSrvDiscoveryService extends AbstractDnsSrvDiscoveryService<TestServiceInstance, Object, TrafficPolicy<TestServiceInstance, Object>> {
+
+		final Map<String, List<SrvRecord>> srvRecords = new ConcurrentHashMap<>();
+		final Map<String, List<AddressRecord>> addressRecords = new ConcurrentHashMap<>();
+		final AtomicInteger srvLookups = new AtomicInteger();
+		volatile boolean failing;
+
+		public TestDnsSrvDiscoveryService() {
+			super(Set.of("test"));
+		}
+
+		@Override
+		protected Mono<List<SrvRecord>> resolveSrv(ServiceID serviceId) {
+			return Mono.fromSupplier(() -> {
+				this.srvLookups.incrementAndGet();
+				if(this.failing) {
+					throw new IllegalStateException("DNS server unavailable");
+				}
+				return this.srvRecords.getOrDefault(serviceId.getURI().getHost(), List.of());
+			});
+		}
+
+		@Override
+		protected Mono<List<AddressRecord>> resolveAddresses(String target) {
+			return Mono.fromSupplier(() -> {
+				List<AddressRecord> records = this.addressRecords.get(target);
+				if(records == null) {
+					throw new IllegalStateException("Unknown host: " + target);
+				}
+				return records;
+			});
+		}
+
+		@Override
+		protected TestServiceInstance createServiceInstance(ServiceID serviceId, TrafficPolicy<TestServiceInstance, Object> trafficPolicy, InetSocketAddress resolvedAddress, int weight) {
+			return new TestServiceInstance(resolvedAddress, weight);
+		}
+	}
+
+	private static class TestServiceInstance implements WeightedServiceInstance {
+
+		private final InetSocketAddress address;
+		private final int weight;
+
+		volatile boolean shutdown;
+
+		public TestServiceInstance(InetSocketAddress address, int weight) {
+			this.address = address;
+			this.weight = weight;
+		}
+
+		public InetSocketAddress getAddress() {
+			return this.address;
+		}
+
+		@Override
+		public int getWeight() {
+			return this.weight;
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return Mono.fromRunnable(() -> this.shutdown = true);
+		}
+
+		@Override
+		public Mono<Void> shutdownGracefully() {
+			return Mono.fromRunnable(() -> this.shutdown = true);
+		}
+	}
+}
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 /**
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
@@ -161,4 +162,69 @@ public class CachingDiscoveryServiceTest {
 			Mockito.verify(service).shutdown();
 		}
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_watch() {
+		try(EventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1)) {
+			Reactor reactor = Mockito.mock(Reactor.class);
+			Mockito.when(reactor.getEventLoop()).thenReturn(eventLoopGroup.next());
+
+			ServiceID serviceId = ServiceID.of("http://test");
+
+			Sinks.Many<ServiceID> changes = Sinks.many().multicast().directBestEffort();
+			WatchableDiscoveryService<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> discoveryService = Mockito.mock(WatchableDiscoveryService.class);
+			Mockito.when(discoveryService.isWatched(serviceId)).thenReturn(true);
+			Mockito.when(discoveryService.watch()).thenReturn(changes.asFlux());
+
+			TrafficPolicy<ServiceInstance, Object> trafficPolicy = Mockito.mock(TrafficPolicy.class);
+
+			ServiceInstance serviceInstance = Mockito.mock(ServiceInstance.class);
+
+			Service<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> service = Mockito.mock(Service.class);
+			Mockito.when(service.getID()).thenReturn(serviceId);
+			Mockito.when(service.getTrafficPolicy()).thenReturn(trafficPolicy);
+			Mockito.doReturn(Mono.just(service)).when(service).refresh(trafficPolicy);
+			Mockito.when(service.shutdown()).thenReturn(Mono.empty());
+			Mockito.when(service.shutdownGracefully()).thenReturn(Mono.empty());
+			Mockito.doReturn(Mono.just(serviceInstance)).when(service).getInstance(Mockito.any());
+
+			Mockito.doReturn(Mono.just(service)).when(discoveryService).resolve(serviceId, trafficPolicy);
+
+			CachingDiscoveryService<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> cachingDiscoveryService = new CachingDiscoveryService<>(reactor, discoveryService, 50);
+
+			Assertions.assertEquals(serviceInstance, cachingDiscoveryService.resolve(serviceId, trafficPolicy).flatMap(resolvedService -> resolvedService.getInstance(null)).block());
+
+			// watched services are not periodically refreshed
+			Awaitility.await().during(Duration.ofMillis(200)).atMost(Duration.ofMillis(1000)).untilAsserted(() -> {
+				Mockito.verify(service, Mockito.never()).refresh(trafficPolicy);
+			});
+
+			// changes of other services are ignored
+			changes.tryEmitNext(ServiceID.of("http://other"));
+			Awaitility.await().during(Duration.ofMillis(100)).atMost(Duration.ofMillis(1000)).untilAsserted(() -> {
+				Mockito.verify(service, Mockito.never()).refresh(trafficPolicy);
+			});
+
+			changes.tryEmitNext(serviceId);
+			Awaitility.await().atMost(Duration.ofMillis(1000)).untilAsserted(() -> {
+				Mockito.verify(service, Mockito.times(1)).refresh(trafficPolicy);
+			});
+
+			// the service is gone
+			Mockito.doReturn(Mono.empty()).when(service).refresh(trafficPolicy);
+			changes.tryEmitNext(serviceId);
+			Awaitility.await().atMost(Duration.ofMillis(1000)).untilAsserted(() -> {
+				Mockito.verify(service).shutdownGracefully();
+			});
+
+			// the service must be resolved again
+			Mockito.doReturn(Mono.just(service)).when(service).refresh(trafficPolicy);
+			Assertions.assertEquals(serviceInstance, cachingDiscoveryService.resolve(serviceId, trafficPolicy).flatMap(resolvedService -> resolvedService.getInstance(null)).block());
+			Mockito.verify(discoveryService, Mockito.times(2)).resolve(serviceId, trafficPolicy);
+
+			cachingDiscoveryService.shutdown().block();
+			Assertions.assertEquals(0, changes.currentSubscriberCount());
+		}
+	}
 }
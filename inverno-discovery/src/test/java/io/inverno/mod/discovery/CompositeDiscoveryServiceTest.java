@@ -21,6 +21,7 @@ import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
 
 /**
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
@@ -82,4 +83,23 @@ public class CompositeDiscoveryServiceTest {
 
 		Assertions.assertEquals("Unsupported scheme: http", Assertions.assertThrows(IllegalArgumentException.class, () -> compositeDiscoveryService.resolve(ServiceID.of("http://localhost:8080"), null)).getMessage());
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_watch() {
+		WatchableDiscoveryService<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> discoveryService1 = Mockito.mock(WatchableDiscoveryService.class);
+		Mockito.when(discoveryService1.getSupportedSchemes()).thenReturn(Set.of("scheme1"));
+		Mockito.when(discoveryService1.isWatched(Mockito.any())).thenReturn(true);
+		Mockito.when(discoveryService1.watch()).thenReturn(Flux.just(ServiceID.of("scheme1://a"), ServiceID.of("scheme1://b")));
+		DiscoveryService<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> discoveryService2 = Mockito.mock(DiscoveryService.class);
+		Mockito.when(discoveryService2.getSupportedSchemes()).thenReturn(Set.of("scheme2"));
+
+		CompositeDiscoveryService<ServiceInstance, Object, TrafficPolicy<ServiceInstance, Object>> compositeDiscoveryService = new CompositeDiscoveryService<>(List.of(discoveryService1, discoveryService2));
+
+		Assertions.assertTrue(compositeDiscoveryService.isWatched(ServiceID.of("scheme1://a")));
+		Assertions.assertFalse(compositeDiscoveryService.isWatched(ServiceID.of("scheme2://a")));
+		Assertions.assertFalse(compositeDiscoveryService.isWatched(ServiceID.of("scheme3://a")));
+
+		Assertions.assertEquals(List.of(ServiceID.of("scheme1://a"), ServiceID.of("scheme1://b")), compositeDiscoveryService.watch().collectList().block());
+	}
 }
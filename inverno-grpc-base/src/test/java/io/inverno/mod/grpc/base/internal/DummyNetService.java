@@ -21,6 +21,8 @@ import io.inverno.mod.base.net.NetService;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.resolver.AddressResolverGroup;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -37,6 +39,11 @@ public class DummyNetService implements NetService {
 		throw new UnsupportedOperationException("Not supported yet.");
 	}
 
+	@Override
+	public ChannelFactory<? extends DatagramChannel> getDatagramChannelFactory() {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
 	@Override
 	public Bootstrap createClient(SocketAddress socketAddress) {
 		throw new UnsupportedOperationException("Not supported yet.");
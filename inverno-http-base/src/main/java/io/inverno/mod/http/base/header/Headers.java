@@ -57,6 +57,10 @@ public final class Headers {
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-5.3.5">RFC 7231 Section 5.3.5</a>.
 	 */
 	public static final String NAME_ACCEPT_LANGUAGE = "accept-language";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7233#section-2.3">RFC 7233 Section 2.3</a>.
+	 */
+	public static final String NAME_ACCEPT_RANGES = "accept-ranges";
 	/**
 	 * <a href="https://fetch.spec.whatwg.org/#http-cors-protocol">Fetch living standard 3.2 CORS protocol</a>.
 	 */
@@ -97,6 +101,10 @@ public final class Headers {
 	 * <a href="https://wicg.github.io/private-network-access/">Private Network Access</a>.
 	 */
 	public static final String NAME_ACCESS_CONTROL_REQUEST_PRIVATE_NETWORK = "access-control-request-private-network";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc9111#section-5.1">RFC 9111 Section 5.1</a>.
+	 */
+	public static final String NAME_AGE = "age";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-7.4.1">RFC 7231 Section 7.4.1</a>.
 	 */
@@ -121,10 +129,18 @@ public final class Headers {
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-3.1.2.2">RFC 7231 Section 3.1.2.2</a>.
 	 */
 	public static final String NAME_CONTENT_ENCODING = "content-encoding";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7232#section-2.3">RFC 7232 Section 2.3</a>.
+	 */
+	public static final String NAME_ETAG = "etag";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-5.1.1">RFC 7232 Section 5.1.1</a>.
 	 */
 	public static final String NAME_EXPECT = "expect";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7233#section-4.2">RFC 7233 Section 4.2</a>.
+	 */
+	public static final String NAME_CONTENT_RANGE = "content-range";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-3.1.1.5">RFC 7231 Section 3.1.1.5</a>.
 	 */
@@ -149,6 +165,18 @@ public final class Headers {
 	 * <a href="https://tools.ietf.org/html/rfc7540#section-3.2.1">RFC 7540 Section 3.2.1</a>.
 	 */
 	public static final String NAME_HTTP2_SETTINGS = "http2-settings";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7232#section-3.3">RFC 7232 Section 3.3</a>.
+	 */
+	public static final String NAME_IF_MODIFIED_SINCE = "if-modified-since";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7232#section-3.2">RFC 7232 Section 3.2</a>.
+	 */
+	public static final String NAME_IF_NONE_MATCH = "if-none-match";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7233#section-3.2">RFC 7233 Section 3.2</a>.
+	 */
+	public static final String NAME_IF_RANGE = "if-range";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7232#section-2.2">RFC 7232 Section 2.2</a>.
 	 */
@@ -163,6 +191,10 @@ public final class Headers {
 	 * <a href="https://fetch.spec.whatwg.org/#origin-header">Fetch living standard 3.1 Origin Header</a>.
 	 */
 	public static final String NAME_ORIGIN = "origin";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7233#section-3.1">RFC 7233 Section 3.1</a>.
+	 */
+	public static final String NAME_RANGE = "range";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-5.5.2">RFC 7231 Section 5.5.2</a>.
 	 */
@@ -222,7 +254,7 @@ public final class Headers {
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc9110#section-12.5.5">RFC 9110 Section 12.5.5</a>.
 	 */
-	public static final String NAME_VARY = "www-vary";
+	public static final String NAME_VARY = "vary";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7235#section-4.1">RFC 7235 Section 4.1</a>.
 	 */
@@ -255,6 +287,14 @@ public final class Headers {
 	 * <a href="https://tools.ietf.org/html/rfc7231#section-5.1.1">RFC 7232 Section 5.1.1</a>.
 	 */
 	public static final String VALUE_100_CONTINUE = "100-continue";
+	/**
+	 * brotli content encoding as defined by <a href="https://tools.ietf.org/html/rfc7932">RFC 7932</a>.
+	 */
+	public static final String VALUE_BR = "br";
+	/**
+	 * <a href="https://tools.ietf.org/html/rfc7233#section-2.1">RFC 7233 Section 2.1</a>.
+	 */
+	public static final String VALUE_BYTES = "bytes";
 	/**
 	 * <a href="https://tools.ietf.org/html/rfc7230#section-3.3.1">RFC 7230 Section 3.3.1</a>.
 	 */
@@ -295,6 +335,10 @@ public final class Headers {
 	 * x-gzip content encoding as defined by <a href="https://tools.ietf.org/html/rfc1952">RFC 1952</a>.
 	 */
 	public static final String VALUE_X_GZIP = "x-gzip";
+	/**
+	 * zstd content encoding as defined by <a href="https://tools.ietf.org/html/rfc8878">RFC 8878</a>.
+	 */
+	public static final String VALUE_ZSTD = "zstd";
 	
 	private Headers() {}
 	
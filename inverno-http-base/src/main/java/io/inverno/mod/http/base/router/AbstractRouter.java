@@ -17,8 +17,10 @@ package io.inverno.mod.http.base.router;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -64,6 +66,16 @@ import java.util.function.Consumer;
  * }
  * }</pre>
  *
+ * <p>
+ * A router can be {@link #freeze() frozen} in order to resolve resources using an immutable snapshot of the routing chain which can then be safely shared between threads without any
+ * synchronization. The snapshot is rebuilt each time the routing chain is modified.
+ * </p>
+ *
+ * <p>
+ * A {@link ResolutionCache} can also be {@link #cache(ResolutionCache) set} in front of the routing chain in order to avoid resolving the same inputs over and over again. The cache is invalidated
+ * each time the routing chain is modified.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.12
  *
@@ -78,8 +90,14 @@ import java.util.function.Consumer;
  */
 public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteManager<A, B, C, D, E>, E extends Router<A, B, C, D, E>, F extends RouteExtractor<A, C>> implements Router<A, B, C, D, E> {
 
+	private final Supplier<RoutingLink<A, B, C, F>> routingChainFactory;
 	private final FirstRoutingLink<A, B, C, F> routingChain;
 
+	private volatile boolean frozen;
+	private volatile FirstRoutingLink<A, B, C, F> snapshot;
+	private volatile ResolutionCache<A, B> resolutionCache;
+	private final Supplier<RoutingLink<A, B, C, F>> resolvingChain = this::getResolvingChain;
+
 	/**
 	 * <p>
 	 * Creates a router.
@@ -88,7 +106,8 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 * @param chainBuilder the routing chain builder
 	 */
 	protected AbstractRouter(RoutingLink.ChainBuilder<A, B, C, F> chainBuilder) {
-		this(chainBuilder.getRoutingChain());
+		this.routingChainFactory = chainBuilder::getRoutingChain;
+		this.routingChain = new FirstRoutingLink<>(chainBuilder.getRoutingChain());
 	}
 
 	/**
@@ -96,9 +115,14 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 * Creates a router.
 	 * </p>
 	 *
+	 * <p>
+	 * A router created from an existing routing chain can't be {@link #freeze() frozen}.
+	 * </p>
+	 *
 	 * @param firstLink the first link in the routing chain
 	 */
 	protected AbstractRouter(RoutingLink<A, B, C, F> firstLink) {
+		this.routingChainFactory = null;
 		this.routingChain = new FirstRoutingLink<>(firstLink);
 	}
 
@@ -139,8 +163,9 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 *
 	 * @param route the route to set
 	 */
-	protected void setRoute(C route) {
+	protected synchronized void setRoute(C route) {
 		this.routingChain.setRoute(route);
+		this.invalidateSnapshot();
 	}
 
 	/**
@@ -150,8 +175,9 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 *
 	 * @param route the route to remove
 	 */
-	protected void removeRoute(C route) {
+	protected synchronized void removeRoute(C route) {
 		this.routingChain.removeRoute(route);
+		this.invalidateSnapshot();
 	}
 
 	/**
@@ -161,8 +187,9 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 *
 	 * @param route the route to disable
 	 */
-	protected void disableRoute(C route) {
+	protected synchronized void disableRoute(C route) {
 		this.routingChain.disableRoute(route);
+		this.invalidateSnapshot();
 	}
 
 	/**
@@ -172,8 +199,125 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 	 *
 	 * @param route the route to enable
 	 */
-	protected void enableRoute(C route) {
+	protected synchronized void enableRoute(C route) {
 		this.routingChain.enableRoute(route);
+		this.invalidateSnapshot();
+	}
+
+	/**
+	 * <p>
+	 * Freezes the router.
+	 * </p>
+	 *
+	 * <p>
+	 * Once frozen, resources are resolved using an immutable snapshot of the routing chain. The routing chain can still be modified, the snapshot is then invalidated and atomically replaced by a new
+	 * snapshot built from the updated routing chain when the next resource is resolved. Resolving a resource on a valid snapshot doesn't require any synchronization.
+	 * </p>
+	 *
+	 * <p>
+	 * This should be preferred when routes are defined once and resolved concurrently by multiple threads.
+	 * </p>
+	 *
+	 * @return the router
+	 *
+	 * @throws IllegalStateException if the router was created from an existing routing chain
+	 */
+	@SuppressWarnings("unchecked")
+	public final synchronized E freeze() throws IllegalStateException {
+		if(this.routingChainFactory == null) {
+			throw new IllegalStateException("Router created from an existing routing chain can't be frozen");
+		}
+		this.frozen = true;
+		return (E)this;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the router is frozen.
+	 * </p>
+	 *
+	 * @return true if the router resolves resources using an immutable snapshot of the routing chain, false otherwise
+	 */
+	public final boolean isFrozen() {
+		return this.frozen;
+	}
+
+	/**
+	 * <p>
+	 * Sets a cache in front of the routing chain to resolve resources.
+	 * </p>
+	 *
+	 * <p>
+	 * Resources resolved by the routing chain are cached along with the parameters extracted from the input, subsequent inputs with the same cache key are then resolved from the cache. The cache
+	 * is invalidated each time the routing chain is modified.
+	 * </p>
+	 *
+	 * @param resolutionCache a resolution cache or null to disable caching
+	 *
+	 * @return the router
+	 */
+	@SuppressWarnings("unchecked")
+	public final synchronized E cache(ResolutionCache<A, B> resolutionCache) {
+		if(resolutionCache != null) {
+			resolutionCache.invalidate();
+		}
+		this.resolutionCache = resolutionCache;
+		return (E)this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the cache used to resolve resources.
+	 * </p>
+	 *
+	 * @return an optional returning the resolution cache or an empty optional if resolved resources are not cached
+	 */
+	public final Optional<ResolutionCache<A, B>> getResolutionCache() {
+		return Optional.ofNullable(this.resolutionCache);
+	}
+
+	/**
+	 * <p>
+	 * Invalidates the current snapshot of the routing chain and the resolution cache after a change.
+	 * </p>
+	 */
+	private void invalidateSnapshot() {
+		if(this.frozen) {
+			this.snapshot = null;
+		}
+		ResolutionCache<A, B> currentResolutionCache = this.resolutionCache;
+		if(currentResolutionCache != null) {
+			currentResolutionCache.invalidate();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the routing chain to use to resolve resources.
+	 * </p>
+	 *
+	 * <p>
+	 * This returns the current snapshot when the router is frozen, creating it if needed, or the actual routing chain otherwise.
+	 * </p>
+	 *
+	 * @return the routing chain to use to resolve resources
+	 */
+	private RoutingLink<A, B, C, F> getResolvingChain() {
+		FirstRoutingLink<A, B, C, F> currentSnapshot = this.snapshot;
+		if(currentSnapshot != null) {
+			return currentSnapshot;
+		}
+		if(!this.frozen) {
+			return this.routingChain;
+		}
+		synchronized(this) {
+			if(this.snapshot == null) {
+				FirstRoutingLink<A, B, C, F> newSnapshot = new FirstRoutingLink<>(this.routingChainFactory.get());
+				newSnapshot.setRoutes(this.getRoutes());
+				this.snapshot = newSnapshot;
+			}
+			return this.snapshot;
+		}
 	}
 
 	@Override
@@ -199,12 +343,16 @@ public abstract class AbstractRouter<A, B, C extends Route<A>, D extends RouteMa
 
 	@Override
 	public A resolve(B input) {
-		return this.routingChain.resolve(input);
+		ResolutionCache<A, B> currentResolutionCache = this.resolutionCache;
+		if(currentResolutionCache != null) {
+			return currentResolutionCache.resolve(input, this.resolvingChain);
+		}
+		return this.getResolvingChain().resolve(input);
 	}
 
 	@Override
 	public Collection<A> resolveAll(B input) {
-		return this.routingChain.resolveAll(input);
+		return this.getResolvingChain().resolveAll(input);
 	}
 
 	/**
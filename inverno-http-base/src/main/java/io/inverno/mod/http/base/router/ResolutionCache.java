@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.base.router;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A bounded cache of resolved resources placed in front of a {@link AbstractRouter router} routing chain.
+ * </p>
+ *
+ * <p>
+ * Resources are cached by key (e.g. method, path and content negotiation headers) in a least recently used cache local to the resolving thread, which is typically an event loop, so that no
+ * synchronization is required on lookup. The parameters extracted from the input when resolving a resource (e.g. path parameters) are cached along with the resource and injected in the input
+ * when the resource is resolved from the cache.
+ * </p>
+ *
+ * <p>
+ * The cache is invalidated by the router each time its routes are modified.
+ * </p>
+ *
+ * <p>
+ * Implementors must make sure that the key returned by {@link #getKey(Object)} contains all the criteria used by the routing chain to resolve a resource.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see AbstractRouter#cache(ResolutionCache)
+ *
+ * @param <A> the resource type
+ * @param <B> the input type
+ */
+public abstract class ResolutionCache<A, B> {
+
+	private final int maxSize;
+	private final FastThreadLocal<LocalCache<A>> localCache;
+	private final AtomicLong generation;
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
+
+	/**
+	 * <p>
+	 * Creates a resolution cache.
+	 * </p>
+	 *
+	 * @param maxSize the maximum number of entries per thread
+	 *
+	 * @throws IllegalArgumentException if the specified size is not strictly positive
+	 */
+	protected ResolutionCache(int maxSize) throws IllegalArgumentException {
+		if(maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be strictly positive");
+		}
+		this.maxSize = maxSize;
+		this.localCache = new FastThreadLocal<>() {
+
+			@Override
+			protected LocalCache<A> initialValue() {
+				return new LocalCache<>(ResolutionCache.this.maxSize);
+			}
+		};
+		this.generation = new AtomicLong();
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
+	}
+
+	/**
+	 * <p>
+	 * Returns the cache key corresponding to the specified input.
+	 * </p>
+	 *
+	 * <p>
+	 * The key must implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+	 * </p>
+	 *
+	 * @param input an input
+	 *
+	 * @return a cache key or null to bypass the cache
+	 */
+	protected abstract Object getKey(B input);
+
+	/**
+	 * <p>
+	 * Returns the parameters extracted from the specified input when resolving a resource.
+	 * </p>
+	 *
+	 * @param input an input
+	 *
+	 * @return an immutable map of parameters
+	 */
+	protected abstract Map<String, String> getParameters(B input);
+
+	/**
+	 * <p>
+	 * Injects cached parameters in the specified input when a resource is resolved from the cache.
+	 * </p>
+	 *
+	 * @param input      an input
+	 * @param parameters the parameters to inject
+	 */
+	protected abstract void setParameters(B input, Map<String, String> parameters);
+
+	/**
+	 * <p>
+	 * Returns the maximum number of entries cached per thread.
+	 * </p>
+	 *
+	 * @return the maximum cache size
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of resources resolved from the cache.
+	 * </p>
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of resources resolved from the routing chain because they were not cached.
+	 * </p>
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * <p>
+	 * Invalidates all cached entries.
+	 * </p>
+	 *
+	 * <p>
+	 * Thread local caches are actually cleared the next time they are accessed.
+	 * </p>
+	 */
+	void invalidate() {
+		this.generation.incrementAndGet();
+	}
+
+	/**
+	 * <p>
+	 * Resolves the resource best matching the specified input from the cache or from the routing chain.
+	 * </p>
+	 *
+	 * <p>
+	 * The routing chain is obtained after the cache generation has been read so that a resource resolved from an outdated routing chain can never be cached in a valid cache.
+	 * </p>
+	 *
+	 * @param input        an input
+	 * @param routingChain the routing chain supplier
+	 *
+	 * @return a resource or null
+	 */
+	final A resolve(B input, Supplier<? extends RoutingLink<A, B, ?, ?>> routingChain) {
+		Object key = this.getKey(input);
+		if(key == null) {
+			return routingChain.get().resolve(input);
+		}
+
+		LocalCache<A> cache = this.localCache.get();
+		long currentGeneration = this.generation.get();
+		if(cache.generation != currentGeneration) {
+			cache.entries.clear();
+			cache.generation = currentGeneration;
+		}
+
+		CacheEntry<A> entry = cache.entries.get(key);
+		if(entry != null) {
+			this.hitCount.increment();
+			if(!entry.parameters.isEmpty()) {
+				this.setParameters(input, entry.parameters);
+			}
+			return entry.resource;
+		}
+
+		this.missCount.increment();
+		A resource = routingChain.get().resolve(input);
+		if(resource != null) {
+			cache.entries.put(key, new CacheEntry<>(resource, this.getParameters(input)));
+		}
+		return resource;
+	}
+
+	/**
+	 * <p>
+	 * A thread local least recently used cache.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <A> the resource type
+	 */
+	private static class LocalCache<A> {
+
+		private final LinkedHashMap<Object, CacheEntry<A>> entries;
+
+		private long generation;
+
+		/**
+		 * <p>
+		 * Creates a thread local cache.
+		 * </p>
+		 *
+		 * @param maxSize the maximum number of entries
+		 */
+		public LocalCache(int maxSize) {
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry<A>> eldest) {
+					return this.size() > maxSize;
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>
+	 * A cache entry holding a resolved resource and the parameters extracted when resolving it.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <A> the resource type
+	 */
+	private static class CacheEntry<A> {
+
+		private final A resource;
+		private final Map<String, String> parameters;
+
+		/**
+		 * <p>
+		 * Creates a cache entry.
+		 * </p>
+		 *
+		 * @param resource   the resolved resource
+		 * @param parameters the extracted parameters
+		 */
+		public CacheEntry(A resource, Map<String, String> parameters) {
+			this.resource = resource;
+			this.parameters = parameters;
+		}
+	}
+}
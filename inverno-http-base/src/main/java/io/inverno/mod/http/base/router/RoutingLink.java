@@ -108,29 +108,32 @@ public abstract class RoutingLink<A, B, C extends Route<A>, D extends RouteExtra
 	 * sets the route on the default next link.
 	 * </p>
 	 *
-	 * @param route the route to set
+	 * @param route   the route to set
+	 * @param refresh true to refresh enabled links, false otherwise
 	 *
 	 * @return true if the route has been linked (i.e. a criteria is managed by the linked or links further down the chain), false otherwise
 	 */
-	private boolean setRoute0(C route) {
+	private boolean setRoute0(C route, boolean refresh) {
 		boolean linked = this.canLink(route);
 		if(linked) {
 			RoutingLink<A, B, C, D> link = this.getOrSetLink(route);
 			if(link == null) {
 				if(this.nextLink != null) {
-					linked = this.nextLink.setRoute0(route);
+					linked = this.nextLink.setRoute0(route, refresh);
 				}
 			}
-			else if (!link.setRoute0(route)) {
+			else if (!link.setRoute0(route, refresh)) {
 				// the rest of the chain hasn't consumed anything
 				link.resource = route.get(link.resource);
 			}
 		}
 		else if(this.nextLink != null) {
-			linked = this.nextLink.setRoute0(route);
+			linked = this.nextLink.setRoute0(route, refresh);
+		}
+		if(refresh) {
+			this.terminal = !this.hasLinks();
+			this.refreshEnabled();
 		}
-		this.terminal = !this.hasLinks();
-		this.refreshEnabled();
 		return linked;
 	}
 
@@ -204,26 +207,45 @@ public abstract class RoutingLink<A, B, C extends Route<A>, D extends RouteExtra
 	 * Disables the specified route on the routing chain.
 	 * </p>
 	 *
-	 * @param route the route to enable
+	 * @param route   the route to disable
+	 * @param refresh true to refresh enabled links, false otherwise
 	 *
 	 * @return true if the route was linked, false otherwise
 	 */
-	private boolean disableRoute0(C route) {
+	private boolean disableRoute0(C route, boolean refresh) {
 		boolean linked = this.canLink(route);
 		if(linked) {
 			RoutingLink<A, B, C, D> link = this.getLink(route);
 			if(link != null) {
-				if(!link.disableRoute0(route)) {
+				if(!link.disableRoute0(route, refresh)) {
 					link.disabled = link.resource != null;
 				}
 			}
 		}
 		else if (this.nextLink != null) {
-			linked = this.nextLink.disableRoute0(route);
+			linked = this.nextLink.disableRoute0(route, refresh);
+		}
+		if(refresh) {
+			this.terminal = !this.hasLinks();
+			this.refreshEnabled();
+		}
+		return linked;
+	}
+
+	/**
+	 * <p>
+	 * Refreshes enabled links in the whole routing chain starting from the end of the chain.
+	 * </p>
+	 */
+	private void refreshAll() {
+		for(RoutingLink<A, B, C, D> link : this.getLinks()) {
+			link.refreshAll();
+		}
+		if(this.nextLink != null) {
+			this.nextLink.refreshAll();
 		}
 		this.terminal = !this.hasLinks();
 		this.refreshEnabled();
-		return linked;
 	}
 
 	/**
@@ -403,7 +425,29 @@ public abstract class RoutingLink<A, B, C extends Route<A>, D extends RouteExtra
 	 * @param route the route to set
 	 */
 	public final void setRoute(C route) {
-		this.setRoute0(route);
+		this.setRoute0(route, true);
+	}
+
+	/**
+	 * <p>
+	 * Sets the specified routes in the routing chain.
+	 * </p>
+	 *
+	 * <p>
+	 * Unlike {@link #setRoute(Route)}, enabled links are refreshed once after all routes have been set which is more efficient when loading many routes in an empty routing chain. Disabled routes
+	 * are disabled in the routing chain.
+	 * </p>
+	 *
+	 * @param routes the routes to set
+	 */
+	final void setRoutes(Collection<C> routes) {
+		for(C route : routes) {
+			this.setRoute0(route, false);
+			if(route.isDisabled()) {
+				this.disableRoute0(route, false);
+			}
+		}
+		this.refreshAll();
 	}
 
 	/**
@@ -436,7 +480,7 @@ public abstract class RoutingLink<A, B, C extends Route<A>, D extends RouteExtra
 	 * @param route the route to disable
 	 */
 	public final void disableRoute(C route) {
-		this.disableRoute0(route);
+		this.disableRoute0(route, true);
 	}
 
 	/**
@@ -15,7 +15,7 @@
  */
 package io.inverno.mod.http.base.router.link;
 
-import io.inverno.mod.base.net.URIMatcher;
+import io.inverno.mod.base.net.PathPatternTrie;
 import io.inverno.mod.base.net.URIPattern;
 import io.inverno.mod.http.base.router.PathRoute;
 import io.inverno.mod.http.base.router.RoutingLink;
@@ -50,6 +50,7 @@ public abstract class PathRoutingLink<A, B, C extends PathRoute<A>, D extends Pa
 
 	private Map<String, RoutingLink<A, B, C, D>> enabledStaticLinks;
 	private Map<URIPattern, RoutingLink<A, B, C, D>> enabledPatternLinks;
+	private PathPatternTrie<RoutingLink<A, B, C, D>> enabledPatternTrie;
 
 	/**
 	 * <p>
@@ -60,6 +61,7 @@ public abstract class PathRoutingLink<A, B, C extends PathRoute<A>, D extends Pa
 		super();
 		this.staticLinks = this.enabledStaticLinks = new HashMap<>();
 		this.patternLinks = this.enabledPatternLinks = new HashMap<>();
+		this.enabledPatternTrie = new PathPatternTrie<>();
 	}
 
 	/**
@@ -73,6 +75,7 @@ public abstract class PathRoutingLink<A, B, C extends PathRoute<A>, D extends Pa
 		super(nextLinkFactory);
 		this.staticLinks = this.enabledStaticLinks = new HashMap<>();
 		this.patternLinks = this.enabledPatternLinks = new HashMap<>();
+		this.enabledPatternTrie = new PathPatternTrie<>();
 	}
 
 	/**
@@ -148,6 +151,10 @@ public abstract class PathRoutingLink<A, B, C extends PathRoute<A>, D extends Pa
 		this.enabledPatternLinks = this.patternLinks.entrySet().stream()
 			.filter(e -> e.getValue().isEnabled())
 			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+		PathPatternTrie<RoutingLink<A, B, C, D>> enabledPatternTrie = new PathPatternTrie<>();
+		this.enabledPatternLinks.forEach(enabledPatternTrie::put);
+		this.enabledPatternTrie = enabledPatternTrie;
 	}
 
 	@Override
@@ -164,17 +171,10 @@ public abstract class PathRoutingLink<A, B, C extends PathRoute<A>, D extends Pa
 		String normalizedPath = this.getNormalizedPath(input);
 		RoutingLink<A, B, C, D> link = this.enabledStaticLinks.get(normalizedPath);
 		if(link == null) {
-			URIMatcher bestMatchMatcher = null;
-			for(Map.Entry<URIPattern, RoutingLink<A, B, C, D>> e : this.enabledPatternLinks.entrySet()) {
-				URIMatcher matcher = e.getKey().matcher(normalizedPath);
-				if(matcher.matches() && (bestMatchMatcher == null || matcher.compareTo(bestMatchMatcher) > 0)) {
-					bestMatchMatcher = matcher;
-					link = e.getValue();
-				}
-			}
-
-			if(link != null) {
-				Map<String, String> rawPathParameters = bestMatchMatcher.getParameters();
+			PathPatternTrie.Match<RoutingLink<A, B, C, D>> match = this.enabledPatternTrie.match(normalizedPath);
+			if(match != null) {
+				link = match.getValue();
+				Map<String, String> rawPathParameters = match.getParameters();
 				if(!rawPathParameters.isEmpty()) {
 					this.setPathParameters(input, rawPathParameters);
 				}
@@ -15,7 +15,7 @@
  */
 package io.inverno.mod.http.base.router.link;
 
-import io.inverno.mod.base.net.URIMatcher;
+import io.inverno.mod.base.net.PathPatternTrie;
 import io.inverno.mod.base.net.URIPattern;
 import io.inverno.mod.http.base.router.RoutingLink;
 import io.inverno.mod.http.base.router.URIRoute;
@@ -50,6 +50,7 @@ public abstract class URIRoutingLink<A, B, C extends URIRoute<A>, D extends URIR
 
 	private Map<String, RoutingLink<A, B, C, D>> enabledStaticLinks;
 	private Map<URIPattern, RoutingLink<A, B, C, D>> enabledPatternLinks;
+	private PathPatternTrie<RoutingLink<A, B, C, D>> enabledPatternTrie;
 
 	/**
 	 * <p>
@@ -60,6 +61,7 @@ public abstract class URIRoutingLink<A, B, C extends URIRoute<A>, D extends URIR
 		super();
 		this.staticLinks = this.enabledStaticLinks = new HashMap<>();
 		this.patternLinks = this.enabledPatternLinks = new HashMap<>();
+		this.enabledPatternTrie = new PathPatternTrie<>();
 	}
 
 	/**
@@ -73,6 +75,7 @@ public abstract class URIRoutingLink<A, B, C extends URIRoute<A>, D extends URIR
 		super(nextLinkFactory);
 		this.staticLinks = this.enabledStaticLinks = new HashMap<>();
 		this.patternLinks = this.enabledPatternLinks = new HashMap<>();
+		this.enabledPatternTrie = new PathPatternTrie<>();
 	}
 
 	/**
@@ -148,6 +151,10 @@ public abstract class URIRoutingLink<A, B, C extends URIRoute<A>, D extends URIR
 		this.enabledPatternLinks = this.patternLinks.entrySet().stream()
 			.filter(e -> e.getValue().isEnabled())
 			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+		PathPatternTrie<RoutingLink<A, B, C, D>> enabledPatternTrie = new PathPatternTrie<>();
+		this.enabledPatternLinks.forEach(enabledPatternTrie::put);
+		this.enabledPatternTrie = enabledPatternTrie;
 	}
 
 	@Override
@@ -164,17 +171,10 @@ public abstract class URIRoutingLink<A, B, C extends URIRoute<A>, D extends URIR
 		String normalizedURI = this.getNormalizedURI(input);
 		RoutingLink<A, B, C, D> link = this.enabledStaticLinks.get(normalizedURI);
 		if(link == null) {
-			URIMatcher bestMatchMatcher = null;
-			for(Map.Entry<URIPattern, RoutingLink<A, B, C, D>> e : this.enabledPatternLinks.entrySet()) {
-				URIMatcher matcher = e.getKey().matcher(normalizedURI);
-				if (matcher.matches() && (bestMatchMatcher == null || matcher.compareTo(bestMatchMatcher) > 0)) {
-					bestMatchMatcher = matcher;
-					link = e.getValue();
-				}
-			}
-
-			if(link != null) {
-				Map<String, String> rawPathParameters = bestMatchMatcher.getParameters();
+			PathPatternTrie.Match<RoutingLink<A, B, C, D>> match = this.enabledPatternTrie.match(normalizedURI);
+			if(match != null) {
+				link = match.getValue();
+				Map<String, String> rawPathParameters = match.getParameters();
 				if(!rawPathParameters.isEmpty()) {
 					this.setURIParameters(input, rawPathParameters);
 				}
@@ -621,6 +621,93 @@ public class AbstractRouterTest {
 		Assertions.assertEquals("cd", router.resolve(new TestInput("a", "b", null)));
 	}
 
+	@Test
+	public void testFreeze() {
+		TestRouter router = new TestRouter();
+		TestRouter frozenRouter = new TestRouter().freeze();
+
+		Assertions.assertFalse(router.isFrozen());
+		Assertions.assertTrue(frozenRouter.isFrozen());
+
+		List<Consumer<TestRouter>> operations = List.of(
+			r -> r.setRoute(new TestRoute(r, null, null, null, "resource1")),
+			r -> r.setRoute(new TestRoute(r, "a", null, null, "resource2")),
+			r -> r.setRoute(new TestRoute(r, "a", "b", null, "resource3")),
+			r -> r.setRoute(new TestRoute(r, null, "b", "c", "resource4")),
+			r -> r.setRoute(new TestRoute(r, "a", "b", "c", "resource5")),
+			r -> r.disableRoute(new TestRoute(r, "a", null, null)),
+			r -> r.disableRoute(new TestRoute(r, "a", "b", "c")),
+			r -> r.enableRoute(new TestRoute(r, "a", null, null)),
+			r -> r.removeRoute(new TestRoute(r, "a", "b", null)),
+			r -> r.removeRoute(new TestRoute(r, null, null, null))
+		);
+
+		String[] as = {null, "a", "x"};
+		String[] bs = {null, "b", "y"};
+		String[] cs = {null, "c", "z"};
+		for(Consumer<TestRouter> operation : operations) {
+			operation.accept(router);
+			operation.accept(frozenRouter);
+
+			Assertions.assertEquals(router.getRoutes().size(), frozenRouter.getRoutes().size());
+			for(String a : as) {
+				for(String b : bs) {
+					for(String c : cs) {
+						TestInput input = new TestInput(a, b, c);
+						Assertions.assertEquals(router.resolve(input), frozenRouter.resolve(input));
+						Assertions.assertEquals(new ArrayList<>(router.resolveAll(input)), new ArrayList<>(frozenRouter.resolveAll(input)));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCache() {
+		TestRouter router = new TestRouter().freeze();
+		TestResolutionCache cache = new TestResolutionCache(2);
+		router.cache(cache);
+
+		Assertions.assertSame(cache, router.getResolutionCache().orElse(null));
+
+		router.setRoute(new TestRoute(router, null, null, null, "resource1"));
+		router.setRoute(new TestRoute(router, "a", null, null, "resource2"));
+
+		Assertions.assertEquals("resource2", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals("resource2", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals(1, cache.getHitCount());
+		Assertions.assertEquals(1, cache.getMissCount());
+
+		// Invalidated cache
+		router.setRoute(new TestRoute(router, "a", "b", null, "resource3"));
+		Assertions.assertEquals("resource3", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals(1, cache.getHitCount());
+		Assertions.assertEquals(2, cache.getMissCount());
+
+		router.disableRoute(new TestRoute(router, "a", "b", null));
+		Assertions.assertEquals("resource2", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals(3, cache.getMissCount());
+
+		// Evicted entry
+		Assertions.assertEquals("resource1", router.resolve(new TestInput("x", "y", "z")));
+		Assertions.assertEquals("resource1", router.resolve(new TestInput("x", null, null)));
+		Assertions.assertEquals("resource2", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals(1, cache.getHitCount());
+		Assertions.assertEquals(6, cache.getMissCount());
+
+		// Bypassed cache
+		Assertions.assertEquals("resource1", router.resolve(new TestInput(null, null, null)));
+		Assertions.assertEquals("resource1", router.resolve(new TestInput(null, null, null)));
+		Assertions.assertEquals(1, cache.getHitCount());
+		Assertions.assertEquals(6, cache.getMissCount());
+
+		router.cache(null);
+		Assertions.assertTrue(router.getResolutionCache().isEmpty());
+		Assertions.assertEquals("resource2", router.resolve(new TestInput("a", "b", "c")));
+		Assertions.assertEquals(1, cache.getHitCount());
+		Assertions.assertEquals(6, cache.getMissCount());
+	}
+
 	@Test
 	public void testGetRoutes() {
 		TestRouter router = new TestRouter();
@@ -842,6 +929,31 @@ public class AbstractRouterTest {
 		}
 	}
 
+	private static class TestResolutionCache extends ResolutionCache<String, TestInput> {
+
+		public TestResolutionCache(int maxSize) {
+			super(maxSize);
+		}
+
+		@Override
+		protected Object getKey(TestInput input) {
+			if(input.getA() == null && input.getB() == null && input.getC() == null) {
+				return null;
+			}
+			return Arrays.asList(input.getA(), input.getB(), input.getC());
+		}
+
+		@Override
+		protected Map<String, String> getParameters(TestInput input) {
+			return Map.of();
+		}
+
+		@Override
+		protected void setParameters(TestInput input, Map<String, String> parameters) {
+
+		}
+	}
+
 	private static class TestRouter extends AbstractRouter<String, TestInput, TestRoute, TestRouteManager, TestRouter, TestRouteExtractor> {
 
 		public TestRouter() {
@@ -94,6 +94,66 @@ public interface HttpClientConfiguration {
 	default int pool_max_size() {
 		return 2;
 	}
+
+	/**
+	 * <p>
+	 * The minimum number of connections to keep established in the pool, even when idle.
+	 * </p>
+	 *
+	 * <p>
+	 * The pool is topped up in the background by the clean task (see {@link #pool_clean_period()}) and idle connections are not closed below that size when reaching the keep alive timeout, their
+	 * liveness is checked instead (using a {@code PING} frame for HTTP/2 connections) and they are replaced if they are found dead.
+	 * </p>
+	 *
+	 * <p>
+	 * The value is capped to {@link #pool_max_size()}, defaults to {@code 0}.
+	 * </p>
+	 *
+	 * @return the minimum number of idle connections
+	 */
+	default int pool_min_idle_size() {
+		return 0;
+	}
+
+	/**
+	 * <p>
+	 * Enables connection warm-up when creating an endpoint.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, connections are established in the background as soon as the pool is created: {@link #pool_min_idle_size()} connections or a single connection if no minimum size was specified.
+	 * This allows to pay the connection and handshake cost before the first requests are sent.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code false}.
+	 * </p>
+	 *
+	 * @return true to warm up the pool on creation, false otherwise
+	 */
+	default boolean pool_warmup_on_create() {
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * The interval in milliseconds after which the liveness of an idle connection is checked.
+	 * </p>
+	 *
+	 * <p>
+	 * An idle connection which has not been used for that period is checked by the clean task (using a {@code PING} frame for HTTP/2 connections) and closed if it is found dead so it is never handed
+	 * out to a request. Liveness checks are disabled when set to {@code null} or a negative value.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 30000} (30 seconds).
+	 * </p>
+	 *
+	 * @return the liveness check interval
+	 */
+	default Long pool_liveness_check_interval() {
+		return 30000L;
+	}
 	
 	/**
 	 * <p>
@@ -208,6 +268,115 @@ public interface HttpClientConfiguration {
 		return 0.5f;
 	}
 
+	/**
+	 * <p>
+	 * Enables event loop affinity in the connection pool.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, each event loop owns a sub-pool of at most {@link #pool_max_size()} connections bound to that event loop. Connections are acquired and released on the requesting event loop
+	 * without synchronization, a connection is only borrowed from a sibling sub-pool, selected among {@link #pool_select_choice_count()} random sub-pools, when the local sub-pool is saturated.
+	 * </p>
+	 *
+	 * <p>
+	 * This reduces contention when many event loops send requests to the same endpoint at the cost of more connections being opened to the endpoint.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code false}.
+	 * </p>
+	 *
+	 * @return true to enable event loop affinity, false otherwise
+	 */
+	default boolean pool_event_loop_affinity() {
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Enables the adaptive concurrency limit in the connection pool.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, the pool limits the number of inflight requests, including buffered requests, to a limit that is continuously adjusted based on observed round trip times: the limit grows as long
+	 * as the round trip time remains stable and decreases when the round trip time increases beyond {@link #pool_adaptive_limit_rtt_tolerance()} times the long-term round trip time. Requests
+	 * exceeding the limit are rejected right away with a {@code ConnectionPoolException} instead of being buffered until they time out.
+	 * </p>
+	 *
+	 * <p>
+	 * The current limit is recorded in the {@code http.client.pool.limit} gauge. When {@link #pool_event_loop_affinity()} is enabled, each sub-pool adjusts its own limit.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code false}.
+	 * </p>
+	 *
+	 * @return true to enable the adaptive concurrency limit, false otherwise
+	 */
+	default boolean pool_adaptive_limit_enabled() {
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * The initial adaptive concurrency limit.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 20}.
+	 * </p>
+	 *
+	 * @return the initial limit
+	 */
+	default int pool_adaptive_limit_initial() {
+		return 20;
+	}
+
+	/**
+	 * <p>
+	 * The minimum adaptive concurrency limit.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 1}.
+	 * </p>
+	 *
+	 * @return the minimum limit
+	 */
+	default int pool_adaptive_limit_min() {
+		return 1;
+	}
+
+	/**
+	 * <p>
+	 * The maximum adaptive concurrency limit.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 1000}.
+	 * </p>
+	 *
+	 * @return the maximum limit
+	 */
+	default int pool_adaptive_limit_max() {
+		return 1000;
+	}
+
+	/**
+	 * <p>
+	 * The ratio between the short-term and the long-term round trip times above which the adaptive concurrency limit is decreased.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 1.5}.
+	 * </p>
+	 *
+	 * @return the round trip time tolerance
+	 */
+	default float pool_adaptive_limit_rtt_tolerance() {
+		return 1.5f;
+	}
+
 	/**
 	 * <p>
 	 * The request timeout in milliseconds.
@@ -863,7 +1032,31 @@ public interface HttpClientConfiguration {
 	default boolean http2_validate_headers() {
 		return true;
 	}
-	
+
+	/**
+	 * <p>
+	 * Enables/Disables HTTP/2 connection coalescing as defined by <a href="https://www.rfc-editor.org/rfc/rfc9113#section-9.1.1">RFC 9113 Section 9.1.1</a>.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, endpoints targeting the same remote address with the same server name, protocols and configuration share their HTTP/2 connections instead of opening separate connections. The
+	 * streams of a shared connection, limited by {@link #http2_max_concurrent_streams()}, are evenly distributed among the endpoints using it.
+	 * </p>
+	 *
+	 * <p>
+	 * This reduces the number of sockets and TLS handshakes when multiple endpoints are created for the same server, typically by discovery services.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code false}.
+	 * </p>
+	 *
+	 * @return true to coalesce HTTP/2 connections, false otherwise
+	 */
+	default boolean http2_connection_coalescing() {
+		return false;
+	}
+
 	/**
 	 * <p>
 	 * WebSocket max frame size in bytes.
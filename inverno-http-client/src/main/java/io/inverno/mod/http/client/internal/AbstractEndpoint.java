@@ -35,6 +35,7 @@ import io.inverno.mod.http.client.internal.http1x.Http1xWebSocketConnection;
 import io.inverno.mod.http.client.internal.multipart.MultipartEncoder;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Set;
@@ -65,6 +66,8 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 	private final NetService netService;
 	private final SslContextProvider sslContextProvider;
 	private final EndpointChannelConfigurer channelConfigurer;
+	private final Http2ConnectionRegistry connectionRegistry;
+	private final Http2ConnectionRegistry.Key coalescingKey;
 	
 	private final HeaderService headerService;
 	private final ObjectConverter<String> parameterConverter;
@@ -85,6 +88,7 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 	 * @param netService            the net service
 	 * @param sslContextProvider    the SSL context provider
 	 * @param channelConfigurer     the endpoint channel configurer
+	 * @param connectionRegistry    the HTTP/2 connection registry
 	 * @param localAddress          the local address
 	 * @param remoteAddress         the remote address
 	 * @param configuration         the HTTP client configuration
@@ -100,6 +104,7 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 			NetService netService, 
 			SslContextProvider sslContextProvider,
 			EndpointChannelConfigurer channelConfigurer,
+			Http2ConnectionRegistry connectionRegistry,
 			InetSocketAddress localAddress,
 			InetSocketAddress remoteAddress, 
 			HttpClientConfiguration configuration, 
@@ -113,10 +118,12 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 		this.netService = netService;
 		this.sslContextProvider = sslContextProvider;
 		this.channelConfigurer = channelConfigurer;
+		this.connectionRegistry = connectionRegistry;
 		
 		this.localAddress = localAddress;
 		this.remoteAddress = remoteAddress;
 		this.configuration = configuration;
+		this.coalescingKey = connectionRegistry != null ? Http2ConnectionRegistry.key(localAddress, remoteAddress, configuration, netConfiguration) : null;
 		
 		this.headerService = headerService;
 		this.parameterConverter = parameterConverter;
@@ -149,6 +156,38 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 			));
 	}
 
+	/**
+	 * <p>
+	 * Creates an endpoint sharing the configuration, the codecs and the client bootstrap of the specified parent endpoint.
+	 * </p>
+	 *
+	 * <p>
+	 * This is typically used to create sub-pools in a parent endpoint.
+	 * </p>
+	 *
+	 * @param parent the parent endpoint
+	 */
+	protected AbstractEndpoint(AbstractEndpoint<A> parent) {
+		this.netService = parent.netService;
+		this.sslContextProvider = parent.sslContextProvider;
+		this.channelConfigurer = parent.channelConfigurer;
+		this.connectionRegistry = parent.connectionRegistry;
+		this.coalescingKey = parent.coalescingKey;
+
+		this.localAddress = parent.localAddress;
+		this.remoteAddress = parent.remoteAddress;
+		this.configuration = parent.configuration;
+
+		this.headerService = parent.headerService;
+		this.parameterConverter = parent.parameterConverter;
+		this.urlEncodedBodyEncoder = parent.urlEncodedBodyEncoder;
+		this.multipartBodyEncoder = parent.multipartBodyEncoder;
+		this.partFactory = parent.partFactory;
+		this.exchangeInterceptor = parent.exchangeInterceptor;
+
+		this.bootstrap = parent.bootstrap;
+	}
+
 	@Override
 	public SocketAddress getLocalAddress() {
 		return this.localAddress;
@@ -283,9 +322,46 @@ public abstract class AbstractEndpoint<A extends ExchangeContext> implements End
 	 * @return a mono emitting a new HTTP connection
 	 */
 	protected Mono<HttpConnection> createConnection() {
+		return this.createConnection(null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a new HTTP connection bound to the specified event loop.
+	 * </p>
+	 *
+	 * <p>
+	 * The connection is bound to an event loop of the client bootstrap event loop group when no event loop is specified.
+	 * </p>
+	 *
+	 * <p>
+	 * When HTTP/2 connection coalescing is enabled, an HTTP/2 connection established by another endpoint to the same server might be shared instead (see {@link Http2ConnectionRegistry}).
+	 * </p>
+	 *
+	 * @param eventLoop the event loop to bind the connection to or null
+	 *
+	 * @return a mono emitting a new HTTP connection
+	 */
+	protected Mono<HttpConnection> createConnection(EventLoop eventLoop) {
+		if(this.coalescingKey != null) {
+			return this.connectionRegistry.getConnection(this.coalescingKey, eventLoop, this, () -> this.connect(eventLoop));
+		}
+		return this.connect(eventLoop);
+	}
+
+	/**
+	 * <p>
+	 * Opens a socket to the HTTP server and creates a new HTTP connection bound to the specified event loop.
+	 * </p>
+	 *
+	 * @param eventLoop the event loop to bind the connection to or null
+	 *
+	 * @return a mono emitting a new HTTP connection
+	 */
+	private Mono<HttpConnection> connect(EventLoop eventLoop) {
 		return Mono.defer(() -> {
 			Sinks.One<HttpConnection> connectionSink = Sinks.one();
-			ChannelFuture connectionFuture = this.bootstrap.connect(this.remoteAddress);
+			ChannelFuture connectionFuture = (eventLoop != null ? this.bootstrap.clone(eventLoop) : this.bootstrap).connect(this.remoteAddress);
 			connectionFuture.addListener(res -> {
 				if(res.isSuccess()) {
 					AbstractEndpoint.this.channelConfigurer.completeConnection(connectionFuture.channel().pipeline())
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.client.internal;
+
+import io.inverno.mod.http.client.HttpClientConfiguration;
+
+/**
+ * <p>
+ * A gradient based adaptive concurrency limiter.
+ * </p>
+ *
+ * <p>
+ * The limiter bounds the number of inflight requests on an endpoint and continuously adjusts that limit by comparing the short-term round trip time, averaged over a window of samples, to the
+ * long-term round trip time which is an exponential moving average of short-term round trip times. The limit is increased when both are within the RTT tolerance and decreased proportionally when the
+ * short-term round trip time grows, which typically happens when the upstream server starts queueing requests.
+ * </p>
+ *
+ * <p>
+ * The limit is not increased when the endpoint is not using at least half of it in order to prevent the limit from growing indefinitely under low load.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe, it must be invoked by the pool command executor.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see HttpClientConfiguration#pool_adaptive_limit_enabled()
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	/**
+	 * The number of samples aggregated to compute the short-term RTT.
+	 */
+	private static final int WINDOW_SIZE = 10;
+
+	/**
+	 * The smoothing factor of the long-term RTT corresponding to an exponential moving average over 60 windows.
+	 */
+	private static final double LONG_RTT_SMOOTHING = 2.0 / 61.0;
+
+	/**
+	 * The smoothing factor applied to limit changes.
+	 */
+	private static final double LIMIT_SMOOTHING = 0.2;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double rttTolerance;
+
+	private double estimatedLimit;
+	private int limit;
+	private int inflight;
+
+	private double longRtt;
+
+	private long windowRttSum;
+	private int windowSamples;
+	private int windowMaxInflight;
+
+	/**
+	 * <p>
+	 * Creates an adaptive concurrency limiter.
+	 * </p>
+	 *
+	 * @param initialLimit the initial limit
+	 * @param minLimit     the minimum limit
+	 * @param maxLimit     the maximum limit
+	 * @param rttTolerance the ratio between the short-term and the long-term RTT above which the limit is decreased
+	 */
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+		this.minLimit = Math.max(1, minLimit);
+		this.maxLimit = Math.max(this.minLimit, maxLimit);
+		this.rttTolerance = Math.max(1.0, rttTolerance);
+		this.estimatedLimit = Math.max(this.minLimit, Math.min(initialLimit, this.maxLimit));
+		this.limit = (int)this.estimatedLimit;
+	}
+
+	/**
+	 * <p>
+	 * Creates an adaptive concurrency limiter from the specified configuration.
+	 * </p>
+	 *
+	 * @param configuration the HTTP client configuration
+	 *
+	 * @return an adaptive concurrency limiter or null if the adaptive limit is disabled
+	 */
+	public static AdaptiveConcurrencyLimiter from(HttpClientConfiguration configuration) {
+		if(!configuration.pool_adaptive_limit_enabled()) {
+			return null;
+		}
+		return new AdaptiveConcurrencyLimiter(
+			configuration.pool_adaptive_limit_initial(),
+			configuration.pool_adaptive_limit_min(),
+			configuration.pool_adaptive_limit_max(),
+			configuration.pool_adaptive_limit_rtt_tolerance()
+		);
+	}
+
+	/**
+	 * <p>
+	 * Returns the current limit.
+	 * </p>
+	 *
+	 * @return the maximum number of inflight requests
+	 */
+	public int getLimit() {
+		return this.limit;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of inflight requests.
+	 * </p>
+	 *
+	 * @return the number of inflight requests
+	 */
+	public int getInflight() {
+		return this.inflight;
+	}
+
+	/**
+	 * <p>
+	 * Tries to acquire a slot for a new request.
+	 * </p>
+	 *
+	 * @return true if the request can proceed, false if the limit has been reached
+	 */
+	public boolean tryAcquire() {
+		if(this.inflight >= this.limit) {
+			return false;
+		}
+		this.inflight++;
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Releases a slot previously acquired.
+	 * </p>
+	 *
+	 * <p>
+	 * The specified round trip time is used to adjust the limit, a negative value indicates that no request was actually sent (e.g. connection error, cancellation...).
+	 * </p>
+	 *
+	 * @param rtt the round trip time of the request in nanoseconds or a negative value
+	 */
+	public void release(long rtt) {
+		int currentInflight = this.inflight--;
+		if(rtt > 0) {
+			this.sample(rtt, currentInflight);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Records a round trip time sample and adjusts the limit at the end of a window.
+	 * </p>
+	 *
+	 * @param rtt      the round trip time in nanoseconds
+	 * @param inflight the number of inflight requests when the request completed
+	 */
+	private void sample(long rtt, int inflight) {
+		this.windowRttSum += rtt;
+		this.windowMaxInflight = Math.max(this.windowMaxInflight, inflight);
+		if(++this.windowSamples < WINDOW_SIZE) {
+			return;
+		}
+		double shortRtt = (double)this.windowRttSum / this.windowSamples;
+		int maxInflight = this.windowMaxInflight;
+		this.windowRttSum = 0;
+		this.windowSamples = 0;
+		this.windowMaxInflight = 0;
+
+		if(this.longRtt == 0) {
+			this.longRtt = shortRtt;
+		}
+		else {
+			this.longRtt += (shortRtt - this.longRtt) * LONG_RTT_SMOOTHING;
+		}
+
+		// Recover quickly when the RTT drops well below the long-term RTT (e.g. after an upstream recovered)
+		if(this.longRtt / shortRtt > 2) {
+			this.longRtt *= 0.95;
+		}
+
+		// Don't grow the limit when it is not used
+		if(maxInflight < this.estimatedLimit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, this.rttTolerance * this.longRtt / shortRtt));
+		double newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+		newLimit = this.estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+
+		this.estimatedLimit = Math.max(this.minLimit, Math.min(newLimit, this.maxLimit));
+		this.limit = (int)this.estimatedLimit;
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.client.internal;
+
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.metrics.Metrics;
+import io.inverno.mod.base.net.NetClientConfiguration;
+import io.inverno.mod.base.net.NetService;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.Parameter;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.client.ExchangeInterceptor;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.inverno.mod.http.client.InterceptedExchange;
+import io.inverno.mod.http.client.Part;
+import io.inverno.mod.http.client.internal.multipart.MultipartEncoder;
+import io.netty.channel.EventLoop;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * An endpoint implementation managing connections in event loop affine sub-pools.
+ * </p>
+ *
+ * <p>
+ * Each event loop requesting a connection owns a {@link PooledEndpoint} sub-pool whose connections are bound to that event loop and whose state is only accessed on that event loop, as a result
+ * connections are acquired and released without any synchronization. Sub-pools are configured using {@code pool_} properties from the {@link HttpClientConfiguration} and use the same connection
+ * selection strategy as a regular pool.
+ * </p>
+ *
+ * <p>
+ * When the local sub-pool is saturated, the connection is borrowed from the least loaded of {@link HttpClientConfiguration#pool_select_choice_count()} randomly selected sibling sub-pools that are
+ * not saturated. The request is buffered in the local sub-pool when all selected siblings are saturated as well.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @see HttpClientConfiguration#pool_event_loop_affinity()
+ *
+ * @param <A> the exchange context type
+ */
+public class EventLoopAffinePooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<A> {
+
+	private static final Logger LOGGER = LogManager.getLogger(EventLoopAffinePooledEndpoint.class);
+
+	private final Reactor reactor;
+	private final Metrics metrics;
+	private final int choiceCount;
+
+	private final Map<EventLoop, PooledEndpoint<A>> subPools;
+	private volatile PooledEndpoint<A>[] subPoolsSnapshot;
+
+	private volatile boolean closing;
+	private volatile boolean closed;
+
+	/**
+	 * <p>
+	 * Creates an event loop affine pooled endpoint.
+	 * </p>
+	 *
+	 * @param reactor               the reactor
+	 * @param netService            the net service
+	 * @param sslContextProvider    the SSL context provider
+	 * @param channelConfigurer     the endpoint channel configurer
+	 * @param connectionRegistry    the HTTP/2 connection registry
+	 * @param localAddress          the local address
+	 * @param remoteAddress         the remote endpoint address
+	 * @param configuration         the HTTP client configuration
+	 * @param netConfiguration      the net configuration
+	 * @param headerService         the header service
+	 * @param parameterConverter    the parameter converter
+	 * @param urlEncodedBodyEncoder the URL encoded body encoder
+	 * @param multipartBodyEncoder  the multipart body encoder
+	 * @param partFactory           the part factory
+	 * @param metrics               the metrics service provider
+	 * @param exchangeInterceptor   an optional exchange interceptor
+	 */
+	@SuppressWarnings("unchecked")
+	public EventLoopAffinePooledEndpoint(
+		Reactor reactor,
+		NetService netService,
+		SslContextProvider sslContextProvider,
+		EndpointChannelConfigurer channelConfigurer,
+		Http2ConnectionRegistry connectionRegistry,
+		InetSocketAddress localAddress,
+		InetSocketAddress remoteAddress,
+		HttpClientConfiguration configuration,
+		NetClientConfiguration netConfiguration,
+		HeaderService headerService,
+		ObjectConverter<String> parameterConverter,
+		MultipartEncoder<Parameter> urlEncodedBodyEncoder,
+		MultipartEncoder<Part<?>> multipartBodyEncoder,
+		Part.Factory partFactory,
+		Metrics metrics,
+		ExchangeInterceptor<A, InterceptedExchange<A>> exchangeInterceptor) {
+		super(netService, sslContextProvider, channelConfigurer, connectionRegistry, localAddress, remoteAddress, configuration, netConfiguration, headerService, parameterConverter, urlEncodedBodyEncoder, multipartBodyEncoder, partFactory, exchangeInterceptor);
+
+		this.reactor = reactor;
+		this.metrics = metrics;
+		this.choiceCount = Math.max(1, this.configuration.pool_select_choice_count());
+
+		this.subPools = new ConcurrentHashMap<>();
+		this.subPoolsSnapshot = new PooledEndpoint[0];
+	}
+
+	@Override
+	public Mono<HttpConnection.Handle> connection() {
+		return Mono.defer(() -> {
+			if(this.closing || this.closed) {
+				return Mono.error(new ConnectionPoolException("Pool closed"));
+			}
+			PooledEndpoint<A> subPool = this.getSubPool(this.reactor.eventLoop().orElseGet(this.reactor::getEventLoop));
+			if(subPool.isSaturated()) {
+				subPool = this.selectSibling(subPool);
+			}
+			return subPool.connection();
+		});
+	}
+
+	/**
+	 * <p>
+	 * Returns the sub-pool owned by the specified event loop, creating it if it does not exist.
+	 * </p>
+	 *
+	 * @param eventLoop an event loop
+	 *
+	 * @return a sub-pool
+	 */
+	private PooledEndpoint<A> getSubPool(EventLoop eventLoop) {
+		PooledEndpoint<A> subPool = this.subPools.get(eventLoop);
+		if(subPool == null) {
+			subPool = this.subPools.computeIfAbsent(eventLoop, ign -> {
+				LOGGER.debug("Create sub-pool for event loop {}", eventLoop);
+				return new PooledEndpoint<>(this, this.reactor, eventLoop, this.metrics);
+			});
+			this.updateSnapshot();
+		}
+		return subPool;
+	}
+
+	/**
+	 * <p>
+	 * Updates the sub-pools snapshot used to select siblings.
+	 * </p>
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized void updateSnapshot() {
+		if(this.subPoolsSnapshot.length != this.subPools.size()) {
+			this.subPoolsSnapshot = this.subPools.values().toArray(PooledEndpoint[]::new);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Selects a sibling sub-pool to borrow a connection from when the specified local sub-pool is saturated.
+	 * </p>
+	 *
+	 * <p>
+	 * This selects the non-saturated sub-pool with the minimum load factor among {@code pool_select_choice_count} randomly selected sub-pools, the local sub-pool is returned if none could be found.
+	 * </p>
+	 *
+	 * @param local the saturated local sub-pool
+	 *
+	 * @return a sibling sub-pool or the local sub-pool
+	 */
+	private PooledEndpoint<A> selectSibling(PooledEndpoint<A> local) {
+		PooledEndpoint<A>[] snapshot = this.subPoolsSnapshot;
+		if(snapshot.length < 2) {
+			return local;
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		PooledEndpoint<A> selected = local;
+		float selectedLoadFactor = Float.MAX_VALUE;
+		for(int i=0;i<this.choiceCount;i++) {
+			PooledEndpoint<A> candidate = snapshot[random.nextInt(snapshot.length)];
+			if(candidate != local && !candidate.isSaturated()) {
+				float loadFactor = candidate.getLoadFactor();
+				if(loadFactor < selectedLoadFactor) {
+					selected = candidate;
+					selectedLoadFactor = loadFactor;
+				}
+			}
+		}
+		return selected;
+	}
+
+	@Override
+	public long getActiveRequests() {
+		return Arrays.stream(this.subPoolsSnapshot).mapToLong(PooledEndpoint::getActiveRequests).sum();
+	}
+
+	@Override
+	public float getLoadFactor() {
+		PooledEndpoint<A>[] snapshot = this.subPoolsSnapshot;
+		if(snapshot.length == 0) {
+			return 0;
+		}
+		float totalLoadFactor = 0;
+		for(PooledEndpoint<A> subPool : snapshot) {
+			totalLoadFactor += subPool.getLoadFactor();
+		}
+		return totalLoadFactor / snapshot.length;
+	}
+
+	@Override
+	public Mono<Void> shutdown() {
+		return Mono.defer(() -> {
+			this.closing = true;
+			return Flux.fromIterable(this.subPools.values())
+				.flatMap(PooledEndpoint::shutdown)
+				.doOnTerminate(() -> {
+					this.closed = true;
+					this.closing = false;
+				})
+				.then();
+		});
+	}
+
+	@Override
+	public Mono<Void> shutdownGracefully() {
+		return Mono.defer(() -> {
+			this.closing = true;
+			return Flux.fromIterable(this.subPools.values())
+				.flatMap(PooledEndpoint::shutdownGracefully)
+				.doOnTerminate(() -> {
+					this.closed = true;
+					this.closing = false;
+				})
+				.then();
+		});
+	}
+}
@@ -19,6 +19,7 @@ import io.inverno.core.annotation.Bean;
 import io.inverno.core.annotation.Provide;
 import io.inverno.mod.base.concurrent.Reactor;
 import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.metrics.Metrics;
 import io.inverno.mod.base.net.NetClientConfiguration;
 import io.inverno.mod.base.net.NetService;
 import io.inverno.mod.http.base.ExchangeContext;
@@ -54,11 +55,13 @@ public class GenericHttpClient implements @Provide HttpClient {
 	private final NetService netService;
 	private final SslContextProvider sslContextProvider;
 	private final EndpointChannelConfigurer channelConfigurer;
+	private final Http2ConnectionRegistry connectionRegistry;
 	private final HeaderService headerService;
 	private final ObjectConverter<String> parameterConverter;
 	private final MultipartEncoder<Parameter> urlEncodedBodyEncoder;
 	private final MultipartEncoder<Part<?>> multipartBodyEncoder;
 	private final Part.Factory partFactory;
+	private final Metrics metrics;
 	
 	/**
 	 * <p>
@@ -69,28 +72,33 @@ public class GenericHttpClient implements @Provide HttpClient {
 	 * @param netService            the net service
 	 * @param sslContextProvider    the SSL context provider
 	 * @param channelConfigurer     the endpoint channel configurer
+	 * @param connectionRegistry    the HTTP/2 connection registry
 	 * @param configuration         the HTTP client configuration
 	 * @param headerService         the header service
 	 * @param parameterConverter    the parameter converter
 	 * @param urlEncodedBodyEncoder the URL encoded body encoder
 	 * @param multipartBodyEncoder  the multipart body encoder
 	 * @param partFactory           the part factory
+	 * @param metrics               the metrics service provider
 	 */
 	public GenericHttpClient(
 			Reactor reactor,
 			NetService netService, 
 			SslContextProvider sslContextProvider,
 			EndpointChannelConfigurer channelConfigurer,
+			Http2ConnectionRegistry connectionRegistry,
 			HttpClientConfiguration configuration, 
 			HeaderService headerService, 
 			ObjectConverter<String> parameterConverter,
 			MultipartEncoder<Parameter> urlEncodedBodyEncoder,
 			MultipartEncoder<Part<?>> multipartBodyEncoder, 
-			Part.Factory partFactory) {
+			Part.Factory partFactory,
+			Metrics metrics) {
 		this.reactor = reactor;
 		this.netService = netService;
 		this.sslContextProvider = sslContextProvider;
 		this.channelConfigurer = channelConfigurer;
+		this.connectionRegistry = connectionRegistry;
 		
 		this.configuration = configuration;
 		
@@ -99,6 +107,7 @@ public class GenericHttpClient implements @Provide HttpClient {
 		this.urlEncodedBodyEncoder = urlEncodedBodyEncoder;
 		this.multipartBodyEncoder = multipartBodyEncoder;
 		this.partFactory = partFactory;
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -179,20 +188,43 @@ public class GenericHttpClient implements @Provide HttpClient {
 		
 		@Override
 		public Endpoint<A> build() {
+			HttpClientConfiguration endpointConfiguration = this.configuration != null ? this.configuration : GenericHttpClient.this.configuration;
+			if(endpointConfiguration.pool_event_loop_affinity()) {
+				return new EventLoopAffinePooledEndpoint<>(
+					GenericHttpClient.this.reactor,
+					GenericHttpClient.this.netService,
+					GenericHttpClient.this.sslContextProvider,
+					GenericHttpClient.this.channelConfigurer,
+					GenericHttpClient.this.connectionRegistry,
+					this.localAddress, 
+					this.remoteAddress, 
+					endpointConfiguration,
+					this.netConfiguration,
+					GenericHttpClient.this.headerService, 
+					GenericHttpClient.this.parameterConverter,
+					GenericHttpClient.this.urlEncodedBodyEncoder,
+					GenericHttpClient.this.multipartBodyEncoder,
+					GenericHttpClient.this.partFactory,
+					GenericHttpClient.this.metrics,
+					this.exchangeInterceptor
+				);
+			}
 			return new PooledEndpoint<>(
 				GenericHttpClient.this.reactor,
 				GenericHttpClient.this.netService,
 				GenericHttpClient.this.sslContextProvider,
 				GenericHttpClient.this.channelConfigurer,
+				GenericHttpClient.this.connectionRegistry,
 				this.localAddress, 
 				this.remoteAddress, 
-				this.configuration != null ? this.configuration : GenericHttpClient.this.configuration,
+				endpointConfiguration,
 				this.netConfiguration,
 				GenericHttpClient.this.headerService, 
 				GenericHttpClient.this.parameterConverter,
 				GenericHttpClient.this.urlEncodedBodyEncoder,
 				GenericHttpClient.this.multipartBodyEncoder,
 				GenericHttpClient.this.partFactory,
+				GenericHttpClient.this.metrics,
 				this.exchangeInterceptor
 			);
 		}
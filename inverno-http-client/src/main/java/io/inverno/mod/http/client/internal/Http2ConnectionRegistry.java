@@ -0,0 +1,679 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.client.internal;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.mod.base.net.NetClientConfiguration;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.netty.channel.EventLoop;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * A registry of HTTP/2 connections shared among the endpoints created by the HTTP client module.
+ * </p>
+ *
+ * <p>
+ * When {@link HttpClientConfiguration#http2_connection_coalescing()} is enabled, endpoints targeting the same remote address with the same server name (SNI), the same negotiated protocols (ALPN)
+ * and the same configuration reuse established HTTP/2 connections instead of opening new ones as permitted by <a href="https://www.rfc-editor.org/rfc/rfc9113#section-9.1.1">RFC 9113 Section
+ * 9.1.1</a>. Since the server name is part of the key, coalesced endpoints always present the same TLS identity.
+ * </p>
+ *
+ * <p>
+ * Each endpoint sharing a connection obtains a coalesced connection whose capacity is a share of the connection's maximum concurrent streams so that the total number of streams opened on the
+ * connection never exceeds {@link HttpClientConfiguration#http2_max_concurrent_streams()} or the limit advertised by the server. Shares are redistributed whenever an endpoint attaches to or detaches
+ * from the connection or when the server changes its settings. A connection is only shared with an endpoint that does not already use it and which is bound to the same event loop, if any.
+ * </p>
+ *
+ * <p>
+ * A shared connection is closed when the last endpoint using it detaches.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@Bean( visibility = Bean.Visibility.PRIVATE )
+public class Http2ConnectionRegistry {
+
+	private static final Logger LOGGER = LogManager.getLogger(Http2ConnectionRegistry.class);
+
+	private final Map<Key, List<SharedConnection>> connections;
+
+	/**
+	 * <p>
+	 * Creates an HTTP/2 connection registry.
+	 * </p>
+	 */
+	public Http2ConnectionRegistry() {
+		this.connections = new HashMap<>();
+	}
+
+	/**
+	 * <p>
+	 * Returns a connection for the specified key.
+	 * </p>
+	 *
+	 * <p>
+	 * This method first tries to coalesce an existing HTTP/2 connection registered with the same key, a new connection is created using the specified factory otherwise. The resulting connection is
+	 * registered for later reuse if it is an HTTP/2 connection.
+	 * </p>
+	 *
+	 * @param key               the coalescing key
+	 * @param eventLoop         the event loop the connection must be bound to or null
+	 * @param owner             the endpoint requesting the connection
+	 * @param connectionFactory the factory used to create a new connection
+	 *
+	 * @return a mono emitting a connection
+	 */
+	public Mono<HttpConnection> getConnection(Key key, EventLoop eventLoop, Object owner, Supplier<Mono<HttpConnection>> connectionFactory) {
+		return Mono.defer(() -> {
+			HttpConnection coalescedConnection = this.coalesce(key, eventLoop, owner);
+			if(coalescedConnection != null) {
+				return Mono.just(coalescedConnection);
+			}
+			return connectionFactory.get().map(connection -> this.register(key, eventLoop, owner, connection));
+		});
+	}
+
+	/**
+	 * <p>
+	 * Tries to attach the specified owner to the least shared registered connection.
+	 * </p>
+	 *
+	 * @param key       the coalescing key
+	 * @param eventLoop the event loop the connection must be bound to or null
+	 * @param owner     the endpoint requesting the connection
+	 *
+	 * @return a coalesced connection or null if no registered connection could be shared
+	 */
+	private HttpConnection coalesce(Key key, EventLoop eventLoop, Object owner) {
+		CoalescedConnection coalescedConnection;
+		List<CoalescedConnection> changedConnections;
+		synchronized(this) {
+			List<SharedConnection> sharedConnections = this.connections.get(key);
+			if(sharedConnections == null) {
+				return null;
+			}
+			SharedConnection selectedConnection = null;
+			for(SharedConnection sharedConnection : sharedConnections) {
+				if(sharedConnection.canAttach(eventLoop, owner) && (selectedConnection == null || sharedConnection.views.size() < selectedConnection.views.size())) {
+					selectedConnection = sharedConnection;
+				}
+			}
+			if(selectedConnection == null) {
+				return null;
+			}
+			coalescedConnection = selectedConnection.attach(owner);
+			changedConnections = selectedConnection.distribute();
+		}
+		LOGGER.debug(() -> "Coalesced HTTP/2 connection to " + key.remoteAddress.getHostString() + ":" + key.remoteAddress.getPort());
+		notifySettingsChange(changedConnections);
+		return coalescedConnection;
+	}
+
+	/**
+	 * <p>
+	 * Registers a new connection and attaches the specified owner.
+	 * </p>
+	 *
+	 * <p>
+	 * HTTP/1.x connections cannot be shared and are returned as is.
+	 * </p>
+	 *
+	 * @param key        the coalescing key
+	 * @param eventLoop  the event loop the connection is bound to or null
+	 * @param owner      the endpoint that requested the connection
+	 * @param connection a new connection
+	 *
+	 * @return a coalesced connection or the connection itself if it can't be shared
+	 */
+	private HttpConnection register(Key key, EventLoop eventLoop, Object owner, HttpConnection connection) {
+		if(connection.getProtocol() != HttpVersion.HTTP_2_0) {
+			return connection;
+		}
+		synchronized(this) {
+			SharedConnection sharedConnection = new SharedConnection(key, eventLoop, connection);
+			this.connections.computeIfAbsent(key, ign -> new ArrayList<>()).add(sharedConnection);
+			CoalescedConnection coalescedConnection = sharedConnection.attach(owner);
+			sharedConnection.distribute();
+			return coalescedConnection;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Unregisters a shared connection so it can no longer be coalesced.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked while holding the registry lock.
+	 * </p>
+	 *
+	 * @param sharedConnection the shared connection to unregister
+	 */
+	private void unregister(SharedConnection sharedConnection) {
+		List<SharedConnection> sharedConnections = this.connections.get(sharedConnection.key);
+		if(sharedConnections != null && sharedConnections.remove(sharedConnection) && sharedConnections.isEmpty()) {
+			this.connections.remove(sharedConnection.key);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Notifies coalesced connections handlers that their capacity changed.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked outside the registry lock.
+	 * </p>
+	 *
+	 * @param coalescedConnections a list of coalesced connections or null
+	 */
+	private static void notifySettingsChange(List<CoalescedConnection> coalescedConnections) {
+		if(coalescedConnections != null) {
+			for(CoalescedConnection coalescedConnection : coalescedConnections) {
+				HttpConnection.Handler handler = coalescedConnection.handler;
+				if(handler != null) {
+					handler.onSettingsChange(coalescedConnection.share);
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of registered connections.
+	 * </p>
+	 *
+	 * @return the number of connections that can be coalesced
+	 */
+	synchronized int size() {
+		return this.connections.values().stream().mapToInt(List::size).sum();
+	}
+
+	/**
+	 * <p>
+	 * Creates a coalescing key.
+	 * </p>
+	 *
+	 * <p>
+	 * This returns null when the configuration does not enable HTTP/2 connection coalescing or does not allow HTTP/2.
+	 * </p>
+	 *
+	 * @param localAddress     the local address
+	 * @param remoteAddress    the remote address
+	 * @param configuration    the HTTP client configuration
+	 * @param netConfiguration the net configuration
+	 *
+	 * @return a coalescing key or null
+	 */
+	public static Key key(InetSocketAddress localAddress, InetSocketAddress remoteAddress, HttpClientConfiguration configuration, NetClientConfiguration netConfiguration) {
+		if(!configuration.http2_connection_coalescing()) {
+			return null;
+		}
+		Set<HttpVersion> protocols = configuration.http_protocol_versions();
+		if(protocols == null || protocols.isEmpty()) {
+			protocols = HttpClientConfiguration.DEFAULT_HTTP_PROTOCOL_VERSIONS;
+		}
+		if(!protocols.contains(HttpVersion.HTTP_2_0)) {
+			return null;
+		}
+		String serverName = configuration.tls_enabled() && configuration.tls_send_sni() ? remoteAddress.getHostString() : null;
+		return new Key(localAddress, remoteAddress, serverName, protocols, configuration, netConfiguration);
+	}
+
+	/**
+	 * <p>
+	 * The key identifying connections that can be coalesced.
+	 * </p>
+	 *
+	 * <p>
+	 * Connections can be coalesced when they target the same remote address with the same server name indication and application protocols. The HTTP client and net configurations are also
+	 * compared in order to make sure connections are established with the same TLS and protocol settings.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	public static final class Key {
+
+		private final InetSocketAddress localAddress;
+		private final InetSocketAddress remoteAddress;
+		private final String serverName;
+		private final Set<HttpVersion> protocols;
+		private final HttpClientConfiguration configuration;
+		private final NetClientConfiguration netConfiguration;
+
+		/**
+		 * <p>
+		 * Creates a coalescing key.
+		 * </p>
+		 *
+		 * @param localAddress     the local address
+		 * @param remoteAddress    the remote address
+		 * @param serverName       the server name sent in the TLS handshake or null
+		 * @param protocols        the application protocols
+		 * @param configuration    the HTTP client configuration
+		 * @param netConfiguration the net configuration
+		 */
+		private Key(InetSocketAddress localAddress, InetSocketAddress remoteAddress, String serverName, Set<HttpVersion> protocols, HttpClientConfiguration configuration, NetClientConfiguration netConfiguration) {
+			this.localAddress = localAddress;
+			this.remoteAddress = remoteAddress;
+			this.serverName = serverName;
+			this.protocols = protocols;
+			this.configuration = configuration;
+			this.netConfiguration = netConfiguration;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Key key = (Key) o;
+			return Objects.equals(localAddress, key.localAddress) && Objects.equals(remoteAddress, key.remoteAddress) && Objects.equals(serverName, key.serverName) && Objects.equals(protocols, key.protocols) && Objects.equals(configuration, key.configuration) && Objects.equals(netConfiguration, key.netConfiguration);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(localAddress, remoteAddress, serverName, protocols, configuration, netConfiguration);
+		}
+	}
+
+	/**
+	 * <p>
+	 * An HTTP/2 connection shared among endpoints.
+	 * </p>
+	 *
+	 * <p>
+	 * It handles the underlying connection events and dispatches them to the coalesced connections. Unless specified otherwise, state is guarded by the registry lock.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class SharedConnection implements HttpConnection.Handler {
+
+		private final Key key;
+		private final EventLoop eventLoop;
+		private final HttpConnection connection;
+		private final List<CoalescedConnection> views;
+
+		private long maxConcurrentStreams;
+		private int attached;
+		private boolean closed;
+
+		/**
+		 * <p>
+		 * Creates a shared connection.
+		 * </p>
+		 *
+		 * @param key        the coalescing key
+		 * @param eventLoop  the event loop the connection is bound to or null
+		 * @param connection the underlying HTTP/2 connection
+		 */
+		public SharedConnection(Key key, EventLoop eventLoop, HttpConnection connection) {
+			this.key = key;
+			this.eventLoop = eventLoop;
+			this.connection = connection;
+			this.views = new ArrayList<>();
+
+			Long mcs = connection.getMaxConcurrentRequests();
+			this.maxConcurrentStreams = mcs != null ? mcs : Long.MAX_VALUE;
+
+			this.connection.setHandler(this);
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the specified owner can attach to the connection.
+		 * </p>
+		 *
+		 * @param eventLoop the event loop the connection must be bound to or null
+		 * @param owner     the endpoint requesting the connection
+		 *
+		 * @return true if the connection can be shared with the owner, false otherwise
+		 */
+		private boolean canAttach(EventLoop eventLoop, Object owner) {
+			if(this.closed || this.attached == 0 || this.eventLoop != eventLoop || this.connection.isClosed() || this.views.size() >= this.maxConcurrentStreams) {
+				return false;
+			}
+			for(CoalescedConnection view : this.views) {
+				if(view.owner == owner && !view.detached) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * <p>
+		 * Attaches an owner to the connection.
+		 * </p>
+		 *
+		 * @param owner the endpoint requesting the connection
+		 *
+		 * @return a coalesced connection
+		 */
+		private CoalescedConnection attach(Object owner) {
+			CoalescedConnection view = new CoalescedConnection(this, owner);
+			this.views.add(view);
+			this.attached++;
+			return view;
+		}
+
+		/**
+		 * <p>
+		 * Distributes the connection's maximum concurrent streams among coalesced connections.
+		 * </p>
+		 *
+		 * @return the list of coalesced connections whose handler must be notified or null
+		 */
+		private List<CoalescedConnection> distribute() {
+			int count = this.views.size();
+			if(count == 0) {
+				return null;
+			}
+			long baseShare = this.maxConcurrentStreams / count;
+			long remainder = this.maxConcurrentStreams % count;
+			List<CoalescedConnection> changedViews = null;
+			for(int i=0;i<count;i++) {
+				CoalescedConnection view = this.views.get(i);
+				long share = Math.max(1, baseShare + (i < remainder ? 1 : 0));
+				if(view.share != share) {
+					view.share = share;
+					if(view.handler != null) {
+						if(changedViews == null) {
+							changedViews = new ArrayList<>(count);
+						}
+						changedViews.add(view);
+					}
+				}
+			}
+			return changedViews;
+		}
+
+		/**
+		 * <p>
+		 * Detaches a coalesced connection.
+		 * </p>
+		 *
+		 * <p>
+		 * The underlying connection is shutdown when the last coalesced connection is detached, otherwise the coalesced connection is removed once its inflight exchanges have completed.
+		 * </p>
+		 *
+		 * @param view     the coalesced connection to detach
+		 * @param graceful true to wait for inflight exchanges to complete, false otherwise
+		 *
+		 * @return a mono that completes when the coalesced connection is detached
+		 */
+		private Mono<Void> detach(CoalescedConnection view, boolean graceful) {
+			List<CoalescedConnection> drainingViews = null;
+			List<CoalescedConnection> changedViews = null;
+			synchronized(Http2ConnectionRegistry.this) {
+				if(view.detached) {
+					return graceful ? view.drainSink.asMono() : Mono.empty();
+				}
+				view.detached = true;
+				if(--this.attached == 0) {
+					Http2ConnectionRegistry.this.unregister(this);
+					drainingViews = new ArrayList<>(this.views);
+				}
+				else if(view.inflight.get() == 0 && this.views.remove(view)) {
+					changedViews = this.distribute();
+				}
+			}
+			if(drainingViews != null) {
+				List<CoalescedConnection> closedViews = drainingViews;
+				return (graceful ? this.connection.shutdownGracefully() : this.connection.shutdown())
+					.doFinally(ign -> closedViews.forEach(closedView -> closedView.drainSink.tryEmitEmpty()));
+			}
+			notifySettingsChange(changedViews);
+			if(view.inflight.get() == 0) {
+				view.drainSink.tryEmitEmpty();
+			}
+			return graceful ? view.drainSink.asMono() : Mono.empty();
+		}
+
+		/**
+		 * <p>
+		 * Removes a detached coalesced connection once its inflight exchanges have completed.
+		 * </p>
+		 *
+		 * @param view a detached coalesced connection
+		 */
+		private void remove(CoalescedConnection view) {
+			List<CoalescedConnection> changedViews = null;
+			synchronized(Http2ConnectionRegistry.this) {
+				if(this.views.remove(view)) {
+					changedViews = this.distribute();
+				}
+			}
+			notifySettingsChange(changedViews);
+			view.drainSink.tryEmitEmpty();
+		}
+
+		@Override
+		public void onUpgrade(HttpConnection upgradedConnection) {
+			// HTTP/2 connections are never upgraded
+		}
+
+		@Override
+		public void onSettingsChange(long maxConcurrentRequests) {
+			List<CoalescedConnection> changedViews;
+			synchronized(Http2ConnectionRegistry.this) {
+				this.maxConcurrentStreams = maxConcurrentRequests;
+				changedViews = this.distribute();
+			}
+			notifySettingsChange(changedViews);
+		}
+
+		@Override
+		public void onRelease(Object state) {
+			Lease lease = (Lease)state;
+			lease.view.release(lease.state);
+		}
+
+		@Override
+		public void onClose() {
+			List<CoalescedConnection> closedViews;
+			synchronized(Http2ConnectionRegistry.this) {
+				if(this.closed) {
+					return;
+				}
+				this.closed = true;
+				Http2ConnectionRegistry.this.unregister(this);
+				closedViews = new ArrayList<>(this.views);
+			}
+			for(CoalescedConnection view : closedViews) {
+				try {
+					HttpConnection.Handler handler = view.handler;
+					if(handler != null) {
+						handler.onClose();
+					}
+				}
+				finally {
+					view.drainSink.tryEmitEmpty();
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * The state passed to the shared connection when sending an exchange on a coalesced connection.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class Lease {
+
+		private final CoalescedConnection view;
+		private final Object state;
+
+		/**
+		 * <p>
+		 * Creates a lease.
+		 * </p>
+		 *
+		 * @param view  the coalesced connection
+		 * @param state the state specified by the owner when sending the exchange
+		 */
+		public Lease(CoalescedConnection view, Object state) {
+			this.view = view;
+			this.state = state;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A coalesced connection exposing a share of a shared HTTP/2 connection to an endpoint.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CoalescedConnection implements HttpConnection {
+
+		private final SharedConnection sharedConnection;
+		private final Object owner;
+		private final AtomicLong inflight;
+		private final Sinks.Empty<Void> drainSink;
+
+		private volatile HttpConnection.Handler handler;
+		private volatile long share;
+		private volatile boolean detached;
+
+		/**
+		 * <p>
+		 * Creates a coalesced connection.
+		 * </p>
+		 *
+		 * @param sharedConnection the shared connection
+		 * @param owner            the endpoint using the connection
+		 */
+		public CoalescedConnection(SharedConnection sharedConnection, Object owner) {
+			this.sharedConnection = sharedConnection;
+			this.owner = owner;
+			this.inflight = new AtomicLong();
+			this.drainSink = Sinks.empty();
+		}
+
+		/**
+		 * <p>
+		 * Releases an exchange sent on the coalesced connection.
+		 * </p>
+		 *
+		 * @param state the state specified by the owner when sending the exchange
+		 */
+		private void release(Object state) {
+			try {
+				HttpConnection.Handler currentHandler = this.handler;
+				if(currentHandler != null) {
+					currentHandler.onRelease(state);
+				}
+			}
+			finally {
+				if(this.inflight.decrementAndGet() == 0 && this.detached) {
+					this.sharedConnection.remove(this);
+				}
+			}
+		}
+
+		@Override
+		public boolean isTls() {
+			return this.sharedConnection.connection.isTls();
+		}
+
+		@Override
+		public HttpVersion getProtocol() {
+			return this.sharedConnection.connection.getProtocol();
+		}
+
+		@Override
+		public SocketAddress getLocalAddress() {
+			return this.sharedConnection.connection.getLocalAddress();
+		}
+
+		@Override
+		public Optional<Certificate[]> getLocalCertificates() {
+			return this.sharedConnection.connection.getLocalCertificates();
+		}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return this.sharedConnection.connection.getRemoteAddress();
+		}
+
+		@Override
+		public Optional<Certificate[]> getRemoteCertificates() {
+			return this.sharedConnection.connection.getRemoteCertificates();
+		}
+
+		@Override
+		public Long getMaxConcurrentRequests() {
+			return this.share;
+		}
+
+		@Override
+		public void setHandler(Handler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public <A extends ExchangeContext> Mono<HttpConnectionExchange<A, ? extends HttpConnectionRequest, ? extends HttpConnectionResponse>> send(EndpointExchange<A> endpointExchange, Object state) {
+			this.inflight.incrementAndGet();
+			return this.sharedConnection.connection.send(endpointExchange, new Lease(this, state));
+		}
+
+		@Override
+		public Mono<Void> shutdown() {
+			return Mono.defer(() -> this.sharedConnection.detach(this, false));
+		}
+
+		@Override
+		public Mono<Void> shutdownGracefully() {
+			return Mono.defer(() -> this.sharedConnection.detach(this, true));
+		}
+
+		@Override
+		public boolean isClosed() {
+			return this.detached || this.sharedConnection.connection.isClosed();
+		}
+
+		@Override
+		public Mono<Boolean> ping(long timeout) {
+			return this.sharedConnection.connection.ping(timeout);
+		}
+	}
+}
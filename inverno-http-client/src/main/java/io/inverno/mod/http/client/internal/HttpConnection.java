@@ -157,6 +157,23 @@ public interface HttpConnection {
 	 */
 	boolean isClosed();
 
+	/**
+	 * <p>
+	 * Checks that the connection is alive.
+	 * </p>
+	 *
+	 * <p>
+	 * The default implementation only checks that the connection is not closed, an HTTP/2 connection sends a {@code PING} frame and waits for the acknowledgement.
+	 * </p>
+	 *
+	 * @param timeout the time in milliseconds to wait for the peer acknowledgement
+	 *
+	 * @return a mono emitting true if the connection is alive, false otherwise
+	 */
+	default Mono<Boolean> ping(long timeout) {
+		return Mono.fromSupplier(() -> !this.isClosed());
+	}
+
 	/**
 	 * <p>
 	 * A connection handler used to handle connection lifecycle events.
@@ -6,6 +6,7 @@ import io.inverno.core.annotation.Wrapper;
 import io.inverno.mod.base.concurrent.Reactor;
 import io.inverno.mod.base.converter.ObjectConverter;
 import io.inverno.mod.base.converter.StringConverter;
+import io.inverno.mod.base.metrics.Metrics;
 import io.inverno.mod.base.net.NetService;
 import io.inverno.mod.base.resource.ResourceService;
 import io.inverno.mod.http.base.header.HeaderCodec;
@@ -38,6 +39,23 @@ public final class ModuleSockets {
 	@Bean( name = "headerCodecs" )
 	public interface HeaderCodecsSocket extends Supplier<List<HeaderCodec<?>>> {}
 
+	/**
+	 * <p>
+	 * The metrics service provider socket using a no-op implementation by default.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	@Overridable @Wrapper @Bean( name = "metrics", visibility = Bean.Visibility.PRIVATE )
+	public static class MetricsSocket implements Supplier<Metrics> {
+
+		@Override
+		public Metrics get() {
+			return Metrics.noop();
+		}
+	}
+
 	/**
 	 * <p>
 	 * The {@link NetService} socket.
@@ -18,6 +18,9 @@ package io.inverno.mod.http.client.internal;
 import io.inverno.mod.base.concurrent.CommandExecutor;
 import io.inverno.mod.base.concurrent.Reactor;
 import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.metrics.Gauge;
+import io.inverno.mod.base.metrics.Histogram;
+import io.inverno.mod.base.metrics.Metrics;
 import io.inverno.mod.base.net.NetClientConfiguration;
 import io.inverno.mod.base.net.NetService;
 import io.inverno.mod.http.base.ExchangeContext;
@@ -46,6 +49,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -77,6 +81,22 @@ import reactor.core.publisher.Sinks;
  * beyond which requests start being rejected.
  * </li>
  *
+ * <p>
+ * A pool can also be bound to a single event loop when used as a sub-pool of an {@link EventLoopAffinePooledEndpoint}, in which case connections are created on that event loop and pool commands are
+ * executed directly on that event loop instead of going through the {@link CommandExecutor}.
+ * </p>
+ *
+ * <p>
+ * The pool records the following metrics tagged with the {@code remote} address: {@code http.client.pool.acquire.duration} (time in nanoseconds to acquire a connection),
+ * {@code http.client.pool.connections} (active connections), {@code http.client.pool.connections.parked} (parked connections), {@code http.client.pool.requests.pending} (buffered requests) and
+ * {@code http.client.connection.requests} (inflight requests on a connection when it is acquired).
+ * </p>
+ *
+ * <p>
+ * When {@link HttpClientConfiguration#pool_adaptive_limit_enabled()} is enabled, the number of inflight requests is bounded by an {@link AdaptiveConcurrencyLimiter} and requests exceeding the
+ * current limit are rejected right away instead of being buffered, the current limit is recorded in the {@code http.client.pool.limit} gauge.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.6
  *
@@ -90,16 +110,21 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	private final EventLoop eventLoop;
 
 	private final int maxSize;
+	private final int minIdleSize;
 	private final Integer bufferSize;
 	private final long cleanPeriod;
 	private final long connectTimeout;
+	private final Long livenessCheckInterval;
 	private final float connectLoadThreshold;
 	private final int connectChoiceCount;
 
 	private final CommandExecutor<PooledEndpoint<A>> commandExecutor;
+	private final Deque<Consumer<PooledEndpoint<A>>> eventLoopCommands;
+	private final boolean eventLoopBound;
 	private final PooledHttpConnection[] connections;
 	private final Deque<PooledHttpConnection> parkedConnections;
 	private final ConnectionRequestBuffer requestBuffer;
+	private final AdaptiveConcurrencyLimiter limiter;
 
 	private volatile int size;
 	private volatile int connecting;
@@ -112,6 +137,21 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	private volatile boolean closing;
 	private volatile boolean closed;
 
+	private boolean executing;
+	private boolean connectFailing;
+
+	private final Histogram acquireDuration;
+	private final Histogram connectionRequests;
+	private final Gauge activeConnectionsGauge;
+	private final Gauge parkedConnectionsGauge;
+	private final Gauge pendingRequestsGauge;
+	private final Gauge limitGauge;
+
+	private long recordedActiveConnections;
+	private long recordedParkedConnections;
+	private long recordedPendingRequests;
+	private long recordedLimit;
+
 	/**
 	 * <p>
 	 * Creates a pooled endpoint.
@@ -121,6 +161,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 * @param netService            the net service
 	 * @param sslContextProvider    the SSL context provider
 	 * @param channelConfigurer     the endpoint channel configurer
+	 * @param connectionRegistry    the HTTP/2 connection registry
 	 * @param localAddress          the local address
 	 * @param remoteAddress         the remote endpoint address
 	 * @param configuration         the HTTP client configuration
@@ -130,6 +171,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 * @param urlEncodedBodyEncoder the URL encoded body encoder
 	 * @param multipartBodyEncoder  the multipart body encoder
 	 * @param partFactory           the part factory
+	 * @param metrics               the metrics service provider
 	 * @param exchangeInterceptor   an optional exchange interceptor
 	 */
 	@SuppressWarnings("unchecked")
@@ -138,6 +180,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		NetService netService,
 		SslContextProvider sslContextProvider,
 		EndpointChannelConfigurer channelConfigurer,
+		Http2ConnectionRegistry connectionRegistry,
 		InetSocketAddress localAddress,
 		InetSocketAddress remoteAddress,
 		HttpClientConfiguration configuration,
@@ -147,23 +190,147 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		MultipartEncoder<Parameter> urlEncodedBodyEncoder,
 		MultipartEncoder<Part<?>> multipartBodyEncoder,
 		Part.Factory partFactory,
+		Metrics metrics,
 		ExchangeInterceptor<A, InterceptedExchange<A>> exchangeInterceptor) {
-		super(netService, sslContextProvider, channelConfigurer, localAddress, remoteAddress, configuration, netConfiguration, headerService, parameterConverter, urlEncodedBodyEncoder, multipartBodyEncoder, partFactory, exchangeInterceptor);
+		super(netService, sslContextProvider, channelConfigurer, connectionRegistry, localAddress, remoteAddress, configuration, netConfiguration, headerService, parameterConverter, urlEncodedBodyEncoder, multipartBodyEncoder, partFactory, exchangeInterceptor);
 
 		this.maxSize = Math.max(1, this.configuration.pool_max_size());
+		this.minIdleSize = Math.max(0, Math.min(this.configuration.pool_min_idle_size(), this.maxSize));
 		this.bufferSize = this.configuration.pool_buffer_size();
 		this.cleanPeriod = this.configuration.pool_clean_period();
 		this.connectTimeout = this.configuration.pool_connect_timeout();
+		this.livenessCheckInterval = this.configuration.pool_liveness_check_interval() != null && this.configuration.pool_liveness_check_interval() > 0 ? this.configuration.pool_liveness_check_interval() : null;
 		this.connectLoadThreshold = Math.max(0, Math.min(1f, this.configuration.pool_select_connection_load_threshold()));
 		this.connectChoiceCount = Math.max(1, Math.min(this.configuration.pool_select_choice_count(), this.maxSize));
 
 		this.commandExecutor = new CommandExecutor<>(this);
+		this.eventLoopCommands = null;
+		this.eventLoopBound = false;
 		this.connections = new PooledEndpoint.PooledHttpConnection[this.maxSize];
 		this.parkedConnections = new ArrayDeque<>();
 		this.requestBuffer = new ConnectionRequestBuffer();
+		this.limiter = AdaptiveConcurrencyLimiter.from(this.configuration);
 
 		this.reactor = reactor;
 		this.eventLoop = reactor.getEventLoop();
+
+		String remote = remoteAddress.getHostString() + ":" + remoteAddress.getPort();
+		this.acquireDuration = metrics.histogram("http.client.pool.acquire.duration", "remote", remote);
+		this.connectionRequests = metrics.histogram("http.client.connection.requests", "remote", remote);
+		this.activeConnectionsGauge = metrics.gauge("http.client.pool.connections", "remote", remote);
+		this.parkedConnectionsGauge = metrics.gauge("http.client.pool.connections.parked", "remote", remote);
+		this.pendingRequestsGauge = metrics.gauge("http.client.pool.requests.pending", "remote", remote);
+		this.limitGauge = this.limiter != null ? metrics.gauge("http.client.pool.limit", "remote", remote) : null;
+
+		if(this.configuration.pool_warmup_on_create()) {
+			this.warmup();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates a pooled endpoint bound to the specified event loop.
+	 * </p>
+	 *
+	 * <p>
+	 * The resulting pool shares the configuration and the client bootstrap of the parent endpoint, connections are created on the specified event loop and pool commands are executed on that event
+	 * loop.
+	 * </p>
+	 *
+	 * @param parent    the parent endpoint
+	 * @param reactor   the reactor
+	 * @param eventLoop the event loop owning the pool
+	 * @param metrics   the metrics service provider
+	 */
+	@SuppressWarnings("unchecked")
+	PooledEndpoint(AbstractEndpoint<A> parent, Reactor reactor, EventLoop eventLoop, Metrics metrics) {
+		super(parent);
+
+		this.maxSize = Math.max(1, this.configuration.pool_max_size());
+		this.minIdleSize = Math.max(0, Math.min(this.configuration.pool_min_idle_size(), this.maxSize));
+		this.bufferSize = this.configuration.pool_buffer_size();
+		this.cleanPeriod = this.configuration.pool_clean_period();
+		this.connectTimeout = this.configuration.pool_connect_timeout();
+		this.livenessCheckInterval = this.configuration.pool_liveness_check_interval() != null && this.configuration.pool_liveness_check_interval() > 0 ? this.configuration.pool_liveness_check_interval() : null;
+		this.connectLoadThreshold = Math.max(0, Math.min(1f, this.configuration.pool_select_connection_load_threshold()));
+		this.connectChoiceCount = Math.max(1, Math.min(this.configuration.pool_select_choice_count(), this.maxSize));
+
+		this.commandExecutor = null;
+		this.eventLoopCommands = new ArrayDeque<>();
+		this.eventLoopBound = true;
+		this.connections = new PooledEndpoint.PooledHttpConnection[this.maxSize];
+		this.parkedConnections = new ArrayDeque<>();
+		this.requestBuffer = new ConnectionRequestBuffer();
+		this.limiter = AdaptiveConcurrencyLimiter.from(this.configuration);
+
+		this.reactor = reactor;
+		this.eventLoop = eventLoop;
+
+		InetSocketAddress remoteAddress = (InetSocketAddress)parent.getRemoteAddress();
+		String remote = remoteAddress.getHostString() + ":" + remoteAddress.getPort();
+		this.acquireDuration = metrics.histogram("http.client.pool.acquire.duration", "remote", remote);
+		this.connectionRequests = metrics.histogram("http.client.connection.requests", "remote", remote);
+		this.activeConnectionsGauge = metrics.gauge("http.client.pool.connections", "remote", remote);
+		this.parkedConnectionsGauge = metrics.gauge("http.client.pool.connections.parked", "remote", remote);
+		this.pendingRequestsGauge = metrics.gauge("http.client.pool.requests.pending", "remote", remote);
+		this.limitGauge = this.limiter != null ? metrics.gauge("http.client.pool.limit", "remote", remote) : null;
+
+		if(this.configuration.pool_warmup_on_create()) {
+			this.warmup();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Executes a pool command.
+	 * </p>
+	 *
+	 * <p>
+	 * When the pool is bound to an event loop, the command is executed on that event loop: commands submitted from within a command are queued and executed after the current command in order to
+	 * preserve the sequential semantic of the {@link CommandExecutor}. Otherwise the command is executed by the command executor.
+	 * </p>
+	 *
+	 * @param command the command to execute
+	 */
+	private void execute(Consumer<PooledEndpoint<A>> command) {
+		if(!this.eventLoopBound) {
+			this.commandExecutor.execute(command);
+		}
+		else if(!this.eventLoop.inEventLoop()) {
+			this.eventLoop.execute(() -> this.execute(command));
+		}
+		else {
+			this.eventLoopCommands.add(command);
+			if(this.executing) {
+				return;
+			}
+			this.executing = true;
+			try {
+				Consumer<PooledEndpoint<A>> currentCommand;
+				while( (currentCommand = this.eventLoopCommands.poll()) != null) {
+					currentCommand.accept(this);
+				}
+			}
+			finally {
+				this.executing = false;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the pool is saturated.
+	 * </p>
+	 *
+	 * <p>
+	 * A pool is saturated when it has reached its maximum size and has no capacity left, new requests would then be buffered. Since this is invoked outside the command executor, the result is only
+	 * indicative.
+	 * </p>
+	 *
+	 * @return true if the pool is saturated, false otherwise
+	 */
+	boolean isSaturated() {
+		return this.capacity <= 0 && this.size + this.connecting >= this.maxSize;
 	}
 
 	@Override
@@ -180,7 +347,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 
 	@Override
 	public long getActiveRequests() {
-		return this.connecting + (this.totalCapacity - this.capacity) + this.bufferSize;
+		return this.connecting + (this.totalCapacity - this.capacity) + this.requestBuffer.size();
 	}
 
 	@Override
@@ -302,7 +469,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 */
 	private void clean() {
 		// this has to be processed on the command executor as well
-		this.commandExecutor.execute(pool -> {
+		this.execute(pool -> {
 			if(pool.closing || pool.closed) {
 				return;
 			}
@@ -317,11 +484,19 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 					() -> pool.totalCapacity,
 					() -> pool.requestBuffer.size
 				);
-				// We can just close expired connections from the parked list
+				// We can just close expired connections from the parked list as long as we keep the minimum idle size
 				Deque<Mono<Void>> expiredConnections = null;
+				int established = pool.size + pool.parkedConnections.size();
 				for(Iterator<PooledHttpConnection> iterator = pool.parkedConnections.iterator(); iterator.hasNext();) {
 					PooledHttpConnection parkedConnection = iterator.next();
 					if(parkedConnection.isExpired()) {
+						if(established <= pool.minIdleSize) {
+							// the connection is kept idle, let's make sure it is still alive
+							parkedConnection.touch();
+							pool.checkLiveness(parkedConnection);
+							continue;
+						}
+						established--;
 						iterator.remove();
 						if(expiredConnections == null) {
 							expiredConnections = new ArrayDeque<>();
@@ -338,12 +513,32 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 					Flux.merge(expiredConnections).subscribe();
 				}
 
+				// Check idle connections that haven't been used for a while so dead connections are not handed out
+				if(pool.livenessCheckInterval != null) {
+					long now = System.currentTimeMillis();
+					for(int i=0;i<pool.size;i++) {
+						PooledHttpConnection connection = pool.connections[i];
+						if(connection.allocated == 0 && now - connection.lastCheckTime >= pool.livenessCheckInterval) {
+							pool.checkLiveness(connection);
+						}
+					}
+					for(PooledHttpConnection parkedConnection : pool.parkedConnections) {
+						if(parkedConnection.allocated == 0 && now - parkedConnection.lastCheckTime >= pool.livenessCheckInterval) {
+							pool.checkLiveness(parkedConnection);
+						}
+					}
+				}
+
 				// we should park connection and then try to close
 				Deque<PooledHttpConnection> parkableConnections = this.selectParkable();
 
 				if(parkableConnections != null) {
 					parkableConnections.forEach(this::park);
 				}
+
+				// Replace closed connections to keep the minimum idle size
+				pool.ensureSize(pool.minIdleSize);
+				pool.recordState();
 			}
 			catch(Exception e) {
 				LOGGER.fatal("Failed to clean pool", e);
@@ -361,11 +556,167 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 * </p>
 	 */
 	private void scheduleClean() {
-		if(this.cleanFuture == null && !this.closed && !this.closing && (this.size > 0 || this.connecting > 0 || !this.parkedConnections.isEmpty())) {
+		if(this.cleanFuture == null && !this.closed && !this.closing && (this.size > 0 || this.connecting > 0 || !this.parkedConnections.isEmpty() || this.minIdleSize > 0)) {
 			this.cleanFuture = this.eventLoop.schedule(this::clean, this.cleanPeriod, TimeUnit.MILLISECONDS);
 		}
 	}
 
+	/**
+	 * <p>
+	 * Establishes connections in the background when the pool is created.
+	 * </p>
+	 *
+	 * <p>
+	 * This establishes the minimum number of idle connections or a single connection if no minimum idle size was specified.
+	 * </p>
+	 */
+	private void warmup() {
+		this.execute(pool -> {
+			pool.ensureSize(Math.max(1, pool.minIdleSize));
+			pool.scheduleClean();
+		});
+	}
+
+	/**
+	 * <p>
+	 * Establishes new connections in the background until the specified number of connections are established or being established in the pool.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor.
+	 * </p>
+	 *
+	 * @param minSize the minimum number of connections
+	 */
+	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
+	private void ensureSize(int minSize) {
+		for(int missing = minSize - (this.size + this.connecting + this.parkedConnections.size());missing > 0 && this.size + this.connecting < this.maxSize;missing--) {
+			this.connecting++;
+			this.createConnection(this.eventLoopBound ? this.eventLoop : null).subscribe(
+				connection -> this.execute(pool -> {
+					pool.connecting--;
+					pool.connectFailing = false;
+					if(pool.closing || pool.closed) {
+						connection.shutdown().subscribe();
+					}
+					else {
+						pool.addConnection(connection);
+						pool.recordState();
+						pool.drainBuffer();
+						pool.scheduleClean();
+					}
+				}),
+				e -> this.execute(pool -> {
+					pool.connecting--;
+					// The clean task retries periodically, only log the first failure to avoid flooding logs while the remote endpoint is down
+					if(!pool.connectFailing) {
+						pool.connectFailing = true;
+						LOGGER.warn("Failed to establish pool connection", e);
+					}
+					else {
+						LOGGER.debug("Failed to establish pool connection", e);
+					}
+				}),
+				() -> {}
+			);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Checks the liveness of an idle connection.
+	 * </p>
+	 *
+	 * <p>
+	 * The connection is shutdown and removed from the pool if it didn't respond within the pool connect timeout, it is eventually replaced by the clean task when the pool is below its minimum idle
+	 * size.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor.
+	 * </p>
+	 *
+	 * @param connection an idle connection
+	 */
+	private void checkLiveness(PooledHttpConnection connection) {
+		connection.lastCheckTime = System.currentTimeMillis();
+		connection.ping(this.connectTimeout)
+			.onErrorReturn(false)
+			.subscribe(alive -> {
+				if(!alive) {
+					LOGGER.debug("Idle connection is dead");
+					connection.shutdown()
+						.doOnError(e -> LOGGER.warn(() -> "Error shutting down pooled connection", e))
+						.onErrorResume(e -> true, e -> Mono.empty())
+						.subscribe();
+				}
+			});
+	}
+
+	/**
+	 * <p>
+	 * Adds a new connection to the active pool.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor.
+	 * </p>
+	 *
+	 * @param connection the connection to add
+	 *
+	 * @return the pooled connection
+	 */
+	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
+	private PooledHttpConnection addConnection(HttpConnection connection) {
+		PooledHttpConnection pooledConnection = new PooledHttpConnection(this.size, connection);
+		this.connections[this.size++] = pooledConnection;
+		this.totalCapacity += pooledConnection.capacity;
+		this.capacity += pooledConnection.capacity;
+		return pooledConnection;
+	}
+
+	/**
+	 * <p>
+	 * Records the state of the pool in the pool gauges.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor after the pool has been modified. Gauges are updated with deltas so that they can be shared by multiple pools.
+	 * </p>
+	 */
+	private void recordState() {
+		long activeConnections = this.size;
+		this.activeConnectionsGauge.add(activeConnections - this.recordedActiveConnections);
+		this.recordedActiveConnections = activeConnections;
+
+		long parkedConnectionsCount = this.parkedConnections.size();
+		this.parkedConnectionsGauge.add(parkedConnectionsCount - this.recordedParkedConnections);
+		this.recordedParkedConnections = parkedConnectionsCount;
+
+		long pendingRequests = this.requestBuffer.size();
+		this.pendingRequestsGauge.add(pendingRequests - this.recordedPendingRequests);
+		this.recordedPendingRequests = pendingRequests;
+
+		this.recordLimit();
+	}
+
+	/**
+	 * <p>
+	 * Records the current adaptive concurrency limit in the limit gauge.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor.
+	 * </p>
+	 */
+	private void recordLimit() {
+		if(this.limiter != null) {
+			long limit = this.closing || this.closed ? 0 : this.limiter.getLimit();
+			this.limitGauge.add(limit - this.recordedLimit);
+			this.recordedLimit = limit;
+		}
+	}
+
 	/**
 	 * <p>
 	 * Tries to acquire a connection.
@@ -375,12 +726,26 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 */
 	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
 	private void acquire(ConnectionRequest request) {
-		this.commandExecutor.execute(pool -> {
+		this.execute(pool -> {
 			if(pool.closing || pool.closed) {
 				request.error(new ConnectionPoolException("Pool closed"));
+				return;
+			}
+			// 0. Shed load when the adaptive concurrency limit is reached
+			if(pool.limiter != null && !request.limited) {
+				if(!pool.limiter.tryAcquire()) {
+					request.error(new ConnectionPoolException("Concurrency limit exceeded"));
+					pool.recordState();
+					return;
+				}
+				request.limited = true;
 			}
 			// 1. Select a connection
-			PooledHttpConnection connection = pool.selectConnection();
+			PooledHttpConnection connection;
+			while((connection = pool.selectConnection()) != null && connection.isClosed()) {
+				// the connection was closed but the pool hasn't been notified yet
+				pool.removeConnection(connection);
+			}
 			if(connection != null) {
 				request.success(connection);
 			}
@@ -399,6 +764,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				// 4. Fail
 				request.error(new ConnectionPoolException("Maximum pending connections exceeded"));
 			}
+			pool.recordState();
 			this.scheduleClean();
 		});
 	}
@@ -420,7 +786,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		if(!this.parkedConnections.isEmpty()) {
 			for(Iterator<PooledHttpConnection> iterator = this.parkedConnections.iterator(); iterator.hasNext();) {
 				PooledHttpConnection parkedConnection = iterator.next();
-				if(!parkedConnection.isExpired() && parkedConnection.allocated < parkedConnection.capacity) {
+				if(!parkedConnection.isExpired() && !parkedConnection.isClosed() && parkedConnection.allocated < parkedConnection.capacity) {
 					this.connecting--;
 					// restore the connection
 					parkedConnection.index = this.size++;
@@ -437,8 +803,8 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 
 		request.startTimeout();
 		// Create a new connection
-		this.createConnection().subscribe(
-			connection -> this.commandExecutor.execute(pool -> {
+		this.createConnection(this.eventLoopBound ? this.eventLoop : null).subscribe(
+			connection -> this.execute(pool -> {
 				pool.connecting--;
 				if(pool.closing || pool.closed) {
 					request.error(new ConnectionPoolException("Pool closed"));
@@ -446,15 +812,12 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				}
 				else {
 					// we have a new connection
-					PooledHttpConnection pooledConnection = new PooledHttpConnection(pool.size, connection);
-					pool.connections[pool.size++] = pooledConnection;
-					pool.totalCapacity += pooledConnection.capacity;
-					pool.capacity += pooledConnection.capacity;
-					request.success(pooledConnection);
+					request.success(pool.addConnection(connection));
+					pool.recordState();
 					this.drainBuffer();
 				}
 			}),
-			e -> this.commandExecutor.execute(pool -> {
+			e -> this.execute(pool -> {
 				pool.connecting--;
 				request.error(e);
 			}),
@@ -468,13 +831,14 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 * </p>
 	 */
 	private void drainBuffer() {
-		this.commandExecutor.execute(pool -> {
+		this.execute(pool -> {
 			// if we have capacity we should use it
 			// if we don't we should just connect with the first request
 			ConnectionRequest request;
 			for(int i=0;i<pool.capacity && (request = pool.requestBuffer.poll()) != null;i++) {
 				pool.acquire(request);
 			}
+			pool.recordState();
 		});
 	}
 
@@ -488,7 +852,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
 	private void park(PooledHttpConnection connection) {
 		// Remove the connection from the pool and park it
-		this.commandExecutor.execute(pool -> {
+		this.execute(pool -> {
 			if(!connection.removed && !connection.parked && !pool.closing && !pool.closed && pool.connections[connection.index] == connection) {
 				LOGGER.debug("Park connection...");
 				PooledHttpConnection last = pool.connections[--pool.size];
@@ -501,6 +865,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 
 				connection.index = -1;
 				connection.parked = true;
+				pool.recordState();
 
 				// this should result in a noop as this would basically mean we parked a connection while we actually needed it
 				pool.drainBuffer();
@@ -518,30 +883,46 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
 	private void remove(PooledHttpConnection connection) {
 		// Remove the connection from the pool
-		this.commandExecutor.execute(pool -> {
-			if(!connection.removed && !pool.closing && !pool.closed) {
-				LOGGER.debug("Remove connection...");
-				if(connection.parked) {
-					pool.parkedConnections.remove(connection);
-					connection.index = -1;
-					connection.parked = false;
-					connection.removed = true;
-				}
-				else if(pool.connections[connection.index] == connection) {
-					PooledHttpConnection last = pool.connections[--pool.size];
-					last.index = connection.index;
-					pool.connections[connection.index] = last;
-					pool.connections[pool.size] = null;
-					pool.totalCapacity -= connection.capacity;
-					pool.capacity -= (connection.capacity - connection.allocated);
+		this.execute(pool -> pool.removeConnection(connection));
+	}
+
+	/**
+	 * <p>
+	 * Removes a connection from the pool.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked by the command executor.
+	 * </p>
+	 *
+	 * @param connection the connection to remove
+	 */
+	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
+	private void removeConnection(PooledHttpConnection connection) {
+		if(!connection.removed && !this.closing && !this.closed) {
+			LOGGER.debug("Remove connection...");
+			if(connection.parked) {
+				this.parkedConnections.remove(connection);
+				connection.index = -1;
+				connection.parked = false;
+				connection.removed = true;
+				this.recordState();
+			}
+			else if(this.connections[connection.index] == connection) {
+				PooledHttpConnection last = this.connections[--this.size];
+				last.index = connection.index;
+				this.connections[connection.index] = last;
+				this.connections[this.size] = null;
+				this.totalCapacity -= connection.capacity;
+				this.capacity -= (connection.capacity - connection.allocated);
 
-					connection.index = -1;
-					connection.removed = true;
+				connection.index = -1;
+				connection.removed = true;
+				this.recordState();
 
-					pool.drainBuffer();
-				}
+				this.drainBuffer();
 			}
-		});
+		}
 	}
 
 	/**
@@ -554,7 +935,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 	 */
 	@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
 	private void setCapacity(PooledHttpConnection connection, long capacity) {
-		this.commandExecutor.execute(pool -> {
+		this.execute(pool -> {
 			LOGGER.debug("Set connection capacity... ");
 			if(!connection.removed) {
 				long oldCapacity = connection.capacity;
@@ -586,7 +967,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				this.cleanFuture.cancel(false);
 			}
 			Sinks.Many<PooledHttpConnection> sink = Sinks.many().unicast().onBackpressureBuffer();
-			this.commandExecutor.execute(pool -> {
+			this.execute(pool -> {
 				for(int i=0;i<pool.size;i++) {
 					sink.tryEmitNext(pool.connections[i]);
 					pool.connections[i] = null;
@@ -596,6 +977,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				while( (parkedConnection = pool.parkedConnections.poll()) != null) {
 					sink.tryEmitNext(parkedConnection);
 				}
+				pool.recordState();
 				sink.tryEmitComplete();
 			});
 
@@ -630,7 +1012,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				this.cleanFuture.cancel(false);
 			}
 			Sinks.Many<PooledHttpConnection> sink = Sinks.many().unicast().onBackpressureBuffer();
-			this.commandExecutor.execute(pool -> {
+			this.execute(pool -> {
 				for(int i=0;i<pool.size;i++) {
 					sink.tryEmitNext(pool.connections[i]);
 					pool.connections[i] = null;
@@ -640,6 +1022,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 				while( (parkedConnection = pool.parkedConnections.poll()) != null) {
 					sink.tryEmitNext(parkedConnection);
 				}
+				pool.recordState();
 				sink.tryEmitComplete();
 			});
 
@@ -672,12 +1055,15 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 
 		private long timeout;
 		private ScheduledFuture<?> timeoutFuture;
+		private long startTime;
+		private long sendTime;
 
 		ConnectionRequest next;
 		ConnectionRequest previous;
 
 		boolean canceled;
 		boolean recycled;
+		boolean limited;
 
 		boolean queued;
 
@@ -705,6 +1091,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 			this.connectionSink = Sinks.one();
 
 			this.timeout = timeout;
+			this.startTime = System.nanoTime();
 		}
 
 		/**
@@ -720,6 +1107,16 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 						() -> {
 							this.timeoutFuture = null;
 							this.connectionSink.tryEmitError(new ConnectionTimeoutException("Exceeded timeout " + this.timeout + "ms"));
+							if(PooledEndpoint.this.limiter != null) {
+								// a timed out request must not hold a concurrency limit slot
+								PooledEndpoint.this.execute(pool -> {
+									if(this.connection == null) {
+										pool.requestBuffer.remove(this);
+										this.releaseLimit();
+										pool.recordState();
+									}
+								});
+							}
 						},
 						this.timeout,
 						TimeUnit.MILLISECONDS
@@ -747,7 +1144,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		 */
 		public Mono<HttpConnection.Handle> asMono() {
 			return this.connectionSink.asMono()
-				.doOnCancel(() -> PooledEndpoint.this.commandExecutor.execute(pool -> {
+				.doOnCancel(() -> PooledEndpoint.this.execute(pool -> {
 						if(pool.closing || pool.closed) {
 							return;
 						}
@@ -772,9 +1169,14 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 			if(!this.canceled) {
 				this.cancelTimeout();
 				this.connection = connection;
+				PooledEndpoint.this.connectionRequests.record(connection.allocated);
 				connection.allocated++;
 				PooledEndpoint.this.capacity--;
+				this.sendTime = System.nanoTime();
+				PooledEndpoint.this.acquireDuration.record(this.sendTime - this.startTime);
 				if(this.connectionSink.tryEmitValue(this) != Sinks.EmitResult.OK) {
+					// the request was canceled or timed out, there's no round trip time to sample
+					this.sendTime = 0;
 					this.release();
 				}
 			}
@@ -789,9 +1191,27 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		 */
 		public void error(Throwable t) {
 			this.cancelTimeout();
+			this.releaseLimit();
 			this.connectionSink.tryEmitError(t);
 		}
 
+		/**
+		 * <p>
+		 * Releases the concurrency limit slot acquired by the request, if any.
+		 * </p>
+		 *
+		 * <p>
+		 * This must be invoked by the command executor.
+		 * </p>
+		 */
+		private void releaseLimit() {
+			if(this.limited) {
+				this.limited = false;
+				PooledEndpoint.this.limiter.release(this.sendTime > 0 ? System.nanoTime() - this.sendTime : -1);
+				PooledEndpoint.this.recordLimit();
+			}
+		}
+
 		/**
 		 * <p>
 		 * Releases the underlying pooled connection and give it back to the pool.
@@ -803,7 +1223,8 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		 */
 		@SuppressWarnings("NonAtomicOperationOnVolatileField") // handled by the command executor
 		public void release() {
-			PooledEndpoint.this.commandExecutor.execute(pool -> {
+			PooledEndpoint.this.execute(pool -> {
+				this.releaseLimit();
 				if(this.connection != null && !this.recycled) {
 					if(!pool.closing && !pool.closed) {
 						connection.touch();
@@ -813,6 +1234,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 							pool.capacity++;
 							if(request != null) {
 								request.success(connection);
+								pool.recordState();
 							}
 						}
 					}
@@ -988,6 +1410,7 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		boolean removed;
 
 		Long expirationTime;
+		long lastCheckTime;
 
 		long allocated;
 		long capacity;
@@ -1005,11 +1428,13 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 			this.connection = connection;
 			this.keepAliveTimeout = PooledEndpoint.this.configuration.pool_keep_alive_timeout();
 			this.expirationTime = this.keepAliveTimeout != null ? System.currentTimeMillis() + this.keepAliveTimeout : null;
+			this.lastCheckTime = System.currentTimeMillis();
+
+			// set the handler first so that capacity changes notified in between are not missed
+			this.init();
 
 			Long mcr = connection.getMaxConcurrentRequests();
 			this.capacity = mcr != null ? mcr : Long.MAX_VALUE;
-
-			this.init();
 		}
 
 		private void init() {
@@ -1079,7 +1504,8 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 		 * </p>
 		 */
 		public void touch() {
-			this.expirationTime =  this.keepAliveTimeout != null ? System.currentTimeMillis() + this.keepAliveTimeout : null;
+			this.lastCheckTime = System.currentTimeMillis();
+			this.expirationTime =  this.keepAliveTimeout != null ? this.lastCheckTime + this.keepAliveTimeout : null;
 		}
 
 		@Override
@@ -1117,6 +1543,11 @@ public class PooledEndpoint<A extends ExchangeContext> extends AbstractEndpoint<
 			return this.connection.isClosed();
 		}
 
+		@Override
+		public Mono<Boolean> ping(long timeout) {
+			return this.connection.ping(timeout);
+		}
+
 		@Override
 		public void onUpgrade(HttpConnection upgradedConnection) {
 			this.connection = upgradedConnection;
@@ -51,9 +51,11 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.collection.IntObjectHashMap;
 import io.netty.util.collection.IntObjectMap;
 import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import java.net.SocketAddress;
 import java.security.cert.Certificate;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLPeerUnverifiedException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -97,6 +99,10 @@ public class Http2Connection extends Http2ConnectionHandler implements Http2Fram
 	private boolean closing;
 	private boolean closed;
 	
+	private Sinks.One<Boolean> pingSink;
+	private long pingData;
+	private ScheduledFuture<?> pingTimeout;
+	
 	/**
 	 * <p>
 	 * Creates an Http/2 connection.
@@ -333,6 +339,52 @@ public class Http2Connection extends Http2ConnectionHandler implements Http2Fram
 	public boolean isClosed() {
 		return this.closed;
 	}
+
+	@Override
+	public Mono<Boolean> ping(long timeout) {
+		Sinks.One<Boolean> sink = Sinks.one();
+		return sink.asMono()
+			.doOnSubscribe(ign -> {
+				if(this.closing || this.closed) {
+					sink.tryEmitValue(false);
+				}
+				else if(this.pingSink != null) {
+					// A ping is already in progress
+					this.pingSink.asMono().subscribe(sink::tryEmitValue);
+				}
+				else {
+					this.pingSink = sink;
+					this.pingData = System.nanoTime();
+					this.pingTimeout = this.channelContext.executor().schedule(() -> this.completePing(false), timeout, TimeUnit.MILLISECONDS);
+					this.encoder().writePing(this.channelContext, false, this.pingData, this.channelContext.newPromise().addListener(future -> {
+						if(!future.isSuccess()) {
+							this.completePing(false);
+						}
+					}));
+					this.flush(this.channelContext);
+				}
+			})
+			.subscribeOn(this.scheduler);
+	}
+
+	/**
+	 * <p>
+	 * Completes the ping in progress.
+	 * </p>
+	 *
+	 * @param alive true if the ping was acknowledged, false otherwise
+	 */
+	private void completePing(boolean alive) {
+		if(this.pingSink != null) {
+			Sinks.One<Boolean> sink = this.pingSink;
+			this.pingSink = null;
+			if(this.pingTimeout != null) {
+				this.pingTimeout.cancel(false);
+				this.pingTimeout = null;
+			}
+			sink.tryEmitValue(alive);
+		}
+	}
 	
 	@Override
 	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
@@ -377,6 +429,7 @@ public class Http2Connection extends Http2ConnectionHandler implements Http2Fram
 	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
 		super.channelInactive(ctx);
 		this.closed = true;
+		this.completePing(false);
 		// each stream should be closed individually so disposal would be handled in #onStreamClosed()
 	}
 	
@@ -515,6 +568,9 @@ public class Http2Connection extends Http2ConnectionHandler implements Http2Fram
 
 	@Override
 	public void onPingAckRead(ChannelHandlerContext ctx, long data) throws Http2Exception {
+		if(data == this.pingData) {
+			this.completePing(true);
+		}
 	}
 
 	@Override
@@ -34,6 +34,8 @@
  * <dd>the HTTP client module configuration</dd>
  * <dt><b>headerCodecs</b></dt>
  * <dd>custom header codecs</dd>
+ * <dt><b>metrics</b></dt>
+ * <dd>override the default no-op metrics service provider used to record connection pool metrics</dd>
  * <dt><b>parameterConverter</b></dt>
  * <dd>override the default parameter converter used in {@link io.inverno.mod.http.base.Parameter} instances to convert their values</dd>
  * </dl>
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.client.internal;
+
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+	private static final long RTT = 10_000_000L;
+
+	@Test
+	public void test_tryAcquire() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5);
+
+		Assertions.assertTrue(limiter.tryAcquire());
+		Assertions.assertTrue(limiter.tryAcquire());
+		Assertions.assertFalse(limiter.tryAcquire());
+		Assertions.assertEquals(2, limiter.getInflight());
+
+		limiter.release(-1);
+		Assertions.assertEquals(1, limiter.getInflight());
+		Assertions.assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	public void test_limit_increase() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.5);
+
+		this.run(limiter, RTT, 100);
+		Assertions.assertTrue(limiter.getLimit() > 10);
+	}
+
+	@Test
+	public void test_limit_decrease() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 1.5);
+
+		this.run(limiter, RTT, 20);
+		int limit = limiter.getLimit();
+
+		// the upstream degrades
+		this.run(limiter, RTT * 5, 3);
+		Assertions.assertTrue(limiter.getLimit() < limit);
+	}
+
+	@Test
+	public void test_app_limited() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 1.5);
+
+		// only one request at a time: the limit must not grow
+		for(int i=0;i<1000;i++) {
+			limiter.tryAcquire();
+			limiter.release(RTT);
+		}
+		Assertions.assertEquals(50, limiter.getLimit());
+	}
+
+	@Test
+	public void test_bounds() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 40, 60, 1.5);
+
+		this.run(limiter, RTT, 100);
+		Assertions.assertEquals(60, limiter.getLimit());
+
+		this.run(limiter, RTT * 10, 2);
+		Assertions.assertEquals(40, limiter.getLimit());
+	}
+
+	@Test
+	public void test_from() {
+		Assertions.assertNull(AdaptiveConcurrencyLimiter.from(HttpClientConfigurationLoader.load(configuration -> {})));
+		Assertions.assertEquals(42, AdaptiveConcurrencyLimiter.from(HttpClientConfigurationLoader.load(configuration -> configuration.pool_adaptive_limit_enabled(true).pool_adaptive_limit_initial(42))).getLimit());
+	}
+
+	/**
+	 * <p>
+	 * Saturates the limiter and completes all inflight requests with the specified RTT, repeatedly.
+	 * </p>
+	 */
+	private void run(AdaptiveConcurrencyLimiter limiter, long rtt, int rounds) {
+		for(int i=0;i<rounds;i++) {
+			int count = 0;
+			while(limiter.tryAcquire()) {
+				count++;
+			}
+			for(int j=0;j<count;j++) {
+				limiter.release(rtt);
+			}
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.client.internal;
+
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class Http2ConnectionRegistryTest {
+
+	private static final InetSocketAddress REMOTE_ADDRESS = InetSocketAddress.createUnresolved("example.org", 443);
+
+	private static final HttpClientConfiguration CONFIGURATION = HttpClientConfigurationLoader.load(configuration -> configuration
+		.tls_enabled(true)
+		.http2_connection_coalescing(true)
+	);
+
+	@Test
+	public void test_key() {
+		Assertions.assertNull(Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, HttpClientConfigurationLoader.load(configuration -> {}), null));
+		Assertions.assertNull(Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, HttpClientConfigurationLoader.load(CONFIGURATION, configuration -> configuration.http_protocol_versions(Set.of(HttpVersion.HTTP_1_1))), null));
+
+		Assertions.assertEquals(
+			Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null),
+			Http2ConnectionRegistry.key(null, InetSocketAddress.createUnresolved("example.org", 443), HttpClientConfigurationLoader.load(configuration -> configuration.tls_enabled(true).http2_connection_coalescing(true)), null)
+		);
+		Assertions.assertNotEquals(
+			Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null),
+			Http2ConnectionRegistry.key(null, InetSocketAddress.createUnresolved("example.com", 443), CONFIGURATION, null)
+		);
+	}
+
+	@Test
+	public void test_coalescing() {
+		Http2ConnectionRegistry registry = new Http2ConnectionRegistry();
+		Http2ConnectionRegistry.Key key = Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null);
+		HttpConnection connection = this.mockConnection(HttpVersion.HTTP_2_0, 100L);
+		AtomicInteger connectCount = new AtomicInteger();
+
+		Object owner1 = new Object();
+		Object owner2 = new Object();
+
+		HttpConnection connection1 = registry.getConnection(key, null, owner1, () -> Mono.fromSupplier(() -> { connectCount.incrementAndGet(); return connection; })).block();
+		HttpConnection.Handler handler1 = Mockito.mock(HttpConnection.Handler.class);
+		connection1.setHandler(handler1);
+		Assertions.assertEquals(100L, connection1.getMaxConcurrentRequests());
+
+		HttpConnection connection2 = registry.getConnection(key, null, owner2, () -> Mono.fromSupplier(() -> { connectCount.incrementAndGet(); return connection; })).block();
+		HttpConnection.Handler handler2 = Mockito.mock(HttpConnection.Handler.class);
+		connection2.setHandler(handler2);
+
+		// the connection is shared and its streams are distributed among owners
+		Assertions.assertEquals(1, connectCount.get());
+		Assertions.assertEquals(1, registry.size());
+		Assertions.assertEquals(50L, connection1.getMaxConcurrentRequests());
+		Assertions.assertEquals(50L, connection2.getMaxConcurrentRequests());
+		Mockito.verify(handler1).onSettingsChange(50L);
+
+		// an owner never gets the same connection twice
+		HttpConnection otherConnection = this.mockConnection(HttpVersion.HTTP_2_0, 100L);
+		registry.getConnection(key, null, owner1, () -> Mono.fromSupplier(() -> { connectCount.incrementAndGet(); return otherConnection; })).block();
+		Assertions.assertEquals(2, connectCount.get());
+		Assertions.assertEquals(2, registry.size());
+
+		// server settings are distributed among owners
+		HttpConnection.Handler sharedHandler = this.getSharedHandler(connection);
+		sharedHandler.onSettingsChange(11L);
+		Assertions.assertEquals(6L, connection1.getMaxConcurrentRequests());
+		Assertions.assertEquals(5L, connection2.getMaxConcurrentRequests());
+		Mockito.verify(handler1).onSettingsChange(6L);
+		Mockito.verify(handler2).onSettingsChange(5L);
+	}
+
+	@Test
+	public void test_release() {
+		Http2ConnectionRegistry registry = new Http2ConnectionRegistry();
+		Http2ConnectionRegistry.Key key = Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null);
+		HttpConnection connection = this.mockConnection(HttpVersion.HTTP_2_0, 100L);
+
+		HttpConnection connection1 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection.Handler handler1 = Mockito.mock(HttpConnection.Handler.class);
+		connection1.setHandler(handler1);
+
+		HttpConnection connection2 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection.Handler handler2 = Mockito.mock(HttpConnection.Handler.class);
+		connection2.setHandler(handler2);
+
+		Object state = new Object();
+		connection2.send(null, state);
+
+		ArgumentCaptor<Object> stateCaptor = ArgumentCaptor.forClass(Object.class);
+		Mockito.verify(connection).send(Mockito.any(), stateCaptor.capture());
+		this.getSharedHandler(connection).onRelease(stateCaptor.getValue());
+
+		Mockito.verify(handler2).onRelease(state);
+		Mockito.verify(handler1, Mockito.never()).onRelease(Mockito.any());
+	}
+
+	@Test
+	public void test_shutdown() {
+		Http2ConnectionRegistry registry = new Http2ConnectionRegistry();
+		Http2ConnectionRegistry.Key key = Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null);
+		HttpConnection connection = this.mockConnection(HttpVersion.HTTP_2_0, 100L);
+
+		HttpConnection connection1 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection connection2 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection.Handler handler2 = Mockito.mock(HttpConnection.Handler.class);
+		connection2.setHandler(handler2);
+
+		// an exchange is inflight: the capacity is given back once it completes
+		connection1.send(null, null);
+		ArgumentCaptor<Object> stateCaptor = ArgumentCaptor.forClass(Object.class);
+		Mockito.verify(connection).send(Mockito.any(), stateCaptor.capture());
+
+		connection1.shutdown().block();
+		Assertions.assertTrue(connection1.isClosed());
+		Assertions.assertEquals(50L, connection2.getMaxConcurrentRequests());
+
+		this.getSharedHandler(connection).onRelease(stateCaptor.getValue());
+		Assertions.assertEquals(100L, connection2.getMaxConcurrentRequests());
+		Mockito.verify(handler2).onSettingsChange(100L);
+		Mockito.verify(connection, Mockito.never()).shutdown();
+
+		// the last owner closes the connection
+		connection2.shutdownGracefully().block();
+		Mockito.verify(connection).shutdownGracefully();
+		Assertions.assertEquals(0, registry.size());
+	}
+
+	@Test
+	public void test_close() {
+		Http2ConnectionRegistry registry = new Http2ConnectionRegistry();
+		Http2ConnectionRegistry.Key key = Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null);
+		HttpConnection connection = this.mockConnection(HttpVersion.HTTP_2_0, 100L);
+
+		HttpConnection connection1 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection.Handler handler1 = Mockito.mock(HttpConnection.Handler.class);
+		connection1.setHandler(handler1);
+		HttpConnection connection2 = registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block();
+		HttpConnection.Handler handler2 = Mockito.mock(HttpConnection.Handler.class);
+		connection2.setHandler(handler2);
+
+		this.getSharedHandler(connection).onClose();
+		Mockito.verify(handler1).onClose();
+		Mockito.verify(handler2).onClose();
+		Assertions.assertEquals(0, registry.size());
+	}
+
+	@Test
+	public void test_http1x() {
+		Http2ConnectionRegistry registry = new Http2ConnectionRegistry();
+		Http2ConnectionRegistry.Key key = Http2ConnectionRegistry.key(null, REMOTE_ADDRESS, CONFIGURATION, null);
+		HttpConnection connection = this.mockConnection(HttpVersion.HTTP_1_1, 10L);
+
+		Assertions.assertSame(connection, registry.getConnection(key, null, new Object(), () -> Mono.just(connection)).block());
+		Assertions.assertEquals(0, registry.size());
+		Mockito.verify(connection, Mockito.never()).setHandler(Mockito.any());
+	}
+
+	private HttpConnection mockConnection(HttpVersion protocol, Long maxConcurrentRequests) {
+		HttpConnection connection = Mockito.mock(HttpConnection.class);
+		Mockito.when(connection.getProtocol()).thenReturn(protocol);
+		Mockito.when(connection.getMaxConcurrentRequests()).thenReturn(maxConcurrentRequests);
+		Mockito.when(connection.shutdown()).thenReturn(Mono.empty());
+		Mockito.when(connection.shutdownGracefully()).thenReturn(Mono.empty());
+		return connection;
+	}
+
+	private HttpConnection.Handler getSharedHandler(HttpConnection connection) {
+		ArgumentCaptor<HttpConnection.Handler> handlerCaptor = ArgumentCaptor.forClass(HttpConnection.Handler.class);
+		Mockito.verify(connection).setHandler(handlerCaptor.capture());
+		return handlerCaptor.getValue();
+	}
+}
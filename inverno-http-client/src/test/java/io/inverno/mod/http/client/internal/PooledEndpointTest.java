@@ -16,10 +16,41 @@
 
 package io.inverno.mod.http.client.internal;
 
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.base.metrics.Counter;
+import io.inverno.mod.base.metrics.Gauge;
+import io.inverno.mod.base.metrics.Histogram;
+import io.inverno.mod.base.metrics.Metrics;
+import io.inverno.mod.base.net.NetClientConfiguration;
+import io.inverno.mod.base.net.NetService;
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.client.HttpClientConfiguration;
+import io.inverno.mod.http.client.HttpClientConfigurationLoader;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
 
 /**
  *
@@ -71,6 +102,274 @@ public class PooledEndpointTest {
 	}
 
 
+	private EventLoop eventLoop;
+
+	private List<HttpConnection> connections;
+
+	private Consumer<HttpConnection> connectionConfigurer;
+
+	@BeforeEach
+	public void init() {
+		this.eventLoop = new DefaultEventLoop();
+		this.connections = new CopyOnWriteArrayList<>();
+		this.connectionConfigurer = connection -> {};
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.eventLoop.shutdownGracefully();
+	}
+
+	@Test
+	public void testWarmup() {
+		PooledEndpoint<?> endpoint = this.createEndpoint(HttpClientConfigurationLoader.load(configuration -> configuration
+			.pool_min_idle_size(3)
+			.pool_warmup_on_create(true)
+			.pool_clean_period(60000L)
+		));
+		try {
+			// connections are established in the background without any request
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(3, this.connections.size()));
+
+			endpoint.connection().block(Duration.ofSeconds(5));
+			Assertions.assertEquals(3, this.connections.size());
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+
+	@Test
+	public void testMinIdleSize() {
+		PooledEndpoint<?> endpoint = this.createEndpoint(HttpClientConfigurationLoader.load(configuration -> configuration
+			.pool_min_idle_size(2)
+			.pool_clean_period(50L)
+		));
+		try {
+			endpoint.connection().block(Duration.ofSeconds(5));
+			// the clean task tops up the pool to the minimum idle size
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(2, this.connections.size()));
+
+			// a closed connection is replaced
+			this.getHandler(this.connections.get(0)).onClose();
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(3, this.connections.size()));
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+
+	@Test
+	public void testLivenessCheck() {
+		// the first connection never responds to PING
+		this.connectionConfigurer = connection -> Mockito.when(connection.ping(Mockito.anyLong())).thenReturn(Mono.just(this.connections.size() > 1));
+		PooledEndpoint<?> endpoint = this.createEndpoint(HttpClientConfigurationLoader.load(configuration -> configuration
+			.pool_min_idle_size(1)
+			.pool_warmup_on_create(true)
+			.pool_clean_period(50L)
+			.pool_liveness_check_interval(100L)
+		));
+		try {
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(1, this.connections.size()));
+			HttpConnection deadConnection = this.connections.get(0);
+
+			// the idle connection is checked before it expires, it is closed and replaced
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(2, this.connections.size()));
+			Mockito.verify(deadConnection, Mockito.atLeastOnce()).ping(Mockito.anyLong());
+			Mockito.verify(deadConnection).shutdown();
+
+			// the live connection is checked periodically and kept
+			HttpConnection liveConnection = this.connections.get(1);
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Mockito.verify(liveConnection, Mockito.atLeast(2)).ping(Mockito.anyLong()));
+			Mockito.verify(liveConnection, Mockito.never()).shutdown();
+			Assertions.assertEquals(2, this.connections.size());
+
+			HttpConnection.Handle handle = endpoint.connection().block(Duration.ofSeconds(5));
+			handle.send(null);
+			Mockito.verify(liveConnection).send(Mockito.any(), Mockito.any());
+			Mockito.verify(deadConnection, Mockito.never()).send(Mockito.any(), Mockito.any());
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+
+	@Test
+	public void testClosedConnectionNotAcquired() {
+		PooledEndpoint<?> endpoint = this.createEndpoint(HttpClientConfigurationLoader.load(configuration -> configuration
+			.pool_warmup_on_create(true)
+			.pool_clean_period(60000L)
+		));
+		try {
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(1, this.connections.size()));
+			HttpConnection closedConnection = this.connections.get(0);
+			// the connection was closed but the pool hasn't been notified yet
+			Mockito.when(closedConnection.isClosed()).thenReturn(true);
+
+			HttpConnection.Handle handle = endpoint.connection().block(Duration.ofSeconds(5));
+			handle.send(null);
+			Assertions.assertEquals(2, this.connections.size());
+			Mockito.verify(this.connections.get(1)).send(Mockito.any(), Mockito.any());
+			Mockito.verify(closedConnection, Mockito.never()).send(Mockito.any(), Mockito.any());
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		RecordingMetrics metrics = new RecordingMetrics();
+		this.connectionConfigurer = connection -> Mockito.when(connection.getMaxConcurrentRequests()).thenReturn(1L);
+		PooledEndpoint<?> endpoint = this.createEndpoint(HttpClientConfigurationLoader.load(configuration -> configuration
+			.pool_max_size(1)
+			.pool_clean_period(60000L)
+		), metrics);
+		try {
+			HttpConnection.Handle handle = endpoint.connection().block(Duration.ofSeconds(5));
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(1, metrics.gauge("http.client.pool.connections", "remote", "localhost:8080").get()));
+			Assertions.assertEquals(0, metrics.gauge("http.client.pool.connections.parked", "remote", "localhost:8080").get());
+			Assertions.assertEquals(0, metrics.gauge("http.client.pool.requests.pending", "remote", "localhost:8080").get());
+			Assertions.assertEquals(1, metrics.histogram("http.client.pool.acquire.duration", "remote", "localhost:8080").getValues().size());
+			Assertions.assertEquals(List.of(0L), metrics.histogram("http.client.connection.requests", "remote", "localhost:8080").getValues());
+
+			// the pool is saturated, the request is buffered
+			CompletableFuture<HttpConnection.Handle> pendingHandle = endpoint.connection().toFuture();
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(1, metrics.gauge("http.client.pool.requests.pending", "remote", "localhost:8080").get()));
+			Assertions.assertFalse(pendingHandle.isDone());
+
+			// the released connection is assigned to the buffered request
+			this.getHandler(this.connections.get(0)).onRelease(handle);
+			pendingHandle.get(5, TimeUnit.SECONDS);
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(0, metrics.gauge("http.client.pool.requests.pending", "remote", "localhost:8080").get()));
+			Assertions.assertEquals(1, metrics.gauge("http.client.pool.connections", "remote", "localhost:8080").get());
+			Assertions.assertEquals(2, metrics.histogram("http.client.pool.acquire.duration", "remote", "localhost:8080").getValues().size());
+			Assertions.assertEquals(List.of(0L, 0L), metrics.histogram("http.client.connection.requests", "remote", "localhost:8080").getValues());
+			Assertions.assertEquals(1, this.connections.size());
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+
+	private PooledEndpoint<?> createEndpoint(HttpClientConfiguration configuration) {
+		return this.createEndpoint(configuration, Metrics.noop());
+	}
+
+	private PooledEndpoint<?> createEndpoint(HttpClientConfiguration configuration, Metrics metrics) {
+		NetService netService = Mockito.mock(NetService.class);
+		Mockito.when(netService.createClient(Mockito.any(), Mockito.<NetClientConfiguration>any())).thenReturn(new Bootstrap());
+		Reactor reactor = Mockito.mock(Reactor.class);
+		Mockito.when(reactor.getEventLoop()).thenReturn(this.eventLoop);
+
+		return new PooledEndpoint<>(reactor, netService, null, null, null, null, InetSocketAddress.createUnresolved("localhost", 8080), configuration, null, null, null, null, null, null, metrics, null) {
+
+			@Override
+			protected Mono<HttpConnection> createConnection(EventLoop eventLoop) {
+				return Mono.fromSupplier(PooledEndpointTest.this::mockConnection);
+			}
+		};
+	}
+
+	private HttpConnection mockConnection() {
+		HttpConnection connection = Mockito.mock(HttpConnection.class);
+		Mockito.when(connection.getProtocol()).thenReturn(HttpVersion.HTTP_2_0);
+		Mockito.when(connection.getMaxConcurrentRequests()).thenReturn(10L);
+		Mockito.when(connection.ping(Mockito.anyLong())).thenReturn(Mono.just(true));
+		Mockito.when(connection.shutdown()).thenReturn(Mono.empty());
+		Mockito.when(connection.shutdownGracefully()).thenReturn(Mono.empty());
+		this.connections.add(connection);
+		this.connectionConfigurer.accept(connection);
+		return connection;
+	}
+
+	private HttpConnection.Handler getHandler(HttpConnection connection) {
+		ArgumentCaptor<HttpConnection.Handler> handlerCaptor = ArgumentCaptor.forClass(HttpConnection.Handler.class);
+		Mockito.verify(connection).setHandler(handlerCaptor.capture());
+		return handlerCaptor.getValue();
+	}
+
+	/**
+	 * <p>
+	 * A metrics implementation recording values in memory.
+	 * </p>
+	 */
+	private static class RecordingMetrics implements Metrics {
+
+		private final Map<String, RecordingCounter> counters = new ConcurrentHashMap<>();
+		private final Map<String, RecordingGauge> gauges = new ConcurrentHashMap<>();
+		private final Map<String, RecordingHistogram> histograms = new ConcurrentHashMap<>();
+
+		private static String key(String name, String... tags) {
+			if(tags.length % 2 != 0) {
+				throw new IllegalArgumentException("Tags must be specified as key/value pairs");
+			}
+			return name + Arrays.toString(tags);
+		}
+
+		@Override
+		public RecordingCounter counter(String name, String... tags) throws IllegalArgumentException {
+			return this.counters.computeIfAbsent(key(name, tags), ign -> new RecordingCounter());
+		}
+
+		@Override
+		public RecordingGauge gauge(String name, String... tags) throws IllegalArgumentException {
+			return this.gauges.computeIfAbsent(key(name, tags), ign -> new RecordingGauge());
+		}
+
+		@Override
+		public RecordingHistogram histogram(String name, String... tags) throws IllegalArgumentException {
+			return this.histograms.computeIfAbsent(key(name, tags), ign -> new RecordingHistogram());
+		}
+	}
+
+	private static class RecordingCounter implements Counter {
+
+		private final AtomicLong count = new AtomicLong();
+
+		@Override
+		public void increment(long amount) {
+			this.count.addAndGet(amount);
+		}
+
+		public long get() {
+			return this.count.get();
+		}
+	}
+
+	private static class RecordingGauge implements Gauge {
+
+		private final AtomicLong value = new AtomicLong();
+
+		@Override
+		public void add(long amount) {
+			this.value.addAndGet(amount);
+		}
+
+		@Override
+		public void set(long value) {
+			this.value.set(value);
+		}
+
+		public long get() {
+			return this.value.get();
+		}
+	}
+
+	private static class RecordingHistogram implements Histogram {
+
+		private final List<Long> values = new ArrayList<>();
+
+		@Override
+		public synchronized void record(long value) {
+			this.values.add(value);
+		}
+
+		public synchronized List<Long> getValues() {
+			return List.copyOf(this.values);
+		}
+	}
+
 	private class ConnectionRequest {
 		
 		ConnectionRequest next;
@@ -111,6 +111,11 @@ public interface ErrorExchange<A extends ExchangeContext> extends Exchange<A> {
 			public Optional<Throwable> getCancelCause() {
 				return thisExchange.getCancelCause();
 			}
+
+			@Override
+			public void onTerminate(Runnable callback) {
+				thisExchange.onTerminate(callback);
+			}
 		};
 	}
 }
@@ -60,4 +60,25 @@ public interface Exchange<A extends ExchangeContext> extends BaseExchange<A, Req
 	 * @return an optional returning the WebSocket or an empty optional if the upgrade is not possible
 	 */
 	Optional<? extends WebSocket<A, ? extends WebSocketExchange<A>>> webSocket(String... subprotocols);
+
+	/**
+	 * <p>
+	 * Registers a callback to invoke once when the exchange terminates.
+	 * </p>
+	 *
+	 * <p>
+	 * An exchange terminates when the response has been sent to the client, including the response of an error exchange created after an error was raised during the processing of the exchange, or
+	 * when the exchange is disposed before completion (e.g. connection closed, stream reset...). Callbacks registered on an error exchange are invoked when the originating exchange terminates. A
+	 * callback registered after the exchange has terminated is invoked immediately.
+	 * </p>
+	 *
+	 * <p>
+	 * This allows to release resources or notify parties which depend on the outcome of the exchange whatever that outcome, especially when the response body data publisher is never subscribed.
+	 * </p>
+	 *
+	 * @param callback the callback to invoke when the exchange terminates
+	 *
+	 * @since 1.14
+	 */
+	void onTerminate(Runnable callback);
 }
@@ -17,6 +17,7 @@ package io.inverno.mod.http.server;
 
 import io.inverno.mod.http.base.OutboundData;
 import io.netty.buffer.ByteBuf;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -251,6 +252,102 @@ public interface ResponseBody {
 		 * @throws IllegalStateException if data were already sent to the recipient
 		 */
 		void value(io.inverno.mod.base.resource.Resource resource) throws IllegalStateException;
+
+		/**
+		 * <p>
+		 * Sets the specified regions of a resource in the response payload as defined by <a href="https://tools.ietf.org/html/rfc7233">RFC 7233</a>.
+		 * </p>
+		 *
+		 * <p>
+		 * The response status is set to {@code 206}. A single region is sent as is along with a {@code content-range} header, multiple regions are sent in a {@code multipart/byteranges} payload
+		 * in which case the {@code content-type} header of each part is set to the response content type, or to the resource content type if none was specified.
+		 * </p>
+		 *
+		 * <p>
+		 * A typical usage is:
+		 * </p>
+		 *
+		 * <pre>{@code
+		 * ResourceService resourceService = ...
+		 * exchange.response().body().resource().value(resourceService.get("file:/path/to/resource"), List.of(ResponseBody.Resource.Region.of(0, 500)));
+		 * }</pre>
+		 *
+		 * @param resource a resource
+		 * @param regions  a list of regions within the resource
+		 *
+		 * @throws IllegalArgumentException if the size of the resource can't be determined, if no region is specified or if a region is not within the resource
+		 * @throws IllegalStateException    if data were already sent to the recipient
+		 *
+		 * @since 1.14
+		 */
+		void value(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions) throws IllegalArgumentException, IllegalStateException;
+
+		/**
+		 * <p>
+		 * A region within a resource.
+		 * </p>
+		 *
+		 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+		 * @since 1.14
+		 */
+		interface Region {
+
+			/**
+			 * <p>
+			 * Returns the position of the first byte of the region.
+			 * </p>
+			 *
+			 * @return a position
+			 */
+			long getPosition();
+
+			/**
+			 * <p>
+			 * Returns the number of bytes in the region.
+			 * </p>
+			 *
+			 * @return a count
+			 */
+			long getCount();
+
+			/**
+			 * <p>
+			 * Creates a resource region.
+			 * </p>
+			 *
+			 * @param position the position of the first byte of the region
+			 * @param count    the number of bytes in the region
+			 *
+			 * @return a resource region
+			 *
+			 * @throws IllegalArgumentException if the position is negative or if the count is not strictly positive
+			 */
+			static Region of(long position, long count) throws IllegalArgumentException {
+				if(position < 0) {
+					throw new IllegalArgumentException("Region position must be positive");
+				}
+				if(count <= 0) {
+					throw new IllegalArgumentException("Region count must be strictly positive");
+				}
+				return new Region() {
+
+					@Override
+					public long getPosition() {
+						return position;
+					}
+
+					@Override
+					public long getCount() {
+						return count;
+					}
+
+					@Override
+					public String toString() {
+						return position + "-" + (position + count - 1);
+					}
+				};
+			}
+		}
 	}
 	
 	/**
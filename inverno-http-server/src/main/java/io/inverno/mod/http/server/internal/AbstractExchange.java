@@ -24,7 +24,12 @@ import io.inverno.mod.http.server.HttpServerException;
 import io.inverno.mod.http.server.Request;
 import io.inverno.mod.http.server.Response;
 import io.inverno.mod.http.server.ServerController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import reactor.core.publisher.BaseSubscriber;
 
 /**
@@ -41,6 +46,8 @@ import reactor.core.publisher.BaseSubscriber;
  */
 public abstract class AbstractExchange<A extends Request, B extends Response, C extends ErrorExchange<ExchangeContext>> extends BaseSubscriber<Void> implements Exchange<ExchangeContext> {
 	
+	private static final Logger LOGGER = LogManager.getLogger(AbstractExchange.class);
+
 	private static final HttpServerException EXCHANGE_DISPOSED_ERROR = new StacklessHttpServerException("Exchange was disposed");
 	
 	/**
@@ -56,7 +63,18 @@ public abstract class AbstractExchange<A extends Request, B extends Response, C
 	 */
 	protected final boolean head;
 	
+	/**
+	 * The root exchange holding metrics and termination state which is the exchange itself or the originating exchange of an error exchange.
+	 */
+	private final AbstractExchange<A, B, C> root;
+	
 	private Throwable cancelCause;
+	
+	private AbstractExchange<A, B, C> responding;
+	private HttpServerMetrics metrics;
+	private long startTime;
+	private List<Runnable> terminationCallbacks;
+	private boolean terminated;
 
 	/**
 	 * <p>
@@ -71,6 +89,8 @@ public abstract class AbstractExchange<A extends Request, B extends Response, C
 		this.configuration = configuration;
 		this.controller = controller;
 		this.head = head;
+		this.root = this;
+		this.responding = this;
 	}
 	
 	/**
@@ -88,6 +108,25 @@ public abstract class AbstractExchange<A extends Request, B extends Response, C
 		this.configuration = parentExchange.configuration;
 		this.controller = parentExchange.controller;
 		this.head = parentExchange.head;
+		this.root = parentExchange.root;
+		this.root.responding = this;
+	}
+	
+	/**
+	 * <p>
+	 * Records the exchange in the specified server metrics.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method shall be invoked once when the exchange is created, the end of the exchange is then recorded when the exchange or any of its error exchanges is disposed using the response of the
+	 * last error exchange if any.
+	 * </p>
+	 * 
+	 * @param metrics the server metrics
+	 */
+	public final void record(HttpServerMetrics metrics) {
+		this.metrics = metrics;
+		this.startTime = metrics.onExchangeStart();
 	}
 	
 	/**
@@ -143,6 +182,60 @@ public abstract class AbstractExchange<A extends Request, B extends Response, C
 		if(this.cancelCause == null) {
 			this.cancelCause = cause != null ? cause : EXCHANGE_DISPOSED_ERROR;
 			this.doDispose(cause);
+			
+			HttpServerMetrics rootMetrics = this.root.metrics;
+			if(rootMetrics != null) {
+				this.root.metrics = null;
+				Response response = this.root.responding.response();
+				rootMetrics.onExchangeEnd(this.root.startTime, response.isHeadersWritten() ? response.headers().getStatusCode() : 0);
+			}
+			this.root.terminate();
+		}
+	}
+
+	@Override
+	public final void onTerminate(Runnable callback) {
+		Objects.requireNonNull(callback);
+		synchronized(this.root) {
+			if(!this.root.terminated) {
+				if(this.root.terminationCallbacks == null) {
+					this.root.terminationCallbacks = new ArrayList<>(2);
+				}
+				this.root.terminationCallbacks.add(callback);
+				return;
+			}
+		}
+		callback.run();
+	}
+
+	/**
+	 * <p>
+	 * Terminates the exchange and invokes the termination callbacks once.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked on the root exchange.
+	 * </p>
+	 */
+	private void terminate() {
+		List<Runnable> callbacks;
+		synchronized(this) {
+			if(this.terminated) {
+				return;
+			}
+			this.terminated = true;
+			callbacks = this.terminationCallbacks;
+			this.terminationCallbacks = null;
+		}
+		if(callbacks != null) {
+			for(Runnable callback : callbacks) {
+				try {
+					callback.run();
+				}
+				catch(Throwable e) {
+					LOGGER.error("Exchange termination callback failed", e);
+				}
+			}
 		}
 	}
 	
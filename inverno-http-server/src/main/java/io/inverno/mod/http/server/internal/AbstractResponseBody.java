@@ -19,16 +19,26 @@ import io.inverno.mod.base.Charsets;
 import io.inverno.mod.base.resource.MediaTypes;
 import io.inverno.mod.http.base.NotFoundException;
 import io.inverno.mod.http.base.OutboundData;
+import io.inverno.mod.http.base.Status;
 import io.inverno.mod.http.base.header.Headers;
 import io.inverno.mod.http.server.ResponseBody;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpConstants;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
@@ -51,6 +61,11 @@ public abstract class AbstractResponseBody<A extends AbstractResponseHeaders<?>,
 	 */
 	protected static final String SSE_CONTENT_TYPE = MediaTypes.TEXT_EVENT_STREAM + ";charset=" + Charsets.DEFAULT.displayName();
 
+	/**
+	 * The size of the chunks read from a resource region.
+	 */
+	private static final int REGION_CHUNK_SIZE = 64 * 1024;
+
 	/**
 	 * The response headers.
 	 */
@@ -295,6 +310,194 @@ public abstract class AbstractResponseBody<A extends AbstractResponseHeaders<?>,
 				throw new NotFoundException();
 			}
 		}
+
+		@Override
+		public void value(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions) throws IllegalArgumentException, IllegalStateException {
+			Objects.requireNonNull(resource);
+			if(resource.exists().orElse(true)) {
+				ByteBuf[] delimiters = this.populateRegionHeaders(resource, regions);
+				AbstractResponseBody.this.setData(Flux.defer(() -> {
+					if(delimiters == null) {
+						return readRegion(resource, regions.getFirst());
+					}
+					return Flux.range(0, regions.size())
+						.concatMap(index -> Flux.concat(Mono.just(delimiters[index]), readRegion(resource, regions.get(index))))
+						.concatWith(Mono.just(delimiters[regions.size()]));
+				}));
+			}
+			else {
+				throw new NotFoundException();
+			}
+		}
+
+		/**
+		 * <p>
+		 * Sets the response status and headers for the specified resource regions.
+		 * </p>
+		 *
+		 * <p>
+		 * When multiple regions are specified, this method returns the {@code multipart/byteranges} delimiters: the delimiter at index {@code i} precedes region {@code i} and the last delimiter
+		 * closes the multipart payload.
+		 * </p>
+		 *
+		 * @param resource the resource
+		 * @param regions  the regions within the resource
+		 *
+		 * @return the multipart delimiters or null if a single region is specified
+		 *
+		 * @throws IllegalArgumentException if the size of the resource can't be determined, if no region is specified or if a region is not within the resource
+		 */
+		protected ByteBuf[] populateRegionHeaders(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions) throws IllegalArgumentException {
+			if(regions == null || regions.isEmpty()) {
+				throw new IllegalArgumentException("No region specified");
+			}
+			long size = resource.size().orElseThrow(() -> new IllegalArgumentException("Resource size can't be determined: " + resource.getURI()));
+			for(ResponseBody.Resource.Region region : regions) {
+				if(region.getPosition() + region.getCount() > size) {
+					throw new IllegalArgumentException("Region " + region + " is not within resource of size " + size);
+				}
+			}
+
+			AbstractResponseBody.this.headers.status(Status.PARTIAL_CONTENT);
+			if(regions.size() == 1) {
+				ResponseBody.Resource.Region region = regions.getFirst();
+				AbstractResponseBody.this.headers
+					.contentLength(region.getCount())
+					.set(Headers.NAME_CONTENT_RANGE, contentRange(region, size));
+				this.populateHeaders(resource);
+				return null;
+			}
+
+			String partContentType = AbstractResponseBody.this.headers.getContentType();
+			if(partContentType == null) {
+				partContentType = resource.getMediaType();
+			}
+			String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+			ByteBuf[] delimiters = new ByteBuf[regions.size() + 1];
+			long contentLength = 0;
+			for(int i=0;i<regions.size();i++) {
+				ResponseBody.Resource.Region region = regions.get(i);
+				StringBuilder delimiter = new StringBuilder();
+				if(i > 0) {
+					delimiter.append("\r\n");
+				}
+				delimiter.append("--").append(boundary).append("\r\n");
+				if(partContentType != null) {
+					delimiter.append(Headers.NAME_CONTENT_TYPE).append(": ").append(partContentType).append("\r\n");
+				}
+				delimiter.append(Headers.NAME_CONTENT_RANGE).append(": ").append(contentRange(region, size)).append("\r\n\r\n");
+				delimiters[i] = Unpooled.wrappedBuffer(delimiter.toString().getBytes(Charsets.ISO_8859_1));
+				contentLength += delimiters[i].readableBytes() + region.getCount();
+			}
+			delimiters[regions.size()] = Unpooled.wrappedBuffer(("\r\n--" + boundary + "--\r\n").getBytes(Charsets.ISO_8859_1));
+			contentLength += delimiters[regions.size()].readableBytes();
+
+			AbstractResponseBody.this.headers
+				.contentType(MediaTypes.MULTIPART_BYTERANGES + ";boundary=" + boundary)
+				.contentLength(contentLength);
+			// Content type and length are set: this only sets last modified
+			this.populateHeaders(resource);
+			return delimiters;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the content range header value of a resource region.
+	 * </p>
+	 *
+	 * @param region the region
+	 * @param size   the size of the resource
+	 *
+	 * @return a content range header value
+	 */
+	private static String contentRange(ResponseBody.Resource.Region region, long size) {
+		return Headers.VALUE_BYTES + " " + region.getPosition() + "-" + (region.getPosition() + region.getCount() - 1) + "/" + size;
+	}
+
+	/**
+	 * <p>
+	 * Reads a region of a resource.
+	 * </p>
+	 *
+	 * <p>
+	 * The region is read directly from the resource channel when it is seekable, otherwise the resource is read from the beginning and data before the region are discarded.
+	 * </p>
+	 *
+	 * @param resource the resource
+	 * @param region   the region to read
+	 *
+	 * @return a region data publisher
+	 */
+	private static Flux<ByteBuf> readRegion(io.inverno.mod.base.resource.Resource resource, ResponseBody.Resource.Region region) {
+		long position = region.getPosition();
+		long end = position + region.getCount();
+		return Flux.<ByteBuf, Optional<ReadableByteChannel>>using(
+			resource::openReadableByteChannel,
+			channel -> {
+				if(channel.isPresent() && channel.get() instanceof SeekableByteChannel) {
+					SeekableByteChannel seekableChannel = (SeekableByteChannel)channel.get();
+					try {
+						seekableChannel.position(position);
+					}
+					catch(IOException e) {
+						return Flux.error(e);
+					}
+					return Flux.<ByteBuf, Long>generate(() -> position, (offset, sink) -> {
+						int length = (int)Math.min(end - offset, REGION_CHUNK_SIZE);
+						ByteBuffer chunk = ByteBuffer.allocate(length);
+						try {
+							while(chunk.hasRemaining()) {
+								if(seekableChannel.read(chunk) < 0) {
+									throw new EOFException("Unexpected end of resource: " + resource.getURI());
+								}
+							}
+						}
+						catch(IOException e) {
+							sink.error(e);
+							return offset;
+						}
+						chunk.flip();
+						sink.next(Unpooled.wrappedBuffer(chunk));
+						if(offset + length >= end) {
+							sink.complete();
+						}
+						return offset + length;
+					});
+				}
+				long[] offset = new long[1];
+				return Flux.from(resource.read())
+					.<ByteBuf>handle((chunk, sink) -> {
+						try {
+							long chunkStart = offset[0];
+							long chunkEnd = chunkStart + chunk.readableBytes();
+							offset[0] = chunkEnd;
+							long from = Math.max(position, chunkStart);
+							long to = Math.min(end, chunkEnd);
+							if(from < to) {
+								sink.next(chunk.retainedSlice(chunk.readerIndex() + (int)(from - chunkStart), (int)(to - from)));
+							}
+							if(chunkEnd >= end) {
+								sink.complete();
+							}
+						}
+						finally {
+							chunk.release();
+						}
+					});
+			},
+			channel -> {
+				if(channel.isPresent()) {
+					try {
+						channel.get().close();
+					}
+					catch(IOException e) {
+						throw Exceptions.propagate(e);
+					}
+				}
+			}
+		);
 	}
 	
 	@Override
@@ -54,6 +54,7 @@ public class HttpConnectionGroup {
 	private static final Logger LOGGER = LogManager.getLogger(HttpConnectionGroup.class);
 	
 	private final ChannelGroup channelGroup;
+	private final HttpServerMetrics metrics;
 	
 	private boolean closing;
 	private boolean closed;
@@ -64,9 +65,11 @@ public class HttpConnectionGroup {
 	 * </p>
 	 * 
 	 * @param reactor the reactor
+	 * @param metrics the server metrics
 	 */
-	public HttpConnectionGroup(Reactor reactor) {
+	public HttpConnectionGroup(Reactor reactor, HttpServerMetrics metrics) {
 		this.channelGroup = new DefaultChannelGroup(reactor.getAcceptorEventLoopGroup().next());
+		this.metrics = metrics;
 	}
 	
 	/**
@@ -78,6 +81,8 @@ public class HttpConnectionGroup {
 	 */
 	public void register(Channel channel) {
 		this.channelGroup.add(channel);
+		this.metrics.onConnectionOpen();
+		channel.closeFuture().addListener(ign -> this.metrics.onConnectionClose());
 	}
 
 	/**
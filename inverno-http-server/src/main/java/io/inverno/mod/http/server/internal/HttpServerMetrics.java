@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.server.internal;
+
+import io.inverno.core.annotation.Bean;
+import io.inverno.mod.base.metrics.Counter;
+import io.inverno.mod.base.metrics.Gauge;
+import io.inverno.mod.base.metrics.Histogram;
+import io.inverno.mod.base.metrics.Metrics;
+
+/**
+ * <p>
+ * Records HTTP server metrics.
+ * </p>
+ *
+ * <p>
+ * The following meters are recorded:
+ * </p>
+ *
+ * <ul>
+ * <li>{@code http.server.connections.active}: the number of open connections.</li>
+ * <li>{@code http.server.exchanges.active}: the number of exchanges being processed.</li>
+ * <li>{@code http.server.exchanges.duration}: the duration of exchanges in nanoseconds.</li>
+ * <li>{@code http.server.exchanges.aborted}: the number of exchanges that ended before a response was sent.</li>
+ * <li>{@code http.server.responses}: the number of responses sent, tagged with status class ({@code 1xx} to {@code 5xx}).</li>
+ * <li>{@code http.server.connection.streams}: the number of in-flight streams on an HTTP/2 connection when a new stream is opened.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@Bean(visibility = Bean.Visibility.PRIVATE)
+public class HttpServerMetrics {
+
+	private final Gauge activeConnections;
+	private final Gauge activeExchanges;
+	private final Histogram exchangeDuration;
+	private final Counter abortedExchanges;
+	private final Counter[] responses;
+	private final Histogram connectionStreams;
+
+	/**
+	 * <p>
+	 * Creates HTTP server metrics.
+	 * </p>
+	 *
+	 * @param metrics the metrics service provider
+	 */
+	public HttpServerMetrics(Metrics metrics) {
+		this.activeConnections = metrics.gauge("http.server.connections.active");
+		this.activeExchanges = metrics.gauge("http.server.exchanges.active");
+		this.exchangeDuration = metrics.histogram("http.server.exchanges.duration");
+		this.abortedExchanges = metrics.counter("http.server.exchanges.aborted");
+		this.responses = new Counter[] {
+			metrics.counter("http.server.responses", "status", "1xx"),
+			metrics.counter("http.server.responses", "status", "2xx"),
+			metrics.counter("http.server.responses", "status", "3xx"),
+			metrics.counter("http.server.responses", "status", "4xx"),
+			metrics.counter("http.server.responses", "status", "5xx")
+		};
+		this.connectionStreams = metrics.histogram("http.server.connection.streams");
+	}
+
+	/**
+	 * <p>
+	 * Records the opening of a connection.
+	 * </p>
+	 */
+	public void onConnectionOpen() {
+		this.activeConnections.increment();
+	}
+
+	/**
+	 * <p>
+	 * Records the closing of a connection.
+	 * </p>
+	 */
+	public void onConnectionClose() {
+		this.activeConnections.decrement();
+	}
+
+	/**
+	 * <p>
+	 * Records the start of an exchange.
+	 * </p>
+	 *
+	 * @return the exchange start time in nanoseconds
+	 */
+	public long onExchangeStart() {
+		this.activeExchanges.increment();
+		return System.nanoTime();
+	}
+
+	/**
+	 * <p>
+	 * Records the end of an exchange.
+	 * </p>
+	 *
+	 * @param startTime  the exchange start time as returned by {@link #onExchangeStart()}
+	 * @param statusCode the response status code or {@code 0} if no response was sent
+	 */
+	public void onExchangeEnd(long startTime, int statusCode) {
+		this.activeExchanges.decrement();
+		this.exchangeDuration.record(System.nanoTime() - startTime);
+		int statusClass = statusCode / 100;
+		if(statusClass >= 1 && statusClass <= 5) {
+			this.responses[statusClass - 1].increment();
+		}
+		else {
+			this.abortedExchanges.increment();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Records the opening of a stream on an HTTP/2 connection.
+	 * </p>
+	 *
+	 * @param activeStreams the number of in-flight streams on the connection including the new stream
+	 */
+	public void onStreamOpen(int activeStreams) {
+		this.connectionStreams.record(activeStreams);
+	}
+}
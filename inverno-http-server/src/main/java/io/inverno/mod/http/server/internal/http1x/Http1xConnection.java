@@ -30,6 +30,7 @@ import io.inverno.mod.http.server.HttpServerException;
 import io.inverno.mod.http.server.Part;
 import io.inverno.mod.http.server.ServerController;
 import io.inverno.mod.http.server.internal.HttpConnection;
+import io.inverno.mod.http.server.internal.HttpServerMetrics;
 import io.inverno.mod.http.server.internal.http1x.ws.GenericWebSocketExchange;
 import io.inverno.mod.http.server.internal.http1x.ws.WebSocketConnection;
 import io.inverno.mod.http.server.internal.multipart.MultipartDecoder;
@@ -118,6 +119,7 @@ public class Http1xConnection extends ChannelDuplexHandler implements HttpConnec
 	private final GenericWebSocketFrame.GenericFactory webSocketFrameFactory;
 	private final GenericWebSocketMessage.GenericFactory webSocketMessageFactory;
 	private final HeadersValidator headersValidator;
+	private final HttpServerMetrics metrics;
 	
 	private ChannelHandlerContext channelContext;
 	private boolean tls;
@@ -158,6 +160,7 @@ public class Http1xConnection extends ChannelDuplexHandler implements HttpConnec
 	 * @param webSocketFrameFactory   the WebSocket frame factory
 	 * @param webSocketMessageFactory the WebSocket message factory
 	 * @param headersValidator        the header validator
+	 * @param metrics                 the server metrics
 	 */
 	Http1xConnection(
 			HttpServerConfiguration configuration, 
@@ -168,7 +171,8 @@ public class Http1xConnection extends ChannelDuplexHandler implements HttpConnec
 			MultipartDecoder<Part> multipartBodyDecoder, 
 			GenericWebSocketFrame.GenericFactory webSocketFrameFactory, 
 			GenericWebSocketMessage.GenericFactory webSocketMessageFactory, 
-			HeadersValidator headersValidator
+			HeadersValidator headersValidator,
+			HttpServerMetrics metrics
 		) {
 		this.configuration = configuration;
 		this.controller = controller;
@@ -179,6 +183,7 @@ public class Http1xConnection extends ChannelDuplexHandler implements HttpConnec
 		this.webSocketFrameFactory = webSocketFrameFactory;
 		this.webSocketMessageFactory = webSocketMessageFactory;
 		this.headersValidator = headersValidator;
+		this.metrics = metrics;
 	}
 	
 	/**
@@ -515,6 +520,7 @@ public class Http1xConnection extends ChannelDuplexHandler implements HttpConnec
 				this, 
 				httpRequest
 			);
+			exchange.record(this.metrics);
 
 			if(this.requestingExchange == null) {
 				this.respondingExchange = this.requestingExchange = exchange;
@@ -28,6 +28,7 @@ import io.inverno.mod.http.server.Exchange;
 import io.inverno.mod.http.server.HttpServerConfiguration;
 import io.inverno.mod.http.server.Part;
 import io.inverno.mod.http.server.ServerController;
+import io.inverno.mod.http.server.internal.HttpServerMetrics;
 import io.inverno.mod.http.server.internal.multipart.MultipartDecoder;
 import java.util.function.Supplier;
 
@@ -48,6 +49,7 @@ public class Http1xConnectionFactory implements Supplier<Http1xConnection> {
 	private final ObjectConverter<String> parameterConverter;
 	private final MultipartDecoder<Parameter> urlEncodedBodyDecoder; 
 	private final MultipartDecoder<Part> multipartBodyDecoder;
+	private final HttpServerMetrics metrics;
 	
 	private final HeadersValidator headersValidator;
 	private final GenericWebSocketFrame.GenericFactory webSocketFrameFactory;
@@ -64,6 +66,7 @@ public class Http1xConnectionFactory implements Supplier<Http1xConnection> {
 	 * @param parameterConverter    the parameter converter
 	 * @param urlEncodedBodyDecoder the application/x-www-form-urlencoded body decoder
 	 * @param multipartBodyDecoder  the multipart/form-data body decoder
+	 * @param metrics               the server metrics
 	 */
 	@SuppressWarnings("unchecked")
 	public Http1xConnectionFactory(
@@ -72,7 +75,8 @@ public class Http1xConnectionFactory implements Supplier<Http1xConnection> {
 			HeaderService headerService, 
 			ObjectConverter<String> parameterConverter,
 			MultipartDecoder<Parameter> urlEncodedBodyDecoder, 
-			MultipartDecoder<Part> multipartBodyDecoder
+			MultipartDecoder<Part> multipartBodyDecoder,
+			HttpServerMetrics metrics
 		) {
 		this.configuration = configuration;
 		this.controller = (ServerController<ExchangeContext, Exchange<ExchangeContext>, ErrorExchange<ExchangeContext>>)controller;
@@ -80,6 +84,7 @@ public class Http1xConnectionFactory implements Supplier<Http1xConnection> {
 		this.parameterConverter = parameterConverter;
 		this.urlEncodedBodyDecoder = urlEncodedBodyDecoder;
 		this.multipartBodyDecoder = multipartBodyDecoder;
+		this.metrics = metrics;
 		this.headersValidator = configuration.http1x_validate_headers() ? HeadersValidator.DEFAULT_HTTP1X_HEADERS_VALIDATOR : null;
 		if(configuration.ws_enabled()) {
 			this.webSocketFrameFactory = new GenericWebSocketFrame.GenericFactory(configuration.ws_max_frame_size());
@@ -102,7 +107,8 @@ public class Http1xConnectionFactory implements Supplier<Http1xConnection> {
 			this.multipartBodyDecoder, 
 			this.webSocketFrameFactory, 
 			this.webSocketMessageFactory, 
-			this.headersValidator
+			this.headersValidator,
+			this.metrics
 		);
 	}
 }
\ No newline at end of file
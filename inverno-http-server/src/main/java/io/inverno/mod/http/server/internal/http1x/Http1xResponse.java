@@ -29,6 +29,7 @@ import io.inverno.mod.http.server.Response;
 import io.inverno.mod.http.server.internal.AbstractResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpContent;
@@ -123,7 +124,7 @@ class Http1xResponse extends AbstractResponse<Http1xResponseHeaders, Http1xRespo
 					data.subscribe(this);
 				}
 				else {
-					Flux.concat(this.body.getFileRegionData(), Flux.from(this.body.getData()).cast(FileRegion.class)).subscribe(new FileRegionBodyDataSubscriber());
+					Flux.concat(this.body.getFileRegionData(), Flux.from(this.body.getData())).subscribe(new FileRegionBodyDataSubscriber());
 				}
 			}
 			else {
@@ -319,11 +320,15 @@ class Http1xResponse extends AbstractResponse<Http1xResponseHeaders, Http1xRespo
 	 * <p>
 	 * The file region response body data publisher that writes response file regions to the connection.
 	 * </p>
+	 *
+	 * <p>
+	 * Response data can also contain {@link ByteBuf} which are written as HTTP contents.
+	 * </p>
 	 * 
 	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
 	 * @since 1.10
 	 */
-	private class FileRegionBodyDataSubscriber extends BaseSubscriber<FileRegion> {
+	private class FileRegionBodyDataSubscriber extends BaseSubscriber<Object> {
 		
 		private HttpHeaders httpTrailers;
 		
@@ -348,9 +353,8 @@ class Http1xResponse extends AbstractResponse<Http1xResponseHeaders, Http1xRespo
 		}
 
 		@Override
-		protected void hookOnNext(FileRegion value) {
-			Http1xResponse.this.transferredLength += (int)value.count();
-			Http1xResponse.this.connection.writeFileRegion(value, Http1xResponse.this.connection.newPromise().addListener(future -> {
+		protected void hookOnNext(Object value) {
+			ChannelPromise promise = Http1xResponse.this.connection.newPromise().addListener(future -> {
 				if(future.isSuccess()) {
 					this.request(1);
 				}
@@ -358,7 +362,17 @@ class Http1xResponse extends AbstractResponse<Http1xResponseHeaders, Http1xRespo
 					Http1xResponse.this.connection.onExchangeError(future.cause());
 					// this should result in the connection to be shutdown since we have sent headers with a partial body
 				}
-			}));
+			});
+			if(value instanceof FileRegion) {
+				FileRegion fileRegion = (FileRegion)value;
+				Http1xResponse.this.transferredLength += (int)fileRegion.count();
+				Http1xResponse.this.connection.writeFileRegion(fileRegion, promise);
+			}
+			else {
+				ByteBuf buffer = (ByteBuf)value;
+				Http1xResponse.this.transferredLength += buffer.readableBytes();
+				Http1xResponse.this.connection.writeHttpObject(new DefaultHttpContent(buffer), promise);
+			}
 		}
 		
 		@Override
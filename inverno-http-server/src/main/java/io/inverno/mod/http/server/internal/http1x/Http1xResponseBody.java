@@ -25,10 +25,12 @@ import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.FileRegion;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.util.List;
 import java.util.Objects;
 import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * <p>
@@ -41,10 +43,15 @@ import reactor.core.publisher.Flux;
 class Http1xResponseBody extends AbstractResponseBody<Http1xResponseHeaders, Http1xResponseBody> {
 	
 	private static final int MAX_FILE_REGION_SIZE = 1024 * 1024;
+
+	/**
+	 * The extra element emitted on demand at the end of file region data in order to defer termination until the last file region has been written.
+	 */
+	private static final Object END_OF_FILE_REGION_DATA = new Object();
 	
 	private final boolean supportsFileRegion;
 	
-	private Publisher<FileRegion> fileRegionData;
+	private Publisher<Object> fileRegionData;
 
 	/**
 	 * <p>
@@ -65,12 +72,13 @@ class Http1xResponseBody extends AbstractResponseBody<Http1xResponseHeaders, Htt
 	 * </p>
 	 * 
 	 * <p>
-	 * The file region data publisher has priority over the response body data publisher and shall be subscribed first when present to produce the response body.
+	 * The file region data publisher has priority over the response body data publisher and shall be subscribed first when present to produce the response body. It emits {@link FileRegion} and
+	 * possibly {@link ByteBuf} (e.g. {@code multipart/byteranges} delimiters).
 	 * </p>
 	 * 
 	 * @return the file region data publisher or null
 	 */
-	public Publisher<FileRegion> getFileRegionData() {
+	public Publisher<Object> getFileRegionData() {
 		return this.fileRegionData;
 	}
 	
@@ -107,9 +115,7 @@ class Http1xResponseBody extends AbstractResponseBody<Http1xResponseHeaders, Htt
 			if(resource.exists().orElse(true)) {
 				this.populateHeaders(resource);
 				
-				// Only regular file resources supports zero-copy
-				// It seems FileRegion does not support Zip files, I saw different behavior between JDK<15 and above
-				if(Http1xResponseBody.this.supportsFileRegion && resource.isFile().orElse(false) && !(resource instanceof ZipResource)) {
+				if(this.supportsFileRegion(resource)) {
 					Http1xResponseBody.this.setData(Flux.empty());
 
 					Http1xResponseBody.this.fileRegionData = Flux.defer(() -> {
@@ -125,7 +131,7 @@ class Http1xResponseBody extends AbstractResponseBody<Http1xResponseHeaders, Htt
 						// We need to add an extra element in order to control when the flux terminates so we can properly close the file channel
 						return Flux.range(0, count + 1)
 							.filter(index -> index < count)
-							.map(index -> {
+							.<Object>map(index -> {
 								long position = index * MAX_FILE_REGION_SIZE;
 								FileRegion region = new DefaultFileRegion(fileChannel, position, Math.min(size - position, MAX_FILE_REGION_SIZE));
 								region.retain();
@@ -150,5 +156,85 @@ class Http1xResponseBody extends AbstractResponseBody<Http1xResponseHeaders, Htt
 				throw new NotFoundException();
 			}
 		}
+
+		@Override
+		public void value(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions) throws IllegalArgumentException, IllegalStateException {
+			Objects.requireNonNull(resource);
+			if(!this.supportsFileRegion(resource)) {
+				super.value(resource, regions);
+				return;
+			}
+			if(resource.exists().orElse(true)) {
+				ByteBuf[] delimiters = this.populateRegionHeaders(resource, regions);
+				Http1xResponseBody.this.setData(Flux.empty());
+
+				Http1xResponseBody.this.fileRegionData = Flux.defer(() -> {
+					@SuppressWarnings("resource") // the file channel is eventually closed in the returned flux
+					FileChannel fileChannel = (FileChannel)resource.openReadableByteChannel().orElseThrow(() -> new InternalServerErrorException("Resource is not readable: " + resource.getURI()));
+
+					// The extra element emits the multipart closing delimiter
+					return Flux.range(0, regions.size() + 1)
+						.concatMap(index -> {
+							if(index == regions.size()) {
+								return delimiters != null ? Mono.just(delimiters[index]) : Mono.empty();
+							}
+							Flux<Object> regionData = regionFileRegions(fileChannel, regions.get(index));
+							return delimiters != null ? Flux.concat(Mono.just(delimiters[index]), regionData) : regionData;
+						})
+						// concatMap doesn't wait for downstream demand to complete, we need to add an extra element in order to control when the flux terminates so we can properly close the
+						// file channel once the last file region has been written
+						.concatWith(Mono.just(END_OF_FILE_REGION_DATA))
+						.filter(value -> value != END_OF_FILE_REGION_DATA)
+						.doOnDiscard(FileRegion.class, FileRegion::release)
+						.doFinally(sgn -> {
+							try {
+								fileChannel.close();
+							}
+							catch (IOException e) {
+								throw Exceptions.propagate(e);
+							}
+						});
+				});
+			}
+			else {
+				throw new NotFoundException();
+			}
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the specified resource can be sent using file regions.
+		 * </p>
+		 *
+		 * @param resource a resource
+		 *
+		 * @return true if zero-copy is supported, false otherwise
+		 */
+		private boolean supportsFileRegion(io.inverno.mod.base.resource.Resource resource) {
+			// Only regular file resources supports zero-copy
+			// It seems FileRegion does not support Zip files, I saw different behavior between JDK<15 and above
+			return Http1xResponseBody.this.supportsFileRegion && resource.isFile().orElse(false) && !(resource instanceof ZipResource);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the file regions corresponding to a resource region.
+	 * </p>
+	 *
+	 * @param fileChannel the resource file channel
+	 * @param region      the resource region
+	 *
+	 * @return a file regions publisher
+	 */
+	private static Flux<Object> regionFileRegions(FileChannel fileChannel, ResponseBody.Resource.Region region) {
+		int count = (int)Math.ceil((double)region.getCount() / (double)MAX_FILE_REGION_SIZE);
+		return Flux.range(0, count)
+			.<Object>map(index -> {
+				long offset = (long)index * MAX_FILE_REGION_SIZE;
+				FileRegion fileRegion = new DefaultFileRegion(fileChannel, region.getPosition() + offset, Math.min(region.getCount() - offset, MAX_FILE_REGION_SIZE));
+				fileRegion.retain();
+				return fileRegion;
+			});
 	}
 }
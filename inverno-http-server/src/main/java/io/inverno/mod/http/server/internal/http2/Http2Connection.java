@@ -29,6 +29,7 @@ import io.inverno.mod.http.server.Part;
 import io.inverno.mod.http.server.ResetStreamException;
 import io.inverno.mod.http.server.ServerController;
 import io.inverno.mod.http.server.internal.HttpConnection;
+import io.inverno.mod.http.server.internal.HttpServerMetrics;
 import io.inverno.mod.http.server.internal.multipart.MultipartDecoder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -86,6 +87,7 @@ public class Http2Connection extends Http2ConnectionHandler implements HttpConne
 	private final MultipartDecoder<Parameter> urlEncodedBodyDecoder;
 	private final MultipartDecoder<Part> multipartBodyDecoder;
 	private final Http2ContentEncodingResolver contentEncodingResolver;
+	private final HttpServerMetrics metrics;
 	
 	private final IntObjectMap<Http2ConnectionStream> serverStreams;
 	
@@ -118,6 +120,7 @@ public class Http2Connection extends Http2ConnectionHandler implements HttpConne
 	 * @param urlEncodedBodyDecoder   the application/x-www-form-urlencoded body decoder
 	 * @param multipartBodyDecoder    the multipart/form-data body decoder
 	 * @param contentEncodingResolver a content encoding resolver
+	 * @param metrics                 the server metrics
 	 */
 	Http2Connection(
 			Http2ConnectionDecoder decoder, 
@@ -129,7 +132,8 @@ public class Http2Connection extends Http2ConnectionHandler implements HttpConne
 			ObjectConverter<String> parameterConverter, 
 			MultipartDecoder<Parameter> urlEncodedBodyDecoder, 
 			MultipartDecoder<Part> multipartBodyDecoder,
-			Http2ContentEncodingResolver contentEncodingResolver
+			Http2ContentEncodingResolver contentEncodingResolver,
+			HttpServerMetrics metrics
 		) {
 		super(decoder, encoder, initialSettings);
 		
@@ -140,6 +144,7 @@ public class Http2Connection extends Http2ConnectionHandler implements HttpConne
 		this.urlEncodedBodyDecoder = urlEncodedBodyDecoder;
 		this.multipartBodyDecoder = multipartBodyDecoder;
 		this.contentEncodingResolver = contentEncodingResolver;
+		this.metrics = metrics;
 		
 		this.serverStreams = new IntObjectHashMap<>();
 	}
@@ -355,6 +360,8 @@ public class Http2Connection extends Http2ConnectionHandler implements HttpConne
 				serverStream,
 				headers
 			);
+			exchange.record(this.metrics);
+			this.metrics.onStreamOpen(this.serverStreams.size());
 			if(this.configuration.compression_enabled()) {
 				String acceptEncoding = headers.get(HttpHeaderNames.ACCEPT_ENCODING) != null ? headers.get(HttpHeaderNames.ACCEPT_ENCODING).toString() : null;
 				if(acceptEncoding != null) {
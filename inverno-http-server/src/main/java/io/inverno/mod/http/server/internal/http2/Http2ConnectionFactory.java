@@ -26,6 +26,7 @@ import io.inverno.mod.http.server.Exchange;
 import io.inverno.mod.http.server.HttpServerConfiguration;
 import io.inverno.mod.http.server.Part;
 import io.inverno.mod.http.server.ServerController;
+import io.inverno.mod.http.server.internal.HttpServerMetrics;
 import io.inverno.mod.http.server.internal.multipart.MultipartDecoder;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.CompressionOptions;
@@ -58,6 +59,7 @@ public class Http2ConnectionFactory implements Supplier<Http2Connection> {
 	private final ObjectConverter<String> parameterConverter;
 	private final MultipartDecoder<Parameter> urlEncodedBodyDecoder;
 	private final MultipartDecoder<Part> multipartBodyDecoder;
+	private final HttpServerMetrics metrics;
 	
 	private final CompressionOptions[] compressionOptions;
 	private final Http2ContentEncodingResolver contentEncodingResolver;
@@ -73,6 +75,7 @@ public class Http2ConnectionFactory implements Supplier<Http2Connection> {
 	 * @param parameterConverter    the parameter converter
 	 * @param urlEncodedBodyDecoder the application/x-www-form-urlencoded body decoder
 	 * @param multipartBodyDecoder  the multipart/form-data body decoder
+	 * @param metrics               the server metrics
 	 */
 	@SuppressWarnings("unchecked")
 	public Http2ConnectionFactory(
@@ -80,7 +83,8 @@ public class Http2ConnectionFactory implements Supplier<Http2Connection> {
 			HeaderService headerService, 
 			ObjectConverter<String> parameterConverter, 
 			MultipartDecoder<Parameter> urlEncodedBodyDecoder, 
-			MultipartDecoder<Part> multipartBodyDecoder
+			MultipartDecoder<Part> multipartBodyDecoder,
+			HttpServerMetrics metrics
 		) {
 		this.configuration = configuration;
 		this.controller = (ServerController<ExchangeContext, Exchange<ExchangeContext>, ErrorExchange<ExchangeContext>>)controller;
@@ -88,6 +92,7 @@ public class Http2ConnectionFactory implements Supplier<Http2Connection> {
 		this.parameterConverter = parameterConverter;
 		this.urlEncodedBodyDecoder = urlEncodedBodyDecoder;
 		this.multipartBodyDecoder = multipartBodyDecoder;
+		this.metrics = metrics;
 		
 		if(Http2ConnectionFactory.this.configuration.compression_enabled()) {
 			List<CompressionOptions> compressionOptionsList = new ArrayList<>();
@@ -165,7 +170,8 @@ public class Http2ConnectionFactory implements Supplier<Http2Connection> {
 				Http2ConnectionFactory.this.parameterConverter,
 				Http2ConnectionFactory.this.urlEncodedBodyDecoder,
 				Http2ConnectionFactory.this.multipartBodyDecoder,
-				Http2ConnectionFactory.this.contentEncodingResolver
+				Http2ConnectionFactory.this.contentEncodingResolver,
+				Http2ConnectionFactory.this.metrics
 			);
 			this.frameListener(connection);
 			return connection;
@@ -16,6 +16,7 @@
 package io.inverno.mod.http.server.internal.http2;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http2.Http2Flags;
@@ -126,6 +127,28 @@ class Http2ConnectionStream {
 		return this.channelContext.executor();
 	}
 	
+	/**
+	 * <p>
+	 * Returns the connection buffer allocator.
+	 * </p>
+	 * 
+	 * @return the buffer allocator
+	 */
+	public ByteBufAllocator alloc() {
+		return this.channelContext.alloc();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of bytes that can currently be sent on the stream according to the remote flow-control window.
+	 * </p>
+	 * 
+	 * @return the stream flow-control window size
+	 */
+	public int getWindowSize() {
+		return this.connection.encoder().flowController().windowSize(this.stream);
+	}
+	
 	/**
 	 * <p>
 	 * Returns a new channel promise.
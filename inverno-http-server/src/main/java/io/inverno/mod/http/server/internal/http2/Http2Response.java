@@ -16,13 +16,20 @@
 package io.inverno.mod.http.server.internal.http2;
 
 import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.http.base.InternalServerErrorException;
 import io.inverno.mod.http.base.header.HeaderService;
 import io.inverno.mod.http.base.header.Headers;
 import io.inverno.mod.http.server.Response;
+import io.inverno.mod.http.server.ResponseBody;
 import io.inverno.mod.http.server.internal.AbstractResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import reactor.core.Disposable;
@@ -38,6 +45,8 @@ import reactor.core.publisher.Mono;
  */
 class Http2Response extends AbstractResponse<Http2ResponseHeaders, Http2ResponseBody, Http2ResponseTrailers, Http2Response> {
 
+	private static final Logger LOGGER = LogManager.getLogger(Http2Response.class);
+
 	private final boolean validateHeaders;
 	private final Http2ConnectionStream connectionStream;
 	private final Http2ResponseBody body;
@@ -74,9 +83,17 @@ class Http2Response extends AbstractResponse<Http2ResponseHeaders, Http2Response
 	public void send() {
 		if(this.connectionStream.executor().inEventLoop()) {
 			if(!this.head) {
-				Publisher<ByteBuf> data = this.body.getData();
-				this.mono = data instanceof Mono;
-				data.subscribe(this);
+				Http2ResponseBody.FileData fileData = this.body.getFileData();
+				if(fileData == null) {
+					Publisher<ByteBuf> data = this.body.getData();
+					this.mono = data instanceof Mono;
+					data.subscribe(this);
+				}
+				else {
+					FileDataWriter fileDataWriter = new FileDataWriter(fileData);
+					this.disposable = fileDataWriter;
+					fileDataWriter.start();
+				}
 			}
 			else {
 				if(this.trailers == null) {
@@ -243,4 +260,239 @@ class Http2Response extends AbstractResponse<Http2ResponseHeaders, Http2Response
 			this.connectionStream.onExchangeError(throwable);
 		}
 	}
+
+	/**
+	 * <p>
+	 * Writes file data to the connection stream.
+	 * </p>
+	 *
+	 * <p>
+	 * File chunks are read from the file channel using positional reads into pooled direct buffers sized to the stream flow-control window. A new chunk is read when a previous chunk has been written
+	 * to the connection which naturally bounds the amount of data read ahead of the remote peer.
+	 * </p>
+	 *
+	 * <p>
+	 * Once all file data have been written, the response body data publisher is subscribed in order to terminate the response.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class FileDataWriter implements Disposable {
+
+		private static final int MIN_CHUNK_SIZE = 16 * 1024;
+		private static final int MAX_CHUNK_SIZE = 256 * 1024;
+		private static final int MAX_INFLIGHT_CHUNKS = 2;
+
+		private final Http2ResponseBody.FileData fileData;
+
+		private FileChannel fileChannel;
+		private int regionIndex;
+		private long position;
+		private long remaining;
+		private boolean delimiterPending;
+
+		private int inflightChunks;
+		private boolean writing;
+		private boolean disposed;
+
+		/**
+		 * <p>
+		 * Creates a file data writer.
+		 * </p>
+		 *
+		 * @param fileData the file data to write
+		 */
+		public FileDataWriter(Http2ResponseBody.FileData fileData) {
+			this.fileData = fileData;
+			this.regionIndex = -1;
+		}
+
+		/**
+		 * <p>
+		 * Opens the file channel, writes the response headers and starts writing file data.
+		 * </p>
+		 */
+		public void start() {
+			try {
+				this.fileChannel = (FileChannel)this.fileData.getResource().openReadableByteChannel().orElseThrow(() -> new InternalServerErrorException("Resource is not readable: " + this.fileData.getResource().getURI()));
+			}
+			catch(Throwable e) {
+				this.dispose();
+				Http2Response.this.hookOnError(e);
+				return;
+			}
+			Http2Response.this.connectionStream.writeHeaders(Http2Response.this.headers.unwrap(), 0, false);
+			Http2Response.this.headers.setWritten();
+			this.write();
+		}
+
+		/**
+		 * <p>
+		 * Writes file data chunks until the maximum number of inflight chunks is reached or all file data have been written.
+		 * </p>
+		 */
+		private void write() {
+			if(this.writing) {
+				// a chunk write completed synchronously, the current loop will carry on
+				return;
+			}
+			this.writing = true;
+			try {
+				while(!this.disposed && this.inflightChunks < MAX_INFLIGHT_CHUNKS) {
+					if(Http2Response.this.connectionStream.isReset()) {
+						this.dispose();
+						return;
+					}
+					ByteBuf chunk;
+					if(this.delimiterPending) {
+						chunk = this.fileData.getDelimiters()[this.regionIndex];
+						this.delimiterPending = false;
+					}
+					else if(this.remaining > 0) {
+						chunk = this.read();
+						if(chunk == null) {
+							return;
+						}
+					}
+					else if(this.regionIndex < this.fileData.getRegions().size()) {
+						this.nextRegion();
+						continue;
+					}
+					else {
+						if(this.inflightChunks == 0) {
+							this.complete();
+						}
+						return;
+					}
+					Http2Response.this.transferredLength += chunk.readableBytes();
+					this.inflightChunks++;
+					Http2Response.this.connectionStream.writeData(chunk, 0, false, Http2Response.this.connectionStream.newPromise().addListener(future -> {
+						this.inflightChunks--;
+						if(future.isSuccess()) {
+							this.write();
+						}
+						else {
+							this.fail(future.cause());
+						}
+					}));
+				}
+			}
+			finally {
+				this.writing = false;
+			}
+		}
+
+		/**
+		 * <p>
+		 * Moves to the next region to write.
+		 * </p>
+		 *
+		 * <p>
+		 * The closing multipart delimiter is written after the last region.
+		 * </p>
+		 */
+		private void nextRegion() {
+			this.regionIndex++;
+			if(this.regionIndex < this.fileData.getRegions().size()) {
+				ResponseBody.Resource.Region region = this.fileData.getRegions().get(this.regionIndex);
+				this.position = region.getPosition();
+				this.remaining = region.getCount();
+			}
+			this.delimiterPending = this.fileData.getDelimiters() != null;
+		}
+
+		/**
+		 * <p>
+		 * Reads the next chunk in the current region.
+		 * </p>
+		 *
+		 * @return a chunk or null if an error was raised
+		 */
+		private ByteBuf read() {
+			int windowSize = Http2Response.this.connectionStream.getWindowSize();
+			int size = (int)Math.min(this.remaining, Math.max(MIN_CHUNK_SIZE, Math.min(windowSize, MAX_CHUNK_SIZE)));
+			ByteBuf chunk = Http2Response.this.connectionStream.alloc().directBuffer(size);
+			try {
+				while(chunk.readableBytes() < size) {
+					int read = chunk.writeBytes(this.fileChannel, this.position, size - chunk.readableBytes());
+					if(read < 0) {
+						throw new EOFException("Unexpected end of resource: " + this.fileData.getResource().getURI());
+					}
+					this.position += read;
+				}
+			}
+			catch(IOException e) {
+				chunk.release();
+				this.fail(e);
+				return null;
+			}
+			this.remaining -= size;
+			return chunk;
+		}
+
+		/**
+		 * <p>
+		 * Closes the file channel and subscribes to the response body data publisher to terminate the response.
+		 * </p>
+		 */
+		private void complete() {
+			this.closeFileChannel();
+			Http2Response.this.mono = false;
+			Http2Response.this.many = true;
+			Http2Response.this.body.getData().subscribe(Http2Response.this);
+		}
+
+		/**
+		 * <p>
+		 * Disposes the writer and reports the error.
+		 * </p>
+		 *
+		 * @param cause the error
+		 */
+		private void fail(Throwable cause) {
+			if(!this.disposed) {
+				this.dispose();
+				Http2Response.this.hookOnError(cause);
+			}
+		}
+
+		/**
+		 * <p>
+		 * Closes the file channel.
+		 * </p>
+		 */
+		private void closeFileChannel() {
+			if(this.fileChannel != null) {
+				try {
+					this.fileChannel.close();
+				}
+				catch(IOException e) {
+					LOGGER.warn("Error closing file channel", e);
+				}
+				this.fileChannel = null;
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if(this.disposed) {
+				return;
+			}
+			this.disposed = true;
+			this.closeFileChannel();
+			// Release multipart delimiters that haven't been written
+			ByteBuf[] delimiters = this.fileData.getDelimiters();
+			if(delimiters != null) {
+				for(int i = this.delimiterPending ? this.regionIndex : this.regionIndex + 1;i < delimiters.length;i++) {
+					delimiters[i].release();
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return this.disposed;
+		}
+	}
 }
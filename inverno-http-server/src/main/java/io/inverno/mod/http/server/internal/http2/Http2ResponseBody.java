@@ -15,8 +15,15 @@
  */
 package io.inverno.mod.http.server.internal.http2;
 
+import io.inverno.mod.base.resource.ZipResource;
+import io.inverno.mod.http.base.NotFoundException;
 import io.inverno.mod.http.server.ResponseBody;
 import io.inverno.mod.http.server.internal.AbstractResponseBody;
+import io.netty.buffer.ByteBuf;
+import java.util.List;
+import java.util.Objects;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
 /**
  * <p>
@@ -28,6 +35,8 @@ import io.inverno.mod.http.server.internal.AbstractResponseBody;
  */
 class Http2ResponseBody extends AbstractResponseBody<Http2ResponseHeaders, Http2ResponseBody> {
 
+	private FileData fileData;
+
 	/**
 	 * <p>
 	 * Creates an Http/2 response body.
@@ -38,4 +47,156 @@ class Http2ResponseBody extends AbstractResponseBody<Http2ResponseHeaders, Http2
 	public Http2ResponseBody(Http2ResponseHeaders headers) {
 		super(headers);
 	}
+
+	/**
+	 * <p>
+	 * Returns the file data.
+	 * </p>
+	 * 
+	 * <p>
+	 * The file data have priority over the response body data publisher and shall be written first when present to produce the response body.
+	 * </p>
+	 * 
+	 * @return the file data or null
+	 */
+	public FileData getFileData() {
+		return this.fileData;
+	}
+
+	@Override
+	protected void setData(Publisher<ByteBuf> data) throws IllegalStateException {
+		super.setData(data);
+		this.fileData = null;
+	}
+
+	@Override
+	public ResponseBody.Resource resource() {
+		if(this.resourceData == null) {
+			this.resourceData = new Http2ResponseBody.FileResourceOutboundData();
+		}
+		return this.resourceData;
+	}
+
+	/**
+	 * <p>
+	 * {@link ResponseBody.Resource} implementation that sends regular file resources by reading file chunks directly from the file channel.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	protected class FileResourceOutboundData extends Http2ResponseBody.ResourceOutboundData {
+
+		@Override
+		public void value(io.inverno.mod.base.resource.Resource resource) {
+			Objects.requireNonNull(resource);
+			if(!this.supportsFileData(resource)) {
+				super.value(resource);
+				return;
+			}
+			if(resource.exists().orElse(true)) {
+				this.populateHeaders(resource);
+				@SuppressWarnings("OptionalGetWithoutIsPresent") // We know this is a file so we'll have a size
+				long size = resource.size().get();
+				Http2ResponseBody.this.setData(Flux.empty());
+				Http2ResponseBody.this.fileData = new FileData(resource, size > 0 ? List.of(ResponseBody.Resource.Region.of(0, size)) : List.of(), null);
+			}
+			else {
+				throw new NotFoundException();
+			}
+		}
+
+		@Override
+		public void value(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions) throws IllegalArgumentException, IllegalStateException {
+			Objects.requireNonNull(resource);
+			if(!this.supportsFileData(resource)) {
+				super.value(resource, regions);
+				return;
+			}
+			if(resource.exists().orElse(true)) {
+				ByteBuf[] delimiters = this.populateRegionHeaders(resource, regions);
+				Http2ResponseBody.this.setData(Flux.empty());
+				Http2ResponseBody.this.fileData = new FileData(resource, regions, delimiters);
+			}
+			else {
+				throw new NotFoundException();
+			}
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the specified resource can be read directly from its file channel.
+		 * </p>
+		 *
+		 * @param resource a resource
+		 *
+		 * @return true if the resource is a regular file, false otherwise
+		 */
+		private boolean supportsFileData(io.inverno.mod.base.resource.Resource resource) {
+			return resource.isFile().orElse(false) && !(resource instanceof ZipResource) && resource.size().isPresent();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Describes the regions of a regular file resource to send in the response body.
+	 * </p>
+	 * 
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	static class FileData {
+
+		private final io.inverno.mod.base.resource.Resource resource;
+		private final List<ResponseBody.Resource.Region> regions;
+		private final ByteBuf[] delimiters;
+
+		/**
+		 * <p>
+		 * Creates file data.
+		 * </p>
+		 *
+		 * @param resource   the file resource
+		 * @param regions    the regions to send
+		 * @param delimiters the multipart delimiters preceding each region followed by the closing delimiter or null
+		 */
+		FileData(io.inverno.mod.base.resource.Resource resource, List<ResponseBody.Resource.Region> regions, ByteBuf[] delimiters) {
+			this.resource = resource;
+			this.regions = regions;
+			this.delimiters = delimiters;
+		}
+
+		/**
+		 * <p>
+		 * Returns the file resource.
+		 * </p>
+		 *
+		 * @return the resource
+		 */
+		public io.inverno.mod.base.resource.Resource getResource() {
+			return this.resource;
+		}
+
+		/**
+		 * <p>
+		 * Returns the regions to send.
+		 * </p>
+		 *
+		 * @return a list of regions
+		 */
+		public List<ResponseBody.Resource.Region> getRegions() {
+			return this.regions;
+		}
+
+		/**
+		 * <p>
+		 * Returns the multipart delimiters.
+		 * </p>
+		 *
+		 * @return the multipart delimiters or null
+		 */
+		public ByteBuf[] getDelimiters() {
+			return this.delimiters;
+		}
+	}
 }
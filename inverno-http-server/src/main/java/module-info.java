@@ -36,6 +36,8 @@
  * <dd>override the default HTTP server controller used to process server exchanges</dd>
  * <dt><b>headerCodecs</b></dt>
  * <dd>custom header codecs</dd>
+ * <dt><b>metrics</b></dt>
+ * <dd>override the default no-op metrics service provider used to record HTTP server metrics</dd>
  * <dt><b>parameterConverter</b></dt>
  * <dd>override the default parameter converter used in {@link io.inverno.mod.http.base.Parameter} instances to convert their values</dd>
  * </dl>
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.server.internal;
+
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.converter.StringConverter;
+import io.inverno.mod.base.metrics.Counter;
+import io.inverno.mod.base.metrics.Gauge;
+import io.inverno.mod.base.metrics.Histogram;
+import io.inverno.mod.base.metrics.Metrics;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.internal.header.AcceptCodec;
+import io.inverno.mod.http.base.internal.header.AcceptLanguageCodec;
+import io.inverno.mod.http.base.internal.header.ContentDispositionCodec;
+import io.inverno.mod.http.base.internal.header.ContentTypeCodec;
+import io.inverno.mod.http.base.internal.header.CookieCodec;
+import io.inverno.mod.http.base.internal.header.GenericHeaderService;
+import io.inverno.mod.http.server.ErrorExchange;
+import io.inverno.mod.http.server.Exchange;
+import io.inverno.mod.http.server.HttpServerConfigurationLoader;
+import io.inverno.mod.http.server.ReactiveExchangeHandler;
+import io.inverno.mod.http.server.ServerController;
+import io.inverno.mod.http.server.internal.http1x.Http1xConnectionFactory;
+import io.inverno.mod.http.server.internal.http1x.Http1xResponseEncoder;
+import io.inverno.mod.http.server.internal.multipart.MultipartFormDataBodyDecoder;
+import io.inverno.mod.http.server.internal.multipart.UrlEncodedBodyDecoder;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.util.ReferenceCountUtil;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class HttpServerMetricsTest {
+
+	private static final ObjectConverter<String> PARAMETER_CONVERTER = new StringConverter();
+
+	private static final HeaderService HEADER_SERVICE = new GenericHeaderService(List.of(
+		new AcceptCodec(true),
+		new AcceptLanguageCodec(true),
+		new ContentDispositionCodec(),
+		new ContentTypeCodec(),
+		new CookieCodec(PARAMETER_CONVERTER)
+	));
+
+	private static final String REQUEST = "GET /resource HTTP/1.1\r\nhost: localhost\r\n\r\n";
+
+	private RecordingMetrics metrics;
+	private EmbeddedChannel channel;
+
+	@BeforeEach
+	public void init() {
+		this.metrics = new RecordingMetrics();
+	}
+
+	@AfterEach
+	public void destroy() {
+		if(this.channel != null) {
+			this.channel.finishAndReleaseAll();
+		}
+	}
+
+	@Test
+	public void test_exchange_success() {
+		this.createChannel(exchange -> Mono.fromRunnable(() -> exchange.response().body().string().value("Hello")));
+
+		Assertions.assertEquals(1, this.metrics.gauge("http.server.connections.active").get());
+
+		this.sendRequest();
+		this.sendRequest();
+
+		Assertions.assertEquals(0, this.metrics.gauge("http.server.exchanges.active").get());
+		Assertions.assertEquals(2, this.metrics.counter("http.server.responses", "status", "2xx").get());
+		Assertions.assertEquals(0, this.metrics.counter("http.server.responses", "status", "5xx").get());
+		Assertions.assertEquals(0, this.metrics.counter("http.server.exchanges.aborted").get());
+		List<Long> durations = this.metrics.histogram("http.server.exchanges.duration").getValues();
+		Assertions.assertEquals(2, durations.size());
+		Assertions.assertTrue(durations.stream().allMatch(duration -> duration >= 0));
+
+		this.channel.close();
+		Assertions.assertEquals(0, this.metrics.gauge("http.server.connections.active").get());
+	}
+
+	@Test
+	public void test_exchange_error() {
+		this.createChannel(exchange -> Mono.error(new IllegalStateException("Handler failure")));
+
+		this.sendRequest();
+
+		// the exchange is recorded once with the status of the error exchange
+		Assertions.assertEquals(0, this.metrics.gauge("http.server.exchanges.active").get());
+		Assertions.assertEquals(1, this.metrics.counter("http.server.responses", "status", "5xx").get());
+		Assertions.assertEquals(0, this.metrics.counter("http.server.responses", "status", "2xx").get());
+		Assertions.assertEquals(0, this.metrics.counter("http.server.exchanges.aborted").get());
+		Assertions.assertEquals(1, this.metrics.histogram("http.server.exchanges.duration").getValues().size());
+	}
+
+	@Test
+	public void test_exchange_cancelled() {
+		this.createChannel(exchange -> Mono.fromRunnable(() -> exchange.response().body().raw().stream(Flux.never())));
+
+		this.sendRequest();
+		Assertions.assertEquals(1, this.metrics.gauge("http.server.exchanges.active").get());
+		Assertions.assertTrue(this.metrics.histogram("http.server.exchanges.duration").getValues().isEmpty());
+
+		// the connection is closed before the response is sent
+		this.channel.close();
+
+		Assertions.assertEquals(0, this.metrics.gauge("http.server.exchanges.active").get());
+		Assertions.assertEquals(1, this.metrics.counter("http.server.exchanges.aborted").get());
+		Assertions.assertEquals(0, this.metrics.counter("http.server.responses", "status", "2xx").get());
+		Assertions.assertEquals(1, this.metrics.histogram("http.server.exchanges.duration").getValues().size());
+		Assertions.assertEquals(0, this.metrics.gauge("http.server.connections.active").get());
+	}
+
+	@Test
+	public void test_status_classes() {
+		RecordingMetrics metrics = new RecordingMetrics();
+		HttpServerMetrics serverMetrics = new HttpServerMetrics(metrics);
+
+		for(int status : new int[] {101, 204, 304, 404, 429, 503}) {
+			serverMetrics.onExchangeEnd(serverMetrics.onExchangeStart(), status);
+		}
+		serverMetrics.onExchangeEnd(serverMetrics.onExchangeStart(), 0);
+
+		Assertions.assertEquals(1, metrics.counter("http.server.responses", "status", "1xx").get());
+		Assertions.assertEquals(1, metrics.counter("http.server.responses", "status", "2xx").get());
+		Assertions.assertEquals(1, metrics.counter("http.server.responses", "status", "3xx").get());
+		Assertions.assertEquals(2, metrics.counter("http.server.responses", "status", "4xx").get());
+		Assertions.assertEquals(1, metrics.counter("http.server.responses", "status", "5xx").get());
+		Assertions.assertEquals(1, metrics.counter("http.server.exchanges.aborted").get());
+		Assertions.assertEquals(0, metrics.gauge("http.server.exchanges.active").get());
+		Assertions.assertEquals(7, metrics.histogram("http.server.exchanges.duration").getValues().size());
+
+		serverMetrics.onStreamOpen(3);
+		Assertions.assertEquals(List.of(3L), metrics.histogram("http.server.connection.streams").getValues());
+	}
+
+	private void createChannel(ReactiveExchangeHandler<ExchangeContext, Exchange<ExchangeContext>> handler) {
+		HttpServerMetrics serverMetrics = new HttpServerMetrics(this.metrics);
+		ServerController<ExchangeContext, Exchange<ExchangeContext>, ErrorExchange<ExchangeContext>> controller = ServerController.from(handler);
+		Http1xConnectionFactory connectionFactory = new Http1xConnectionFactory(
+			HttpServerConfigurationLoader.load(configuration -> configuration.h2_enabled(false)),
+			controller,
+			HEADER_SERVICE,
+			PARAMETER_CONVERTER,
+			new UrlEncodedBodyDecoder(PARAMETER_CONVERTER),
+			new MultipartFormDataBodyDecoder(HEADER_SERVICE, PARAMETER_CONVERTER),
+			serverMetrics
+		);
+		this.channel = new EmbeddedChannel(new HttpRequestDecoder(), new Http1xResponseEncoder(ByteBufAllocator.DEFAULT), connectionFactory.get());
+
+		Reactor reactor = Mockito.mock(Reactor.class);
+		Mockito.when(reactor.getAcceptorEventLoopGroup()).thenReturn(this.channel.eventLoop());
+		new HttpConnectionGroup(reactor, serverMetrics).register(this.channel);
+	}
+
+	private void sendRequest() {
+		this.channel.writeInbound(Unpooled.copiedBuffer(REQUEST, StandardCharsets.US_ASCII));
+		this.channel.runPendingTasks();
+		Object msg;
+		while((msg = this.channel.readOutbound()) != null) {
+			ReferenceCountUtil.release(msg);
+		}
+	}
+
+	/**
+	 * <p>
+	 * A metrics implementation recording values in memory.
+	 * </p>
+	 */
+	private static class RecordingMetrics implements Metrics {
+
+		private final Map<String, RecordingCounter> counters = new ConcurrentHashMap<>();
+		private final Map<String, RecordingGauge> gauges = new ConcurrentHashMap<>();
+		private final Map<String, RecordingHistogram> histograms = new ConcurrentHashMap<>();
+
+		private static String key(String name, String... tags) {
+			if(tags.length % 2 != 0) {
+				throw new IllegalArgumentException("Tags must be specified as key/value pairs");
+			}
+			return name + Arrays.toString(tags);
+		}
+
+		@Override
+		public RecordingCounter counter(String name, String... tags) throws IllegalArgumentException {
+			return this.counters.computeIfAbsent(key(name, tags), ign -> new RecordingCounter());
+		}
+
+		@Override
+		public RecordingGauge gauge(String name, String... tags) throws IllegalArgumentException {
+			return this.gauges.computeIfAbsent(key(name, tags), ign -> new RecordingGauge());
+		}
+
+		@Override
+		public RecordingHistogram histogram(String name, String... tags) throws IllegalArgumentException {
+			return this.histograms.computeIfAbsent(key(name, tags), ign -> new RecordingHistogram());
+		}
+	}
+
+	private static class RecordingCounter implements Counter {
+
+		private final AtomicLong count = new AtomicLong();
+
+		@Override
+		public void increment(long amount) {
+			this.count.addAndGet(amount);
+		}
+
+		public long get() {
+			return this.count.get();
+		}
+	}
+
+	private static class RecordingGauge implements Gauge {
+
+		private final AtomicLong value = new AtomicLong();
+
+		@Override
+		public void add(long amount) {
+			this.value.addAndGet(amount);
+		}
+
+		@Override
+		public void set(long value) {
+			this.value.set(value);
+		}
+
+		public long get() {
+			return this.value.get();
+		}
+	}
+
+	private static class RecordingHistogram implements Histogram {
+
+		private final List<Long> values = new ArrayList<>();
+
+		@Override
+		public synchronized void record(long value) {
+			this.values.add(value);
+		}
+
+		public synchronized List<Long> getValues() {
+			return List.copyOf(this.values);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.server.internal.http1x;
+
+import io.inverno.mod.base.converter.StringCompositeConverter;
+import io.inverno.mod.base.resource.FileResource;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.internal.header.ContentTypeCodec;
+import io.inverno.mod.http.base.internal.header.GenericHeaderService;
+import io.inverno.mod.http.server.ResponseBody;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class Http1xResponseTest {
+
+	private static final HeaderService HEADER_SERVICE = new GenericHeaderService(List.of(new ContentTypeCodec()));
+
+	private static final StringCompositeConverter PARAMETER_CONVERTER = new StringCompositeConverter();
+
+	@TempDir
+	private Path tempDir;
+
+	private EmbeddedChannel channel;
+	private Http1xConnection connection;
+
+	private List<ReadableByteChannel> openedChannels;
+	private Deque<Map.Entry<FileRegion, ChannelPromise>> pendingFileRegions;
+
+	@BeforeEach
+	public void init() {
+		this.channel = new EmbeddedChannel();
+		this.openedChannels = new ArrayList<>();
+		this.pendingFileRegions = new LinkedList<>();
+
+		this.connection = Mockito.mock(Http1xConnection.class);
+		Mockito.when(this.connection.executor()).thenReturn(this.channel.eventLoop());
+		Mockito.when(this.connection.newPromise()).thenAnswer(invocation -> this.channel.newPromise());
+		Mockito.when(this.connection.supportsFileRegion()).thenReturn(true);
+		Mockito.doAnswer(invocation -> {
+			// Like a socket whose send buffer is full, file regions are transferred later when the channel becomes writable again
+			this.pendingFileRegions.add(Map.entry(invocation.getArgument(0), invocation.getArgument(1)));
+			return null;
+		}).when(this.connection).writeFileRegion(Mockito.any(), Mockito.any());
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.channel.close();
+	}
+
+	@Test
+	public void test_file_region_larger_than_send_buffer() throws IOException {
+		byte[] content = new byte[3 * 1024 * 1024];
+		ThreadLocalRandom.current().nextBytes(content);
+		Path file = this.createFile("big.bin", content);
+
+		Http1xResponse response = this.createResponse();
+		response.body().resource().value(this.createResource(file), List.of(ResponseBody.Resource.Region.of(1024, content.length - 2048)));
+		response.send();
+
+		ArgumentCaptor<HttpResponse> responseCaptor = ArgumentCaptor.forClass(HttpResponse.class);
+		Mockito.verify(this.connection).writeHttpObject(responseCaptor.capture());
+		Assertions.assertEquals(206, responseCaptor.getValue().status().code());
+		Assertions.assertEquals(Integer.toString(content.length - 2048), responseCaptor.getValue().headers().get("content-length"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		WritableByteChannel target = Channels.newChannel(out);
+		int regionCount = 0;
+		while(!this.pendingFileRegions.isEmpty()) {
+			Map.Entry<FileRegion, ChannelPromise> pendingFileRegion = this.pendingFileRegions.poll();
+			regionCount++;
+
+			// The file channel must remain open until the last file region has been transferred
+			Assertions.assertTrue(this.openedChannels.getFirst().isOpen());
+			Mockito.verify(this.connection, Mockito.never()).onExchangeComplete();
+
+			FileRegion fileRegion = pendingFileRegion.getKey();
+			while(fileRegion.transferred() < fileRegion.count()) {
+				fileRegion.transferTo(target, fileRegion.transferred());
+			}
+			// like Netty, the file region is released once written
+			fileRegion.release();
+			pendingFileRegion.getValue().setSuccess();
+		}
+
+		Assertions.assertEquals(3, regionCount);
+		Assertions.assertArrayEquals(Arrays.copyOfRange(content, 1024, content.length - 1024), out.toByteArray());
+		Mockito.verify(this.connection).onExchangeComplete();
+		Assertions.assertFalse(this.openedChannels.getFirst().isOpen());
+	}
+
+	private Path createFile(String name, byte[] content) throws IOException {
+		return Files.write(this.tempDir.resolve(name), content);
+	}
+
+	private FileResource createResource(Path file) {
+		FileResource resource = Mockito.spy(new FileResource(file));
+		Mockito.doAnswer(invocation -> {
+			@SuppressWarnings("unchecked")
+			Optional<ReadableByteChannel> channel = (Optional<ReadableByteChannel>)invocation.callRealMethod();
+			channel.ifPresent(this.openedChannels::add);
+			return channel;
+		}).when(resource).openReadableByteChannel();
+		return resource;
+	}
+
+	private Http1xResponse createResponse() {
+		return new Http1xResponse(HEADER_SERVICE, PARAMETER_CONVERTER, null, this.connection, HttpVersion.HTTP_1_1, false);
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.http.server.internal.http2;
+
+import io.inverno.mod.base.converter.StringCompositeConverter;
+import io.inverno.mod.base.resource.FileResource;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.internal.header.ContentTypeCodec;
+import io.inverno.mod.http.base.internal.header.GenericHeaderService;
+import io.inverno.mod.http.server.ResponseBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2Headers;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class Http2ResponseTest {
+
+	private static final HeaderService HEADER_SERVICE = new GenericHeaderService(List.of(new ContentTypeCodec()));
+
+	private static final StringCompositeConverter PARAMETER_CONVERTER = new StringCompositeConverter();
+
+	@TempDir
+	private Path tempDir;
+
+	private EmbeddedChannel channel;
+	private Http2ConnectionStream connectionStream;
+
+	private List<ByteBuf> allocatedBuffers;
+	private List<ReadableByteChannel> openedChannels;
+	private Deque<ChannelPromise> pendingWrites;
+	private ByteBuf data;
+	private int windowSize;
+	private boolean autoComplete;
+	private boolean reset;
+	private boolean endStream;
+	private int maxInflightWrites;
+	private int maxChunkSize;
+
+	@BeforeEach
+	public void init() {
+		this.channel = new EmbeddedChannel();
+		this.allocatedBuffers = new ArrayList<>();
+		this.openedChannels = new ArrayList<>();
+		this.pendingWrites = new LinkedList<>();
+		this.data = Unpooled.buffer();
+		this.windowSize = 65535;
+		this.autoComplete = true;
+
+		ByteBufAllocator allocator = Mockito.mock(ByteBufAllocator.class);
+		Mockito.when(allocator.directBuffer(Mockito.anyInt())).thenAnswer(invocation -> {
+			ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(invocation.getArgument(0));
+			this.allocatedBuffers.add(buffer);
+			return buffer;
+		});
+
+		this.connectionStream = Mockito.mock(Http2ConnectionStream.class);
+		Mockito.when(this.connectionStream.executor()).thenReturn(this.channel.eventLoop());
+		Mockito.when(this.connectionStream.alloc()).thenReturn(allocator);
+		Mockito.when(this.connectionStream.getWindowSize()).thenAnswer(invocation -> this.windowSize);
+		Mockito.when(this.connectionStream.newPromise()).thenAnswer(invocation -> this.channel.newPromise());
+		Mockito.when(this.connectionStream.isReset()).thenAnswer(invocation -> this.reset);
+		Mockito.doAnswer(invocation -> {
+			// like the HTTP/2 encoder, data are released once written
+			ByteBuf chunk = invocation.getArgument(0);
+			this.maxChunkSize = Math.max(this.maxChunkSize, chunk.readableBytes());
+			this.data.writeBytes(chunk);
+			chunk.release();
+			ChannelPromise promise = invocation.getArgument(3);
+			if(this.autoComplete) {
+				promise.setSuccess();
+			}
+			else {
+				this.pendingWrites.add(promise);
+				this.maxInflightWrites = Math.max(this.maxInflightWrites, this.pendingWrites.size());
+			}
+			return null;
+		}).when(this.connectionStream).writeData(Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean(), Mockito.any());
+		Mockito.doAnswer(invocation -> {
+			ByteBuf chunk = invocation.getArgument(0);
+			this.data.writeBytes(chunk);
+			chunk.release();
+			this.endStream = invocation.getArgument(2);
+			return null;
+		}).when(this.connectionStream).writeData(Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean());
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.data.release();
+		this.channel.close();
+	}
+
+	@Test
+	public void test_file() throws IOException {
+		Path file = this.createFile("small.txt", "This is a test resource.".getBytes(StandardCharsets.UTF_8));
+
+		Http2Response response = this.createResponse();
+		response.body().resource().value(this.createResource(file));
+		Assertions.assertNotNull(response.body().getFileData());
+		response.send();
+
+		Http2Headers headers = this.getHeaders();
+		Assertions.assertEquals("200", headers.status().toString());
+		Assertions.assertEquals("24", headers.get("content-length").toString());
+		Assertions.assertEquals("This is a test resource.", this.data.toString(StandardCharsets.UTF_8));
+		Assertions.assertTrue(this.endStream);
+		Mockito.verify(this.connectionStream).onExchangeComplete();
+
+		this.assertReleased();
+	}
+
+	@Test
+	public void test_file_region() throws IOException {
+		Path file = this.createFile("small.txt", "This is a test resource.".getBytes(StandardCharsets.UTF_8));
+
+		Http2Response response = this.createResponse();
+		response.body().resource().value(this.createResource(file), List.of(ResponseBody.Resource.Region.of(10, 4)));
+		response.send();
+
+		Http2Headers headers = this.getHeaders();
+		Assertions.assertEquals("206", headers.status().toString());
+		Assertions.assertEquals("4", headers.get("content-length").toString());
+		Assertions.assertEquals("bytes 10-13/24", headers.get("content-range").toString());
+		Assertions.assertEquals("test", this.data.toString(StandardCharsets.UTF_8));
+		Assertions.assertTrue(this.endStream);
+		Mockito.verify(this.connectionStream).onExchangeComplete();
+
+		this.assertReleased();
+	}
+
+	@Test
+	public void test_file_multipart_regions() throws IOException {
+		Path file = this.createFile("small.txt", "This is a test resource.".getBytes(StandardCharsets.UTF_8));
+
+		Http2Response response = this.createResponse();
+		response.body().resource().value(this.createResource(file), List.of(ResponseBody.Resource.Region.of(0, 4), ResponseBody.Resource.Region.of(10, 4)));
+		ByteBuf[] delimiters = response.body().getFileData().getDelimiters();
+		response.send();
+
+		Http2Headers headers = this.getHeaders();
+		Assertions.assertEquals("206", headers.status().toString());
+		String contentType = headers.get("content-type").toString();
+		Assertions.assertTrue(contentType.startsWith("multipart/byteranges;boundary="));
+		String boundary = contentType.substring(contentType.indexOf('=') + 1);
+		Assertions.assertEquals(
+			"--" + boundary + "\r\n" +
+			"content-type: text/plain\r\n" +
+			"content-range: bytes 0-3/24\r\n" +
+			"\r\n" +
+			"This\r\n" +
+			"--" + boundary + "\r\n" +
+			"content-type: text/plain\r\n" +
+			"content-range: bytes 10-13/24\r\n" +
+			"\r\n" +
+			"test\r\n" +
+			"--" + boundary + "--\r\n",
+			this.data.toString(StandardCharsets.UTF_8)
+		);
+		Assertions.assertEquals(this.data.readableBytes(), Integer.parseInt(headers.get("content-length").toString()));
+		Assertions.assertTrue(this.endStream);
+
+		this.assertReleased();
+		for(ByteBuf delimiter : delimiters) {
+			Assertions.assertEquals(0, delimiter.refCnt());
+		}
+	}
+
+	@Test
+	public void test_file_larger_than_window() throws IOException {
+		byte[] content = new byte[1024 * 1024 + 17];
+		ThreadLocalRandom.current().nextBytes(content);
+		Path file = this.createFile("big.bin", content);
+		this.autoComplete = false;
+
+		Http2Response response = this.createResponse();
+		response.body().resource().value(this.createResource(file));
+		response.send();
+
+		// chunks are written as previous writes complete
+		Assertions.assertEquals(2, this.pendingWrites.size());
+		while(!this.pendingWrites.isEmpty()) {
+			this.pendingWrites.poll().setSuccess();
+		}
+
+		Assertions.assertEquals(2, this.maxInflightWrites);
+		Assertions.assertEquals(this.windowSize, this.maxChunkSize);
+		Assertions.assertArrayEquals(content, ByteBufUtil.getBytes(this.data));
+		Assertions.assertTrue(this.endStream);
+		Mockito.verify(this.connectionStream).onExchangeComplete();
+
+		this.assertReleased();
+	}
+
+	@Test
+	public void test_file_reset() throws IOException {
+		byte[] content = new byte[1024 * 1024];
+		ThreadLocalRandom.current().nextBytes(content);
+		Path file = this.createFile("big.bin", content);
+		this.autoComplete = false;
+
+		Http2Response response = this.createResponse();
+		response.body().resource().value(this.createResource(file), List.of(ResponseBody.Resource.Region.of(0, 512 * 1024), ResponseBody.Resource.Region.of(768 * 1024, 128 * 1024)));
+		ByteBuf[] delimiters = response.body().getFileData().getDelimiters();
+		response.send();
+
+		this.pendingWrites.poll().setSuccess();
+		Assertions.assertEquals(2, this.pendingWrites.size());
+		Assertions.assertTrue(this.openedChannels.getFirst().isOpen());
+
+		// the stream is reset by the client: the exchange is disposed and pending writes fail
+		this.reset = true;
+		response.dispose(new IOException("Stream reset"));
+		while(!this.pendingWrites.isEmpty()) {
+			this.pendingWrites.poll().setFailure(new IOException("Stream reset"));
+		}
+
+		Assertions.assertFalse(this.openedChannels.getFirst().isOpen());
+		Assertions.assertFalse(this.endStream);
+		Assertions.assertTrue(this.data.readableBytes() < 512 * 1024);
+		Mockito.verify(this.connectionStream, Mockito.never()).onExchangeComplete();
+		Mockito.verify(this.connectionStream, Mockito.never()).onExchangeError(Mockito.any());
+
+		this.assertReleased();
+		for(ByteBuf delimiter : delimiters) {
+			Assertions.assertEquals(0, delimiter.refCnt());
+		}
+	}
+
+	private Path createFile(String name, byte[] content) throws IOException {
+		return Files.write(this.tempDir.resolve(name), content);
+	}
+
+	private FileResource createResource(Path file) {
+		FileResource resource = Mockito.spy(new FileResource(file));
+		Mockito.doAnswer(invocation -> {
+			@SuppressWarnings("unchecked")
+			Optional<ReadableByteChannel> channel = (Optional<ReadableByteChannel>)invocation.callRealMethod();
+			channel.ifPresent(this.openedChannels::add);
+			return channel;
+		}).when(resource).openReadableByteChannel();
+		return resource;
+	}
+
+	private Http2Response createResponse() {
+		return new Http2Response(HEADER_SERVICE, PARAMETER_CONVERTER, false, this.connectionStream, false);
+	}
+
+	private Http2Headers getHeaders() {
+		ArgumentCaptor<Http2Headers> headersCaptor = ArgumentCaptor.forClass(Http2Headers.class);
+		Mockito.verify(this.connectionStream).writeHeaders(headersCaptor.capture(), Mockito.eq(0), Mockito.eq(false));
+		return headersCaptor.getValue();
+	}
+
+	private void assertReleased() {
+		Assertions.assertFalse(this.allocatedBuffers.isEmpty());
+		for(ByteBuf buffer : this.allocatedBuffers) {
+			Assertions.assertEquals(0, buffer.refCnt());
+		}
+		Assertions.assertFalse(this.openedChannels.isEmpty());
+		for(ReadableByteChannel openedChannel : this.openedChannels) {
+			Assertions.assertFalse(openedChannel.isOpen());
+		}
+	}
+}
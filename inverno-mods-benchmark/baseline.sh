@@ -0,0 +1,40 @@
+#!/bin/bash
+
+# Runs the benchmarks with the GC profiler and stores results in baselines/<version>.json, or compares the allocation
+# rates (gc.alloc.rate.norm in B/op) of two baselines.
+
+set -e
+
+BENCHMARK_DIR=$(cd "$(dirname "$0")" && pwd)
+BASELINES_DIR="$BENCHMARK_DIR/baselines"
+
+if (( $# > 0 )) && [[ "$1" == "compare" ]]
+	then
+		if (( $# != 3 ))
+			then
+				echo "Usage: baseline.sh compare <VERSION_1> <VERSION_2>"
+				exit 1
+		fi
+		for version in "$2" "$3"
+			do
+				if [ ! -f "$BASELINES_DIR/$version.json" ]
+					then
+						echo "Missing baseline: $BASELINES_DIR/$version.json"
+						exit 1
+				fi
+			done
+		jq -r -n --slurpfile v1 "$BASELINES_DIR/$2.json" --slurpfile v2 "$BASELINES_DIR/$3.json" '
+			def key: .benchmark + (if .params then " " + (.params | to_entries | map(.key + "=" + .value) | join(",")) else "" end);
+			def alloc: .secondaryMetrics["gc.alloc.rate.norm"].score;
+			($v1[0] | map({key: key, value: alloc}) | from_entries) as $a
+			| $v2[0][]
+			| key as $k
+			| [$k, ($a[$k] // "n/a" | tostring), (alloc | tostring)]
+			| @tsv' | column -t -s $'\t' -N "BENCHMARK,$2 (B/op),$3 (B/op)"
+		exit 0
+fi
+
+VERSION=$(cd "$BENCHMARK_DIR" && mvn -q help:evaluate -Dexpression=project.version -DforceStdout)
+
+mkdir -p "$BASELINES_DIR"
+java -jar "$BENCHMARK_DIR/target/benchmarks.jar" -prof gc -rf json -rff "$BASELINES_DIR/$VERSION.json" "$@"
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.base;
+
+import io.inverno.mod.base.net.URIBuilder;
+import io.inverno.mod.base.net.URIMatcher;
+import io.inverno.mod.base.net.URIPattern;
+import io.inverno.mod.base.net.URIs;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Benchmarks URI building and path pattern matching ({@code GenericURIBuilder}, {@code GenericURIPattern} and {@code GenericURIMatcher}).
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class URIBenchmark {
+
+	private static final String REQUEST_TARGET = "/api/v1/users/1234/orders/5678?expand=items&sort=date#summary";
+
+	private static final String PARAMETERIZED_PATH = "/api/v1/users/{userId}/orders/{orderId:[0-9]+}";
+
+	private static final String REQUEST_PATH = "/api/v1/users/1234/orders/5678";
+
+	private URIPattern pathPattern;
+
+	private URIPattern directoriesPathPattern;
+
+	private URIBuilder parameterizedBuilder;
+
+	/**
+	 * <p>
+	 * Builds the patterns and builders used in the benchmarks.
+	 * </p>
+	 */
+	@Setup
+	public void setup() {
+		this.pathPattern = URIs.uri(PARAMETERIZED_PATH, URIs.Option.PARAMETERIZED, URIs.Option.NORMALIZED).buildPathPattern(false);
+		this.directoriesPathPattern = URIs.uri("/static/**/*.js", URIs.Option.PARAMETERIZED, URIs.Option.PATH_PATTERN).buildPathPattern(false);
+		this.parameterizedBuilder = URIs.uri(PARAMETERIZED_PATH, URIs.Option.PARAMETERIZED, URIs.Option.NORMALIZED);
+	}
+
+	/**
+	 * <p>
+	 * Parses and normalizes a request target.
+	 * </p>
+	 *
+	 * @return the normalized path
+	 */
+	@Benchmark
+	public String parseNormalizedRequestTarget() {
+		return URIs.uri(REQUEST_TARGET, URIs.RequestTargetForm.PATH_QUERY_FRAGMENT, URIs.Option.NORMALIZED).buildRawPath();
+	}
+
+	/**
+	 * <p>
+	 * Parses a parameterized path and builds the corresponding path pattern.
+	 * </p>
+	 *
+	 * @return a path pattern
+	 */
+	@Benchmark
+	public URIPattern buildPathPattern() {
+		return URIs.uri(PARAMETERIZED_PATH, URIs.Option.PARAMETERIZED, URIs.Option.NORMALIZED).buildPathPattern(false);
+	}
+
+	/**
+	 * <p>
+	 * Builds a path from a parameterized builder.
+	 * </p>
+	 *
+	 * @return a path
+	 */
+	@Benchmark
+	public String buildParameterizedPath() {
+		return this.parameterizedBuilder.buildPath(Map.of("userId", "1234", "orderId", "5678"));
+	}
+
+	/**
+	 * <p>
+	 * Matches a path against a parameterized path pattern and extracts parameters.
+	 * </p>
+	 *
+	 * @param blackhole a blackhole
+	 */
+	@Benchmark
+	public void matchPathPattern(Blackhole blackhole) {
+		URIMatcher matcher = this.pathPattern.matcher(REQUEST_PATH);
+		blackhole.consume(matcher.matches());
+		blackhole.consume(matcher.getParameters());
+	}
+
+	/**
+	 * <p>
+	 * Matches a path against a directories path pattern.
+	 * </p>
+	 *
+	 * @return true if the path matches
+	 */
+	@Benchmark
+	public boolean matchDirectoriesPathPattern() {
+		return this.directoriesPathPattern.matcher("/static/js/vendor/lib/app.js").matches();
+	}
+
+	/**
+	 * <p>
+	 * Determines whether a path pattern includes another.
+	 * </p>
+	 *
+	 * @return an inclusion state
+	 */
+	@Benchmark
+	public URIPattern.Inclusion includesPathPattern() {
+		return this.directoriesPathPattern.includes(this.pathPattern);
+	}
+}
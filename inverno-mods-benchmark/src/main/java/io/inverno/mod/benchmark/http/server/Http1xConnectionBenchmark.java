@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.http.server;
+
+import io.inverno.mod.http.server.HttpServerConfiguration;
+import io.inverno.mod.http.server.internal.http1x.Http1xConnectionFactory;
+import io.inverno.mod.http.server.internal.http1x.Http1xResponseEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Benchmarks HTTP/1.x request processing by {@code Http1xConnection} over an {@link EmbeddedChannel}.
+ * </p>
+ *
+ * <p>
+ * The pipeline is the one created by the server for a plain text HTTP/1.x connection without compression: the request is decoded, handed over to the server controller and the response is encoded.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Http1xConnectionBenchmark {
+
+	/**
+	 * The number of pipelined requests sent in a single read.
+	 */
+	@Param({"1", "16"})
+	public int pipelining;
+
+	private Http1xConnectionFactory connectionFactory;
+
+	private EmbeddedChannel channel;
+
+	private ByteBuf request;
+
+	/**
+	 * <p>
+	 * Creates the connection factory and the raw requests.
+	 * </p>
+	 */
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		HttpServerConfiguration configuration = ServerBenchmarkSupport.configuration(false);
+		this.connectionFactory = new Http1xConnectionFactory(
+			configuration,
+			ServerBenchmarkSupport.controller(),
+			ServerBenchmarkSupport.HEADER_SERVICE,
+			ServerBenchmarkSupport.PARAMETER_CONVERTER,
+			ServerBenchmarkSupport.URL_ENCODED_BODY_DECODER,
+			ServerBenchmarkSupport.MULTIPART_BODY_DECODER,
+			ServerBenchmarkSupport.METRICS
+		);
+
+		byte[] rawRequest = ("GET /api/v1/users/1234?expand=orders HTTP/1.1\r\n" +
+			"host: localhost:8080\r\n" +
+			"accept: application/json, text/plain;q=0.9, */*;q=0.8\r\n" +
+			"accept-language: fr-FR,fr;q=0.9,en-US;q=0.8\r\n" +
+			"user-agent: jmh\r\n" +
+			"\r\n").getBytes(StandardCharsets.US_ASCII);
+
+		this.request = PooledByteBufAllocator.DEFAULT.directBuffer(rawRequest.length * this.pipelining);
+		for(int i=0;i<this.pipelining;i++) {
+			this.request.writeBytes(rawRequest);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Releases the raw requests.
+	 * </p>
+	 */
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		this.request.release();
+	}
+
+	/**
+	 * <p>
+	 * Creates a new connection.
+	 * </p>
+	 */
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		this.channel = new EmbeddedChannel(
+			new HttpRequestDecoder(),
+			new Http1xResponseEncoder(PooledByteBufAllocator.DEFAULT),
+			this.connectionFactory.get()
+		);
+	}
+
+	/**
+	 * <p>
+	 * Closes the connection.
+	 * </p>
+	 */
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		ServerBenchmarkSupport.drainOutbound(this.channel);
+		this.channel.finishAndReleaseAll();
+	}
+
+	/**
+	 * <p>
+	 * Sends requests and releases the resulting responses.
+	 * </p>
+	 *
+	 * @return the number of outbound messages
+	 */
+	@Benchmark
+	public int handleRequest() {
+		this.channel.writeInbound(this.request.retainedDuplicate());
+		return ServerBenchmarkSupport.drainOutbound(this.channel);
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.http.server;
+
+import io.inverno.mod.http.server.HttpServerConfiguration;
+import io.inverno.mod.http.server.internal.http2.Http2ConnectionFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2FrameWriter;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameWriter;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2Settings;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Benchmarks HTTP/2 request processing by {@code Http2Connection} over an {@link EmbeddedChannel}.
+ * </p>
+ *
+ * <p>
+ * Client frames are produced by a {@link DefaultHttp2FrameWriter} writing into a second embedded channel which plays the role of the client, its outbound buffers are then written to the server
+ * channel. The HPACK encoder state is therefore kept consistent with the server decoder for the lifetime of the connection.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Http2ConnectionBenchmark {
+
+	/**
+	 * The number of concurrent streams sent in a single read.
+	 */
+	@Param({"1", "16"})
+	public int streams;
+
+	private Http2ConnectionFactory connectionFactory;
+
+	private Http2Headers requestHeaders;
+
+	private EmbeddedChannel channel;
+
+	private EmbeddedChannel clientChannel;
+
+	private ChannelHandlerContext clientContext;
+
+	private Http2FrameWriter frameWriter;
+
+	private int nextStreamId;
+
+	/**
+	 * <p>
+	 * Creates the connection factory and the request headers.
+	 * </p>
+	 */
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		HttpServerConfiguration configuration = ServerBenchmarkSupport.configuration(true);
+		this.connectionFactory = new Http2ConnectionFactory(
+			configuration,
+			ServerBenchmarkSupport.controller(),
+			ServerBenchmarkSupport.HEADER_SERVICE,
+			ServerBenchmarkSupport.PARAMETER_CONVERTER,
+			ServerBenchmarkSupport.URL_ENCODED_BODY_DECODER,
+			ServerBenchmarkSupport.MULTIPART_BODY_DECODER,
+			ServerBenchmarkSupport.METRICS
+		);
+
+		this.requestHeaders = new DefaultHttp2Headers()
+			.method("GET")
+			.scheme("http")
+			.authority("localhost:8080")
+			.path("/api/v1/users/1234?expand=orders")
+			.add("accept", "application/json, text/plain;q=0.9, */*;q=0.8")
+			.add("accept-language", "fr-FR,fr;q=0.9,en-US;q=0.8")
+			.add("user-agent", "jmh");
+	}
+
+	/**
+	 * <p>
+	 * Creates a new connection and completes the HTTP/2 connection preface.
+	 * </p>
+	 */
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		this.channel = new EmbeddedChannel(this.connectionFactory.get());
+		this.clientChannel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		this.clientContext = this.clientChannel.pipeline().firstContext();
+		this.frameWriter = new DefaultHttp2FrameWriter();
+		this.nextStreamId = 1;
+
+		this.clientChannel.writeOutbound(Http2CodecUtil.connectionPrefaceBuf());
+		this.frameWriter.writeSettings(this.clientContext, new Http2Settings().initialWindowSize(Http2CodecUtil.MAX_INITIAL_WINDOW_SIZE), this.clientContext.newPromise());
+		this.frameWriter.writeSettingsAck(this.clientContext, this.clientContext.newPromise());
+		this.frameWriter.writeWindowUpdate(this.clientContext, Http2CodecUtil.CONNECTION_STREAM_ID, Http2CodecUtil.MAX_INITIAL_WINDOW_SIZE - Http2CodecUtil.DEFAULT_WINDOW_SIZE, this.clientContext.newPromise());
+		this.flushClient();
+		ServerBenchmarkSupport.drainOutbound(this.channel);
+	}
+
+	/**
+	 * <p>
+	 * Closes the connection.
+	 * </p>
+	 */
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		ServerBenchmarkSupport.drainOutbound(this.channel);
+		this.channel.finishAndReleaseAll();
+		this.clientChannel.finishAndReleaseAll();
+	}
+
+	/**
+	 * <p>
+	 * Writes the frames written by the client to the server channel.
+	 * </p>
+	 */
+	private void flushClient() {
+		this.clientChannel.flushOutbound();
+		CompositeByteBuf frames = PooledByteBufAllocator.DEFAULT.compositeDirectBuffer();
+		ByteBuf frame;
+		while((frame = this.clientChannel.readOutbound()) != null) {
+			frames.addComponent(true, frame);
+		}
+		this.channel.writeInbound(frames);
+	}
+
+	/**
+	 * <p>
+	 * Opens streams, sends requests and releases the resulting responses.
+	 * </p>
+	 *
+	 * @return the number of outbound messages
+	 */
+	@Benchmark
+	public int handleRequest() {
+		for(int i=0;i<this.streams;i++) {
+			this.frameWriter.writeHeaders(this.clientContext, this.nextStreamId, this.requestHeaders, 0, true, this.clientContext.newPromise());
+			this.nextStreamId += 2;
+		}
+		this.flushClient();
+		return ServerBenchmarkSupport.drainOutbound(this.channel);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.http.server;
+
+import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.converter.StringConverter;
+import io.inverno.mod.base.metrics.Metrics;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.internal.header.AcceptCodec;
+import io.inverno.mod.http.base.internal.header.AcceptLanguageCodec;
+import io.inverno.mod.http.base.internal.header.ContentDispositionCodec;
+import io.inverno.mod.http.base.internal.header.ContentTypeCodec;
+import io.inverno.mod.http.base.internal.header.CookieCodec;
+import io.inverno.mod.http.base.internal.header.GenericHeaderService;
+import io.inverno.mod.http.server.ErrorExchange;
+import io.inverno.mod.http.server.Exchange;
+import io.inverno.mod.http.server.ExchangeHandler;
+import io.inverno.mod.http.server.HttpServerConfiguration;
+import io.inverno.mod.http.server.HttpServerConfigurationLoader;
+import io.inverno.mod.http.server.ServerController;
+import io.inverno.mod.http.server.internal.HttpServerMetrics;
+import io.inverno.mod.http.server.internal.multipart.MultipartFormDataBodyDecoder;
+import io.inverno.mod.http.server.internal.multipart.UrlEncodedBodyDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>
+ * Utilities for creating HTTP server connections outside of an Inverno application in order to benchmark request processing over an {@link EmbeddedChannel}.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+final class ServerBenchmarkSupport {
+
+	/**
+	 * The response body returned by the benchmark server controller.
+	 */
+	static final ByteBuf RESPONSE_BODY = Unpooled.unreleasableBuffer(Unpooled.directBuffer().writeBytes("Hello, world!".getBytes(StandardCharsets.UTF_8)));
+
+	/**
+	 * The parameter converter.
+	 */
+	static final ObjectConverter<String> PARAMETER_CONVERTER = new StringConverter();
+
+	/**
+	 * The header service.
+	 */
+	static final HeaderService HEADER_SERVICE = new GenericHeaderService(List.of(
+		new AcceptCodec(true),
+		new AcceptLanguageCodec(true),
+		new ContentDispositionCodec(),
+		new ContentTypeCodec(),
+		new CookieCodec(PARAMETER_CONVERTER)
+	));
+
+	/**
+	 * The application/x-www-form-urlencoded body decoder.
+	 */
+	static final UrlEncodedBodyDecoder URL_ENCODED_BODY_DECODER = new UrlEncodedBodyDecoder(PARAMETER_CONVERTER);
+
+	/**
+	 * The multipart/form-data body decoder.
+	 */
+	static final MultipartFormDataBodyDecoder MULTIPART_BODY_DECODER = new MultipartFormDataBodyDecoder(HEADER_SERVICE, PARAMETER_CONVERTER);
+
+	/**
+	 * The HTTP server metrics backed by no-op meters.
+	 */
+	static final HttpServerMetrics METRICS = new HttpServerMetrics(Metrics.noop());
+
+	private ServerBenchmarkSupport() {}
+
+	/**
+	 * <p>
+	 * Returns the server controller used in benchmarks.
+	 * </p>
+	 *
+	 * <p>
+	 * The controller responds with a fixed {@code text/plain} body to every request.
+	 * </p>
+	 *
+	 * @return a server controller
+	 */
+	static ServerController<ExchangeContext, Exchange<ExchangeContext>, ErrorExchange<ExchangeContext>> controller() {
+		return ServerController.from((ExchangeHandler<ExchangeContext, Exchange<ExchangeContext>>)exchange -> exchange.response()
+			.headers(headers -> headers.contentType("text/plain").contentLength(RESPONSE_BODY.readableBytes()))
+			.body().raw().value(RESPONSE_BODY.duplicate())
+		);
+	}
+
+	/**
+	 * <p>
+	 * Releases all outbound messages written on the specified channel.
+	 * </p>
+	 *
+	 * @param channel an embedded channel
+	 *
+	 * @return the number of outbound messages
+	 */
+	static int drainOutbound(EmbeddedChannel channel) {
+		channel.runPendingTasks();
+		int count = 0;
+		Object msg;
+		while((msg = channel.readOutbound()) != null) {
+			ReferenceCountUtil.release(msg);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Returns a configuration for the benchmarked HTTP server.
+	 * </p>
+	 *
+	 * @param h2 true to enable HTTP/2
+	 *
+	 * @return an HTTP server configuration
+	 */
+	static HttpServerConfiguration configuration(boolean h2) {
+		return HttpServerConfigurationLoader.load(conf -> conf.h2_enabled(h2));
+	}
+}
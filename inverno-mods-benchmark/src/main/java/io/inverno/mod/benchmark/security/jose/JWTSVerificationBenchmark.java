@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.security.jose;
+
+import io.inverno.core.v1.Application;
+import io.inverno.mod.security.authentication.TokenCredentials;
+import io.inverno.mod.security.jose.Jose;
+import io.inverno.mod.security.jose.jwa.ECAlgorithm;
+import io.inverno.mod.security.jose.jwa.ECCurve;
+import io.inverno.mod.security.jose.jwa.OCTAlgorithm;
+import io.inverno.mod.security.jose.jwa.RSAAlgorithm;
+import io.inverno.mod.security.jose.jwk.InMemoryJWKStore;
+import io.inverno.mod.security.jose.jwk.JWK;
+import io.inverno.mod.security.jose.jws.JWS;
+import io.inverno.mod.security.jose.jwt.JWTClaimsSet;
+import io.inverno.mod.security.jose.jwt.JWTSAuthentication;
+import io.inverno.mod.security.jose.jwt.JWTSAuthenticator;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Benchmarks JWTS verification throughput ({@code JWTSReader} and {@link JWTSAuthenticator} with and without verified token cache).
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JWTSVerificationBenchmark {
+
+	/**
+	 * The JWS signature algorithm.
+	 */
+	@Param({"RS256", "ES256", "HS256"})
+	public String algorithm;
+
+	private Jose jose;
+
+	private Mono<? extends JWK> key;
+
+	private String token;
+
+	private TokenCredentials credentials;
+
+	private JWTSAuthenticator<JWTClaimsSet> authenticator;
+
+	private JWTSAuthenticator<JWTClaimsSet> cachingAuthenticator;
+
+	/**
+	 * <p>
+	 * Starts the JOSE module, generates the key and creates the token to verify.
+	 * </p>
+	 */
+	@Setup
+	public void setup() {
+		this.jose = Application.run(new Jose.Builder(List.of()).setJwkStore(new InMemoryJWKStore()));
+
+		switch(this.algorithm) {
+			case "RS256":
+				this.key = this.jose.jwkService().rsa().generator().algorithm(RSAAlgorithm.RS256.getAlgorithm()).generate().cache();
+				break;
+			case "ES256":
+				this.key = this.jose.jwkService().ec().generator().algorithm(ECAlgorithm.ES256.getAlgorithm()).curve(ECCurve.P_256.getCurve()).generate().cache();
+				break;
+			case "HS256":
+				this.key = this.jose.jwkService().oct().generator().algorithm(OCTAlgorithm.HS256.getAlgorithm()).generate().cache();
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported algorithm: " + this.algorithm);
+		}
+
+		this.token = this.jose.jwtService().jwsBuilder(this.key)
+			.header(header -> header.algorithm(this.algorithm))
+			.payload(JWTClaimsSet.of("joe", System.currentTimeMillis() / 1000 + 3600).subject("jsmith").build())
+			.build()
+			.block()
+			.toCompact();
+		this.credentials = new TokenCredentials(this.token);
+
+		this.authenticator = new JWTSAuthenticator<>(this.jose.jwtService(), this.key);
+
+		this.cachingAuthenticator = new JWTSAuthenticator<>(this.jose.jwtService(), this.key);
+		this.cachingAuthenticator.setCache(Duration.ofMinutes(5), 1000);
+	}
+
+	/**
+	 * <p>
+	 * Stops the JOSE module.
+	 * </p>
+	 */
+	@TearDown
+	public void tearDown() {
+		this.jose.stop();
+	}
+
+	/**
+	 * <p>
+	 * Reads and verifies the token with a JWT JWS reader.
+	 * </p>
+	 *
+	 * @return the verified JWTS
+	 */
+	@Benchmark
+	public JWS<JWTClaimsSet> read() {
+		return this.jose.jwtService().jwsReader(this.key).read(this.token).block();
+	}
+
+	/**
+	 * <p>
+	 * Authenticates the token with a JWTS authenticator.
+	 * </p>
+	 *
+	 * @return a JWTS authentication
+	 */
+	@Benchmark
+	public JWTSAuthentication<JWTClaimsSet> authenticate() {
+		return this.authenticator.authenticate(this.credentials).block();
+	}
+
+	/**
+	 * <p>
+	 * Authenticates the token with a JWTS authenticator using a verified token cache.
+	 * </p>
+	 *
+	 * @return a JWTS authentication
+	 */
+	@Benchmark
+	public JWTSAuthentication<JWTClaimsSet> authenticateCached() {
+		return this.cachingAuthenticator.authenticate(this.credentials).block();
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.web.server;
+
+import io.inverno.mod.base.net.URIBuilder;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.HttpVersion;
+import io.inverno.mod.http.base.InboundCookies;
+import io.inverno.mod.http.base.InboundRequestHeaders;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.Parameter;
+import io.inverno.mod.http.base.QueryParameters;
+import io.inverno.mod.http.base.header.Header;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.header.Headers;
+import io.inverno.mod.http.server.Exchange;
+import io.inverno.mod.http.server.Request;
+import io.inverno.mod.http.server.RequestBody;
+import io.inverno.mod.http.server.Response;
+import io.inverno.mod.http.server.ws.WebSocket;
+import io.inverno.mod.http.server.ws.WebSocketExchange;
+import java.lang.reflect.Proxy;
+import java.net.SocketAddress;
+import java.security.cert.Certificate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ * A minimal server exchange exposing only what is required to resolve a Web route.
+ * </p>
+ *
+ * <p>
+ * Headers are decoded once when the exchange is created so that benchmarks only measure route resolution.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+class BenchmarkExchange implements Exchange<ExchangeContext> {
+
+	private static final Response RESPONSE = (Response)Proxy.newProxyInstance(BenchmarkExchange.class.getClassLoader(), new Class<?>[] { Response.class }, (proxy, method, args) -> null);
+
+	private final BenchmarkRequest request;
+
+	/**
+	 * <p>
+	 * Creates a benchmark exchange.
+	 * </p>
+	 *
+	 * @param headerService the header service used to decode headers
+	 * @param method        the request method
+	 * @param path          the request absolute path
+	 * @param headers       the request headers
+	 */
+	public BenchmarkExchange(HeaderService headerService, Method method, String path, Map<String, String> headers) {
+		this.request = new BenchmarkRequest(headerService, method, path, headers);
+	}
+
+	@Override
+	public HttpVersion getProtocol() {
+		return HttpVersion.HTTP_1_1;
+	}
+
+	@Override
+	public ExchangeContext context() {
+		return null;
+	}
+
+	@Override
+	public Request request() {
+		return this.request;
+	}
+
+	@Override
+	public Response response() {
+		return RESPONSE;
+	}
+
+	@Override
+	public void reset(long code) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Optional<Throwable> getCancelCause() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<? extends WebSocket<ExchangeContext, ? extends WebSocketExchange<ExchangeContext>>> webSocket(String... subprotocols) {
+		return Optional.empty();
+	}
+
+	@Override
+	public void onTerminate(Runnable callback) {
+		
+	}
+
+	/**
+	 * <p>
+	 * A minimal request.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class BenchmarkRequest implements Request {
+
+		private final Method method;
+		private final String path;
+		private final BenchmarkRequestHeaders headers;
+
+		/**
+		 * <p>
+		 * Creates a benchmark request.
+		 * </p>
+		 *
+		 * @param headerService the header service used to decode headers
+		 * @param method        the request method
+		 * @param path          the request absolute path
+		 * @param headers       the request headers
+		 */
+		BenchmarkRequest(HeaderService headerService, Method method, String path, Map<String, String> headers) {
+			this.method = method;
+			this.path = path;
+			this.headers = new BenchmarkRequestHeaders(headerService, headers);
+		}
+
+		@Override
+		public Optional<? extends RequestBody> body() {
+			return Optional.empty();
+		}
+
+		@Override
+		public String getScheme() {
+			return "http";
+		}
+
+		@Override
+		public SocketAddress getLocalAddress() {
+			return null;
+		}
+
+		@Override
+		public Optional<Certificate[]> getLocalCertificates() {
+			return Optional.empty();
+		}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return null;
+		}
+
+		@Override
+		public Optional<Certificate[]> getRemoteCertificates() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Method getMethod() {
+			return this.method;
+		}
+
+		@Override
+		public String getAuthority() {
+			return "localhost";
+		}
+
+		@Override
+		public String getPath() {
+			return this.path;
+		}
+
+		@Override
+		public String getPathAbsolute() {
+			return this.path;
+		}
+
+		@Override
+		public URIBuilder getPathBuilder() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getQuery() {
+			return null;
+		}
+
+		@Override
+		public QueryParameters queryParameters() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public InboundRequestHeaders headers() {
+			return this.headers;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Minimal request headers holding pre-decoded headers.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class BenchmarkRequestHeaders implements InboundRequestHeaders {
+
+		private final Map<String, String> rawHeaders;
+		private final Map<String, Header> headers;
+
+		/**
+		 * <p>
+		 * Creates benchmark request headers.
+		 * </p>
+		 *
+		 * @param headerService the header service used to decode headers
+		 * @param rawHeaders    the raw headers
+		 */
+		BenchmarkRequestHeaders(HeaderService headerService, Map<String, String> rawHeaders) {
+			this.rawHeaders = rawHeaders;
+			this.headers = new HashMap<>();
+			rawHeaders.forEach((name, value) -> this.headers.put(name, headerService.decode(name, value)));
+		}
+
+		@Override
+		public String getContentType() {
+			return this.rawHeaders.get(Headers.NAME_CONTENT_TYPE);
+		}
+
+		@Override
+		public Headers.ContentType getContentTypeHeader() {
+			return (Headers.ContentType)this.headers.get(Headers.NAME_CONTENT_TYPE);
+		}
+
+		@Override
+		public String getAccept() {
+			return this.rawHeaders.get(Headers.NAME_ACCEPT);
+		}
+
+		@Override
+		public Headers.Accept getAcceptHeader() {
+			return (Headers.Accept)this.headers.get(Headers.NAME_ACCEPT);
+		}
+
+		@Override
+		public Long getContentLength() {
+			return null;
+		}
+
+		@Override
+		public InboundCookies cookies() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean contains(CharSequence name) {
+			return this.rawHeaders.containsKey(name.toString());
+		}
+
+		@Override
+		public boolean contains(CharSequence name, CharSequence value) {
+			String rawValue = this.rawHeaders.get(name.toString());
+			return rawValue != null && rawValue.contentEquals(value);
+		}
+
+		@Override
+		public Set<String> getNames() {
+			return this.rawHeaders.keySet();
+		}
+
+		@Override
+		public Optional<String> get(CharSequence name) {
+			return Optional.ofNullable(this.rawHeaders.get(name.toString()));
+		}
+
+		@Override
+		public List<String> getAll(CharSequence name) {
+			String rawValue = this.rawHeaders.get(name.toString());
+			return rawValue != null ? List.of(rawValue) : List.of();
+		}
+
+		@Override
+		public List<Map.Entry<String, String>> getAll() {
+			return List.copyOf(this.rawHeaders.entrySet());
+		}
+
+		@Override
+		public Optional<Parameter> getParameter(CharSequence name) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Parameter> getAllParameter(CharSequence name) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Parameter> getAllParameter() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T extends Header> Optional<T> getHeader(CharSequence name) {
+			return Optional.ofNullable((T)this.headers.get(name.toString()));
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T extends Header> List<T> getAllHeader(CharSequence name) {
+			Header header = this.headers.get(name.toString());
+			return header != null ? List.of((T)header) : List.of();
+		}
+
+		@Override
+		public List<Header> getAllHeader() {
+			return List.copyOf(this.headers.values());
+		}
+	}
+}
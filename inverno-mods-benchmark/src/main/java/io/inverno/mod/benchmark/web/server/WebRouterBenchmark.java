@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.benchmark.web.server;
+
+import io.inverno.mod.base.converter.ObjectConverter;
+import io.inverno.mod.base.converter.StringConverter;
+import io.inverno.mod.base.resource.MediaTypes;
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.header.HeaderService;
+import io.inverno.mod.http.base.header.Headers;
+import io.inverno.mod.http.base.internal.header.AcceptCodec;
+import io.inverno.mod.http.base.internal.header.AcceptLanguageCodec;
+import io.inverno.mod.http.base.internal.header.ContentTypeCodec;
+import io.inverno.mod.http.base.internal.header.GenericHeaderService;
+import io.inverno.mod.http.server.ReactiveExchangeHandler;
+import io.inverno.mod.web.server.WebExchange;
+import io.inverno.mod.web.server.internal.GenericWebExchange;
+import io.inverno.mod.web.server.internal.WebRouteHandler;
+import io.inverno.mod.web.server.internal.router.InternalWebRouter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Benchmarks Web route resolution ({@code RoutingLink.resolve()}) on an {@link InternalWebRouter} defining a large number of routes.
+ * </p>
+ *
+ * <p>
+ * Half of the routes are static paths, the other half are parameterized paths, a tenth of the routes also define content negotiation criteria.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WebRouterBenchmark {
+
+	private static final ObjectConverter<String> PARAMETER_CONVERTER = new StringConverter();
+
+	private static final HeaderService HEADER_SERVICE = new GenericHeaderService(List.of(new AcceptCodec(true), new AcceptLanguageCodec(true), new ContentTypeCodec()));
+
+	/**
+	 * The number of routes defined in the router.
+	 */
+	@Param({"100", "1000", "5000"})
+	public int routeCount;
+
+	/**
+	 * Whether the router is frozen.
+	 */
+	@Param({"false", "true"})
+	public boolean frozen;
+
+	/**
+	 * Whether resolved routes are cached.
+	 */
+	@Param({"false", "true"})
+	public boolean cached;
+
+	private InternalWebRouter<ExchangeContext> router;
+
+	private GenericWebExchange<ExchangeContext> staticExchange;
+	private GenericWebExchange<ExchangeContext> patternExchange;
+	private GenericWebExchange<ExchangeContext> negotiatedExchange;
+	private GenericWebExchange<ExchangeContext> notFoundExchange;
+
+	/**
+	 * <p>
+	 * Creates the router and the exchanges to route.
+	 * </p>
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.router = new InternalWebRouter<>();
+		WebRouteHandler<ExchangeContext> handler = new WebRouteHandler<>((ReactiveExchangeHandler<ExchangeContext, WebExchange<ExchangeContext>>)exchange -> Mono.empty());
+
+		for(int i=0;i<this.routeCount / 2;i++) {
+			this.router.route().resolvePath("/api/v1/resource" + i + "/items", false).method(Method.GET).set(handler);
+			this.router.route().resolvePath("/api/v1/resource" + i + "/items/{id}/parts/{partId:[0-9]+}", false).method(Method.GET).set(handler);
+			if(i % 10 == 0) {
+				this.router.route().resolvePath("/api/v1/resource" + i + "/items", false).method(Method.POST).accept(MediaTypes.APPLICATION_JSON).set(handler);
+				this.router.route().resolvePath("/api/v1/resource" + i + "/items", false).method(Method.POST).accept(MediaTypes.TEXT_PLAIN).language("fr-FR").set(handler);
+			}
+		}
+
+		int last = this.routeCount / 2 - 1;
+		this.staticExchange = this.exchange(Method.GET, "/api/v1/resource" + last + "/items", Map.of());
+		this.patternExchange = this.exchange(Method.GET, "/api/v1/resource" + last + "/items/abc/parts/123", Map.of());
+		this.negotiatedExchange = this.exchange(Method.POST, "/api/v1/resource0/items", Map.of(Headers.NAME_ACCEPT, "text/plain;q=0.9, application/json;q=0.5", Headers.NAME_ACCEPT_LANGUAGE, "fr-FR,fr;q=0.9,en;q=0.5"));
+		this.notFoundExchange = this.exchange(Method.GET, "/api/v2/unknown/items/abc", Map.of());
+
+		if(this.frozen) {
+			this.router.freeze();
+			// creates the snapshot
+			this.router.resolve(this.notFoundExchange);
+		}
+		if(this.cached) {
+			this.router.cache(new InternalWebRouter.Cache<>(1024));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates a Web exchange.
+	 * </p>
+	 *
+	 * @param method  the request method
+	 * @param path    the request path
+	 * @param headers the request headers
+	 *
+	 * @return a Web exchange
+	 */
+	private GenericWebExchange<ExchangeContext> exchange(Method method, String path, Map<String, String> headers) {
+		return new GenericWebExchange<>(null, PARAMETER_CONVERTER, new BenchmarkExchange(HEADER_SERVICE, method, path, headers));
+	}
+
+	/**
+	 * <p>
+	 * Resolves a static path route.
+	 * </p>
+	 *
+	 * @return the resolved route handler
+	 */
+	@Benchmark
+	public WebRouteHandler<ExchangeContext> resolveStatic() {
+		return this.router.resolve(this.staticExchange);
+	}
+
+	/**
+	 * <p>
+	 * Resolves a parameterized path route.
+	 * </p>
+	 *
+	 * @return the resolved route handler
+	 */
+	@Benchmark
+	public WebRouteHandler<ExchangeContext> resolvePattern() {
+		return this.router.resolve(this.patternExchange);
+	}
+
+	/**
+	 * <p>
+	 * Resolves a route with content negotiation.
+	 * </p>
+	 *
+	 * @return the resolved route handler
+	 */
+	@Benchmark
+	public WebRouteHandler<ExchangeContext> resolveNegotiated() {
+		return this.router.resolve(this.negotiatedExchange);
+	}
+
+	/**
+	 * <p>
+	 * Resolves a path that doesn't match any route.
+	 * </p>
+	 *
+	 * @return null
+	 */
+	@Benchmark
+	public WebRouteHandler<ExchangeContext> resolveNotFound() {
+		return this.router.resolve(this.notFoundExchange);
+	}
+}
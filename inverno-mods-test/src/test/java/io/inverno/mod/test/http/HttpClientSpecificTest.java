@@ -524,6 +524,102 @@ public class HttpClientSpecificTest {
 		}
 	}
 	
+	public static Stream<Arguments> provideEventLoopAffineEndpointAndHttpVersion() {
+		Endpoint<ExchangeContext> h11Endpoint = httpClientModule.httpClient().endpoint("127.0.0.1", testServerPort)
+			.configuration(HttpClientConfigurationLoader.load(conf -> conf
+				.http_protocol_versions(Set.of(HttpVersion.HTTP_1_1))
+				.pool_event_loop_affinity(true)
+			))
+			.build();
+		
+		Endpoint<ExchangeContext> h2Endpoint = httpClientModule.httpClient().endpoint("127.0.0.1", testServerPort)
+			.configuration(HttpClientConfigurationLoader.load(conf -> conf
+				.http_protocol_versions(Set.of(HttpVersion.HTTP_2_0))
+				.pool_event_loop_affinity(true)
+			))
+			.build();
+		
+		return Stream.of(
+			Arguments.of(h11Endpoint, HttpVersion.HTTP_1_1),
+			Arguments.of(h2Endpoint, HttpVersion.HTTP_2_0)
+		);
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideEventLoopAffineEndpointAndHttpVersion")
+	public void test_pool_event_loop_affinity(Endpoint<ExchangeContext> endpoint, HttpVersion testHttpVersion) {
+		try {
+			// Requests are sent from the test thread and then from the event loops processing the responses, all must complete whatever the sub-pool they are assigned to
+			List<String> bodies = Flux.range(0, 100)
+				.flatMap(i -> endpoint
+					.exchange(Method.GET, "/get_delay100")
+					.flatMap(Exchange::response)
+					.flatMap(response -> Flux.from(response.body().string().stream()).collect(Collectors.joining()))
+					.flatMap(body -> endpoint
+						.exchange(Method.GET, "/get_delay100")
+						.flatMap(Exchange::response)
+						.flatMap(response -> Flux.from(response.body().string().stream()).collect(Collectors.joining()))
+					)
+				)
+				.collectList()
+				.block();
+			
+			Assertions.assertEquals(100, bodies.size());
+			bodies.forEach(body -> Assertions.assertEquals("get_delay100", body));
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+	
+	public static Stream<Arguments> provideRegularPoolEndpointAndHttpVersion() {
+		Endpoint<ExchangeContext> h11Endpoint = httpClientModule.httpClient().endpoint("127.0.0.1", testServerPort)
+			.configuration(HttpClientConfigurationLoader.load(conf -> conf
+				.http_protocol_versions(Set.of(HttpVersion.HTTP_1_1))
+				.pool_event_loop_affinity(false)
+			))
+			.build();
+		
+		Endpoint<ExchangeContext> h2Endpoint = httpClientModule.httpClient().endpoint("127.0.0.1", testServerPort)
+			.configuration(HttpClientConfigurationLoader.load(conf -> conf
+				.http_protocol_versions(Set.of(HttpVersion.HTTP_2_0))
+				.pool_event_loop_affinity(false)
+			))
+			.build();
+		
+		return Stream.of(
+			Arguments.of(h11Endpoint, HttpVersion.HTTP_1_1),
+			Arguments.of(h2Endpoint, HttpVersion.HTTP_2_0)
+		);
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideRegularPoolEndpointAndHttpVersion")
+	public void test_pool_regular(Endpoint<ExchangeContext> endpoint, HttpVersion testHttpVersion) {
+		try {
+			// Pool commands must be dispatched to the command executor when the pool is not bound to an event loop
+			List<String> bodies = Flux.range(0, 100)
+				.flatMap(i -> endpoint
+					.exchange(Method.GET, "/get_delay100")
+					.flatMap(Exchange::response)
+					.flatMap(response -> Flux.from(response.body().string().stream()).collect(Collectors.joining()))
+					.flatMap(body -> endpoint
+						.exchange(Method.GET, "/get_delay100")
+						.flatMap(Exchange::response)
+						.flatMap(response -> Flux.from(response.body().string().stream()).collect(Collectors.joining()))
+					)
+				)
+				.collectList()
+				.block();
+			
+			Assertions.assertEquals(100, bodies.size());
+			bodies.forEach(body -> Assertions.assertEquals("get_delay100", body));
+		}
+		finally {
+			endpoint.shutdown().block();
+		}
+	}
+	
 	public static Stream<Arguments> provideTimeoutEndpointsAndHttpVersion() {
 		Endpoint<ExchangeContext> h11TimeoutEndpoint = httpClientModule.httpClient().endpoint("127.0.0.1", testServerPort)
 			.configuration(HttpClientConfigurationLoader.load(conf -> conf
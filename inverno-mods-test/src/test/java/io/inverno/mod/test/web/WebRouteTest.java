@@ -4599,6 +4599,339 @@ public class WebRouteTest extends AbstractInvernoModTest {
 		Assertions.assertEquals(404, response.statusCode());
 	}
 	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_conditional(HttpClient.Version version) throws IOException, InterruptedException {
+		// curl -i http://127.0.0.1:8080/static/get_resource_small.txt
+		HttpResponse<String> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("bytes", response.headers().firstValue("accept-ranges").orElse(null));
+		String etag = response.headers().firstValue("etag").orElse(null);
+		String lastModified = response.headers().firstValue("last-modified").orElse(null);
+		Assertions.assertNotNull(etag);
+		Assertions.assertNotNull(lastModified);
+		
+		// curl -i -H 'if-none-match: "..."' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("if-none-match", "\"other\", " + etag)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(304, response.statusCode());
+		Assertions.assertEquals(etag, response.headers().firstValue("etag").orElse(null));
+		Assertions.assertEquals("", response.body());
+		
+		// curl -i -H 'if-none-match: "other"' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("if-none-match", "\"other\"")
+					.header("if-modified-since", lastModified)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("This is a test resource.", response.body());
+		
+		// curl -i -H 'if-modified-since: ...' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("if-modified-since", lastModified)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(304, response.statusCode());
+		Assertions.assertEquals("", response.body());
+		
+		// curl -i -H 'if-modified-since: Thu, 01 Jan 1970 00:00:00 GMT' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("if-modified-since", "Thu, 01 Jan 1970 00:00:00 GMT")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("This is a test resource.", response.body());
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_range(HttpClient.Version version) throws IOException, InterruptedException {
+		// curl -i -H 'range: bytes=0-3' http://127.0.0.1:8080/static/get_resource_small.txt
+		HttpResponse<String> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=0-3")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertEquals("bytes 0-3/24", response.headers().firstValue("content-range").orElse(null));
+		Assertions.assertEquals(4, response.headers().firstValue("content-length").map(Integer::parseInt).orElse(-1));
+		Assertions.assertEquals("This", response.body());
+		
+		// curl -i -H 'range: bytes=-9' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=-9")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertEquals("bytes 15-23/24", response.headers().firstValue("content-range").orElse(null));
+		Assertions.assertEquals("resource.", response.body());
+		
+		// curl -i -H 'range: bytes=10-' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=10-")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertEquals("bytes 10-23/24", response.headers().firstValue("content-range").orElse(null));
+		Assertions.assertEquals("test resource.", response.body());
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_multipart_range(HttpClient.Version version) throws IOException, InterruptedException {
+		// curl -i -H 'range: bytes=10-13,0-3' http://127.0.0.1:8080/static/get_resource_small.txt
+		HttpResponse<String> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=10-13,0-3")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertTrue(response.headers().firstValue("content-range").isEmpty());
+		String contentType = response.headers().firstValue("content-type").orElse("");
+		Assertions.assertTrue(contentType.startsWith("multipart/byteranges;boundary="));
+		String boundary = contentType.substring(contentType.indexOf('=') + 1);
+		Assertions.assertEquals(response.body().length(), response.headers().firstValue("content-length").map(Integer::parseInt).orElse(-1));
+		
+		// regions are sent in ascending order
+		Assertions.assertEquals(
+			"--" + boundary + "\r\n" +
+			"content-type: text/plain\r\n" +
+			"content-range: bytes 0-3/24\r\n" +
+			"\r\n" +
+			"This\r\n" +
+			"--" + boundary + "\r\n" +
+			"content-type: text/plain\r\n" +
+			"content-range: bytes 10-13/24\r\n" +
+			"\r\n" +
+			"test\r\n" +
+			"--" + boundary + "--\r\n",
+			response.body()
+		);
+		
+		// overlapping ranges are coalesced
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=0-3,2-6")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertEquals("bytes 0-6/24", response.headers().firstValue("content-range").orElse(null));
+		Assertions.assertEquals("This is", response.body());
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_if_range(HttpClient.Version version) throws IOException, InterruptedException {
+		HttpResponse<String> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		String etag = response.headers().firstValue("etag").orElse(null);
+		Assertions.assertNotNull(etag);
+		
+		// curl -i -H 'range: bytes=0-3' -H 'if-range: "..."' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=0-3")
+					.header("if-range", etag)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(206, response.statusCode());
+		Assertions.assertEquals("This", response.body());
+		
+		// curl -i -H 'range: bytes=0-3' -H 'if-range: "other"' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=0-3")
+					.header("if-range", "\"other\"")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertTrue(response.headers().firstValue("content-range").isEmpty());
+		Assertions.assertEquals("This is a test resource.", response.body());
+		
+		// curl -i -H 'range: bytes=0-3' -H 'if-range: Thu, 01 Jan 1970 00:00:00 GMT' http://127.0.0.1:8080/static/get_resource_small.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=0-3")
+					.header("if-range", "Thu, 01 Jan 1970 00:00:00 GMT")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("This is a test resource.", response.body());
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_range_not_satisfiable(HttpClient.Version version) throws IOException, InterruptedException {
+		// curl -i -H 'range: bytes=100-200' http://127.0.0.1:8080/static/get_resource_small.txt
+		HttpResponse<String> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("range", "bytes=100-200")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofString()
+		);
+		Assertions.assertEquals(416, response.statusCode());
+		Assertions.assertEquals("bytes */24", response.headers().firstValue("content-range").orElse(null));
+		Assertions.assertEquals("", response.body());
+	}
+	
+	@ParameterizedTest
+	@MethodSource("provideHttpVersion")
+	public void test_get_resource_precompressed(HttpClient.Version version) throws IOException, InterruptedException {
+		// Precompressed variants older than the resource are ignored, make sure checkout order doesn't matter
+		Path resourcePath = Path.of("web-root/precompressed.txt");
+		Files.setLastModifiedTime(Path.of("web-root/precompressed.txt.br"), Files.getLastModifiedTime(resourcePath));
+		Files.setLastModifiedTime(Path.of("web-root/precompressed.txt.gz"), Files.getLastModifiedTime(resourcePath));
+		
+		// curl -i http://127.0.0.1:8080/static/precompressed.txt
+		HttpResponse<byte[]> response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/precompressed.txt"))
+					.version(version)
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("accept-encoding", response.headers().firstValue("vary").orElse(null));
+		Assertions.assertTrue(response.headers().firstValue("content-encoding").isEmpty());
+		Assertions.assertArrayEquals(Files.readAllBytes(resourcePath), response.body());
+		String identityEtag = response.headers().firstValue("etag").orElse(null);
+		
+		// curl -i -H 'accept-encoding: gzip, deflate, br' http://127.0.0.1:8080/static/precompressed.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/precompressed.txt"))
+					.version(version)
+					.header("accept-encoding", "gzip, deflate, br")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("accept-encoding", response.headers().firstValue("vary").orElse(null));
+		Assertions.assertEquals("br", response.headers().firstValue("content-encoding").orElse(null));
+		Assertions.assertEquals("text/plain", response.headers().firstValue("content-type").orElse(null));
+		Assertions.assertArrayEquals(Files.readAllBytes(Path.of("web-root/precompressed.txt.br")), response.body());
+		Assertions.assertNotEquals(identityEtag, response.headers().firstValue("etag").orElse(null));
+		
+		// curl -i -H 'accept-encoding: br;q=0.5, gzip' http://127.0.0.1:8080/static/precompressed.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/precompressed.txt"))
+					.version(version)
+					.header("accept-encoding", "br;q=0.5, gzip")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("accept-encoding", response.headers().firstValue("vary").orElse(null));
+		Assertions.assertEquals("gzip", response.headers().firstValue("content-encoding").orElse(null));
+		Assertions.assertArrayEquals(Files.readAllBytes(Path.of("web-root/precompressed.txt.gz")), response.body());
+		
+		// curl -i -H 'accept-encoding: deflate' http://127.0.0.1:8080/static/precompressed.txt
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/precompressed.txt"))
+					.version(version)
+					.header("accept-encoding", "deflate")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertEquals("accept-encoding", response.headers().firstValue("vary").orElse(null));
+		Assertions.assertTrue(response.headers().firstValue("content-encoding").isEmpty());
+		Assertions.assertArrayEquals(Files.readAllBytes(resourcePath), response.body());
+		
+		// a resource without variants doesn't vary on accept-encoding
+		response = httpClient.send(
+			HttpRequest.newBuilder()
+					.uri(baseURI.resolve("/static/get_resource_small.txt"))
+					.version(version)
+					.header("accept-encoding", "gzip, deflate, br")
+					.GET()
+					.build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertTrue(response.headers().firstValue("vary").isEmpty());
+		Assertions.assertTrue(response.headers().firstValue("content-encoding").isEmpty());
+	}
+	
 	@ParameterizedTest
 	@MethodSource("provideHttpVersion")
 	public void test_get_pathParam_qmark(HttpClient.Version version) throws IOException, InterruptedException {
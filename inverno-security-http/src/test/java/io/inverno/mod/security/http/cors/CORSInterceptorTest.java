@@ -73,6 +73,8 @@ public class CORSInterceptorTest {
 		Assertions.assertEquals(mockExchange, interceptedExchange);
 		Mockito.verify(mockExchange.request().headers(), Mockito.times(1)).get(Headers.NAME_ORIGIN);
 		Mockito.verify((OutboundResponseHeaders)mockExchange.response().headers(), Mockito.times(1)).set(Headers.NAME_VARY, Headers.NAME_ORIGIN);
+		// the standard vary header must be emitted so caches don't mix responses for different origins
+		Mockito.verify((OutboundResponseHeaders)mockExchange.response().headers(), Mockito.times(1)).set("vary", "origin");
 		Mockito.verify((OutboundResponseHeaders)mockExchange.response().headers(), Mockito.times(1)).set(Mockito.anyString(), Mockito.anyString());
 		
 		Mockito.clearInvocations(mockExchange.request().headers(), mockExchange.response().headers());
@@ -92,7 +92,120 @@ public interface JOSEConfiguration {
 	default Set<URI> trusted_jku() {
 		return Set.of();
 	}
-	
+
+	/**
+	 * <p>
+	 * Enable/disable JWK Set URL caching.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, JWK sets resolved from HTTP(S) URLs are cached for the duration specified by the {@code Cache-Control} response header or {@link #jku_cache_ttl()} when missing. JWK sets resolved
+	 * from other locations using the resource service are cached for {@link #jku_cache_ttl()}.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to false.
+	 * </p>
+	 *
+	 * @return true to cache JWK sets, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	default boolean jku_cache_enabled() {
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * The time to live in milliseconds of a cached JWK set when none was specified by the server.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 300000} (5 minutes).
+	 * </p>
+	 *
+	 * @return the default JWK set time to live
+	 *
+	 * @since 1.14
+	 */
+	default long jku_cache_ttl() {
+		return 300000L;
+	}
+
+	/**
+	 * <p>
+	 * The time in milliseconds after expiration during which a cached JWK set is still returned while it is refreshed in the background when none was specified by the server with the
+	 * {@code stale-while-revalidate} cache directive.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 60000} (1 minute).
+	 * </p>
+	 *
+	 * @return the default stale-while-revalidate period
+	 *
+	 * @since 1.14
+	 */
+	default long jku_cache_stale_while_revalidate() {
+		return 60000L;
+	}
+
+	/**
+	 * <p>
+	 * The minimum interval in milliseconds between two refreshes of a cached JWK set.
+	 * </p>
+	 *
+	 * <p>
+	 * A cached JWK set is refreshed before it expires when a key with an unknown key id is requested in order to support key rotation. This interval prevents a client from triggering a fetch on every
+	 * request by sending unknown key ids.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 30000} (30 seconds).
+	 * </p>
+	 *
+	 * @return the minimum refresh interval
+	 *
+	 * @since 1.14
+	 */
+	default long jku_cache_min_refresh_interval() {
+		return 30000L;
+	}
+
+	/**
+	 * <p>
+	 * The maximum number of cached JWK sets.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 100}.
+	 * </p>
+	 *
+	 * @return the maximum number of cached JWK sets
+	 *
+	 * @since 1.14
+	 */
+	default int jku_cache_max_size() {
+		return 100;
+	}
+
+	/**
+	 * <p>
+	 * The timeout in milliseconds when fetching a JWK set from an HTTP(S) URL with caching enabled.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to {@code 10000} (10 seconds).
+	 * </p>
+	 *
+	 * @return the JWK set fetch timeout
+	 *
+	 * @since 1.14
+	 */
+	default long jku_fetch_timeout() {
+		return 10000L;
+	}
+
 	/**
 	 * <p>
 	 * Enable/disable X.509 certificate URL (i.e. {@code x5u}) resolution.
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.security.jose.internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+
+/**
+ * <p>
+ * Provides per-thread JCA instances.
+ * </p>
+ *
+ * <p>
+ * Looking up a JCA {@link Signature}, {@link Mac}, {@link Cipher} or {@link MessageDigest} involves provider lookups and reflection which is costly compared to the actual operation on small inputs
+ * like JOSE objects. Instances returned by this class are created once per thread and algorithm and then reused: callers must fully initialize an instance before using it (which resets any previous
+ * state) and must not retain it or use it from another thread.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ */
+public final class JCAInstances {
+
+	private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+	private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
+	private static final ThreadLocal<Map<String, Cipher>> CIPHERS = ThreadLocal.withInitial(HashMap::new);
+
+	private static final ThreadLocal<Map<String, MessageDigest>> MESSAGE_DIGESTS = ThreadLocal.withInitial(HashMap::new);
+
+	private JCAInstances() {}
+
+	/**
+	 * <p>
+	 * Returns the current thread's signature instance for the specified algorithm.
+	 * </p>
+	 *
+	 * @param algorithm a JCA signature algorithm
+	 *
+	 * @return a signature instance
+	 *
+	 * @throws NoSuchAlgorithmException if the algorithm is not supported
+	 */
+	public static Signature signature(String algorithm) throws NoSuchAlgorithmException {
+		Map<String, Signature> signatures = SIGNATURES.get();
+		Signature signature = signatures.get(algorithm);
+		if(signature == null) {
+			signature = Signature.getInstance(algorithm);
+			signatures.put(algorithm, signature);
+		}
+		return signature;
+	}
+
+	/**
+	 * <p>
+	 * Returns the current thread's MAC instance for the specified algorithm.
+	 * </p>
+	 *
+	 * @param algorithm a JCA MAC algorithm
+	 *
+	 * @return a MAC instance
+	 *
+	 * @throws NoSuchAlgorithmException if the algorithm is not supported
+	 */
+	public static Mac mac(String algorithm) throws NoSuchAlgorithmException {
+		Map<String, Mac> macs = MACS.get();
+		Mac mac = macs.get(algorithm);
+		if(mac == null) {
+			mac = Mac.getInstance(algorithm);
+			macs.put(algorithm, mac);
+		}
+		return mac;
+	}
+
+	/**
+	 * <p>
+	 * Returns the current thread's cipher instance for the specified transformation.
+	 * </p>
+	 *
+	 * @param transformation a JCA cipher transformation
+	 *
+	 * @return a cipher instance
+	 *
+	 * @throws NoSuchAlgorithmException if the transformation is not supported
+	 * @throws NoSuchPaddingException   if the transformation contains an unsupported padding scheme
+	 */
+	public static Cipher cipher(String transformation) throws NoSuchAlgorithmException, NoSuchPaddingException {
+		Map<String, Cipher> ciphers = CIPHERS.get();
+		Cipher cipher = ciphers.get(transformation);
+		if(cipher == null) {
+			cipher = Cipher.getInstance(transformation);
+			ciphers.put(transformation, cipher);
+		}
+		return cipher;
+	}
+
+	/**
+	 * <p>
+	 * Returns the current thread's message digest instance for the specified algorithm.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned message digest is reset.
+	 * </p>
+	 *
+	 * @param algorithm a JCA message digest algorithm
+	 *
+	 * @return a message digest instance
+	 *
+	 * @throws NoSuchAlgorithmException if the algorithm is not supported
+	 */
+	public static MessageDigest messageDigest(String algorithm) throws NoSuchAlgorithmException {
+		Map<String, MessageDigest> messageDigests = MESSAGE_DIGESTS.get();
+		MessageDigest messageDigest = messageDigests.get(algorithm);
+		if(messageDigest == null) {
+			messageDigest = MessageDigest.getInstance(algorithm);
+			messageDigests.put(algorithm, messageDigest);
+		}
+		else {
+			messageDigest.reset();
+		}
+		return messageDigest;
+	}
+}
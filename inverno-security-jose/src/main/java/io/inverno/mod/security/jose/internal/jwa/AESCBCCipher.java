@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.jwa.JWACipherException;
 import io.inverno.mod.security.jose.jwa.JWAProcessingException;
@@ -141,7 +142,7 @@ public class AESCBCCipher extends AbstractJWACipher {
 	 */
 	private byte[] cipherText(byte[] data, byte[] iv, SecureRandom secureRandom) throws JWACipherException {
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.ENCRYPT_MODE, this.secretKey, new IvParameterSpec(iv), secureRandom);
 			return cipher.doFinal(data);
 		} 
@@ -174,7 +175,7 @@ public class AESCBCCipher extends AbstractJWACipher {
 		System.arraycopy(al, 0, input, aad.length + iv.length + cipherText.length, al.length);
 		
 		try {
-			Mac sig = Mac.getInstance(this.algorithm.getMacAlgorithm());
+			Mac sig = JCAInstances.mac(this.algorithm.getMacAlgorithm());
 			sig.init(this.digestSecretKey);
 			return sig.doFinal(input);
 		} 
@@ -197,7 +198,7 @@ public class AESCBCCipher extends AbstractJWACipher {
 	 */
 	private byte[] decrypt(byte[] cipherText, byte[] iv) throws JWACipherException {
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.DECRYPT_MODE, this.secretKey, new IvParameterSpec(iv));
 			return cipher.doFinal(cipherText);
 		} 
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.jwa.JWACipher;
 import io.inverno.mod.security.jose.jwa.JWACipherException;
@@ -101,7 +102,7 @@ public class AESGCMCipher extends AbstractJWACipher {
 	protected JWACipher.EncryptedData doEncrypt(byte[] data, byte[] aad, SecureRandom secureRandom) throws JWACipherException {
 		try {
 			byte[] iv = JOSEUtils.generateInitializationVector(secureRandom, this.algorithm.getInitializationVectorLength());
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.ENCRYPT_MODE, this.secretKey, new GCMParameterSpec(this.algorithm.getAuthenticationTagLength() * 8, iv), secureRandom);
 			cipher.updateAAD(aad);
 			byte[] encryptedData = cipher.doFinal(data);
@@ -124,7 +125,7 @@ public class AESGCMCipher extends AbstractJWACipher {
 			throw new JWACipherException("Initialization vector length " + iv.length + "does not match algorithm " + this.algorithm.getAlgorithm());
 		}
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.DECRYPT_MODE, this.secretKey, new GCMParameterSpec(this.algorithm.getAuthenticationTagLength() * 8, iv));
 			cipher.updateAAD(aad);
 			
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.internal.jwk.oct.GenericOCTJWK;
 import io.inverno.mod.security.jose.jwa.JWACipherException;
@@ -124,7 +125,7 @@ public class AESGCMKWKeyManager extends AbstractEncryptingJWAKeyManager<OCTJWK,
 	protected EncryptedCEK doEncryptCEK(OCTJWK cek, Map<String, Object> parameters, SecureRandom secureRandom) throws JWAKeyManagerException {
 		try {
 			byte[] iv =  JOSEUtils.generateInitializationVector(secureRandom, this.algorithm.getInitializationVectorLength());
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.ENCRYPT_MODE, this.secretKey, new GCMParameterSpec(this.algorithm.getAuthenticationTagLength() * 8, iv), secureRandom);
 			cipher.updateAAD(new byte[0]);
 			byte[] encryptedData = cipher.doFinal(Base64.getUrlDecoder().decode(cek.getKeyValue()));
@@ -156,7 +157,7 @@ public class AESGCMKWKeyManager extends AbstractEncryptingJWAKeyManager<OCTJWK,
 			throw new JWACipherException("Initialization vector length " + iv.length + "does not match algorithm " + this.algorithm.getAlgorithm());
 		}
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.DECRYPT_MODE, this.secretKey, new GCMParameterSpec(this.algorithm.getAuthenticationTagLength() * 8, iv));
 			cipher.updateAAD(new byte[0]);
 			
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.internal.jwk.oct.GenericOCTJWK;
 import io.inverno.mod.security.jose.jwa.JWAKeyManagerException;
@@ -99,7 +100,7 @@ public class AESKWKeyManager extends AbstractWrappingJWAKeyManager<OCTJWK, OCTAl
 	protected WrappedCEK doWrapCEK(OCTJWK cek, Map<String, Object> parameters, SecureRandom secureRandom) throws JWAKeyManagerException {
 		return cek.toSecretKey().map(cekSecretKey -> {
 			try {
-				Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+				Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 				cipher.init(Cipher.WRAP_MODE, this.secretKey, secureRandom);
 				byte[] encryptedKey = cipher.wrap(cekSecretKey);
 
@@ -115,7 +116,7 @@ public class AESKWKeyManager extends AbstractWrappingJWAKeyManager<OCTJWK, OCTAl
 	@Override
 	protected OCTJWK doUnwrapCEK(byte[] encrypted_key, OCTAlgorithm octEnc, Map<String, Object> parameters) throws JWAKeyManagerException {
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			cipher.init(Cipher.UNWRAP_MODE, this.secretKey);
 			
 			SecretKey decryptedKey = (SecretKey)cipher.unwrap(encrypted_key, "AES", Cipher.SECRET_KEY);
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.jwa.ECAlgorithm;
 import io.inverno.mod.security.jose.jwa.JWAProcessingException;
 import io.inverno.mod.security.jose.jwa.JWASignatureException;
@@ -84,7 +85,7 @@ public class ECSigner extends AbstractJWASigner<ECJWK, ECAlgorithm> {
 		return this.jwk.toPrivateKey()
 			.map(privateKey -> {
 				try {
-					Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+					Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 					sig.initSign(privateKey);
 					sig.update(data);
 					return signatureFromDer(sig.sign());
@@ -99,7 +100,7 @@ public class ECSigner extends AbstractJWASigner<ECJWK, ECAlgorithm> {
 	@Override
 	protected boolean doVerify(byte[] data, byte[] signature) throws JWASignatureException {
 		try {
-			Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+			Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 			sig.initVerify(this.jwk.toPublicKey());
 			sig.update(data);
 			return sig.verify(signatureToDER(signature));
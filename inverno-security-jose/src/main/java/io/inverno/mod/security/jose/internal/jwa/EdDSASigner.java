@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.jwa.EdECAlgorithm;
 import io.inverno.mod.security.jose.jwa.JWAProcessingException;
 import io.inverno.mod.security.jose.jwa.JWASignatureException;
@@ -80,7 +81,7 @@ public class EdDSASigner extends AbstractJWASigner<EdECJWK, EdECAlgorithm> {
 		return this.jwk.toPrivateKey()
 			.map(privateKey -> {
 				try {
-					Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+					Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 					sig.initSign(privateKey);
 					sig.update(data);
 					return sig.sign();
@@ -95,7 +96,7 @@ public class EdDSASigner extends AbstractJWASigner<EdECJWK, EdECAlgorithm> {
 	@Override
 	protected boolean doVerify(byte[] data, byte[] signature) throws JWASignatureException {
 		try {
-			Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+			Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 			sig.initVerify(this.jwk.toPublicKey());
 			sig.update(data);
 			return sig.verify(signature);
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.jwa.JWAProcessingException;
 import io.inverno.mod.security.jose.jwa.JWASignatureException;
 import io.inverno.mod.security.jose.jwa.OCTAlgorithm;
@@ -88,7 +89,7 @@ public class HMACSigner extends AbstractJWASigner<OCTJWK, OCTAlgorithm> {
 	protected byte[] doSign(byte[] data) throws JWASignatureException {
 		return this.jwk.toSecretKey().map(secretKey -> {
 			try {
-				Mac sig = Mac.getInstance(this.algorithm.getJcaAlgorithm());
+				Mac sig = JCAInstances.mac(this.algorithm.getJcaAlgorithm());
 				sig.init(secretKey);
 				return sig.doFinal(data);
 			} 
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.internal.jwk.oct.GenericOCTJWK;
 import io.inverno.mod.security.jose.jwa.JWAKeyManagerException;
@@ -129,7 +130,7 @@ public class PBES2KeyManager extends AbstractEncryptingJWAKeyManager<PBES2JWK, P
 				SecretKey derivedKey = new SecretKeySpec(skf.generateSecret(derivedKeySpec).getEncoded(), "AES") ;
 
 				// Encrypt cek
-				Cipher cipher = Cipher.getInstance(this.algorithm.getJcaEncryptionAlgorithm());
+				Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaEncryptionAlgorithm());
 				cipher.init(Cipher.WRAP_MODE, derivedKey);
 
 				return new GenericEncryptedCEK(
@@ -158,7 +159,7 @@ public class PBES2KeyManager extends AbstractEncryptingJWAKeyManager<PBES2JWK, P
 			SecretKey derivedKey = new SecretKeySpec(skf.generateSecret(derivedKeySpec).getEncoded(), "AES");
 			
 			// Decrypt cek
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaEncryptionAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaEncryptionAlgorithm());
 			cipher.init(Cipher.UNWRAP_MODE, derivedKey);
 			
 			SecretKey decryptedKey = (SecretKey) cipher.unwrap(encrypted_key, "AES", Cipher.SECRET_KEY);
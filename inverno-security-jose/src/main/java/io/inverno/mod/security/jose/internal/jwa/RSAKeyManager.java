@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.internal.JOSEUtils;
 import io.inverno.mod.security.jose.internal.jwk.oct.GenericOCTJWK;
 import io.inverno.mod.security.jose.jwa.JWAKeyManagerException;
@@ -100,7 +101,7 @@ public class RSAKeyManager extends AbstractEncryptingJWAKeyManager<RSAJWK, RSAAl
 	@Override
 	protected EncryptedCEK doEncryptCEK(OCTJWK cek, Map<String, Object> parameters, SecureRandom secureRandom) throws JWAKeyManagerException {
 		try {
-			Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+			Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 			if(this.algorithm.getSignatureParameter() != null) {
 				AlgorithmParameters algorithmParameters = AlgorithmParameters.getInstance("OAEP");
 				algorithmParameters.init(this.algorithm.getSignatureParameter());
@@ -123,7 +124,7 @@ public class RSAKeyManager extends AbstractEncryptingJWAKeyManager<RSAJWK, RSAAl
 	protected OCTJWK doDecryptCEK(byte[] encrypted_key, OCTAlgorithm octEnc, Map<String, Object> parameters) throws JWAKeyManagerException {
 		return this.jwk.toPrivateKey().map(privateKey -> {
 			try {
-				Cipher cipher = Cipher.getInstance(this.algorithm.getJcaAlgorithm());
+				Cipher cipher = JCAInstances.cipher(this.algorithm.getJcaAlgorithm());
 				if(this.algorithm.getSignatureParameter() != null) {
 					AlgorithmParameters algorithmParameters = AlgorithmParameters.getInstance("OAEP");
 					algorithmParameters.init(this.algorithm.getSignatureParameter());
@@ -15,6 +15,7 @@
  */
 package io.inverno.mod.security.jose.internal.jwa;
 
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.jwa.JWAProcessingException;
 import io.inverno.mod.security.jose.jwa.JWASignatureException;
 import io.inverno.mod.security.jose.jwa.RSAAlgorithm;
@@ -94,7 +95,7 @@ public class RSASigner extends AbstractJWASigner<RSAJWK, RSAAlgorithm> {
 		return this.jwk.toPrivateKey()
 			.map(privateKey -> {
 				try {
-					Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+					Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 					AlgorithmParameterSpec signatureParameter = this.algorithm.getSignatureParameter();
 					if (signatureParameter != null) {
 						sig.setParameter(signatureParameter);
@@ -113,7 +114,7 @@ public class RSASigner extends AbstractJWASigner<RSAJWK, RSAAlgorithm> {
 	@Override
 	protected boolean doVerify(byte[] data, byte[] signature) throws JWASignatureException {
 		try {
-			Signature sig = Signature.getInstance(this.algorithm.getJcaAlgorithm());
+			Signature sig = JCAInstances.signature(this.algorithm.getJcaAlgorithm());
 			AlgorithmParameterSpec signatureParameter = this.algorithm.getSignatureParameter();
 			if(signatureParameter != null) {
 				sig.setParameter(signatureParameter);
@@ -495,7 +495,7 @@ public final class GenericJWKService implements @Provide JWKService {
 		if(jku == null) {
 			return Flux.empty();
 		}
-		Flux<? extends JWK> keys = Flux.from(this.switchableUrlResolver.resolveJWKSetURL(jku))
+		Flux<? extends JWK> keys = Flux.from(this.switchableUrlResolver.resolveJWKSetURL(jku, header.getKeyId()))
 			.mapNotNull(jwk -> {
 				try {
 					return this.mergeWithHeader(jwk, header);
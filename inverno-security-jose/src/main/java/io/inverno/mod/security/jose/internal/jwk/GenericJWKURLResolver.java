@@ -18,21 +18,38 @@ package io.inverno.mod.security.jose.internal.jwk;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.inverno.core.annotation.Bean;
+import io.inverno.core.annotation.BeanSocket;
+import io.inverno.core.annotation.Destroy;
 import io.inverno.core.annotation.Overridable;
 import io.inverno.core.annotation.Provide;
+import io.inverno.mod.base.concurrent.ExpiringCache;
 import io.inverno.mod.base.resource.ResourceService;
+import io.inverno.mod.security.jose.JOSEConfiguration;
 import io.inverno.mod.security.jose.jwk.JWKResolveException;
 import io.inverno.mod.security.jose.jwk.JWKURLResolver;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.ProxySelector;
 import java.net.URI;
-import java.nio.channels.Channels;
-import java.nio.channels.Pipe;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -48,11 +65,19 @@ import reactor.core.publisher.Mono;
  * <p>
  * This is an overridable bean which can be overridden by injecting a custom {@link JWKURLResolver} instance when building the JOSE module.
  * </p>
- * 
+ *
  * <p>
  * The URL resolution will be disabled if the optional resource service is missing.
  * </p>
- * 
+ *
+ * <p>
+ * JWK sets can be cached by enabling {@link JOSEConfiguration#jku_cache_enabled()}. HTTP(S) JWK Set URLs are then fetched using a JDK {@link HttpClient} in order to get the {@code Cache-Control}
+ * response header which determines how long a JWK set can be cached: {@code max-age} and {@code stale-while-revalidate} directives are honored and {@code no-store} or {@code no-cache} directives
+ * disable caching. A stale JWK set is returned while it is refreshed in the background and a JWK set is refreshed before it expires when it doesn't contain a requested key id (see
+ * {@link #resolveJWKSetURL(java.net.URI, java.lang.String)}), refreshes are limited by {@link JOSEConfiguration#jku_cache_min_refresh_interval()}. Concurrent fetches of the same JWK Set URL are
+ * coalesced.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.5
  */
@@ -61,136 +86,304 @@ import reactor.core.publisher.Mono;
 public class GenericJWKURLResolver implements @Provide JWKURLResolver {
 
 	private static final Logger LOGGER = LogManager.getLogger(GenericJWKURLResolver.class);
-	
+
+	private final JOSEConfiguration configuration;
+
 	private final ObjectMapper mapper;
-	
+
+	private final HttpClient httpClient;
+
+	private final ExpiringCache<URI, CachedJWKSet> cache;
+
+	private final Map<URI, Mono<CachedJWKSet>> pendingFetches;
+
 	private ResourceService resourceService;
-	
+
 	/**
 	 * <p>
-	 * Creates a generic JWK URL resolver.
+	 * Creates a generic JWK URL resolver without caching.
 	 * </p>
-	 * 
-	 * @param mapper            an object mapper
+	 *
+	 * @param mapper an object mapper
 	 */
 	public GenericJWKURLResolver(ObjectMapper mapper) {
+		this(null, mapper);
+	}
+
+	/**
+	 * <p>
+	 * Creates a generic JWK URL resolver.
+	 * </p>
+	 *
+	 * @param configuration the JOSE module configuration
+	 * @param mapper        an object mapper
+	 *
+	 * @since 1.14
+	 */
+	@BeanSocket
+	public GenericJWKURLResolver(JOSEConfiguration configuration, ObjectMapper mapper) {
+		this.configuration = configuration;
 		this.mapper = mapper;
+		if(configuration != null && configuration.jku_cache_enabled()) {
+			this.httpClient = HttpClient.newBuilder()
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.proxy(ProxySelector.getDefault())
+				.connectTimeout(Duration.ofMillis(configuration.jku_fetch_timeout()))
+				.build();
+			this.cache = new ExpiringCache<>(configuration.jku_cache_max_size(), null);
+			this.pendingFetches = new ConcurrentHashMap<>();
+		}
+		else {
+			this.httpClient = null;
+			this.cache = null;
+			this.pendingFetches = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Closes the HTTP client used to fetch JWK sets.
+	 * </p>
+	 */
+	@Destroy
+	public void destroy() {
+		if(this.httpClient != null) {
+			this.httpClient.close();
+		}
 	}
 
 	/**
 	 * <p>
 	 * Sets the resource service.
 	 * </p>
-	 * 
+	 *
 	 * @param resourceService a resource service
 	 */
 	public void setResourceService(ResourceService resourceService) {
 		this.resourceService = resourceService;
 	}
-	
+
 	@Override
-	@SuppressWarnings("unchecked")
 	public Publisher<Map<String, Object>> resolveJWKSetURL(URI jku) throws JWKResolveException {
-		return Mono.justOrEmpty(jku)
-			.filter(ign -> {
-				if(this.resourceService == null) {
-					LOGGER.warn("JWK set URL resolver is disabled: missing resource service");
-					return false;
+		return this.resolveJWKSetURL(jku, null);
+	}
+
+	@Override
+	public Publisher<Map<String, Object>> resolveJWKSetURL(URI jku, String kid) throws JWKResolveException {
+		if(jku == null) {
+			return Mono.empty();
+		}
+		if(this.cache == null) {
+			return this.fetchJWKSet(jku).flatMapIterable(CachedJWKSet::getKeys).onErrorStop();
+		}
+		return Mono.defer(() -> {
+				long now = System.nanoTime();
+				CachedJWKSet cachedJWKSet = this.cache.get(jku);
+				if(cachedJWKSet == null) {
+					return this.fetchAndCache(jku);
 				}
-				return true;
+				if(kid != null && !cachedJWKSet.containsKeyId(kid) && cachedJWKSet.tryRefresh(now, TimeUnit.MILLISECONDS.toNanos(this.configuration.jku_cache_min_refresh_interval()))) {
+					LOGGER.debug("Refreshing JWK set {}: unknown key id {}", jku, kid);
+					return this.fetchAndCache(jku)
+						.onErrorResume(e -> {
+							LOGGER.warn("Error refreshing JWK set: " + jku, e);
+							return Mono.just(cachedJWKSet);
+						});
+				}
+				if(cachedJWKSet.isStale(now) && cachedJWKSet.tryRefresh(now, TimeUnit.MILLISECONDS.toNanos(this.configuration.jku_cache_min_refresh_interval()))) {
+					LOGGER.debug("Refreshing stale JWK set {}", jku);
+					this.fetchAndCache(jku).subscribe(
+						ign -> {},
+						e -> LOGGER.warn("Error refreshing JWK set: " + jku, e)
+					);
+				}
+				return Mono.just(cachedJWKSet);
 			})
-			.flatMapMany(uri -> Flux.from(this.resourceService.getResource(uri).read())
-				.onErrorMap(e -> new JWKResolveException("Unable to retrieve JWK set from URL, resource is not readable: " + uri, e))
-				.reduceWith(() -> {
-						try {
-							return Pipe.open();
-						}
-						catch(IOException e) {
-							throw new IllegalStateException("Can't open pipe", e);
-						}
-					},
-					(pipe, chunk) -> {
-						try {
-							chunk.getBytes(0, pipe.sink(), chunk.readableBytes());
-						}
-						catch(IOException e) {
-							throw new JWKResolveException("Error resolving JWK Set from URL: " + uri, e);
+			.flatMapIterable(CachedJWKSet::getKeys)
+			.onErrorStop();
+	}
+
+	/**
+	 * <p>
+	 * Fetches and caches the JWK set at the specified location.
+	 * </p>
+	 *
+	 * <p>
+	 * Concurrent fetches of the same location are coalesced into a single fetch.
+	 * </p>
+	 *
+	 * @param jku the URI of the JSON JWK or JWK set resource
+	 *
+	 * @return a mono emitting the fetched JWK set
+	 */
+	private Mono<CachedJWKSet> fetchAndCache(URI jku) {
+		return this.pendingFetches.computeIfAbsent(jku, uri -> this.fetchJWKSet(uri)
+			.doOnNext(jwkSet -> this.cache(uri, jwkSet))
+			.doFinally(ign -> this.pendingFetches.remove(uri))
+			.cache()
+		);
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified JWK set.
+	 * </p>
+	 *
+	 * <p>
+	 * The JWK set is kept in the cache until it expires, that is after its time to live and stale-while-revalidate period. A JWK set that must not be cached removes any previously cached JWK set.
+	 * </p>
+	 *
+	 * @param jku    the URI of the JSON JWK or JWK set resource
+	 * @param jwkSet the JWK set
+	 */
+	private void cache(URI jku, CachedJWKSet jwkSet) {
+		this.cache.put(jku, jwkSet, Duration.ofNanos(jwkSet.expiresAt - System.nanoTime()));
+	}
+
+	/**
+	 * <p>
+	 * Fetches the JWK set at the specified location.
+	 * </p>
+	 *
+	 * <p>
+	 * When caching is enabled, HTTP(S) resources are fetched using the HTTP client in order to determine cache directives, the resource service is used otherwise.
+	 * </p>
+	 *
+	 * @param jku the URI of the JSON JWK or JWK set resource
+	 *
+	 * @return a mono emitting the fetched JWK set
+	 */
+	private Mono<CachedJWKSet> fetchJWKSet(URI jku) {
+		if(this.httpClient != null && ("http".equalsIgnoreCase(jku.getScheme()) || "https".equalsIgnoreCase(jku.getScheme()))) {
+			HttpRequest request = HttpRequest.newBuilder(jku)
+				.GET()
+				.header("accept", "application/jwk-set+json, application/json")
+				.timeout(Duration.ofMillis(this.configuration.jku_fetch_timeout()))
+				.build();
+			return Mono.fromFuture(() -> this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+				.onErrorMap(e -> new JWKResolveException("Unable to retrieve JWK set from URL: " + jku, e))
+				.map(response -> {
+					if(response.statusCode() != 200) {
+						throw new JWKResolveException("Unable to retrieve JWK set from URL, server responded with status " + response.statusCode() + ": " + jku);
+					}
+					return this.createJWKSet(this.readJWKSet(jku, new ByteArrayInputStream(response.body())), response.headers());
+				});
+		}
+		return this.readResource(jku, "JWK set")
+			.map(data -> this.createJWKSet(this.readJWKSet(jku, new ByteBufInputStream(data, true)), null));
+	}
+
+	/**
+	 * <p>
+	 * Reads the specified JSON JWK or JWK set.
+	 * </p>
+	 *
+	 * @param jku  the URI of the JSON JWK or JWK set resource
+	 * @param data the JSON JWK or JWK set
+	 *
+	 * @return the list of parsed keys represented as maps
+	 *
+	 * @throws JWKResolveException if there was an error reading the JWK set
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> readJWKSet(URI jku, InputStream data) throws JWKResolveException {
+		try(data) {
+			Map<String, Object> parsedJku;
+			try {
+				parsedJku = this.mapper.readerForMapOf(Object.class).readValue(data);
+			}
+			catch(JsonProcessingException e) {
+				throw new JWKResolveException("Error reading JWK", e);
+			}
+
+			if(parsedJku.containsKey("keys")) {
+				return (List<Map<String,Object>>)parsedJku.get("keys");
+			}
+			else {
+				return List.of(parsedJku);
+			}
+		}
+		catch(IOException e) {
+			throw new JWKResolveException("Error resolving JWK Set from URL: " + jku, e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates a JWK set from the specified keys and cache directives.
+	 * </p>
+	 *
+	 * @param keys    the list of parsed keys
+	 * @param headers the HTTP response headers or null
+	 *
+	 * @return a JWK set
+	 */
+	private CachedJWKSet createJWKSet(List<Map<String, Object>> keys, HttpHeaders headers) {
+		long now = System.nanoTime();
+		if(this.cache == null) {
+			return new CachedJWKSet(keys, now, 0, 0);
+		}
+
+		long ttl = this.configuration.jku_cache_ttl();
+		long staleWhileRevalidate = this.configuration.jku_cache_stale_while_revalidate();
+		if(headers != null) {
+			for(String cacheControl : headers.allValues("cache-control")) {
+				for(String directive : cacheControl.split(",")) {
+					String[] nameValue = directive.trim().split("=", 2);
+					String name = nameValue[0].trim().toLowerCase();
+					switch(name) {
+						case "no-store":
+						case "no-cache": {
+							return new CachedJWKSet(keys, now, 0, 0);
 						}
-						finally {
-							chunk.release();
+						case "max-age": {
+							ttl = parseDeltaSeconds(nameValue, ttl);
+							break;
 						}
-						return pipe;
-					}
-				)
-				.flatMapMany(pipe -> {
-					try {
-						pipe.sink().close();
-						try(InputStream jkuStream = Channels.newInputStream(pipe.source())) {
-							Map<String, Object> parsedJku;
-							try {
-								parsedJku = this.mapper.readerForMapOf(Object.class).readValue(jkuStream);
-							}
-							catch(JsonProcessingException e) {
-								throw new JWKResolveException("Error reading JWK", e);
-							}
-
-							if(parsedJku.containsKey("keys")) {
-								return Flux.fromIterable((List<Map<String,Object>>)parsedJku.get("keys"));
-							}
-							else {
-								return Flux.just(parsedJku);
-							}
+						case "stale-while-revalidate": {
+							staleWhileRevalidate = parseDeltaSeconds(nameValue, staleWhileRevalidate);
+							break;
 						}
 					}
-					catch(IOException e) {
-						throw new JWKResolveException("Error resolving JWK Set from URL: " + uri, e);
-					}
-				})
-				.onErrorStop()
-			);
+				}
+			}
+			// The age of the response when it went through a cache
+			ttl = Math.max(0L, ttl - headers.firstValueAsLong("age").orElse(0L) * 1000L);
+		}
+		return new CachedJWKSet(keys, now, TimeUnit.MILLISECONDS.toNanos(ttl), TimeUnit.MILLISECONDS.toNanos(staleWhileRevalidate));
 	}
-	
+
+	/**
+	 * <p>
+	 * Parses the delta-seconds value of a cache directive.
+	 * </p>
+	 *
+	 * @param nameValue    the cache directive name and value
+	 * @param defaultValue the value in milliseconds to return when the value is missing or invalid
+	 *
+	 * @return the value in milliseconds
+	 */
+	private static long parseDeltaSeconds(String[] nameValue, long defaultValue) {
+		if(nameValue.length < 2) {
+			return defaultValue;
+		}
+		try {
+			return Math.max(0L, Long.parseLong(nameValue[1].trim().replace("\"", ""))) * 1000L;
+		}
+		catch(NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
 	@Override
 	public Mono<List<X509Certificate>> resolveX509CertificateURL(URI x5u) throws JWKResolveException {
 		return Mono.justOrEmpty(x5u)
-			.filter(ign -> {
-				if(this.resourceService == null) {
-					LOGGER.warn("X509 certificate URL resolver is disabled: missing resource service");
-					return false;
-				}
-				return true;
-			})
-			.flatMap(uri -> Flux.from(this.resourceService.getResource(uri).read())
-				.onErrorMap(e -> new JWKResolveException("Unable to retrieve X.509 certificate chain from URL, resource is not readable: " + uri, e))
-				.reduceWith(() -> {
-						try {
-							return Pipe.open();
-						}
-						catch(IOException e) {
-							throw new IllegalStateException("Can't open pipe", e);
-						}
-					}, 
-					(pipe, chunk) -> {
-						try {
-							chunk.getBytes(0, pipe.sink(), chunk.readableBytes());
-						}
-						catch(IOException e) {
-							throw new JWKResolveException("Error resolving X.509 certificate chain from URL: " + uri, e);
-						}
-						finally {
-							chunk.release();
-						}
-						return pipe;
+			.flatMap(uri -> this.readResource(uri, "X.509 certificate chain")
+				.map(data -> {
+					try(InputStream x5uStream = new ByteBufInputStream(data, true)) {
+						CertificateFactory cf =  CertificateFactory.getInstance("X.509");
+						return cf.generateCertificates(x5uStream).stream().map(c -> (X509Certificate)c).collect(Collectors.toList());
 					}
-				)
-				.map(pipe -> {
-					try {
-						pipe.sink().close();
-						try(InputStream x5uStream = Channels.newInputStream(pipe.source())) {
-							CertificateFactory cf =  CertificateFactory.getInstance("X.509");
-							return cf.generateCertificates(x5uStream).stream().map(c -> (X509Certificate)c).collect(Collectors.toList());
-						}
-					} 
 					catch(IOException | CertificateException e) {
 						throw new JWKResolveException("Error resolving X.509 certificate chain from URL: " + uri, e);
 					}
@@ -198,4 +391,124 @@ public class GenericJWKURLResolver implements @Provide JWKURLResolver {
 				.onErrorStop()
 			);
 	}
+
+	/**
+	 * <p>
+	 * Reads the resource at the specified location using the resource service.
+	 * </p>
+	 *
+	 * <p>
+	 * The resource chunks are aggregated in a single composite buffer which must be released by the caller.
+	 * </p>
+	 *
+	 * @param uri         the URI of the resource
+	 * @param description the description of the resource
+	 *
+	 * @return a mono emitting the resource data or an empty mono if the resource service is missing
+	 */
+	private Mono<ByteBuf> readResource(URI uri, String description) {
+		if(this.resourceService == null) {
+			return Mono.fromRunnable(() -> LOGGER.warn("{} URL resolver is disabled: missing resource service", description));
+		}
+		return Flux.from(this.resourceService.getResource(uri).read())
+			.onErrorMap(e -> new JWKResolveException("Unable to retrieve " + description + " from URL, resource is not readable: " + uri, e))
+			.collectList()
+			.map(chunks -> Unpooled.wrappedBuffer(chunks.toArray(ByteBuf[]::new)))
+			.doOnDiscard(ByteBuf.class, ByteBuf::release);
+	}
+
+	/**
+	 * <p>
+	 * A resolved JWK set.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CachedJWKSet {
+
+		private final List<Map<String, Object>> keys;
+
+		private final Set<String> keyIds;
+
+		private final long staleAt;
+
+		private final long expiresAt;
+
+		private final AtomicLong lastRefresh;
+
+		/**
+		 * <p>
+		 * Creates a JWK set.
+		 * </p>
+		 *
+		 * @param keys                 the list of parsed keys
+		 * @param fetchedAt            the time in nanoseconds at which the JWK set was fetched
+		 * @param ttl                  the time to live in nanoseconds
+		 * @param staleWhileRevalidate the time in nanoseconds after expiration during which the JWK set can still be used while it is refreshed
+		 */
+		public CachedJWKSet(List<Map<String, Object>> keys, long fetchedAt, long ttl, long staleWhileRevalidate) {
+			this.keys = keys;
+			this.keyIds = keys.stream().map(key -> key.get("kid")).filter(Objects::nonNull).map(Object::toString).collect(Collectors.toUnmodifiableSet());
+			this.staleAt = fetchedAt + ttl;
+			this.expiresAt = this.staleAt + staleWhileRevalidate;
+			this.lastRefresh = new AtomicLong(fetchedAt);
+		}
+
+		/**
+		 * <p>
+		 * Returns the list of parsed keys.
+		 * </p>
+		 *
+		 * @return the list of keys
+		 */
+		public List<Map<String, Object>> getKeys() {
+			return this.keys;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the JWK set contains a key with the specified id.
+		 * </p>
+		 *
+		 * @param kid a key id
+		 *
+		 * @return true if the JWK set contains the key, false otherwise
+		 */
+		public boolean containsKeyId(String kid) {
+			return this.keyIds.contains(kid);
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the JWK set must be refreshed in the background.
+		 * </p>
+		 *
+		 * @param now the current time in nanoseconds
+		 *
+		 * @return true if the JWK set is stale, false otherwise
+		 */
+		public boolean isStale(long now) {
+			return this.staleAt - now <= 0;
+		}
+
+		/**
+		 * <p>
+		 * Tries to acquire the right to refresh the JWK set.
+		 * </p>
+		 *
+		 * <p>
+		 * This method returns false when the JWK set was fetched or refreshed less than the minimum refresh interval ago.
+		 * </p>
+		 *
+		 * @param now                the current time in nanoseconds
+		 * @param minRefreshInterval the minimum refresh interval in nanoseconds
+		 *
+		 * @return true if the JWK set can be refreshed, false otherwise
+		 */
+		public boolean tryRefresh(long now, long minRefreshInterval) {
+			long last = this.lastRefresh.get();
+			return now - last >= minRefreshInterval && this.lastRefresh.compareAndSet(last, now);
+		}
+	}
 }
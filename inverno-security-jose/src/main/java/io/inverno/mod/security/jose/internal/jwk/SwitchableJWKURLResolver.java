@@ -77,6 +77,14 @@ public class SwitchableJWKURLResolver implements JWKURLResolver {
 		return this.urlResolver.resolveJWKSetURL(jku);
 	}
 
+	@Override
+	public Publisher<Map<String, Object>> resolveJWKSetURL(URI jku, String kid) throws JWKResolveException {
+		if(!this.configuration.resolve_jku()) {
+			return Mono.fromRunnable(() -> LOGGER.warn("JWK set URL resolver is disabled"));
+		}
+		return this.urlResolver.resolveJWKSetURL(jku, kid);
+	}
+
 	@Override
 	public Mono<List<X509Certificate>> resolveX509CertificateURL(URI x5u) throws JWKResolveException {
 		if(!this.configuration.resolve_x5u()) {
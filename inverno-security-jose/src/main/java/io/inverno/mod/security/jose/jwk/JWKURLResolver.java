@@ -44,7 +44,30 @@ public interface JWKURLResolver {
 	 * @throws JWKResolveException if there was an error resolving the resource
 	 */
 	Publisher<Map<String, Object>> resolveJWKSetURL(URI jku) throws JWKResolveException;
-	
+
+	/**
+	 * <p>
+	 * Resolves a JSON JWK or JWK set at the specified location and returns corresponding keys represented as maps.
+	 * </p>
+	 *
+	 * <p>
+	 * The key id is the id of the key that is actually looked for, it can be used by caching implementations to detect key rotation and refresh a cached JWK set that doesn't contain the key. The
+	 * default implementation ignores it and delegates to {@link #resolveJWKSetURL(java.net.URI)}.
+	 * </p>
+	 *
+	 * @param jku the URI of the JSON JWK or JWK set resource
+	 * @param kid the id of the key looked for or null
+	 *
+	 * @return a publisher of parsed keys represented as maps
+	 *
+	 * @throws JWKResolveException if there was an error resolving the resource
+	 *
+	 * @since 1.14
+	 */
+	default Publisher<Map<String, Object>> resolveJWKSetURL(URI jku, String kid) throws JWKResolveException {
+		return this.resolveJWKSetURL(jku);
+	}
+
 	/**
 	 * <p>
 	 * Resolves the X.509 certificates chain at the specified location as defined by <a href="https://datatracker.ietf.org/doc/html/rfc7515#section-4.1.5">RFC7515 Section 4.1.5</a>
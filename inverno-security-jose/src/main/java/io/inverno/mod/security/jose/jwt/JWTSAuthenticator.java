@@ -15,12 +15,19 @@
  */
 package io.inverno.mod.security.jose.jwt;
 
+import io.inverno.mod.base.concurrent.ExpiringCache;
 import io.inverno.mod.security.authentication.Authenticator;
 import io.inverno.mod.security.authentication.TokenCredentials;
 import io.inverno.mod.security.jose.JOSEProcessingException;
+import io.inverno.mod.security.jose.internal.JCAInstances;
 import io.inverno.mod.security.jose.jwa.NoAlgorithm;
 import io.inverno.mod.security.jose.jwk.JWK;
+import io.inverno.mod.security.jose.jws.JWS;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,6 +43,13 @@ import reactor.core.publisher.Mono;
  * The expected token must be a valid JWTS compact string which is not using {@link NoAlgorithm#NONE} algorithm.
  * </p>
  *
+ * <p>
+ * Verifying a JWTS signature is costly, especially with asymmetric algorithms, and clients usually send the same token with every request until it expires. A verified token cache can be enabled
+ * using {@link #setCache(Duration, int)} in order to skip the parsing and the verification of tokens that have been successfully authenticated recently. Cached tokens are identified by a SHA-256
+ * digest of their compact representation and are evicted after the cache time to live or when they expire whichever comes first. The JWT claims set of a cached token is still validated on each
+ * authentication.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.5
  * 
@@ -67,6 +81,11 @@ public class JWTSAuthenticator<A extends JWTClaimsSet> implements Authenticator<
 	 * The list of validators to use to validate the JWT.
 	 */
 	private final List<JWTClaimsSetValidator> validators;
+
+	/**
+	 * The verified tokens indexed by compact representation digest.
+	 */
+	private ExpiringCache<String, JWS<A>> cache;
 	
 	/**
 	 * <p>
@@ -235,6 +254,7 @@ public class JWTSAuthenticator<A extends JWTClaimsSet> implements Authenticator<
 	 */
 	public JWTSAuthenticator<A> validate(JWTClaimsSetValidator validator) {
 		this.validators.add(validator);
+		this.clearCache();
 		return this;
 	}
 	
@@ -250,6 +270,7 @@ public class JWTSAuthenticator<A extends JWTClaimsSet> implements Authenticator<
 		if(validators != null) {
 			this.validators.addAll(validators);
 		}
+		this.clearCache();
 	}
 	
 	/**
@@ -263,15 +284,129 @@ public class JWTSAuthenticator<A extends JWTClaimsSet> implements Authenticator<
 		return Collections.unmodifiableList(validators);
 	}
 	
+	/**
+	 * <p>
+	 * Enables or disables the verified token cache.
+	 * </p>
+	 *
+	 * <p>
+	 * A verified token is kept in the cache until the time to live is reached or until it expires whichever comes first. When the cache is full, the eldest tokens are evicted to make room for newly
+	 * verified tokens.
+	 * </p>
+	 *
+	 * @param ttl     the maximum time to live of a verified token in the cache or null to disable the cache
+	 * @param maxSize the maximum number of verified tokens in the cache
+	 *
+	 * @since 1.14
+	 */
+	public void setCache(Duration ttl, int maxSize) {
+		if(ttl != null && !ttl.isNegative() && !ttl.isZero() && maxSize > 0) {
+			this.cache = new ExpiringCache<>(maxSize, ttl);
+		}
+		else {
+			this.cache = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Clears the verified token cache.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked when validators are changed since they are applied to the JWT claims set of a token when it is first verified.
+	 * </p>
+	 */
+	private void clearCache() {
+		if(this.cache != null) {
+			this.cache.clear();
+		}
+	}
+	
 	@Override
 	public Mono<JWTSAuthentication<A>> authenticate(TokenCredentials credentials) {
+		ExpiringCache<String, JWS<A>> currentCache = this.cache;
+		if(currentCache == null) {
+			return this.verify(credentials.getToken());
+		}
+		return Mono.defer(() -> {
+			String token = credentials.getToken();
+			String digest = digest(token);
+			JWS<A> cachedJWS = currentCache.get(digest);
+			if(cachedJWS != null) {
+				return Mono.just(new JWTSAuthentication<>(cachedJWS));
+			}
+			return this.verify(token)
+				.doOnNext(authentication -> {
+					if(authentication.isAuthenticated()) {
+						cache(currentCache, digest, authentication.getJwt());
+					}
+				});
+		});
+	}
+
+	/**
+	 * <p>
+	 * Reads and verifies the specified token.
+	 * </p>
+	 *
+	 * @param token a JWTS compact representation
+	 *
+	 * @return a mono emitting the resulting authentication
+	 */
+	private Mono<JWTSAuthentication<A>> verify(String token) {
 		return this.jwtService.<A>jwsReader(this.type, this.keys)
 			.processedParameters(this.processedParameters)
-			.read(credentials.getToken())
+			.read(token)
 			.map(jws -> {
 				this.validators.forEach(jws.getPayload()::validate);
 				return new JWTSAuthentication<>(jws);
 			})
 			.onErrorResume(JOSEProcessingException.class, e -> Mono.just(new JWTSAuthentication<>(e)));
 	}
+
+	/**
+	 * <p>
+	 * Caches the specified verified token.
+	 * </p>
+	 *
+	 * <p>
+	 * The token is cached until the cache time to live is reached or until it expires whichever comes first.
+	 * </p>
+	 *
+	 * @param <A>    the JWT claims set type
+	 * @param cache  the cache
+	 * @param digest the token digest
+	 * @param jws    the verified token
+	 */
+	private static <A extends JWTClaimsSet> void cache(ExpiringCache<String, JWS<A>> cache, String digest, JWS<A> jws) {
+		Duration ttl = cache.getTimeToLive();
+		Long exp = jws.getPayload().getExpirationTime();
+		if(exp != null) {
+			Duration expiresIn = Duration.ofMillis(exp * 1000 - System.currentTimeMillis());
+			if(expiresIn.compareTo(ttl) < 0) {
+				ttl = expiresIn;
+			}
+		}
+		cache.put(digest, jws, ttl);
+	}
+
+	/**
+	 * <p>
+	 * Returns the SHA-256 digest of the specified token.
+	 * </p>
+	 *
+	 * @param token a token
+	 *
+	 * @return a Base64 encoded digest
+	 */
+	private static String digest(String token) {
+		try {
+			return Base64.getEncoder().encodeToString(JCAInstances.messageDigest("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+		}
+		catch(NoSuchAlgorithmException e) {
+			// SHA-256 is always available
+			throw new IllegalStateException(e);
+		}
+	}
 }
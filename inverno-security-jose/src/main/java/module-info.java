@@ -174,6 +174,7 @@ module io.inverno.mod.security.jose {
 	requires org.apache.logging.log4j;
 	requires transitive org.reactivestreams;
 	requires transitive reactor.core;
+	requires java.net.http;
 	
 	exports io.inverno.mod.security.jose.internal to com.fasterxml.jackson.databind;
 	exports io.inverno.mod.security.jose.internal.jwe to com.fasterxml.jackson.databind;
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.security.jose.internal.jwk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.inverno.mod.security.jose.JOSEConfiguration;
+import io.inverno.mod.security.jose.jwk.JWKResolveException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class GenericJWKURLResolverTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private JWKSetServer server;
+
+	@BeforeEach
+	public void init() throws IOException {
+		this.server = new JWKSetServer();
+	}
+
+	@AfterEach
+	public void destroy() throws IOException {
+		this.server.close();
+	}
+
+	@Test
+	public void testNoCache() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(MAPPER);
+
+		// The resource service is missing
+		Assertions.assertEquals(List.of(), this.resolve(resolver, null));
+		Assertions.assertEquals(0, this.server.getRequestCount());
+	}
+
+	@Test
+	public void testCacheControlMaxAge() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(60000L), MAPPER);
+		try {
+			this.server.setResponse("max-age=60", "k1");
+
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, null));
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k1"));
+			Assertions.assertEquals(1, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	@Test
+	public void testCacheControlNoStore() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(60000L), MAPPER);
+		try {
+			this.server.setResponse("no-store", "k1");
+
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, null));
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, null));
+			Assertions.assertEquals(2, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	@Test
+	public void testStaleWhileRevalidate() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(0L), MAPPER);
+		try {
+			this.server.setResponse("max-age=0, stale-while-revalidate=60", "k1");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, null));
+
+			// The stale JWK set is returned and refreshed in the background
+			this.server.setResponse("max-age=60", "k2");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, null));
+
+			Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> this.server.getRequestCount() >= 2);
+			Assertions.assertEquals(2, this.server.getRequestCount());
+
+			Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> Assertions.assertEquals(List.of("k2"), this.resolve(resolver, null)));
+			Assertions.assertEquals(2, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	@Test
+	public void testUnknownKeyId() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(0L), MAPPER);
+		try {
+			this.server.setResponse("max-age=60", "k1");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k1"));
+
+			// Key rotation
+			this.server.setResponse("max-age=60", "k1", "k2");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k1"));
+			Assertions.assertEquals(List.of("k1", "k2"), this.resolve(resolver, "k2"));
+			Assertions.assertEquals(2, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	@Test
+	public void testUnknownKeyIdMinRefreshInterval() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(60000L), MAPPER);
+		try {
+			this.server.setResponse("max-age=60", "k1");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k1"));
+
+			this.server.setResponse("max-age=60", "k2");
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k2"));
+			Assertions.assertEquals(List.of("k1"), this.resolve(resolver, "k3"));
+			Assertions.assertEquals(1, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	@Test
+	public void testError() {
+		GenericJWKURLResolver resolver = new GenericJWKURLResolver(new TestJOSEConfiguration(60000L), MAPPER);
+		try {
+			this.server.setStatus(404);
+
+			Assertions.assertThrows(JWKResolveException.class, () -> this.resolve(resolver, null));
+			Assertions.assertEquals(1, this.server.getRequestCount());
+		}
+		finally {
+			resolver.destroy();
+		}
+	}
+
+	private List<String> resolve(GenericJWKURLResolver resolver, String kid) {
+		return Flux.from(resolver.resolveJWKSetURL(this.server.getURI(), kid))
+			.map(key -> (String)key.get("kid"))
+			.collectList()
+			.block();
+	}
+
+	private static class TestJOSEConfiguration implements JOSEConfiguration {
+
+		private final long minRefreshInterval;
+
+		public TestJOSEConfiguration(long minRefreshInterval) {
+			this.minRefreshInterval = minRefreshInterval;
+		}
+
+		@Override
+		public boolean jku_cache_enabled() {
+			return true;
+		}
+
+		@Override
+		public long jku_cache_min_refresh_interval() {
+			return this.minRefreshInterval;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A minimal HTTP/1.1 server serving a JWK set.
+	 * </p>
+	 */
+	private static class JWKSetServer implements AutoCloseable {
+
+		private final ServerSocket serverSocket;
+
+		private final AtomicInteger requestCount;
+
+		private volatile int status;
+
+		private volatile String cacheControl;
+
+		private volatile String body;
+
+		public JWKSetServer() throws IOException {
+			this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			this.requestCount = new AtomicInteger();
+			this.status = 200;
+			this.body = "{\"keys\":[]}";
+
+			Thread thread = new Thread(this::serve, "jwk-set-server");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public URI getURI() {
+			return URI.create("http://127.0.0.1:" + this.serverSocket.getLocalPort() + "/keys.jwks");
+		}
+
+		public int getRequestCount() {
+			return this.requestCount.get();
+		}
+
+		public void setStatus(int status) {
+			this.status = status;
+		}
+
+		public void setResponse(String cacheControl, String... kids) {
+			this.cacheControl = cacheControl;
+			this.body = "{\"keys\":[" + List.of(kids).stream().map(kid -> "{\"kty\":\"oct\",\"kid\":\"" + kid + "\",\"k\":\"AAAA\"}").collect(Collectors.joining(",")) + "]}";
+		}
+
+		private void serve() {
+			while(!this.serverSocket.isClosed()) {
+				try(Socket socket = this.serverSocket.accept()) {
+					BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+					String line;
+					while((line = reader.readLine()) != null && !line.isEmpty()) {
+						// ignore request headers
+					}
+					this.requestCount.incrementAndGet();
+
+					byte[] content = this.body.getBytes(StandardCharsets.UTF_8);
+					StringBuilder response = new StringBuilder()
+						.append("HTTP/1.1 ").append(this.status).append(this.status == 200 ? " OK" : " Error").append("\r\n")
+						.append("content-type: application/json\r\n")
+						.append("content-length: ").append(content.length).append("\r\n")
+						.append("connection: close\r\n");
+					if(this.cacheControl != null) {
+						response.append("cache-control: ").append(this.cacheControl).append("\r\n");
+					}
+					response.append("\r\n");
+
+					OutputStream output = socket.getOutputStream();
+					output.write(response.toString().getBytes(StandardCharsets.US_ASCII));
+					output.write(content);
+					output.flush();
+				}
+				catch(IOException e) {
+					// server closed
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+		}
+	}
+}
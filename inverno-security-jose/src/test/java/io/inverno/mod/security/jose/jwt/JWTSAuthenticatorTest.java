@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.security.jose.jwt;
+
+import io.inverno.core.v1.Application;
+import io.inverno.mod.security.authentication.TokenCredentials;
+import io.inverno.mod.security.jose.Jose;
+import io.inverno.mod.security.jose.JoseTest;
+import io.inverno.mod.security.jose.jwa.OCTAlgorithm;
+import io.inverno.mod.security.jose.jwk.InMemoryJWKStore;
+import io.inverno.mod.security.jose.jwk.oct.OCTJWK;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class JWTSAuthenticatorTest {
+
+	static {
+		System.setProperty("org.apache.logging.log4j.simplelog.level", "INFO");
+		System.setProperty("org.apache.logging.log4j.simplelog.logFile", "system.out");
+	}
+
+	private static Jose jose;
+
+	private static Mono<? extends OCTJWK> key;
+
+	@BeforeAll
+	public static void init() {
+		jose = Application.run(new Jose.Builder(JoseTest.MEDIA_TYPE_CONVERTERS).setJwkStore(new InMemoryJWKStore()));
+		key = jose.jwkService().oct().generator()
+			.algorithm(OCTAlgorithm.HS256.getAlgorithm())
+			.generate()
+			.cache();
+	}
+
+	@AfterAll
+	public static void destroy() {
+		jose.stop();
+	}
+
+	private String createToken(long exp) {
+		return jose.jwtService().jwsBuilder(key)
+			.header(header -> header.algorithm(OCTAlgorithm.HS256.getAlgorithm()))
+			.payload(JWTClaimsSet.of("joe", exp).build())
+			.build()
+			.block()
+			.toCompact();
+	}
+
+	@Test
+	public void testAuthenticate() {
+		JWTSAuthenticator<JWTClaimsSet> authenticator = new JWTSAuthenticator<>(jose.jwtService(), key);
+		String token = this.createToken(System.currentTimeMillis() / 1000 + 3600);
+
+		JWTSAuthentication<JWTClaimsSet> authentication1 = authenticator.authenticate(new TokenCredentials(token)).block();
+		JWTSAuthentication<JWTClaimsSet> authentication2 = authenticator.authenticate(new TokenCredentials(token)).block();
+
+		Assertions.assertTrue(authentication1.isAuthenticated());
+		Assertions.assertTrue(authentication2.isAuthenticated());
+		Assertions.assertNotSame(authentication1.getJwt(), authentication2.getJwt());
+	}
+
+	@Test
+	public void testCache() {
+		JWTSAuthenticator<JWTClaimsSet> authenticator = new JWTSAuthenticator<>(jose.jwtService(), key);
+		authenticator.setCache(Duration.ofMinutes(1), 10);
+		String token = this.createToken(System.currentTimeMillis() / 1000 + 3600);
+
+		JWTSAuthentication<JWTClaimsSet> authentication1 = authenticator.authenticate(new TokenCredentials(token)).block();
+		JWTSAuthentication<JWTClaimsSet> authentication2 = authenticator.authenticate(new TokenCredentials(token)).block();
+
+		Assertions.assertTrue(authentication1.isAuthenticated());
+		Assertions.assertTrue(authentication2.isAuthenticated());
+		// The token was not verified twice
+		Assertions.assertSame(authentication1.getJwt(), authentication2.getJwt());
+		Assertions.assertEquals(token, authentication2.getToken());
+
+		// Changing validators clears the cache
+		authenticator.validate(JWTClaimsSetValidator.issuer("jane"));
+		JWTSAuthentication<JWTClaimsSet> authentication3 = authenticator.authenticate(new TokenCredentials(token)).block();
+		Assertions.assertNotSame(authentication1.getJwt(), authentication3.getJwt());
+		Assertions.assertFalse(authentication3.isAuthenticated());
+
+		// Invalid tokens are not cached
+		JWTSAuthentication<JWTClaimsSet> authentication4 = authenticator.authenticate(new TokenCredentials(token)).block();
+		Assertions.assertNotSame(authentication3.getJwt(), authentication4.getJwt());
+	}
+
+	@Test
+	public void testCacheInvalidSignature() {
+		JWTSAuthenticator<JWTClaimsSet> authenticator = new JWTSAuthenticator<>(jose.jwtService(), key);
+		authenticator.setCache(Duration.ofMinutes(1), 10);
+		String token = this.createToken(System.currentTimeMillis() / 1000 + 3600);
+
+		Assertions.assertTrue(authenticator.authenticate(new TokenCredentials(token)).block().isAuthenticated());
+
+		String tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+		JWTSAuthentication<JWTClaimsSet> authentication = authenticator.authenticate(new TokenCredentials(tamperedToken)).block();
+		Assertions.assertFalse(authentication.isAuthenticated());
+		Assertions.assertNull(authentication.getJwt());
+	}
+
+	@Test
+	public void testCacheExpiredToken() {
+		JWTSAuthenticator<JWTClaimsSet> authenticator = new JWTSAuthenticator<>(jose.jwtService(), key);
+		authenticator.setCache(Duration.ofMinutes(1), 10);
+		String token = this.createToken(System.currentTimeMillis() / 1000 - 10);
+
+		JWTSAuthentication<JWTClaimsSet> authentication1 = authenticator.authenticate(new TokenCredentials(token)).block();
+		JWTSAuthentication<JWTClaimsSet> authentication2 = authenticator.authenticate(new TokenCredentials(token)).block();
+
+		Assertions.assertFalse(authentication1.isAuthenticated());
+		Assertions.assertFalse(authentication2.isAuthenticated());
+		Assertions.assertNotSame(authentication1.getJwt(), authentication2.getJwt());
+	}
+}
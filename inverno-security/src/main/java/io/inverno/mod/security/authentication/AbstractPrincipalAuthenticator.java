@@ -96,12 +96,14 @@ public abstract class AbstractPrincipalAuthenticator<A extends PrincipalCredenti
 		return this.credentialsResolver
 			.resolveCredentials(credentials.getUsername())
 			.switchIfEmpty(Mono.error(() -> new CredentialsNotFoundException("Credentials not found")))
-			.map(resolvedCredentials -> {
-				if(!this.credentialsMatcher.matches(credentials, resolvedCredentials)) {
-					throw new InvalidCredentialsException("Invalid credentials");
-				}
-				return this.createAuthenticated(resolvedCredentials);
-			})
+			.flatMap(resolvedCredentials -> this.credentialsMatcher.matchesAsync(credentials, resolvedCredentials)
+				.map(matches -> {
+					if(!matches) {
+						throw new InvalidCredentialsException("Invalid credentials");
+					}
+					return this.createAuthenticated(resolvedCredentials);
+				})
+			)
 			.onErrorResume(AuthenticationException.class, e -> {
 				if(!this.terminal) {
 					LOGGER.error("Failed to authenticate", e);
@@ -17,6 +17,7 @@ package io.inverno.mod.security.authentication;
 
 import io.inverno.mod.security.SecurityException;
 import io.inverno.mod.security.authentication.user.UserAuthenticator;
+import reactor.core.publisher.Mono;
 
 /**
  * <p>
@@ -69,4 +70,25 @@ public interface CredentialsMatcher<A extends Credentials, B extends Credentials
 	 * @throws SecurityException if there was an error matching credentials
 	 */
 	boolean matches(A credentials, B otherCredentials) throws SecurityException;
+
+	/**
+	 * <p>
+	 * Determines asynchronously whether the two specified credentials are matching.
+	 * </p>
+	 *
+	 * <p>
+	 * This method is invoked by authenticators within the reactive authentication chain, implementations performing expensive operations such as password key derivation should override it in order
+	 * to offload the matching from the calling thread which is usually an event loop thread. The default implementation simply invokes {@link #matches(Credentials, Credentials)} on subscription.
+	 * </p>
+	 *
+	 * @param credentials      the credentials
+	 * @param otherCredentials the other credentials
+	 *
+	 * @return a mono emitting true if the credentials matches the other credentials, false otherwise or a {@link SecurityException} if there was an error matching credentials
+	 *
+	 * @since 1.14
+	 */
+	default Mono<Boolean> matchesAsync(A credentials, B otherCredentials) {
+		return Mono.fromSupplier(() -> this.matches(credentials, otherCredentials));
+	}
 }
@@ -15,27 +15,428 @@
  */
 package io.inverno.mod.security.authentication;
 
+import io.inverno.mod.base.concurrent.ExpiringCache;
+import io.inverno.mod.base.concurrent.Reactor;
 import io.inverno.mod.security.SecurityException;
+import io.inverno.mod.security.authentication.password.Password;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 /**
  * <p>
  * A login credentials matcher is used to verify that two login credentials are matching.
  * </p>
- * 
+ *
  * <p>
  * Two login credentials are matching if an only if they are defined for the same username and their password are matching.
  * </p>
- * 
+ *
+ * <p>
+ * Matching passwords encoded with a key derivation function such as Argon2, BCrypt, SCrypt or PBKDF2 is deliberately expensive and should not be done on an event loop thread. When created with an
+ * {@link Executor}, the matcher matches passwords asynchronously on that executor in {@link #matchesAsync(LoginCredentials, LoginCredentials)}. The executor should be bounded and reject tasks when
+ * it is saturated as returned by {@link #createExecutor(int, int)}, a {@link SecurityException} is then raised right away instead of queuing authentications indefinitely.
+ * </p>
+ *
+ * <p>
+ * When created with a {@link Reactor}, the result of an asynchronous match is emitted on the event loop that subscribed to the match so that the authentication chain resumes on that event loop
+ * instead of an executor thread. A pending match is removed from the executor when its subscription is cancelled.
+ * </p>
+ *
+ * <p>
+ * The matcher can also cache successful matches for a short period of time in order to avoid deriving keys again when the same credentials are authenticated repeatedly (e.g. HTTP basic
+ * authentication). Cache entries are identified by a keyed hash (HMAC-SHA256) of the credentials computed with a random secret key generated when the matcher is created, credentials are then never
+ * stored in clear text. A cached match is invalidated as soon as the trusted credentials change.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.5
- * 
+ *
  * @param <A> the type of the first login credentials
  * @param <B> the type of the second login credentials
  */
 public class LoginCredentialsMatcher<A extends LoginCredentials, B extends LoginCredentials> implements CredentialsMatcher<A, B> {
 
+	/**
+	 * The keyed hash algorithm used to identify cached matches.
+	 */
+	private static final String CACHE_KEY_ALGORITHM = "HmacSHA256";
+
+	/**
+	 * The default maximum number of pending matches per executor thread.
+	 */
+	private static final int DEFAULT_MAX_PENDING_PER_THREAD = 16;
+
+	/**
+	 * The reactor used to emit asynchronous matches on the subscribing event loop.
+	 */
+	private final Reactor reactor;
+
+	/**
+	 * The executor used to match passwords asynchronously.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The secret key used to identify cached matches.
+	 */
+	private final SecretKeySpec cacheKey;
+
+	/**
+	 * The cached matches indexed by keyed hash.
+	 */
+	private final ExpiringCache<String, Boolean> cache;
+
+	/**
+	 * <p>
+	 * Creates a login credentials matcher that matches passwords on the calling thread without caching.
+	 * </p>
+	 */
+	public LoginCredentialsMatcher() {
+		this(null, null, null, 0);
+	}
+
+	/**
+	 * <p>
+	 * Creates a login credentials matcher that matches passwords asynchronously on the specified executor without caching.
+	 * </p>
+	 *
+	 * @param executor the executor used to match passwords
+	 *
+	 * @since 1.14
+	 */
+	public LoginCredentialsMatcher(Executor executor) {
+		this(null, executor, null, 0);
+	}
+
+	/**
+	 * <p>
+	 * Creates a login credentials matcher that matches passwords asynchronously on the specified executor without caching and emits matches on the subscribing event loop.
+	 * </p>
+	 *
+	 * @param reactor  the reactor
+	 * @param executor the executor used to match passwords
+	 *
+	 * @since 1.14
+	 */
+	public LoginCredentialsMatcher(Reactor reactor, Executor executor) {
+		this(reactor, executor, null, 0);
+	}
+
+	/**
+	 * <p>
+	 * Creates a login credentials matcher that matches passwords asynchronously on the specified executor and caches successful matches.
+	 * </p>
+	 *
+	 * @param executor     the executor used to match passwords or null to match passwords on the calling thread
+	 * @param cacheTTL     the time to live of a successful match in the cache or null to disable caching
+	 * @param cacheMaxSize the maximum number of cached matches
+	 *
+	 * @since 1.14
+	 */
+	public LoginCredentialsMatcher(Executor executor, Duration cacheTTL, int cacheMaxSize) {
+		this(null, executor, cacheTTL, cacheMaxSize);
+	}
+
+	/**
+	 * <p>
+	 * Creates a login credentials matcher that matches passwords asynchronously on the specified executor, emits matches on the subscribing event loop and caches successful matches.
+	 * </p>
+	 *
+	 * @param reactor      the reactor or null to emit matches on the executor threads
+	 * @param executor     the executor used to match passwords or null to match passwords on the calling thread
+	 * @param cacheTTL     the time to live of a successful match in the cache or null to disable caching
+	 * @param cacheMaxSize the maximum number of cached matches
+	 *
+	 * @since 1.14
+	 */
+	public LoginCredentialsMatcher(Reactor reactor, Executor executor, Duration cacheTTL, int cacheMaxSize) {
+		this.reactor = reactor;
+		this.executor = executor;
+		if(cacheTTL != null && !cacheTTL.isNegative() && !cacheTTL.isZero() && cacheMaxSize > 0) {
+			byte[] secret = new byte[32];
+			new SecureRandom().nextBytes(secret);
+			this.cacheKey = new SecretKeySpec(secret, CACHE_KEY_ALGORITHM);
+			this.cache = new ExpiringCache<>(cacheMaxSize, cacheTTL);
+		}
+		else {
+			this.cacheKey = null;
+			this.cache = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates a bounded executor suitable for matching passwords with a number of threads equal to the number of available processors.
+	 * </p>
+	 *
+	 * @return a bounded executor
+	 *
+	 * @since 1.14
+	 */
+	public static ExecutorService createExecutor() {
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		return createExecutor(parallelism, parallelism * DEFAULT_MAX_PENDING_PER_THREAD);
+	}
+
+	/**
+	 * <p>
+	 * Creates a bounded executor suitable for matching passwords.
+	 * </p>
+	 *
+	 * <p>
+	 * The resulting executor uses a fixed number of daemon threads and rejects tasks when the specified number of pending tasks is reached.
+	 * </p>
+	 *
+	 * @param parallelism the number of threads
+	 * @param maxPending  the maximum number of pending tasks
+	 *
+	 * @return a bounded executor
+	 *
+	 * @since 1.14
+	 */
+	public static ExecutorService createExecutor(int parallelism, int maxPending) {
+		AtomicInteger threadIndex = new AtomicInteger();
+		return new ThreadPoolExecutor(
+			parallelism,
+			parallelism,
+			0L,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(maxPending),
+			runnable -> {
+				Thread thread = new Thread(runnable, "inverno-credentials-matcher-" + threadIndex.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+	}
+
 	@Override
 	public boolean matches(A credentials, B otherCredentials) throws SecurityException {
-		return credentials.getUsername().equals(otherCredentials.getUsername()) && credentials.getPassword().matches(otherCredentials.getPassword());
+		if(!credentials.getUsername().equals(otherCredentials.getUsername())) {
+			return false;
+		}
+		String cacheEntry = this.getCacheEntry(credentials, otherCredentials);
+		if(this.isCached(cacheEntry)) {
+			return true;
+		}
+		return this.matchPasswords(credentials, otherCredentials, cacheEntry);
+	}
+
+	@Override
+	public Mono<Boolean> matchesAsync(A credentials, B otherCredentials) {
+		if(this.executor == null) {
+			return CredentialsMatcher.super.matchesAsync(credentials, otherCredentials);
+		}
+		return Mono.defer(() -> {
+			if(!credentials.getUsername().equals(otherCredentials.getUsername())) {
+				return Mono.just(false);
+			}
+			String cacheEntry = this.getCacheEntry(credentials, otherCredentials);
+			if(this.isCached(cacheEntry)) {
+				return Mono.just(true);
+			}
+			return Mono.create(sink -> {
+				MatchTask task = new MatchTask(sink, this.reactor != null ? this.reactor.eventLoop().orElse(null) : null, credentials, otherCredentials, cacheEntry);
+				sink.onCancel(task::cancel);
+				try {
+					this.executor.execute(task);
+				}
+				catch(RejectedExecutionException e) {
+					sink.error(new SecurityException("Credentials matching rejected: too many pending requests", e));
+				}
+			});
+		});
+	}
+
+	/**
+	 * <p>
+	 * Matches the passwords of the specified credentials and caches successful matches.
+	 * </p>
+	 *
+	 * @param credentials      the credentials
+	 * @param otherCredentials the other credentials
+	 * @param cacheEntry       the cache entry identifying the credentials or null if caching is disabled
+	 *
+	 * @return true if passwords are matching, false otherwise
+	 *
+	 * @throws SecurityException if there was an error matching passwords
+	 */
+	private boolean matchPasswords(A credentials, B otherCredentials, String cacheEntry) throws SecurityException {
+		boolean matches = credentials.getPassword().matches(otherCredentials.getPassword());
+		if(matches && cacheEntry != null) {
+			this.cache.put(cacheEntry, Boolean.TRUE);
+		}
+		return matches;
+	}
+
+	/**
+	 * <p>
+	 * Computes the cache entry identifying the specified credentials.
+	 * </p>
+	 *
+	 * <p>
+	 * The cache entry is a keyed hash of the username and both passwords types and values, any change to the trusted credentials therefore results in a different entry.
+	 * </p>
+	 *
+	 * @param credentials      the credentials
+	 * @param otherCredentials the other credentials
+	 *
+	 * @return a cache entry or null if caching is disabled
+	 *
+	 * @throws SecurityException if there was an error computing the keyed hash
+	 */
+	private String getCacheEntry(A credentials, B otherCredentials) throws SecurityException {
+		if(this.cache == null) {
+			return null;
+		}
+		Password<?, ?> password = credentials.getPassword();
+		Password<?, ?> otherPassword = otherCredentials.getPassword();
+		if(password == null || otherPassword == null) {
+			return null;
+		}
+		try {
+			Mac mac = Mac.getInstance(CACHE_KEY_ALGORITHM);
+			mac.init(this.cacheKey);
+			this.updateMac(mac, credentials.getUsername());
+			this.updateMac(mac, password.getClass().getName());
+			this.updateMac(mac, password.getValue());
+			this.updateMac(mac, otherPassword.getClass().getName());
+			this.updateMac(mac, otherPassword.getValue());
+			return Base64.getEncoder().encodeToString(mac.doFinal());
+		}
+		catch(GeneralSecurityException e) {
+			throw new SecurityException("Error computing credentials cache entry", e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Updates the specified MAC with a length-prefixed value in order to prevent ambiguous concatenations.
+	 * </p>
+	 *
+	 * @param mac   a MAC
+	 * @param value a value
+	 */
+	private void updateMac(Mac mac, String value) {
+		byte[] bytes = Objects.toString(value, "").getBytes(StandardCharsets.UTF_8);
+		mac.update((byte)(bytes.length >>> 24));
+		mac.update((byte)(bytes.length >>> 16));
+		mac.update((byte)(bytes.length >>> 8));
+		mac.update((byte)bytes.length);
+		mac.update(bytes);
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the specified cache entry exists and has not expired.
+	 * </p>
+	 *
+	 * @param cacheEntry a cache entry or null
+	 *
+	 * @return true if the credentials are known to match, false otherwise
+	 */
+	private boolean isCached(String cacheEntry) {
+		return cacheEntry != null && this.cache.get(cacheEntry) != null;
+	}
+
+	/**
+	 * <p>
+	 * A password matching task executed on the matcher executor.
+	 * </p>
+	 *
+	 * <p>
+	 * The result of the match is emitted on the event loop that subscribed to the match when there is one. A cancelled task is removed from the executor queue when the executor is a
+	 * {@link ThreadPoolExecutor} so that it doesn't count against its capacity.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class MatchTask extends FutureTask<Boolean> {
+
+		/**
+		 * The match sink.
+		 */
+		private final MonoSink<Boolean> sink;
+
+		/**
+		 * The subscribing event loop or null.
+		 */
+		private final Executor eventLoop;
+
+		/**
+		 * <p>
+		 * Creates a match task.
+		 * </p>
+		 *
+		 * @param sink             the match sink
+		 * @param eventLoop        the subscribing event loop or null to emit the match on the executor thread
+		 * @param credentials      the credentials
+		 * @param otherCredentials the other credentials
+		 * @param cacheEntry       the cache entry identifying the credentials or null if caching is disabled
+		 */
+		public MatchTask(MonoSink<Boolean> sink, Executor eventLoop, A credentials, B otherCredentials, String cacheEntry) {
+			super(() -> LoginCredentialsMatcher.this.matchPasswords(credentials, otherCredentials, cacheEntry));
+			this.sink = sink;
+			this.eventLoop = eventLoop;
+		}
+
+		/**
+		 * <p>
+		 * Cancels the task and removes it from the executor queue.
+		 * </p>
+		 */
+		public void cancel() {
+			if(this.cancel(false) && LoginCredentialsMatcher.this.executor instanceof ThreadPoolExecutor) {
+				((ThreadPoolExecutor)LoginCredentialsMatcher.this.executor).remove(this);
+			}
+		}
+
+		@Override
+		protected void done() {
+			if(this.isCancelled()) {
+				return;
+			}
+			Runnable signal;
+			try {
+				Boolean matches = this.get();
+				signal = () -> this.sink.success(matches);
+			}
+			catch(ExecutionException e) {
+				signal = () -> this.sink.error(e.getCause());
+			}
+			catch(Throwable e) {
+				signal = () -> this.sink.error(e);
+			}
+
+			if(this.eventLoop != null) {
+				try {
+					this.eventLoop.execute(signal);
+					return;
+				}
+				catch(RejectedExecutionException e) {
+					// The event loop is shutting down
+				}
+			}
+			signal.run();
+		}
 	}
 }
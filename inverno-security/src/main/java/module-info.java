@@ -106,6 +106,7 @@
  * @since 1.5
  */
 module io.inverno.mod.security {
+	requires transitive io.inverno.mod.base;
 	requires static io.inverno.mod.configuration;
 	requires static io.inverno.mod.redis;
 	
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.security.authentication;
+
+import io.inverno.mod.base.concurrent.Reactor;
+import io.inverno.mod.security.SecurityException;
+import io.inverno.mod.security.authentication.password.MessageDigestPassword;
+import io.inverno.mod.security.authentication.password.RawPassword;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.Disposable;
+
+/**
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class LoginCredentialsMatcherTest {
+
+	private static final LoginCredentials TRUSTED_CREDENTIALS = LoginCredentials.of("jsmith", new MessageDigestPassword.Encoder().encode("password"));
+
+	@Test
+	public void testMatches() {
+		LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>();
+
+		Assertions.assertTrue(matcher.matches(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS));
+		Assertions.assertFalse(matcher.matches(LoginCredentials.of("jsmith", new RawPassword("invalid")), TRUSTED_CREDENTIALS));
+		Assertions.assertFalse(matcher.matches(LoginCredentials.of("adoe", new RawPassword("password")), TRUSTED_CREDENTIALS));
+
+		Assertions.assertTrue(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+		Assertions.assertFalse(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("invalid")), TRUSTED_CREDENTIALS).block());
+	}
+
+	@Test
+	public void testMatchesAsync() {
+		ExecutorService executor = LoginCredentialsMatcher.createExecutor(1, 1);
+		try {
+			LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>(executor);
+
+			Assertions.assertTrue(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+			Assertions.assertFalse(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("invalid")), TRUSTED_CREDENTIALS).block());
+			Assertions.assertFalse(matcher.matchesAsync(LoginCredentials.of("adoe", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testMatchesAsyncOnEventLoop() throws Exception {
+		ExecutorService executor = LoginCredentialsMatcher.createExecutor(1, 1);
+		EventLoop eventLoop = new DefaultEventLoop();
+		try {
+			Reactor reactor = Mockito.mock(Reactor.class);
+			Mockito.when(reactor.eventLoop()).thenAnswer(ign -> eventLoop.inEventLoop() ? Optional.of(eventLoop) : Optional.empty());
+			LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>(reactor, executor);
+
+			// The match is emitted on the subscribing event loop
+			CompletableFuture<Boolean> inEventLoop = new CompletableFuture<>();
+			eventLoop.execute(() -> matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS)
+				.subscribe(
+					matches -> inEventLoop.complete(matches && eventLoop.inEventLoop()),
+					inEventLoop::completeExceptionally
+				)
+			);
+			Assertions.assertTrue(inEventLoop.get(5, TimeUnit.SECONDS));
+
+			// The match is emitted on the executor thread when not subscribed on an event loop
+			Assertions.assertTrue(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS)
+				.map(matches -> matches && Thread.currentThread().getName().startsWith("inverno-credentials-matcher-"))
+				.block()
+			);
+		}
+		finally {
+			executor.shutdownNow();
+			eventLoop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		ThreadPoolExecutor executor = (ThreadPoolExecutor)LoginCredentialsMatcher.createExecutor(1, 1);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>(executor);
+
+			// Occupy the executor thread so that the match is queued
+			executor.execute(() -> {
+				try {
+					latch.await();
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			Disposable subscription = matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).subscribe();
+			Assertions.assertEquals(1, executor.getQueue().size());
+
+			// The cancelled match is removed from the executor queue
+			subscription.dispose();
+			Assertions.assertEquals(0, executor.getQueue().size());
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRejection() throws InterruptedException {
+		ExecutorService executor = LoginCredentialsMatcher.createExecutor(1, 1);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>(executor);
+
+			// Saturate the executor: one running task and one pending task
+			executor.execute(() -> {
+				try {
+					latch.await();
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			executor.execute(() -> {});
+
+			Assertions.assertThrows(SecurityException.class, () -> matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCache() {
+		ExecutorService executor = LoginCredentialsMatcher.createExecutor(1, 1);
+		LoginCredentialsMatcher<LoginCredentials, LoginCredentials> matcher = new LoginCredentialsMatcher<>(executor, Duration.ofMinutes(1), 10);
+
+		Assertions.assertTrue(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+
+		// Cached matches no longer require the executor
+		executor.shutdownNow();
+		Assertions.assertTrue(matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS).block());
+		Assertions.assertTrue(matcher.matches(LoginCredentials.of("jsmith", new RawPassword("password")), TRUSTED_CREDENTIALS));
+
+		// Other credentials are not cached
+		Assertions.assertThrows(SecurityException.class, () -> matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("invalid")), TRUSTED_CREDENTIALS).block());
+		Assertions.assertThrows(SecurityException.class, () -> matcher.matchesAsync(LoginCredentials.of("jsmith", new RawPassword("password")), LoginCredentials.of("jsmith", new MessageDigestPassword.Encoder().encode("password"))).block());
+	}
+}
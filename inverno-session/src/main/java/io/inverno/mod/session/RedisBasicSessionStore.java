@@ -16,14 +16,34 @@
 package io.inverno.mod.session;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.inverno.mod.redis.RedisClient;
+import io.inverno.mod.redis.operations.EntryOptional;
+import io.inverno.mod.redis.operations.RedisScriptingReactiveOperations;
+import io.inverno.mod.session.internal.RedisSessionNearCache;
+import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -45,6 +65,28 @@ import reactor.core.publisher.Mono;
  * This implementation uses a {@link SessionDataSaveStrategy} to determine whether resolved session data should be saved along with the session.
  * </p>
  *
+ * <p>
+ * A near cache can be enabled in order to keep recently used sessions in a bounded local cache and avoid reading them from Redis on every request (see {@link Builder#nearCache(int, long)}). Session
+ * attributes and serialized session data are then fetched at once and written through the cache when a session is saved. Caches are kept coherent across nodes by invalidation messages which are
+ * published by the store on the {@link #getInvalidationChannel() invalidation channel} when the data or the expiration settings of a session are saved or when a session is moved or removed and
+ * which must be fed back to the store using {@link #subscribeInvalidations(Publisher)}, typically from a Redis pub/sub subscription to that channel. Saves that only update the last accessed time of
+ * a session are not published, the last accessed time of a session cached by other nodes is then bounded by the near cache time to live. Redis client-side caching invalidation messages (i.e.
+ * {@code CLIENT TRACKING} in {@code BCAST} mode with the key prefix) can also be used, but since these messages don't identify the node that modified a session, they also evict sessions saved by
+ * the local node.
+ * </p>
+ *
+ * <p>
+ * Saving a session whose expiration settings and data are unchanged only updates its last accessed time and its expiration in Redis. These touch operations can be deferred and coalesced per session
+ * when write-behind is enabled (see {@link Builder#touchWriteBehind(long)}), pending touches are then periodically flushed to Redis in a single pipelined batch and only applied to sessions that still
+ * exist. Touches that couldn't be flushed are retried on the next flush. Pending touches must also be flushed using {@link #flush()} when shutting down the application.
+ * </p>
+ *
+ * <p>
+ * Session data are stored as a whole in a single hash field by default. When delta save is enabled (see {@link Builder#sessionDataDeltaSave(boolean)}), each top-level property of the session data is
+ * stored in a separate hash field and only the properties that have changed since session data were resolved are written when saving a session. Session data stored as a whole before enabling delta
+ * save are still resolved and migrated to separate hash fields the next time they are saved.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.13
  *
@@ -77,13 +119,39 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 	 * The data hash field name.
 	 */
 	public static final String FIELD_SESSION_DATA = "data";
+	/**
+	 * The session data property hash field name prefix used when delta save is enabled.
+	 */
+	public static final String FIELD_SESSION_DATA_PREFIX = "data:";
+
+	/**
+	 * The invalidation channel suffix.
+	 */
+	public static final String INVALIDATION_CHANNEL_SUFFIX = ":invalidation";
+
+	private static final Logger LOGGER = LogManager.getLogger(RedisBasicSessionStore.class);
+
+	/**
+	 * The script updating the last accessed time and the expiration of a session only if it still exists in order not to recreate a session that was removed or that has expired.
+	 */
+	private static final String TOUCH_SCRIPT =
+		"if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+		"redis.call('HSET', KEYS[1], '" + FIELD_LAST_ACCESSED_TIME + "', ARGV[1]) " +
+		"return redis.call(ARGV[2], KEYS[1], ARGV[3])";
 
 	private final RedisClient<String, String> redisClient;
+	private final ObjectMapper mapper;
 	private final ObjectReader sessionDataReader;
 	private final ObjectWriter sessionDataWriter;
 	private final SessionDataSaveStrategy<A> sessionDataSaveStrategy;
 	private final String keyPrefix;
 	private final String sessionKeyFormat;
+	private final String invalidationChannel;
+	private final RedisSessionNearCache<CachedSession> nearCache;
+	private final long touchFlushInterval;
+	private final Map<String, PendingTouch> pendingTouches;
+	private final AtomicBoolean touchFlushScheduled;
+	private final boolean sessionDataDeltaSave;
 
 	/**
 	 * <p>
@@ -98,6 +166,10 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 	 * @param sessionDataType         the session data type
 	 * @param sessionDataSaveStrategy the session data save strategy
 	 * @param keyPrefix               the key prefix
+	 * @param nearCacheMaxSize        the maximum number of sessions in the near cache or 0 to disable the near cache
+	 * @param nearCacheTimeToLive     the time to live in milliseconds of a session in the near cache
+	 * @param touchFlushInterval      the interval in milliseconds at which pending touch operations are flushed or 0 to disable write-behind
+	 * @param sessionDataDeltaSave    true to only save changed session data properties, false to save session data as a whole
 	 */
 	private RedisBasicSessionStore(
 			SessionIdGenerator<A, Session<A>> sessionIdGenerator,
@@ -107,15 +179,26 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 			ObjectMapper mapper,
 			Type sessionDataType,
 			SessionDataSaveStrategy<A> sessionDataSaveStrategy,
-			String keyPrefix) {
+			String keyPrefix,
+			int nearCacheMaxSize,
+			long nearCacheTimeToLive,
+			long touchFlushInterval,
+			boolean sessionDataDeltaSave) {
 		super(sessionIdGenerator, maxInactiveInterval, expireAfterPeriod);
 		this.redisClient = redisClient;
+		this.mapper = mapper;
 		JavaType javaSessionDataType = mapper.constructType(sessionDataType);
 		this.sessionDataReader = mapper.readerFor(javaSessionDataType);
 		this.sessionDataWriter = mapper.writerFor(javaSessionDataType);
 		this.sessionDataSaveStrategy = sessionDataSaveStrategy;
 		this.keyPrefix = keyPrefix;
 		this.sessionKeyFormat = keyPrefix + ":%s";
+		this.invalidationChannel = keyPrefix + INVALIDATION_CHANNEL_SUFFIX;
+		this.nearCache = nearCacheMaxSize > 0 ? new RedisSessionNearCache<>(keyPrefix + ":", this.invalidationChannel, nearCacheMaxSize, nearCacheTimeToLive) : null;
+		this.touchFlushInterval = touchFlushInterval;
+		this.pendingTouches = touchFlushInterval > 0 ? new ConcurrentHashMap<>() : null;
+		this.touchFlushScheduled = new AtomicBoolean();
+		this.sessionDataDeltaSave = sessionDataDeltaSave;
 	}
 
 	/**
@@ -202,6 +285,108 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 		return keyPrefix;
 	}
 
+	/**
+	 * <p>
+	 * Returns the Redis pub/sub channel on which near cache invalidation messages are published.
+	 * </p>
+	 *
+	 * <p>
+	 * The channel is the key prefix followed by {@link #INVALIDATION_CHANNEL_SUFFIX}.
+	 * </p>
+	 *
+	 * @return the invalidation channel
+	 *
+	 * @since 1.14
+	 */
+	public String getInvalidationChannel() {
+		return invalidationChannel;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the near cache is enabled.
+	 * </p>
+	 *
+	 * @return true if the near cache is enabled, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	public boolean isNearCacheEnabled() {
+		return this.nearCache != null;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether touch operations are written behind.
+	 * </p>
+	 *
+	 * @return true if touch write-behind is enabled, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	public boolean isTouchWriteBehindEnabled() {
+		return this.pendingTouches != null;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether only changed session data properties are saved.
+	 * </p>
+	 *
+	 * @return true if session data delta save is enabled, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	public boolean isSessionDataDeltaSaveEnabled() {
+		return this.sessionDataDeltaSave;
+	}
+
+	/**
+	 * <p>
+	 * Subscribes the near cache to the specified invalidation messages.
+	 * </p>
+	 *
+	 * <p>
+	 * Messages are typically received from a Redis pub/sub subscription to the {@link #getInvalidationChannel() invalidation channel}, they can also be the keys reported by Redis client-side caching
+	 * invalidation messages. An empty message clears the near cache.
+	 * </p>
+	 *
+	 * @param messages the invalidation messages publisher
+	 *
+	 * @return a disposable to cancel the subscription
+	 *
+	 * @throws IllegalStateException if the near cache is disabled
+	 *
+	 * @since 1.14
+	 */
+	public Disposable subscribeInvalidations(Publisher<String> messages) throws IllegalStateException {
+		if(this.nearCache == null) {
+			throw new IllegalStateException("Near cache is disabled");
+		}
+		return this.nearCache.subscribe(messages);
+	}
+
+	/**
+	 * <p>
+	 * Flushes pending touch operations to Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * When touch write-behind is enabled, this method must be invoked before shutting down the application (i.e. before closing the Redis client) in order to persist touch operations that have not
+	 * been flushed yet, otherwise sessions might expire earlier than expected.
+	 * </p>
+	 *
+	 * @return a mono for flushing pending touch operations
+	 *
+	 * @since 1.14
+	 */
+	public Mono<Void> flush() {
+		if(this.pendingTouches == null) {
+			return Mono.empty();
+		}
+		return Mono.defer(this::flushTouches);
+	}
+
 	/**
 	 * <p>
 	 * Returns the session Redis key for the specified session id.
@@ -219,6 +404,9 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 	public Mono<Session<A>> create() {
 		return Mono.defer(() -> {
 			RedisSession<A> session = new RedisSession<>(this.sessionIdGenerator, this, this.maxInactiveInterval, this.maxInactiveInterval == null ? System.currentTimeMillis() + this.expireAfterPeriod : null);
+			if(this.sessionDataDeltaSave) {
+				session.setSessionDataSnapshot(this.mapper.createObjectNode());
+			}
 			return session.refreshId(true)
 				.flatMap(ign -> this.save(session))
 				.thenReturn(session);
@@ -227,59 +415,228 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 
 	@Override
 	public Mono<Session<A>> get(String sessionId) {
-		return this.redisClient.hmget(this.getSessionKey(sessionId), keys -> keys
-				.key(FIELD_CREATION_TIME)
-				.key(FIELD_LAST_ACCESSED_TIME)
-				.key(FIELD_MAX_INACTIVE_INTERVAL)
-				.key(FIELD_EXPIRATION_TIME)
-			)
-			.collectList()
-			.mapNotNull(fields -> {
-				if(fields.get(0).getValue().isEmpty()) {
-					return null;
-				}
-				long creationTime = fields.get(0).getValue().map(Long::parseLong).orElseThrow(IllegalStateException::new);
-				long lastAccessedTime = fields.get(1).getValue().map(Long::parseLong).orElseThrow(IllegalStateException::new);
-				Long maxInactiveInterval = fields.get(2).getValue().filter(s -> !s.isBlank()).map(Long::valueOf).orElse(null);
-				Long expirationTime = fields.get(3).getValue().filter(s -> !s.isBlank()).map(Long::valueOf).orElse(null);
-
-				RedisSession<A> session = new RedisSession<>(this.sessionIdGenerator, this, sessionId, creationTime, lastAccessedTime, maxInactiveInterval, expirationTime);
+		String sessionKey = this.getSessionKey(sessionId);
+		Mono<CachedSession> cachedSession;
+		if(this.nearCache == null) {
+			cachedSession = this.redisClient.hmget(sessionKey, keys -> keys
+					.key(FIELD_CREATION_TIME)
+					.key(FIELD_LAST_ACCESSED_TIME)
+					.key(FIELD_MAX_INACTIVE_INTERVAL)
+					.key(FIELD_EXPIRATION_TIME)
+				)
+				.collectList()
+				.mapNotNull(CachedSession::from);
+		}
+		else {
+			// Session data are fetched as well to avoid another round trip when they are resolved unless they are stored in multiple fields
+			cachedSession = this.nearCache.get(sessionKey, this.redisClient.hmget(sessionKey, keys -> {
+					keys
+						.key(FIELD_CREATION_TIME)
+						.key(FIELD_LAST_ACCESSED_TIME)
+						.key(FIELD_MAX_INACTIVE_INTERVAL)
+						.key(FIELD_EXPIRATION_TIME);
+					if(!this.sessionDataDeltaSave) {
+						keys.key(FIELD_SESSION_DATA);
+					}
+				})
+				.collectList()
+				.mapNotNull(CachedSession::from)
+			);
+		}
+		return cachedSession.mapNotNull(state -> {
+			// A touch might still be pending on this node
+			PendingTouch pendingTouch = this.pendingTouches != null ? this.pendingTouches.get(sessionKey) : null;
+			long lastAccessedTime = pendingTouch != null ? Math.max(state.lastAccessedTime, pendingTouch.lastAccessedTime) : state.lastAccessedTime;
+			RedisSession<A> session = new RedisSession<>(this.sessionIdGenerator, this, sessionId, state.creationTime, lastAccessedTime, state.maxInactiveInterval, state.expirationTime);
 
-				return session.isExpired() ? null : session;
-			});
+			return session.isExpired() ? null : session;
+		});
 	}
 
 	@Override
 	public Mono<A> getData(String sessionId) {
-		return this.redisClient
-			.hget(this.getSessionKey(sessionId), FIELD_SESSION_DATA)
-			.mapNotNull(value -> {
+		return this.loadSessionData(this.getSessionKey(sessionId), () -> {})
+			.mapNotNull(this::readSessionData);
+	}
+
+	/**
+	 * <p>
+	 * Resolves the data of the specified session.
+	 * </p>
+	 *
+	 * <p>
+	 * When delta save is enabled, the session data properties resolved from Redis are recorded in the session in order to determine which properties have changed when the session is saved. Session
+	 * data resolved from the legacy session data hash field are flagged in the session so that they are entirely migrated when the session is saved.
+	 * </p>
+	 *
+	 * @param session a Redis session
+	 *
+	 * @return a mono emitting session data or an empty mono if the session has no data
+	 */
+	private Mono<A> getData(RedisSession<A> session) {
+		if(!this.sessionDataDeltaSave) {
+			return this.getData(session.getId());
+		}
+		return this.loadSessionData(this.getSessionKey(session.getId()), () -> session.setLegacySessionData(true))
+			.filter(StringUtils::isNotBlank)
+			.map(value -> {
 				try {
-					return StringUtils.isNotBlank(value) ?  this.sessionDataReader.readValue(value) : null;
+					return (ObjectNode)this.mapper.readTree(value);
 				}
 				catch(JsonProcessingException e) {
 					throw new UncheckedIOException(e);
 				}
+			})
+			.switchIfEmpty(Mono.fromSupplier(this.mapper::createObjectNode))
+			.doOnNext(session::setSessionDataSnapshot)
+			.mapNotNull(sessionDataNode -> {
+				try {
+					return !sessionDataNode.isEmpty() ? this.sessionDataReader.readValue(sessionDataNode) : null;
+				}
+				catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+	}
+
+	/**
+	 * <p>
+	 * Loads the serialized data of the specified session from the near cache or from Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * Legacy session data are not cached in order for the legacy listener to be notified whenever they are loaded.
+	 * </p>
+	 *
+	 * @param sessionKey     a session key
+	 * @param legacyListener the listener notified when delta save is enabled and session data are resolved from the legacy session data hash field
+	 *
+	 * @return a mono emitting the serialized session data or an empty mono if the session has no data
+	 */
+	private Mono<String> loadSessionData(String sessionKey, Runnable legacyListener) {
+		if(this.nearCache == null) {
+			return this.fetchSessionData(sessionKey, legacyListener);
+		}
+		return Mono.defer(() -> {
+			CachedSession nearCachedSession = this.nearCache.get(sessionKey);
+			if(nearCachedSession != null && nearCachedSession.dataLoaded) {
+				return Mono.justOrEmpty(nearCachedSession.data);
+			}
+			long stamp = this.nearCache.stamp(sessionKey);
+			AtomicBoolean legacy = new AtomicBoolean();
+			return this.fetchSessionData(sessionKey, () -> {
+					legacy.set(true);
+					legacyListener.run();
+				})
+				.doOnNext(value -> {
+					if(nearCachedSession != null && !legacy.get()) {
+						this.nearCache.put(sessionKey, nearCachedSession.withData(value), stamp);
+					}
+				});
+		});
+	}
+
+	/**
+	 * <p>
+	 * Fetches the serialized data of the specified session from Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * When delta save is enabled, session data properties are fetched from their respective hash fields and assembled in a JSON object. Session data stored as a whole in the session data hash field
+	 * before delta save was enabled are returned when there are no session data property fields.
+	 * </p>
+	 *
+	 * @param sessionKey     a session key
+	 * @param legacyListener the listener notified when delta save is enabled and session data are resolved from the legacy session data hash field
+	 *
+	 * @return a mono emitting the serialized session data or an empty mono if the session has no data
+	 */
+	private Mono<String> fetchSessionData(String sessionKey, Runnable legacyListener) {
+		if(!this.sessionDataDeltaSave) {
+			return this.redisClient.hget(sessionKey, FIELD_SESSION_DATA);
+		}
+		return this.redisClient.hgetall(sessionKey)
+			.filter(field -> (field.getKey().startsWith(FIELD_SESSION_DATA_PREFIX) || field.getKey().equals(FIELD_SESSION_DATA)) && field.getValue().isPresent())
+			.collectList()
+			.mapNotNull(fields -> {
+				JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+				StringBuilder sessionData = new StringBuilder("{");
+				String legacySessionData = null;
+				for(EntryOptional<String, String> field : fields) {
+					if(field.getKey().equals(FIELD_SESSION_DATA)) {
+						legacySessionData = field.getValue().get();
+						continue;
+					}
+					if(sessionData.length() > 1) {
+						sessionData.append(',');
+					}
+					sessionData.append('"').append(encoder.quoteAsString(field.getKey().substring(FIELD_SESSION_DATA_PREFIX.length()))).append("\":").append(field.getValue().get());
+				}
+				if(sessionData.length() > 1) {
+					return sessionData.append('}').toString();
+				}
+				if(StringUtils.isNotBlank(legacySessionData)) {
+					legacyListener.run();
+					return legacySessionData;
+				}
+				return null;
 			});
 	}
 
+	/**
+	 * <p>
+	 * Deserializes session data.
+	 * </p>
+	 *
+	 * @param value the serialized session data
+	 *
+	 * @return the session data or null if the serialized data are blank
+	 */
+	private A readSessionData(String value) {
+		try {
+			return StringUtils.isNotBlank(value) ?  this.sessionDataReader.readValue(value) : null;
+		}
+		catch(JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@Override
 	public Mono<Void> move(String sessionId, String newSessionId) throws IllegalStateException {
+		String sessionKey = this.getSessionKey(sessionId);
+		String newSessionKey = this.getSessionKey(newSessionId);
 		return this.redisClient
-			.renamenx(this.getSessionKey(sessionId), this.getSessionKey(newSessionId))
+			.renamenx(sessionKey, newSessionKey)
 			.doOnNext(result -> {
 				if(!result) {
 					throw new IllegalStateException("Session " + newSessionId + " already exists");
 				}
 			})
-			.then();
+			.doOnSuccess(ign -> this.cancelTouch(sessionKey))
+			.then(this.invalidate(sessionKey))
+			.then(this.invalidate(newSessionKey));
 	}
 
 	@Override
 	public Mono<Void> remove(String sessionId) {
+		String sessionKey = this.getSessionKey(sessionId);
 		return this.redisClient
-			.del(this.getSessionKey(sessionId))
-			.then();
+			.del(sessionKey)
+			.doOnSuccess(ign -> this.cancelTouch(sessionKey))
+			.then(this.invalidate(sessionKey));
+	}
+
+	/**
+	 * <p>
+	 * Evicts the specified session from the near cache and publishes an invalidation message to other nodes.
+	 * </p>
+	 *
+	 * @param sessionKey a session key
+	 *
+	 * @return a mono for invalidating the session or an empty mono if the near cache is disabled
+	 */
+	private Mono<Void> invalidate(String sessionKey) {
+		return this.nearCache != null ? this.nearCache.invalidate(this.redisClient, sessionKey) : Mono.empty();
 	}
 
 	@Override
@@ -320,40 +677,475 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 			.then(Mono.defer(() -> {
 				String sessionKey = this.getSessionKey(session.getId());
 				session.setLastAccessedTime(System.currentTimeMillis());
-				// We do not check for session existence first as Redis doesn't provide such feature (i.e. XX) for hash
-				// one way to do it would be to use a Lua script with EVAL command, in the meantime let's assume it'll work considering we have a 2 minutes expiration buffer
-				return Flux.from(this.redisClient.batch(operations -> Flux.just(
-						operations.hset(sessionKey, entries -> {
-								if(session.isNew()) {
-									entries.entry(FIELD_CREATION_TIME, Long.toString(session.getCreationTime()));
-								}
-								entries.entry(FIELD_LAST_ACCESSED_TIME, Long.toString(session.getLastAccessedTime()));
-								if(session.isNew() || session.isExpirationSet()) {
-									entries.entry(FIELD_MAX_INACTIVE_INTERVAL, session.getMaxInactiveInterval() != null ? Long.toString(session.getMaxInactiveInterval()) : "");
-									entries.entry(FIELD_EXPIRATION_TIME, session.getMaxInactiveInterval() == null ? Long.toString(session.getExpirationTime()) : "");
-								}
-								if(session.isSessionDataSet() || (session.isSessionDataFetched() && this.sessionDataSaveStrategy.getAndSetSaveState(session.getSessionData(), false))) {
-									try {
-										entries.entry(FIELD_SESSION_DATA, session.getSessionData() != null ? this.sessionDataWriter.writeValueAsString(session.getSessionData()) : "");
+				Mono<SessionDataUpdate> sessionDataUpdate;
+				if(session.isSessionDataSet() || (session.isSessionDataFetched() && this.sessionDataSaveStrategy.getAndSetSaveState(session.getSessionData(), false))) {
+					sessionDataUpdate = this.sessionDataDeltaSave ? this.createSessionDataDeltaUpdate(sessionKey, session) : Mono.fromSupplier(() -> this.createSessionDataUpdate(session));
+				}
+				else {
+					sessionDataUpdate = Mono.just(SessionDataUpdate.NONE);
+				}
+				return sessionDataUpdate.flatMap(update -> {
+					if(this.pendingTouches != null && !session.isNew() && !session.isExpirationSet() && update.isEmpty()) {
+						// Only last accessed time and expiration must be updated
+						this.scheduleTouch(sessionKey, session);
+						this.onSave(sessionKey, session, update);
+						return Mono.empty();
+					}
+					this.cancelTouch(sessionKey);
+					// We do not check for session existence first as Redis doesn't provide such feature (i.e. XX) for hash
+					// one way to do it would be to use a Lua script with EVAL command, in the meantime let's assume it'll work considering we have a 2 minutes expiration buffer
+					return Flux.from(this.redisClient.batch(operations -> {
+							List<Publisher<Boolean>> commands = new ArrayList<>(4);
+							commands.add(operations.hset(sessionKey, entries -> {
+									if(session.isNew()) {
+										entries.entry(FIELD_CREATION_TIME, Long.toString(session.getCreationTime()));
 									}
-									catch(JsonProcessingException e) {
-										throw new UncheckedIOException(e);
+									entries.entry(FIELD_LAST_ACCESSED_TIME, Long.toString(session.getLastAccessedTime()));
+									if(session.isNew() || session.isExpirationSet()) {
+										entries.entry(FIELD_MAX_INACTIVE_INTERVAL, session.getMaxInactiveInterval() != null ? Long.toString(session.getMaxInactiveInterval()) : "");
+										entries.entry(FIELD_EXPIRATION_TIME, session.getMaxInactiveInterval() == null ? Long.toString(session.getExpirationTime()) : "");
 									}
-								}
-							})
-							.thenReturn(true),
-						session.getMaxInactiveInterval() != null ? operations.pexpire(sessionKey, session.getMaxInactiveInterval() + 120000) : operations.pexpireat(sessionKey, session.getExpirationTime() + 120000)
-					)))
-					.doOnNext(result -> {
-						if(!result) {
-							throw new IllegalStateException("Error saving session " + session.getId());
-						}
-					})
-					.then()
-					.doOnSuccess(ign -> session.onSave());
+									update.fields.forEach(entries::entry);
+								})
+								.thenReturn(true)
+							);
+							if(!update.removedFields.isEmpty()) {
+								commands.add(operations.hdel(sessionKey, keys -> update.removedFields.forEach(keys::key)).thenReturn(true));
+							}
+							commands.add(session.getMaxInactiveInterval() != null ? operations.pexpire(sessionKey, session.getMaxInactiveInterval() + 120000) : operations.pexpireat(sessionKey, session.getExpirationTime() + 120000));
+							if(this.nearCache != null && !session.isNew() && (session.isExpirationSet() || !update.isEmpty())) {
+								// Other nodes don't need to be notified when only the last accessed time changed
+								commands.add(this.nearCache.publishInvalidation(operations, sessionKey).thenReturn(true));
+							}
+							return Flux.fromIterable(commands);
+						}))
+						.doOnNext(result -> {
+							if(!result) {
+								throw new IllegalStateException("Error saving session " + session.getId());
+							}
+						})
+						.then()
+						.doOnSuccess(ign -> this.onSave(sessionKey, session, update));
+				});
 			}));
 	}
 
+	/**
+	 * <p>
+	 * Invoked after a session has been saved to update the near cache and the session.
+	 * </p>
+	 *
+	 * @param sessionKey the session key
+	 * @param session    the saved session
+	 * @param update     the session data update
+	 */
+	private void onSave(String sessionKey, RedisSession<A> session, SessionDataUpdate update) {
+		if(this.nearCache != null) {
+			this.nearCache.put(sessionKey, CachedSession.from(session, update.data, this.nearCache.get(sessionKey)));
+		}
+		if(update.snapshot != null) {
+			session.setSessionDataSnapshot(update.snapshot);
+			session.setLegacySessionData(false);
+		}
+		session.onSave();
+	}
+
+	/**
+	 * <p>
+	 * Creates a session data update that saves the session data as a whole in the session data hash field.
+	 * </p>
+	 *
+	 * @param session the session to save
+	 *
+	 * @return a session data update
+	 */
+	private SessionDataUpdate createSessionDataUpdate(RedisSession<A> session) {
+		try {
+			String sessionData = session.getSessionData() != null ? this.sessionDataWriter.writeValueAsString(session.getSessionData()) : "";
+			return new SessionDataUpdate(Map.of(FIELD_SESSION_DATA, sessionData), List.of(), sessionData, null);
+		}
+		catch(JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Converts the specified session data to a JSON tree using the session data writer.
+	 * </p>
+	 *
+	 * <p>
+	 * Unlike {@link ObjectMapper#valueToTree(Object)} which serializes the runtime type of the value, this honours the session data type (e.g. polymorphic type information or generic parameters) so
+	 * that the properties saved in Redis can be read back with the session data reader.
+	 * </p>
+	 *
+	 * @param sessionData the session data
+	 *
+	 * @return a JSON tree
+	 */
+	private JsonNode toTree(A sessionData) {
+		try(TokenBuffer buffer = new TokenBuffer(this.mapper, false)) {
+			this.sessionDataWriter.writeValue(buffer, sessionData);
+			return this.mapper.readTree(buffer.asParser());
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates a session data update that only saves the session data properties that have changed since session data were resolved.
+	 * </p>
+	 *
+	 * <p>
+	 * When session data were explicitly set on an existing session without being resolved first or when they were resolved from the legacy session data hash field, all properties are saved and the
+	 * session data fields are fetched from Redis in order to remove stale properties and legacy session data.
+	 * </p>
+	 *
+	 * @param sessionKey the session key
+	 * @param session    the session to save
+	 *
+	 * @return a mono emitting a session data update
+	 *
+	 * @throws IllegalStateException if session data are not serialized as a JSON object
+	 */
+	private Mono<SessionDataUpdate> createSessionDataDeltaUpdate(String sessionKey, RedisSession<A> session) throws IllegalStateException {
+		return Mono.defer(() -> {
+			JsonNode sessionDataNode = session.getSessionData() != null ? this.toTree(session.getSessionData()) : this.mapper.createObjectNode();
+			if(sessionDataNode == null || !sessionDataNode.isObject()) {
+				throw new IllegalStateException("Session data must be serialized as a JSON object when delta save is enabled");
+			}
+			ObjectNode snapshot = session.getSessionDataSnapshot();
+			if(snapshot != null && !session.isLegacySessionData()) {
+				return Mono.just(this.createSessionDataDeltaUpdate((ObjectNode)sessionDataNode, snapshot, List.of()));
+			}
+			return this.redisClient.hkeys(sessionKey)
+				.filter(field -> field.startsWith(FIELD_SESSION_DATA_PREFIX) || field.equals(FIELD_SESSION_DATA))
+				.collectList()
+				.map(fields -> this.createSessionDataDeltaUpdate((ObjectNode)sessionDataNode, null, fields));
+		});
+	}
+
+	/**
+	 * <p>
+	 * Creates a session data update that only saves the session data properties that have changed.
+	 * </p>
+	 *
+	 * @param sessionDataNode the session data to save
+	 * @param snapshot        the session data properties as resolved from Redis or null if unknown
+	 * @param storedFields    the session data fields stored in Redis when the snapshot is unknown
+	 *
+	 * @return a session data update
+	 */
+	private SessionDataUpdate createSessionDataDeltaUpdate(ObjectNode sessionDataNode, ObjectNode snapshot, List<String> storedFields) {
+		try {
+			Map<String, String> fields = new HashMap<>();
+			for(Iterator<Map.Entry<String, JsonNode>> propertiesIterator = sessionDataNode.fields();propertiesIterator.hasNext();) {
+				Map.Entry<String, JsonNode> property = propertiesIterator.next();
+				if(snapshot == null || !property.getValue().equals(snapshot.get(property.getKey()))) {
+					fields.put(FIELD_SESSION_DATA_PREFIX + property.getKey(), this.mapper.writeValueAsString(property.getValue()));
+				}
+			}
+			List<String> removedFields = new ArrayList<>();
+			if(snapshot != null) {
+				for(Iterator<String> propertyNamesIterator = snapshot.fieldNames();propertyNamesIterator.hasNext();) {
+					String propertyName = propertyNamesIterator.next();
+					if(!sessionDataNode.has(propertyName)) {
+						removedFields.add(FIELD_SESSION_DATA_PREFIX + propertyName);
+					}
+				}
+			}
+			for(String storedField : storedFields) {
+				if(storedField.equals(FIELD_SESSION_DATA) || !sessionDataNode.has(storedField.substring(FIELD_SESSION_DATA_PREFIX.length()))) {
+					// legacy session data are migrated to session data property fields
+					removedFields.add(storedField);
+				}
+			}
+			String sessionData = this.nearCache != null && !sessionDataNode.isEmpty() ? this.mapper.writeValueAsString(sessionDataNode) : "";
+			return new SessionDataUpdate(fields, removedFields, sessionData, sessionDataNode);
+		}
+		catch(JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Schedules a touch operation updating the last accessed time and the expiration of the specified session in Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * Pending touch operations are coalesced per session and flushed after the touch flush interval.
+	 * </p>
+	 *
+	 * @param sessionKey the session key
+	 * @param session    the touched session
+	 */
+	private void scheduleTouch(String sessionKey, RedisSession<A> session) {
+		this.pendingTouches.put(sessionKey, new PendingTouch(session.getLastAccessedTime(), session.getMaxInactiveInterval(), session.getExpirationTime()));
+		this.scheduleFlush();
+	}
+
+	/**
+	 * <p>
+	 * Schedules a flush of pending touch operations after the touch flush interval unless one is already scheduled.
+	 * </p>
+	 */
+	private void scheduleFlush() {
+		if(this.touchFlushScheduled.compareAndSet(false, true)) {
+			Mono.delay(Duration.ofMillis(this.touchFlushInterval))
+				.then(Mono.defer(this::flushTouches))
+				.subscribe(
+					ign -> {},
+					e -> {
+						LOGGER.error("Failed to flush session touch operations", e);
+						// failed touches were put back in pending touches
+						if(!this.pendingTouches.isEmpty()) {
+							this.scheduleFlush();
+						}
+					}
+				);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Cancels the pending touch operation of the specified session.
+	 * </p>
+	 *
+	 * @param sessionKey the session key
+	 */
+	private void cancelTouch(String sessionKey) {
+		if(this.pendingTouches != null) {
+			this.pendingTouches.remove(sessionKey);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Flushes pending touch operations to Redis in a single batch.
+	 * </p>
+	 *
+	 * <p>
+	 * A touch operation only updates a session that still exists in Redis. When the batch fails, flushed touches are put back in pending touches unless a more recent touch was scheduled in the
+	 * meantime.
+	 * </p>
+	 *
+	 * @return a mono for flushing pending touch operations
+	 */
+	private Mono<Void> flushTouches() {
+		this.touchFlushScheduled.set(false);
+		List<Map.Entry<String, PendingTouch>> touches = new ArrayList<>();
+		for(String sessionKey : this.pendingTouches.keySet()) {
+			PendingTouch touch = this.pendingTouches.remove(sessionKey);
+			if(touch != null) {
+				touches.add(Map.entry(sessionKey, touch));
+			}
+		}
+		if(touches.isEmpty()) {
+			return Mono.empty();
+		}
+		return Flux.from(this.redisClient.batch(operations -> Flux.fromIterable(touches)
+				.<Publisher<Long>>map(touch -> operations.<Long>eval(
+					TOUCH_SCRIPT,
+					RedisScriptingReactiveOperations.ScriptOutput.INTEGER,
+					keys -> keys.key(touch.getKey()),
+					args -> {
+						args.value(Long.toString(touch.getValue().lastAccessedTime));
+						if(touch.getValue().maxInactiveInterval != null) {
+							args.value("PEXPIRE").value(Long.toString(touch.getValue().maxInactiveInterval + 120000));
+						}
+						else {
+							args.value("PEXPIREAT").value(Long.toString(touch.getValue().expirationTime + 120000));
+						}
+					}
+				))
+			))
+			.then()
+			.doOnError(ign -> touches.forEach(touch -> this.pendingTouches.putIfAbsent(touch.getKey(), touch.getValue())));
+	}
+
+	/**
+	 * <p>
+	 * A pending touch operation.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class PendingTouch {
+
+		private final long lastAccessedTime;
+		private final Long maxInactiveInterval;
+		private final long expirationTime;
+
+		/**
+		 * <p>
+		 * Creates a pending touch operation.
+		 * </p>
+		 *
+		 * @param lastAccessedTime    the last accessed time in milliseconds
+		 * @param maxInactiveInterval the maximum inactive interval in milliseconds
+		 * @param expirationTime      the expiration time in milliseconds
+		 */
+		public PendingTouch(long lastAccessedTime, Long maxInactiveInterval, long expirationTime) {
+			this.lastAccessedTime = lastAccessedTime;
+			this.maxInactiveInterval = maxInactiveInterval;
+			this.expirationTime = expirationTime;
+		}
+	}
+
+	/**
+	 * <p>
+	 * The session data hash fields to write and remove when saving a session.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class SessionDataUpdate {
+
+		/**
+		 * The update used when session data must not be saved.
+		 */
+		private static final SessionDataUpdate NONE = new SessionDataUpdate(Map.of(), List.of(), null, null);
+
+		private final Map<String, String> fields;
+		private final List<String> removedFields;
+		private final String data;
+		private final ObjectNode snapshot;
+
+		/**
+		 * <p>
+		 * Creates a session data update.
+		 * </p>
+		 *
+		 * @param fields        the hash fields to write
+		 * @param removedFields the hash fields to remove
+		 * @param data          the serialized session data after the update or null if session data are not saved
+		 * @param snapshot      the session data properties after the update or null if delta save is disabled
+		 */
+		public SessionDataUpdate(Map<String, String> fields, List<String> removedFields, String data, ObjectNode snapshot) {
+			this.fields = fields;
+			this.removedFields = removedFields;
+			this.data = data;
+			this.snapshot = snapshot;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether the update doesn't write nor remove any field.
+		 * </p>
+		 *
+		 * @return true if the update is empty, false otherwise
+		 */
+		public boolean isEmpty() {
+			return this.fields.isEmpty() && this.removedFields.isEmpty();
+		}
+	}
+
+	/**
+	 * <p>
+	 * The state of a Redis basic session as stored in Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * Session data are kept serialized since they are mutable and can't be shared between requests.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CachedSession {
+
+		private final long creationTime;
+		private final long lastAccessedTime;
+		private final Long maxInactiveInterval;
+		private final Long expirationTime;
+		private final boolean dataLoaded;
+		private final String data;
+
+		/**
+		 * <p>
+		 * Creates a Redis basic session state.
+		 * </p>
+		 *
+		 * @param creationTime        the creation time in milliseconds
+		 * @param lastAccessedTime    the last accessed time in milliseconds
+		 * @param maxInactiveInterval the maximum inactive interval in milliseconds
+		 * @param expirationTime      the expiration time in milliseconds
+		 * @param dataLoaded          true if session data are known, false otherwise
+		 * @param data                the serialized session data
+		 */
+		public CachedSession(long creationTime, long lastAccessedTime, Long maxInactiveInterval, Long expirationTime, boolean dataLoaded, String data) {
+			this.creationTime = creationTime;
+			this.lastAccessedTime = lastAccessedTime;
+			this.maxInactiveInterval = maxInactiveInterval;
+			this.expirationTime = expirationTime;
+			this.dataLoaded = dataLoaded;
+			this.data = data;
+		}
+
+		/**
+		 * <p>
+		 * Creates a Redis basic session state from the hash fields returned by Redis.
+		 * </p>
+		 *
+		 * <p>
+		 * Session data are considered loaded when the session data field was requested.
+		 * </p>
+		 *
+		 * @param fields the session hash fields
+		 *
+		 * @return a session state or null if the session does not exist
+		 */
+		public static CachedSession from(List<EntryOptional<String, String>> fields) {
+			if(fields.get(0).getValue().isEmpty()) {
+				return null;
+			}
+			long creationTime = fields.get(0).getValue().map(Long::parseLong).orElseThrow(IllegalStateException::new);
+			long lastAccessedTime = fields.get(1).getValue().map(Long::parseLong).orElseThrow(IllegalStateException::new);
+			Long maxInactiveInterval = fields.get(2).getValue().filter(s -> !s.isBlank()).map(Long::valueOf).orElse(null);
+			Long expirationTime = fields.get(3).getValue().filter(s -> !s.isBlank()).map(Long::valueOf).orElse(null);
+			if(fields.size() > 4) {
+				return new CachedSession(creationTime, lastAccessedTime, maxInactiveInterval, expirationTime, true, fields.get(4).getValue().orElse(null));
+			}
+			return new CachedSession(creationTime, lastAccessedTime, maxInactiveInterval, expirationTime, false, null);
+		}
+
+		/**
+		 * <p>
+		 * Creates a Redis basic session state from a session that has just been saved.
+		 * </p>
+		 *
+		 * @param <A>              the session data type
+		 * @param session          the saved session
+		 * @param savedData        the serialized session data that were saved or null if session data were not saved
+		 * @param previousState    the previous session state or null
+		 *
+		 * @return a session state
+		 */
+		public static <A> CachedSession from(RedisSession<A> session, String savedData, CachedSession previousState) {
+			boolean dataLoaded = savedData != null || (previousState != null && previousState.dataLoaded) || session.isNew();
+			String data = savedData != null ? savedData : previousState != null ? previousState.data : null;
+			return new CachedSession(session.getCreationTime(), session.getLastAccessedTime(), session.getMaxInactiveInterval(), session.getMaxInactiveInterval() == null ? session.getExpirationTime() : null, dataLoaded, data);
+		}
+
+		/**
+		 * <p>
+		 * Returns a copy of this session state with the specified session data.
+		 * </p>
+		 *
+		 * @param data the serialized session data
+		 *
+		 * @return a session state
+		 */
+		public CachedSession withData(String data) {
+			return new CachedSession(this.creationTime, this.lastAccessedTime, this.maxInactiveInterval, this.expirationTime, true, data);
+		}
+	}
+
 	/**
 	 * <p>
 	 * A Redis basic session implementation.
@@ -370,7 +1162,7 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 			if(this.sessionDataFetched || this.sessionDataSet) {
 				return Mono.justOrEmpty(this.sessionData);
 			}
-			return this.sessionStore.getData(this.id)
+			return ((RedisBasicSessionStore<A>)this.sessionStore).getData(this)
 				.doOnSuccess(data -> {
 					this.sessionData = data;
 					this.sessionDataFetched = true;
@@ -381,6 +1173,8 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 		private boolean sessionDataFetched;
 		private boolean sessionDataSet;
 		private A sessionData;
+		private ObjectNode sessionDataSnapshot;
+		private boolean legacySessionData;
 		private boolean expirationSet;
 
 		/**
@@ -469,6 +1263,50 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 			this.sessionDataSet = true;
 		}
 
+		/**
+		 * <p>
+		 * Returns the session data properties as last resolved from or saved to Redis when delta save is enabled.
+		 * </p>
+		 *
+		 * @return the session data snapshot or null if session data were neither resolved nor saved
+		 */
+		public ObjectNode getSessionDataSnapshot() {
+			return sessionDataSnapshot;
+		}
+
+		/**
+		 * <p>
+		 * Sets the session data properties as resolved from or saved to Redis when delta save is enabled.
+		 * </p>
+		 *
+		 * @param sessionDataSnapshot the session data snapshot
+		 */
+		public void setSessionDataSnapshot(ObjectNode sessionDataSnapshot) {
+			this.sessionDataSnapshot = sessionDataSnapshot;
+		}
+
+		/**
+		 * <p>
+		 * Determines whether session data were resolved from the legacy session data hash field when delta save is enabled.
+		 * </p>
+		 *
+		 * @return true if session data must be migrated to session data property fields, false otherwise
+		 */
+		public boolean isLegacySessionData() {
+			return legacySessionData;
+		}
+
+		/**
+		 * <p>
+		 * Sets whether session data were resolved from the legacy session data hash field when delta save is enabled.
+		 * </p>
+		 *
+		 * @param legacySessionData true if session data must be migrated to session data property fields, false otherwise
+		 */
+		public void setLegacySessionData(boolean legacySessionData) {
+			this.legacySessionData = legacySessionData;
+		}
+
 		@Override
 		public void setMaxInactiveInterval(long maxInactiveInterval) {
 			if(this.maxInactiveInterval == null || this.maxInactiveInterval != maxInactiveInterval) {
@@ -516,6 +1354,10 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 
 		private String keyPrefix;
 		private SessionDataSaveStrategy<A> sessionDataSaveStrategy;
+		private int nearCacheMaxSize;
+		private long nearCacheTimeToLive;
+		private long touchFlushInterval;
+		private boolean sessionDataDeltaSave;
 
 		/**
 		 * <p>
@@ -573,9 +1415,112 @@ public class RedisBasicSessionStore<A> extends AbstractSessionStore<A, Session<A
 			return this;
 		}
 
+		/**
+		 * <p>
+		 * Enables the near cache.
+		 * </p>
+		 *
+		 * <p>
+		 * The near cache keeps up to the specified number of recently used sessions in memory. The time to live bounds the staleness of a cached session when invalidation messages are lost and should
+		 * be kept short (e.g. a few seconds).
+		 * </p>
+		 *
+		 * <p>
+		 * Invalidation messages must be fed back to the store using {@link RedisBasicSessionStore#subscribeInvalidations(Publisher)}, the near cache is bypassed until then and whenever the subscription terminates.
+		 * </p>
+		 *
+		 * <p>
+		 * The near cache is disabled by default.
+		 * </p>
+		 *
+		 * @param maxSize    the maximum number of cached sessions
+		 * @param timeToLive the time to live of a cached session in milliseconds
+		 *
+		 * @return the builder
+		 *
+		 * @throws IllegalArgumentException if the maximum size or the time to live is not positive
+		 *
+		 * @since 1.14
+		 */
+		public Builder<A> nearCache(int maxSize, long timeToLive) throws IllegalArgumentException {
+			if(maxSize <= 0) {
+				throw new IllegalArgumentException("Near cache max size must be positive");
+			}
+			if(timeToLive <= 0) {
+				throw new IllegalArgumentException("Near cache time to live must be positive");
+			}
+			this.nearCacheMaxSize = maxSize;
+			this.nearCacheTimeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Enables touch write-behind.
+		 * </p>
+		 *
+		 * <p>
+		 * When saving a session whose expiration settings and data are unchanged, the update of its last accessed time and expiration in Redis is deferred and coalesced with subsequent updates of
+		 * the same session, pending updates are flushed in a single pipelined batch after the specified interval. The flush interval should be kept short (e.g. a few hundred milliseconds) since a
+		 * session might expire earlier than expected on other nodes or if the application stops before pending updates are flushed which is why {@link RedisBasicSessionStore#flush()}
+		 * should be invoked on shutdown.
+		 * </p>
+		 *
+		 * <p>
+		 * Touch write-behind is disabled by default.
+		 * </p>
+		 *
+		 * @param flushInterval the flush interval in milliseconds
+		 *
+		 * @return the builder
+		 *
+		 * @throws IllegalArgumentException if the flush interval is not positive
+		 *
+		 * @since 1.14
+		 */
+		public Builder<A> touchWriteBehind(long flushInterval) throws IllegalArgumentException {
+			if(flushInterval <= 0) {
+				throw new IllegalArgumentException("Touch flush interval must be positive");
+			}
+			this.touchFlushInterval = flushInterval;
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Enables or disables session data delta save.
+		 * </p>
+		 *
+		 * <p>
+		 * When enabled, each top-level property of the session data is stored in a separate hash field prefixed with {@link #FIELD_SESSION_DATA_PREFIX} and, when the session data save strategy
+		 * determines that session data must be saved, only the properties that have changed since they were resolved are written to Redis. Session data must then be serialized as a JSON object, an
+		 * empty JSON object being resolved as null session data.
+		 * </p>
+		 *
+		 * <p>
+		 * Sessions saved before delta save was enabled remain readable: when a session has no session data property fields, session data are resolved from the {@link #FIELD_SESSION_DATA} hash field
+		 * and entirely migrated to session data property fields the next time they are saved. Since the reverse migration is not supported, delta save can't be disabled once sessions have been saved
+		 * with delta save enabled.
+		 * </p>
+		 *
+		 * <p>
+		 * Session data delta save is disabled by default.
+		 * </p>
+		 *
+		 * @param sessionDataDeltaSave true to enable session data delta save, false otherwise
+		 *
+		 * @return the builder
+		 *
+		 * @since 1.14
+		 */
+		public Builder<A> sessionDataDeltaSave(boolean sessionDataDeltaSave) {
+			this.sessionDataDeltaSave = sessionDataDeltaSave;
+			return this;
+		}
+
 		@Override
 		public RedisBasicSessionStore<A> build() {
-			return new RedisBasicSessionStore<>(this.sessionIdGenerator, this.maxInactiveInterval, this.expireAfterPeriod, this.redisClient, this.mapper, this.sessionDataType, this.sessionDataSaveStrategy, this.keyPrefix);
+			return new RedisBasicSessionStore<>(this.sessionIdGenerator, this.maxInactiveInterval, this.expireAfterPeriod, this.redisClient, this.mapper, this.sessionDataType, this.sessionDataSaveStrategy, this.keyPrefix, this.nearCacheMaxSize, this.nearCacheTimeToLive, this.touchFlushInterval, this.sessionDataDeltaSave);
 		}
 	}
 }
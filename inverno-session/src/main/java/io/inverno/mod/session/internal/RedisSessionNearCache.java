@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.session.internal;
+
+import io.inverno.mod.redis.RedisOperations;
+import io.inverno.mod.redis.operations.RedisScriptingReactiveOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * A session near cache used by Redis session stores which publishes invalidation messages on a Redis pub/sub channel.
+ * </p>
+ *
+ * <p>
+ * Invalidation messages are published using {@code EVAL} since the Redis client doesn't expose pub/sub commands, this allows to publish them within the batch that modifies a session.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <A> the cached entry type
+ */
+public class RedisSessionNearCache<A> extends SessionNearCache<A> {
+
+	/**
+	 * The Lua script used to publish near cache invalidation messages.
+	 */
+	private static final String PUBLISH_INVALIDATION_SCRIPT = "return redis.call('PUBLISH', ARGV[1], ARGV[2])";
+
+	private final String invalidationChannel;
+
+	/**
+	 * <p>
+	 * Creates a Redis session near cache.
+	 * </p>
+	 *
+	 * @param keyPrefix           the prefix of the keys of the sessions to cache
+	 * @param invalidationChannel the Redis pub/sub channel on which invalidation messages are published
+	 * @param maxSize             the maximum number of entries
+	 * @param timeToLive          the time to live of an entry in milliseconds
+	 */
+	public RedisSessionNearCache(String keyPrefix, String invalidationChannel, int maxSize, long timeToLive) {
+		super(keyPrefix, maxSize, timeToLive);
+		this.invalidationChannel = invalidationChannel;
+	}
+
+	/**
+	 * <p>
+	 * Returns the entry cached for the specified key or loads it from Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * The loaded entry is cached unless the key was invalidated while it was loaded.
+	 * </p>
+	 *
+	 * @param key    a session key
+	 * @param loader the mono loading the entry from Redis
+	 *
+	 * @return a mono emitting the cached or loaded entry
+	 */
+	public Mono<A> get(String key, Mono<A> loader) {
+		return Mono.defer(() -> {
+			A entry = this.get(key);
+			if(entry != null) {
+				return Mono.just(entry);
+			}
+			long stamp = this.stamp(key);
+			return loader.doOnNext(loadedEntry -> this.put(key, loadedEntry, stamp));
+		});
+	}
+
+	/**
+	 * <p>
+	 * Evicts the specified key and publishes an invalidation message to other nodes.
+	 * </p>
+	 *
+	 * @param operations Redis operations
+	 * @param key        a session key
+	 *
+	 * @return a mono for invalidating the key
+	 */
+	public Mono<Void> invalidate(RedisOperations<String, String> operations, String key) {
+		return Mono.defer(() -> {
+			this.invalidate(key);
+			return this.publishInvalidation(operations, key);
+		});
+	}
+
+	/**
+	 * <p>
+	 * Publishes an invalidation message for the specified key to other nodes.
+	 * </p>
+	 *
+	 * @param operations Redis operations
+	 * @param key        a session key
+	 *
+	 * @return a mono for publishing the message
+	 */
+	public Mono<Void> publishInvalidation(RedisOperations<String, String> operations, String key) {
+		return Flux.from(operations.<Long>eval(
+				PUBLISH_INVALIDATION_SCRIPT,
+				RedisScriptingReactiveOperations.ScriptOutput.INTEGER,
+				keys -> {},
+				args -> args.value(this.invalidationChannel).value(this.createInvalidationMessage(key))
+			))
+			.then();
+	}
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.session.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * <p>
+ * A bounded local cache of session states used by session stores to avoid reading recently used sessions from a remote data store.
+ * </p>
+ *
+ * <p>
+ * Entries are identified by the data store key of the session, the least recently used entry is evicted when the cache is full and entries expire after a fixed time to live which bounds staleness
+ * when invalidation messages are lost.
+ * </p>
+ *
+ * <p>
+ * The cache is kept coherent across nodes by invalidation messages: a session store publishes an invalidation message created with {@link #createInvalidationMessage(String)} whenever it modifies a
+ * session and all near caches subscribed to these messages with {@link #subscribe(Publisher)} evict the corresponding entry. A message is formatted as {@code <nodeId> <key>}, messages published by
+ * the cache's own node are ignored since local modifications are written through the cache. A message containing a bare key, like Redis client-side caching invalidation messages, always evicts the
+ * corresponding entry and an empty message clears the cache.
+ * </p>
+ *
+ * <p>
+ * Since an invalidation can happen while a session is being loaded from the data store, a stamp must be obtained with {@link #stamp(String)} before loading a session which is then passed to
+ * {@link #put(String, Object, long)}, the entry is not cached if it has been invalidated in the meantime.
+ * </p>
+ *
+ * <p>
+ * The cache is bypassed as long as it is not subscribed to invalidation messages, since sessions modified by other nodes would otherwise be stale until they expire from the cache: entries are
+ * neither cached nor returned and a warning is logged the first time the cache is accessed. The cache is also cleared when a subscription terminates.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <A> the cached entry type
+ */
+public class SessionNearCache<A> {
+
+	private static final Logger LOGGER = LogManager.getLogger(SessionNearCache.class);
+
+	/**
+	 * The number of invalidation stripes.
+	 */
+	private static final int STRIPES = 64;
+
+	private final String keyPrefix;
+	private final long timeToLive;
+	private final String nodeId;
+	private final Map<String, CacheEntry<A>> entries;
+	private final AtomicLongArray invalidations;
+	private final AtomicInteger subscriptions;
+	private final AtomicBoolean unsubscribedWarned;
+
+	/**
+	 * <p>
+	 * Creates a session near cache.
+	 * </p>
+	 *
+	 * @param keyPrefix  the prefix of the keys of the sessions to cache
+	 * @param maxSize    the maximum number of entries
+	 * @param timeToLive the time to live of an entry in milliseconds
+	 */
+	public SessionNearCache(String keyPrefix, int maxSize, long timeToLive) {
+		if(maxSize <= 0) {
+			throw new IllegalArgumentException("Near cache max size must be positive");
+		}
+		if(timeToLive <= 0) {
+			throw new IllegalArgumentException("Near cache time to live must be positive");
+		}
+		this.keyPrefix = keyPrefix;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.nodeId = UUID.randomUUID().toString();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<A>> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+		this.invalidations = new AtomicLongArray(STRIPES);
+		this.subscriptions = new AtomicInteger();
+		this.unsubscribedWarned = new AtomicBoolean();
+	}
+
+	/**
+	 * <p>
+	 * Returns the unique identifier of the node.
+	 * </p>
+	 *
+	 * @return the node id
+	 */
+	public String getNodeId() {
+		return this.nodeId;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the cache is subscribed to invalidation messages.
+	 * </p>
+	 *
+	 * @return true if the cache receives invalidation messages, false otherwise
+	 */
+	public boolean isSubscribed() {
+		return this.subscriptions.get() > 0;
+	}
+
+	/**
+	 * <p>
+	 * Returns the entry cached for the specified key.
+	 * </p>
+	 *
+	 * @param key a session key
+	 *
+	 * @return the cached entry or null if there is no such entry, if it has expired or if the cache is not subscribed to invalidation messages
+	 */
+	public A get(String key) {
+		if(!this.isSubscribed()) {
+			if(this.unsubscribedWarned.compareAndSet(false, true)) {
+				LOGGER.warn("Session near cache is not subscribed to invalidation messages, sessions are read from the data store until it is");
+			}
+			return null;
+		}
+		synchronized(this.entries) {
+			CacheEntry<A> entry = this.entries.get(key);
+			if(entry == null) {
+				return null;
+			}
+			if(entry.expiresAt - System.nanoTime() <= 0) {
+				this.entries.remove(key);
+				return null;
+			}
+			return entry.value;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns a stamp that must be obtained before loading the specified key from the data store.
+	 * </p>
+	 *
+	 * @param key a session key
+	 *
+	 * @return a stamp
+	 */
+	public long stamp(String key) {
+		return this.invalidations.get(stripe(key));
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified entry loaded from the data store unless the key was invalidated since the specified stamp was obtained or the cache is not subscribed to invalidation messages.
+	 * </p>
+	 *
+	 * @param key   a session key
+	 * @param value the entry to cache
+	 * @param stamp the stamp obtained before loading the entry
+	 */
+	public void put(String key, A value, long stamp) {
+		if(!this.isSubscribed()) {
+			return;
+		}
+		synchronized(this.entries) {
+			if(this.invalidations.get(stripe(key)) == stamp) {
+				this.entries.put(key, new CacheEntry<>(value, System.nanoTime() + this.timeToLive));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Caches the specified entry after it has been written to the data store by the local node unless the cache is not subscribed to invalidation messages.
+	 * </p>
+	 *
+	 * @param key   a session key
+	 * @param value the entry to cache
+	 */
+	public void put(String key, A value) {
+		if(!this.isSubscribed()) {
+			return;
+		}
+		synchronized(this.entries) {
+			this.entries.put(key, new CacheEntry<>(value, System.nanoTime() + this.timeToLive));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Evicts the entry cached for the specified key.
+	 * </p>
+	 *
+	 * @param key a session key
+	 */
+	public void invalidate(String key) {
+		synchronized(this.entries) {
+			this.invalidations.incrementAndGet(stripe(key));
+			this.entries.remove(key);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Evicts all entries.
+	 * </p>
+	 */
+	public void clear() {
+		synchronized(this.entries) {
+			for(int i=0;i<STRIPES;i++) {
+				this.invalidations.incrementAndGet(i);
+			}
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of cached entries including expired entries that have not been evicted yet.
+	 * </p>
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		synchronized(this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates the message to publish to other nodes after the local node modified the specified key.
+	 * </p>
+	 *
+	 * @param key a session key
+	 *
+	 * @return an invalidation message
+	 */
+	public String createInvalidationMessage(String key) {
+		return this.nodeId + " " + key;
+	}
+
+	/**
+	 * <p>
+	 * Handles an invalidation message.
+	 * </p>
+	 *
+	 * @param message an invalidation message
+	 */
+	public void onInvalidationMessage(String message) {
+		if(message == null || message.isEmpty()) {
+			this.clear();
+			return;
+		}
+		int separatorIndex = message.indexOf(' ');
+		String key;
+		if(separatorIndex > 0) {
+			if(message.regionMatches(0, this.nodeId, 0, separatorIndex) && separatorIndex == this.nodeId.length()) {
+				// Local modifications are written through
+				return;
+			}
+			key = message.substring(separatorIndex + 1);
+		}
+		else {
+			key = message;
+		}
+		if(key.startsWith(this.keyPrefix)) {
+			this.invalidate(key);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Subscribes to the specified invalidation messages publisher.
+	 * </p>
+	 *
+	 * <p>
+	 * The cache is cleared when the subscription terminates, since invalidation messages might have been lost, and it is then bypassed unless another subscription is active.
+	 * </p>
+	 *
+	 * @param messages an invalidation messages publisher
+	 *
+	 * @return a disposable to cancel the subscription
+	 */
+	public Disposable subscribe(Publisher<String> messages) {
+		this.subscriptions.incrementAndGet();
+		return Flux.from(messages)
+			.doFinally(ign -> {
+				if(this.subscriptions.decrementAndGet() == 0) {
+					this.unsubscribedWarned.set(false);
+				}
+				this.clear();
+			})
+			.subscribe(
+				this::onInvalidationMessage,
+				e -> LOGGER.warn("Session near cache invalidation messages terminated in error, clearing cache", e)
+			);
+	}
+
+	/**
+	 * <p>
+	 * Returns the invalidation stripe of the specified key.
+	 * </p>
+	 *
+	 * @param key a session key
+	 *
+	 * @return a stripe index
+	 */
+	private static int stripe(String key) {
+		return key.hashCode() & (STRIPES - 1);
+	}
+
+	/**
+	 * <p>
+	 * A near cache entry.
+	 * </p>
+	 *
+	 * @param <A> the cached entry type
+	 */
+	private static class CacheEntry<A> {
+
+		private final A value;
+		private final long expiresAt;
+
+		/**
+		 * <p>
+		 * Creates a near cache entry.
+		 * </p>
+		 *
+		 * @param value     the cached value
+		 * @param expiresAt the expiration time in nanoseconds
+		 */
+		public CacheEntry(A value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import io.inverno.mod.redis.RedisClient;
+import io.inverno.mod.redis.RedisOperations;
 import io.inverno.mod.redis.operations.RedisStringReactiveOperations;
 import io.inverno.mod.security.jose.JOSEObject;
 import io.inverno.mod.security.jose.JOSEObjectReadException;
@@ -29,12 +30,17 @@ import io.inverno.mod.session.AbstractSessionStore;
 import io.inverno.mod.session.Session;
 import io.inverno.mod.session.SessionDataSaveStrategy;
 import io.inverno.mod.session.SessionIdGenerator;
+import io.inverno.mod.session.internal.RedisSessionNearCache;
 import io.inverno.mod.session.internal.jwt.JWTSSessionIdGenerator;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -62,6 +68,14 @@ import reactor.core.publisher.Mono;
  * This implementation uses a {@link SessionDataSaveStrategy} to determine whether resolved session data should be saved along with the session.
  * </p>
  *
+ * <p>
+ * A near cache can be enabled in order to keep the last accessed time and the serialized stateful data of recently used sessions in a bounded local cache and avoid reading them from Redis on every
+ * request (see {@link Builder#nearCache(int, long)}). Caches are kept coherent across nodes by invalidation messages which are published by the store on the
+ * {@link #getInvalidationChannel() invalidation channel} when session data are saved or when a session is moved or removed and which must be fed back to the store using
+ * {@link #subscribeInvalidations(Publisher)}, typically from a Redis pub/sub subscription to that channel or from Redis client-side caching invalidation messages. Saves that only refresh the
+ * expiration of a session are not published, the last accessed time of a session cached by other nodes is then bounded by the near cache time to live.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.13
  *
@@ -75,6 +89,11 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 	 */
 	public static final String DEFAULT_KEY_PREFIX = "SESSION";
 
+	/**
+	 * The invalidation channel suffix.
+	 */
+	public static final String INVALIDATION_CHANNEL_SUFFIX = ":invalidation";
+
 	private static final Logger LOGGER = LogManager.getLogger(RedisJWTSessionStore.class);
 
 	private final RedisClient<String, String> redisClient;
@@ -87,6 +106,8 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 
 	private final String keyPrefix;
 	private final String sessionKeyFormat;
+	private final String invalidationChannel;
+	private final RedisSessionNearCache<CachedJWTSession> nearCache;
 
 	/**
 	 * <p>
@@ -103,6 +124,8 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 	 * @param statelessSessionDataType         the stateless session data type
 	 * @param statelessSessionDataSaveStrategy the stateless session data save strategy
 	 * @param keyPrefix                        the key prefix
+	 * @param nearCacheMaxSize                 the maximum number of sessions in the near cache or 0 to disable the near cache
+	 * @param nearCacheTimeToLive              the time to live in milliseconds of a session in the near cache
 	 */
 	private RedisJWTSessionStore(
 			SessionIdGenerator<A, JWTSession<A, B>> sessionIdGenerator,
@@ -114,7 +137,9 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 			SessionDataSaveStrategy<A> sessionDataSaveStrategy,
 			Type statelessSessionDataType,
 			SessionDataSaveStrategy<B> statelessSessionDataSaveStrategy,
-			String keyPrefix
+			String keyPrefix,
+			int nearCacheMaxSize,
+			long nearCacheTimeToLive
 		) {
 		super(sessionIdGenerator, maxInactiveInterval, expireAfterPeriod);
 		this.redisClient = redisClient;
@@ -127,6 +152,8 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 		this.statelessSessionDataSaveStrategy = statelessSessionDataSaveStrategy;
 		this.keyPrefix = keyPrefix;
 		this.sessionKeyFormat = keyPrefix + ":%s";
+		this.invalidationChannel = keyPrefix + INVALIDATION_CHANNEL_SUFFIX;
+		this.nearCache = nearCacheMaxSize > 0 ? new RedisSessionNearCache<>(keyPrefix + ":", this.invalidationChannel, nearCacheMaxSize, nearCacheTimeToLive) : null;
 	}
 
 	/**
@@ -191,6 +218,61 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 		return keyPrefix;
 	}
 
+	/**
+	 * <p>
+	 * Returns the Redis pub/sub channel on which near cache invalidation messages are published.
+	 * </p>
+	 *
+	 * <p>
+	 * The channel is the key prefix followed by {@link #INVALIDATION_CHANNEL_SUFFIX}.
+	 * </p>
+	 *
+	 * @return the invalidation channel
+	 *
+	 * @since 1.14
+	 */
+	public String getInvalidationChannel() {
+		return invalidationChannel;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the near cache is enabled.
+	 * </p>
+	 *
+	 * @return true if the near cache is enabled, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	public boolean isNearCacheEnabled() {
+		return this.nearCache != null;
+	}
+
+	/**
+	 * <p>
+	 * Subscribes the near cache to the specified invalidation messages.
+	 * </p>
+	 *
+	 * <p>
+	 * Messages are typically received from a Redis pub/sub subscription to the {@link #getInvalidationChannel() invalidation channel}, they can also be the keys reported by Redis client-side caching
+	 * invalidation messages. An empty message clears the near cache.
+	 * </p>
+	 *
+	 * @param messages the invalidation messages publisher
+	 *
+	 * @return a disposable to cancel the subscription
+	 *
+	 * @throws IllegalStateException if the near cache is disabled
+	 *
+	 * @since 1.14
+	 */
+	public Disposable subscribeInvalidations(Publisher<String> messages) throws IllegalStateException {
+		if(this.nearCache == null) {
+			throw new IllegalStateException("Near cache is disabled");
+		}
+		return this.nearCache.subscribe(messages);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public JWTSessionIdGenerator<A, B> getSessionIdGenerator() {
@@ -215,15 +297,15 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 					LOGGER.warn("Invalid session id: {}", sessionId, error);
 					return Mono.empty();
 				})
-				.flatMap(jwt -> this.redisClient.objectIdletime(this.getSessionKey(jwt.getPayload().getJWTId()))
-					.map(idleTime -> new RedisJWTSession<>(
+				.flatMap(jwt -> this.getLastAccessedTime(this.getSessionKey(jwt.getPayload().getJWTId()))
+					.map(lastAccessedTime -> new RedisJWTSession<>(
 						(JWTSessionIdGenerator<A, B>)this.sessionIdGenerator,
 						this,
 						sessionId,
 						jwt.getPayload(),
 						jwt.getPayload().getCustomClaim(JWTSessionIdGenerator.CLAIM_SESSION_DATA).map(claim -> this.mapper.<B>convertValue(claim.getValue(), this.statelessSessionDataType)).orElse(null),
 						this.statelessSessionDataSaveStrategy,
-						System.currentTimeMillis() - idleTime * 1000
+						lastAccessedTime
 					))
 					.filter(session -> !session.isExpired())
 				);
@@ -250,10 +332,51 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 		}
 	}
 
+	/**
+	 * <p>
+	 * Returns the last accessed time of the session stored at the specified key.
+	 * </p>
+	 *
+	 * <p>
+	 * The last accessed time is evaluated from the session key idle time unless the session is in the near cache.
+	 * </p>
+	 *
+	 * @param sessionKey a session key
+	 *
+	 * @return a mono emitting the last accessed time in milliseconds or an empty mono if the session does not exist
+	 */
+	private Mono<Long> getLastAccessedTime(String sessionKey) {
+		if(this.nearCache == null) {
+			return this.redisClient.objectIdletime(sessionKey).map(idleTime -> System.currentTimeMillis() - idleTime * 1000);
+		}
+		return this.nearCache
+			.get(sessionKey, this.redisClient.objectIdletime(sessionKey).map(idleTime -> new CachedJWTSession(System.currentTimeMillis() - idleTime * 1000, false, null)))
+			.map(nearCachedSession -> nearCachedSession.lastAccessedTime);
+	}
+
 	@Override
 	public Mono<A> getDataByTokenId(String tokenId) {
-		return this.redisClient
-			.get(this.getSessionKey(tokenId))
+		String sessionKey = this.getSessionKey(tokenId);
+		Mono<String> sessionData;
+		if(this.nearCache == null) {
+			sessionData = this.redisClient.get(sessionKey);
+		}
+		else {
+			sessionData = Mono.defer(() -> {
+				CachedJWTSession nearCachedSession = this.nearCache.get(sessionKey);
+				if(nearCachedSession != null && nearCachedSession.dataLoaded) {
+					return Mono.justOrEmpty(nearCachedSession.data);
+				}
+				long stamp = this.nearCache.stamp(sessionKey);
+				return this.redisClient.get(sessionKey)
+					.doOnNext(value -> {
+						if(nearCachedSession != null) {
+							this.nearCache.put(sessionKey, nearCachedSession.withData(value), stamp);
+						}
+					});
+			});
+		}
+		return sessionData
 			.mapNotNull(value -> {
 				try {
 					return this.sessionDataReader.readValue(value);
@@ -284,7 +407,9 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 					.map(claim -> this.redisClient.expire(newSessionKey, claim.asLong() + 120))
 					.orElseGet(() -> this.redisClient.expireat(newSessionKey, newSessionJWT.getPayload().getExpirationTime() + 120))
 					.then();
-			});
+			})
+			.then(this.invalidate(oldSessionKey))
+			.then(this.invalidate(newSessionKey));
 	}
 
 	@Override
@@ -295,7 +420,42 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 
 	@Override
 	public Mono<Void> removeByTokenId(String tokenId) {
-		return this.redisClient.del(this.getSessionKey(tokenId)).then();
+		String sessionKey = this.getSessionKey(tokenId);
+		return this.redisClient.del(sessionKey).then(this.invalidate(sessionKey));
+	}
+
+	/**
+	 * <p>
+	 * Evicts the specified session from the near cache and publishes an invalidation message to other nodes.
+	 * </p>
+	 *
+	 * @param sessionKey a session key
+	 *
+	 * @return a mono for invalidating the session or an empty mono if the near cache is disabled
+	 */
+	private Mono<Void> invalidate(String sessionKey) {
+		return this.nearCache != null ? this.nearCache.invalidate(this.redisClient, sessionKey) : Mono.empty();
+	}
+
+	/**
+	 * <p>
+	 * Executes the specified command modifying the data of a session.
+	 * </p>
+	 *
+	 * <p>
+	 * When the near cache is enabled, an invalidation message is published to other nodes in the same batch.
+	 * </p>
+	 *
+	 * @param sessionKey a session key
+	 * @param command    the command to execute
+	 *
+	 * @return a mono for executing the command
+	 */
+	private Mono<Void> execute(String sessionKey, Function<RedisOperations<String, String>, Mono<Void>> command) {
+		if(this.nearCache == null) {
+			return command.apply(this.redisClient);
+		}
+		return Flux.from(this.redisClient.<Void>batch(operations -> Flux.just(command.apply(operations), this.nearCache.publishInvalidation(operations, sessionKey)))).then();
 	}
 
 	@Override
@@ -335,49 +495,132 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 				return session.refreshId(false);
 			})
 			.then(Mono.defer(() -> {
+				String sessionKey = this.getSessionKey(session.getTokenId());
 				if(create || (session.isSessionDataSet() || (session.isSessionDataFetched() && this.sessionDataSaveStrategy.getAndSetSaveState(session.getSessionData(), false)))) {
-					RedisStringReactiveOperations.StringSetBuilder<String, String> saveBuilder = this.redisClient.set();
-
-					if(create) {
-						saveBuilder.nx();
-					}
-					else {
-						saveBuilder.xx();
-					}
-
-					if(session.getMaxInactiveInterval() != null) {
-						saveBuilder.px(session.getMaxInactiveInterval() + 120000);
-					}
-					else {
-						saveBuilder.pxat(session.getExpirationTime() + 120000);
-					}
-
+					String sessionData;
 					try {
-						return saveBuilder
-							.build(this.getSessionKey(session.getTokenId()), this.sessionDataWriter.writeValueAsString(session.getSessionData()))
-							.doOnSuccess(result -> {
-								if(!result.equals("OK")) {
-									throw new IllegalStateException("Error saving session " + session.getId());
-								}
-							})
-							.then();
+						sessionData = this.sessionDataWriter.writeValueAsString(session.getSessionData());
 					}
 					catch(JsonProcessingException e) {
 						throw new UncheckedIOException(e);
 					}
+					return this.execute(sessionKey, operations -> {
+							RedisStringReactiveOperations.StringSetBuilder<String, String> saveBuilder = operations.set();
+
+							if(create) {
+								saveBuilder.nx();
+							}
+							else {
+								saveBuilder.xx();
+							}
+
+							if(session.getMaxInactiveInterval() != null) {
+								saveBuilder.px(session.getMaxInactiveInterval() + 120000);
+							}
+							else {
+								saveBuilder.pxat(session.getExpirationTime() + 120000);
+							}
+
+							return saveBuilder
+								.build(sessionKey, sessionData)
+								.doOnSuccess(result -> {
+									if(!result.equals("OK")) {
+										throw new IllegalStateException("Error saving session " + session.getId());
+									}
+								})
+								.then();
+						})
+						.doOnSuccess(ign -> this.onSave(sessionKey, true, sessionData));
 				}
+				// Other nodes don't need to be notified when only the last accessed time and the expiration changed
 				else if(session.getMaxInactiveInterval() != null) {
-					return this.redisClient.pexpire(this.getSessionKey(session.getTokenId()), session.getMaxInactiveInterval() + 120000).then();
+					return this.redisClient.pexpire(sessionKey, session.getMaxInactiveInterval() + 120000)
+						.doOnSuccess(ign -> this.onSave(sessionKey, false, null))
+						.then();
 				}
 				else if(session.getOriginalId() != null && session.getOriginalId().equals(session.getId())) {
-					return this.redisClient.touch(this.getSessionKey(session.getTokenId())).then();
+					return this.redisClient.touch(sessionKey)
+						.doOnSuccess(ign -> this.onSave(sessionKey, false, null))
+						.then();
 				}
 				else {
-					return this.redisClient.pexpireat(this.getSessionKey(session.getTokenId()), session.getExpirationTime() + 120000).then();
+					return this.redisClient.pexpireat(sessionKey, session.getExpirationTime() + 120000)
+						.doOnSuccess(ign -> this.onSave(sessionKey, false, null))
+						.then();
 				}
 			}));
 	}
 
+	/**
+	 * <p>
+	 * Writes the specified saved session through the near cache.
+	 * </p>
+	 *
+	 * @param sessionKey the session key
+	 * @param dataSaved  true if session data were saved, false otherwise
+	 * @param data       the serialized session data that were saved
+	 */
+	private void onSave(String sessionKey, boolean dataSaved, String data) {
+		if(this.nearCache == null) {
+			return;
+		}
+		long lastAccessedTime = System.currentTimeMillis();
+		if(dataSaved) {
+			this.nearCache.put(sessionKey, new CachedJWTSession(lastAccessedTime, true, data));
+		}
+		else {
+			CachedJWTSession previousState = this.nearCache.get(sessionKey);
+			this.nearCache.put(sessionKey, previousState != null ? new CachedJWTSession(lastAccessedTime, previousState.dataLoaded, previousState.data) : new CachedJWTSession(lastAccessedTime, false, null));
+		}
+	}
+
+	/**
+	 * <p>
+	 * The state of a Redis JWT session as stored in Redis.
+	 * </p>
+	 *
+	 * <p>
+	 * Stateful session data are kept serialized since they are mutable and can't be shared between requests.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CachedJWTSession {
+
+		private final long lastAccessedTime;
+		private final boolean dataLoaded;
+		private final String data;
+
+		/**
+		 * <p>
+		 * Creates a Redis JWT session state.
+		 * </p>
+		 *
+		 * @param lastAccessedTime the last accessed time in milliseconds
+		 * @param dataLoaded       true if session data are known, false otherwise
+		 * @param data             the serialized session data
+		 */
+		public CachedJWTSession(long lastAccessedTime, boolean dataLoaded, String data) {
+			this.lastAccessedTime = lastAccessedTime;
+			this.dataLoaded = dataLoaded;
+			this.data = data;
+		}
+
+		/**
+		 * <p>
+		 * Returns a copy of this session state with the specified session data.
+		 * </p>
+		 *
+		 * @param data the serialized session data
+		 *
+		 * @return a session state
+		 */
+		public CachedJWTSession withData(String data) {
+			return new CachedJWTSession(this.lastAccessedTime, true, data);
+		}
+	}
+
 	/**
 	 * <p>
 	 * A Redis JWT session implementation.
@@ -517,6 +760,8 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 		private String keyPrefix;
 		private SessionDataSaveStrategy<A> sessionDataSaveStrategy;
 		private SessionDataSaveStrategy<B> statelessSessionDataSaveStrategy;
+		private int nearCacheMaxSize;
+		private long nearCacheTimeToLive;
 
 		/**
 		 * <p>
@@ -615,9 +860,48 @@ public class RedisJWTSessionStore<A, B> extends AbstractSessionStore<A, JWTSessi
 			return this;
 		}
 
+		/**
+		 * <p>
+		 * Enables the near cache.
+		 * </p>
+		 *
+		 * <p>
+		 * The near cache keeps up to the specified number of recently used sessions in memory. The time to live bounds the staleness of a cached session when invalidation messages are lost and should
+		 * be kept short (e.g. a few seconds).
+		 * </p>
+		 *
+		 * <p>
+		 * Invalidation messages must be fed back to the store using {@link RedisJWTSessionStore#subscribeInvalidations(Publisher)}, the near cache is bypassed until then and whenever the subscription terminates.
+		 * </p>
+		 *
+		 * <p>
+		 * The near cache is disabled by default.
+		 * </p>
+		 *
+		 * @param maxSize    the maximum number of cached sessions
+		 * @param timeToLive the time to live of a cached session in milliseconds
+		 *
+		 * @return the builder
+		 *
+		 * @throws IllegalArgumentException if the maximum size or the time to live is not positive
+		 *
+		 * @since 1.14
+		 */
+		public Builder<A, B> nearCache(int maxSize, long timeToLive) throws IllegalArgumentException {
+			if(maxSize <= 0) {
+				throw new IllegalArgumentException("Near cache max size must be positive");
+			}
+			if(timeToLive <= 0) {
+				throw new IllegalArgumentException("Near cache time to live must be positive");
+			}
+			this.nearCacheMaxSize = maxSize;
+			this.nearCacheTimeToLive = timeToLive;
+			return this;
+		}
+
 		@Override
 		public RedisJWTSessionStore<A, B> build() {
-			return new RedisJWTSessionStore<>(this.sessionIdGenerator, this.maxInactiveInterval, this.expireAfterPeriod, this.redisClient, this.mapper, this.sessionDataType, this.sessionDataSaveStrategy, this.statelessSessionDataType, this.statelessSessionDataSaveStrategy, this.keyPrefix);
+			return new RedisJWTSessionStore<>(this.sessionIdGenerator, this.maxInactiveInterval, this.expireAfterPeriod, this.redisClient, this.mapper, this.sessionDataType, this.sessionDataSaveStrategy, this.statelessSessionDataType, this.statelessSessionDataSaveStrategy, this.keyPrefix, this.nearCacheMaxSize, this.nearCacheTimeToLive);
 		}
 	}
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.inverno.mod.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.inverno.mod.base.reflect.Types;
+import io.inverno.mod.redis.RedisClient;
+import io.inverno.mod.redis.RedisOperations;
+import io.inverno.mod.redis.operations.Entries;
+import io.inverno.mod.redis.operations.EntryOptional;
+import io.inverno.mod.redis.operations.Keys;
+import io.inverno.mod.redis.operations.Values;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * Verifies the coherence of near cached sessions across session stores sharing an in-memory Redis and invalidation channel.
+ * </p>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class RedisBasicSessionStoreNearCacheTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private InMemoryRedis redis;
+
+	private List<Disposable> subscriptions;
+
+	@BeforeEach
+	public void init() {
+		this.redis = new InMemoryRedis();
+		this.subscriptions = new ArrayList<>();
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.subscriptions.forEach(Disposable::dispose);
+	}
+
+	private RedisBasicSessionStore<Map<String, String>> newSessionStore(boolean subscribed) {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = RedisBasicSessionStore.<Map<String, String>>builder(this.redis.client(), MAPPER, Types.type(Map.class).type(String.class).and().type(String.class).and().build())
+			.nearCache(100, 60000L)
+			.build();
+		if(subscribed) {
+			this.subscriptions.add(sessionStore.subscribeInvalidations(this.redis.messages(sessionStore.getInvalidationChannel())));
+		}
+		return sessionStore;
+	}
+
+	@Test
+	public void given_near_cache_sessions_should_be_coherent_across_stores() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore1 = this.newSessionStore(true);
+		RedisBasicSessionStore<Map<String, String>> sessionStore2 = this.newSessionStore(true);
+
+		Session<Map<String, String>> session = sessionStore1.create().block();
+		Assertions.assertNotNull(session);
+		session.setData(Map.of("someKey", "someValue"));
+		session.save().block();
+		String sessionKey = sessionStore1.getKeyPrefix() + ":" + session.getId();
+
+		Session<Map<String, String>> resolvedSession = sessionStore2.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		Assertions.assertEquals(Map.of("someKey", "someValue"), resolvedSession.getData().block());
+
+		// The session is now near cached in the second store: changes that are not published are not seen
+		this.redis.hash(sessionKey).put(RedisBasicSessionStore.FIELD_SESSION_DATA, "{\"someKey\":\"unpublishedValue\"}");
+		Assertions.assertEquals(Map.of("someKey", "someValue"), sessionStore2.get(session.getId()).block().getData().block());
+
+		// Session data update
+		session.setData(Map.of("someKey", "someOtherValue"));
+		session.save().block();
+		Assertions.assertEquals(Map.of("someKey", "someOtherValue"), sessionStore2.get(session.getId()).block().getData().block());
+
+		// Expiration update
+		Session<Map<String, String>> updatedSession = sessionStore1.get(session.getId()).block();
+		Assertions.assertNotNull(updatedSession);
+		updatedSession.setMaxInactiveInterval(600000L);
+		updatedSession.save().block();
+		Assertions.assertEquals(600000L, sessionStore2.get(session.getId()).block().getMaxInactiveInterval());
+
+		// Removal
+		sessionStore1.remove(session.getId()).block();
+		Assertions.assertNull(sessionStore2.get(session.getId()).block());
+	}
+
+	@Test
+	public void given_near_cache_not_subscribed_sessions_should_be_read_from_redis() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore1 = this.newSessionStore(true);
+		RedisBasicSessionStore<Map<String, String>> sessionStore2 = this.newSessionStore(false);
+
+		Session<Map<String, String>> session = sessionStore1.create().block();
+		Assertions.assertNotNull(session);
+		session.setData(Map.of("someKey", "someValue"));
+		session.save().block();
+		String sessionKey = sessionStore1.getKeyPrefix() + ":" + session.getId();
+
+		Assertions.assertEquals(Map.of("someKey", "someValue"), sessionStore2.get(session.getId()).block().getData().block());
+
+		// Invalidation messages are not received, the near cache must be bypassed
+		this.redis.hash(sessionKey).put(RedisBasicSessionStore.FIELD_SESSION_DATA, "{\"someKey\":\"unpublishedValue\"}");
+		Assertions.assertEquals(Map.of("someKey", "unpublishedValue"), sessionStore2.get(session.getId()).block().getData().block());
+
+		sessionStore1.remove(session.getId()).block();
+		Assertions.assertNull(sessionStore2.get(session.getId()).block());
+	}
+
+	@Test
+	public void given_near_cache_subscription_terminated_sessions_should_be_read_from_redis() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore1 = this.newSessionStore(true);
+		RedisBasicSessionStore<Map<String, String>> sessionStore2 = this.newSessionStore(false);
+		Disposable subscription = sessionStore2.subscribeInvalidations(this.redis.messages(sessionStore2.getInvalidationChannel()));
+
+		Session<Map<String, String>> session = sessionStore1.create().block();
+		Assertions.assertNotNull(session);
+		session.setData(Map.of("someKey", "someValue"));
+		session.save().block();
+		String sessionKey = sessionStore1.getKeyPrefix() + ":" + session.getId();
+
+		Assertions.assertEquals(Map.of("someKey", "someValue"), sessionStore2.get(session.getId()).block().getData().block());
+
+		// Invalidation messages are no longer received once the subscription is disposed
+		subscription.dispose();
+		this.redis.hash(sessionKey).put(RedisBasicSessionStore.FIELD_SESSION_DATA, "{\"someKey\":\"unpublishedValue\"}");
+		Assertions.assertEquals(Map.of("someKey", "unpublishedValue"), sessionStore2.get(session.getId()).block().getData().block());
+	}
+
+	/**
+	 * <p>
+	 * A minimal in-memory Redis implementing the hash, key and scripting commands used by the Redis session store.
+	 * </p>
+	 *
+	 * <p>
+	 * Key expiration is ignored and scripts are interpreted from their arguments: the near cache invalidation script publishes its message on the in-memory channels and the touch script updates the
+	 * last accessed time of existing sessions.
+	 * </p>
+	 */
+	private static class InMemoryRedis {
+
+		private final Map<String, Map<String, String>> hashes;
+		private final Map<String, Sinks.Many<String>> channels;
+		private final RedisClient<String, String> client;
+
+		@SuppressWarnings("unchecked")
+		public InMemoryRedis() {
+			this.hashes = new ConcurrentHashMap<>();
+			this.channels = new ConcurrentHashMap<>();
+			this.client = Mockito.mock(RedisClient.class, this::answer);
+		}
+
+		public RedisClient<String, String> client() {
+			return this.client;
+		}
+
+		public Flux<String> messages(String channel) {
+			return this.channel(channel).asFlux();
+		}
+
+		public Map<String, String> hash(String key) {
+			return this.hashes.get(key);
+		}
+
+		private Sinks.Many<String> channel(String channel) {
+			return this.channels.computeIfAbsent(channel, ign -> Sinks.many().multicast().directBestEffort());
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object answer(InvocationOnMock invocation) throws Throwable {
+			Object[] args = invocation.getArguments();
+			String key = args.length > 0 && args[0] instanceof String ? (String)args[0] : null;
+			switch(invocation.getMethod().getName()) {
+				case "batch": return Flux.defer(() -> Flux.from(((Function<RedisOperations<String, String>, Publisher<Publisher<Object>>>)args[0]).apply(this.client)).concatMap(command -> command));
+				case "hget": return Mono.fromSupplier(() -> this.hashes.getOrDefault(key, Map.of()).get((String)args[1]));
+				case "hgetall": return Flux.defer(() -> Flux.fromIterable(new ArrayList<>(this.hashes.getOrDefault(key, Map.of()).entrySet())).map(entry -> EntryOptional.of(entry.getKey(), entry.getValue())));
+				case "hkeys": return Flux.defer(() -> Flux.fromIterable(new ArrayList<>(this.hashes.getOrDefault(key, Map.of()).keySet())));
+				case "hmget": return Flux.defer(() -> {
+					Map<String, String> hash = this.hashes.getOrDefault(key, Map.of());
+					return Flux.fromIterable(keys((Consumer<Keys<String>>)args[1])).map(field -> EntryOptional.ofNullable(field, hash.get(field)));
+				});
+				case "hset": return Mono.fromSupplier(() -> {
+					Map<String, String> entries = new LinkedHashMap<>();
+					((Consumer<Entries<String, String>>)args[1]).accept(new Entries<>() {
+
+						@Override
+						public Entries<String, String> entry(String field, String value) {
+							entries.put(field, value);
+							return this;
+						}
+					});
+					Map<String, String> hash = this.hashes.computeIfAbsent(key, ign -> new ConcurrentHashMap<>());
+					return entries.entrySet().stream().filter(entry -> hash.put(entry.getKey(), entry.getValue()) == null).count();
+				});
+				case "hdel": return Mono.fromSupplier(() -> {
+					Map<String, String> hash = this.hashes.getOrDefault(key, new HashMap<>());
+					return keys((Consumer<Keys<String>>)args[1]).stream().filter(field -> hash.remove(field) != null).count();
+				});
+				case "pexpire":
+				case "pexpireat": return Mono.fromSupplier(() -> this.hashes.containsKey(key));
+				case "del": return Mono.fromSupplier(() -> this.hashes.remove(key) != null ? 1L : 0L);
+				case "renamenx": return Mono.fromSupplier(() -> {
+					if(this.hashes.containsKey((String)args[1])) {
+						return false;
+					}
+					Map<String, String> hash = this.hashes.remove(key);
+					if(hash != null) {
+						this.hashes.put((String)args[1], hash);
+					}
+					return true;
+				});
+				case "eval": return Flux.defer(() -> {
+					List<String> scriptKeys = keys((Consumer<Keys<String>>)args[2]);
+					List<String> scriptArgs = new ArrayList<>();
+					((Consumer<Values<String>>)args[3]).accept(new Values<>() {
+
+						@Override
+						public Values<String> value(String value) {
+							scriptArgs.add(value);
+							return this;
+						}
+					});
+					if(scriptKeys.isEmpty()) {
+						// Near cache invalidation: PUBLISH channel message
+						this.channel(scriptArgs.get(0)).tryEmitNext(scriptArgs.get(1));
+						return Flux.just(1L);
+					}
+					// Touch: HSET lastAccessedTime if the session exists
+					Map<String, String> hash = this.hashes.get(scriptKeys.get(0));
+					if(hash == null) {
+						return Flux.just(0L);
+					}
+					hash.put(RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME, scriptArgs.get(0));
+					return Flux.just(1L);
+				});
+				default: return Mockito.RETURNS_DEFAULTS.answer(invocation);
+			}
+		}
+
+		private static List<String> keys(Consumer<Keys<String>> keysConfigurer) {
+			List<String> keys = new ArrayList<>();
+			keysConfigurer.accept(new Keys<>() {
+
+				@Override
+				public Keys<String> key(String key) {
+					keys.add(key);
+					return this;
+				}
+			});
+			return keys;
+		}
+	}
+}
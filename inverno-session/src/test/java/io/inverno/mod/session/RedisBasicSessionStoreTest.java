@@ -16,6 +16,8 @@
 
 package io.inverno.mod.session;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.inverno.mod.base.reflect.Types;
 import io.inverno.mod.redis.RedisClient;
@@ -24,18 +26,27 @@ import io.lettuce.core.RedisConnectionException;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.reactive.RedisPubSubReactiveCommands;
 import io.lettuce.core.support.AsyncConnectionPoolSupport;
 import io.lettuce.core.support.BoundedAsyncPool;
 import io.lettuce.core.support.BoundedPoolConfig;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
+import org.mockito.Mockito;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
 /**
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
@@ -58,6 +69,8 @@ public class RedisBasicSessionStoreTest {
 
 	private static RedisClient<String, String> redisClient;
 
+	private static StatefulRedisConnection<String, String> redisConnection;
+
 	@BeforeAll
 	public static void init() {
 		BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = AsyncConnectionPoolSupport.createBoundedObjectPool(
@@ -66,11 +79,17 @@ public class RedisBasicSessionStoreTest {
 		);
 
 		redisClient = new PoolRedisClient<>(pool, String.class, String.class);
+		redisConnection = REDIS_CLIENT.connect(RedisURI.create("redis://localhost:6379"));
+	}
+
+	@AfterAll
+	public static void destroy() {
+		redisConnection.close();
 	}
 
 	@AfterEach
 	public void cleanup() {
-		REDIS_CLIENT.connect(RedisURI.create("redis://localhost:6379")).reactive().flushall().block();
+		redisConnection.sync().flushall();
 	}
 
 	public static RedisBasicSessionStore.Builder<Map<String, String>> newSessionStoreBuilder() {
@@ -447,4 +466,344 @@ public class RedisBasicSessionStoreTest {
 		Assertions.assertTrue(session.isExpired());
 		Assertions.assertNull(sessionStore.get(session.getId()).block());
 	}
+
+	@Test
+	public void given_near_cache_session_should_be_invalidated_on_other_nodes() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore1 = newSessionStoreBuilder()
+			.nearCache(100, 60000L)
+			.build();
+		RedisBasicSessionStore<Map<String, String>> sessionStore2 = newSessionStoreBuilder()
+			.nearCache(100, 60000L)
+			.build();
+
+		try(StatefulRedisPubSubConnection<String, String> pubSubConnection = REDIS_CLIENT.connectPubSub(RedisURI.create("redis://localhost:6379"))) {
+			RedisPubSubReactiveCommands<String, String> pubSubCommands = pubSubConnection.reactive();
+			pubSubCommands.subscribe(sessionStore2.getInvalidationChannel()).block();
+			Disposable subscription = sessionStore2.subscribeInvalidations(pubSubCommands.observeChannels().map(message -> message.getMessage()));
+			try {
+				Session<Map<String, String>> session = sessionStore1.create().block();
+				Assertions.assertNotNull(session);
+				session.getData(HashMap::new).block().put("someKey", "someValue");
+				session.save().block();
+
+				Session<Map<String, String>> resolvedSession = sessionStore2.get(session.getId()).block();
+				Assertions.assertNotNull(resolvedSession);
+				Assertions.assertEquals(Map.of("someKey", "someValue"), resolvedSession.getData().block());
+
+				session.setData(Map.of("someKey", "someOtherValue"));
+				session.save().block();
+
+				Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> Map.of("someKey", "someOtherValue").equals(sessionStore2.get(session.getId()).block().getData().block()));
+
+				sessionStore1.remove(session.getId()).block();
+
+				Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> sessionStore2.get(session.getId()).block() == null);
+			}
+			finally {
+				subscription.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void given_near_cache_touch_should_not_publish_invalidation() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.nearCache(100, 60000L)
+			.build();
+
+		try(StatefulRedisPubSubConnection<String, String> pubSubConnection = REDIS_CLIENT.connectPubSub(RedisURI.create("redis://localhost:6379"))) {
+			RedisPubSubReactiveCommands<String, String> pubSubCommands = pubSubConnection.reactive();
+			pubSubCommands.subscribe(sessionStore.getInvalidationChannel()).block();
+			List<String> messages = new CopyOnWriteArrayList<>();
+			Disposable subscription = pubSubCommands.observeChannels().map(message -> message.getMessage()).subscribe(messages::add);
+			try {
+				Session<Map<String, String>> session = sessionStore.create().block();
+				Assertions.assertNotNull(session);
+				String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+
+				// Only the last accessed time is updated
+				sessionStore.get(session.getId()).flatMap(Session::save).block();
+				Awaitility.await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(messages::isEmpty);
+
+				// Session data are updated
+				Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+				resolvedSession.setData(Map.of("someKey", "someValue"));
+				resolvedSession.save().block();
+
+				Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> !messages.isEmpty());
+				Assertions.assertEquals(1, messages.size());
+				Assertions.assertTrue(messages.get(0).endsWith(" " + sessionKey));
+			}
+			finally {
+				subscription.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void given_touch_write_behind_save_should_defer_touch() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.touchWriteBehind(200L)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+		long creationTime = session.getCreationTime();
+
+		Awaitility.await().pollDelay(Duration.ofMillis(10)).atMost(Duration.ofMillis(100)).until(() -> System.currentTimeMillis() > creationTime);
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.save().block();
+		long lastAccessedTime = resolvedSession.getLastAccessedTime();
+		Assertions.assertTrue(lastAccessedTime > creationTime);
+
+		// Touch is pending
+		Assertions.assertEquals(Long.toString(creationTime), redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME));
+		Assertions.assertEquals(lastAccessedTime, sessionStore.get(session.getId()).block().getLastAccessedTime());
+
+		Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> Long.toString(lastAccessedTime).equals(redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME)));
+		Assertions.assertEquals(lastAccessedTime, sessionStore.get(session.getId()).block().getLastAccessedTime());
+	}
+
+	@Test
+	public void given_touch_write_behind_and_updated_data_save_should_persist_session() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.touchWriteBehind(60000L)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+
+		session.setData(Map.of("someKey", "someValue"));
+		session.save().block();
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		Assertions.assertEquals(session.getLastAccessedTime(), resolvedSession.getLastAccessedTime());
+		Assertions.assertEquals(Map.of("someKey", "someValue"), resolvedSession.getData().block());
+	}
+
+	@Test
+	public void given_touch_write_behind_flush_should_persist_pending_touches() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.touchWriteBehind(60000L)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+		long creationTime = session.getCreationTime();
+
+		Awaitility.await().pollDelay(Duration.ofMillis(10)).atMost(Duration.ofMillis(100)).until(() -> System.currentTimeMillis() > creationTime);
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.save().block();
+		long lastAccessedTime = resolvedSession.getLastAccessedTime();
+
+		Assertions.assertEquals(Long.toString(creationTime), redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME));
+
+		sessionStore.flush().block();
+
+		Assertions.assertEquals(Long.toString(lastAccessedTime), redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME));
+	}
+
+	@Test
+	public void given_touch_write_behind_flush_should_not_recreate_removed_session() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.touchWriteBehind(60000L)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.save().block();
+
+		// the session is removed by another node or has expired before the touch is flushed
+		redisConnection.sync().del(sessionKey);
+
+		sessionStore.flush().block();
+
+		Assertions.assertEquals(0, redisConnection.sync().exists(sessionKey));
+	}
+
+	@Test
+	public void given_touch_write_behind_failed_flush_should_retry_pending_touches() {
+		AtomicBoolean failBatch = new AtomicBoolean();
+		RedisClient<String, String> failingRedisClient = Mockito.spy(redisClient);
+		Mockito.doAnswer(invocation -> failBatch.getAndSet(false) ? Mono.error(new IllegalStateException("Batch failure")) : invocation.callRealMethod()).when(failingRedisClient).batch(Mockito.any());
+
+		RedisBasicSessionStore<Map<String, String>> sessionStore = RedisBasicSessionStore.<Map<String, String>>builder(failingRedisClient, MAPPER, Types.type(Map.class).type(String.class).and().type(String.class).and().build())
+			.touchWriteBehind(60000L)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+		long creationTime = session.getCreationTime();
+
+		Awaitility.await().pollDelay(Duration.ofMillis(10)).atMost(Duration.ofMillis(100)).until(() -> System.currentTimeMillis() > creationTime);
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.save().block();
+		long lastAccessedTime = resolvedSession.getLastAccessedTime();
+
+		failBatch.set(true);
+		Assertions.assertThrows(IllegalStateException.class, () -> sessionStore.flush().block());
+		Assertions.assertEquals(Long.toString(creationTime), redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME));
+
+		// the touch is still pending
+		Assertions.assertEquals(lastAccessedTime, sessionStore.get(session.getId()).block().getLastAccessedTime());
+
+		sessionStore.flush().block();
+		Assertions.assertEquals(Long.toString(lastAccessedTime), redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_LAST_ACCESSED_TIME));
+	}
+
+	@Test
+	public void given_delta_save_save_should_only_persist_changed_properties() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.sessionDataDeltaSave(true)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+
+		session.setData(Map.of("key1", "value1", "key2", "value2"));
+		session.save().block();
+
+		Map<String, String> sessionHash = redisConnection.sync().hgetall(sessionKey);
+		Assertions.assertEquals("\"value1\"", sessionHash.get(RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key1"));
+		Assertions.assertEquals("\"value2\"", sessionHash.get(RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key2"));
+		Assertions.assertFalse(sessionHash.containsKey(RedisBasicSessionStore.FIELD_SESSION_DATA));
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		Map<String, String> sessionData = resolvedSession.getData().block();
+		Assertions.assertEquals(Map.of("key1", "value1", "key2", "value2"), sessionData);
+
+		// Unchanged properties must not be written
+		redisConnection.sync().hset(sessionKey, RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key1", "\"concurrentValue\"");
+
+		sessionData.put("key2", "updatedValue");
+		sessionData.put("key3", "value3");
+		resolvedSession.save().block();
+
+		Assertions.assertEquals(Map.of("key1", "concurrentValue", "key2", "updatedValue", "key3", "value3"), sessionStore.get(session.getId()).block().getData().block());
+
+		sessionData.remove("key2");
+		resolvedSession.save().block();
+
+		Assertions.assertEquals(Map.of("key1", "concurrentValue", "key3", "value3"), sessionStore.get(session.getId()).block().getData().block());
+		Assertions.assertFalse(redisConnection.sync().hexists(sessionKey, RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key2"));
+	}
+
+	@Test
+	public void given_delta_save_and_data_set_save_should_remove_stale_properties() {
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.sessionDataDeltaSave(true)
+			.build();
+
+		Session<Map<String, String>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+
+		session.setData(Map.of("key1", "value1", "key2", "value2"));
+		session.save().block();
+
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.setData(Map.of("key2", "updatedValue"));
+		resolvedSession.save().block();
+
+		Assertions.assertEquals(Map.of("key2", "updatedValue"), sessionStore.get(session.getId()).block().getData().block());
+
+		resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		resolvedSession.setData(null);
+		resolvedSession.save().block();
+
+		Assertions.assertNull(sessionStore.get(session.getId()).block().getData().block());
+	}
+
+	@Test
+	public void given_delta_save_legacy_session_data_should_be_resolved_and_migrated() {
+		RedisBasicSessionStore<Map<String, String>> legacySessionStore = newSessionStoreBuilder()
+			.build();
+
+		Session<Map<String, String>> session = legacySessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = legacySessionStore.getKeyPrefix() + ":" + session.getId();
+
+		session.setData(Map.of("key1", "value1", "key2", "value2"));
+		session.save().block();
+		Assertions.assertTrue(redisConnection.sync().hexists(sessionKey, RedisBasicSessionStore.FIELD_SESSION_DATA));
+
+		RedisBasicSessionStore<Map<String, String>> sessionStore = newSessionStoreBuilder()
+			.sessionDataDeltaSave(true)
+			.build();
+
+		// legacy session data are resolved when there are no session data property fields
+		Session<Map<String, String>> resolvedSession = sessionStore.get(session.getId()).block();
+		Assertions.assertNotNull(resolvedSession);
+		Map<String, String> sessionData = resolvedSession.getData().block();
+		Assertions.assertEquals(Map.of("key1", "value1", "key2", "value2"), sessionData);
+
+		// unchanged properties are migrated as well
+		sessionData.put("key2", "updatedValue");
+		resolvedSession.save().block();
+
+		Map<String, String> sessionHash = redisConnection.sync().hgetall(sessionKey);
+		Assertions.assertFalse(sessionHash.containsKey(RedisBasicSessionStore.FIELD_SESSION_DATA));
+		Assertions.assertEquals("\"value1\"", sessionHash.get(RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key1"));
+		Assertions.assertEquals("\"updatedValue\"", sessionHash.get(RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "key2"));
+
+		Assertions.assertEquals(Map.of("key1", "value1", "key2", "updatedValue"), sessionStore.get(session.getId()).block().getData().block());
+
+		// subsequent saves only write changed properties
+		sessionData.put("key3", "value3");
+		resolvedSession.save().block();
+
+		Assertions.assertEquals(Map.of("key1", "value1", "key2", "updatedValue", "key3", "value3"), sessionStore.get(session.getId()).block().getData().block());
+	}
+
+	@Test
+	public void given_delta_save_save_should_serialize_session_data_type() {
+		RedisBasicSessionStore<Map<String, Animal>> sessionStore = RedisBasicSessionStore.<Map<String, Animal>>builder(redisClient, MAPPER, Types.type(Map.class).type(String.class).and().type(Animal.class).and().build())
+			.sessionDataDeltaSave(true)
+			.build();
+
+		Session<Map<String, Animal>> session = sessionStore.create().block();
+		Assertions.assertNotNull(session);
+		String sessionKey = sessionStore.getKeyPrefix() + ":" + session.getId();
+
+		Dog dog = new Dog();
+		dog.name = "Rex";
+		session.setData(Map.of("pet", dog));
+		session.save().block();
+
+		// Polymorphic type information must be preserved
+		Assertions.assertEquals("{\"@type\":\"dog\",\"name\":\"Rex\"}", redisConnection.sync().hget(sessionKey, RedisBasicSessionStore.FIELD_SESSION_DATA_PREFIX + "pet"));
+
+		Map<String, Animal> sessionData = sessionStore.get(session.getId()).block().getData().block();
+		Assertions.assertNotNull(sessionData);
+		Assertions.assertInstanceOf(Dog.class, sessionData.get("pet"));
+		Assertions.assertEquals("Rex", sessionData.get("pet").name);
+	}
+
+	@JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+	@JsonSubTypes(@JsonSubTypes.Type(value = Dog.class, name = "dog"))
+	public static abstract class Animal {
+
+		public String name;
+	}
+
+	public static class Dog extends Animal {
+
+	}
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.session.internal;
+
+import java.time.Duration;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class SessionNearCacheTest {
+
+	private static SessionNearCache<String> subscribedNearCache(int maxSize, long timeToLive) {
+		SessionNearCache<String> nearCache = new SessionNearCache<>("SESSION:", maxSize, timeToLive);
+		nearCache.subscribe(Flux.never());
+		return nearCache;
+	}
+
+	@Test
+	public void get_should_return_cached_entry() {
+		SessionNearCache<String> nearCache = subscribedNearCache(10, 60000L);
+
+		Assertions.assertNull(nearCache.get("SESSION:1"));
+		nearCache.put("SESSION:1", "value");
+		Assertions.assertEquals("value", nearCache.get("SESSION:1"));
+	}
+
+	@Test
+	public void put_should_evict_least_recently_used_entry() {
+		SessionNearCache<String> nearCache = subscribedNearCache(2, 60000L);
+
+		nearCache.put("SESSION:1", "value1");
+		nearCache.put("SESSION:2", "value2");
+		nearCache.get("SESSION:1");
+		nearCache.put("SESSION:3", "value3");
+
+		Assertions.assertEquals(2, nearCache.size());
+		Assertions.assertEquals("value1", nearCache.get("SESSION:1"));
+		Assertions.assertNull(nearCache.get("SESSION:2"));
+		Assertions.assertEquals("value3", nearCache.get("SESSION:3"));
+	}
+
+	@Test
+	public void entry_should_expire_after_time_to_live() {
+		SessionNearCache<String> nearCache = subscribedNearCache(10, 100L);
+
+		nearCache.put("SESSION:1", "value");
+		Assertions.assertEquals("value", nearCache.get("SESSION:1"));
+
+		Awaitility.await().pollDelay(Duration.ofMillis(100)).atMost(Duration.ofMillis(500)).until(() -> nearCache.get("SESSION:1") == null);
+		Assertions.assertEquals(0, nearCache.size());
+	}
+
+	@Test
+	public void given_invalidation_during_load_put_should_not_cache_entry() {
+		SessionNearCache<String> nearCache = subscribedNearCache(10, 60000L);
+
+		long stamp = nearCache.stamp("SESSION:1");
+		nearCache.invalidate("SESSION:1");
+		nearCache.put("SESSION:1", "stale", stamp);
+		Assertions.assertNull(nearCache.get("SESSION:1"));
+
+		stamp = nearCache.stamp("SESSION:1");
+		nearCache.put("SESSION:1", "value", stamp);
+		Assertions.assertEquals("value", nearCache.get("SESSION:1"));
+	}
+
+	@Test
+	public void invalidation_messages_should_evict_entries() {
+		SessionNearCache<String> nearCache = new SessionNearCache<>("SESSION:", 10, 60000L);
+		SessionNearCache<String> otherNearCache = new SessionNearCache<>("SESSION:", 10, 60000L);
+		Sinks.Many<String> messages = Sinks.many().multicast().directBestEffort();
+		Assertions.assertFalse(nearCache.isSubscribed());
+		Disposable subscription = nearCache.subscribe(messages.asFlux());
+		Assertions.assertTrue(nearCache.isSubscribed());
+		try {
+			nearCache.put("SESSION:1", "value1");
+			nearCache.put("SESSION:2", "value2");
+			nearCache.put("SESSION:3", "value3");
+			nearCache.put("SESSION:4", "value4");
+
+			// Messages published by the local node are ignored
+			messages.tryEmitNext(nearCache.createInvalidationMessage("SESSION:1"));
+			Assertions.assertEquals("value1", nearCache.get("SESSION:1"));
+
+			messages.tryEmitNext(otherNearCache.createInvalidationMessage("SESSION:1"));
+			Assertions.assertNull(nearCache.get("SESSION:1"));
+
+			// Client-side caching invalidation messages
+			messages.tryEmitNext("SESSION:2");
+			Assertions.assertNull(nearCache.get("SESSION:2"));
+
+			// Other keys are ignored
+			messages.tryEmitNext("OTHER:3");
+			Assertions.assertEquals("value3", nearCache.get("SESSION:3"));
+
+			// Flush
+			messages.tryEmitNext("");
+			Assertions.assertEquals(0, nearCache.size());
+
+			// Errors clear the cache
+			nearCache.put("SESSION:4", "value4");
+			messages.tryEmitError(new IllegalStateException());
+			Assertions.assertNull(nearCache.get("SESSION:4"));
+			Assertions.assertFalse(nearCache.isSubscribed());
+		}
+		finally {
+			subscription.dispose();
+		}
+	}
+
+	@Test
+	public void given_no_subscription_near_cache_should_be_bypassed() {
+		SessionNearCache<String> nearCache = new SessionNearCache<>("SESSION:", 10, 60000L);
+
+		nearCache.put("SESSION:1", "value1");
+		nearCache.put("SESSION:2", "value2", nearCache.stamp("SESSION:2"));
+		Assertions.assertEquals(0, nearCache.size());
+		Assertions.assertNull(nearCache.get("SESSION:1"));
+
+		Sinks.Many<String> messages = Sinks.many().multicast().directBestEffort();
+		Disposable subscription = nearCache.subscribe(messages.asFlux());
+		nearCache.put("SESSION:1", "value1");
+		Assertions.assertEquals("value1", nearCache.get("SESSION:1"));
+
+		// the cache is cleared and bypassed when the subscription is cancelled
+		subscription.dispose();
+		Assertions.assertFalse(nearCache.isSubscribed());
+		Assertions.assertEquals(0, nearCache.size());
+		nearCache.put("SESSION:1", "value1");
+		Assertions.assertNull(nearCache.get("SESSION:1"));
+	}
+}
@@ -79,6 +79,11 @@ public interface ErrorWebExchange<A extends ExchangeContext> extends ErrorExchan
 				return thisExchange.getCancelCause();
 			}
 
+			@Override
+			public void onTerminate(Runnable callback) {
+				thisExchange.onTerminate(callback);
+			}
+
 			@Override
 			public Throwable getError() {
 				return errorMapper.apply(thisExchange.getError());
@@ -0,0 +1,864 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.web.server;
+
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.InboundHeaders;
+import io.inverno.mod.http.base.InboundResponseHeaders;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.Status;
+import io.inverno.mod.http.base.header.Headers;
+import io.inverno.mod.http.server.ExchangeInterceptor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+/**
+ * <p>
+ * A Web exchange interceptor that caches rendered responses and serves them without invoking the route handler.
+ * </p>
+ *
+ * <p>
+ * Responses to {@code GET} and {@code HEAD} requests are cached by method, authority, path (including the query) and the values of the request headers the response may vary upon (see
+ * {@link #DEFAULT_VARY_HEADERS}). The response body is stored as it was sent to the client, that is after encoding, in an off-heap composite buffer, as a result responses served from the cache
+ * bypass the route handler as well as the body encoders.
+ * </p>
+ *
+ * <p>
+ * A response is cached when:
+ * </p>
+ *
+ * <ul>
+ * <li>the request has no {@code authorization} header and no {@code no-cache} or {@code no-store} {@code cache-control} directive,</li>
+ * <li>the response status is {@code 200},</li>
+ * <li>the response has no {@code set-cookie} header and no {@code no-cache}, {@code no-store} or {@code private} {@code cache-control} directive,</li>
+ * <li>the response {@code vary} header only refers to headers considered by the cache,</li>
+ * <li>the response body does not exceed the maximum entry size.</li>
+ * </ul>
+ *
+ * <p>
+ * Entries expire after the {@code s-maxage} or {@code max-age} specified in the response {@code cache-control} header or after the default time to live. The cache is bounded in size, least
+ * recently used entries are evicted first when the maximum size is reached.
+ * </p>
+ *
+ * <p>
+ * Conditional requests are supported: a {@code 304} response is returned when the {@code if-none-match} request header matches the entry {@code etag} or, when no {@code if-none-match} header is
+ * present, when the entry {@code last-modified} date is not after the {@code if-modified-since} request header date. A strong {@code etag} is computed from the body when the cached response does not
+ * provide one.
+ * </p>
+ *
+ * <p>
+ * Concurrent misses on the same key are collapsed: the first request is processed by the route handler while the others wait for the response to be cached. They are processed normally if the
+ * response turns out not to be cacheable or if it could not be cached within the single flight timeout. Waiting requests are released as soon as the leading exchange terminates without its response
+ * being cached, for instance when the route handler fails or when the connection is closed before the response is sent.
+ * </p>
+ *
+ * <pre>{@code
+ * ResponseCacheInterceptor<ExchangeContext> responseCache = new ResponseCacheInterceptor<>();
+ *
+ * router
+ *     .intercept()
+ *     .path("/catalog/**")
+ *     .method(Method.GET)
+ *     .interceptor(responseCache);
+ * }</pre>
+ *
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ * @since 1.14
+ *
+ * @param <A> the exchange context type
+ */
+public class ResponseCacheInterceptor<A extends ExchangeContext> implements ExchangeInterceptor<A, WebExchange<A>> {
+
+	private static final Logger LOGGER = LogManager.getLogger(ResponseCacheInterceptor.class);
+
+	/**
+	 * The default maximum size of the cache in bytes: 64MB.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 64L * 1024L * 1024L;
+
+	/**
+	 * The default maximum size of a cache entry in bytes: 1MB.
+	 */
+	public static final long DEFAULT_MAX_ENTRY_SIZE = 1024L * 1024L;
+
+	/**
+	 * The default time to live of a cache entry in milliseconds: 60 seconds.
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+	/**
+	 * The default time in milliseconds concurrent misses wait for the response to be cached: 5 seconds.
+	 */
+	public static final long DEFAULT_SINGLE_FLIGHT_TIMEOUT = 5000L;
+
+	/**
+	 * The default request headers a response may vary upon: {@code accept}, {@code accept-encoding} and {@code accept-language}.
+	 */
+	public static final Set<String> DEFAULT_VARY_HEADERS = Set.of(Headers.NAME_ACCEPT, Headers.NAME_ACCEPT_ENCODING, Headers.NAME_ACCEPT_LANGUAGE);
+
+	/**
+	 * The response headers that are not cached.
+	 */
+	private static final Set<String> EXCLUDED_HEADERS = Set.of(Headers.NAME_CONNECTION, Headers.NAME_TRANSFER_ENCODING, Headers.NAME_DATE, Headers.NAME_AGE, Headers.NAME_ETAG);
+
+	private final long maxSize;
+	private final long maxEntrySize;
+	private final long timeToLive;
+	private final String[] varyHeaders;
+
+	private final LinkedHashMap<CacheKey, CacheEntry> entries;
+	private final Map<CacheKey, Sinks.One<CacheEntry>> inflightRequests;
+
+	private long size;
+	private long singleFlightTimeout;
+
+	/**
+	 * <p>
+	 * Creates a response cache interceptor with default settings.
+	 * </p>
+	 *
+	 * @see #DEFAULT_MAX_SIZE
+	 * @see #DEFAULT_MAX_ENTRY_SIZE
+	 * @see #DEFAULT_TIME_TO_LIVE
+	 * @see #DEFAULT_VARY_HEADERS
+	 */
+	public ResponseCacheInterceptor() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_MAX_ENTRY_SIZE, DEFAULT_TIME_TO_LIVE, DEFAULT_VARY_HEADERS);
+	}
+
+	/**
+	 * <p>
+	 * Creates a response cache interceptor.
+	 * </p>
+	 *
+	 * @param maxSize      the maximum size of the cache in bytes
+	 * @param maxEntrySize the maximum size of a cache entry in bytes
+	 * @param timeToLive   the default time to live of a cache entry in milliseconds
+	 * @param varyHeaders  the request headers a response may vary upon
+	 *
+	 * @throws IllegalArgumentException if a size or the time to live is not strictly positive
+	 */
+	public ResponseCacheInterceptor(long maxSize, long maxEntrySize, long timeToLive, Set<String> varyHeaders) throws IllegalArgumentException {
+		if(maxSize <= 0 || maxEntrySize <= 0) {
+			throw new IllegalArgumentException("Cache sizes must be strictly positive");
+		}
+		if(timeToLive <= 0) {
+			throw new IllegalArgumentException("Time to live must be strictly positive");
+		}
+		this.maxSize = maxSize;
+		this.maxEntrySize = Math.min(maxEntrySize, maxSize);
+		this.timeToLive = timeToLive;
+		this.varyHeaders = varyHeaders.stream().map(String::toLowerCase).sorted().toArray(String[]::new);
+
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+		this.inflightRequests = new ConcurrentHashMap<>();
+		this.singleFlightTimeout = DEFAULT_SINGLE_FLIGHT_TIMEOUT;
+	}
+
+	/**
+	 * <p>
+	 * Sets the time in milliseconds concurrent misses wait for the response to be cached before being processed by the route handler.
+	 * </p>
+	 *
+	 * @param singleFlightTimeout a timeout in milliseconds
+	 */
+	public void setSingleFlightTimeout(long singleFlightTimeout) {
+		this.singleFlightTimeout = singleFlightTimeout;
+	}
+
+	/**
+	 * <p>
+	 * Returns the current size of the cache in bytes.
+	 * </p>
+	 *
+	 * @return the cache size
+	 */
+	public synchronized long getSize() {
+		return this.size;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of entries in the cache.
+	 * </p>
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int getCount() {
+		return this.entries.size();
+	}
+
+	/**
+	 * <p>
+	 * Invalidates the entries cached for the specified path.
+	 * </p>
+	 *
+	 * @param path the path as specified in the request (including the query)
+	 */
+	public synchronized void invalidate(String path) {
+		for(Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = this.entries.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+			if(entry.getKey().path.equals(path)) {
+				iterator.remove();
+				this.evict(entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Invalidates all entries and releases the cached buffers.
+	 * </p>
+	 */
+	public synchronized void clear() {
+		this.entries.values().forEach(this::evict);
+		this.entries.clear();
+	}
+
+	@Override
+	public Mono<? extends WebExchange<A>> intercept(WebExchange<A> exchange) {
+		Method method = exchange.request().getMethod();
+		if((method != Method.GET && method != Method.HEAD) || !this.isCacheable(exchange.request().headers())) {
+			return Mono.just(exchange);
+		}
+
+		CacheKey key = new CacheKey(exchange, this.varyHeaders);
+		CacheEntry entry = this.get(key);
+		if(entry != null && this.send(exchange, entry)) {
+			return Mono.empty();
+		}
+
+		Sinks.One<CacheEntry> inflightRequest = Sinks.one();
+		Sinks.One<CacheEntry> leadingRequest = this.inflightRequests.putIfAbsent(key, inflightRequest);
+		if(leadingRequest != null) {
+			// Wait for the leading request to complete
+			return leadingRequest.asMono()
+				.timeout(Duration.ofMillis(this.singleFlightTimeout), Mono.fromRunnable(() -> this.inflightRequests.remove(key, leadingRequest)))
+				.map(leadingEntry -> this.send(exchange, leadingEntry))
+				.defaultIfEmpty(false)
+				.flatMap(sent -> sent ? Mono.empty() : Mono.just(exchange));
+		}
+
+		ResponseCapture capture = new ResponseCapture(exchange, key, inflightRequest);
+		exchange.response().body().transform(capture::capture);
+		// The response data publisher might never be subscribed (e.g. handler error, exchange disposed...)
+		exchange.onTerminate(capture::onTerminate);
+		return Mono.just(exchange);
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the response to a request with the specified headers can be served from or stored in the cache.
+	 * </p>
+	 *
+	 * @param requestHeaders the request headers
+	 *
+	 * @return true if the request is cacheable, false otherwise
+	 */
+	private boolean isCacheable(InboundHeaders requestHeaders) {
+		if(requestHeaders.contains(Headers.NAME_AUTHORIZATION)) {
+			return false;
+		}
+		CacheControl cacheControl = new CacheControl(requestHeaders.getAll(Headers.NAME_CACHE_CONTROL));
+		return !cacheControl.noCache && !cacheControl.noStore;
+	}
+
+	/**
+	 * <p>
+	 * Returns the time to live of the specified response or {@code -1} if the response is not cacheable.
+	 * </p>
+	 *
+	 * @param responseHeaders the response headers
+	 *
+	 * @return a time to live in milliseconds or -1
+	 */
+	private long getTimeToLive(InboundResponseHeaders responseHeaders) {
+		if(responseHeaders.getStatusCode() != Status.OK.getCode() || responseHeaders.contains(Headers.NAME_SET_COOKIE)) {
+			return -1;
+		}
+		for(String vary : responseHeaders.getAll(Headers.NAME_VARY)) {
+			for(String varyHeader : vary.split(",")) {
+				varyHeader = varyHeader.trim().toLowerCase();
+				if(!varyHeader.isEmpty() && Arrays.binarySearch(this.varyHeaders, varyHeader) < 0) {
+					// includes '*'
+					return -1;
+				}
+			}
+		}
+		CacheControl cacheControl = new CacheControl(responseHeaders.getAll(Headers.NAME_CACHE_CONTROL));
+		if(cacheControl.noCache || cacheControl.noStore || cacheControl.isPrivate) {
+			return -1;
+		}
+		if(cacheControl.sMaxAge != null) {
+			return cacheControl.sMaxAge * 1000L;
+		}
+		if(cacheControl.maxAge != null) {
+			return cacheControl.maxAge * 1000L;
+		}
+		return this.timeToLive;
+	}
+
+	/**
+	 * <p>
+	 * Returns the valid entry cached for the specified key.
+	 * </p>
+	 *
+	 * @param key a cache key
+	 *
+	 * @return a cache entry or null
+	 */
+	private synchronized CacheEntry get(CacheKey key) {
+		CacheEntry entry = this.entries.get(key);
+		if(entry != null && entry.expirationTime <= System.currentTimeMillis()) {
+			this.entries.remove(key);
+			this.evict(entry);
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * <p>
+	 * Caches an entry, evicting least recently used entries if the maximum size is exceeded.
+	 * </p>
+	 *
+	 * @param key   a cache key
+	 * @param entry a cache entry
+	 */
+	private synchronized void put(CacheKey key, CacheEntry entry) {
+		CacheEntry previousEntry = this.entries.put(key, entry);
+		if(previousEntry != null) {
+			this.evict(previousEntry);
+		}
+		this.size += entry.size;
+		for(Iterator<CacheEntry> iterator = this.entries.values().iterator(); this.size > this.maxSize && iterator.hasNext();) {
+			CacheEntry eldestEntry = iterator.next();
+			iterator.remove();
+			this.evict(eldestEntry);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Evicts an entry that was removed from the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * This must be invoked while holding the cache lock.
+	 * </p>
+	 *
+	 * @param entry the evicted entry
+	 */
+	private void evict(CacheEntry entry) {
+		if(!entry.evicted) {
+			entry.evicted = true;
+			entry.body.release();
+			this.size -= entry.size;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns a retained duplicate of the body of the specified entry.
+	 * </p>
+	 *
+	 * @param entry a cache entry
+	 *
+	 * @return a retained buffer or null if the entry has been evicted
+	 */
+	private synchronized ByteBuf retainBody(CacheEntry entry) {
+		return entry.evicted ? null : entry.body.retainedDuplicate();
+	}
+
+	/**
+	 * <p>
+	 * Sends the specified cache entry in the response.
+	 * </p>
+	 *
+	 * @param exchange the exchange
+	 * @param entry    the cache entry
+	 *
+	 * @return true if the entry was sent, false if it was evicted in the meantime
+	 */
+	private boolean send(WebExchange<A> exchange, CacheEntry entry) {
+		ByteBuf body = this.retainBody(entry);
+		if(body == null) {
+			return false;
+		}
+		long age = Math.max(0, (System.currentTimeMillis() - entry.creationTime) / 1000);
+		if(this.isNotModified(exchange.request().headers(), entry)) {
+			body.release();
+			exchange.response()
+				.headers(headers -> {
+					headers.status(Status.NOT_MODIFIED);
+					entry.headers.stream()
+						.filter(header -> header.getKey().equals(Headers.NAME_CACHE_CONTROL) || header.getKey().equals(Headers.NAME_VARY) || header.getKey().equals(Headers.NAME_LAST_MODIFIED))
+						.forEach(header -> headers.add(header.getKey(), header.getValue()));
+					headers
+						.set(Headers.NAME_ETAG, entry.etag)
+						.set(Headers.NAME_AGE, Long.toString(age));
+				})
+				.body().empty();
+			return true;
+		}
+
+		exchange.response().headers(headers -> {
+			headers.status(entry.status);
+			entry.headers.forEach(header -> headers.add(header.getKey(), header.getValue()));
+			headers
+				.set(Headers.NAME_ETAG, entry.etag)
+				.set(Headers.NAME_AGE, Long.toString(age));
+		});
+		if(exchange.request().getMethod() == Method.HEAD) {
+			body.release();
+			exchange.response().body().empty();
+		}
+		else {
+			exchange.response().headers(headers -> headers.contentLength(body.readableBytes()));
+			exchange.response().body().raw().value(body);
+		}
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the cached entry was not modified according to the conditional request headers.
+	 * </p>
+	 *
+	 * @param requestHeaders the request headers
+	 * @param entry          the cache entry
+	 *
+	 * @return true if the entry was not modified, false otherwise
+	 */
+	private boolean isNotModified(InboundHeaders requestHeaders, CacheEntry entry) {
+		List<String> ifNoneMatch = requestHeaders.getAll(Headers.NAME_IF_NONE_MATCH);
+		if(!ifNoneMatch.isEmpty()) {
+			String entryTag = weakTag(entry.etag);
+			for(String tags : ifNoneMatch) {
+				for(String tag : tags.split(",")) {
+					tag = tag.trim();
+					if(tag.equals("*") || weakTag(tag).equals(entryTag)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		if(entry.lastModified != null) {
+			return requestHeaders.get(Headers.NAME_IF_MODIFIED_SINCE)
+				.map(ifModifiedSince -> {
+					try {
+						return !entry.lastModified.isAfter(ZonedDateTime.parse(ifModifiedSince, Headers.FORMATTER_RFC_5322_DATE_TIME));
+					}
+					catch(DateTimeParseException e) {
+						return false;
+					}
+				})
+				.orElse(false);
+		}
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Returns the opaque tag of an entity tag for weak comparison.
+	 * </p>
+	 *
+	 * @param etag an entity tag
+	 *
+	 * @return the opaque tag
+	 */
+	private static String weakTag(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+
+	/**
+	 * <p>
+	 * Computes a strong entity tag from the specified body.
+	 * </p>
+	 *
+	 * @param body a response body
+	 *
+	 * @return an entity tag
+	 */
+	private static String computeTag(ByteBuf body) {
+		CRC32C crc = new CRC32C();
+		for(ByteBuffer buffer : body.nioBuffers()) {
+			crc.update(buffer);
+		}
+		return "\"" + Long.toHexString(body.readableBytes()) + "-" + Long.toHexString(crc.getValue()) + "\"";
+	}
+
+	/**
+	 * <p>
+	 * Captures the response body sent by the leading request of a cache key in order to cache the response.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private class ResponseCapture {
+
+		private final WebExchange<A> exchange;
+		private final CacheKey key;
+		private final Sinks.One<CacheEntry> inflightRequest;
+
+		private CompositeByteBuf body;
+		private long timeToLive;
+		private boolean completed;
+		private boolean aborted;
+
+		/**
+		 * <p>
+		 * Creates a response capture.
+		 * </p>
+		 *
+		 * @param exchange        the exchange
+		 * @param key             the cache key
+		 * @param inflightRequest the sink used to notify concurrent requests
+		 */
+		public ResponseCapture(WebExchange<A> exchange, CacheKey key, Sinks.One<CacheEntry> inflightRequest) {
+			this.exchange = exchange;
+			this.key = key;
+			this.inflightRequest = inflightRequest;
+		}
+
+		/**
+		 * <p>
+		 * Transforms the response data publisher to capture the response body.
+		 * </p>
+		 *
+		 * @param data the response data publisher
+		 *
+		 * @return the transformed data publisher
+		 */
+		public Publisher<ByteBuf> capture(Publisher<ByteBuf> data) {
+			if(data instanceof Mono) {
+				return Mono.from(data).doOnNext(this::onNext).doFinally(this::onFinally);
+			}
+			return Flux.from(data).doOnNext(this::onNext).doFinally(this::onFinally);
+		}
+
+		/**
+		 * <p>
+		 * Captures a chunk of the response body.
+		 * </p>
+		 *
+		 * @param chunk the response body chunk
+		 */
+		private void onNext(ByteBuf chunk) {
+			if(this.aborted) {
+				return;
+			}
+			if(this.body == null && !this.start()) {
+				return;
+			}
+			int length = chunk.readableBytes();
+			if(this.body.readableBytes() + (long)length > ResponseCacheInterceptor.this.maxEntrySize) {
+				this.abort();
+				return;
+			}
+			if(length > 0) {
+				this.body.addComponent(true, chunk.isDirect() ? chunk.retainedDuplicate() : Unpooled.directBuffer(length).writeBytes(chunk, chunk.readerIndex(), length));
+			}
+		}
+
+		/**
+		 * <p>
+		 * Starts capturing the response body if the response is cacheable.
+		 * </p>
+		 *
+		 * @return true if the response is cacheable, false otherwise
+		 */
+		private boolean start() {
+			this.timeToLive = ResponseCacheInterceptor.this.getTimeToLive(this.exchange.response().headers());
+			if(this.timeToLive <= 0) {
+				this.abort();
+				return false;
+			}
+			this.body = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+			return true;
+		}
+
+		/**
+		 * <p>
+		 * Caches the response if the response body was fully captured.
+		 * </p>
+		 *
+		 * @param signal the termination signal
+		 */
+		private void onFinally(SignalType signal) {
+			if(this.aborted) {
+				return;
+			}
+			if(signal != SignalType.ON_COMPLETE || (this.body == null && !this.start())) {
+				this.abort();
+				return;
+			}
+
+			InboundResponseHeaders responseHeaders = this.exchange.response().headers();
+			Long contentLength = responseHeaders.getContentLength();
+			if(contentLength != null && contentLength != this.body.readableBytes()) {
+				// Data were not sent through the response data publisher (e.g. file region)
+				this.abort();
+				return;
+			}
+			long now = System.currentTimeMillis();
+			CacheEntry entry = new CacheEntry(
+				responseHeaders.getStatusCode(),
+				responseHeaders.getAll().stream()
+					.filter(header -> !EXCLUDED_HEADERS.contains(header.getKey().toLowerCase()))
+					.map(header -> Map.entry(header.getKey().toLowerCase(), header.getValue()))
+					.collect(Collectors.toUnmodifiableList()),
+				this.body,
+				responseHeaders.get(Headers.NAME_ETAG).orElseGet(() -> computeTag(this.body)),
+				responseHeaders.get(Headers.NAME_LAST_MODIFIED)
+					.map(lastModified -> {
+						try {
+							return ZonedDateTime.parse(lastModified, Headers.FORMATTER_RFC_5322_DATE_TIME);
+						}
+						catch(DateTimeParseException e) {
+							return null;
+						}
+					})
+					.orElse(null),
+				now,
+				now + this.timeToLive
+			);
+			this.body = null;
+			this.completed = true;
+			ResponseCacheInterceptor.this.put(this.key, entry);
+			ResponseCacheInterceptor.this.inflightRequests.remove(this.key, this.inflightRequest);
+			this.inflightRequest.tryEmitValue(entry);
+		}
+
+		/**
+		 * <p>
+		 * Aborts the capture when the exchange terminated before the response could be cached.
+		 * </p>
+		 */
+		private void onTerminate() {
+			if(!this.completed) {
+				this.abort();
+			}
+		}
+
+		/**
+		 * <p>
+		 * Aborts the capture and notifies concurrent requests that the response was not cached.
+		 * </p>
+		 */
+		private void abort() {
+			if(!this.aborted) {
+				this.aborted = true;
+				if(this.body != null) {
+					this.body.release();
+					this.body = null;
+				}
+				LOGGER.debug("Response to {} {} not cached", this.key.method, this.key.path);
+				ResponseCacheInterceptor.this.inflightRequests.remove(this.key, this.inflightRequest);
+				this.inflightRequest.tryEmitEmpty();
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * The cache-control directives relevant to the cache.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CacheControl {
+
+		private boolean noCache;
+		private boolean noStore;
+		private boolean isPrivate;
+		private Long maxAge;
+		private Long sMaxAge;
+
+		/**
+		 * <p>
+		 * Parses cache-control header values.
+		 * </p>
+		 *
+		 * @param values the cache-control header values
+		 */
+		public CacheControl(List<String> values) {
+			for(String value : values) {
+				for(String directive : value.split(",")) {
+					directive = directive.trim().toLowerCase();
+					if(directive.equals("no-cache")) {
+						this.noCache = true;
+					}
+					else if(directive.equals("no-store")) {
+						this.noStore = true;
+					}
+					else if(directive.equals("private")) {
+						this.isPrivate = true;
+					}
+					else if(directive.startsWith("max-age=")) {
+						this.maxAge = parseSeconds(directive.substring(8));
+					}
+					else if(directive.startsWith("s-maxage=")) {
+						this.sMaxAge = parseSeconds(directive.substring(9));
+					}
+				}
+			}
+		}
+
+		/**
+		 * <p>
+		 * Parses a delta-seconds value.
+		 * </p>
+		 *
+		 * @param value the value to parse
+		 *
+		 * @return the number of seconds or null if the value is invalid
+		 */
+		private static Long parseSeconds(String value) {
+			try {
+				return Long.parseLong(value.replace("\"", ""));
+			}
+			catch(NumberFormatException e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * A cache key.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CacheKey {
+
+		private final Method method;
+		private final String authority;
+		private final String path;
+		private final String[] varyValues;
+		private final int hashCode;
+
+		/**
+		 * <p>
+		 * Creates a cache key.
+		 * </p>
+		 *
+		 * @param exchange    the exchange
+		 * @param varyHeaders the request headers a response may vary upon
+		 */
+		public CacheKey(WebExchange<?> exchange, String[] varyHeaders) {
+			this.method = exchange.request().getMethod();
+			this.authority = exchange.request().getAuthority();
+			this.path = exchange.request().getPath();
+			this.varyValues = new String[varyHeaders.length];
+			for(int i=0;i<varyHeaders.length;i++) {
+				List<String> values = exchange.request().headers().getAll(varyHeaders[i]);
+				this.varyValues[i] = values.isEmpty() ? null : String.join(",", values);
+			}
+			this.hashCode = 31 * Objects.hash(this.method, this.authority, this.path) + Arrays.hashCode(this.varyValues);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			CacheKey cacheKey = (CacheKey) o;
+			return this.method == cacheKey.method && Objects.equals(this.authority, cacheKey.authority) && Objects.equals(this.path, cacheKey.path) && Arrays.equals(this.varyValues, cacheKey.varyValues);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A cache entry holding a rendered response.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class CacheEntry {
+
+		private final int status;
+		private final List<Map.Entry<String, String>> headers;
+		private final ByteBuf body;
+		private final String etag;
+		private final ZonedDateTime lastModified;
+		private final long creationTime;
+		private final long expirationTime;
+		private final long size;
+
+		private boolean evicted;
+
+		/**
+		 * <p>
+		 * Creates a cache entry.
+		 * </p>
+		 *
+		 * @param status         the response status
+		 * @param headers        the response headers
+		 * @param body           the response body
+		 * @param etag           the entity tag
+		 * @param lastModified   the last modified date or null
+		 * @param creationTime   the creation time in milliseconds
+		 * @param expirationTime the expiration time in milliseconds
+		 */
+		public CacheEntry(int status, List<Map.Entry<String, String>> headers, ByteBuf body, String etag, ZonedDateTime lastModified, long creationTime, long expirationTime) {
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.creationTime = creationTime;
+			this.expirationTime = expirationTime;
+			this.size = body.readableBytes() + headers.stream().mapToLong(header -> header.getKey().length() + header.getValue().length()).sum();
+		}
+	}
+}
@@ -15,14 +15,30 @@
  */
 package io.inverno.mod.web.server;
 
+import io.inverno.mod.base.concurrent.ExpiringCache;
 import io.inverno.mod.base.resource.Resource;
 import io.inverno.mod.http.base.BadRequestException;
 import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.base.HttpException;
+import io.inverno.mod.http.base.InboundHeaders;
+import io.inverno.mod.http.base.Method;
 import io.inverno.mod.http.base.NotFoundException;
 import io.inverno.mod.http.base.Parameter;
+import io.inverno.mod.http.base.Status;
+import io.inverno.mod.http.base.header.Headers;
 import io.inverno.mod.http.server.ExchangeHandler;
+import io.inverno.mod.http.server.ResponseBody;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,6 +60,23 @@ import java.util.Optional;
  * 
  * }</pre>
  * 
+ * <p>
+ * The metadata of regular file resources (size, last modified date, media type, entity tag and precompressed variants) are cached for a configurable amount of time in order to avoid resolving them
+ * on every request. When serving such resources, the handler:
+ * </p>
+ *
+ * <ul>
+ * <li>sends {@code etag}, {@code last-modified} and {@code accept-ranges} headers,</li>
+ * <li>responds with a {@code 304} to conditional {@code GET} and {@code HEAD} requests when the {@code if-none-match} or {@code if-modified-since} headers match the resource,</li>
+ * <li>responds with a {@code 206} to {@code GET} requests specifying single or multiple byte ranges in a {@code range} header as defined by
+ * <a href="https://tools.ietf.org/html/rfc7233">RFC 7233</a>,</li>
+ * <li>serves precompressed {@code .br}, {@code .zst} or {@code .gz} sibling resources, when present and accepted by the client as specified in the {@code accept-encoding} header.</li>
+ * </ul>
+ *
+ * <p>
+ * Other resources (e.g. URL or module resources) are served as is.
+ * </p>
+ *
  * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
  * @since 1.0
  * 
@@ -63,11 +96,42 @@ public class StaticHandler<A extends ExchangeContext> implements ExchangeHandler
 	 */
 	public static final String DEFAULT_WELCOME_PAGE = "index.html";
 	
+	/**
+	 * The default maximum number of resource metadata in the cache: {@code 1024}.
+	 */
+	public static final int DEFAULT_METADATA_CACHE_MAX_SIZE = 1024;
+
+	/**
+	 * The default time to live in milliseconds of resource metadata in the cache: 5 seconds.
+	 */
+	public static final long DEFAULT_METADATA_CACHE_TIME_TO_LIVE = 5000L;
+
+	/**
+	 * The maximum number of byte ranges accepted in a {@code range} header, the header is ignored when more ranges are specified.
+	 */
+	private static final int MAX_RANGES = 16;
+
+	/**
+	 * The precompressed variant file extensions by content encoding in order of preference.
+	 */
+	private static final Map<String, String> PRECOMPRESSED_EXTENSIONS;
+
+	static {
+		PRECOMPRESSED_EXTENSIONS = new LinkedHashMap<>();
+		PRECOMPRESSED_EXTENSIONS.put(Headers.VALUE_BR, ".br");
+		PRECOMPRESSED_EXTENSIONS.put(Headers.VALUE_ZSTD, ".zst");
+		PRECOMPRESSED_EXTENSIONS.put(Headers.VALUE_GZIP, ".gz");
+	}
+
 	private final Resource baseResource;
+
+	private ExpiringCache<String, ResourceMetadata> metadataCache;
 	
 	private String pathParameterName;
 	
 	private String welcomePage;
+
+	private boolean precompressed;
 	
 	/**
 	 * <p>
@@ -97,6 +161,8 @@ public class StaticHandler<A extends ExchangeContext> implements ExchangeHandler
 		this.baseResource = baseResource;
 		this.pathParameterName = pathParameterName;
 		this.welcomePage = DEFAULT_WELCOME_PAGE;
+		this.precompressed = true;
+		this.metadataCache = new ExpiringCache<>(DEFAULT_METADATA_CACHE_MAX_SIZE, Duration.ofMillis(DEFAULT_METADATA_CACHE_TIME_TO_LIVE));
 	}
 	
 	/**
@@ -119,6 +185,84 @@ public class StaticHandler<A extends ExchangeContext> implements ExchangeHandler
 	 */
 	public void setWelcomePage(String welcomePage) {
 		this.welcomePage = welcomePage;
+		this.invalidate();
+	}
+
+	/**
+	 * <p>
+	 * Enables or disables precompressed variants.
+	 * </p>
+	 *
+	 * <p>
+	 * When enabled, which is the default, the handler serves the {@code .br}, {@code .zst} or {@code .gz} sibling of a regular file resource when it exists, is not older than the resource and its
+	 * encoding is accepted by the client.
+	 * </p>
+	 *
+	 * @param precompressed true to serve precompressed variants, false otherwise
+	 *
+	 * @since 1.14
+	 */
+	public void setPrecompressed(boolean precompressed) {
+		this.precompressed = precompressed;
+		this.invalidate();
+	}
+
+	/**
+	 * <p>
+	 * Sets the maximum number of resource metadata in the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * Setting a value lower or equal to 0 disables the cache.
+	 * </p>
+	 *
+	 * @param metadataCacheMaxSize the maximum cache size
+	 *
+	 * @since 1.14
+	 */
+	public void setMetadataCacheMaxSize(int metadataCacheMaxSize) {
+		this.metadataCache = new ExpiringCache<>(metadataCacheMaxSize, this.metadataCache.getTimeToLive());
+	}
+
+	/**
+	 * <p>
+	 * Sets the time to live in milliseconds of resource metadata in the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * This is the maximum time a change to a resource can take to be reflected in the {@code etag} and {@code last-modified} headers.
+	 * </p>
+	 *
+	 * @param metadataCacheTimeToLive the time to live in milliseconds
+	 *
+	 * @since 1.14
+	 */
+	public void setMetadataCacheTimeToLive(long metadataCacheTimeToLive) {
+		this.metadataCache = new ExpiringCache<>(this.metadataCache.getMaxSize(), Duration.ofMillis(metadataCacheTimeToLive));
+	}
+
+	/**
+	 * <p>
+	 * Invalidates all cached resource metadata.
+	 * </p>
+	 *
+	 * @since 1.14
+	 */
+	public void invalidate() {
+		this.metadataCache.clear();
+	}
+
+	/**
+	 * <p>
+	 * Invalidates the metadata cached for the specified resource path.
+	 * </p>
+	 *
+	 * @param path the path of a resource relative to the base resource
+	 *
+	 * @since 1.14
+	 */
+	public void invalidate(String path) {
+		this.metadataCache.remove(Path.of(path).normalize().toString());
 	}
 	
 	@Override
@@ -138,6 +282,27 @@ public class StaticHandler<A extends ExchangeContext> implements ExchangeHandler
 			throw new NotFoundException();
 		}
 
+		ResourceMetadata metadata = this.getMetadata(resourcePath);
+		if(metadata != null) {
+			this.handleMetadata(exchange, metadata);
+		}
+		else {
+			this.handleResource(exchange, resourcePath, pathParameter);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Serves a resource whose metadata could not be determined.
+	 * </p>
+	 *
+	 * @param exchange      the exchange
+	 * @param resourcePath  the resource path
+	 * @param pathParameter the path parameter
+	 *
+	 * @throws HttpException if there was an error resolving the resource
+	 */
+	private void handleResource(WebExchange<A> exchange, Path resourcePath, String pathParameter) throws HttpException {
 		try(Resource requestedResource = this.baseResource.resolve(resourcePath)) {
 			Optional<Boolean> exists = requestedResource.exists();
 			Optional<Boolean> isFile = requestedResource.isFile();
@@ -184,4 +349,439 @@ public class StaticHandler<A extends ExchangeContext> implements ExchangeHandler
 			throw new NotFoundException(pathParameter);
 		}
 	}
+
+	/**
+	 * <p>
+	 * Serves a regular file resource using its metadata.
+	 * </p>
+	 *
+	 * @param exchange the exchange
+	 * @param metadata the resource metadata
+	 *
+	 * @throws HttpException if there was an error resolving the resource
+	 */
+	private void handleMetadata(WebExchange<A> exchange, ResourceMetadata metadata) throws HttpException {
+		InboundHeaders requestHeaders = exchange.request().headers();
+		Method method = exchange.request().getMethod();
+		Representation representation = selectRepresentation(requestHeaders, metadata);
+
+		exchange.response().headers(headers -> {
+			headers
+				.set(Headers.NAME_ETAG, representation.etag)
+				.set(Headers.NAME_LAST_MODIFIED, metadata.lastModified)
+				.set(Headers.NAME_ACCEPT_RANGES, Headers.VALUE_BYTES);
+			if(!metadata.variants.isEmpty()) {
+				headers.add(Headers.NAME_VARY, Headers.NAME_ACCEPT_ENCODING);
+			}
+		});
+
+		if((method == Method.GET || method == Method.HEAD) && isNotModified(requestHeaders, representation)) {
+			exchange.response().headers(headers -> headers.status(Status.NOT_MODIFIED)).body().empty();
+			return;
+		}
+
+		exchange.response().headers(headers -> {
+			if(metadata.mediaType != null) {
+				headers.contentType(metadata.mediaType);
+			}
+			if(representation.encoding != null) {
+				headers.set(Headers.NAME_CONTENT_ENCODING, representation.encoding);
+			}
+		});
+
+		List<ResponseBody.Resource.Region> regions = method == Method.GET ? getRegions(requestHeaders, representation) : null;
+		if(regions != null && regions.isEmpty()) {
+			exchange.response()
+				.headers(headers -> headers
+					.status(Status.RANGE_NOT_SATISFIABLE)
+					.set(Headers.NAME_CONTENT_RANGE, Headers.VALUE_BYTES + " */" + representation.size)
+				)
+				.body().empty();
+			return;
+		}
+
+		try(Resource resource = this.baseResource.resolve(representation.path)) {
+			if(regions != null) {
+				try {
+					exchange.response().body().resource().value(resource, regions);
+					return;
+				}
+				catch(IllegalArgumentException e) {
+					// The resource has changed since metadata were cached, send the full resource
+					this.metadataCache.remove(metadata.key);
+				}
+			}
+			exchange.response().body().resource().value(resource);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the metadata of the specified resource from the cache or resolves them if they are missing or expired.
+	 * </p>
+	 *
+	 * @param resourcePath the resource path
+	 *
+	 * @return the resource metadata or null if the resource is not a regular file
+	 */
+	private ResourceMetadata getMetadata(Path resourcePath) {
+		String key = resourcePath.toString();
+		ResourceMetadata metadata = this.metadataCache.get(key);
+		if(metadata != null) {
+			return metadata;
+		}
+
+		metadata = this.resolveMetadata(key, resourcePath);
+		if(metadata != null) {
+			this.metadataCache.put(key, metadata);
+		}
+		return metadata;
+	}
+
+	/**
+	 * <p>
+	 * Resolves the metadata of the specified resource.
+	 * </p>
+	 *
+	 * @param key          the cache key
+	 * @param resourcePath the resource path
+	 *
+	 * @return the resource metadata or null if the resource is not a regular file
+	 */
+	private ResourceMetadata resolveMetadata(String key, Path resourcePath) {
+		try(Resource resource = this.baseResource.resolve(resourcePath)) {
+			Optional<Boolean> isFile = resource.isFile();
+			if(!resource.exists().orElse(false) || isFile.isEmpty()) {
+				return null;
+			}
+			if(!isFile.get()) {
+				// directory
+				resourcePath = resourcePath.resolve(this.welcomePage);
+			}
+		}
+
+		String[] mediaType = new String[1];
+		Representation identity = this.resolveRepresentation(resourcePath, null, mediaType);
+		if(identity == null) {
+			return null;
+		}
+
+		Map<String, Representation> variants = new LinkedHashMap<>();
+		if(this.precompressed) {
+			String fileName = resourcePath.getFileName().toString();
+			for(Map.Entry<String, String> e : PRECOMPRESSED_EXTENSIONS.entrySet()) {
+				Representation variant = this.resolveRepresentation(resourcePath.resolveSibling(fileName + e.getValue()), e.getKey(), null);
+				// Ignore outdated variants
+				if(variant != null && variant.lastModified >= identity.lastModified) {
+					variants.put(e.getKey(), variant);
+				}
+			}
+		}
+		return new ResourceMetadata(key, identity, variants, mediaType[0]);
+	}
+
+	/**
+	 * <p>
+	 * Resolves the representation corresponding to the specified path.
+	 * </p>
+	 *
+	 * @param path      the representation path
+	 * @param encoding  the representation content encoding or null
+	 * @param mediaType an array in which to set the media type of the resource or null
+	 *
+	 * @return a representation or null if the path does not correspond to a regular file
+	 */
+	private Representation resolveRepresentation(Path path, String encoding, String[] mediaType) {
+		try(Resource resource = this.baseResource.resolve(path)) {
+			if(!resource.exists().orElse(false) || !resource.isFile().orElse(false)) {
+				return null;
+			}
+			Optional<Long> size = resource.size();
+			Optional<FileTime> lastModified = resource.lastModified();
+			if(size.isEmpty() || lastModified.isEmpty()) {
+				return null;
+			}
+			if(mediaType != null) {
+				mediaType[0] = resource.getMediaType();
+			}
+			return new Representation(path, encoding, size.get(), lastModified.get().toMillis());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Selects the representation to send based on the {@code accept-encoding} request header.
+	 * </p>
+	 *
+	 * <p>
+	 * This returns the accepted precompressed variant with the highest quality value or the identity representation if no variant is accepted.
+	 * </p>
+	 *
+	 * @param requestHeaders the request headers
+	 * @param metadata       the resource metadata
+	 *
+	 * @return a representation
+	 */
+	private static Representation selectRepresentation(InboundHeaders requestHeaders, ResourceMetadata metadata) {
+		if(metadata.variants.isEmpty()) {
+			return metadata.identity;
+		}
+		List<String> acceptEncodings = requestHeaders.getAll(Headers.NAME_ACCEPT_ENCODING);
+		if(acceptEncodings.isEmpty()) {
+			return metadata.identity;
+		}
+
+		Map<String, Float> qualities = new LinkedHashMap<>();
+		for(String acceptEncoding : acceptEncodings) {
+			for(String coding : acceptEncoding.split(",")) {
+				String[] codingParts = coding.split(";");
+				String name = codingParts[0].trim().toLowerCase();
+				float quality = 1.0f;
+				for(int i=1;i<codingParts.length;i++) {
+					String parameter = codingParts[i].trim();
+					if(parameter.startsWith("q=")) {
+						try {
+							quality = Float.parseFloat(parameter.substring(2));
+						}
+						catch(NumberFormatException e) {
+							quality = 0.0f;
+						}
+					}
+				}
+				if(!name.isEmpty()) {
+					qualities.put(name, quality);
+				}
+			}
+		}
+
+		Representation selected = metadata.identity;
+		float selectedQuality = 0.0f;
+		for(Map.Entry<String, Representation> e : metadata.variants.entrySet()) {
+			Float quality = qualities.get(e.getKey());
+			if(quality == null) {
+				quality = qualities.getOrDefault("*", 0.0f);
+			}
+			if(quality > selectedQuality) {
+				selected = e.getValue();
+				selectedQuality = quality;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the representation was not modified according to the conditional request headers.
+	 * </p>
+	 *
+	 * @param requestHeaders the request headers
+	 * @param representation the representation
+	 *
+	 * @return true if the representation was not modified, false otherwise
+	 */
+	private static boolean isNotModified(InboundHeaders requestHeaders, Representation representation) {
+		List<String> ifNoneMatch = requestHeaders.getAll(Headers.NAME_IF_NONE_MATCH);
+		if(!ifNoneMatch.isEmpty()) {
+			for(String tags : ifNoneMatch) {
+				for(String tag : tags.split(",")) {
+					tag = tag.trim();
+					if(tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(representation.etag)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		return requestHeaders.get(Headers.NAME_IF_MODIFIED_SINCE)
+			.map(StaticHandler::parseDate)
+			.map(ifModifiedSince -> representation.lastModified / 1000 <= ifModifiedSince.toEpochSecond())
+			.orElse(false);
+	}
+
+	/**
+	 * <p>
+	 * Returns the regions of the representation requested in the {@code range} request header.
+	 * </p>
+	 *
+	 * <p>
+	 * Overlapping ranges are coalesced and returned in ascending order.
+	 * </p>
+	 *
+	 * @param requestHeaders the request headers
+	 * @param representation the representation
+	 *
+	 * @return null if the full representation must be sent, an empty list if no range is satisfiable or the list of regions to send
+	 */
+	private static List<ResponseBody.Resource.Region> getRegions(InboundHeaders requestHeaders, Representation representation) {
+		String range = requestHeaders.get(Headers.NAME_RANGE).orElse(null);
+		if(range == null || !range.regionMatches(true, 0, Headers.VALUE_BYTES + "=", 0, Headers.VALUE_BYTES.length() + 1)) {
+			return null;
+		}
+
+		Optional<String> ifRange = requestHeaders.get(Headers.NAME_IF_RANGE);
+		if(ifRange.isPresent()) {
+			String ifRangeValue = ifRange.get().trim();
+			if(ifRangeValue.startsWith("\"") || ifRangeValue.startsWith("W/")) {
+				// Strong comparison
+				if(!ifRangeValue.equals(representation.etag)) {
+					return null;
+				}
+			}
+			else {
+				ZonedDateTime ifRangeDate = parseDate(ifRangeValue);
+				if(ifRangeDate == null || ifRangeDate.toEpochSecond() != representation.lastModified / 1000) {
+					return null;
+				}
+			}
+		}
+
+		String[] rangeSpecs = range.substring(Headers.VALUE_BYTES.length() + 1).split(",");
+		if(rangeSpecs.length > MAX_RANGES) {
+			return null;
+		}
+		long size = representation.size;
+		List<long[]> ranges = new ArrayList<>(rangeSpecs.length);
+		for(String rangeSpec : rangeSpecs) {
+			rangeSpec = rangeSpec.trim();
+			int dashIndex = rangeSpec.indexOf('-');
+			if(dashIndex < 0) {
+				return null;
+			}
+			long first;
+			long last;
+			try {
+				if(dashIndex == 0) {
+					// suffix-byte-range-spec
+					long suffixLength = Long.parseLong(rangeSpec.substring(1));
+					if(suffixLength <= 0) {
+						continue;
+					}
+					first = Math.max(0, size - suffixLength);
+					last = size - 1;
+				}
+				else {
+					first = Long.parseLong(rangeSpec.substring(0, dashIndex));
+					last = dashIndex == rangeSpec.length() - 1 ? size - 1 : Long.parseLong(rangeSpec.substring(dashIndex + 1));
+					if(first < 0 || last < first) {
+						// Invalid range
+						return null;
+					}
+					last = Math.min(last, size - 1);
+				}
+			}
+			catch(NumberFormatException e) {
+				return null;
+			}
+			if(first < size) {
+				ranges.add(new long[] {first, last});
+			}
+		}
+
+		ranges.sort(Comparator.comparingLong(r -> r[0]));
+		List<ResponseBody.Resource.Region> regions = new ArrayList<>(ranges.size());
+		long[] current = null;
+		for(long[] r : ranges) {
+			if(current != null && r[0] <= current[1] + 1) {
+				current[1] = Math.max(current[1], r[1]);
+			}
+			else {
+				if(current != null) {
+					regions.add(ResponseBody.Resource.Region.of(current[0], current[1] - current[0] + 1));
+				}
+				current = r;
+			}
+		}
+		if(current != null) {
+			regions.add(ResponseBody.Resource.Region.of(current[0], current[1] - current[0] + 1));
+		}
+		return regions;
+	}
+
+	/**
+	 * <p>
+	 * Parses an HTTP date.
+	 * </p>
+	 *
+	 * @param value the value to parse
+	 *
+	 * @return a date or null if the value is not a valid date
+	 */
+	private static ZonedDateTime parseDate(String value) {
+		try {
+			return ZonedDateTime.parse(value, Headers.FORMATTER_RFC_5322_DATE_TIME);
+		}
+		catch(DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * The cached metadata of a regular file resource.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class ResourceMetadata {
+
+		private final String key;
+		private final Representation identity;
+		private final Map<String, Representation> variants;
+		private final String mediaType;
+		private final String lastModified;
+
+		/**
+		 * <p>
+		 * Creates resource metadata.
+		 * </p>
+		 *
+		 * @param key       the cache key
+		 * @param identity  the identity representation
+		 * @param variants  the precompressed variants by content encoding in order of preference
+		 * @param mediaType the resource media type
+		 */
+		public ResourceMetadata(String key, Representation identity, Map<String, Representation> variants, String mediaType) {
+			this.key = key;
+			this.identity = identity;
+			this.variants = variants;
+			this.mediaType = mediaType;
+			this.lastModified = Headers.FORMATTER_RFC_5322_DATE_TIME.format(Instant.ofEpochMilli(identity.lastModified));
+		}
+	}
+
+	/**
+	 * <p>
+	 * A representation of a resource, either the identity representation or a precompressed variant.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static class Representation {
+
+		private final Path path;
+		private final String encoding;
+		private final long size;
+		private final long lastModified;
+		private final String etag;
+
+		/**
+		 * <p>
+		 * Creates a representation.
+		 * </p>
+		 *
+		 * @param path         the path to the representation
+		 * @param encoding     the content encoding or null for the identity representation
+		 * @param size         the size of the representation
+		 * @param lastModified the last modified time in milliseconds
+		 */
+		public Representation(Path path, String encoding, long size, long lastModified) {
+			this.path = path;
+			this.encoding = encoding;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + (encoding != null ? "-" + encoding : "") + "\"";
+		}
+	}
 }
@@ -16,7 +16,9 @@
 package io.inverno.mod.web.server;
 
 import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.router.ResolutionCache;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -216,6 +218,21 @@ public interface WebServer<A extends ExchangeContext> extends WebRouter<A>, WebR
 		 * @throws IllegalStateException if the Web server has already been initialized
 		 */
 		<T extends ExchangeContext> WebServer<T> webServer(Supplier<T> contextFactory) throws IllegalStateException;
+
+		/**
+		 * <p>
+		 * Returns the cache used to resolve Web routes.
+		 * </p>
+		 *
+		 * <p>
+		 * The cache is enabled by setting a positive route cache size in the Web server module configuration, its hit and miss counts can be used to size it.
+		 * </p>
+		 *
+		 * @return an optional returning the route resolution cache or an empty optional if the Web server has not been initialized or if resolved routes are not cached
+		 */
+		default Optional<ResolutionCache<?, ?>> routeResolutionCache() {
+			return Optional.empty();
+		}
 	}
 
 	/**
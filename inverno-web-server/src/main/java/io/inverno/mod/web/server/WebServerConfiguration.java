@@ -39,4 +39,24 @@ public interface WebServerConfiguration {
 	 */
 	@NestedBean
 	HttpServerConfiguration http_server();
+
+	/**
+	 * <p>
+	 * The maximum number of resolved routes cached per event loop.
+	 * </p>
+	 *
+	 * <p>
+	 * Routes are cached by method, path, content type, accepted content types, accepted languages and WebSocket subprotocols in order to skip route resolution when the same requests are received
+	 * over and over again. The cache is disabled when the size is not strictly positive.
+	 * </p>
+	 *
+	 * <p>
+	 * Defaults to 0.
+	 * </p>
+	 *
+	 * @return the route cache size
+	 */
+	default int route_cache_size() {
+		return 0;
+	}
 }
@@ -88,6 +88,11 @@ public class GenericErrorWebExchange<A extends ExchangeContext> implements Error
 		return this.exchange.getCancelCause();
 	}
 
+	@Override
+	public void onTerminate(Runnable callback) {
+		this.exchange.onTerminate(callback);
+	}
+
 	@Override
 	public Throwable getError() {
 		return this.exchange.getError();
@@ -100,4 +100,9 @@ public class GenericWebExchange<A extends ExchangeContext> implements WebExchang
 	public Optional<Throwable> getCancelCause() {
 		return this.exchange.getCancelCause();
 	}
+
+	@Override
+	public void onTerminate(Runnable callback) {
+		this.exchange.onTerminate(callback);
+	}
 }
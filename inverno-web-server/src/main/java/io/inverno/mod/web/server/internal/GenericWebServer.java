@@ -20,6 +20,7 @@ import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.base.HttpException;
 import io.inverno.mod.http.base.InternalServerErrorException;
 import io.inverno.mod.http.base.NotFoundException;
+import io.inverno.mod.http.base.router.ResolutionCache;
 import io.inverno.mod.http.server.ErrorExchange;
 import io.inverno.mod.http.server.Exchange;
 import io.inverno.mod.web.server.ErrorWebRouteInterceptor;
@@ -40,7 +41,9 @@ import io.inverno.mod.web.server.internal.router.InternalErrorWebRouter;
 import io.inverno.mod.web.server.internal.router.InternalWebRouteInterceptorRouter;
 import io.inverno.mod.web.server.internal.router.InternalWebRouter;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import reactor.core.publisher.Mono;
@@ -73,14 +76,18 @@ public class GenericWebServer<A extends ExchangeContext> implements WebServer<A>
 	 * @param dataConversionService the data conversion service
 	 * @param parameterConverter    a parameter converter
 	 * @param contextFactory        an exchange context factory
+	 * @param routeCacheSize        the maximum number of resolved routes cached per event loop, the cache is disabled if not strictly positive
 	 */
-	public GenericWebServer(ServerDataConversionService dataConversionService, ObjectConverter<String> parameterConverter, Supplier<A> contextFactory) {
+	public GenericWebServer(ServerDataConversionService dataConversionService, ObjectConverter<String> parameterConverter, Supplier<A> contextFactory, int routeCacheSize) {
 		this.dataConversionService = dataConversionService;
 		this.parameterConverter = parameterConverter;
 		this.interceptorRouter = new InternalWebRouteInterceptorRouter<>();
-		this.router = new InternalWebRouter<>();
+		this.router = new InternalWebRouter<A>().freeze();
+		if(routeCacheSize > 0) {
+			this.router.cache(new InternalWebRouter.Cache<>(routeCacheSize));
+		}
 		this.errorInterceptorRouter = new InternalErrorWebRouteInterceptorRouter<>();
-		this.errorRouter = new InternalErrorWebRouter<>();
+		this.errorRouter = new InternalErrorWebRouter<A>().freeze();
 		this.contextFactory = contextFactory;
 	}
 
@@ -147,6 +154,17 @@ public class GenericWebServer<A extends ExchangeContext> implements WebServer<A>
 		return this.contextFactory.get();
 	}
 
+	/**
+	 * <p>
+	 * Returns the cache used to resolve Web routes.
+	 * </p>
+	 *
+	 * @return an optional returning the route resolution cache or an empty optional if resolved routes are not cached
+	 */
+	public Optional<ResolutionCache<?, ?>> getRouteResolutionCache() {
+		return this.router.getResolutionCache().map(Function.identity());
+	}
+
 	@Override
 	public Set<WebRoute<A>> getRoutes() {
 		return this.router.getRoutes().stream()
@@ -25,11 +25,14 @@ import io.inverno.mod.http.base.ExchangeContext;
 import io.inverno.mod.http.base.HttpException;
 import io.inverno.mod.http.base.NotFoundException;
 import io.inverno.mod.http.base.Status;
+import io.inverno.mod.http.base.router.ResolutionCache;
 import io.inverno.mod.http.server.ErrorExchange;
 import io.inverno.mod.http.server.Exchange;
 import io.inverno.mod.http.server.ServerController;
 import io.inverno.mod.web.server.WebServer;
+import io.inverno.mod.web.server.WebServerConfiguration;
 import java.net.URI;
+import java.util.Optional;
 import java.util.function.Supplier;
 import reactor.core.publisher.Mono;
 
@@ -49,6 +52,8 @@ public class GenericWebServerBoot implements WebServer.Boot, ServerController<Ex
 	private final ObjectConverter<String> parameterConverter;
 	private final ResourceService resourceService;
 
+	private WebServerConfiguration configuration;
+
 	private GenericWebServer<?> rootServer;
 
 	/**
@@ -66,17 +71,33 @@ public class GenericWebServerBoot implements WebServer.Boot, ServerController<Ex
 		this.resourceService = resourceService;
 	}
 
+	/**
+	 * <p>
+	 * Sets the Web server module configuration.
+	 * </p>
+	 *
+	 * @param configuration the Web server module configuration
+	 */
+	public void setConfiguration(WebServerConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
 	@Override
 	public <T extends ExchangeContext> WebServer<T> webServer(Supplier<T> contextFactory) throws IllegalStateException {
 		if(this.rootServer != null) {
 			throw new IllegalStateException("A WebServer has already been initialized");
 		}
-		GenericWebServer<T> server = new GenericWebServer<>(this.dataConversionService, this.parameterConverter, contextFactory);
+		GenericWebServer<T> server = new GenericWebServer<>(this.dataConversionService, this.parameterConverter, contextFactory, this.configuration != null ? this.configuration.route_cache_size() : 0);
 		this.rootServer = server;
 		this.routeFavicon();
 		return server;
 	}
 
+	@Override
+	public Optional<ResolutionCache<?, ?>> routeResolutionCache() {
+		return this.rootServer != null ? this.rootServer.getRouteResolutionCache() : Optional.empty();
+	}
+
 	/**
 	 * <p>
 	 * Defines default {@code /favicon.ico} route.
@@ -16,12 +16,15 @@
 package io.inverno.mod.web.server.internal.router;
 
 import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.InboundRequestHeaders;
 import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.Parameter;
 import io.inverno.mod.http.base.header.Headers;
 import io.inverno.mod.http.base.router.AbstractRouter;
 import io.inverno.mod.http.base.router.link.AcceptLanguageRoutingLink;
 import io.inverno.mod.http.base.router.link.ContentRoutingLink;
 import io.inverno.mod.http.base.router.MethodRoute;
+import io.inverno.mod.http.base.router.ResolutionCache;
 import io.inverno.mod.http.base.router.link.MethodRoutingLink;
 import io.inverno.mod.http.base.router.link.OutboundAcceptContentRoutingLink;
 import io.inverno.mod.http.base.router.link.PathRoutingLink;
@@ -30,6 +33,8 @@ import io.inverno.mod.http.base.router.WebSocketSubprotocolRoute;
 import io.inverno.mod.http.base.router.link.WebSocketSubprotocolRoutingLink;
 import io.inverno.mod.web.server.internal.GenericWebExchange;
 import io.inverno.mod.web.server.internal.WebRouteHandler;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -471,4 +476,120 @@ public final class InternalWebRouter<A extends ExchangeContext> extends Abstract
 			route.get().setResponseContentType(route.getAccept());
 		}
 	}
+
+	/**
+	 * <p>
+	 * Internal Web router resolution cache.
+	 * </p>
+	 *
+	 * <p>
+	 * Web route handlers are cached by method, absolute path, content type, accepted content types, accepted languages and WebSocket subprotocols. Raw header values are used to build the key,
+	 * which is stricter than the actual content negotiation but doesn't require to parse headers.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 *
+	 * @param <A> the exchange context type
+	 */
+	public final static class Cache<A extends ExchangeContext> extends ResolutionCache<WebRouteHandler<A>, GenericWebExchange<A>> {
+
+		/**
+		 * <p>
+		 * Creates an internal Web router resolution cache.
+		 * </p>
+		 *
+		 * @param maxSize the maximum number of entries per event loop
+		 */
+		public Cache(int maxSize) {
+			super(maxSize);
+		}
+
+		@Override
+		protected Object getKey(GenericWebExchange<A> input) {
+			InboundRequestHeaders headers = input.request().headers();
+			return new InternalWebRouter.CacheKey(
+				input.request().getMethod(),
+				input.request().getPathAbsolute(),
+				headers.get(Headers.NAME_CONTENT_TYPE).orElse(null),
+				headers.getAll(Headers.NAME_ACCEPT),
+				headers.getAll(Headers.NAME_ACCEPT_LANGUAGE),
+				headers.getAll(Headers.NAME_SEC_WEBSOCKET_PROTOCOL)
+			);
+		}
+
+		@Override
+		protected Map<String, String> getParameters(GenericWebExchange<A> input) {
+			Map<String, Parameter> pathParameters = input.request().pathParameters().getAll();
+			if(pathParameters.isEmpty()) {
+				return Map.of();
+			}
+			Map<String, String> parameters = new HashMap<>();
+			for(Map.Entry<String, Parameter> e : pathParameters.entrySet()) {
+				// Missing parameters are represented by null values which are restored from empty values
+				parameters.put(e.getKey(), e.getValue() != null ? e.getValue().getValue() : "");
+			}
+			return Collections.unmodifiableMap(parameters);
+		}
+
+		@Override
+		protected void setParameters(GenericWebExchange<A> input, Map<String, String> parameters) {
+			input.request().setPathParameters(parameters);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Internal Web router resolution cache key.
+	 * </p>
+	 *
+	 * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+	 * @since 1.14
+	 */
+	private static final class CacheKey {
+
+		private final Method method;
+		private final String path;
+		private final String contentType;
+		private final List<String> accept;
+		private final List<String> acceptLanguage;
+		private final List<String> subprotocols;
+
+		private final int hashCode;
+
+		/**
+		 * <p>
+		 * Creates an internal Web router resolution cache key.
+		 * </p>
+		 *
+		 * @param method         the request method
+		 * @param path           the request absolute path
+		 * @param contentType    the raw request content type
+		 * @param accept         the raw accepted content types
+		 * @param acceptLanguage the raw accepted languages
+		 * @param subprotocols   the raw WebSocket subprotocols
+		 */
+		public CacheKey(Method method, String path, String contentType, List<String> accept, List<String> acceptLanguage, List<String> subprotocols) {
+			this.method = method;
+			this.path = path;
+			this.contentType = contentType;
+			this.accept = accept;
+			this.acceptLanguage = acceptLanguage;
+			this.subprotocols = subprotocols;
+			this.hashCode = Objects.hash(method, path, contentType, accept, acceptLanguage, subprotocols);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			InternalWebRouter.CacheKey cacheKey = (InternalWebRouter.CacheKey) o;
+			return method == cacheKey.method && Objects.equals(path, cacheKey.path) && Objects.equals(contentType, cacheKey.contentType) && Objects.equals(accept, cacheKey.accept) && Objects.equals(acceptLanguage, cacheKey.acceptLanguage) && Objects.equals(subprotocols, cacheKey.subprotocols);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
 }
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2025 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.inverno.mod.web.server;
+
+import io.inverno.mod.http.base.ExchangeContext;
+import io.inverno.mod.http.base.InboundRequestHeaders;
+import io.inverno.mod.http.base.Method;
+import io.inverno.mod.http.base.OutboundData;
+import io.inverno.mod.http.base.OutboundResponseHeaders;
+import io.inverno.mod.http.base.Status;
+import io.inverno.mod.http.base.header.Headers;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * @author <a href="mailto:jeremy.kuhn@inverno.io">Jeremy Kuhn</a>
+ */
+public class ResponseCacheInterceptorTest {
+
+	@Test
+	public void test_cache_hit() {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+
+		MockWebExchange miss = new MockWebExchange(Method.GET, "/resource");
+		Assertions.assertSame(miss.exchange, interceptor.intercept(miss.exchange).block());
+		miss.respond(headers -> headers.add(Headers.NAME_CONTENT_TYPE, "text/plain"), "Hello");
+		Assertions.assertEquals(1, interceptor.getCount());
+
+		// the handler is not invoked
+		MockWebExchange hit = new MockWebExchange(Method.GET, "/resource");
+		Assertions.assertNull(interceptor.intercept(hit.exchange).block());
+		Assertions.assertNull(hit.transformer);
+		Assertions.assertEquals(200, hit.status);
+		Assertions.assertEquals("text/plain", hit.getHeader(Headers.NAME_CONTENT_TYPE));
+		Assertions.assertNotNull(hit.getHeader(Headers.NAME_ETAG));
+		Assertions.assertEquals("0", hit.getHeader(Headers.NAME_AGE));
+		Assertions.assertEquals("5", hit.getHeader(Headers.NAME_CONTENT_LENGTH));
+		Assertions.assertEquals("Hello", hit.getBody());
+
+		// other methods and resources are not served from the cache
+		MockWebExchange post = new MockWebExchange(Method.POST, "/resource");
+		Assertions.assertSame(post.exchange, interceptor.intercept(post.exchange).block());
+		Assertions.assertNull(post.transformer);
+		MockWebExchange other = new MockWebExchange(Method.GET, "/other");
+		Assertions.assertSame(other.exchange, interceptor.intercept(other.exchange).block());
+
+		interceptor.clear();
+		Assertions.assertEquals(0, interceptor.getCount());
+		Assertions.assertEquals(0, interceptor.getSize());
+	}
+
+	@Test
+	public void test_conditional_request() {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+		ZonedDateTime lastModified = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+		MockWebExchange miss = new MockWebExchange(Method.GET, "/resource");
+		interceptor.intercept(miss.exchange).block();
+		miss.respond(headers -> headers
+			.add(Headers.NAME_ETAG, "\"v1\"")
+			.add(Headers.NAME_LAST_MODIFIED, lastModified.format(Headers.FORMATTER_RFC_5322_DATE_TIME))
+			.add(Headers.NAME_CACHE_CONTROL, "max-age=60"),
+			"Hello"
+		);
+
+		// if-none-match with weak comparison
+		MockWebExchange notModified = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_IF_NONE_MATCH, "\"v0\", W/\"v1\"");
+		Assertions.assertNull(interceptor.intercept(notModified.exchange).block());
+		Assertions.assertEquals(304, notModified.status);
+		Assertions.assertEquals("\"v1\"", notModified.getHeader(Headers.NAME_ETAG));
+		Assertions.assertEquals("max-age=60", notModified.getHeader(Headers.NAME_CACHE_CONTROL));
+		Assertions.assertTrue(notModified.empty);
+		Assertions.assertNull(notModified.body);
+
+		MockWebExchange modified = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_IF_NONE_MATCH, "\"v0\"");
+		Assertions.assertNull(interceptor.intercept(modified.exchange).block());
+		Assertions.assertEquals(200, modified.status);
+		Assertions.assertEquals("Hello", modified.getBody());
+
+		// if-modified-since
+		notModified = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_IF_MODIFIED_SINCE, lastModified.format(Headers.FORMATTER_RFC_5322_DATE_TIME));
+		Assertions.assertNull(interceptor.intercept(notModified.exchange).block());
+		Assertions.assertEquals(304, notModified.status);
+
+		modified = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_IF_MODIFIED_SINCE, lastModified.minusDays(1).format(Headers.FORMATTER_RFC_5322_DATE_TIME));
+		Assertions.assertNull(interceptor.intercept(modified.exchange).block());
+		Assertions.assertEquals(200, modified.status);
+		Assertions.assertEquals("Hello", modified.getBody());
+
+		// if-none-match takes precedence over if-modified-since
+		modified = new MockWebExchange(Method.GET, "/resource")
+			.header(Headers.NAME_IF_NONE_MATCH, "\"v0\"")
+			.header(Headers.NAME_IF_MODIFIED_SINCE, lastModified.format(Headers.FORMATTER_RFC_5322_DATE_TIME));
+		Assertions.assertNull(interceptor.intercept(modified.exchange).block());
+		Assertions.assertEquals(200, modified.status);
+		Assertions.assertEquals("Hello", modified.getBody());
+
+		interceptor.clear();
+	}
+
+	@Test
+	public void test_vary() {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+
+		MockWebExchange en = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_ACCEPT_LANGUAGE, "en");
+		Assertions.assertSame(en.exchange, interceptor.intercept(en.exchange).block());
+		en.respond(headers -> headers.add(Headers.NAME_VARY, Headers.NAME_ACCEPT_LANGUAGE), "Hello");
+
+		MockWebExchange fr = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_ACCEPT_LANGUAGE, "fr");
+		Assertions.assertSame(fr.exchange, interceptor.intercept(fr.exchange).block());
+		fr.respond(headers -> headers.add(Headers.NAME_VARY, Headers.NAME_ACCEPT_LANGUAGE), "Bonjour");
+		Assertions.assertEquals(2, interceptor.getCount());
+
+		en = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_ACCEPT_LANGUAGE, "en");
+		Assertions.assertNull(interceptor.intercept(en.exchange).block());
+		Assertions.assertEquals("Hello", en.getBody());
+		Assertions.assertEquals(Headers.NAME_ACCEPT_LANGUAGE, en.getHeader(Headers.NAME_VARY));
+
+		fr = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_ACCEPT_LANGUAGE, "fr");
+		Assertions.assertNull(interceptor.intercept(fr.exchange).block());
+		Assertions.assertEquals("Bonjour", fr.getBody());
+
+		// a response varying on a header not considered by the cache is not cached
+		MockWebExchange cookie = new MockWebExchange(Method.GET, "/cookie");
+		interceptor.intercept(cookie.exchange).block();
+		cookie.respond(headers -> headers.add(Headers.NAME_VARY, Headers.NAME_COOKIE), "Hello");
+		Assertions.assertEquals(2, interceptor.getCount());
+
+		interceptor.clear();
+	}
+
+	@Test
+	public void test_not_cacheable() {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+
+		for(String cacheControl : List.of("no-store", "no-cache", "private", "private, max-age=60")) {
+			MockWebExchange exchange = new MockWebExchange(Method.GET, "/resource");
+			Assertions.assertSame(exchange.exchange, interceptor.intercept(exchange.exchange).block());
+			exchange.respond(headers -> headers.add(Headers.NAME_CACHE_CONTROL, cacheControl), "Hello");
+			Assertions.assertEquals(0, interceptor.getCount(), cacheControl);
+		}
+
+		MockWebExchange setCookie = new MockWebExchange(Method.GET, "/resource");
+		interceptor.intercept(setCookie.exchange).block();
+		setCookie.respond(headers -> headers.add(Headers.NAME_SET_COOKIE, "session=1"), "Hello");
+		Assertions.assertEquals(0, interceptor.getCount());
+
+		MockWebExchange notFound = new MockWebExchange(Method.GET, "/resource");
+		interceptor.intercept(notFound.exchange).block();
+		notFound.respond(headers -> headers.status(Status.NOT_FOUND), "Not found");
+		Assertions.assertEquals(0, interceptor.getCount());
+
+		// body not sent through the response data publisher (e.g. file region)
+		MockWebExchange fileRegion = new MockWebExchange(Method.GET, "/resource");
+		interceptor.intercept(fileRegion.exchange).block();
+		fileRegion.respond(headers -> headers.contentLength(1024), null);
+		Assertions.assertEquals(0, interceptor.getCount());
+
+		// requests with credentials or no-store are neither cached nor served from the cache
+		MockWebExchange cached = new MockWebExchange(Method.GET, "/resource");
+		interceptor.intercept(cached.exchange).block();
+		cached.respond(headers -> {}, "Hello");
+		Assertions.assertEquals(1, interceptor.getCount());
+
+		MockWebExchange authorization = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_AUTHORIZATION, "Bearer token");
+		Assertions.assertSame(authorization.exchange, interceptor.intercept(authorization.exchange).block());
+		Assertions.assertNull(authorization.transformer);
+
+		MockWebExchange noStore = new MockWebExchange(Method.GET, "/resource").header(Headers.NAME_CACHE_CONTROL, "no-store");
+		Assertions.assertSame(noStore.exchange, interceptor.intercept(noStore.exchange).block());
+		Assertions.assertNull(noStore.transformer);
+
+		interceptor.clear();
+	}
+
+	@Test
+	public void test_lru_eviction() {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>(100, 100, 60000, Set.of());
+		String body = "a".repeat(40);
+
+		for(String path : List.of("/a", "/b")) {
+			MockWebExchange exchange = new MockWebExchange(Method.GET, path);
+			interceptor.intercept(exchange.exchange).block();
+			exchange.respond(headers -> {}, body);
+		}
+		Assertions.assertEquals(2, interceptor.getCount());
+		Assertions.assertEquals(80, interceptor.getSize());
+
+		// keep a reference on the cached bodies
+		MockWebExchange b = new MockWebExchange(Method.GET, "/b");
+		Assertions.assertNull(interceptor.intercept(b.exchange).block());
+		ByteBuf bBody = b.body;
+		MockWebExchange a = new MockWebExchange(Method.GET, "/a");
+		Assertions.assertNull(interceptor.intercept(a.exchange).block());
+		ByteBuf aBody = a.body;
+		Assertions.assertEquals(2, bBody.refCnt());
+		Assertions.assertEquals(2, aBody.refCnt());
+
+		// /b is the least recently used entry
+		MockWebExchange c = new MockWebExchange(Method.GET, "/c");
+		interceptor.intercept(c.exchange).block();
+		c.respond(headers -> {}, body);
+		Assertions.assertEquals(2, interceptor.getCount());
+		Assertions.assertEquals(80, interceptor.getSize());
+		Assertions.assertEquals(1, bBody.refCnt());
+		Assertions.assertEquals(2, aBody.refCnt());
+
+		b = new MockWebExchange(Method.GET, "/b");
+		Assertions.assertSame(b.exchange, interceptor.intercept(b.exchange).block());
+
+		bBody.release();
+		Assertions.assertEquals(0, bBody.refCnt());
+
+		// a response larger than the maximum entry size is not cached
+		MockWebExchange large = new MockWebExchange(Method.GET, "/large");
+		interceptor.intercept(large.exchange).block();
+		large.respond(headers -> {}, "a".repeat(101));
+		Assertions.assertEquals(2, interceptor.getCount());
+
+		interceptor.clear();
+		Assertions.assertEquals(0, interceptor.getSize());
+		Assertions.assertEquals(1, aBody.refCnt());
+		aBody.release();
+	}
+
+	@Test
+	public void test_single_flight() throws Exception {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+
+		MockWebExchange leader = new MockWebExchange(Method.GET, "/resource");
+		Assertions.assertSame(leader.exchange, interceptor.intercept(leader.exchange).block());
+
+		MockWebExchange follower1 = new MockWebExchange(Method.GET, "/resource");
+		CompletableFuture<WebExchange<ExchangeContext>> follower1Result = interceptor.intercept(follower1.exchange).toFuture();
+		MockWebExchange follower2 = new MockWebExchange(Method.GET, "/resource");
+		CompletableFuture<WebExchange<ExchangeContext>> follower2Result = interceptor.intercept(follower2.exchange).toFuture();
+		Assertions.assertFalse(follower1Result.isDone());
+		Assertions.assertFalse(follower2Result.isDone());
+
+		leader.respond(headers -> {}, "Hello");
+
+		// followers are served from the cache without invoking the handler
+		Assertions.assertNull(follower1Result.get(5, TimeUnit.SECONDS));
+		Assertions.assertNull(follower1.transformer);
+		Assertions.assertEquals("Hello", follower1.getBody());
+		Assertions.assertNull(follower2Result.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("Hello", follower2.getBody());
+
+		// followers are processed by the handler when the response is not cacheable
+		leader = new MockWebExchange(Method.GET, "/other");
+		interceptor.intercept(leader.exchange).block();
+		MockWebExchange follower = new MockWebExchange(Method.GET, "/other");
+		CompletableFuture<WebExchange<ExchangeContext>> followerResult = interceptor.intercept(follower.exchange).toFuture();
+		Assertions.assertFalse(followerResult.isDone());
+
+		leader.respond(headers -> headers.add(Headers.NAME_CACHE_CONTROL, "no-store"), "Hello");
+		Assertions.assertSame(follower.exchange, followerResult.get(5, TimeUnit.SECONDS));
+
+		// followers are processed by the handler after the single flight timeout
+		interceptor.setSingleFlightTimeout(50);
+		leader = new MockWebExchange(Method.GET, "/timeout");
+		interceptor.intercept(leader.exchange).block();
+		follower = new MockWebExchange(Method.GET, "/timeout");
+		Assertions.assertSame(follower.exchange, interceptor.intercept(follower.exchange).block());
+
+		interceptor.clear();
+	}
+
+	@Test
+	public void test_single_flight_leader_terminated() throws Exception {
+		ResponseCacheInterceptor<ExchangeContext> interceptor = new ResponseCacheInterceptor<>();
+		// followers must be released when the leader terminates, not after the timeout
+		interceptor.setSingleFlightTimeout(60000);
+
+		// the route handler throws: the error exchange is sent and the response data publisher is never subscribed
+		MockWebExchange leader = new MockWebExchange(Method.GET, "/error");
+		interceptor.intercept(leader.exchange).block();
+		MockWebExchange follower = new MockWebExchange(Method.GET, "/error");
+		CompletableFuture<WebExchange<ExchangeContext>> followerResult = interceptor.intercept(follower.exchange).toFuture();
+		Assertions.assertFalse(followerResult.isDone());
+
+		leader.terminate();
+		Assertions.assertSame(follower.exchange, followerResult.get(5, TimeUnit.SECONDS));
+
+		// the in-flight request was removed, the next request leads
+		MockWebExchange next = new MockWebExchange(Method.GET, "/error");
+		Assertions.assertSame(next.exchange, interceptor.intercept(next.exchange).block(Duration.ofSeconds(5)));
+		next.respond(headers -> {}, "Hello");
+		Assertions.assertEquals(1, interceptor.getCount());
+
+		// the exchange is disposed while the response body is being sent
+		leader = new MockWebExchange(Method.GET, "/cancel");
+		interceptor.intercept(leader.exchange).block();
+		follower = new MockWebExchange(Method.GET, "/cancel");
+		followerResult = interceptor.intercept(follower.exchange).toFuture();
+
+		Flux.from(leader.transformer.apply(Flux.just(Unpooled.copiedBuffer("Hel", StandardCharsets.UTF_8)).concatWith(Flux.never())))
+			.doOnNext(ByteBuf::release)
+			.subscribe()
+			.dispose();
+		leader.terminate();
+		Assertions.assertSame(follower.exchange, followerResult.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, interceptor.getCount());
+
+		interceptor.clear();
+	}
+
+	/**
+	 * <p>
+	 * A mock Web exchange recording the response sent by the interceptor.
+	 * </p>
+	 */
+	@SuppressWarnings("unchecked")
+	private static class MockWebExchange {
+
+		private final WebExchange<ExchangeContext> exchange;
+		private final Map<String, String> requestHeaders;
+		private final Map<String, List<String>> responseHeaders;
+		private final OutboundResponseHeaders responseHeadersMock;
+		private final List<Runnable> terminationCallbacks;
+
+		private int status;
+		private Function<Publisher<ByteBuf>, Publisher<ByteBuf>> transformer;
+		private ByteBuf body;
+		private boolean empty;
+
+		public MockWebExchange(Method method, String path) {
+			this.requestHeaders = new LinkedHashMap<>();
+			this.responseHeaders = new LinkedHashMap<>();
+			this.terminationCallbacks = new ArrayList<>();
+			this.status = 200;
+
+			InboundRequestHeaders requestHeadersMock = Mockito.mock(InboundRequestHeaders.class);
+			Mockito.when(requestHeadersMock.contains(Mockito.any(CharSequence.class))).thenAnswer(invocation -> this.requestHeaders.containsKey(invocation.getArgument(0).toString()));
+			Mockito.when(requestHeadersMock.get(Mockito.any(CharSequence.class))).thenAnswer(invocation -> Optional.ofNullable(this.requestHeaders.get(invocation.getArgument(0).toString())));
+			Mockito.when(requestHeadersMock.getAll(Mockito.any(CharSequence.class))).thenAnswer(invocation -> Optional.ofNullable(this.requestHeaders.get(invocation.getArgument(0).toString())).map(List::of).orElse(List.of()));
+
+			WebRequest requestMock = Mockito.mock(WebRequest.class);
+			Mockito.when(requestMock.getMethod()).thenReturn(method);
+			Mockito.when(requestMock.getAuthority()).thenReturn("localhost");
+			Mockito.when(requestMock.getPath()).thenReturn(path);
+			Mockito.when(requestMock.headers()).thenReturn(requestHeadersMock);
+
+			this.responseHeadersMock = Mockito.mock(OutboundResponseHeaders.class);
+			Mockito.when(this.responseHeadersMock.status(Mockito.any(Status.class))).thenAnswer(invocation -> {
+				this.status = invocation.<Status>getArgument(0).getCode();
+				return this.responseHeadersMock;
+			});
+			Mockito.when(this.responseHeadersMock.add(Mockito.any(CharSequence.class), Mockito.any(CharSequence.class))).thenAnswer(invocation -> {
+				this.responseHeaders.computeIfAbsent(invocation.getArgument(0).toString(), ign -> new ArrayList<>()).add(invocation.getArgument(1).toString());
+				return this.responseHeadersMock;
+			});
+			Mockito.when(this.responseHeadersMock.set(Mockito.any(CharSequence.class), Mockito.any(CharSequence.class))).thenAnswer(invocation -> {
+				this.responseHeaders.put(invocation.getArgument(0).toString(), new ArrayList<>(List.of(invocation.getArgument(1).toString())));
+				return this.responseHeadersMock;
+			});
+			Mockito.when(this.responseHeadersMock.contentLength(Mockito.anyLong())).thenAnswer(invocation -> {
+				this.responseHeaders.put(Headers.NAME_CONTENT_LENGTH, new ArrayList<>(List.of(invocation.getArgument(0).toString())));
+				return this.responseHeadersMock;
+			});
+			Mockito.when(this.responseHeadersMock.getStatusCode()).thenAnswer(invocation -> this.status);
+			Mockito.when(this.responseHeadersMock.getContentLength()).thenAnswer(invocation -> Optional.ofNullable(this.getHeader(Headers.NAME_CONTENT_LENGTH)).map(Long::valueOf).orElse(null));
+			Mockito.when(this.responseHeadersMock.contains(Mockito.any(CharSequence.class))).thenAnswer(invocation -> this.responseHeaders.containsKey(invocation.getArgument(0).toString()));
+			Mockito.when(this.responseHeadersMock.get(Mockito.any(CharSequence.class))).thenAnswer(invocation -> Optional.ofNullable(this.getHeader(invocation.getArgument(0).toString())));
+			Mockito.when(this.responseHeadersMock.getAll(Mockito.any(CharSequence.class))).thenAnswer(invocation -> this.responseHeaders.getOrDefault(invocation.getArgument(0).toString(), List.of()));
+			Mockito.when(this.responseHeadersMock.getAll()).thenAnswer(invocation -> this.responseHeaders.entrySet().stream()
+				.flatMap(header -> header.getValue().stream().map(value -> Map.entry(header.getKey(), value)))
+				.toList()
+			);
+
+			OutboundData<ByteBuf> rawMock = Mockito.mock(OutboundData.class);
+			Mockito.doAnswer(invocation -> {
+				this.body = invocation.getArgument(0);
+				return null;
+			}).when(rawMock).value(Mockito.any());
+
+			WebResponseBody responseBodyMock = Mockito.mock(WebResponseBody.class);
+			Mockito.when(responseBodyMock.transform(Mockito.any())).thenAnswer(invocation -> {
+				this.transformer = invocation.getArgument(0);
+				return responseBodyMock;
+			});
+			Mockito.doAnswer(invocation -> {
+				this.empty = true;
+				return null;
+			}).when(responseBodyMock).empty();
+			Mockito.when(responseBodyMock.raw()).thenReturn(rawMock);
+
+			WebResponse responseMock = Mockito.mock(WebResponse.class);
+			Mockito.when(responseMock.headers()).thenReturn(this.responseHeadersMock);
+			Mockito.when(responseMock.headers(Mockito.any())).thenAnswer(invocation -> {
+				invocation.<Consumer<OutboundResponseHeaders>>getArgument(0).accept(this.responseHeadersMock);
+				return responseMock;
+			});
+			Mockito.when(responseMock.body()).thenReturn(responseBodyMock);
+
+			this.exchange = Mockito.mock(WebExchange.class);
+			Mockito.when(this.exchange.request()).thenReturn(requestMock);
+			Mockito.when(this.exchange.response()).thenReturn(responseMock);
+			Mockito.doAnswer(invocation -> {
+				this.terminationCallbacks.add(invocation.getArgument(0));
+				return null;
+			}).when(this.exchange).onTerminate(Mockito.any());
+		}
+
+		public MockWebExchange header(String name, String value) {
+			this.requestHeaders.put(name, value);
+			return this;
+		}
+
+		/**
+		 * <p>
+		 * Simulates the route handler and the server sending the response body through the transformed response data publisher.
+		 * </p>
+		 */
+		public void respond(Consumer<OutboundResponseHeaders> headersConfigurer, String body) {
+			headersConfigurer.accept(this.responseHeadersMock);
+			Flux<ByteBuf> data = body != null ? Flux.just(Unpooled.copiedBuffer(body, StandardCharsets.UTF_8)) : Flux.empty();
+			Flux.from(this.transformer != null ? this.transformer.apply(data) : data)
+				.doOnNext(ByteBuf::release)
+				.blockLast();
+			this.terminate();
+		}
+
+		/**
+		 * <p>
+		 * Simulates the termination of the exchange.
+		 * </p>
+		 */
+		public void terminate() {
+			this.terminationCallbacks.forEach(Runnable::run);
+			this.terminationCallbacks.clear();
+		}
+
+		public String getHeader(String name) {
+			List<String> values = this.responseHeaders.get(name);
+			return values != null && !values.isEmpty() ? values.getFirst() : null;
+		}
+
+		public String getBody() {
+			return this.body.toString(StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -27,7 +27,7 @@ if (( $# > 0 ))
 		git commit -a -m "Release $1"
 		git tag -a $1 -m "Release $1"
 		mvn clean install
-		mvn -pl '!inverno-mods-test' clean deploy -Dmaven.test.skip=true -Pio.inverno.release
+		mvn -pl '!inverno-mods-test,!inverno-mods-benchmark' clean deploy -Dmaven.test.skip=true -Pio.inverno.release
 fi
 
 if (( $# == 2 ))